@@ -0,0 +1,56 @@
+package org.hl7.fhir.convertors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hl7.fhir.exceptions.FHIRException;
+
+/**
+ * The resource converters for one direction of a version conversion, keyed by the class of the source resource.
+ *
+ * Each VersionConvertor_* class builds its registries once, when it is loaded, and uses them in convertResource,
+ * so converting a resource is a hash lookup instead of an instanceof test against every resource class. Callers
+ * can register converters for additional resources (or replace the standard ones) at any time.
+ *
+ * A resource whose own class isn't registered is converted by the converter for the nearest registered superclass,
+ * as it would be by a chain of instanceof tests.
+ *
+ * @param <S> the source resource type (e.g. r4 Resource)
+ * @param <T> the target resource type (e.g. r5 Resource)
+ * @param <C> the context passed to the converters (e.g. the advisor), or Void if there isn't one
+ */
+public class ResourceConverterRegistry<S, T, C> {
+
+  @FunctionalInterface
+  public interface ResourceConverter<S, T, C> {
+    T convert(S src, C context) throws FHIRException;
+  }
+
+  private final Map<Class<?>, ResourceConverter<?, ? extends T, C>> converters = new ConcurrentHashMap<>();
+
+  /**
+   * register the converter for a resource class, replacing any existing converter for that class
+   */
+  public <R extends S> ResourceConverterRegistry<S, T, C> register(Class<R> type, ResourceConverter<R, ? extends T, C> converter) {
+    converters.put(type, converter);
+    return this;
+  }
+
+  /**
+   * @return the converter for the resource, or null if no converter is registered for its class (or a superclass)
+   */
+  @SuppressWarnings("unchecked")
+  public ResourceConverter<S, ? extends T, C> getConverter(S src) {
+    for (Class<?> c = src.getClass(); c != null; c = c.getSuperclass()) {
+      ResourceConverter<?, ? extends T, C> converter = converters.get(c);
+      if (converter != null) {
+        return (ResourceConverter<S, ? extends T, C>) converter;
+      }
+    }
+    return null;
+  }
+
+  public boolean canConvert(S src) {
+    return src != null && getConverter(src) != null;
+  }
+}
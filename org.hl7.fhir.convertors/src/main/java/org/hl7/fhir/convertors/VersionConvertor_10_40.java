@@ -3170,237 +3170,142 @@ public class VersionConvertor_10_40 {
         return t.hasCoding() && ("http://unstats.un.org/unsd/methods/m49/m49.htm".equals(t.getCoding().get(0).getSystem()) || "urn:iso:std:iso:3166".equals(t.getCoding().get(0).getSystem()) || "https://www.usps.com/".equals(t.getCoding().get(0).getSystem()));
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.dstu2.model.Resource, org.hl7.fhir.r4.model.Resource, VersionConvertorAdvisor40> RESOURCES_10_TO_40 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Parameters.class, (src, advisor) -> Parameters10_40.convertParameters(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Appointment.class, (src, advisor) -> Appointment10_40.convertAppointment(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.AllergyIntolerance.class, (src, advisor) -> AllergyIntolerance10_40.convertAllergyIntolerance(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.AppointmentResponse.class, (src, advisor) -> AppointmentResponse10_40.convertAppointmentResponse(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.AuditEvent.class, (src, advisor) -> AuditEvent10_40.convertAuditEvent(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Basic.class, (src, advisor) -> Basic10_40.convertBasic(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Binary.class, (src, advisor) -> Binary10_40.convertBinary(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Bundle.class, (src, advisor) -> Bundle10_40.convertBundle(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.CarePlan.class, (src, advisor) -> CarePlan10_40.convertCarePlan(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Communication.class, (src, advisor) -> Communication10_40.convertCommunication(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.CommunicationRequest.class, (src, advisor) -> CommunicationRequest10_40.convertCommunicationRequest(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Composition.class, (src, advisor) -> Composition10_40.convertComposition(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.ConceptMap.class, (src, advisor) -> ConceptMap10_40.convertConceptMap(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Condition.class, (src, advisor) -> Condition10_40.convertCondition(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Conformance.class, (src, advisor) -> Conformance10_40.convertConformance(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.DataElement.class, (src, advisor) -> DataElement10_40.convertDataElement(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.DetectedIssue.class, (src, advisor) -> DetectedIssue10_40.convertDetectedIssue(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.DeviceMetric.class, (src, advisor) -> DeviceMetric10_40.convertDeviceMetric(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.DeviceUseStatement.class, (src, advisor) -> DeviceUseStatement10_40.convertDeviceUseStatement(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.DiagnosticReport.class, (src, advisor) -> DiagnosticReport10_40.convertDiagnosticReport(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.DocumentReference.class, (src, advisor) -> DocumentReference10_40.convertDocumentReference(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Encounter.class, (src, advisor) -> Encounter10_40.convertEncounter(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.EnrollmentRequest.class, (src, advisor) -> EnrollmentRequest10_40.convertEnrollmentRequest(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.EnrollmentResponse.class, (src, advisor) -> EnrollmentResponse10_40.convertEnrollmentResponse(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.EpisodeOfCare.class, (src, advisor) -> EpisodeOfCare10_40.convertEpisodeOfCare(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.FamilyMemberHistory.class, (src, advisor) -> FamilyMemberHistory10_40.convertFamilyMemberHistory(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Flag.class, (src, advisor) -> Flag10_40.convertFlag(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Group.class, (src, advisor) -> Group10_40.convertGroup(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.HealthcareService.class, (src, advisor) -> HealthcareService10_40.convertHealthcareService(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.ImplementationGuide.class, (src, advisor) -> ImplementationGuide10_40.convertImplementationGuide(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.List_.class, (src, advisor) -> List10_40.convertList(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Location.class, (src, advisor) -> Location10_40.convertLocation(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.MedicationDispense.class, (src, advisor) -> MedicationDispense10_40.convertMedicationDispense(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.MedicationStatement.class, (src, advisor) -> MedicationStatement10_40.convertMedicationStatement(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.MedicationOrder.class, (src, advisor) -> MedicationRequest10_40.convertMedicationRequest(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.MessageHeader.class, (src, advisor) -> MessageHeader10_40.convertMessageHeader(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.NamingSystem.class, (src, advisor) -> NamingSystem10_40.convertNamingSystem(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Observation.class, (src, advisor) -> Observation10_40.convertObservation(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.OperationDefinition.class, (src, advisor) -> OperationDefinition10_40.convertOperationDefinition(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.OperationOutcome.class, (src, advisor) -> OperationOutcome10_40.convertOperationOutcome(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Organization.class, (src, advisor) -> Organization10_40.convertOrganization(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Patient.class, (src, advisor) -> Patient10_40.convertPatient(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Person.class, (src, advisor) -> Person10_40.convertPerson(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Practitioner.class, (src, advisor) -> Practitioner10_40.convertPractitioner(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Questionnaire.class, (src, advisor) -> Questionnaire10_40.convertQuestionnaire(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.QuestionnaireResponse.class, (src, advisor) -> QuestionnaireResponse10_40.convertQuestionnaireResponse(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.RiskAssessment.class, (src, advisor) -> RiskAssessment10_40.convertRiskAssessment(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Schedule.class, (src, advisor) -> Schedule10_40.convertSchedule(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.SearchParameter.class, (src, advisor) -> SearchParameter10_40.convertSearchParameter(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Slot.class, (src, advisor) -> Slot10_40.convertSlot(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.StructureDefinition.class, (src, advisor) -> StructureDefinition10_40.convertStructureDefinition(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Subscription.class, (src, advisor) -> Subscription10_40.convertSubscription(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.Substance.class, (src, advisor) -> Substance10_40.convertSubstance(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.SupplyDelivery.class, (src, advisor) -> SupplyDelivery10_40.convertSupplyDelivery(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.SupplyRequest.class, (src, advisor) -> SupplyRequest10_40.convertSupplyRequest(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.TestScript.class, (src, advisor) -> TestScript10_40.convertTestScript(src));
+        RESOURCES_10_TO_40.register(org.hl7.fhir.dstu2.model.ValueSet.class, (src, advisor) -> ValueSet10_40.convertValueSet(src, advisor));
+    }
+
     public static org.hl7.fhir.r4.model.Resource convertResource(org.hl7.fhir.dstu2.model.Resource src, VersionConvertorAdvisor40 advisor) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.dstu2.model.Parameters)
-            return Parameters10_40.convertParameters((org.hl7.fhir.dstu2.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Appointment)
-            return Appointment10_40.convertAppointment((org.hl7.fhir.dstu2.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.AllergyIntolerance)
-            return AllergyIntolerance10_40.convertAllergyIntolerance((org.hl7.fhir.dstu2.model.AllergyIntolerance) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.AppointmentResponse)
-            return AppointmentResponse10_40.convertAppointmentResponse((org.hl7.fhir.dstu2.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.AuditEvent)
-            return AuditEvent10_40.convertAuditEvent((org.hl7.fhir.dstu2.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Basic)
-            return Basic10_40.convertBasic((org.hl7.fhir.dstu2.model.Basic) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Binary)
-            return Binary10_40.convertBinary((org.hl7.fhir.dstu2.model.Binary) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Bundle)
-            return Bundle10_40.convertBundle((org.hl7.fhir.dstu2.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.CarePlan)
-            return CarePlan10_40.convertCarePlan((org.hl7.fhir.dstu2.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Communication)
-            return Communication10_40.convertCommunication((org.hl7.fhir.dstu2.model.Communication) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.CommunicationRequest)
-            return CommunicationRequest10_40.convertCommunicationRequest((org.hl7.fhir.dstu2.model.CommunicationRequest) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Composition)
-            return Composition10_40.convertComposition((org.hl7.fhir.dstu2.model.Composition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.ConceptMap)
-            return ConceptMap10_40.convertConceptMap((org.hl7.fhir.dstu2.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Condition)
-            return Condition10_40.convertCondition((org.hl7.fhir.dstu2.model.Condition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Conformance)
-            return Conformance10_40.convertConformance((org.hl7.fhir.dstu2.model.Conformance) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DataElement)
-            return DataElement10_40.convertDataElement((org.hl7.fhir.dstu2.model.DataElement) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DetectedIssue)
-            return DetectedIssue10_40.convertDetectedIssue((org.hl7.fhir.dstu2.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DeviceMetric)
-            return DeviceMetric10_40.convertDeviceMetric((org.hl7.fhir.dstu2.model.DeviceMetric) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DeviceUseStatement)
-            return DeviceUseStatement10_40.convertDeviceUseStatement((org.hl7.fhir.dstu2.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DiagnosticReport)
-            return DiagnosticReport10_40.convertDiagnosticReport((org.hl7.fhir.dstu2.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DocumentReference)
-            return DocumentReference10_40.convertDocumentReference((org.hl7.fhir.dstu2.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Encounter)
-            return Encounter10_40.convertEncounter((org.hl7.fhir.dstu2.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.EnrollmentRequest)
-            return EnrollmentRequest10_40.convertEnrollmentRequest((org.hl7.fhir.dstu2.model.EnrollmentRequest) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.EnrollmentResponse)
-            return EnrollmentResponse10_40.convertEnrollmentResponse((org.hl7.fhir.dstu2.model.EnrollmentResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.EpisodeOfCare)
-            return EpisodeOfCare10_40.convertEpisodeOfCare((org.hl7.fhir.dstu2.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.FamilyMemberHistory)
-            return FamilyMemberHistory10_40.convertFamilyMemberHistory((org.hl7.fhir.dstu2.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Flag)
-            return Flag10_40.convertFlag((org.hl7.fhir.dstu2.model.Flag) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Group)
-            return Group10_40.convertGroup((org.hl7.fhir.dstu2.model.Group) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.HealthcareService)
-            return HealthcareService10_40.convertHealthcareService((org.hl7.fhir.dstu2.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.ImplementationGuide)
-            return ImplementationGuide10_40.convertImplementationGuide((org.hl7.fhir.dstu2.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.List_)
-            return List10_40.convertList((org.hl7.fhir.dstu2.model.List_) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Location)
-            return Location10_40.convertLocation((org.hl7.fhir.dstu2.model.Location) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.MedicationDispense)
-            return MedicationDispense10_40.convertMedicationDispense((org.hl7.fhir.dstu2.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.MedicationStatement)
-            return MedicationStatement10_40.convertMedicationStatement((org.hl7.fhir.dstu2.model.MedicationStatement) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.MedicationOrder)
-            return MedicationRequest10_40.convertMedicationRequest((org.hl7.fhir.dstu2.model.MedicationOrder) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.MessageHeader)
-            return MessageHeader10_40.convertMessageHeader((org.hl7.fhir.dstu2.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.NamingSystem)
-            return NamingSystem10_40.convertNamingSystem((org.hl7.fhir.dstu2.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Observation)
-            return Observation10_40.convertObservation((org.hl7.fhir.dstu2.model.Observation) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.OperationDefinition)
-            return OperationDefinition10_40.convertOperationDefinition((org.hl7.fhir.dstu2.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.OperationOutcome)
-            return OperationOutcome10_40.convertOperationOutcome((org.hl7.fhir.dstu2.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Organization)
-            return Organization10_40.convertOrganization((org.hl7.fhir.dstu2.model.Organization) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Patient)
-            return Patient10_40.convertPatient((org.hl7.fhir.dstu2.model.Patient) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Person)
-            return Person10_40.convertPerson((org.hl7.fhir.dstu2.model.Person) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Practitioner)
-            return Practitioner10_40.convertPractitioner((org.hl7.fhir.dstu2.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Questionnaire)
-            return Questionnaire10_40.convertQuestionnaire((org.hl7.fhir.dstu2.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.QuestionnaireResponse)
-            return QuestionnaireResponse10_40.convertQuestionnaireResponse((org.hl7.fhir.dstu2.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.RiskAssessment)
-            return RiskAssessment10_40.convertRiskAssessment((org.hl7.fhir.dstu2.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Schedule)
-            return Schedule10_40.convertSchedule((org.hl7.fhir.dstu2.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.SearchParameter)
-            return SearchParameter10_40.convertSearchParameter((org.hl7.fhir.dstu2.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Slot)
-            return Slot10_40.convertSlot((org.hl7.fhir.dstu2.model.Slot) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.StructureDefinition)
-            return StructureDefinition10_40.convertStructureDefinition((org.hl7.fhir.dstu2.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Subscription)
-            return Subscription10_40.convertSubscription((org.hl7.fhir.dstu2.model.Subscription) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Substance)
-            return Substance10_40.convertSubstance((org.hl7.fhir.dstu2.model.Substance) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.SupplyDelivery)
-            return SupplyDelivery10_40.convertSupplyDelivery((org.hl7.fhir.dstu2.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.SupplyRequest)
-            return SupplyRequest10_40.convertSupplyRequest((org.hl7.fhir.dstu2.model.SupplyRequest) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.TestScript)
-            return TestScript10_40.convertTestScript((org.hl7.fhir.dstu2.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.ValueSet)
-            return ValueSet10_40.convertValueSet((org.hl7.fhir.dstu2.model.ValueSet) src, advisor);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.dstu2.model.Resource, ? extends org.hl7.fhir.r4.model.Resource, VersionConvertorAdvisor40> converter = RESOURCES_10_TO_40.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, advisor);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.r4.model.Resource, org.hl7.fhir.dstu2.model.Resource, VersionConvertorAdvisor40> RESOURCES_40_TO_10 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Parameters.class, (src, advisor) -> Parameters10_40.convertParameters(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Appointment.class, (src, advisor) -> Appointment10_40.convertAppointment(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.AppointmentResponse.class, (src, advisor) -> AppointmentResponse10_40.convertAppointmentResponse(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.AuditEvent.class, (src, advisor) -> AuditEvent10_40.convertAuditEvent(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Basic.class, (src, advisor) -> Basic10_40.convertBasic(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Binary.class, (src, advisor) -> Binary10_40.convertBinary(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Bundle.class, (src, advisor) -> Bundle10_40.convertBundle(src, advisor));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.CarePlan.class, (src, advisor) -> CarePlan10_40.convertCarePlan(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Communication.class, (src, advisor) -> Communication10_40.convertCommunication(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.CommunicationRequest.class, (src, advisor) -> CommunicationRequest10_40.convertCommunicationRequest(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Composition.class, (src, advisor) -> Composition10_40.convertComposition(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.ConceptMap.class, (src, advisor) -> ConceptMap10_40.convertConceptMap(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Condition.class, (src, advisor) -> Condition10_40.convertCondition(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.CapabilityStatement.class, (src, advisor) -> Conformance10_40.convertConformance(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.DetectedIssue.class, (src, advisor) -> DetectedIssue10_40.convertDetectedIssue(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.DeviceMetric.class, (src, advisor) -> DeviceMetric10_40.convertDeviceMetric(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.DeviceUseStatement.class, (src, advisor) -> DeviceUseStatement10_40.convertDeviceUseStatement(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.DiagnosticReport.class, (src, advisor) -> DiagnosticReport10_40.convertDiagnosticReport(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.DocumentReference.class, (src, advisor) -> DocumentReference10_40.convertDocumentReference(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Encounter.class, (src, advisor) -> Encounter10_40.convertEncounter(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.EnrollmentRequest.class, (src, advisor) -> EnrollmentRequest10_40.convertEnrollmentRequest(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.EnrollmentResponse.class, (src, advisor) -> EnrollmentResponse10_40.convertEnrollmentResponse(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.EpisodeOfCare.class, (src, advisor) -> EpisodeOfCare10_40.convertEpisodeOfCare(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.FamilyMemberHistory.class, (src, advisor) -> FamilyMemberHistory10_40.convertFamilyMemberHistory(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Flag.class, (src, advisor) -> Flag10_40.convertFlag(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Group.class, (src, advisor) -> Group10_40.convertGroup(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.HealthcareService.class, (src, advisor) -> HealthcareService10_40.convertHealthcareService(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.ImplementationGuide.class, (src, advisor) -> ImplementationGuide10_40.convertImplementationGuide(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.ListResource.class, (src, advisor) -> List10_40.convertList(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Location.class, (src, advisor) -> Location10_40.convertLocation(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.MedicationDispense.class, (src, advisor) -> MedicationDispense10_40.convertMedicationDispense(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.MedicationStatement.class, (src, advisor) -> MedicationStatement10_40.convertMedicationStatement(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.MessageHeader.class, (src, advisor) -> MessageHeader10_40.convertMessageHeader(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.NamingSystem.class, (src, advisor) -> NamingSystem10_40.convertNamingSystem(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Observation.class, (src, advisor) -> Observation10_40.convertObservation(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.OperationDefinition.class, (src, advisor) -> OperationDefinition10_40.convertOperationDefinition(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.OperationOutcome.class, (src, advisor) -> OperationOutcome10_40.convertOperationOutcome(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Organization.class, (src, advisor) -> Organization10_40.convertOrganization(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Patient.class, (src, advisor) -> Patient10_40.convertPatient(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Person.class, (src, advisor) -> Person10_40.convertPerson(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Practitioner.class, (src, advisor) -> Practitioner10_40.convertPractitioner(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Questionnaire.class, (src, advisor) -> Questionnaire10_40.convertQuestionnaire(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.QuestionnaireResponse.class, (src, advisor) -> QuestionnaireResponse10_40.convertQuestionnaireResponse(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.RiskAssessment.class, (src, advisor) -> RiskAssessment10_40.convertRiskAssessment(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Schedule.class, (src, advisor) -> Schedule10_40.convertSchedule(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.SearchParameter.class, (src, advisor) -> SearchParameter10_40.convertSearchParameter(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Slot.class, (src, advisor) -> Slot10_40.convertSlot(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.StructureDefinition.class, (src, advisor) -> StructureDefinition10_40.convertStructureDefinition(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Subscription.class, (src, advisor) -> Subscription10_40.convertSubscription(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.Substance.class, (src, advisor) -> Substance10_40.convertSubstance(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.SupplyDelivery.class, (src, advisor) -> SupplyDelivery10_40.convertSupplyDelivery(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.SupplyRequest.class, (src, advisor) -> SupplyRequest10_40.convertSupplyRequest(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.TestScript.class, (src, advisor) -> TestScript10_40.convertTestScript(src));
+        RESOURCES_40_TO_10.register(org.hl7.fhir.r4.model.ValueSet.class, (src, advisor) -> ValueSet10_40.convertValueSet(src, advisor));
+    }
+
     public static org.hl7.fhir.dstu2.model.Resource convertResource(org.hl7.fhir.r4.model.Resource src, VersionConvertorAdvisor40 advisor) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.r4.model.Parameters)
-            return Parameters10_40.convertParameters((org.hl7.fhir.r4.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.r4.model.Appointment)
-            return Appointment10_40.convertAppointment((org.hl7.fhir.r4.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.r4.model.AppointmentResponse)
-            return AppointmentResponse10_40.convertAppointmentResponse((org.hl7.fhir.r4.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.AuditEvent)
-            return AuditEvent10_40.convertAuditEvent((org.hl7.fhir.r4.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.r4.model.Basic)
-            return Basic10_40.convertBasic((org.hl7.fhir.r4.model.Basic) src);
-        if (src instanceof org.hl7.fhir.r4.model.Binary)
-            return Binary10_40.convertBinary((org.hl7.fhir.r4.model.Binary) src);
-        if (src instanceof org.hl7.fhir.r4.model.Bundle)
-            return Bundle10_40.convertBundle((org.hl7.fhir.r4.model.Bundle) src, advisor);
-        if (src instanceof org.hl7.fhir.r4.model.CarePlan)
-            return CarePlan10_40.convertCarePlan((org.hl7.fhir.r4.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.r4.model.Communication)
-            return Communication10_40.convertCommunication((org.hl7.fhir.r4.model.Communication) src);
-        if (src instanceof org.hl7.fhir.r4.model.CommunicationRequest)
-            return CommunicationRequest10_40.convertCommunicationRequest((org.hl7.fhir.r4.model.CommunicationRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.Composition)
-            return Composition10_40.convertComposition((org.hl7.fhir.r4.model.Composition) src);
-        if (src instanceof org.hl7.fhir.r4.model.ConceptMap)
-            return ConceptMap10_40.convertConceptMap((org.hl7.fhir.r4.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.r4.model.Condition)
-            return Condition10_40.convertCondition((org.hl7.fhir.r4.model.Condition) src);
-        if (src instanceof org.hl7.fhir.r4.model.CapabilityStatement)
-            return Conformance10_40.convertConformance((org.hl7.fhir.r4.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.r4.model.DetectedIssue)
-            return DetectedIssue10_40.convertDetectedIssue((org.hl7.fhir.r4.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.r4.model.DeviceMetric)
-            return DeviceMetric10_40.convertDeviceMetric((org.hl7.fhir.r4.model.DeviceMetric) src);
-        if (src instanceof org.hl7.fhir.r4.model.DeviceUseStatement)
-            return DeviceUseStatement10_40.convertDeviceUseStatement((org.hl7.fhir.r4.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.r4.model.DiagnosticReport)
-            return DiagnosticReport10_40.convertDiagnosticReport((org.hl7.fhir.r4.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.r4.model.DocumentReference)
-            return DocumentReference10_40.convertDocumentReference((org.hl7.fhir.r4.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.r4.model.Encounter)
-            return Encounter10_40.convertEncounter((org.hl7.fhir.r4.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.r4.model.EnrollmentRequest)
-            return EnrollmentRequest10_40.convertEnrollmentRequest((org.hl7.fhir.r4.model.EnrollmentRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.EnrollmentResponse)
-            return EnrollmentResponse10_40.convertEnrollmentResponse((org.hl7.fhir.r4.model.EnrollmentResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.EpisodeOfCare)
-            return EpisodeOfCare10_40.convertEpisodeOfCare((org.hl7.fhir.r4.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.r4.model.FamilyMemberHistory)
-            return FamilyMemberHistory10_40.convertFamilyMemberHistory((org.hl7.fhir.r4.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.r4.model.Flag)
-            return Flag10_40.convertFlag((org.hl7.fhir.r4.model.Flag) src);
-        if (src instanceof org.hl7.fhir.r4.model.Group)
-            return Group10_40.convertGroup((org.hl7.fhir.r4.model.Group) src);
-        if (src instanceof org.hl7.fhir.r4.model.HealthcareService)
-            return HealthcareService10_40.convertHealthcareService((org.hl7.fhir.r4.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.r4.model.ImplementationGuide)
-            return ImplementationGuide10_40.convertImplementationGuide((org.hl7.fhir.r4.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.r4.model.ListResource)
-            return List10_40.convertList((org.hl7.fhir.r4.model.ListResource) src);
-        if (src instanceof org.hl7.fhir.r4.model.Location)
-            return Location10_40.convertLocation((org.hl7.fhir.r4.model.Location) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicationDispense)
-            return MedicationDispense10_40.convertMedicationDispense((org.hl7.fhir.r4.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicationStatement)
-            return MedicationStatement10_40.convertMedicationStatement((org.hl7.fhir.r4.model.MedicationStatement) src);
-        if (src instanceof org.hl7.fhir.r4.model.MessageHeader)
-            return MessageHeader10_40.convertMessageHeader((org.hl7.fhir.r4.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.r4.model.NamingSystem)
-            return NamingSystem10_40.convertNamingSystem((org.hl7.fhir.r4.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.r4.model.Observation)
-            return Observation10_40.convertObservation((org.hl7.fhir.r4.model.Observation) src);
-        if (src instanceof org.hl7.fhir.r4.model.OperationDefinition)
-            return OperationDefinition10_40.convertOperationDefinition((org.hl7.fhir.r4.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.OperationOutcome)
-            return OperationOutcome10_40.convertOperationOutcome((org.hl7.fhir.r4.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.r4.model.Organization)
-            return Organization10_40.convertOrganization((org.hl7.fhir.r4.model.Organization) src);
-        if (src instanceof org.hl7.fhir.r4.model.Patient)
-            return Patient10_40.convertPatient((org.hl7.fhir.r4.model.Patient) src);
-        if (src instanceof org.hl7.fhir.r4.model.Person)
-            return Person10_40.convertPerson((org.hl7.fhir.r4.model.Person) src);
-        if (src instanceof org.hl7.fhir.r4.model.Practitioner)
-            return Practitioner10_40.convertPractitioner((org.hl7.fhir.r4.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.r4.model.Questionnaire)
-            return Questionnaire10_40.convertQuestionnaire((org.hl7.fhir.r4.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.r4.model.QuestionnaireResponse)
-            return QuestionnaireResponse10_40.convertQuestionnaireResponse((org.hl7.fhir.r4.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.RiskAssessment)
-            return RiskAssessment10_40.convertRiskAssessment((org.hl7.fhir.r4.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.r4.model.Schedule)
-            return Schedule10_40.convertSchedule((org.hl7.fhir.r4.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.r4.model.SearchParameter)
-            return SearchParameter10_40.convertSearchParameter((org.hl7.fhir.r4.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.r4.model.Slot)
-            return Slot10_40.convertSlot((org.hl7.fhir.r4.model.Slot) src);
-        if (src instanceof org.hl7.fhir.r4.model.StructureDefinition)
-            return StructureDefinition10_40.convertStructureDefinition((org.hl7.fhir.r4.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.Subscription)
-            return Subscription10_40.convertSubscription((org.hl7.fhir.r4.model.Subscription) src);
-        if (src instanceof org.hl7.fhir.r4.model.Substance)
-            return Substance10_40.convertSubstance((org.hl7.fhir.r4.model.Substance) src);
-        if (src instanceof org.hl7.fhir.r4.model.SupplyDelivery)
-            return SupplyDelivery10_40.convertSupplyDelivery((org.hl7.fhir.r4.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.r4.model.SupplyRequest)
-            return SupplyRequest10_40.convertSupplyRequest((org.hl7.fhir.r4.model.SupplyRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.TestScript)
-            return TestScript10_40.convertTestScript((org.hl7.fhir.r4.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.r4.model.ValueSet)
-            return ValueSet10_40.convertValueSet((org.hl7.fhir.r4.model.ValueSet) src, advisor);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.r4.model.Resource, ? extends org.hl7.fhir.dstu2.model.Resource, VersionConvertorAdvisor40> converter = RESOURCES_40_TO_10.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, advisor);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
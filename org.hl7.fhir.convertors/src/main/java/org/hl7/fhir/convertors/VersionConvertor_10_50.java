@@ -3216,233 +3216,140 @@ public class VersionConvertor_10_50 {
         return t.hasCoding() && ("http://unstats.un.org/unsd/methods/m49/m49.htm".equals(t.getCoding().get(0).getSystem()) || "urn:iso:std:iso:3166".equals(t.getCoding().get(0).getSystem()) || "https://www.usps.com/".equals(t.getCoding().get(0).getSystem()));
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.dstu2.model.Resource, org.hl7.fhir.r5.model.Resource, VersionConvertorAdvisor50> RESOURCES_10_TO_50 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Parameters.class, (src, advisor) -> Parameters10_50.convertParameters(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Appointment.class, (src, advisor) -> Appointment10_50.convertAppointment(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.AppointmentResponse.class, (src, advisor) -> AppointmentResponse10_50.convertAppointmentResponse(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.AuditEvent.class, (src, advisor) -> AuditEvent10_50.convertAuditEvent(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Basic.class, (src, advisor) -> Basic10_50.convertBasic(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Binary.class, (src, advisor) -> Binary10_50.convertBinary(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Bundle.class, (src, advisor) -> Bundle10_50.convertBundle(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.CarePlan.class, (src, advisor) -> CarePlan10_50.convertCarePlan(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Communication.class, (src, advisor) -> Communication10_50.convertCommunication(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.CommunicationRequest.class, (src, advisor) -> CommunicationRequest10_50.convertCommunicationRequest(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Composition.class, (src, advisor) -> Composition10_50.convertComposition(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.ConceptMap.class, (src, advisor) -> ConceptMap10_50.convertConceptMap(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Condition.class, (src, advisor) -> Condition10_50.convertCondition(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Conformance.class, (src, advisor) -> Conformance10_50.convertConformance(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.DataElement.class, (src, advisor) -> DataElement10_50.convertDataElement(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.DetectedIssue.class, (src, advisor) -> DetectedIssue10_50.convertDetectedIssue(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.DeviceMetric.class, (src, advisor) -> DeviceMetric10_50.convertDeviceMetric(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.DeviceUseStatement.class, (src, advisor) -> DeviceUseStatement10_50.convertDeviceUseStatement(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.DiagnosticReport.class, (src, advisor) -> DiagnosticReport10_50.convertDiagnosticReport(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.DocumentReference.class, (src, advisor) -> DocumentReference10_50.convertDocumentReference(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Encounter.class, (src, advisor) -> Encounter10_50.convertEncounter(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.EnrollmentRequest.class, (src, advisor) -> EnrollmentRequest10_50.convertEnrollmentRequest(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.EnrollmentResponse.class, (src, advisor) -> EnrollmentResponse10_50.convertEnrollmentResponse(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.EpisodeOfCare.class, (src, advisor) -> EpisodeOfCare10_50.convertEpisodeOfCare(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.FamilyMemberHistory.class, (src, advisor) -> FamilyMemberHistory10_50.convertFamilyMemberHistory(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Flag.class, (src, advisor) -> Flag10_50.convertFlag(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Group.class, (src, advisor) -> Group10_50.convertGroup(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.HealthcareService.class, (src, advisor) -> HealthcareService10_50.convertHealthcareService(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.ImplementationGuide.class, (src, advisor) -> ImplementationGuide10_50.convertImplementationGuide(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.List_.class, (src, advisor) -> List10_50.convertList(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Location.class, (src, advisor) -> Location10_50.convertLocation(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.MedicationDispense.class, (src, advisor) -> MedicationDispense10_50.convertMedicationDispense(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.MedicationStatement.class, (src, advisor) -> MedicationStatement10_50.convertMedicationStatement(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.MessageHeader.class, (src, advisor) -> MessageHeader10_50.convertMessageHeader(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.NamingSystem.class, (src, advisor) -> NamingSystem10_50.convertNamingSystem(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Observation.class, (src, advisor) -> Observation10_50.convertObservation(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.OperationDefinition.class, (src, advisor) -> OperationDefinition10_50.convertOperationDefinition(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.OperationOutcome.class, (src, advisor) -> OperationOutcome10_50.convertOperationOutcome(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Organization.class, (src, advisor) -> Organization10_50.convertOrganization(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Patient.class, (src, advisor) -> Patient10_50.convertPatient(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Person.class, (src, advisor) -> Person10_50.convertPerson(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Practitioner.class, (src, advisor) -> Practitioner10_50.convertPractitioner(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Provenance.class, (src, advisor) -> Provenance10_50.convertProvenance(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Questionnaire.class, (src, advisor) -> Questionnaire10_50.convertQuestionnaire(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.QuestionnaireResponse.class, (src, advisor) -> QuestionnaireResponse10_50.convertQuestionnaireResponse(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.RiskAssessment.class, (src, advisor) -> RiskAssessment10_50.convertRiskAssessment(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Schedule.class, (src, advisor) -> Schedule10_50.convertSchedule(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.SearchParameter.class, (src, advisor) -> SearchParameter10_50.convertSearchParameter(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Slot.class, (src, advisor) -> Slot10_50.convertSlot(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.StructureDefinition.class, (src, advisor) -> StructureDefinition10_50.convertStructureDefinition(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.Substance.class, (src, advisor) -> Substance10_50.convertSubstance(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.SupplyDelivery.class, (src, advisor) -> SupplyDelivery10_50.convertSupplyDelivery(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.SupplyRequest.class, (src, advisor) -> SupplyRequest10_50.convertSupplyRequest(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.TestScript.class, (src, advisor) -> TestScript10_50.convertTestScript(src));
+        RESOURCES_10_TO_50.register(org.hl7.fhir.dstu2.model.ValueSet.class, (src, advisor) -> ValueSet10_50.convertValueSet(src, advisor));
+    }
+
     public static org.hl7.fhir.r5.model.Resource convertResource(org.hl7.fhir.dstu2.model.Resource src, VersionConvertorAdvisor50 advisor) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.dstu2.model.Parameters)
-            return Parameters10_50.convertParameters((org.hl7.fhir.dstu2.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Appointment)
-            return Appointment10_50.convertAppointment((org.hl7.fhir.dstu2.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.AppointmentResponse)
-            return AppointmentResponse10_50.convertAppointmentResponse((org.hl7.fhir.dstu2.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.AuditEvent)
-            return AuditEvent10_50.convertAuditEvent((org.hl7.fhir.dstu2.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Basic)
-            return Basic10_50.convertBasic((org.hl7.fhir.dstu2.model.Basic) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Binary)
-            return Binary10_50.convertBinary((org.hl7.fhir.dstu2.model.Binary) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Bundle)
-            return Bundle10_50.convertBundle((org.hl7.fhir.dstu2.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.CarePlan)
-            return CarePlan10_50.convertCarePlan((org.hl7.fhir.dstu2.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Communication)
-            return Communication10_50.convertCommunication((org.hl7.fhir.dstu2.model.Communication) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.CommunicationRequest)
-            return CommunicationRequest10_50.convertCommunicationRequest((org.hl7.fhir.dstu2.model.CommunicationRequest) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Composition)
-            return Composition10_50.convertComposition((org.hl7.fhir.dstu2.model.Composition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.ConceptMap)
-            return ConceptMap10_50.convertConceptMap((org.hl7.fhir.dstu2.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Condition)
-            return Condition10_50.convertCondition((org.hl7.fhir.dstu2.model.Condition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Conformance)
-            return Conformance10_50.convertConformance((org.hl7.fhir.dstu2.model.Conformance) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DataElement)
-            return DataElement10_50.convertDataElement((org.hl7.fhir.dstu2.model.DataElement) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DetectedIssue)
-            return DetectedIssue10_50.convertDetectedIssue((org.hl7.fhir.dstu2.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DeviceMetric)
-            return DeviceMetric10_50.convertDeviceMetric((org.hl7.fhir.dstu2.model.DeviceMetric) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DeviceUseStatement)
-            return DeviceUseStatement10_50.convertDeviceUseStatement((org.hl7.fhir.dstu2.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DiagnosticReport)
-            return DiagnosticReport10_50.convertDiagnosticReport((org.hl7.fhir.dstu2.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.DocumentReference)
-            return DocumentReference10_50.convertDocumentReference((org.hl7.fhir.dstu2.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Encounter)
-            return Encounter10_50.convertEncounter((org.hl7.fhir.dstu2.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.EnrollmentRequest)
-            return EnrollmentRequest10_50.convertEnrollmentRequest((org.hl7.fhir.dstu2.model.EnrollmentRequest) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.EnrollmentResponse)
-            return EnrollmentResponse10_50.convertEnrollmentResponse((org.hl7.fhir.dstu2.model.EnrollmentResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.EpisodeOfCare)
-            return EpisodeOfCare10_50.convertEpisodeOfCare((org.hl7.fhir.dstu2.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.FamilyMemberHistory)
-            return FamilyMemberHistory10_50.convertFamilyMemberHistory((org.hl7.fhir.dstu2.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Flag)
-            return Flag10_50.convertFlag((org.hl7.fhir.dstu2.model.Flag) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Group)
-            return Group10_50.convertGroup((org.hl7.fhir.dstu2.model.Group) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.HealthcareService)
-            return HealthcareService10_50.convertHealthcareService((org.hl7.fhir.dstu2.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.ImplementationGuide)
-            return ImplementationGuide10_50.convertImplementationGuide((org.hl7.fhir.dstu2.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.List_)
-            return List10_50.convertList((org.hl7.fhir.dstu2.model.List_) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Location)
-            return Location10_50.convertLocation((org.hl7.fhir.dstu2.model.Location) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.MedicationDispense)
-            return MedicationDispense10_50.convertMedicationDispense((org.hl7.fhir.dstu2.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.MedicationStatement)
-            return MedicationStatement10_50.convertMedicationStatement((org.hl7.fhir.dstu2.model.MedicationStatement) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.MessageHeader)
-            return MessageHeader10_50.convertMessageHeader((org.hl7.fhir.dstu2.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.NamingSystem)
-            return NamingSystem10_50.convertNamingSystem((org.hl7.fhir.dstu2.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Observation)
-            return Observation10_50.convertObservation((org.hl7.fhir.dstu2.model.Observation) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.OperationDefinition)
-            return OperationDefinition10_50.convertOperationDefinition((org.hl7.fhir.dstu2.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.OperationOutcome)
-            return OperationOutcome10_50.convertOperationOutcome((org.hl7.fhir.dstu2.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Organization)
-            return Organization10_50.convertOrganization((org.hl7.fhir.dstu2.model.Organization) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Patient)
-            return Patient10_50.convertPatient((org.hl7.fhir.dstu2.model.Patient) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Person)
-            return Person10_50.convertPerson((org.hl7.fhir.dstu2.model.Person) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Practitioner)
-          return Practitioner10_50.convertPractitioner((org.hl7.fhir.dstu2.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Provenance)
-          return Provenance10_50.convertProvenance((org.hl7.fhir.dstu2.model.Provenance) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Questionnaire)
-            return Questionnaire10_50.convertQuestionnaire((org.hl7.fhir.dstu2.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.QuestionnaireResponse)
-            return QuestionnaireResponse10_50.convertQuestionnaireResponse((org.hl7.fhir.dstu2.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.RiskAssessment)
-            return RiskAssessment10_50.convertRiskAssessment((org.hl7.fhir.dstu2.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Schedule)
-            return Schedule10_50.convertSchedule((org.hl7.fhir.dstu2.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.SearchParameter)
-            return SearchParameter10_50.convertSearchParameter((org.hl7.fhir.dstu2.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Slot)
-            return Slot10_50.convertSlot((org.hl7.fhir.dstu2.model.Slot) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.StructureDefinition)
-            return StructureDefinition10_50.convertStructureDefinition((org.hl7.fhir.dstu2.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.Substance)
-            return Substance10_50.convertSubstance((org.hl7.fhir.dstu2.model.Substance) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.SupplyDelivery)
-            return SupplyDelivery10_50.convertSupplyDelivery((org.hl7.fhir.dstu2.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.SupplyRequest)
-            return SupplyRequest10_50.convertSupplyRequest((org.hl7.fhir.dstu2.model.SupplyRequest) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.TestScript)
-            return TestScript10_50.convertTestScript((org.hl7.fhir.dstu2.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.dstu2.model.ValueSet)
-            return ValueSet10_50.convertValueSet((org.hl7.fhir.dstu2.model.ValueSet) src, advisor);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.dstu2.model.Resource, ? extends org.hl7.fhir.r5.model.Resource, VersionConvertorAdvisor50> converter = RESOURCES_10_TO_50.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, advisor);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.r5.model.Resource, org.hl7.fhir.dstu2.model.Resource, VersionConvertorAdvisor50> RESOURCES_50_TO_10 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Parameters.class, (src, advisor) -> Parameters10_50.convertParameters(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Appointment.class, (src, advisor) -> Appointment10_50.convertAppointment(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.AppointmentResponse.class, (src, advisor) -> AppointmentResponse10_50.convertAppointmentResponse(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.AuditEvent.class, (src, advisor) -> AuditEvent10_50.convertAuditEvent(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Basic.class, (src, advisor) -> Basic10_50.convertBasic(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Binary.class, (src, advisor) -> Binary10_50.convertBinary(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Bundle.class, (src, advisor) -> Bundle10_50.convertBundle(src, advisor));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.CarePlan.class, (src, advisor) -> CarePlan10_50.convertCarePlan(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Communication.class, (src, advisor) -> Communication10_50.convertCommunication(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.CommunicationRequest.class, (src, advisor) -> CommunicationRequest10_50.convertCommunicationRequest(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Composition.class, (src, advisor) -> Composition10_50.convertComposition(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.ConceptMap.class, (src, advisor) -> ConceptMap10_50.convertConceptMap(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Condition.class, (src, advisor) -> Condition10_50.convertCondition(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.CapabilityStatement.class, (src, advisor) -> Conformance10_50.convertConformance(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.DetectedIssue.class, (src, advisor) -> DetectedIssue10_50.convertDetectedIssue(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.DeviceMetric.class, (src, advisor) -> DeviceMetric10_50.convertDeviceMetric(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.DeviceUseStatement.class, (src, advisor) -> DeviceUseStatement10_50.convertDeviceUseStatement(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.DiagnosticReport.class, (src, advisor) -> DiagnosticReport10_50.convertDiagnosticReport(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.DocumentReference.class, (src, advisor) -> DocumentReference10_50.convertDocumentReference(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Encounter.class, (src, advisor) -> Encounter10_50.convertEncounter(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.EnrollmentRequest.class, (src, advisor) -> EnrollmentRequest10_50.convertEnrollmentRequest(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.EnrollmentResponse.class, (src, advisor) -> EnrollmentResponse10_50.convertEnrollmentResponse(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.EpisodeOfCare.class, (src, advisor) -> EpisodeOfCare10_50.convertEpisodeOfCare(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.FamilyMemberHistory.class, (src, advisor) -> FamilyMemberHistory10_50.convertFamilyMemberHistory(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Flag.class, (src, advisor) -> Flag10_50.convertFlag(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Group.class, (src, advisor) -> Group10_50.convertGroup(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.HealthcareService.class, (src, advisor) -> HealthcareService10_50.convertHealthcareService(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.ImplementationGuide.class, (src, advisor) -> ImplementationGuide10_50.convertImplementationGuide(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.ListResource.class, (src, advisor) -> List10_50.convertList(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Location.class, (src, advisor) -> Location10_50.convertLocation(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.MedicationDispense.class, (src, advisor) -> MedicationDispense10_50.convertMedicationDispense(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.MedicationUsage.class, (src, advisor) -> MedicationStatement10_50.convertMedicationStatement(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.MessageHeader.class, (src, advisor) -> MessageHeader10_50.convertMessageHeader(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.NamingSystem.class, (src, advisor) -> NamingSystem10_50.convertNamingSystem(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Observation.class, (src, advisor) -> Observation10_50.convertObservation(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.OperationDefinition.class, (src, advisor) -> OperationDefinition10_50.convertOperationDefinition(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.OperationOutcome.class, (src, advisor) -> OperationOutcome10_50.convertOperationOutcome(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Organization.class, (src, advisor) -> Organization10_50.convertOrganization(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Patient.class, (src, advisor) -> Patient10_50.convertPatient(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Person.class, (src, advisor) -> Person10_50.convertPerson(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Practitioner.class, (src, advisor) -> Practitioner10_50.convertPractitioner(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Provenance.class, (src, advisor) -> Provenance10_50.convertProvenance(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Questionnaire.class, (src, advisor) -> Questionnaire10_50.convertQuestionnaire(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.QuestionnaireResponse.class, (src, advisor) -> QuestionnaireResponse10_50.convertQuestionnaireResponse(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.RiskAssessment.class, (src, advisor) -> RiskAssessment10_50.convertRiskAssessment(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Schedule.class, (src, advisor) -> Schedule10_50.convertSchedule(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.SearchParameter.class, (src, advisor) -> SearchParameter10_50.convertSearchParameter(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Slot.class, (src, advisor) -> Slot10_50.convertSlot(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.StructureDefinition.class, (src, advisor) -> StructureDefinition10_50.convertStructureDefinition(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.Substance.class, (src, advisor) -> Substance10_50.convertSubstance(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.SupplyDelivery.class, (src, advisor) -> SupplyDelivery10_50.convertSupplyDelivery(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.SupplyRequest.class, (src, advisor) -> SupplyRequest10_50.convertSupplyRequest(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.TestScript.class, (src, advisor) -> TestScript10_50.convertTestScript(src));
+        RESOURCES_50_TO_10.register(org.hl7.fhir.r5.model.ValueSet.class, (src, advisor) -> ValueSet10_50.convertValueSet(src, advisor));
+    }
+
     public static org.hl7.fhir.dstu2.model.Resource convertResource(org.hl7.fhir.r5.model.Resource src, VersionConvertorAdvisor50 advisor) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.r5.model.Parameters)
-            return Parameters10_50.convertParameters((org.hl7.fhir.r5.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.r5.model.Appointment)
-            return Appointment10_50.convertAppointment((org.hl7.fhir.r5.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.r5.model.AppointmentResponse)
-            return AppointmentResponse10_50.convertAppointmentResponse((org.hl7.fhir.r5.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.AuditEvent)
-            return AuditEvent10_50.convertAuditEvent((org.hl7.fhir.r5.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.r5.model.Basic)
-            return Basic10_50.convertBasic((org.hl7.fhir.r5.model.Basic) src);
-        if (src instanceof org.hl7.fhir.r5.model.Binary)
-            return Binary10_50.convertBinary((org.hl7.fhir.r5.model.Binary) src);
-        if (src instanceof org.hl7.fhir.r5.model.Bundle)
-            return Bundle10_50.convertBundle((org.hl7.fhir.r5.model.Bundle) src, advisor);
-        if (src instanceof org.hl7.fhir.r5.model.CarePlan)
-            return CarePlan10_50.convertCarePlan((org.hl7.fhir.r5.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.r5.model.Communication)
-            return Communication10_50.convertCommunication((org.hl7.fhir.r5.model.Communication) src);
-        if (src instanceof org.hl7.fhir.r5.model.CommunicationRequest)
-            return CommunicationRequest10_50.convertCommunicationRequest((org.hl7.fhir.r5.model.CommunicationRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.Composition)
-            return Composition10_50.convertComposition((org.hl7.fhir.r5.model.Composition) src);
-        if (src instanceof org.hl7.fhir.r5.model.ConceptMap)
-            return ConceptMap10_50.convertConceptMap((org.hl7.fhir.r5.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.r5.model.Condition)
-            return Condition10_50.convertCondition((org.hl7.fhir.r5.model.Condition) src);
-        if (src instanceof org.hl7.fhir.r5.model.CapabilityStatement)
-            return Conformance10_50.convertConformance((org.hl7.fhir.r5.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.r5.model.DetectedIssue)
-            return DetectedIssue10_50.convertDetectedIssue((org.hl7.fhir.r5.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.r5.model.DeviceMetric)
-            return DeviceMetric10_50.convertDeviceMetric((org.hl7.fhir.r5.model.DeviceMetric) src);
-        if (src instanceof org.hl7.fhir.r5.model.DeviceUseStatement)
-            return DeviceUseStatement10_50.convertDeviceUseStatement((org.hl7.fhir.r5.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.r5.model.DiagnosticReport)
-            return DiagnosticReport10_50.convertDiagnosticReport((org.hl7.fhir.r5.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.r5.model.DocumentReference)
-            return DocumentReference10_50.convertDocumentReference((org.hl7.fhir.r5.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.r5.model.Encounter)
-            return Encounter10_50.convertEncounter((org.hl7.fhir.r5.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.r5.model.EnrollmentRequest)
-            return EnrollmentRequest10_50.convertEnrollmentRequest((org.hl7.fhir.r5.model.EnrollmentRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.EnrollmentResponse)
-            return EnrollmentResponse10_50.convertEnrollmentResponse((org.hl7.fhir.r5.model.EnrollmentResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.EpisodeOfCare)
-            return EpisodeOfCare10_50.convertEpisodeOfCare((org.hl7.fhir.r5.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.r5.model.FamilyMemberHistory)
-            return FamilyMemberHistory10_50.convertFamilyMemberHistory((org.hl7.fhir.r5.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.r5.model.Flag)
-            return Flag10_50.convertFlag((org.hl7.fhir.r5.model.Flag) src);
-        if (src instanceof org.hl7.fhir.r5.model.Group)
-            return Group10_50.convertGroup((org.hl7.fhir.r5.model.Group) src);
-        if (src instanceof org.hl7.fhir.r5.model.HealthcareService)
-            return HealthcareService10_50.convertHealthcareService((org.hl7.fhir.r5.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImplementationGuide)
-            return ImplementationGuide10_50.convertImplementationGuide((org.hl7.fhir.r5.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.r5.model.ListResource)
-            return List10_50.convertList((org.hl7.fhir.r5.model.ListResource) src);
-        if (src instanceof org.hl7.fhir.r5.model.Location)
-            return Location10_50.convertLocation((org.hl7.fhir.r5.model.Location) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationDispense)
-            return MedicationDispense10_50.convertMedicationDispense((org.hl7.fhir.r5.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationUsage)
-            return MedicationStatement10_50.convertMedicationStatement((org.hl7.fhir.r5.model.MedicationUsage) src);
-        if (src instanceof org.hl7.fhir.r5.model.MessageHeader)
-            return MessageHeader10_50.convertMessageHeader((org.hl7.fhir.r5.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.r5.model.NamingSystem)
-            return NamingSystem10_50.convertNamingSystem((org.hl7.fhir.r5.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.r5.model.Observation)
-            return Observation10_50.convertObservation((org.hl7.fhir.r5.model.Observation) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationDefinition)
-            return OperationDefinition10_50.convertOperationDefinition((org.hl7.fhir.r5.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationOutcome)
-            return OperationOutcome10_50.convertOperationOutcome((org.hl7.fhir.r5.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.r5.model.Organization)
-            return Organization10_50.convertOrganization((org.hl7.fhir.r5.model.Organization) src);
-        if (src instanceof org.hl7.fhir.r5.model.Patient)
-            return Patient10_50.convertPatient((org.hl7.fhir.r5.model.Patient) src);
-        if (src instanceof org.hl7.fhir.r5.model.Person)
-            return Person10_50.convertPerson((org.hl7.fhir.r5.model.Person) src);
-        if (src instanceof org.hl7.fhir.r5.model.Practitioner)
-            return Practitioner10_50.convertPractitioner((org.hl7.fhir.r5.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.r5.model.Provenance)
-          return Provenance10_50.convertProvenance((org.hl7.fhir.r5.model.Provenance) src);
-        if (src instanceof org.hl7.fhir.r5.model.Questionnaire)
-            return Questionnaire10_50.convertQuestionnaire((org.hl7.fhir.r5.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.r5.model.QuestionnaireResponse)
-            return QuestionnaireResponse10_50.convertQuestionnaireResponse((org.hl7.fhir.r5.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.RiskAssessment)
-            return RiskAssessment10_50.convertRiskAssessment((org.hl7.fhir.r5.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.r5.model.Schedule)
-            return Schedule10_50.convertSchedule((org.hl7.fhir.r5.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.r5.model.SearchParameter)
-            return SearchParameter10_50.convertSearchParameter((org.hl7.fhir.r5.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.r5.model.Slot)
-            return Slot10_50.convertSlot((org.hl7.fhir.r5.model.Slot) src);
-        if (src instanceof org.hl7.fhir.r5.model.StructureDefinition)
-            return StructureDefinition10_50.convertStructureDefinition((org.hl7.fhir.r5.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Substance)
-            return Substance10_50.convertSubstance((org.hl7.fhir.r5.model.Substance) src);
-        if (src instanceof org.hl7.fhir.r5.model.SupplyDelivery)
-            return SupplyDelivery10_50.convertSupplyDelivery((org.hl7.fhir.r5.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.r5.model.SupplyRequest)
-            return SupplyRequest10_50.convertSupplyRequest((org.hl7.fhir.r5.model.SupplyRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.TestScript)
-            return TestScript10_50.convertTestScript((org.hl7.fhir.r5.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.r5.model.ValueSet)
-            return ValueSet10_50.convertValueSet((org.hl7.fhir.r5.model.ValueSet) src, advisor);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.r5.model.Resource, ? extends org.hl7.fhir.dstu2.model.Resource, VersionConvertorAdvisor50> converter = RESOURCES_50_TO_10.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, advisor);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
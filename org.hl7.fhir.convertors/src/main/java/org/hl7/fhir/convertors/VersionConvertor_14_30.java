@@ -2821,83 +2821,65 @@ public class VersionConvertor_14_30 {
         return tgt;
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.dstu2016may.model.Resource, org.hl7.fhir.dstu3.model.Resource, Void> RESOURCES_14_TO_30 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.Parameters.class, (src, context) -> Parameters14_30.convertParameters(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.Bundle.class, (src, context) -> Bundle14_30.convertBundle(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.CodeSystem.class, (src, context) -> CodeSystem14_30.convertCodeSystem(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition14_30.convertCompartmentDefinition(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.ConceptMap.class, (src, context) -> ConceptMap14_30.convertConceptMap(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.Conformance.class, (src, context) -> Conformance14_30.convertConformance(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.DataElement.class, (src, context) -> DataElement14_30.convertDataElement(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.ImplementationGuide.class, (src, context) -> ImplementationGuide14_30.convertImplementationGuide(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.NamingSystem.class, (src, context) -> NamingSystem14_30.convertNamingSystem(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.OperationDefinition.class, (src, context) -> OperationDefinition14_30.convertOperationDefinition(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.OperationOutcome.class, (src, context) -> OperationOutcome14_30.convertOperationOutcome(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.Questionnaire.class, (src, context) -> Questionnaire14_30.convertQuestionnaire(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse14_30.convertQuestionnaireResponse(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.SearchParameter.class, (src, context) -> SearchParameter14_30.convertSearchParameter(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.StructureDefinition.class, (src, context) -> StructureDefinition14_30.convertStructureDefinition(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.TestScript.class, (src, context) -> TestScript14_30.convertTestScript(src));
+        RESOURCES_14_TO_30.register(org.hl7.fhir.dstu2016may.model.ValueSet.class, (src, context) -> ValueSet14_30.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.dstu3.model.Resource convertResource(org.hl7.fhir.dstu2016may.model.Resource src) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Parameters)
-            return Parameters14_30.convertParameters((org.hl7.fhir.dstu2016may.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Bundle)
-            return Bundle14_30.convertBundle((org.hl7.fhir.dstu2016may.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.CodeSystem)
-            return CodeSystem14_30.convertCodeSystem((org.hl7.fhir.dstu2016may.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.CompartmentDefinition)
-            return CompartmentDefinition14_30.convertCompartmentDefinition((org.hl7.fhir.dstu2016may.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ConceptMap)
-            return ConceptMap14_30.convertConceptMap((org.hl7.fhir.dstu2016may.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Conformance)
-            return Conformance14_30.convertConformance((org.hl7.fhir.dstu2016may.model.Conformance) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.DataElement)
-            return DataElement14_30.convertDataElement((org.hl7.fhir.dstu2016may.model.DataElement) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ImplementationGuide)
-            return ImplementationGuide14_30.convertImplementationGuide((org.hl7.fhir.dstu2016may.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.NamingSystem)
-            return NamingSystem14_30.convertNamingSystem((org.hl7.fhir.dstu2016may.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.OperationDefinition)
-            return OperationDefinition14_30.convertOperationDefinition((org.hl7.fhir.dstu2016may.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.OperationOutcome)
-            return OperationOutcome14_30.convertOperationOutcome((org.hl7.fhir.dstu2016may.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Questionnaire)
-            return Questionnaire14_30.convertQuestionnaire((org.hl7.fhir.dstu2016may.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.QuestionnaireResponse)
-            return QuestionnaireResponse14_30.convertQuestionnaireResponse((org.hl7.fhir.dstu2016may.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.SearchParameter)
-            return SearchParameter14_30.convertSearchParameter((org.hl7.fhir.dstu2016may.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.StructureDefinition)
-            return StructureDefinition14_30.convertStructureDefinition((org.hl7.fhir.dstu2016may.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.TestScript)
-            return TestScript14_30.convertTestScript((org.hl7.fhir.dstu2016may.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ValueSet)
-            return ValueSet14_30.convertValueSet((org.hl7.fhir.dstu2016may.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.dstu2016may.model.Resource, ? extends org.hl7.fhir.dstu3.model.Resource, Void> converter = RESOURCES_14_TO_30.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.dstu3.model.Resource, org.hl7.fhir.dstu2016may.model.Resource, Void> RESOURCES_30_TO_14 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.Parameters.class, (src, context) -> Parameters14_30.convertParameters(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.Bundle.class, (src, context) -> Bundle14_30.convertBundle(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.CodeSystem.class, (src, context) -> CodeSystem14_30.convertCodeSystem(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition14_30.convertCompartmentDefinition(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.ConceptMap.class, (src, context) -> ConceptMap14_30.convertConceptMap(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.CapabilityStatement.class, (src, context) -> Conformance14_30.convertConformance(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.DataElement.class, (src, context) -> DataElement14_30.convertDataElement(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.ImplementationGuide.class, (src, context) -> ImplementationGuide14_30.convertImplementationGuide(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.NamingSystem.class, (src, context) -> NamingSystem14_30.convertNamingSystem(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.OperationDefinition.class, (src, context) -> OperationDefinition14_30.convertOperationDefinition(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.OperationOutcome.class, (src, context) -> OperationOutcome14_30.convertOperationOutcome(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.Questionnaire.class, (src, context) -> Questionnaire14_30.convertQuestionnaire(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse14_30.convertQuestionnaireResponse(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.SearchParameter.class, (src, context) -> SearchParameter14_30.convertSearchParameter(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.StructureDefinition.class, (src, context) -> StructureDefinition14_30.convertStructureDefinition(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.TestScript.class, (src, context) -> TestScript14_30.convertTestScript(src));
+        RESOURCES_30_TO_14.register(org.hl7.fhir.dstu3.model.ValueSet.class, (src, context) -> ValueSet14_30.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.dstu2016may.model.Resource convertResource(org.hl7.fhir.dstu3.model.Resource src) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.dstu3.model.Parameters)
-            return Parameters14_30.convertParameters((org.hl7.fhir.dstu3.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Bundle)
-            return Bundle14_30.convertBundle((org.hl7.fhir.dstu3.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CodeSystem)
-            return CodeSystem14_30.convertCodeSystem((org.hl7.fhir.dstu3.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CompartmentDefinition)
-            return CompartmentDefinition14_30.convertCompartmentDefinition((org.hl7.fhir.dstu3.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ConceptMap)
-            return ConceptMap14_30.convertConceptMap((org.hl7.fhir.dstu3.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CapabilityStatement)
-            return Conformance14_30.convertConformance((org.hl7.fhir.dstu3.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.DataElement)
-            return DataElement14_30.convertDataElement((org.hl7.fhir.dstu3.model.DataElement) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ImplementationGuide)
-            return ImplementationGuide14_30.convertImplementationGuide((org.hl7.fhir.dstu3.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.NamingSystem)
-            return NamingSystem14_30.convertNamingSystem((org.hl7.fhir.dstu3.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.OperationDefinition)
-            return OperationDefinition14_30.convertOperationDefinition((org.hl7.fhir.dstu3.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.OperationOutcome)
-            return OperationOutcome14_30.convertOperationOutcome((org.hl7.fhir.dstu3.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Questionnaire)
-            return Questionnaire14_30.convertQuestionnaire((org.hl7.fhir.dstu3.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.QuestionnaireResponse)
-            return QuestionnaireResponse14_30.convertQuestionnaireResponse((org.hl7.fhir.dstu3.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.SearchParameter)
-            return SearchParameter14_30.convertSearchParameter((org.hl7.fhir.dstu3.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.StructureDefinition)
-            return StructureDefinition14_30.convertStructureDefinition((org.hl7.fhir.dstu3.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.TestScript)
-            return TestScript14_30.convertTestScript((org.hl7.fhir.dstu3.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ValueSet)
-            return ValueSet14_30.convertValueSet((org.hl7.fhir.dstu3.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.dstu3.model.Resource, ? extends org.hl7.fhir.dstu2016may.model.Resource, Void> converter = RESOURCES_30_TO_14.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
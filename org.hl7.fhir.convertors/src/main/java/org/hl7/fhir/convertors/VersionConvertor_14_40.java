@@ -3029,81 +3029,64 @@ public class VersionConvertor_14_40 {
         return tgt;
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.dstu2016may.model.Resource, org.hl7.fhir.r4.model.Resource, Void> RESOURCES_14_TO_40 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.Parameters.class, (src, context) -> Parameters14_40.convertParameters(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.Bundle.class, (src, context) -> Bundle14_40.convertBundle(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.CodeSystem.class, (src, context) -> CodeSystem14_40.convertCodeSystem(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition14_40.convertCompartmentDefinition(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.ConceptMap.class, (src, context) -> ConceptMap14_40.convertConceptMap(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.Conformance.class, (src, context) -> Conformance14_40.convertConformance(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.DataElement.class, (src, context) -> DataElement14_40.convertDataElement(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.ImplementationGuide.class, (src, context) -> ImplementationGuide14_40.convertImplementationGuide(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.NamingSystem.class, (src, context) -> NamingSystem14_40.convertNamingSystem(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.OperationDefinition.class, (src, context) -> OperationDefinition14_40.convertOperationDefinition(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.OperationOutcome.class, (src, context) -> OperationOutcome14_40.convertOperationOutcome(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.Questionnaire.class, (src, context) -> Questionnaire14_40.convertQuestionnaire(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse14_40.convertQuestionnaireResponse(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.SearchParameter.class, (src, context) -> SearchParameter14_40.convertSearchParameter(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.StructureDefinition.class, (src, context) -> StructureDefinition14_40.convertStructureDefinition(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.StructureMap.class, (src, context) -> StructureMap14_40.convertStructureMap(src));
+        RESOURCES_14_TO_40.register(org.hl7.fhir.dstu2016may.model.ValueSet.class, (src, context) -> ValueSet14_40.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.r4.model.Resource convertResource(org.hl7.fhir.dstu2016may.model.Resource src) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Parameters)
-            return Parameters14_40.convertParameters((org.hl7.fhir.dstu2016may.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Bundle)
-            return Bundle14_40.convertBundle((org.hl7.fhir.dstu2016may.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.CodeSystem)
-            return CodeSystem14_40.convertCodeSystem((org.hl7.fhir.dstu2016may.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.CompartmentDefinition)
-            return CompartmentDefinition14_40.convertCompartmentDefinition((org.hl7.fhir.dstu2016may.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ConceptMap)
-            return ConceptMap14_40.convertConceptMap((org.hl7.fhir.dstu2016may.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Conformance)
-            return Conformance14_40.convertConformance((org.hl7.fhir.dstu2016may.model.Conformance) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.DataElement)
-            return DataElement14_40.convertDataElement((org.hl7.fhir.dstu2016may.model.DataElement) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ImplementationGuide)
-            return ImplementationGuide14_40.convertImplementationGuide((org.hl7.fhir.dstu2016may.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.NamingSystem)
-            return NamingSystem14_40.convertNamingSystem((org.hl7.fhir.dstu2016may.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.OperationDefinition)
-            return OperationDefinition14_40.convertOperationDefinition((org.hl7.fhir.dstu2016may.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.OperationOutcome)
-            return OperationOutcome14_40.convertOperationOutcome((org.hl7.fhir.dstu2016may.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Questionnaire)
-            return Questionnaire14_40.convertQuestionnaire((org.hl7.fhir.dstu2016may.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.QuestionnaireResponse)
-            return QuestionnaireResponse14_40.convertQuestionnaireResponse((org.hl7.fhir.dstu2016may.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.SearchParameter)
-            return SearchParameter14_40.convertSearchParameter((org.hl7.fhir.dstu2016may.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.StructureDefinition)
-            return StructureDefinition14_40.convertStructureDefinition((org.hl7.fhir.dstu2016may.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.StructureMap)
-            return StructureMap14_40.convertStructureMap((org.hl7.fhir.dstu2016may.model.StructureMap) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ValueSet)
-            return ValueSet14_40.convertValueSet((org.hl7.fhir.dstu2016may.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.dstu2016may.model.Resource, ? extends org.hl7.fhir.r4.model.Resource, Void> converter = RESOURCES_14_TO_40.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.r4.model.Resource, org.hl7.fhir.dstu2016may.model.Resource, Void> RESOURCES_40_TO_14 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.Parameters.class, (src, context) -> Parameters14_40.convertParameters(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.Bundle.class, (src, context) -> Bundle14_40.convertBundle(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.CodeSystem.class, (src, context) -> CodeSystem14_40.convertCodeSystem(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition14_40.convertCompartmentDefinition(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.ConceptMap.class, (src, context) -> ConceptMap14_40.convertConceptMap(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.CapabilityStatement.class, (src, context) -> Conformance14_40.convertConformance(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.ImplementationGuide.class, (src, context) -> ImplementationGuide14_40.convertImplementationGuide(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.NamingSystem.class, (src, context) -> NamingSystem14_40.convertNamingSystem(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.OperationDefinition.class, (src, context) -> OperationDefinition14_40.convertOperationDefinition(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.OperationOutcome.class, (src, context) -> OperationOutcome14_40.convertOperationOutcome(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.Questionnaire.class, (src, context) -> Questionnaire14_40.convertQuestionnaire(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse14_40.convertQuestionnaireResponse(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.SearchParameter.class, (src, context) -> SearchParameter14_40.convertSearchParameter(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.StructureDefinition.class, (src, context) -> StructureDefinition14_40.convertStructureDefinition(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.StructureMap.class, (src, context) -> StructureMap14_40.convertStructureMap(src));
+        RESOURCES_40_TO_14.register(org.hl7.fhir.r4.model.ValueSet.class, (src, context) -> ValueSet14_40.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.dstu2016may.model.Resource convertResource(org.hl7.fhir.r4.model.Resource src) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.r4.model.Parameters)
-            return Parameters14_40.convertParameters((org.hl7.fhir.r4.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.r4.model.Bundle)
-            return Bundle14_40.convertBundle((org.hl7.fhir.r4.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.r4.model.CodeSystem)
-            return CodeSystem14_40.convertCodeSystem((org.hl7.fhir.r4.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.r4.model.CompartmentDefinition)
-            return CompartmentDefinition14_40.convertCompartmentDefinition((org.hl7.fhir.r4.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.ConceptMap)
-            return ConceptMap14_40.convertConceptMap((org.hl7.fhir.r4.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.r4.model.CapabilityStatement)
-            return Conformance14_40.convertConformance((org.hl7.fhir.r4.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.r4.model.ImplementationGuide)
-            return ImplementationGuide14_40.convertImplementationGuide((org.hl7.fhir.r4.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.r4.model.NamingSystem)
-            return NamingSystem14_40.convertNamingSystem((org.hl7.fhir.r4.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.r4.model.OperationDefinition)
-            return OperationDefinition14_40.convertOperationDefinition((org.hl7.fhir.r4.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.OperationOutcome)
-            return OperationOutcome14_40.convertOperationOutcome((org.hl7.fhir.r4.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.r4.model.Questionnaire)
-            return Questionnaire14_40.convertQuestionnaire((org.hl7.fhir.r4.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.r4.model.QuestionnaireResponse)
-            return QuestionnaireResponse14_40.convertQuestionnaireResponse((org.hl7.fhir.r4.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.SearchParameter)
-            return SearchParameter14_40.convertSearchParameter((org.hl7.fhir.r4.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.r4.model.StructureDefinition)
-            return StructureDefinition14_40.convertStructureDefinition((org.hl7.fhir.r4.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.StructureMap)
-            return StructureMap14_40.convertStructureMap((org.hl7.fhir.r4.model.StructureMap) src);
-        if (src instanceof org.hl7.fhir.r4.model.ValueSet)
-            return ValueSet14_40.convertValueSet((org.hl7.fhir.r4.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.r4.model.Resource, ? extends org.hl7.fhir.dstu2016may.model.Resource, Void> converter = RESOURCES_40_TO_14.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
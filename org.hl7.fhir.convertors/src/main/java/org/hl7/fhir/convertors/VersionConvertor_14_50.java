@@ -3038,81 +3038,64 @@ public class VersionConvertor_14_50 {
         return tgt;
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.dstu2016may.model.Resource, org.hl7.fhir.r5.model.Resource, Void> RESOURCES_14_TO_50 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.Parameters.class, (src, context) -> Parameters14_50.convertParameters(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.Bundle.class, (src, context) -> Bundle14_50.convertBundle(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.CodeSystem.class, (src, context) -> CodeSystem14_50.convertCodeSystem(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition14_50.convertCompartmentDefinition(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.ConceptMap.class, (src, context) -> ConceptMap14_50.convertConceptMap(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.Conformance.class, (src, context) -> Conformance14_50.convertConformance(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.DataElement.class, (src, context) -> DataElement14_50.convertDataElement(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.ImplementationGuide.class, (src, context) -> ImplementationGuide14_50.convertImplementationGuide(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.NamingSystem.class, (src, context) -> NamingSystem14_50.convertNamingSystem(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.OperationDefinition.class, (src, context) -> OperationDefinition14_50.convertOperationDefinition(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.OperationOutcome.class, (src, context) -> OperationOutcome14_50.convertOperationOutcome(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.Questionnaire.class, (src, context) -> Questionnaire14_50.convertQuestionnaire(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse14_50.convertQuestionnaireResponse(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.SearchParameter.class, (src, context) -> SearchParameter14_50.convertSearchParameter(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.StructureDefinition.class, (src, context) -> StructureDefinition14_50.convertStructureDefinition(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.StructureMap.class, (src, context) -> StructureMap14_50.convertStructureMap(src));
+        RESOURCES_14_TO_50.register(org.hl7.fhir.dstu2016may.model.ValueSet.class, (src, context) -> ValueSet14_50.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.r5.model.Resource convertResource(org.hl7.fhir.dstu2016may.model.Resource src) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Parameters)
-            return Parameters14_50.convertParameters((org.hl7.fhir.dstu2016may.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Bundle)
-            return Bundle14_50.convertBundle((org.hl7.fhir.dstu2016may.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.CodeSystem)
-            return CodeSystem14_50.convertCodeSystem((org.hl7.fhir.dstu2016may.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.CompartmentDefinition)
-            return CompartmentDefinition14_50.convertCompartmentDefinition((org.hl7.fhir.dstu2016may.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ConceptMap)
-            return ConceptMap14_50.convertConceptMap((org.hl7.fhir.dstu2016may.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Conformance)
-            return Conformance14_50.convertConformance((org.hl7.fhir.dstu2016may.model.Conformance) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.DataElement)
-            return DataElement14_50.convertDataElement((org.hl7.fhir.dstu2016may.model.DataElement) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ImplementationGuide)
-            return ImplementationGuide14_50.convertImplementationGuide((org.hl7.fhir.dstu2016may.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.NamingSystem)
-            return NamingSystem14_50.convertNamingSystem((org.hl7.fhir.dstu2016may.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.OperationDefinition)
-            return OperationDefinition14_50.convertOperationDefinition((org.hl7.fhir.dstu2016may.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.OperationOutcome)
-            return OperationOutcome14_50.convertOperationOutcome((org.hl7.fhir.dstu2016may.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.Questionnaire)
-            return Questionnaire14_50.convertQuestionnaire((org.hl7.fhir.dstu2016may.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.QuestionnaireResponse)
-            return QuestionnaireResponse14_50.convertQuestionnaireResponse((org.hl7.fhir.dstu2016may.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.SearchParameter)
-            return SearchParameter14_50.convertSearchParameter((org.hl7.fhir.dstu2016may.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.StructureDefinition)
-            return StructureDefinition14_50.convertStructureDefinition((org.hl7.fhir.dstu2016may.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.StructureMap)
-            return StructureMap14_50.convertStructureMap((org.hl7.fhir.dstu2016may.model.StructureMap) src);
-        if (src instanceof org.hl7.fhir.dstu2016may.model.ValueSet)
-            return ValueSet14_50.convertValueSet((org.hl7.fhir.dstu2016may.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.dstu2016may.model.Resource, ? extends org.hl7.fhir.r5.model.Resource, Void> converter = RESOURCES_14_TO_50.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.r5.model.Resource, org.hl7.fhir.dstu2016may.model.Resource, Void> RESOURCES_50_TO_14 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.Parameters.class, (src, context) -> Parameters14_50.convertParameters(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.Bundle.class, (src, context) -> Bundle14_50.convertBundle(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.CodeSystem.class, (src, context) -> CodeSystem14_50.convertCodeSystem(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition14_50.convertCompartmentDefinition(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.ConceptMap.class, (src, context) -> ConceptMap14_50.convertConceptMap(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.CapabilityStatement.class, (src, context) -> Conformance14_50.convertConformance(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.ImplementationGuide.class, (src, context) -> ImplementationGuide14_50.convertImplementationGuide(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.NamingSystem.class, (src, context) -> NamingSystem14_50.convertNamingSystem(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.OperationDefinition.class, (src, context) -> OperationDefinition14_50.convertOperationDefinition(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.OperationOutcome.class, (src, context) -> OperationOutcome14_50.convertOperationOutcome(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.Questionnaire.class, (src, context) -> Questionnaire14_50.convertQuestionnaire(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse14_50.convertQuestionnaireResponse(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.SearchParameter.class, (src, context) -> SearchParameter14_50.convertSearchParameter(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.StructureDefinition.class, (src, context) -> StructureDefinition14_50.convertStructureDefinition(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.StructureMap.class, (src, context) -> StructureMap14_50.convertStructureMap(src));
+        RESOURCES_50_TO_14.register(org.hl7.fhir.r5.model.ValueSet.class, (src, context) -> ValueSet14_50.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.dstu2016may.model.Resource convertResource(org.hl7.fhir.r5.model.Resource src) throws FHIRException {
         if (src == null || src.isEmpty())
             return null;
-        if (src instanceof org.hl7.fhir.r5.model.Parameters)
-            return Parameters14_50.convertParameters((org.hl7.fhir.r5.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.r5.model.Bundle)
-            return Bundle14_50.convertBundle((org.hl7.fhir.r5.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.r5.model.CodeSystem)
-            return CodeSystem14_50.convertCodeSystem((org.hl7.fhir.r5.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.r5.model.CompartmentDefinition)
-            return CompartmentDefinition14_50.convertCompartmentDefinition((org.hl7.fhir.r5.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.ConceptMap)
-            return ConceptMap14_50.convertConceptMap((org.hl7.fhir.r5.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.r5.model.CapabilityStatement)
-            return Conformance14_50.convertConformance((org.hl7.fhir.r5.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImplementationGuide)
-            return ImplementationGuide14_50.convertImplementationGuide((org.hl7.fhir.r5.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.r5.model.NamingSystem)
-            return NamingSystem14_50.convertNamingSystem((org.hl7.fhir.r5.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationDefinition)
-            return OperationDefinition14_50.convertOperationDefinition((org.hl7.fhir.r5.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationOutcome)
-            return OperationOutcome14_50.convertOperationOutcome((org.hl7.fhir.r5.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.r5.model.Questionnaire)
-            return Questionnaire14_50.convertQuestionnaire((org.hl7.fhir.r5.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.r5.model.QuestionnaireResponse)
-            return QuestionnaireResponse14_50.convertQuestionnaireResponse((org.hl7.fhir.r5.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.SearchParameter)
-            return SearchParameter14_50.convertSearchParameter((org.hl7.fhir.r5.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.r5.model.StructureDefinition)
-            return StructureDefinition14_50.convertStructureDefinition((org.hl7.fhir.r5.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.StructureMap)
-            return StructureMap14_50.convertStructureMap((org.hl7.fhir.r5.model.StructureMap) src);
-        if (src instanceof org.hl7.fhir.r5.model.ValueSet)
-            return ValueSet14_50.convertValueSet((org.hl7.fhir.r5.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.r5.model.Resource, ? extends org.hl7.fhir.dstu2016may.model.Resource, Void> converter = RESOURCES_50_TO_14.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
@@ -5196,338 +5196,192 @@ public class VersionConvertor_30_50 {
         return tgt;
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.dstu3.model.Resource, org.hl7.fhir.r5.model.Resource, Void> RESOURCES_30_TO_50 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Parameters.class, (src, context) -> Parameters30_50.convertParameters(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ActivityDefinition.class, (src, context) -> ActivityDefinition30_50.convertActivityDefinition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.AllergyIntolerance.class, (src, context) -> AllergyIntolerance30_50.convertAllergyIntolerance(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Appointment.class, (src, context) -> Appointment30_50.convertAppointment(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.AppointmentResponse.class, (src, context) -> AppointmentResponse30_50.convertAppointmentResponse(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.AuditEvent.class, (src, context) -> AuditEvent30_50.convertAuditEvent(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Basic.class, (src, context) -> Basic30_50.convertBasic(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Binary.class, (src, context) -> Binary30_50.convertBinary(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.BodySite.class, (src, context) -> BodySite30_50.convertBodySite(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Bundle.class, (src, context) -> Bundle30_50.convertBundle(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.CapabilityStatement.class, (src, context) -> CapabilityStatement30_50.convertCapabilityStatement(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.CarePlan.class, (src, context) -> CarePlan30_50.convertCarePlan(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.CareTeam.class, (src, context) -> CareTeam30_50.convertCareTeam(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ClinicalImpression.class, (src, context) -> ClinicalImpression30_50.convertClinicalImpression(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.CodeSystem.class, (src, context) -> CodeSystem30_50.convertCodeSystem(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Communication.class, (src, context) -> Communication30_50.convertCommunication(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition30_50.convertCompartmentDefinition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Composition.class, (src, context) -> Composition30_50.convertComposition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ConceptMap.class, (src, context) -> ConceptMap30_50.convertConceptMap(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Condition.class, (src, context) -> Condition30_50.convertCondition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Consent.class, (src, context) -> Consent30_50.convertConsent(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.DataElement.class, (src, context) -> DataElement30_50.convertDataElement(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.DetectedIssue.class, (src, context) -> DetectedIssue30_50.convertDetectedIssue(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.DeviceUseStatement.class, (src, context) -> DeviceUseStatement30_50.convertDeviceUseStatement(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.DiagnosticReport.class, (src, context) -> DiagnosticReport30_50.convertDiagnosticReport(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.DocumentReference.class, (src, context) -> DocumentReference30_50.convertDocumentReference(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Encounter.class, (src, context) -> Encounter30_50.convertEncounter(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Endpoint.class, (src, context) -> Endpoint30_50.convertEndpoint(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.EpisodeOfCare.class, (src, context) -> EpisodeOfCare30_50.convertEpisodeOfCare(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ExpansionProfile.class, (src, context) -> ExpansionProfile30_50.convertExpansionProfile(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.FamilyMemberHistory.class, (src, context) -> FamilyMemberHistory30_50.convertFamilyMemberHistory(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Flag.class, (src, context) -> Flag30_50.convertFlag(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Goal.class, (src, context) -> Goal30_50.convertGoal(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.GraphDefinition.class, (src, context) -> GraphDefinition30_50.convertGraphDefinition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Group.class, (src, context) -> Group30_50.convertGroup(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.HealthcareService.class, (src, context) -> HealthcareService30_50.convertHealthcareService(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ImagingStudy.class, (src, context) -> ImagingStudy30_50.convertImagingStudy(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Immunization.class, (src, context) -> Immunization30_50.convertImmunization(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ImplementationGuide.class, (src, context) -> ImplementationGuide30_50.convertImplementationGuide(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Library.class, (src, context) -> Library30_50.convertLibrary(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Linkage.class, (src, context) -> Linkage30_50.convertLinkage(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ListResource.class, (src, context) -> List30_50.convertList(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Location.class, (src, context) -> Location30_50.convertLocation(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Measure.class, (src, context) -> Measure30_50.convertMeasure(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Media.class, (src, context) -> Media30_50.convertMedia(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Medication.class, (src, context) -> Medication30_50.convertMedication(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.MedicationAdministration.class, (src, context) -> MedicationAdministration30_50.convertMedicationAdministration(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.MedicationDispense.class, (src, context) -> MedicationDispense30_50.convertMedicationDispense(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.MedicationRequest.class, (src, context) -> MedicationRequest30_50.convertMedicationRequest(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.MedicationStatement.class, (src, context) -> MedicationStatement30_50.convertMedicationStatement(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.MessageDefinition.class, (src, context) -> MessageDefinition30_50.convertMessageDefinition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.MessageHeader.class, (src, context) -> MessageHeader30_50.convertMessageHeader(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.NamingSystem.class, (src, context) -> NamingSystem30_50.convertNamingSystem(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Observation.class, (src, context) -> Observation30_50.convertObservation(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.OperationDefinition.class, (src, context) -> OperationDefinition30_50.convertOperationDefinition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.OperationOutcome.class, (src, context) -> OperationOutcome30_50.convertOperationOutcome(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Organization.class, (src, context) -> Organization30_50.convertOrganization(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Patient.class, (src, context) -> Patient30_50.convertPatient(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.PaymentNotice.class, (src, context) -> PaymentNotice30_50.convertPaymentNotice(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Person.class, (src, context) -> Person30_50.convertPerson(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.PlanDefinition.class, (src, context) -> PlanDefinition30_50.convertPlanDefinition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Practitioner.class, (src, context) -> Practitioner30_50.convertPractitioner(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.PractitionerRole.class, (src, context) -> PractitionerRole30_50.convertPractitionerRole(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Provenance.class, (src, context) -> Provenance30_50.convertProvenance(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Questionnaire.class, (src, context) -> Questionnaire30_50.convertQuestionnaire(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse30_50.convertQuestionnaireResponse(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.RelatedPerson.class, (src, context) -> RelatedPerson30_50.convertRelatedPerson(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.RiskAssessment.class, (src, context) -> RiskAssessment30_50.convertRiskAssessment(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Schedule.class, (src, context) -> Schedule30_50.convertSchedule(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.SearchParameter.class, (src, context) -> SearchParameter30_50.convertSearchParameter(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Sequence.class, (src, context) -> Sequence30_50.convertSequence(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Slot.class, (src, context) -> Slot30_50.convertSlot(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Specimen.class, (src, context) -> Specimen30_50.convertSpecimen(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.StructureDefinition.class, (src, context) -> StructureDefinition30_50.convertStructureDefinition(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.StructureMap.class, (src, context) -> StructureMap30_50.convertStructureMap(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.Substance.class, (src, context) -> Substance30_50.convertSubstance(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.SupplyDelivery.class, (src, context) -> SupplyDelivery30_50.convertSupplyDelivery(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.TestReport.class, (src, context) -> TestReport30_50.convertTestReport(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.TestScript.class, (src, context) -> TestScript30_50.convertTestScript(src));
+        RESOURCES_30_TO_50.register(org.hl7.fhir.dstu3.model.ValueSet.class, (src, context) -> ValueSet30_50.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.r5.model.Resource convertResource(org.hl7.fhir.dstu3.model.Resource src, boolean nullOk) throws FHIRException {
         if (src == null)
             return null;
-        if (src instanceof org.hl7.fhir.dstu3.model.Parameters)
-            return Parameters30_50.convertParameters((org.hl7.fhir.dstu3.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ActivityDefinition)
-            return ActivityDefinition30_50.convertActivityDefinition((org.hl7.fhir.dstu3.model.ActivityDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.AllergyIntolerance)
-            return AllergyIntolerance30_50.convertAllergyIntolerance((org.hl7.fhir.dstu3.model.AllergyIntolerance) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Appointment)
-            return Appointment30_50.convertAppointment((org.hl7.fhir.dstu3.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.AppointmentResponse)
-            return AppointmentResponse30_50.convertAppointmentResponse((org.hl7.fhir.dstu3.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.AuditEvent)
-            return AuditEvent30_50.convertAuditEvent((org.hl7.fhir.dstu3.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Basic)
-            return Basic30_50.convertBasic((org.hl7.fhir.dstu3.model.Basic) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Binary)
-            return Binary30_50.convertBinary((org.hl7.fhir.dstu3.model.Binary) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.BodySite)
-            return BodySite30_50.convertBodySite((org.hl7.fhir.dstu3.model.BodySite) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Bundle)
-            return Bundle30_50.convertBundle((org.hl7.fhir.dstu3.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CapabilityStatement)
-            return CapabilityStatement30_50.convertCapabilityStatement((org.hl7.fhir.dstu3.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CarePlan)
-            return CarePlan30_50.convertCarePlan((org.hl7.fhir.dstu3.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CareTeam)
-            return CareTeam30_50.convertCareTeam((org.hl7.fhir.dstu3.model.CareTeam) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ClinicalImpression)
-            return ClinicalImpression30_50.convertClinicalImpression((org.hl7.fhir.dstu3.model.ClinicalImpression) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CodeSystem)
-            return CodeSystem30_50.convertCodeSystem((org.hl7.fhir.dstu3.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Communication)
-            return Communication30_50.convertCommunication((org.hl7.fhir.dstu3.model.Communication) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.CompartmentDefinition)
-            return CompartmentDefinition30_50.convertCompartmentDefinition((org.hl7.fhir.dstu3.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Composition)
-            return Composition30_50.convertComposition((org.hl7.fhir.dstu3.model.Composition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ConceptMap)
-            return ConceptMap30_50.convertConceptMap((org.hl7.fhir.dstu3.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Condition)
-            return Condition30_50.convertCondition((org.hl7.fhir.dstu3.model.Condition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Consent)
-            return Consent30_50.convertConsent((org.hl7.fhir.dstu3.model.Consent) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.DataElement)
-            return DataElement30_50.convertDataElement((org.hl7.fhir.dstu3.model.DataElement) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.DetectedIssue)
-            return DetectedIssue30_50.convertDetectedIssue((org.hl7.fhir.dstu3.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.DeviceUseStatement)
-            return DeviceUseStatement30_50.convertDeviceUseStatement((org.hl7.fhir.dstu3.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.DiagnosticReport)
-            return DiagnosticReport30_50.convertDiagnosticReport((org.hl7.fhir.dstu3.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.DocumentReference)
-            return DocumentReference30_50.convertDocumentReference((org.hl7.fhir.dstu3.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Encounter)
-            return Encounter30_50.convertEncounter((org.hl7.fhir.dstu3.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Endpoint)
-            return Endpoint30_50.convertEndpoint((org.hl7.fhir.dstu3.model.Endpoint) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.EpisodeOfCare)
-            return EpisodeOfCare30_50.convertEpisodeOfCare((org.hl7.fhir.dstu3.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ExpansionProfile)
-            return ExpansionProfile30_50.convertExpansionProfile((org.hl7.fhir.dstu3.model.ExpansionProfile) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.FamilyMemberHistory)
-            return FamilyMemberHistory30_50.convertFamilyMemberHistory((org.hl7.fhir.dstu3.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Flag)
-            return Flag30_50.convertFlag((org.hl7.fhir.dstu3.model.Flag) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Goal)
-            return Goal30_50.convertGoal((org.hl7.fhir.dstu3.model.Goal) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.GraphDefinition)
-            return GraphDefinition30_50.convertGraphDefinition((org.hl7.fhir.dstu3.model.GraphDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Group)
-            return Group30_50.convertGroup((org.hl7.fhir.dstu3.model.Group) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.HealthcareService)
-            return HealthcareService30_50.convertHealthcareService((org.hl7.fhir.dstu3.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ImagingStudy)
-            return ImagingStudy30_50.convertImagingStudy((org.hl7.fhir.dstu3.model.ImagingStudy) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Immunization)
-            return Immunization30_50.convertImmunization((org.hl7.fhir.dstu3.model.Immunization) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ImplementationGuide)
-            return ImplementationGuide30_50.convertImplementationGuide((org.hl7.fhir.dstu3.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Library)
-            return Library30_50.convertLibrary((org.hl7.fhir.dstu3.model.Library) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Linkage)
-            return Linkage30_50.convertLinkage((org.hl7.fhir.dstu3.model.Linkage) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ListResource)
-            return List30_50.convertList((org.hl7.fhir.dstu3.model.ListResource) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Location)
-            return Location30_50.convertLocation((org.hl7.fhir.dstu3.model.Location) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Measure)
-            return Measure30_50.convertMeasure((org.hl7.fhir.dstu3.model.Measure) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Media)
-            return Media30_50.convertMedia((org.hl7.fhir.dstu3.model.Media) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Medication)
-            return Medication30_50.convertMedication((org.hl7.fhir.dstu3.model.Medication) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.MedicationAdministration)
-            return MedicationAdministration30_50.convertMedicationAdministration((org.hl7.fhir.dstu3.model.MedicationAdministration) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.MedicationDispense)
-            return MedicationDispense30_50.convertMedicationDispense((org.hl7.fhir.dstu3.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.MedicationRequest)
-            return MedicationRequest30_50.convertMedicationRequest((org.hl7.fhir.dstu3.model.MedicationRequest) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.MedicationStatement)
-            return MedicationStatement30_50.convertMedicationStatement((org.hl7.fhir.dstu3.model.MedicationStatement) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.MessageDefinition)
-            return MessageDefinition30_50.convertMessageDefinition((org.hl7.fhir.dstu3.model.MessageDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.MessageHeader)
-            return MessageHeader30_50.convertMessageHeader((org.hl7.fhir.dstu3.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.NamingSystem)
-            return NamingSystem30_50.convertNamingSystem((org.hl7.fhir.dstu3.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Observation)
-            return Observation30_50.convertObservation((org.hl7.fhir.dstu3.model.Observation) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.OperationDefinition)
-            return OperationDefinition30_50.convertOperationDefinition((org.hl7.fhir.dstu3.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.OperationOutcome)
-            return OperationOutcome30_50.convertOperationOutcome((org.hl7.fhir.dstu3.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Organization)
-            return Organization30_50.convertOrganization((org.hl7.fhir.dstu3.model.Organization) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Patient)
-            return Patient30_50.convertPatient((org.hl7.fhir.dstu3.model.Patient) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.PaymentNotice)
-            return PaymentNotice30_50.convertPaymentNotice((org.hl7.fhir.dstu3.model.PaymentNotice) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Person)
-            return Person30_50.convertPerson((org.hl7.fhir.dstu3.model.Person) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.PlanDefinition)
-            return PlanDefinition30_50.convertPlanDefinition((org.hl7.fhir.dstu3.model.PlanDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Practitioner)
-            return Practitioner30_50.convertPractitioner((org.hl7.fhir.dstu3.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.PractitionerRole)
-            return PractitionerRole30_50.convertPractitionerRole((org.hl7.fhir.dstu3.model.PractitionerRole) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Provenance)
-          return Provenance30_50.convertProvenance((org.hl7.fhir.dstu3.model.Provenance) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Questionnaire)
-            return Questionnaire30_50.convertQuestionnaire((org.hl7.fhir.dstu3.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.QuestionnaireResponse)
-            return QuestionnaireResponse30_50.convertQuestionnaireResponse((org.hl7.fhir.dstu3.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.RelatedPerson)
-            return RelatedPerson30_50.convertRelatedPerson((org.hl7.fhir.dstu3.model.RelatedPerson) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.RiskAssessment)
-            return RiskAssessment30_50.convertRiskAssessment((org.hl7.fhir.dstu3.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Schedule)
-            return Schedule30_50.convertSchedule((org.hl7.fhir.dstu3.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.SearchParameter)
-            return SearchParameter30_50.convertSearchParameter((org.hl7.fhir.dstu3.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Sequence)
-            return Sequence30_50.convertSequence((org.hl7.fhir.dstu3.model.Sequence) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Slot)
-            return Slot30_50.convertSlot((org.hl7.fhir.dstu3.model.Slot) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Specimen)
-            return Specimen30_50.convertSpecimen((org.hl7.fhir.dstu3.model.Specimen) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.StructureDefinition)
-            return StructureDefinition30_50.convertStructureDefinition((org.hl7.fhir.dstu3.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.StructureMap)
-            return StructureMap30_50.convertStructureMap((org.hl7.fhir.dstu3.model.StructureMap) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.Substance)
-            return Substance30_50.convertSubstance((org.hl7.fhir.dstu3.model.Substance) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.SupplyDelivery)
-            return SupplyDelivery30_50.convertSupplyDelivery((org.hl7.fhir.dstu3.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.TestReport)
-            return TestReport30_50.convertTestReport((org.hl7.fhir.dstu3.model.TestReport) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.TestScript)
-            return TestScript30_50.convertTestScript((org.hl7.fhir.dstu3.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.dstu3.model.ValueSet)
-            return ValueSet30_50.convertValueSet((org.hl7.fhir.dstu3.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.dstu3.model.Resource, ? extends org.hl7.fhir.r5.model.Resource, Void> converter = RESOURCES_30_TO_50.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         if (!nullOk)
             throw new FHIRException("Unknown resource " + src.fhirType());
         else
             return null;
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.r5.model.Resource, org.hl7.fhir.dstu3.model.Resource, Void> RESOURCES_50_TO_30 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Parameters.class, (src, context) -> src.hasParameter("profile-url") ? ExpansionProfile30_50.convertExpansionProfile(src) : Parameters30_50.convertParameters(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.ActivityDefinition.class, (src, context) -> ActivityDefinition30_50.convertActivityDefinition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.AllergyIntolerance.class, (src, context) -> AllergyIntolerance30_50.convertAllergyIntolerance(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Appointment.class, (src, context) -> Appointment30_50.convertAppointment(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.AppointmentResponse.class, (src, context) -> AppointmentResponse30_50.convertAppointmentResponse(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.AuditEvent.class, (src, context) -> AuditEvent30_50.convertAuditEvent(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Basic.class, (src, context) -> Basic30_50.convertBasic(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Binary.class, (src, context) -> Binary30_50.convertBinary(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.BodyStructure.class, (src, context) -> BodySite30_50.convertBodySite(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Bundle.class, (src, context) -> Bundle30_50.convertBundle(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.CapabilityStatement.class, (src, context) -> CapabilityStatement30_50.convertCapabilityStatement(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.CarePlan.class, (src, context) -> CarePlan30_50.convertCarePlan(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.CareTeam.class, (src, context) -> CareTeam30_50.convertCareTeam(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.ClinicalImpression.class, (src, context) -> ClinicalImpression30_50.convertClinicalImpression(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.CodeSystem.class, (src, context) -> CodeSystem30_50.convertCodeSystem(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Communication.class, (src, context) -> Communication30_50.convertCommunication(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition30_50.convertCompartmentDefinition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Composition.class, (src, context) -> Composition30_50.convertComposition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.ConceptMap.class, (src, context) -> ConceptMap30_50.convertConceptMap(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Condition.class, (src, context) -> Condition30_50.convertCondition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Consent.class, (src, context) -> Consent30_50.convertConsent(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.DetectedIssue.class, (src, context) -> DetectedIssue30_50.convertDetectedIssue(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.DeviceUseStatement.class, (src, context) -> DeviceUseStatement30_50.convertDeviceUseStatement(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.DiagnosticReport.class, (src, context) -> DiagnosticReport30_50.convertDiagnosticReport(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.DocumentReference.class, (src, context) -> DocumentReference30_50.convertDocumentReference(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Encounter.class, (src, context) -> Encounter30_50.convertEncounter(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Endpoint.class, (src, context) -> Endpoint30_50.convertEndpoint(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.EpisodeOfCare.class, (src, context) -> EpisodeOfCare30_50.convertEpisodeOfCare(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.FamilyMemberHistory.class, (src, context) -> FamilyMemberHistory30_50.convertFamilyMemberHistory(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Flag.class, (src, context) -> Flag30_50.convertFlag(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Goal.class, (src, context) -> Goal30_50.convertGoal(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.GraphDefinition.class, (src, context) -> GraphDefinition30_50.convertGraphDefinition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Group.class, (src, context) -> Group30_50.convertGroup(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.HealthcareService.class, (src, context) -> HealthcareService30_50.convertHealthcareService(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.ImagingStudy.class, (src, context) -> ImagingStudy30_50.convertImagingStudy(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Immunization.class, (src, context) -> Immunization30_50.convertImmunization(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.ImplementationGuide.class, (src, context) -> ImplementationGuide30_50.convertImplementationGuide(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Library.class, (src, context) -> Library30_50.convertLibrary(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Linkage.class, (src, context) -> Linkage30_50.convertLinkage(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.ListResource.class, (src, context) -> List30_50.convertList(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Location.class, (src, context) -> Location30_50.convertLocation(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Measure.class, (src, context) -> Measure30_50.convertMeasure(src));
+        // DocumentReference is already registered above, so Media30_50.convertMedia isn't used
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Medication.class, (src, context) -> Medication30_50.convertMedication(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.MedicationAdministration.class, (src, context) -> MedicationAdministration30_50.convertMedicationAdministration(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.MedicationDispense.class, (src, context) -> MedicationDispense30_50.convertMedicationDispense(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.MedicationRequest.class, (src, context) -> MedicationRequest30_50.convertMedicationRequest(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.MedicationUsage.class, (src, context) -> MedicationStatement30_50.convertMedicationStatement(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.MessageDefinition.class, (src, context) -> MessageDefinition30_50.convertMessageDefinition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.MessageHeader.class, (src, context) -> MessageHeader30_50.convertMessageHeader(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.NamingSystem.class, (src, context) -> NamingSystem30_50.convertNamingSystem(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Observation.class, (src, context) -> Observation30_50.convertObservation(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.OperationDefinition.class, (src, context) -> OperationDefinition30_50.convertOperationDefinition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.OperationOutcome.class, (src, context) -> OperationOutcome30_50.convertOperationOutcome(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Organization.class, (src, context) -> Organization30_50.convertOrganization(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Patient.class, (src, context) -> Patient30_50.convertPatient(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.PaymentNotice.class, (src, context) -> PaymentNotice30_50.convertPaymentNotice(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Person.class, (src, context) -> Person30_50.convertPerson(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.PlanDefinition.class, (src, context) -> PlanDefinition30_50.convertPlanDefinition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Practitioner.class, (src, context) -> Practitioner30_50.convertPractitioner(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.PractitionerRole.class, (src, context) -> PractitionerRole30_50.convertPractitionerRole(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Provenance.class, (src, context) -> Provenance30_50.convertProvenance(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Questionnaire.class, (src, context) -> Questionnaire30_50.convertQuestionnaire(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse30_50.convertQuestionnaireResponse(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.RelatedPerson.class, (src, context) -> RelatedPerson30_50.convertRelatedPerson(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.RiskAssessment.class, (src, context) -> RiskAssessment30_50.convertRiskAssessment(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Schedule.class, (src, context) -> Schedule30_50.convertSchedule(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.SearchParameter.class, (src, context) -> SearchParameter30_50.convertSearchParameter(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.MolecularSequence.class, (src, context) -> Sequence30_50.convertSequence(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Slot.class, (src, context) -> Slot30_50.convertSlot(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Specimen.class, (src, context) -> Specimen30_50.convertSpecimen(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.StructureDefinition.class, (src, context) -> StructureDefinition30_50.convertStructureDefinition(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.StructureMap.class, (src, context) -> StructureMap30_50.convertStructureMap(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.Substance.class, (src, context) -> Substance30_50.convertSubstance(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.SupplyDelivery.class, (src, context) -> SupplyDelivery30_50.convertSupplyDelivery(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.TestReport.class, (src, context) -> TestReport30_50.convertTestReport(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.TestScript.class, (src, context) -> TestScript30_50.convertTestScript(src));
+        RESOURCES_50_TO_30.register(org.hl7.fhir.r5.model.ValueSet.class, (src, context) -> ValueSet30_50.convertValueSet(src));
+    }
+
     public static org.hl7.fhir.dstu3.model.Resource convertResource(org.hl7.fhir.r5.model.Resource src, boolean nullOk) throws FHIRException {
         if (src == null)
             return null;
-        if (src instanceof org.hl7.fhir.r5.model.Parameters) {
-            if (((org.hl7.fhir.r5.model.Parameters) src).hasParameter("profile-url"))
-                return ExpansionProfile30_50.convertExpansionProfile((org.hl7.fhir.r5.model.Parameters) src);
-            else
-                return Parameters30_50.convertParameters((org.hl7.fhir.r5.model.Parameters) src);
-        }
-        if (src instanceof org.hl7.fhir.r5.model.ActivityDefinition)
-            return ActivityDefinition30_50.convertActivityDefinition((org.hl7.fhir.r5.model.ActivityDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.AllergyIntolerance)
-            return AllergyIntolerance30_50.convertAllergyIntolerance((org.hl7.fhir.r5.model.AllergyIntolerance) src);
-        if (src instanceof org.hl7.fhir.r5.model.Appointment)
-            return Appointment30_50.convertAppointment((org.hl7.fhir.r5.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.r5.model.AppointmentResponse)
-            return AppointmentResponse30_50.convertAppointmentResponse((org.hl7.fhir.r5.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.AuditEvent)
-            return AuditEvent30_50.convertAuditEvent((org.hl7.fhir.r5.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.r5.model.Basic)
-            return Basic30_50.convertBasic((org.hl7.fhir.r5.model.Basic) src);
-        if (src instanceof org.hl7.fhir.r5.model.Binary)
-            return Binary30_50.convertBinary((org.hl7.fhir.r5.model.Binary) src);
-        if (src instanceof org.hl7.fhir.r5.model.BodyStructure)
-            return BodySite30_50.convertBodySite((org.hl7.fhir.r5.model.BodyStructure) src);
-        if (src instanceof org.hl7.fhir.r5.model.Bundle)
-            return Bundle30_50.convertBundle((org.hl7.fhir.r5.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.r5.model.CapabilityStatement)
-            return CapabilityStatement30_50.convertCapabilityStatement((org.hl7.fhir.r5.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.r5.model.CarePlan)
-            return CarePlan30_50.convertCarePlan((org.hl7.fhir.r5.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.r5.model.CareTeam)
-            return CareTeam30_50.convertCareTeam((org.hl7.fhir.r5.model.CareTeam) src);
-        if (src instanceof org.hl7.fhir.r5.model.ClinicalImpression)
-            return ClinicalImpression30_50.convertClinicalImpression((org.hl7.fhir.r5.model.ClinicalImpression) src);
-        if (src instanceof org.hl7.fhir.r5.model.CodeSystem)
-            return CodeSystem30_50.convertCodeSystem((org.hl7.fhir.r5.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.r5.model.Communication)
-            return Communication30_50.convertCommunication((org.hl7.fhir.r5.model.Communication) src);
-        if (src instanceof org.hl7.fhir.r5.model.CompartmentDefinition)
-            return CompartmentDefinition30_50.convertCompartmentDefinition((org.hl7.fhir.r5.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Composition)
-            return Composition30_50.convertComposition((org.hl7.fhir.r5.model.Composition) src);
-        if (src instanceof org.hl7.fhir.r5.model.ConceptMap)
-            return ConceptMap30_50.convertConceptMap((org.hl7.fhir.r5.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.r5.model.Condition)
-            return Condition30_50.convertCondition((org.hl7.fhir.r5.model.Condition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Consent)
-            return Consent30_50.convertConsent((org.hl7.fhir.r5.model.Consent) src);
-        if (src instanceof org.hl7.fhir.r5.model.DetectedIssue)
-            return DetectedIssue30_50.convertDetectedIssue((org.hl7.fhir.r5.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.r5.model.DeviceUseStatement)
-            return DeviceUseStatement30_50.convertDeviceUseStatement((org.hl7.fhir.r5.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.r5.model.DiagnosticReport)
-            return DiagnosticReport30_50.convertDiagnosticReport((org.hl7.fhir.r5.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.r5.model.DocumentReference)
-            return DocumentReference30_50.convertDocumentReference((org.hl7.fhir.r5.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.r5.model.Encounter)
-            return Encounter30_50.convertEncounter((org.hl7.fhir.r5.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.r5.model.Endpoint)
-            return Endpoint30_50.convertEndpoint((org.hl7.fhir.r5.model.Endpoint) src);
-        if (src instanceof org.hl7.fhir.r5.model.EpisodeOfCare)
-            return EpisodeOfCare30_50.convertEpisodeOfCare((org.hl7.fhir.r5.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.r5.model.FamilyMemberHistory)
-            return FamilyMemberHistory30_50.convertFamilyMemberHistory((org.hl7.fhir.r5.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.r5.model.Flag)
-            return Flag30_50.convertFlag((org.hl7.fhir.r5.model.Flag) src);
-        if (src instanceof org.hl7.fhir.r5.model.Goal)
-            return Goal30_50.convertGoal((org.hl7.fhir.r5.model.Goal) src);
-        if (src instanceof org.hl7.fhir.r5.model.GraphDefinition)
-            return GraphDefinition30_50.convertGraphDefinition((org.hl7.fhir.r5.model.GraphDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Group)
-            return Group30_50.convertGroup((org.hl7.fhir.r5.model.Group) src);
-        if (src instanceof org.hl7.fhir.r5.model.HealthcareService)
-            return HealthcareService30_50.convertHealthcareService((org.hl7.fhir.r5.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImagingStudy)
-            return ImagingStudy30_50.convertImagingStudy((org.hl7.fhir.r5.model.ImagingStudy) src);
-        if (src instanceof org.hl7.fhir.r5.model.Immunization)
-            return Immunization30_50.convertImmunization((org.hl7.fhir.r5.model.Immunization) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImplementationGuide)
-            return ImplementationGuide30_50.convertImplementationGuide((org.hl7.fhir.r5.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.r5.model.Library)
-            return Library30_50.convertLibrary((org.hl7.fhir.r5.model.Library) src);
-        if (src instanceof org.hl7.fhir.r5.model.Linkage)
-            return Linkage30_50.convertLinkage((org.hl7.fhir.r5.model.Linkage) src);
-        if (src instanceof org.hl7.fhir.r5.model.ListResource)
-            return List30_50.convertList((org.hl7.fhir.r5.model.ListResource) src);
-        if (src instanceof org.hl7.fhir.r5.model.Location)
-            return Location30_50.convertLocation((org.hl7.fhir.r5.model.Location) src);
-        if (src instanceof org.hl7.fhir.r5.model.Measure)
-            return Measure30_50.convertMeasure((org.hl7.fhir.r5.model.Measure) src);
-        if (src instanceof org.hl7.fhir.r5.model.DocumentReference)
-            return Media30_50.convertMedia((org.hl7.fhir.r5.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.r5.model.Medication)
-            return Medication30_50.convertMedication((org.hl7.fhir.r5.model.Medication) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationAdministration)
-            return MedicationAdministration30_50.convertMedicationAdministration((org.hl7.fhir.r5.model.MedicationAdministration) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationDispense)
-            return MedicationDispense30_50.convertMedicationDispense((org.hl7.fhir.r5.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationRequest)
-            return MedicationRequest30_50.convertMedicationRequest((org.hl7.fhir.r5.model.MedicationRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationUsage)
-            return MedicationStatement30_50.convertMedicationStatement((org.hl7.fhir.r5.model.MedicationUsage) src);
-        if (src instanceof org.hl7.fhir.r5.model.MessageDefinition)
-            return MessageDefinition30_50.convertMessageDefinition((org.hl7.fhir.r5.model.MessageDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.MessageHeader)
-            return MessageHeader30_50.convertMessageHeader((org.hl7.fhir.r5.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.r5.model.NamingSystem)
-            return NamingSystem30_50.convertNamingSystem((org.hl7.fhir.r5.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.r5.model.Observation)
-            return Observation30_50.convertObservation((org.hl7.fhir.r5.model.Observation) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationDefinition)
-            return OperationDefinition30_50.convertOperationDefinition((org.hl7.fhir.r5.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationOutcome)
-            return OperationOutcome30_50.convertOperationOutcome((org.hl7.fhir.r5.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.r5.model.Organization)
-            return Organization30_50.convertOrganization((org.hl7.fhir.r5.model.Organization) src);
-        if (src instanceof org.hl7.fhir.r5.model.Patient)
-            return Patient30_50.convertPatient((org.hl7.fhir.r5.model.Patient) src);
-        if (src instanceof org.hl7.fhir.r5.model.PaymentNotice)
-            return PaymentNotice30_50.convertPaymentNotice((org.hl7.fhir.r5.model.PaymentNotice) src);
-        if (src instanceof org.hl7.fhir.r5.model.Person)
-            return Person30_50.convertPerson((org.hl7.fhir.r5.model.Person) src);
-        if (src instanceof org.hl7.fhir.r5.model.PlanDefinition)
-            return PlanDefinition30_50.convertPlanDefinition((org.hl7.fhir.r5.model.PlanDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Practitioner)
-            return Practitioner30_50.convertPractitioner((org.hl7.fhir.r5.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.r5.model.PractitionerRole)
-            return PractitionerRole30_50.convertPractitionerRole((org.hl7.fhir.r5.model.PractitionerRole) src);
-        if (src instanceof org.hl7.fhir.r5.model.Provenance)
-          return Provenance30_50.convertProvenance((org.hl7.fhir.r5.model.Provenance) src);
-        if (src instanceof org.hl7.fhir.r5.model.Questionnaire)
-            return Questionnaire30_50.convertQuestionnaire((org.hl7.fhir.r5.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.r5.model.QuestionnaireResponse)
-            return QuestionnaireResponse30_50.convertQuestionnaireResponse((org.hl7.fhir.r5.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.RelatedPerson)
-            return RelatedPerson30_50.convertRelatedPerson((org.hl7.fhir.r5.model.RelatedPerson) src);
-        if (src instanceof org.hl7.fhir.r5.model.RiskAssessment)
-            return RiskAssessment30_50.convertRiskAssessment((org.hl7.fhir.r5.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.r5.model.Schedule)
-            return Schedule30_50.convertSchedule((org.hl7.fhir.r5.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.r5.model.SearchParameter)
-            return SearchParameter30_50.convertSearchParameter((org.hl7.fhir.r5.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.r5.model.MolecularSequence)
-            return Sequence30_50.convertSequence((org.hl7.fhir.r5.model.MolecularSequence) src);
-        if (src instanceof org.hl7.fhir.r5.model.Slot)
-            return Slot30_50.convertSlot((org.hl7.fhir.r5.model.Slot) src);
-        if (src instanceof org.hl7.fhir.r5.model.Specimen)
-            return Specimen30_50.convertSpecimen((org.hl7.fhir.r5.model.Specimen) src);
-        if (src instanceof org.hl7.fhir.r5.model.StructureDefinition)
-            return StructureDefinition30_50.convertStructureDefinition((org.hl7.fhir.r5.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.StructureMap)
-            return StructureMap30_50.convertStructureMap((org.hl7.fhir.r5.model.StructureMap) src);
-        if (src instanceof org.hl7.fhir.r5.model.Substance)
-            return Substance30_50.convertSubstance((org.hl7.fhir.r5.model.Substance) src);
-        if (src instanceof org.hl7.fhir.r5.model.SupplyDelivery)
-            return SupplyDelivery30_50.convertSupplyDelivery((org.hl7.fhir.r5.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.r5.model.TestReport)
-            return TestReport30_50.convertTestReport((org.hl7.fhir.r5.model.TestReport) src);
-        if (src instanceof org.hl7.fhir.r5.model.TestScript)
-            return TestScript30_50.convertTestScript((org.hl7.fhir.r5.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.r5.model.ValueSet)
-            return ValueSet30_50.convertValueSet((org.hl7.fhir.r5.model.ValueSet) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.r5.model.Resource, ? extends org.hl7.fhir.dstu3.model.Resource, Void> converter = RESOURCES_50_TO_30.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         if (!nullOk)
             throw new FHIRException("Unknown resource " + src.fhirType());
         else
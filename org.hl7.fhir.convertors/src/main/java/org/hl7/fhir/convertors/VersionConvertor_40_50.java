@@ -3911,536 +3911,291 @@ public class VersionConvertor_40_50 {
             tgt.setLanguageElement(convertCode(src.getLanguageElement()));
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.r4.model.Resource, org.hl7.fhir.r5.model.Resource, Void> RESOURCES_40_TO_50 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Parameters.class, (src, context) -> Parameters40_50.convertParameters(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Account.class, (src, context) -> Account40_50.convertAccount(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ActivityDefinition.class, (src, context) -> ActivityDefinition40_50.convertActivityDefinition(src));
+        // RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.AdverseEvent.class, (src, context) -> AdverseEvent.convertAdverseEvent(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.AllergyIntolerance.class, (src, context) -> AllergyIntolerance40_50.convertAllergyIntolerance(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Appointment.class, (src, context) -> Appointment40_50.convertAppointment(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.AppointmentResponse.class, (src, context) -> AppointmentResponse40_50.convertAppointmentResponse(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.AuditEvent.class, (src, context) -> AuditEvent40_50.convertAuditEvent(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Basic.class, (src, context) -> Basic40_50.convertBasic(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Binary.class, (src, context) -> Binary40_50.convertBinary(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.BiologicallyDerivedProduct.class, (src, context) -> BiologicallyDerivedProduct40_50.convertBiologicallyDerivedProduct(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.BodyStructure.class, (src, context) -> BodyStructure40_50.convertBodyStructure(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Bundle.class, (src, context) -> Bundle40_50.convertBundle(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CapabilityStatement.class, (src, context) -> CapabilityStatement40_50.convertCapabilityStatement(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CarePlan.class, (src, context) -> CarePlan40_50.convertCarePlan(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CareTeam.class, (src, context) -> CareTeam40_50.convertCareTeam(src));
+        // RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CatalogEntry.class, (src, context) -> CatalogEntry.convertCatalogEntry(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ChargeItem.class, (src, context) -> ChargeItem40_50.convertChargeItem(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ChargeItemDefinition.class, (src, context) -> ChargeItemDefinition40_50.convertChargeItemDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Claim.class, (src, context) -> Claim40_50.convertClaim(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ClaimResponse.class, (src, context) -> ClaimResponse40_50.convertClaimResponse(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ClinicalImpression.class, (src, context) -> ClinicalImpression40_50.convertClinicalImpression(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CodeSystem.class, (src, context) -> CodeSystem40_50.convertCodeSystem(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Communication.class, (src, context) -> Communication40_50.convertCommunication(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CommunicationRequest.class, (src, context) -> CommunicationRequest40_50.convertCommunicationRequest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition40_50.convertCompartmentDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Composition.class, (src, context) -> Composition40_50.convertComposition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ConceptMap.class, (src, context) -> ConceptMap40_50.convertConceptMap(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Condition.class, (src, context) -> Condition40_50.convertCondition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Consent.class, (src, context) -> Consent40_50.convertConsent(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Contract.class, (src, context) -> Contract40_50.convertContract(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Coverage.class, (src, context) -> Coverage40_50.convertCoverage(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CoverageEligibilityRequest.class, (src, context) -> CoverageEligibilityRequest40_50.convertCoverageEligibilityRequest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.CoverageEligibilityResponse.class, (src, context) -> CoverageEligibilityResponse40_50.convertCoverageEligibilityResponse(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DetectedIssue.class, (src, context) -> DetectedIssue40_50.convertDetectedIssue(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Device.class, (src, context) -> Device40_50.convertDevice(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DeviceDefinition.class, (src, context) -> DeviceDefinition40_50.convertDeviceDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DeviceMetric.class, (src, context) -> DeviceMetric40_50.convertDeviceMetric(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DeviceRequest.class, (src, context) -> DeviceRequest40_50.convertDeviceRequest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DeviceUseStatement.class, (src, context) -> DeviceUseStatement40_50.convertDeviceUseStatement(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DiagnosticReport.class, (src, context) -> DiagnosticReport40_50.convertDiagnosticReport(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DocumentManifest.class, (src, context) -> DocumentManifest40_50.convertDocumentManifest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.DocumentReference.class, (src, context) -> DocumentReference40_50.convertDocumentReference(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Encounter.class, (src, context) -> Encounter40_50.convertEncounter(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Endpoint.class, (src, context) -> Endpoint40_50.convertEndpoint(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.EnrollmentRequest.class, (src, context) -> EnrollmentRequest40_50.convertEnrollmentRequest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.EnrollmentResponse.class, (src, context) -> EnrollmentResponse40_50.convertEnrollmentResponse(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.EpisodeOfCare.class, (src, context) -> EpisodeOfCare40_50.convertEpisodeOfCare(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.EventDefinition.class, (src, context) -> EventDefinition40_50.convertEventDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ExampleScenario.class, (src, context) -> ExampleScenario40_50.convertExampleScenario(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ExplanationOfBenefit.class, (src, context) -> ExplanationOfBenefit40_50.convertExplanationOfBenefit(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.FamilyMemberHistory.class, (src, context) -> FamilyMemberHistory40_50.convertFamilyMemberHistory(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Flag.class, (src, context) -> Flag40_50.convertFlag(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Goal.class, (src, context) -> Goal40_50.convertGoal(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.GraphDefinition.class, (src, context) -> GraphDefinition40_50.convertGraphDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Group.class, (src, context) -> Group40_50.convertGroup(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.GuidanceResponse.class, (src, context) -> GuidanceResponse40_50.convertGuidanceResponse(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.HealthcareService.class, (src, context) -> HealthcareService40_50.convertHealthcareService(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ImagingStudy.class, (src, context) -> ImagingStudy40_50.convertImagingStudy(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Immunization.class, (src, context) -> Immunization40_50.convertImmunization(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ImmunizationEvaluation.class, (src, context) -> ImmunizationEvaluation40_50.convertImmunizationEvaluation(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ImmunizationRecommendation.class, (src, context) -> ImmunizationRecommendation40_50.convertImmunizationRecommendation(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ImplementationGuide.class, (src, context) -> ImplementationGuide40_50.convertImplementationGuide(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.InsurancePlan.class, (src, context) -> InsurancePlan40_50.convertInsurancePlan(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Invoice.class, (src, context) -> Invoice40_50.convertInvoice(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Library.class, (src, context) -> Library40_50.convertLibrary(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Linkage.class, (src, context) -> Linkage40_50.convertLinkage(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ListResource.class, (src, context) -> ListResource40_50.convertListResource(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Location.class, (src, context) -> Location40_50.convertLocation(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Measure.class, (src, context) -> Measure40_50.convertMeasure(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MeasureReport.class, (src, context) -> MeasureReport40_50.convertMeasureReport(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Media.class, (src, context) -> Media40_50.convertMedia(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Medication.class, (src, context) -> Medication40_50.convertMedication(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MedicationAdministration.class, (src, context) -> MedicationAdministration40_50.convertMedicationAdministration(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MedicationDispense.class, (src, context) -> MedicationDispense40_50.convertMedicationDispense(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MedicationKnowledge.class, (src, context) -> MedicationKnowledge40_50.convertMedicationKnowledge(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MedicationRequest.class, (src, context) -> MedicationRequest40_50.convertMedicationRequest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MedicationStatement.class, (src, context) -> MedicationStatement40_50.convertMedicationStatement(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MedicinalProduct.class, (src, context) -> MedicinalProductDefinition40_50.convertMedicinalProduct(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MessageDefinition.class, (src, context) -> MessageDefinition40_50.convertMessageDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MessageHeader.class, (src, context) -> MessageHeader40_50.convertMessageHeader(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.MolecularSequence.class, (src, context) -> MolecularSequence40_50.convertMolecularSequence(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.NamingSystem.class, (src, context) -> NamingSystem40_50.convertNamingSystem(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.NutritionOrder.class, (src, context) -> NutritionOrder40_50.convertNutritionOrder(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Observation.class, (src, context) -> Observation40_50.convertObservation(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ObservationDefinition.class, (src, context) -> ObservationDefinition40_50.convertObservationDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.OperationDefinition.class, (src, context) -> OperationDefinition40_50.convertOperationDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.OperationOutcome.class, (src, context) -> OperationOutcome40_50.convertOperationOutcome(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Organization.class, (src, context) -> Organization40_50.convertOrganization(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.OrganizationAffiliation.class, (src, context) -> OrganizationAffiliation40_50.convertOrganizationAffiliation(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Patient.class, (src, context) -> Patient40_50.convertPatient(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.PaymentNotice.class, (src, context) -> PaymentNotice40_50.convertPaymentNotice(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.PaymentReconciliation.class, (src, context) -> PaymentReconciliation40_50.convertPaymentReconciliation(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Person.class, (src, context) -> Person40_50.convertPerson(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.PlanDefinition.class, (src, context) -> PlanDefinition40_50.convertPlanDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Practitioner.class, (src, context) -> Practitioner40_50.convertPractitioner(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.PractitionerRole.class, (src, context) -> PractitionerRole40_50.convertPractitionerRole(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Procedure.class, (src, context) -> Procedure40_50.convertProcedure(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Provenance.class, (src, context) -> Provenance40_50.convertProvenance(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Questionnaire.class, (src, context) -> Questionnaire40_50.convertQuestionnaire(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse40_50.convertQuestionnaireResponse(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.RelatedPerson.class, (src, context) -> RelatedPerson40_50.convertRelatedPerson(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.RequestGroup.class, (src, context) -> RequestGroup40_50.convertRequestGroup(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ResearchStudy.class, (src, context) -> ResearchStudy40_50.convertResearchStudy(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ResearchSubject.class, (src, context) -> ResearchSubject40_50.convertResearchSubject(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.RiskAssessment.class, (src, context) -> RiskAssessment40_50.convertRiskAssessment(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Schedule.class, (src, context) -> Schedule40_50.convertSchedule(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SearchParameter.class, (src, context) -> SearchParameter40_50.convertSearchParameter(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ServiceRequest.class, (src, context) -> ServiceRequest40_50.convertServiceRequest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Slot.class, (src, context) -> Slot40_50.convertSlot(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Specimen.class, (src, context) -> Specimen40_50.convertSpecimen(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SpecimenDefinition.class, (src, context) -> SpecimenDefinition40_50.convertSpecimenDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.StructureDefinition.class, (src, context) -> StructureDefinition40_50.convertStructureDefinition(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.StructureMap.class, (src, context) -> StructureMap40_50.convertStructureMap(src));
+        // RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Subscription.class, (src, context) -> Subscription.convertSubscription(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Substance.class, (src, context) -> Substance40_50.convertSubstance(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SubstanceNucleicAcid.class, (src, context) -> SubstanceNucleicAcid40_50.convertSubstanceNucleicAcid(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SubstancePolymer.class, (src, context) -> SubstancePolymer40_50.convertSubstancePolymer(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SubstanceProtein.class, (src, context) -> SubstanceProtein40_50.convertSubstanceProtein(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SubstanceReferenceInformation.class, (src, context) -> SubstanceReferenceInformation40_50.convertSubstanceReferenceInformation(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SubstanceSourceMaterial.class, (src, context) -> SubstanceSourceMaterial40_50.convertSubstanceSourceMaterial(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SupplyDelivery.class, (src, context) -> SupplyDelivery40_50.convertSupplyDelivery(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.SupplyRequest.class, (src, context) -> SupplyRequest40_50.convertSupplyRequest(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.Task.class, (src, context) -> Task40_50.convertTask(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.TerminologyCapabilities.class, (src, context) -> TerminologyCapabilities40_50.convertTerminologyCapabilities(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.TestReport.class, (src, context) -> TestReport40_50.convertTestReport(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.TestScript.class, (src, context) -> TestScript40_50.convertTestScript(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.ValueSet.class, (src, context) -> ValueSet40_50.convertValueSet(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.VerificationResult.class, (src, context) -> VerificationResult40_50.convertVerificationResult(src));
+        RESOURCES_40_TO_50.register(org.hl7.fhir.r4.model.VisionPrescription.class, (src, context) -> VisionPrescription40_50.convertVisionPrescription(src));
+    }
+
     public static org.hl7.fhir.r5.model.Resource convertResource(org.hl7.fhir.r4.model.Resource src) throws FHIRException {
         if (src == null)
             return null;
-        if (src instanceof org.hl7.fhir.r4.model.Parameters)
-            return Parameters40_50.convertParameters((org.hl7.fhir.r4.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.r4.model.Account)
-            return Account40_50.convertAccount((org.hl7.fhir.r4.model.Account) src);
-        if (src instanceof org.hl7.fhir.r4.model.ActivityDefinition)
-            return ActivityDefinition40_50.convertActivityDefinition((org.hl7.fhir.r4.model.ActivityDefinition) src);
-        // if (src instanceof org.hl7.fhir.r4.model.AdverseEvent)
-        // return AdverseEvent.convertAdverseEvent((org.hl7.fhir.r4.model.AdverseEvent) src);
-        if (src instanceof org.hl7.fhir.r4.model.AllergyIntolerance)
-            return AllergyIntolerance40_50.convertAllergyIntolerance((org.hl7.fhir.r4.model.AllergyIntolerance) src);
-        if (src instanceof org.hl7.fhir.r4.model.Appointment)
-            return Appointment40_50.convertAppointment((org.hl7.fhir.r4.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.r4.model.AppointmentResponse)
-            return AppointmentResponse40_50.convertAppointmentResponse((org.hl7.fhir.r4.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.AuditEvent)
-            return AuditEvent40_50.convertAuditEvent((org.hl7.fhir.r4.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.r4.model.Basic)
-            return Basic40_50.convertBasic((org.hl7.fhir.r4.model.Basic) src);
-        if (src instanceof org.hl7.fhir.r4.model.Binary)
-            return Binary40_50.convertBinary((org.hl7.fhir.r4.model.Binary) src);
-        if (src instanceof org.hl7.fhir.r4.model.BiologicallyDerivedProduct)
-            return BiologicallyDerivedProduct40_50.convertBiologicallyDerivedProduct((org.hl7.fhir.r4.model.BiologicallyDerivedProduct) src);
-        if (src instanceof org.hl7.fhir.r4.model.BodyStructure)
-            return BodyStructure40_50.convertBodyStructure((org.hl7.fhir.r4.model.BodyStructure) src);
-        if (src instanceof org.hl7.fhir.r4.model.Bundle)
-            return Bundle40_50.convertBundle((org.hl7.fhir.r4.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.r4.model.CapabilityStatement)
-            return CapabilityStatement40_50.convertCapabilityStatement((org.hl7.fhir.r4.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.r4.model.CarePlan)
-            return CarePlan40_50.convertCarePlan((org.hl7.fhir.r4.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.r4.model.CareTeam)
-            return CareTeam40_50.convertCareTeam((org.hl7.fhir.r4.model.CareTeam) src);
-        // if (src instanceof org.hl7.fhir.r4.model.CatalogEntry)
-        // return CatalogEntry.convertCatalogEntry((org.hl7.fhir.r4.model.CatalogEntry) src);
-        if (src instanceof org.hl7.fhir.r4.model.ChargeItem)
-            return ChargeItem40_50.convertChargeItem((org.hl7.fhir.r4.model.ChargeItem) src);
-        if (src instanceof org.hl7.fhir.r4.model.ChargeItemDefinition)
-            return ChargeItemDefinition40_50.convertChargeItemDefinition((org.hl7.fhir.r4.model.ChargeItemDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.Claim)
-            return Claim40_50.convertClaim((org.hl7.fhir.r4.model.Claim) src);
-        if (src instanceof org.hl7.fhir.r4.model.ClaimResponse)
-            return ClaimResponse40_50.convertClaimResponse((org.hl7.fhir.r4.model.ClaimResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.ClinicalImpression)
-            return ClinicalImpression40_50.convertClinicalImpression((org.hl7.fhir.r4.model.ClinicalImpression) src);
-        if (src instanceof org.hl7.fhir.r4.model.CodeSystem)
-            return CodeSystem40_50.convertCodeSystem((org.hl7.fhir.r4.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.r4.model.Communication)
-            return Communication40_50.convertCommunication((org.hl7.fhir.r4.model.Communication) src);
-        if (src instanceof org.hl7.fhir.r4.model.CommunicationRequest)
-            return CommunicationRequest40_50.convertCommunicationRequest((org.hl7.fhir.r4.model.CommunicationRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.CompartmentDefinition)
-            return CompartmentDefinition40_50.convertCompartmentDefinition((org.hl7.fhir.r4.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.Composition)
-            return Composition40_50.convertComposition((org.hl7.fhir.r4.model.Composition) src);
-        if (src instanceof org.hl7.fhir.r4.model.ConceptMap)
-            return ConceptMap40_50.convertConceptMap((org.hl7.fhir.r4.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.r4.model.Condition)
-            return Condition40_50.convertCondition((org.hl7.fhir.r4.model.Condition) src);
-        if (src instanceof org.hl7.fhir.r4.model.Consent)
-            return Consent40_50.convertConsent((org.hl7.fhir.r4.model.Consent) src);
-        if (src instanceof org.hl7.fhir.r4.model.Contract)
-            return Contract40_50.convertContract((org.hl7.fhir.r4.model.Contract) src);
-        if (src instanceof org.hl7.fhir.r4.model.Coverage)
-            return Coverage40_50.convertCoverage((org.hl7.fhir.r4.model.Coverage) src);
-        if (src instanceof org.hl7.fhir.r4.model.CoverageEligibilityRequest)
-            return CoverageEligibilityRequest40_50.convertCoverageEligibilityRequest((org.hl7.fhir.r4.model.CoverageEligibilityRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.CoverageEligibilityResponse)
-            return CoverageEligibilityResponse40_50.convertCoverageEligibilityResponse((org.hl7.fhir.r4.model.CoverageEligibilityResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.DetectedIssue)
-            return DetectedIssue40_50.convertDetectedIssue((org.hl7.fhir.r4.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.r4.model.Device)
-            return Device40_50.convertDevice((org.hl7.fhir.r4.model.Device) src);
-        if (src instanceof org.hl7.fhir.r4.model.DeviceDefinition)
-            return DeviceDefinition40_50.convertDeviceDefinition((org.hl7.fhir.r4.model.DeviceDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.DeviceMetric)
-            return DeviceMetric40_50.convertDeviceMetric((org.hl7.fhir.r4.model.DeviceMetric) src);
-        if (src instanceof org.hl7.fhir.r4.model.DeviceRequest)
-            return DeviceRequest40_50.convertDeviceRequest((org.hl7.fhir.r4.model.DeviceRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.DeviceUseStatement)
-            return DeviceUseStatement40_50.convertDeviceUseStatement((org.hl7.fhir.r4.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.r4.model.DiagnosticReport)
-            return DiagnosticReport40_50.convertDiagnosticReport((org.hl7.fhir.r4.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.r4.model.DocumentManifest)
-            return DocumentManifest40_50.convertDocumentManifest((org.hl7.fhir.r4.model.DocumentManifest) src);
-        if (src instanceof org.hl7.fhir.r4.model.DocumentReference)
-            return DocumentReference40_50.convertDocumentReference((org.hl7.fhir.r4.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.r4.model.Encounter)
-            return Encounter40_50.convertEncounter((org.hl7.fhir.r4.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.r4.model.Endpoint)
-            return Endpoint40_50.convertEndpoint((org.hl7.fhir.r4.model.Endpoint) src);
-        if (src instanceof org.hl7.fhir.r4.model.EnrollmentRequest)
-            return EnrollmentRequest40_50.convertEnrollmentRequest((org.hl7.fhir.r4.model.EnrollmentRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.EnrollmentResponse)
-            return EnrollmentResponse40_50.convertEnrollmentResponse((org.hl7.fhir.r4.model.EnrollmentResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.EpisodeOfCare)
-            return EpisodeOfCare40_50.convertEpisodeOfCare((org.hl7.fhir.r4.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.r4.model.EventDefinition)
-            return EventDefinition40_50.convertEventDefinition((org.hl7.fhir.r4.model.EventDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.ExampleScenario)
-            return ExampleScenario40_50.convertExampleScenario((org.hl7.fhir.r4.model.ExampleScenario) src);
-        if (src instanceof org.hl7.fhir.r4.model.ExplanationOfBenefit)
-            return ExplanationOfBenefit40_50.convertExplanationOfBenefit((org.hl7.fhir.r4.model.ExplanationOfBenefit) src);
-        if (src instanceof org.hl7.fhir.r4.model.FamilyMemberHistory)
-            return FamilyMemberHistory40_50.convertFamilyMemberHistory((org.hl7.fhir.r4.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.r4.model.Flag)
-            return Flag40_50.convertFlag((org.hl7.fhir.r4.model.Flag) src);
-        if (src instanceof org.hl7.fhir.r4.model.Goal)
-            return Goal40_50.convertGoal((org.hl7.fhir.r4.model.Goal) src);
-        if (src instanceof org.hl7.fhir.r4.model.GraphDefinition)
-            return GraphDefinition40_50.convertGraphDefinition((org.hl7.fhir.r4.model.GraphDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.Group)
-            return Group40_50.convertGroup((org.hl7.fhir.r4.model.Group) src);
-        if (src instanceof org.hl7.fhir.r4.model.GuidanceResponse)
-            return GuidanceResponse40_50.convertGuidanceResponse((org.hl7.fhir.r4.model.GuidanceResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.HealthcareService)
-            return HealthcareService40_50.convertHealthcareService((org.hl7.fhir.r4.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.r4.model.ImagingStudy)
-            return ImagingStudy40_50.convertImagingStudy((org.hl7.fhir.r4.model.ImagingStudy) src);
-        if (src instanceof org.hl7.fhir.r4.model.Immunization)
-            return Immunization40_50.convertImmunization((org.hl7.fhir.r4.model.Immunization) src);
-        if (src instanceof org.hl7.fhir.r4.model.ImmunizationEvaluation)
-            return ImmunizationEvaluation40_50.convertImmunizationEvaluation((org.hl7.fhir.r4.model.ImmunizationEvaluation) src);
-        if (src instanceof org.hl7.fhir.r4.model.ImmunizationRecommendation)
-            return ImmunizationRecommendation40_50.convertImmunizationRecommendation((org.hl7.fhir.r4.model.ImmunizationRecommendation) src);
-        if (src instanceof org.hl7.fhir.r4.model.ImplementationGuide)
-            return ImplementationGuide40_50.convertImplementationGuide((org.hl7.fhir.r4.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.r4.model.InsurancePlan)
-            return InsurancePlan40_50.convertInsurancePlan((org.hl7.fhir.r4.model.InsurancePlan) src);
-        if (src instanceof org.hl7.fhir.r4.model.Invoice)
-            return Invoice40_50.convertInvoice((org.hl7.fhir.r4.model.Invoice) src);
-        if (src instanceof org.hl7.fhir.r4.model.Library)
-            return Library40_50.convertLibrary((org.hl7.fhir.r4.model.Library) src);
-        if (src instanceof org.hl7.fhir.r4.model.Linkage)
-            return Linkage40_50.convertLinkage((org.hl7.fhir.r4.model.Linkage) src);
-        if (src instanceof org.hl7.fhir.r4.model.ListResource)
-            return ListResource40_50.convertListResource((org.hl7.fhir.r4.model.ListResource) src);
-        if (src instanceof org.hl7.fhir.r4.model.Location)
-            return Location40_50.convertLocation((org.hl7.fhir.r4.model.Location) src);
-        if (src instanceof org.hl7.fhir.r4.model.Measure)
-            return Measure40_50.convertMeasure((org.hl7.fhir.r4.model.Measure) src);
-        if (src instanceof org.hl7.fhir.r4.model.MeasureReport)
-            return MeasureReport40_50.convertMeasureReport((org.hl7.fhir.r4.model.MeasureReport) src);
-        if (src instanceof org.hl7.fhir.r4.model.Media)
-            return Media40_50.convertMedia((org.hl7.fhir.r4.model.Media) src);
-        if (src instanceof org.hl7.fhir.r4.model.Medication)
-            return Medication40_50.convertMedication((org.hl7.fhir.r4.model.Medication) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicationAdministration)
-            return MedicationAdministration40_50.convertMedicationAdministration((org.hl7.fhir.r4.model.MedicationAdministration) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicationDispense)
-            return MedicationDispense40_50.convertMedicationDispense((org.hl7.fhir.r4.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicationKnowledge)
-            return MedicationKnowledge40_50.convertMedicationKnowledge((org.hl7.fhir.r4.model.MedicationKnowledge) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicationRequest)
-            return MedicationRequest40_50.convertMedicationRequest((org.hl7.fhir.r4.model.MedicationRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicationStatement)
-            return MedicationStatement40_50.convertMedicationStatement((org.hl7.fhir.r4.model.MedicationStatement) src);
-        if (src instanceof org.hl7.fhir.r4.model.MedicinalProduct)
-          return MedicinalProductDefinition40_50.convertMedicinalProduct((org.hl7.fhir.r4.model.MedicinalProduct) src);
-        if (src instanceof org.hl7.fhir.r4.model.MessageDefinition)
-            return MessageDefinition40_50.convertMessageDefinition((org.hl7.fhir.r4.model.MessageDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.MessageHeader)
-            return MessageHeader40_50.convertMessageHeader((org.hl7.fhir.r4.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.r4.model.MolecularSequence)
-            return MolecularSequence40_50.convertMolecularSequence((org.hl7.fhir.r4.model.MolecularSequence) src);
-        if (src instanceof org.hl7.fhir.r4.model.NamingSystem)
-            return NamingSystem40_50.convertNamingSystem((org.hl7.fhir.r4.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.r4.model.NutritionOrder)
-            return NutritionOrder40_50.convertNutritionOrder((org.hl7.fhir.r4.model.NutritionOrder) src);
-        if (src instanceof org.hl7.fhir.r4.model.Observation)
-            return Observation40_50.convertObservation((org.hl7.fhir.r4.model.Observation) src);
-        if (src instanceof org.hl7.fhir.r4.model.ObservationDefinition)
-            return ObservationDefinition40_50.convertObservationDefinition((org.hl7.fhir.r4.model.ObservationDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.OperationDefinition)
-            return OperationDefinition40_50.convertOperationDefinition((org.hl7.fhir.r4.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.OperationOutcome)
-            return OperationOutcome40_50.convertOperationOutcome((org.hl7.fhir.r4.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.r4.model.Organization)
-            return Organization40_50.convertOrganization((org.hl7.fhir.r4.model.Organization) src);
-        if (src instanceof org.hl7.fhir.r4.model.OrganizationAffiliation)
-            return OrganizationAffiliation40_50.convertOrganizationAffiliation((org.hl7.fhir.r4.model.OrganizationAffiliation) src);
-        if (src instanceof org.hl7.fhir.r4.model.Patient)
-            return Patient40_50.convertPatient((org.hl7.fhir.r4.model.Patient) src);
-        if (src instanceof org.hl7.fhir.r4.model.PaymentNotice)
-            return PaymentNotice40_50.convertPaymentNotice((org.hl7.fhir.r4.model.PaymentNotice) src);
-        if (src instanceof org.hl7.fhir.r4.model.PaymentReconciliation)
-            return PaymentReconciliation40_50.convertPaymentReconciliation((org.hl7.fhir.r4.model.PaymentReconciliation) src);
-        if (src instanceof org.hl7.fhir.r4.model.Person)
-            return Person40_50.convertPerson((org.hl7.fhir.r4.model.Person) src);
-        if (src instanceof org.hl7.fhir.r4.model.PlanDefinition)
-            return PlanDefinition40_50.convertPlanDefinition((org.hl7.fhir.r4.model.PlanDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.Practitioner)
-            return Practitioner40_50.convertPractitioner((org.hl7.fhir.r4.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.r4.model.PractitionerRole)
-            return PractitionerRole40_50.convertPractitionerRole((org.hl7.fhir.r4.model.PractitionerRole) src);
-        if (src instanceof org.hl7.fhir.r4.model.Procedure)
-            return Procedure40_50.convertProcedure((org.hl7.fhir.r4.model.Procedure) src);
-        if (src instanceof org.hl7.fhir.r4.model.Provenance)
-            return Provenance40_50.convertProvenance((org.hl7.fhir.r4.model.Provenance) src);
-        if (src instanceof org.hl7.fhir.r4.model.Questionnaire)
-            return Questionnaire40_50.convertQuestionnaire((org.hl7.fhir.r4.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.r4.model.QuestionnaireResponse)
-            return QuestionnaireResponse40_50.convertQuestionnaireResponse((org.hl7.fhir.r4.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.r4.model.RelatedPerson)
-            return RelatedPerson40_50.convertRelatedPerson((org.hl7.fhir.r4.model.RelatedPerson) src);
-        if (src instanceof org.hl7.fhir.r4.model.RequestGroup)
-            return RequestGroup40_50.convertRequestGroup((org.hl7.fhir.r4.model.RequestGroup) src);
-        if (src instanceof org.hl7.fhir.r4.model.ResearchStudy)
-            return ResearchStudy40_50.convertResearchStudy((org.hl7.fhir.r4.model.ResearchStudy) src);
-        if (src instanceof org.hl7.fhir.r4.model.ResearchSubject)
-            return ResearchSubject40_50.convertResearchSubject((org.hl7.fhir.r4.model.ResearchSubject) src);
-        if (src instanceof org.hl7.fhir.r4.model.RiskAssessment)
-            return RiskAssessment40_50.convertRiskAssessment((org.hl7.fhir.r4.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.r4.model.Schedule)
-            return Schedule40_50.convertSchedule((org.hl7.fhir.r4.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.r4.model.SearchParameter)
-            return SearchParameter40_50.convertSearchParameter((org.hl7.fhir.r4.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.r4.model.ServiceRequest)
-            return ServiceRequest40_50.convertServiceRequest((org.hl7.fhir.r4.model.ServiceRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.Slot)
-            return Slot40_50.convertSlot((org.hl7.fhir.r4.model.Slot) src);
-        if (src instanceof org.hl7.fhir.r4.model.Specimen)
-            return Specimen40_50.convertSpecimen((org.hl7.fhir.r4.model.Specimen) src);
-        if (src instanceof org.hl7.fhir.r4.model.SpecimenDefinition)
-            return SpecimenDefinition40_50.convertSpecimenDefinition((org.hl7.fhir.r4.model.SpecimenDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.StructureDefinition)
-            return StructureDefinition40_50.convertStructureDefinition((org.hl7.fhir.r4.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.r4.model.StructureMap)
-            return StructureMap40_50.convertStructureMap((org.hl7.fhir.r4.model.StructureMap) src);
-        // if (src instanceof org.hl7.fhir.r4.model.Subscription)
-        // return Subscription.convertSubscription((org.hl7.fhir.r4.model.Subscription) src);
-        if (src instanceof org.hl7.fhir.r4.model.Substance)
-            return Substance40_50.convertSubstance((org.hl7.fhir.r4.model.Substance) src);
-        if (src instanceof org.hl7.fhir.r4.model.SubstanceNucleicAcid)
-            return SubstanceNucleicAcid40_50.convertSubstanceNucleicAcid((org.hl7.fhir.r4.model.SubstanceNucleicAcid) src);
-        if (src instanceof org.hl7.fhir.r4.model.SubstancePolymer)
-            return SubstancePolymer40_50.convertSubstancePolymer((org.hl7.fhir.r4.model.SubstancePolymer) src);
-        if (src instanceof org.hl7.fhir.r4.model.SubstanceProtein)
-            return SubstanceProtein40_50.convertSubstanceProtein((org.hl7.fhir.r4.model.SubstanceProtein) src);
-        if (src instanceof org.hl7.fhir.r4.model.SubstanceReferenceInformation)
-            return SubstanceReferenceInformation40_50.convertSubstanceReferenceInformation((org.hl7.fhir.r4.model.SubstanceReferenceInformation) src);
-        if (src instanceof org.hl7.fhir.r4.model.SubstanceSourceMaterial)
-            return SubstanceSourceMaterial40_50.convertSubstanceSourceMaterial((org.hl7.fhir.r4.model.SubstanceSourceMaterial) src);
-        if (src instanceof org.hl7.fhir.r4.model.SupplyDelivery)
-            return SupplyDelivery40_50.convertSupplyDelivery((org.hl7.fhir.r4.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.r4.model.SupplyRequest)
-            return SupplyRequest40_50.convertSupplyRequest((org.hl7.fhir.r4.model.SupplyRequest) src);
-        if (src instanceof org.hl7.fhir.r4.model.Task)
-            return Task40_50.convertTask((org.hl7.fhir.r4.model.Task) src);
-        if (src instanceof org.hl7.fhir.r4.model.TerminologyCapabilities)
-            return TerminologyCapabilities40_50.convertTerminologyCapabilities((org.hl7.fhir.r4.model.TerminologyCapabilities) src);
-        if (src instanceof org.hl7.fhir.r4.model.TestReport)
-            return TestReport40_50.convertTestReport((org.hl7.fhir.r4.model.TestReport) src);
-        if (src instanceof org.hl7.fhir.r4.model.TestScript)
-            return TestScript40_50.convertTestScript((org.hl7.fhir.r4.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.r4.model.ValueSet)
-            return ValueSet40_50.convertValueSet((org.hl7.fhir.r4.model.ValueSet) src);
-        if (src instanceof org.hl7.fhir.r4.model.VerificationResult)
-            return VerificationResult40_50.convertVerificationResult((org.hl7.fhir.r4.model.VerificationResult) src);
-        if (src instanceof org.hl7.fhir.r4.model.VisionPrescription)
-            return VisionPrescription40_50.convertVisionPrescription((org.hl7.fhir.r4.model.VisionPrescription) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.r4.model.Resource, ? extends org.hl7.fhir.r5.model.Resource, Void> converter = RESOURCES_40_TO_50.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
+    public static final ResourceConverterRegistry<org.hl7.fhir.r5.model.Resource, org.hl7.fhir.r4.model.Resource, Void> RESOURCES_50_TO_40 = new ResourceConverterRegistry<>();
+
+    static {
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Parameters.class, (src, context) -> Parameters40_50.convertParameters(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Account.class, (src, context) -> Account40_50.convertAccount(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ActivityDefinition.class, (src, context) -> ActivityDefinition40_50.convertActivityDefinition(src));
+        // RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.AdverseEvent.class, (src, context) -> AdverseEvent.convertAdverseEvent(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.AllergyIntolerance.class, (src, context) -> AllergyIntolerance40_50.convertAllergyIntolerance(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Appointment.class, (src, context) -> Appointment40_50.convertAppointment(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.AppointmentResponse.class, (src, context) -> AppointmentResponse40_50.convertAppointmentResponse(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.AuditEvent.class, (src, context) -> AuditEvent40_50.convertAuditEvent(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Basic.class, (src, context) -> Basic40_50.convertBasic(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Binary.class, (src, context) -> Binary40_50.convertBinary(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.BiologicallyDerivedProduct.class, (src, context) -> BiologicallyDerivedProduct40_50.convertBiologicallyDerivedProduct(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.BodyStructure.class, (src, context) -> BodyStructure40_50.convertBodyStructure(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Bundle.class, (src, context) -> Bundle40_50.convertBundle(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CapabilityStatement.class, (src, context) -> CapabilityStatement40_50.convertCapabilityStatement(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CarePlan.class, (src, context) -> CarePlan40_50.convertCarePlan(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CareTeam.class, (src, context) -> CareTeam40_50.convertCareTeam(src));
+        // RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CatalogEntry.class, (src, context) -> CatalogEntry.convertCatalogEntry(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ChargeItem.class, (src, context) -> ChargeItem40_50.convertChargeItem(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ChargeItemDefinition.class, (src, context) -> ChargeItemDefinition40_50.convertChargeItemDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Claim.class, (src, context) -> Claim40_50.convertClaim(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ClaimResponse.class, (src, context) -> ClaimResponse40_50.convertClaimResponse(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ClinicalImpression.class, (src, context) -> ClinicalImpression40_50.convertClinicalImpression(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CodeSystem.class, (src, context) -> CodeSystem40_50.convertCodeSystem(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Communication.class, (src, context) -> Communication40_50.convertCommunication(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CommunicationRequest.class, (src, context) -> CommunicationRequest40_50.convertCommunicationRequest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CompartmentDefinition.class, (src, context) -> CompartmentDefinition40_50.convertCompartmentDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Composition.class, (src, context) -> Composition40_50.convertComposition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ConceptMap.class, (src, context) -> ConceptMap40_50.convertConceptMap(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Condition.class, (src, context) -> Condition40_50.convertCondition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Consent.class, (src, context) -> Consent40_50.convertConsent(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Contract.class, (src, context) -> Contract40_50.convertContract(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Coverage.class, (src, context) -> Coverage40_50.convertCoverage(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CoverageEligibilityRequest.class, (src, context) -> CoverageEligibilityRequest40_50.convertCoverageEligibilityRequest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.CoverageEligibilityResponse.class, (src, context) -> CoverageEligibilityResponse40_50.convertCoverageEligibilityResponse(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DetectedIssue.class, (src, context) -> DetectedIssue40_50.convertDetectedIssue(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Device.class, (src, context) -> Device40_50.convertDevice(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DeviceDefinition.class, (src, context) -> DeviceDefinition40_50.convertDeviceDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DeviceMetric.class, (src, context) -> DeviceMetric40_50.convertDeviceMetric(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DeviceRequest.class, (src, context) -> DeviceRequest40_50.convertDeviceRequest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DeviceUseStatement.class, (src, context) -> DeviceUseStatement40_50.convertDeviceUseStatement(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DiagnosticReport.class, (src, context) -> DiagnosticReport40_50.convertDiagnosticReport(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DocumentManifest.class, (src, context) -> DocumentManifest40_50.convertDocumentManifest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.DocumentReference.class, (src, context) -> DocumentReference40_50.convertDocumentReference(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Encounter.class, (src, context) -> Encounter40_50.convertEncounter(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Endpoint.class, (src, context) -> Endpoint40_50.convertEndpoint(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.EnrollmentRequest.class, (src, context) -> EnrollmentRequest40_50.convertEnrollmentRequest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.EnrollmentResponse.class, (src, context) -> EnrollmentResponse40_50.convertEnrollmentResponse(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.EpisodeOfCare.class, (src, context) -> EpisodeOfCare40_50.convertEpisodeOfCare(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.EventDefinition.class, (src, context) -> EventDefinition40_50.convertEventDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ExampleScenario.class, (src, context) -> ExampleScenario40_50.convertExampleScenario(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ExplanationOfBenefit.class, (src, context) -> ExplanationOfBenefit40_50.convertExplanationOfBenefit(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.FamilyMemberHistory.class, (src, context) -> FamilyMemberHistory40_50.convertFamilyMemberHistory(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Flag.class, (src, context) -> Flag40_50.convertFlag(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Goal.class, (src, context) -> Goal40_50.convertGoal(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.GraphDefinition.class, (src, context) -> GraphDefinition40_50.convertGraphDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Group.class, (src, context) -> Group40_50.convertGroup(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.GuidanceResponse.class, (src, context) -> GuidanceResponse40_50.convertGuidanceResponse(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.HealthcareService.class, (src, context) -> HealthcareService40_50.convertHealthcareService(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ImagingStudy.class, (src, context) -> ImagingStudy40_50.convertImagingStudy(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Immunization.class, (src, context) -> Immunization40_50.convertImmunization(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ImmunizationEvaluation.class, (src, context) -> ImmunizationEvaluation40_50.convertImmunizationEvaluation(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ImmunizationRecommendation.class, (src, context) -> ImmunizationRecommendation40_50.convertImmunizationRecommendation(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ImplementationGuide.class, (src, context) -> ImplementationGuide40_50.convertImplementationGuide(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.InsurancePlan.class, (src, context) -> InsurancePlan40_50.convertInsurancePlan(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Invoice.class, (src, context) -> Invoice40_50.convertInvoice(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Library.class, (src, context) -> Library40_50.convertLibrary(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Linkage.class, (src, context) -> Linkage40_50.convertLinkage(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ListResource.class, (src, context) -> ListResource40_50.convertListResource(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Location.class, (src, context) -> Location40_50.convertLocation(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Measure.class, (src, context) -> Measure40_50.convertMeasure(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MeasureReport.class, (src, context) -> MeasureReport40_50.convertMeasureReport(src));
+        // DocumentReference is already registered above, so Media40_50.convertMedia isn't used
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Medication.class, (src, context) -> Medication40_50.convertMedication(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MedicationAdministration.class, (src, context) -> MedicationAdministration40_50.convertMedicationAdministration(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MedicationDispense.class, (src, context) -> MedicationDispense40_50.convertMedicationDispense(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MedicationKnowledge.class, (src, context) -> MedicationKnowledge40_50.convertMedicationKnowledge(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MedicationRequest.class, (src, context) -> MedicationRequest40_50.convertMedicationRequest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MedicationUsage.class, (src, context) -> MedicationStatement40_50.convertMedicationStatement(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MedicinalProductDefinition.class, (src, context) -> MedicinalProductDefinition40_50.convertMedicinalProductDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MessageDefinition.class, (src, context) -> MessageDefinition40_50.convertMessageDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MessageHeader.class, (src, context) -> MessageHeader40_50.convertMessageHeader(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.MolecularSequence.class, (src, context) -> MolecularSequence40_50.convertMolecularSequence(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.NamingSystem.class, (src, context) -> NamingSystem40_50.convertNamingSystem(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.NutritionOrder.class, (src, context) -> NutritionOrder40_50.convertNutritionOrder(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Observation.class, (src, context) -> Observation40_50.convertObservation(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ObservationDefinition.class, (src, context) -> ObservationDefinition40_50.convertObservationDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.OperationDefinition.class, (src, context) -> OperationDefinition40_50.convertOperationDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.OperationOutcome.class, (src, context) -> OperationOutcome40_50.convertOperationOutcome(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Organization.class, (src, context) -> Organization40_50.convertOrganization(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.OrganizationAffiliation.class, (src, context) -> OrganizationAffiliation40_50.convertOrganizationAffiliation(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Patient.class, (src, context) -> Patient40_50.convertPatient(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.PaymentNotice.class, (src, context) -> PaymentNotice40_50.convertPaymentNotice(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.PaymentReconciliation.class, (src, context) -> PaymentReconciliation40_50.convertPaymentReconciliation(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Person.class, (src, context) -> Person40_50.convertPerson(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.PlanDefinition.class, (src, context) -> PlanDefinition40_50.convertPlanDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Practitioner.class, (src, context) -> Practitioner40_50.convertPractitioner(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.PractitionerRole.class, (src, context) -> PractitionerRole40_50.convertPractitionerRole(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Procedure.class, (src, context) -> Procedure40_50.convertProcedure(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Provenance.class, (src, context) -> Provenance40_50.convertProvenance(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Questionnaire.class, (src, context) -> Questionnaire40_50.convertQuestionnaire(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.QuestionnaireResponse.class, (src, context) -> QuestionnaireResponse40_50.convertQuestionnaireResponse(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.RelatedPerson.class, (src, context) -> RelatedPerson40_50.convertRelatedPerson(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.RequestGroup.class, (src, context) -> RequestGroup40_50.convertRequestGroup(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ResearchStudy.class, (src, context) -> ResearchStudy40_50.convertResearchStudy(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ResearchSubject.class, (src, context) -> ResearchSubject40_50.convertResearchSubject(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.RiskAssessment.class, (src, context) -> RiskAssessment40_50.convertRiskAssessment(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Schedule.class, (src, context) -> Schedule40_50.convertSchedule(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SearchParameter.class, (src, context) -> SearchParameter40_50.convertSearchParameter(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ServiceRequest.class, (src, context) -> ServiceRequest40_50.convertServiceRequest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Slot.class, (src, context) -> Slot40_50.convertSlot(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Specimen.class, (src, context) -> Specimen40_50.convertSpecimen(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SpecimenDefinition.class, (src, context) -> SpecimenDefinition40_50.convertSpecimenDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.StructureDefinition.class, (src, context) -> StructureDefinition40_50.convertStructureDefinition(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.StructureMap.class, (src, context) -> StructureMap40_50.convertStructureMap(src));
+        // RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Subscription.class, (src, context) -> Subscription.convertSubscription(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Substance.class, (src, context) -> Substance40_50.convertSubstance(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SubstanceNucleicAcid.class, (src, context) -> SubstanceNucleicAcid40_50.convertSubstanceNucleicAcid(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SubstancePolymer.class, (src, context) -> SubstancePolymer40_50.convertSubstancePolymer(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SubstanceProtein.class, (src, context) -> SubstanceProtein40_50.convertSubstanceProtein(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SubstanceReferenceInformation.class, (src, context) -> SubstanceReferenceInformation40_50.convertSubstanceReferenceInformation(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SubstanceSourceMaterial.class, (src, context) -> SubstanceSourceMaterial40_50.convertSubstanceSourceMaterial(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SupplyDelivery.class, (src, context) -> SupplyDelivery40_50.convertSupplyDelivery(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.SupplyRequest.class, (src, context) -> SupplyRequest40_50.convertSupplyRequest(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.Task.class, (src, context) -> Task40_50.convertTask(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.TerminologyCapabilities.class, (src, context) -> TerminologyCapabilities40_50.convertTerminologyCapabilities(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.TestReport.class, (src, context) -> TestReport40_50.convertTestReport(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.TestScript.class, (src, context) -> TestScript40_50.convertTestScript(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.ValueSet.class, (src, context) -> ValueSet40_50.convertValueSet(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.VerificationResult.class, (src, context) -> VerificationResult40_50.convertVerificationResult(src));
+        RESOURCES_50_TO_40.register(org.hl7.fhir.r5.model.VisionPrescription.class, (src, context) -> VisionPrescription40_50.convertVisionPrescription(src));
+    }
+
     public static org.hl7.fhir.r4.model.Resource convertResource(org.hl7.fhir.r5.model.Resource src) throws FHIRException {
         if (src == null)
             return null;
-        if (src instanceof org.hl7.fhir.r5.model.Parameters)
-            return Parameters40_50.convertParameters((org.hl7.fhir.r5.model.Parameters) src);
-        if (src instanceof org.hl7.fhir.r5.model.Account)
-            return Account40_50.convertAccount((org.hl7.fhir.r5.model.Account) src);
-        if (src instanceof org.hl7.fhir.r5.model.ActivityDefinition)
-            return ActivityDefinition40_50.convertActivityDefinition((org.hl7.fhir.r5.model.ActivityDefinition) src);
-        // if (src instanceof org.hl7.fhir.r5.model.AdverseEvent)
-        // return AdverseEvent.convertAdverseEvent((org.hl7.fhir.r5.model.AdverseEvent) src);
-        if (src instanceof org.hl7.fhir.r5.model.AllergyIntolerance)
-            return AllergyIntolerance40_50.convertAllergyIntolerance((org.hl7.fhir.r5.model.AllergyIntolerance) src);
-        if (src instanceof org.hl7.fhir.r5.model.Appointment)
-            return Appointment40_50.convertAppointment((org.hl7.fhir.r5.model.Appointment) src);
-        if (src instanceof org.hl7.fhir.r5.model.AppointmentResponse)
-            return AppointmentResponse40_50.convertAppointmentResponse((org.hl7.fhir.r5.model.AppointmentResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.AuditEvent)
-            return AuditEvent40_50.convertAuditEvent((org.hl7.fhir.r5.model.AuditEvent) src);
-        if (src instanceof org.hl7.fhir.r5.model.Basic)
-            return Basic40_50.convertBasic((org.hl7.fhir.r5.model.Basic) src);
-        if (src instanceof org.hl7.fhir.r5.model.Binary)
-            return Binary40_50.convertBinary((org.hl7.fhir.r5.model.Binary) src);
-        if (src instanceof org.hl7.fhir.r5.model.BiologicallyDerivedProduct)
-            return BiologicallyDerivedProduct40_50.convertBiologicallyDerivedProduct((org.hl7.fhir.r5.model.BiologicallyDerivedProduct) src);
-        if (src instanceof org.hl7.fhir.r5.model.BodyStructure)
-            return BodyStructure40_50.convertBodyStructure((org.hl7.fhir.r5.model.BodyStructure) src);
-        if (src instanceof org.hl7.fhir.r5.model.Bundle)
-            return Bundle40_50.convertBundle((org.hl7.fhir.r5.model.Bundle) src);
-        if (src instanceof org.hl7.fhir.r5.model.CapabilityStatement)
-            return CapabilityStatement40_50.convertCapabilityStatement((org.hl7.fhir.r5.model.CapabilityStatement) src);
-        if (src instanceof org.hl7.fhir.r5.model.CarePlan)
-            return CarePlan40_50.convertCarePlan((org.hl7.fhir.r5.model.CarePlan) src);
-        if (src instanceof org.hl7.fhir.r5.model.CareTeam)
-            return CareTeam40_50.convertCareTeam((org.hl7.fhir.r5.model.CareTeam) src);
-        // if (src instanceof org.hl7.fhir.r5.model.CatalogEntry)
-        // return CatalogEntry.convertCatalogEntry((org.hl7.fhir.r5.model.CatalogEntry) src);
-        if (src instanceof org.hl7.fhir.r5.model.ChargeItem)
-            return ChargeItem40_50.convertChargeItem((org.hl7.fhir.r5.model.ChargeItem) src);
-        if (src instanceof org.hl7.fhir.r5.model.ChargeItemDefinition)
-            return ChargeItemDefinition40_50.convertChargeItemDefinition((org.hl7.fhir.r5.model.ChargeItemDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Claim)
-            return Claim40_50.convertClaim((org.hl7.fhir.r5.model.Claim) src);
-        if (src instanceof org.hl7.fhir.r5.model.ClaimResponse)
-            return ClaimResponse40_50.convertClaimResponse((org.hl7.fhir.r5.model.ClaimResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.ClinicalImpression)
-            return ClinicalImpression40_50.convertClinicalImpression((org.hl7.fhir.r5.model.ClinicalImpression) src);
-        if (src instanceof org.hl7.fhir.r5.model.CodeSystem)
-            return CodeSystem40_50.convertCodeSystem((org.hl7.fhir.r5.model.CodeSystem) src);
-        if (src instanceof org.hl7.fhir.r5.model.Communication)
-            return Communication40_50.convertCommunication((org.hl7.fhir.r5.model.Communication) src);
-        if (src instanceof org.hl7.fhir.r5.model.CommunicationRequest)
-            return CommunicationRequest40_50.convertCommunicationRequest((org.hl7.fhir.r5.model.CommunicationRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.CompartmentDefinition)
-            return CompartmentDefinition40_50.convertCompartmentDefinition((org.hl7.fhir.r5.model.CompartmentDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Composition)
-            return Composition40_50.convertComposition((org.hl7.fhir.r5.model.Composition) src);
-        if (src instanceof org.hl7.fhir.r5.model.ConceptMap)
-            return ConceptMap40_50.convertConceptMap((org.hl7.fhir.r5.model.ConceptMap) src);
-        if (src instanceof org.hl7.fhir.r5.model.Condition)
-            return Condition40_50.convertCondition((org.hl7.fhir.r5.model.Condition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Consent)
-            return Consent40_50.convertConsent((org.hl7.fhir.r5.model.Consent) src);
-        if (src instanceof org.hl7.fhir.r5.model.Contract)
-            return Contract40_50.convertContract((org.hl7.fhir.r5.model.Contract) src);
-        if (src instanceof org.hl7.fhir.r5.model.Coverage)
-            return Coverage40_50.convertCoverage((org.hl7.fhir.r5.model.Coverage) src);
-        if (src instanceof org.hl7.fhir.r5.model.CoverageEligibilityRequest)
-            return CoverageEligibilityRequest40_50.convertCoverageEligibilityRequest((org.hl7.fhir.r5.model.CoverageEligibilityRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.CoverageEligibilityResponse)
-            return CoverageEligibilityResponse40_50.convertCoverageEligibilityResponse((org.hl7.fhir.r5.model.CoverageEligibilityResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.DetectedIssue)
-            return DetectedIssue40_50.convertDetectedIssue((org.hl7.fhir.r5.model.DetectedIssue) src);
-        if (src instanceof org.hl7.fhir.r5.model.Device)
-            return Device40_50.convertDevice((org.hl7.fhir.r5.model.Device) src);
-        if (src instanceof org.hl7.fhir.r5.model.DeviceDefinition)
-            return DeviceDefinition40_50.convertDeviceDefinition((org.hl7.fhir.r5.model.DeviceDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.DeviceMetric)
-            return DeviceMetric40_50.convertDeviceMetric((org.hl7.fhir.r5.model.DeviceMetric) src);
-        if (src instanceof org.hl7.fhir.r5.model.DeviceRequest)
-            return DeviceRequest40_50.convertDeviceRequest((org.hl7.fhir.r5.model.DeviceRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.DeviceUseStatement)
-            return DeviceUseStatement40_50.convertDeviceUseStatement((org.hl7.fhir.r5.model.DeviceUseStatement) src);
-        if (src instanceof org.hl7.fhir.r5.model.DiagnosticReport)
-            return DiagnosticReport40_50.convertDiagnosticReport((org.hl7.fhir.r5.model.DiagnosticReport) src);
-        if (src instanceof org.hl7.fhir.r5.model.DocumentManifest)
-            return DocumentManifest40_50.convertDocumentManifest((org.hl7.fhir.r5.model.DocumentManifest) src);
-        if (src instanceof org.hl7.fhir.r5.model.DocumentReference)
-            return DocumentReference40_50.convertDocumentReference((org.hl7.fhir.r5.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.r5.model.Encounter)
-            return Encounter40_50.convertEncounter((org.hl7.fhir.r5.model.Encounter) src);
-        if (src instanceof org.hl7.fhir.r5.model.Endpoint)
-            return Endpoint40_50.convertEndpoint((org.hl7.fhir.r5.model.Endpoint) src);
-        if (src instanceof org.hl7.fhir.r5.model.EnrollmentRequest)
-            return EnrollmentRequest40_50.convertEnrollmentRequest((org.hl7.fhir.r5.model.EnrollmentRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.EnrollmentResponse)
-            return EnrollmentResponse40_50.convertEnrollmentResponse((org.hl7.fhir.r5.model.EnrollmentResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.EpisodeOfCare)
-            return EpisodeOfCare40_50.convertEpisodeOfCare((org.hl7.fhir.r5.model.EpisodeOfCare) src);
-        if (src instanceof org.hl7.fhir.r5.model.EventDefinition)
-            return EventDefinition40_50.convertEventDefinition((org.hl7.fhir.r5.model.EventDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.ExampleScenario)
-            return ExampleScenario40_50.convertExampleScenario((org.hl7.fhir.r5.model.ExampleScenario) src);
-        if (src instanceof org.hl7.fhir.r5.model.ExplanationOfBenefit)
-            return ExplanationOfBenefit40_50.convertExplanationOfBenefit((org.hl7.fhir.r5.model.ExplanationOfBenefit) src);
-        if (src instanceof org.hl7.fhir.r5.model.FamilyMemberHistory)
-            return FamilyMemberHistory40_50.convertFamilyMemberHistory((org.hl7.fhir.r5.model.FamilyMemberHistory) src);
-        if (src instanceof org.hl7.fhir.r5.model.Flag)
-            return Flag40_50.convertFlag((org.hl7.fhir.r5.model.Flag) src);
-        if (src instanceof org.hl7.fhir.r5.model.Goal)
-            return Goal40_50.convertGoal((org.hl7.fhir.r5.model.Goal) src);
-        if (src instanceof org.hl7.fhir.r5.model.GraphDefinition)
-            return GraphDefinition40_50.convertGraphDefinition((org.hl7.fhir.r5.model.GraphDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Group)
-            return Group40_50.convertGroup((org.hl7.fhir.r5.model.Group) src);
-        if (src instanceof org.hl7.fhir.r5.model.GuidanceResponse)
-            return GuidanceResponse40_50.convertGuidanceResponse((org.hl7.fhir.r5.model.GuidanceResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.HealthcareService)
-            return HealthcareService40_50.convertHealthcareService((org.hl7.fhir.r5.model.HealthcareService) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImagingStudy)
-            return ImagingStudy40_50.convertImagingStudy((org.hl7.fhir.r5.model.ImagingStudy) src);
-        if (src instanceof org.hl7.fhir.r5.model.Immunization)
-            return Immunization40_50.convertImmunization((org.hl7.fhir.r5.model.Immunization) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImmunizationEvaluation)
-            return ImmunizationEvaluation40_50.convertImmunizationEvaluation((org.hl7.fhir.r5.model.ImmunizationEvaluation) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImmunizationRecommendation)
-            return ImmunizationRecommendation40_50.convertImmunizationRecommendation((org.hl7.fhir.r5.model.ImmunizationRecommendation) src);
-        if (src instanceof org.hl7.fhir.r5.model.ImplementationGuide)
-            return ImplementationGuide40_50.convertImplementationGuide((org.hl7.fhir.r5.model.ImplementationGuide) src);
-        if (src instanceof org.hl7.fhir.r5.model.InsurancePlan)
-            return InsurancePlan40_50.convertInsurancePlan((org.hl7.fhir.r5.model.InsurancePlan) src);
-        if (src instanceof org.hl7.fhir.r5.model.Invoice)
-            return Invoice40_50.convertInvoice((org.hl7.fhir.r5.model.Invoice) src);
-        if (src instanceof org.hl7.fhir.r5.model.Library)
-            return Library40_50.convertLibrary((org.hl7.fhir.r5.model.Library) src);
-        if (src instanceof org.hl7.fhir.r5.model.Linkage)
-            return Linkage40_50.convertLinkage((org.hl7.fhir.r5.model.Linkage) src);
-        if (src instanceof org.hl7.fhir.r5.model.ListResource)
-            return ListResource40_50.convertListResource((org.hl7.fhir.r5.model.ListResource) src);
-        if (src instanceof org.hl7.fhir.r5.model.Location)
-            return Location40_50.convertLocation((org.hl7.fhir.r5.model.Location) src);
-        if (src instanceof org.hl7.fhir.r5.model.Measure)
-            return Measure40_50.convertMeasure((org.hl7.fhir.r5.model.Measure) src);
-        if (src instanceof org.hl7.fhir.r5.model.MeasureReport)
-            return MeasureReport40_50.convertMeasureReport((org.hl7.fhir.r5.model.MeasureReport) src);
-        if (// todo: will never get here (doesn't work anyway)
-        src instanceof org.hl7.fhir.r5.model.DocumentReference)
-            return Media40_50.convertMedia((org.hl7.fhir.r5.model.DocumentReference) src);
-        if (src instanceof org.hl7.fhir.r5.model.Medication)
-            return Medication40_50.convertMedication((org.hl7.fhir.r5.model.Medication) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationAdministration)
-            return MedicationAdministration40_50.convertMedicationAdministration((org.hl7.fhir.r5.model.MedicationAdministration) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationDispense)
-            return MedicationDispense40_50.convertMedicationDispense((org.hl7.fhir.r5.model.MedicationDispense) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationKnowledge)
-            return MedicationKnowledge40_50.convertMedicationKnowledge((org.hl7.fhir.r5.model.MedicationKnowledge) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationRequest)
-            return MedicationRequest40_50.convertMedicationRequest((org.hl7.fhir.r5.model.MedicationRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicationUsage)
-            return MedicationStatement40_50.convertMedicationStatement((org.hl7.fhir.r5.model.MedicationUsage) src);
-        if (src instanceof org.hl7.fhir.r5.model.MedicinalProductDefinition)
-          return MedicinalProductDefinition40_50.convertMedicinalProductDefinition((org.hl7.fhir.r5.model.MedicinalProductDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.MessageDefinition)
-            return MessageDefinition40_50.convertMessageDefinition((org.hl7.fhir.r5.model.MessageDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.MessageHeader)
-            return MessageHeader40_50.convertMessageHeader((org.hl7.fhir.r5.model.MessageHeader) src);
-        if (src instanceof org.hl7.fhir.r5.model.MolecularSequence)
-            return MolecularSequence40_50.convertMolecularSequence((org.hl7.fhir.r5.model.MolecularSequence) src);
-        if (src instanceof org.hl7.fhir.r5.model.NamingSystem)
-            return NamingSystem40_50.convertNamingSystem((org.hl7.fhir.r5.model.NamingSystem) src);
-        if (src instanceof org.hl7.fhir.r5.model.NutritionOrder)
-            return NutritionOrder40_50.convertNutritionOrder((org.hl7.fhir.r5.model.NutritionOrder) src);
-        if (src instanceof org.hl7.fhir.r5.model.Observation)
-            return Observation40_50.convertObservation((org.hl7.fhir.r5.model.Observation) src);
-        if (src instanceof org.hl7.fhir.r5.model.ObservationDefinition)
-            return ObservationDefinition40_50.convertObservationDefinition((org.hl7.fhir.r5.model.ObservationDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationDefinition)
-            return OperationDefinition40_50.convertOperationDefinition((org.hl7.fhir.r5.model.OperationDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.OperationOutcome)
-            return OperationOutcome40_50.convertOperationOutcome((org.hl7.fhir.r5.model.OperationOutcome) src);
-        if (src instanceof org.hl7.fhir.r5.model.Organization)
-            return Organization40_50.convertOrganization((org.hl7.fhir.r5.model.Organization) src);
-        if (src instanceof org.hl7.fhir.r5.model.OrganizationAffiliation)
-            return OrganizationAffiliation40_50.convertOrganizationAffiliation((org.hl7.fhir.r5.model.OrganizationAffiliation) src);
-        if (src instanceof org.hl7.fhir.r5.model.Patient)
-            return Patient40_50.convertPatient((org.hl7.fhir.r5.model.Patient) src);
-        if (src instanceof org.hl7.fhir.r5.model.PaymentNotice)
-            return PaymentNotice40_50.convertPaymentNotice((org.hl7.fhir.r5.model.PaymentNotice) src);
-        if (src instanceof org.hl7.fhir.r5.model.PaymentReconciliation)
-            return PaymentReconciliation40_50.convertPaymentReconciliation((org.hl7.fhir.r5.model.PaymentReconciliation) src);
-        if (src instanceof org.hl7.fhir.r5.model.Person)
-            return Person40_50.convertPerson((org.hl7.fhir.r5.model.Person) src);
-        if (src instanceof org.hl7.fhir.r5.model.PlanDefinition)
-            return PlanDefinition40_50.convertPlanDefinition((org.hl7.fhir.r5.model.PlanDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.Practitioner)
-            return Practitioner40_50.convertPractitioner((org.hl7.fhir.r5.model.Practitioner) src);
-        if (src instanceof org.hl7.fhir.r5.model.PractitionerRole)
-            return PractitionerRole40_50.convertPractitionerRole((org.hl7.fhir.r5.model.PractitionerRole) src);
-        if (src instanceof org.hl7.fhir.r5.model.Procedure)
-            return Procedure40_50.convertProcedure((org.hl7.fhir.r5.model.Procedure) src);
-        if (src instanceof org.hl7.fhir.r5.model.Provenance)
-            return Provenance40_50.convertProvenance((org.hl7.fhir.r5.model.Provenance) src);
-        if (src instanceof org.hl7.fhir.r5.model.Questionnaire)
-            return Questionnaire40_50.convertQuestionnaire((org.hl7.fhir.r5.model.Questionnaire) src);
-        if (src instanceof org.hl7.fhir.r5.model.QuestionnaireResponse)
-            return QuestionnaireResponse40_50.convertQuestionnaireResponse((org.hl7.fhir.r5.model.QuestionnaireResponse) src);
-        if (src instanceof org.hl7.fhir.r5.model.RelatedPerson)
-            return RelatedPerson40_50.convertRelatedPerson((org.hl7.fhir.r5.model.RelatedPerson) src);
-        if (src instanceof org.hl7.fhir.r5.model.RequestGroup)
-            return RequestGroup40_50.convertRequestGroup((org.hl7.fhir.r5.model.RequestGroup) src);
-        if (src instanceof org.hl7.fhir.r5.model.ResearchStudy)
-            return ResearchStudy40_50.convertResearchStudy((org.hl7.fhir.r5.model.ResearchStudy) src);
-        if (src instanceof org.hl7.fhir.r5.model.ResearchSubject)
-            return ResearchSubject40_50.convertResearchSubject((org.hl7.fhir.r5.model.ResearchSubject) src);
-        if (src instanceof org.hl7.fhir.r5.model.RiskAssessment)
-            return RiskAssessment40_50.convertRiskAssessment((org.hl7.fhir.r5.model.RiskAssessment) src);
-        if (src instanceof org.hl7.fhir.r5.model.Schedule)
-            return Schedule40_50.convertSchedule((org.hl7.fhir.r5.model.Schedule) src);
-        if (src instanceof org.hl7.fhir.r5.model.SearchParameter)
-            return SearchParameter40_50.convertSearchParameter((org.hl7.fhir.r5.model.SearchParameter) src);
-        if (src instanceof org.hl7.fhir.r5.model.ServiceRequest)
-            return ServiceRequest40_50.convertServiceRequest((org.hl7.fhir.r5.model.ServiceRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.Slot)
-            return Slot40_50.convertSlot((org.hl7.fhir.r5.model.Slot) src);
-        if (src instanceof org.hl7.fhir.r5.model.Specimen)
-            return Specimen40_50.convertSpecimen((org.hl7.fhir.r5.model.Specimen) src);
-        if (src instanceof org.hl7.fhir.r5.model.SpecimenDefinition)
-            return SpecimenDefinition40_50.convertSpecimenDefinition((org.hl7.fhir.r5.model.SpecimenDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.StructureDefinition)
-            return StructureDefinition40_50.convertStructureDefinition((org.hl7.fhir.r5.model.StructureDefinition) src);
-        if (src instanceof org.hl7.fhir.r5.model.StructureMap)
-            return StructureMap40_50.convertStructureMap((org.hl7.fhir.r5.model.StructureMap) src);
-        // if (src instanceof org.hl7.fhir.r5.model.Subscription)
-        // return Subscription.convertSubscription((org.hl7.fhir.r5.model.Subscription) src);
-        if (src instanceof org.hl7.fhir.r5.model.Substance)
-            return Substance40_50.convertSubstance((org.hl7.fhir.r5.model.Substance) src);
-        if (src instanceof org.hl7.fhir.r5.model.SubstanceNucleicAcid)
-            return SubstanceNucleicAcid40_50.convertSubstanceNucleicAcid((org.hl7.fhir.r5.model.SubstanceNucleicAcid) src);
-        if (src instanceof org.hl7.fhir.r5.model.SubstancePolymer)
-            return SubstancePolymer40_50.convertSubstancePolymer((org.hl7.fhir.r5.model.SubstancePolymer) src);
-        if (src instanceof org.hl7.fhir.r5.model.SubstanceProtein)
-            return SubstanceProtein40_50.convertSubstanceProtein((org.hl7.fhir.r5.model.SubstanceProtein) src);
-        if (src instanceof org.hl7.fhir.r5.model.SubstanceReferenceInformation)
-            return SubstanceReferenceInformation40_50.convertSubstanceReferenceInformation((org.hl7.fhir.r5.model.SubstanceReferenceInformation) src);
-        if (src instanceof org.hl7.fhir.r5.model.SubstanceSourceMaterial)
-            return SubstanceSourceMaterial40_50.convertSubstanceSourceMaterial((org.hl7.fhir.r5.model.SubstanceSourceMaterial) src);
-        if (src instanceof org.hl7.fhir.r5.model.SupplyDelivery)
-            return SupplyDelivery40_50.convertSupplyDelivery((org.hl7.fhir.r5.model.SupplyDelivery) src);
-        if (src instanceof org.hl7.fhir.r5.model.SupplyRequest)
-            return SupplyRequest40_50.convertSupplyRequest((org.hl7.fhir.r5.model.SupplyRequest) src);
-        if (src instanceof org.hl7.fhir.r5.model.Task)
-            return Task40_50.convertTask((org.hl7.fhir.r5.model.Task) src);
-        if (src instanceof org.hl7.fhir.r5.model.TerminologyCapabilities)
-            return TerminologyCapabilities40_50.convertTerminologyCapabilities((org.hl7.fhir.r5.model.TerminologyCapabilities) src);
-        if (src instanceof org.hl7.fhir.r5.model.TestReport)
-            return TestReport40_50.convertTestReport((org.hl7.fhir.r5.model.TestReport) src);
-        if (src instanceof org.hl7.fhir.r5.model.TestScript)
-            return TestScript40_50.convertTestScript((org.hl7.fhir.r5.model.TestScript) src);
-        if (src instanceof org.hl7.fhir.r5.model.ValueSet)
-            return ValueSet40_50.convertValueSet((org.hl7.fhir.r5.model.ValueSet) src);
-        if (src instanceof org.hl7.fhir.r5.model.VerificationResult)
-            return VerificationResult40_50.convertVerificationResult((org.hl7.fhir.r5.model.VerificationResult) src);
-        if (src instanceof org.hl7.fhir.r5.model.VisionPrescription)
-            return VisionPrescription40_50.convertVisionPrescription((org.hl7.fhir.r5.model.VisionPrescription) src);
+        ResourceConverterRegistry.ResourceConverter<org.hl7.fhir.r5.model.Resource, ? extends org.hl7.fhir.r4.model.Resource, Void> converter = RESOURCES_50_TO_40.getConverter(src);
+        if (converter != null)
+            return converter.convert(src, null);
         throw new FHIRException("Unknown resource " + src.fhirType());
     }
 
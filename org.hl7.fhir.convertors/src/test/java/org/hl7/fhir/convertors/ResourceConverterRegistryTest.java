@@ -0,0 +1,40 @@
+package org.hl7.fhir.convertors;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ResourceConverterRegistryTest {
+
+  public static class TestPatient extends org.hl7.fhir.r4.model.Patient {
+    private static final long serialVersionUID = 1L;
+  }
+
+  @Test
+  @DisplayName("Test 40_50 resource conversion finds the converter by class.")
+  public void testConvertResource() {
+    org.hl7.fhir.r4.model.Patient src = new org.hl7.fhir.r4.model.Patient();
+    src.setId("p1");
+    Assertions.assertTrue(VersionConvertor_40_50.convertResource(src) instanceof org.hl7.fhir.r5.model.Patient);
+    // subclasses are converted by the converter for the nearest registered superclass
+    Assertions.assertTrue(VersionConvertor_40_50.convertResource(new TestPatient()) instanceof org.hl7.fhir.r5.model.Patient);
+    Assertions.assertTrue(VersionConvertor_40_50.convertResource(new org.hl7.fhir.r5.model.ListResource()) instanceof org.hl7.fhir.r4.model.ListResource);
+    Assertions.assertNull(VersionConvertor_30_40.convertResource(new org.hl7.fhir.r4.model.ChargeItemDefinition(), true));
+    Assertions.assertThrows(FHIRException.class, () -> VersionConvertor_30_40.convertResource(new org.hl7.fhir.r4.model.ChargeItemDefinition(), false));
+  }
+
+  @Test
+  @DisplayName("Test registering an extra resource converter.")
+  public void testRegister() {
+    ResourceConverterRegistry<org.hl7.fhir.r4.model.Resource, org.hl7.fhir.r5.model.Resource, Void> registry = new ResourceConverterRegistry<>();
+    Assertions.assertFalse(registry.canConvert(new TestPatient()));
+    registry.register(org.hl7.fhir.r4.model.Patient.class, (src, context) -> new org.hl7.fhir.r5.model.Patient().setActive(true));
+    Assertions.assertTrue(registry.canConvert(new TestPatient()));
+    Assertions.assertFalse(registry.canConvert(new org.hl7.fhir.r4.model.Basic()));
+    // a converter for the class itself takes precedence over the one for its superclass
+    registry.register(TestPatient.class, (src, context) -> new org.hl7.fhir.r5.model.Patient().setActive(false));
+    org.hl7.fhir.r5.model.Patient tgt = (org.hl7.fhir.r5.model.Patient) registry.getConverter(new TestPatient()).convert(new TestPatient(), null);
+    Assertions.assertFalse(tgt.getActive());
+  }
+}
@@ -160,8 +160,10 @@ public class JsonParser extends JsonParserBase {
     String t = json.get("resourceType").getAsString();
     if (Utilities.noString(t)) {
       throw new FHIRFormatError("Unable to find resource type - maybe not a FHIR resource?");
+    }
+    switch (t) {
 {{parse-resource}}
-    } else {
+    default:
       throw new FHIRFormatError("Unknown.Unrecognised resource type '"+t+"' (in property 'resourceType')");
     }
   }
@@ -738,17 +740,23 @@ public class JsonParser extends JsonParserBase {
   protected void composeResource(Resource resource) throws IOException {
     if (resource == null) {
       throw new Error("Unhandled resource type "+resource.getClass().getName());
+    }
+    switch (resource.getResourceType()) {
 {{compose-resource}} 
-    } else
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
+    }
   }
 
   protected void composeNamedReference(String name, Resource resource) throws IOException {
     if (resource == null) {
       throw new Error("Unhandled resource type "+resource.getClass().getName());
+    }
+    switch (resource.getResourceType()) {
 {{compose-resource-named}} 
-    } else
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
+    }
   }
 
   protected void composeType(String prefix, DataType type) throws IOException {
@@ -205,8 +205,10 @@ public class RdfParser extends RdfParserBase {
       throw new Error("parent == null");
     } else if (resource == null) {
       throw new Error("resource == null");
+    }
+    switch (resource.getResourceType()) {
 {{compose-resource}}      
-    } else {
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
     }
   }
@@ -352,8 +352,10 @@ public class XmlParser extends XmlParserBase {
   protected Resource parseResource(XmlPullParser xpp) throws XmlPullParserException, IOException, FHIRFormatError {
     if (xpp == null) {
       throw new IOException("xpp == null!");
+    }
+    switch (xpp.getName()) {
 {{parse-resource}}
-    } else {
+    default:
       throw new FHIRFormatError("Unknown resource type "+xpp.getName()+"");
     }
   }
@@ -849,8 +851,10 @@ public class XmlParser extends XmlParserBase {
   protected void composeResource(Resource resource) throws IOException {
     if (resource == null) {
       throw new IOException("resource == null");
+    }
+    switch (resource.getResourceType()) {
 {{compose-resource}}      
-    } else {
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
     }
   }
@@ -860,8 +864,10 @@ public class XmlParser extends XmlParserBase {
       throw new IOException("name == null");
     } else if (resource == null) {
       throw new IOException("resource == null");
+    }
+    switch (resource.getResourceType()) {
 {{compose-resource-name}}      
-    } else {
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
     }
   }
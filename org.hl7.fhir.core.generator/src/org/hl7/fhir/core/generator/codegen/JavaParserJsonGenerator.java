@@ -83,9 +83,9 @@ public class JavaParserJsonGenerator extends JavaBaseGenerator {
       }
       pregn.append("    if (json.has(prefix+\""+analysis.getName()+"\")) {\r\n      return true;\r\n    };\r\n");
       if (analysis.getStructure().getKind() == StructureDefinitionKind.RESOURCE) {
-        pregf.append("    } else if (t.equals(\""+analysis.getName()+"\")) {\r\n      return parse"+analysis.getClassName()+"(json);\r\n");
-        creg.append("    } else if (resource instanceof "+analysis.getClassName()+") {\r\n      compose"+analysis.getClassName()+"(\""+analysis.getName()+"\", ("+analysis.getClassName()+")resource);\r\n");
-        cregn.append("    } else if (resource instanceof "+analysis.getClassName()+") {\r\n      compose"+analysis.getClassName()+"(name, ("+analysis.getClassName()+")resource);\r\n");
+        pregf.append("    case \""+analysis.getName()+"\": return parse"+analysis.getClassName()+"(json);\r\n");
+        creg.append("    case "+analysis.getName()+":\r\n      compose"+analysis.getClassName()+"(\""+analysis.getName()+"\", ("+analysis.getClassName()+")resource);\r\n      break;\r\n");
+        cregn.append("    case "+analysis.getName()+":\r\n      compose"+analysis.getClassName()+"(name, ("+analysis.getClassName()+")resource);\r\n      break;\r\n");
       }
     }
   }
@@ -78,9 +78,9 @@ public class JavaParserXmlGenerator extends JavaBaseGenerator {
         cType.append( "    } else if (type instanceof "+analysis.getClassName()+") {\r\n       compose"+analysis.getClassName()+"(prefix+\""+analysis.getName()+"\", ("+analysis.getClassName()+") type);\r\n");
       }
       if (analysis.getStructure().getKind() == StructureDefinitionKind.RESOURCE) {
-        pRes.append("    } else if (xpp.getName().equals(\""+analysis.getName()+"\")) {\r\n      return parse"+analysis.getClassName()+"(xpp);\r\n");
-        cRes.append("    } else if (resource instanceof "+analysis.getClassName()+") {\r\n      compose"+analysis.getClassName()+"(\""+analysis.getName()+"\", ("+analysis.getClassName()+")resource);\r\n");
-        cRN.append( "    } else if (resource instanceof "+analysis.getClassName()+") {\r\n      compose"+analysis.getClassName()+"(name, ("+analysis.getClassName()+")resource);\r\n");
+        pRes.append("    case \""+analysis.getName()+"\": return parse"+analysis.getClassName()+"(xpp);\r\n");
+        cRes.append("    case "+analysis.getName()+":\r\n      compose"+analysis.getClassName()+"(\""+analysis.getName()+"\", ("+analysis.getClassName()+")resource);\r\n      break;\r\n");
+        cRN.append( "    case "+analysis.getName()+":\r\n      compose"+analysis.getClassName()+"(name, ("+analysis.getClassName()+")resource);\r\n      break;\r\n");
       }
     }
   }
@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.commons.lang3.StringUtils;
 import org.fhir.ucum.UcumService;
@@ -51,6 +52,7 @@ import org.hl7.fhir.exceptions.DefinitionException;
 import org.hl7.fhir.exceptions.FHIRException;
 import org.hl7.fhir.exceptions.TerminologyServiceException;
 import org.hl7.fhir.r5.conformance.ProfileUtilities;
+import org.hl7.fhir.r5.elementmodel.PropertyCache;
 import org.hl7.fhir.r5.context.CanonicalResourceManager.CanonicalResourceProxy;
 import org.hl7.fhir.r5.context.IWorkerContext.ILoggingService.LogCategory;
 import org.hl7.fhir.r5.context.TerminologyCache.CacheToken;
@@ -101,6 +103,8 @@ import org.hl7.fhir.r5.model.Bundle.HTTPVerb;
 import org.hl7.fhir.r5.model.ValueSet.ConceptSetComponent;
 import org.hl7.fhir.r5.model.ValueSet.ValueSetComposeComponent;
 import org.hl7.fhir.r5.renderers.OperationOutcomeRenderer;
+import org.hl7.fhir.r5.terminologies.CodeSystemIndex;
+import org.hl7.fhir.r5.terminologies.ConceptMapIndex;
 import org.hl7.fhir.r5.terminologies.CodeSystemUtilities;
 import org.hl7.fhir.r5.terminologies.TerminologyClient;
 import org.hl7.fhir.r5.terminologies.ValueSetCheckerSimple;
@@ -109,6 +113,7 @@ import org.hl7.fhir.r5.terminologies.ValueSetExpander.ValueSetExpansionOutcome;
 import org.hl7.fhir.r5.terminologies.ValueSetExpanderSimple;
 import org.hl7.fhir.r5.utils.ToolingExtensions;
 import org.hl7.fhir.utilities.OIDUtils;
+import org.hl7.fhir.utilities.LatencyHistogram;
 import org.hl7.fhir.utilities.TimeTracker;
 import org.hl7.fhir.utilities.ToolingClientLogger;
 import org.hl7.fhir.utilities.TranslationServices;
@@ -157,7 +162,10 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     }
   }
 
-  private Object lock = new Object(); // used as a lock for the data that follows
+  private Object lock = new Object(); // used as a lock for the terminology data that follows (shared with the terminology cache)
+  // the resources are read by many threads (validators sharing the context) but rarely written after loading, so 
+  // they have their own read/write lock: lookups don't block each other, and loading or dropping resources is still safe  
+  private ReentrantReadWriteLock resourceLock = new ReentrantReadWriteLock(); 
   protected String version;
   private String cacheId;
   private boolean isTxCaching;
@@ -166,8 +174,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   private Map<String, Map<String, Resource>> allResourcesById = new HashMap<String, Map<String, Resource>>();
   // all maps are to the full URI
   private CanonicalResourceManager<CodeSystem> codeSystems = new CanonicalResourceManager<CodeSystem>(false);
-  private Set<String> supportedCodeSystems = new HashSet<String>();
-  private Set<String> unsupportedCodeSystems = new HashSet<String>(); // know that the terminology server doesn't support them
+  private Set<String> supportedCodeSystems = Collections.synchronizedSet(new HashSet<String>());
+  private Set<String> unsupportedCodeSystems = Collections.synchronizedSet(new HashSet<String>()); // know that the terminology server doesn't support them
   private CanonicalResourceManager<ValueSet> valueSets = new CanonicalResourceManager<ValueSet>(false);
   private CanonicalResourceManager<ConceptMap> maps = new CanonicalResourceManager<ConceptMap>(false);
   protected CanonicalResourceManager<StructureMap> transforms = new CanonicalResourceManager<StructureMap>(false);
@@ -181,10 +189,17 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   private CanonicalResourceManager<OperationDefinition> operations = new CanonicalResourceManager<OperationDefinition>(false);
   private CanonicalResourceManager<PlanDefinition> plans = new CanonicalResourceManager<PlanDefinition>(false);
   private CanonicalResourceManager<NamingSystem> systems = new CanonicalResourceManager<NamingSystem>(false);
+  // one index across all the managers, so that fetching a resource of any type is a single lookup
+  private CanonicalResourceIndex canonicalIndex = new CanonicalResourceIndex();
+  // the order in which the managers are consulted when the type isn't known
+  private List<CanonicalResourceManager<?>> canonicalSearchOrder = new ArrayList<>();
+  // the canonical resources in allResourcesById, including the types that don't have a manager
+  private Map<String, CanonicalResource> allCanonicalsByUrl = new HashMap<>();
   
   private UcumService ucumService;
+  private PropertyCache propertyCache = new PropertyCache(this);
   protected Map<String, byte[]> binaries = new HashMap<String, byte[]>();
-  protected Map<String, String> oidCache = new HashMap<>();
+  protected Map<String, String> oidCache = Collections.synchronizedMap(new HashMap<>()); // read under the read lock, so needs its own synchronization
 
   protected Map<String, Map<String, ValidationResult>> validationCache = new HashMap<String, Map<String,ValidationResult>>();
   protected String tsServer;
@@ -202,18 +217,21 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   private TranslationServices translator = new NullTranslator();
   protected TerminologyCache txCache;
   protected TimeTracker clock;
+  private LatencyHistogram txServerTimes = new LatencyHistogram();
   private boolean tlogging = true;
   
   public BaseWorkerContext() throws FileNotFoundException, IOException, FHIRException {
     txCache = new TerminologyCache(lock, null);
     setValidationMessageLanguage(getLocale());
     clock = new TimeTracker();
+    linkCanonicalIndex();
   }
 
   public BaseWorkerContext(Locale locale) throws FileNotFoundException, IOException, FHIRException {
     txCache = new TerminologyCache(lock, null);
     setValidationMessageLanguage(locale);
     clock = new TimeTracker();
+    linkCanonicalIndex();
   }
 
   public BaseWorkerContext(CanonicalResourceManager<CodeSystem> codeSystems, CanonicalResourceManager<ValueSet> valueSets, CanonicalResourceManager<ConceptMap> maps, CanonicalResourceManager<StructureDefinition> profiles,
@@ -225,11 +243,39 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     this.structures = profiles;
     this.guides = guides;
     clock = new TimeTracker();
+    linkCanonicalIndex();
+  }
+
+  /**
+   * note that a manager can only be in one index, so managers that are passed in are taken over by this context's index
+   */
+  private void linkCanonicalIndex() {
+    canonicalSearchOrder.clear();
+    canonicalSearchOrder.add(structures);
+    canonicalSearchOrder.add(guides);
+    canonicalSearchOrder.add(capstmts);
+    canonicalSearchOrder.add(measures);
+    canonicalSearchOrder.add(libraries);
+    canonicalSearchOrder.add(valueSets);
+    canonicalSearchOrder.add(codeSystems);
+    canonicalSearchOrder.add(operations);
+    canonicalSearchOrder.add(searchParameters);
+    canonicalSearchOrder.add(plans);
+    canonicalSearchOrder.add(maps);
+    canonicalSearchOrder.add(transforms);
+    canonicalSearchOrder.add(questionnaires);
+    for (CanonicalResourceManager<?> crm : canonicalSearchOrder) {
+      crm.setIndex(canonicalIndex);
+    }
+    systems.setIndex(canonicalIndex);
   }
 
   protected void copy(BaseWorkerContext other) {
-    synchronized (other.lock) { // tricky, because you need to lock this as well, but it's really not in use yet 
+    other.resourceLock.readLock().lock();
+    resourceLock.writeLock().lock();
+    try { 
       allResourcesById.putAll(other.allResourcesById);
+      allCanonicalsByUrl.putAll(other.allCanonicalsByUrl);
       translator = other.translator;
       codeSystems.copy(other.codeSystems);
       txcaps = other.txcaps;
@@ -260,6 +306,9 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
       expandCodesLimit = other.expandCodesLimit;
       logger = other.logger;
       expParameters = other.expParameters;
+    } finally {
+      resourceLock.writeLock().unlock();
+      other.resourceLock.readLock().unlock();
     }
   }
   
@@ -273,7 +322,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   
 
   public void registerResourceFromPackage(CanonicalResourceProxy r, PackageVersion packageInfo) throws FHIRException {
-    synchronized (lock) {
+    resourceLock.writeLock().lock();
+    try {
 
         String url = r.getUrl();
         if (!allowLoadingDuplicates && hasResource(r.getType(), url)) {
@@ -290,6 +340,7 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
               fixOldSD(sd);
             }
             structures.register(r, packageInfo);
+            propertyCache.clear();
             break;
           case "ValueSet":
             valueSets.register(r, packageInfo);
@@ -331,17 +382,31 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
             systems.register(r, packageInfo);
             break;
         }
+    } finally {
+      resourceLock.writeLock().unlock();
     }
   }
 
   public void cacheResourceFromPackage(Resource r, PackageVersion packageInfo) throws FHIRException {
-    synchronized (lock) {
+    resourceLock.writeLock().lock();
+    try {
       Map<String, Resource> map = allResourcesById.get(r.fhirType());
       if (map == null) {
         map = new HashMap<String, Resource>();
         allResourcesById.put(r.fhirType(), map);
       }
-      map.put(r.getId(), r);
+      Resource existing = map.put(r.getId(), r);
+      if (existing != null) {
+        unindexCanonical(existing);
+        if (existing instanceof CodeSystem) {
+          CodeSystemIndex.clear((CodeSystem) existing);
+        } else if (existing instanceof ConceptMap) {
+          ConceptMapIndex.clear((ConceptMap) existing);
+        }
+      }
+      if (r instanceof CanonicalResource && ((CanonicalResource) r).hasUrl()) {
+        allCanonicalsByUrl.put(((CanonicalResource) r).getUrl(), (CanonicalResource) r);
+      }
 
       if (r instanceof CodeSystem || r instanceof NamingSystem) {
         oidCache.clear();
@@ -363,10 +428,12 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
             fixOldSD(sd);
           }
           structures.see(sd, packageInfo);
+          propertyCache.clear();
         } else if (r instanceof ValueSet) {
           valueSets.see((ValueSet) m, packageInfo);
         } else if (r instanceof CodeSystem) {
           CodeSystemUtilities.crossLinkCodeSystem((CodeSystem) r);
+          CodeSystemIndex.clear((CodeSystem) r); // in case it was changed since it was last indexed
           codeSystems.see((CodeSystem) m, packageInfo);
         } else if (r instanceof ImplementationGuide) {
           guides.see((ImplementationGuide) m, packageInfo);
@@ -385,6 +452,7 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
         } else if (r instanceof Questionnaire) {
           questionnaires.see((Questionnaire) m, packageInfo);
         } else if (r instanceof ConceptMap) {
+          ConceptMapIndex.clear((ConceptMap) r); // in case it was changed since it was last indexed
           maps.see((ConceptMap) m, packageInfo);
         } else if (r instanceof StructureMap) {
           transforms.see((StructureMap) m, packageInfo);
@@ -392,6 +460,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
           systems.see((NamingSystem) m, packageInfo);
         }
       }
+    } finally {
+      resourceLock.writeLock().unlock();
     }
   }
 
@@ -496,46 +566,54 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
 
   @Override
   public CodeSystem fetchCodeSystem(String system) {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       return codeSystems.get(system);
+    } finally {
+      resourceLock.readLock().unlock();
     }
   } 
 
   @Override
   public boolean supportsSystem(String system) throws TerminologyServiceException {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       if (codeSystems.has(system) && codeSystems.get(system).getContent() != CodeSystemContentMode.NOTPRESENT) {
         return true;
-      } else if (supportedCodeSystems.contains(system)) {
-        return true;
-      } else if (system.startsWith("http://example.org") || system.startsWith("http://acme.com") || system.startsWith("http://hl7.org/fhir/valueset-") || system.startsWith("urn:oid:")) {
+      }
+    } finally {
+      resourceLock.readLock().unlock();
+    }
+    if (supportedCodeSystems.contains(system)) {
+      return true;
+    } else if (system.startsWith("http://example.org") || system.startsWith("http://acme.com") || system.startsWith("http://hl7.org/fhir/valueset-") || system.startsWith("urn:oid:")) {
+      return false;
+    }
+    synchronized (lock) {
+      if (noTerminologyServer) {
         return false;
-      } else {
-        if (noTerminologyServer) {
-          return false;
-        }
-        if (txcaps == null) {
-          try {
-            log("Terminology server: Check for supported code systems for "+system);
-            setTxCaps(txClient.getTerminologyCapabilities());
-          } catch (Exception e) {
-            if (canRunWithoutTerminology) {
-              noTerminologyServer = true;
-              log("==============!! Running without terminology server !! ==============");
-              if (txClient!=null) {
-                log("txServer = "+txClient.getAddress());
-                log("Error = "+e.getMessage()+"");
-              }
-              log("=====================================================================");
-              return false;
-            } else {
-              e.printStackTrace();
-              throw new TerminologyServiceException(e);
+      }
+      if (txcaps == null) {
+        try {
+          log("Terminology server: Check for supported code systems for "+system);
+          setTxCaps(txClient.getTerminologyCapabilities());
+        } catch (Exception e) {
+          if (canRunWithoutTerminology) {
+            noTerminologyServer = true;
+            log("==============!! Running without terminology server !! ==============");
+            if (txClient!=null) {
+              log("txServer = "+txClient.getAddress());
+              log("Error = "+e.getMessage()+"");
             }
+            log("=====================================================================");
+            return false;
+          } else {
+            e.printStackTrace();
+            throw new TerminologyServiceException(e);
           }
-          if (supportedCodeSystems.contains(system)) {
-            return true;
-          }
+        }
+        if (supportedCodeSystems.contains(system)) {
+          return true;
         }
       }
       return false;
@@ -609,7 +687,7 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     params.put("_incomplete", "true");
     tlog("$expand on "+txCache.summary(vs));
     try {
-      ValueSet result = txClient.expandValueset(vs, p, params);
+      ValueSet result = expandOnServer(vs, p, params);
       res = new ValueSetExpansionOutcome(result).setTxLink(txLog.getLastId());  
     } catch (Exception e) {
       res = new ValueSetExpansionOutcome(e.getMessage() == null ? e.getClass().getName() : e.getMessage(), TerminologyServiceErrorClass.UNKNOWN);
@@ -683,7 +761,7 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     params.put("_incomplete", "true");
     tlog("$expand on "+txCache.summary(vs));
     try {
-      ValueSet result = txClient.expandValueset(vs, p, params);
+      ValueSet result = expandOnServer(vs, p, params);
       if (!result.hasUrl()) {
         result.setUrl(vs.getUrl());
       }
@@ -801,7 +879,13 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
       if (txLog != null) {
         txLog.clearLastId();
       }
-      Bundle resp = txClient.validateBatch(batch);
+      long start = System.nanoTime();
+      Bundle resp;
+      try {
+        resp = txClient.validateBatch(batch);
+      } finally {
+        txServerTimes.recordSince(start);
+      }
       for (int i = 0; i < batch.getEntry().size(); i++) {
         CodingValidationRequest t = (CodingValidationRequest) batch.getEntry().get(i).getUserData("source");
         BundleEntryComponent r = resp.getEntry().get(i);
@@ -963,14 +1047,28 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
       throw new FHIRException(formatMessage(I18nConstants.ATTEMPT_TO_USE_TERMINOLOGY_SERVER_WHEN_NO_TERMINOLOGY_SERVER_IS_AVAILABLE));
     }
     Parameters pOut;
-    if (vs == null) {
-      pOut = txClient.validateCS(pin);
-    } else {
-      pOut = txClient.validateVS(pin);
+    long t = System.nanoTime();
+    try {
+      if (vs == null) {
+        pOut = txClient.validateCS(pin);
+      } else {
+        pOut = txClient.validateVS(pin);
+      }
+    } finally {
+      txServerTimes.recordSince(t);
     }
     return processValidationResult(pOut);
   }
 
+  private ValueSet expandOnServer(ValueSet vs, Parameters p, Map<String, String> params) throws FHIRException {
+    long t = System.nanoTime();
+    try {
+      return txClient.expandValueset(vs, p, params);
+    } finally {
+      txServerTimes.recordSince(t);
+    }
+  }
+
   private void addDependentResources(Parameters pin, ValueSet vs) {
     for (ConceptSetComponent inc : vs.getCompose().getInclude()) {
       addDependentResources(pin, inc);
@@ -1044,6 +1142,9 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     if (!new File(cachePath).exists()) {
       Utilities.createDirectory(cachePath);
     }
+    if (txCache != null) {
+      txCache.close(); // write anything pending, and stop background flushing, before the cache is replaced
+    }
     txCache = new TerminologyCache(lock, cachePath);
   }
 
@@ -1054,7 +1155,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   
   @Override
   public List<ConceptMap> findMapsForSource(String url) throws FHIRException {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       List<ConceptMap> res = new ArrayList<ConceptMap>();
       for (ConceptMap map : maps.getList()) {
         if (((Reference) map.getSource()).getReference().equals(url)) { 
@@ -1062,6 +1164,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
         } 
       } 
       return res;
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
 
@@ -1131,7 +1235,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     if (class_ == StructureDefinition.class) {
       uri = ProfileUtilities.sdNs(uri, getOverrideVersionNs());
     }
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
 
       String version = null;
       if (uri.contains("|")) {
@@ -1142,56 +1247,11 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
         uri = uri.substring(0, uri.indexOf("#"));
       } 
       if (class_ == Resource.class || class_ == null) {
-        if (structures.has(uri)) {
-          return (T) structures.get(uri, version);
-        } 
-        if (guides.has(uri)) {
-          return (T) guides.get(uri, version);
-        } 
-        if (capstmts.has(uri)) {
-          return (T) capstmts.get(uri, version);
-        } 
-        if (measures.has(uri)) {
-          return (T) measures.get(uri, version);
-        } 
-        if (libraries.has(uri)) {
-          return (T) libraries.get(uri, version);
-        } 
-        if (valueSets.has(uri)) {
-          return (T) valueSets.get(uri, version);
-        } 
-        if (codeSystems.has(uri)) {
-          return (T) codeSystems.get(uri, version);
-        } 
-        if (operations.has(uri)) {
-          return (T) operations.get(uri, version);
-        } 
-        if (searchParameters.has(uri)) {
-          return (T) searchParameters.get(uri, version);
-        } 
-        if (plans.has(uri)) {
-          return (T) plans.get(uri, version);
-        } 
-        if (maps.has(uri)) {
-          return (T) maps.get(uri, version);
-        } 
-        if (transforms.has(uri)) {
-          return (T) transforms.get(uri, version);
-        } 
-        if (questionnaires.has(uri)) {
-          return (T) questionnaires.get(uri, version);
-        } 
-        for (Map<String, Resource> rt : allResourcesById.values()) {
-          for (Resource r : rt.values()) {
-            if (r instanceof CanonicalResource) {
-              CanonicalResource mr = (CanonicalResource) r;
-              if (uri.equals(mr.getUrl())) {
-                return (T) mr;
-              } 
-            }
-          }            
+        CanonicalResourceManager<?> crm = findCanonicalManager(uri);
+        if (crm != null) {
+          return (T) crm.get(uri, version);
         }
-        return null;      
+        return (T) allCanonicalsByUrl.get(uri);
       } else if (class_ == ImplementationGuide.class) {
         return (T) guides.get(uri, version);
       } else if (class_ == CapabilityStatement.class) {
@@ -1249,6 +1309,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
         return null;
       } 
       throw new FHIRException(formatMessage(I18nConstants.NOT_DONE_YET_CANT_FETCH_, uri));
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
 
@@ -1261,7 +1323,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     if ("StructureDefinition".equals(cls)) {
       uri = ProfileUtilities.sdNs(uri, getOverrideVersionNs());
     }
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
 
       String version = null;
       if (uri.contains("|")) {
@@ -1272,54 +1335,12 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
         uri = uri.substring(0, uri.indexOf("#"));
       } 
       if (cls == null || "Resource".equals(cls)) {
-        if (structures.has(uri)) {
-          return (T) structures.get(uri, version);
-        } 
-        if (guides.has(uri)) {
-          return (T) guides.get(uri, version);
-        } 
-        if (capstmts.has(uri)) {
-          return (T) capstmts.get(uri, version);
-        } 
-        if (measures.has(uri)) {
-          return (T) measures.get(uri, version);
-        } 
-        if (libraries.has(uri)) {
-          return (T) libraries.get(uri, version);
-        } 
-        if (valueSets.has(uri)) {
-          return (T) valueSets.get(uri, version);
-        } 
-        if (codeSystems.has(uri)) {
-          return (T) codeSystems.get(uri, version);
-        } 
-        if (operations.has(uri)) {
-          return (T) operations.get(uri, version);
-        } 
-        if (searchParameters.has(uri)) {
-          return (T) searchParameters.get(uri, version);
-        } 
-        if (plans.has(uri)) {
-          return (T) plans.get(uri, version);
-        } 
-        if (maps.has(uri)) {
-          return (T) maps.get(uri, version);
-        } 
-        if (transforms.has(uri)) {
-          return (T) transforms.get(uri, version);
-        } 
-        if (questionnaires.has(uri)) {
-          return (T) questionnaires.get(uri, version);
-        } 
-        for (Map<String, Resource> rt : allResourcesById.values()) {
-          for (Resource r : rt.values()) {
-            if (r instanceof CanonicalResource) {
-              CanonicalResource mr = (CanonicalResource) r;
-              if (uri.equals(mr.getUrl())) {
-                return (T) mr;
-              } 
-            }
-          }            
+        CanonicalResourceManager<?> crm = findCanonicalManager(uri);
+        if (crm != null) {
+          return (T) crm.get(uri, version);
+        }
+        if (allCanonicalsByUrl.containsKey(uri)) {
+          return (T) allCanonicalsByUrl.get(uri);
         }
       } else if ("ImplementationGuide".equals(cls)) {
         return (T) guides.get(uri, version);
@@ -1378,6 +1399,46 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
         return null;
       } 
       throw new FHIRException(formatMessage(I18nConstants.NOT_DONE_YET_CANT_FETCH_, uri));
+    } finally {
+      resourceLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * find the first manager (in search order) that knows the uri. Most uris are only known to one manager, 
+   * and unknown uris are a single miss in the index
+   *  
+   * @param uri - without version
+   * @return
+   */
+  private CanonicalResourceManager<?> findCanonicalManager(String uri) {
+    List<CanonicalResourceManager<?>> candidates = canonicalIndex.get(uri);
+    if (candidates == null) {
+      return null;
+    } 
+    for (CanonicalResourceManager<?> crm : canonicalSearchOrder) {
+      if (candidates.contains(crm)) {
+        return crm;
+      }
+    }
+    return null;
+  }
+
+  private void unindexCanonical(Resource r) {
+    if (r instanceof CanonicalResource && ((CanonicalResource) r).hasUrl()) {
+      String url = ((CanonicalResource) r).getUrl();
+      if (allCanonicalsByUrl.get(url) == r) {
+        allCanonicalsByUrl.remove(url);
+        // there may be another version still loaded
+        for (Map<String, Resource> rt : allResourcesById.values()) {
+          for (Resource t : rt.values()) {
+            if (t != r && t instanceof CanonicalResource && url.equals(((CanonicalResource) t).getUrl())) {
+              allCanonicalsByUrl.put(url, (CanonicalResource) t);
+              return;
+            }
+          }
+        }
+      }
     }
   }
 
@@ -1387,7 +1448,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
 
   @Override
   public Resource fetchResourceById(String type, String uri) {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       String[] parts = uri.split("\\/");
       if (!Utilities.noString(type) && parts.length == 1) {
         if (allResourcesById.containsKey(type)) {
@@ -1406,6 +1468,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
       } else {
         throw new Error(formatMessage(I18nConstants.UNABLE_TO_PROCESS_REQUEST_FOR_RESOURCE_FOR___, type, uri));
       }
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
 
@@ -1493,7 +1557,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   }
   
   public void reportStatus(JsonObject json) {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       json.addProperty("codeystem-count", codeSystems.size());
       json.addProperty("valueset-count", valueSets.size());
       json.addProperty("conceptmap-count", maps.size());
@@ -1503,6 +1568,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
       json.addProperty("statements-count", capstmts.size());
       json.addProperty("measures-count", measures.size());
       json.addProperty("libraries-count", libraries.size());
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
 
@@ -1512,7 +1579,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   }
 
   public void dropResource(String fhirType, String id) {
-    synchronized (lock) {
+    resourceLock.writeLock().lock();
+    try {
 
       Map<String, Resource> map = allResourcesById.get(fhirType);
       if (map == null) {
@@ -1520,11 +1588,18 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
         allResourcesById.put(fhirType, map);
       }
       if (map.containsKey(id)) {
-        map.remove(id);
+        Resource existing = map.remove(id);
+        unindexCanonical(existing);
+        if (existing instanceof CodeSystem) {
+          CodeSystemIndex.clear((CodeSystem) existing);
+        } else if (existing instanceof ConceptMap) {
+          ConceptMapIndex.clear((ConceptMap) existing);
+        }
       }
 
       if (fhirType.equals("StructureDefinition")) {
         structures.drop(id);
+        propertyCache.clear();
       } else if (fhirType.equals("ImplementationGuide")) {
         guides.drop(id);
       } else if (fhirType.equals("CapabilityStatement")) {
@@ -1548,6 +1623,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
       } else if (fhirType.equals("NamingSystem")) {
         systems.drop(id);
       }
+    } finally {
+      resourceLock.writeLock().unlock();
     }
   }
 
@@ -1568,7 +1645,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
 
   @Override
   public List<CanonicalResource> allConformanceResources() {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       List<CanonicalResource> result = new ArrayList<CanonicalResource>();
       structures.listAllM(result);
       guides.listAllM(result);
@@ -1582,11 +1660,13 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
       plans.listAllM(result);
       questionnaires.listAllM(result);
       return result;
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
   
   public String listSupportedSystems() {
-    synchronized (lock) {
+    synchronized (supportedCodeSystems) {
       String sl = null;
       for (String s : supportedCodeSystems) {
         sl = sl == null ? s : sl + "\r\n" + s;
@@ -1597,50 +1677,69 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
 
 
   public int totalCount() {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       return valueSets.size() +  maps.size() + structures.size() + transforms.size();
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
   
   public List<ConceptMap> listMaps() {
     List<ConceptMap> m = new ArrayList<ConceptMap>();
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       maps.listAll(m);
+    } finally {
+      resourceLock.readLock().unlock();
     }
     return m;
   }
   
   public List<StructureMap> listTransforms() {
     List<StructureMap> m = new ArrayList<StructureMap>();
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       transforms.listAll(m);    
+    } finally {
+      resourceLock.readLock().unlock();
     }
     return m;
   }
   
   public StructureMap getTransform(String code) {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       return transforms.get(code);
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
 
   public List<StructureDefinition> listStructures() {
     List<StructureDefinition> m = new ArrayList<StructureDefinition>();
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       structures.listAll(m);    
+    } finally {
+      resourceLock.readLock().unlock();
     }
     return m;
   }
 
   public StructureDefinition getStructure(String code) {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       return structures.get(code);
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
 
   @Override
   public String oid2Uri(String oid) {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       if (oid != null && oid.startsWith("urn:oid:")) {
         oid = oid.substring(8);
       }
@@ -1689,6 +1788,8 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
           }
         }
       }
+    } finally {
+      resourceLock.readLock().unlock();
     }
     oidCache.put(oid, null);
     return null;
@@ -1720,8 +1821,11 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   }
 
   public SearchParameter getSearchParameter(String code) {
-    synchronized (lock) {
+    resourceLock.readLock().lock();
+    try {
       return searchParameters.get(code);
+    } finally {
+      resourceLock.readLock().unlock();
     }
   }
 
@@ -1765,11 +1869,19 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     this.ucumService = ucumService;
   }
 
+  @Override
+  public PropertyCache getPropertyCache() {
+    return propertyCache;
+  }
+
   @Override
   public List<StructureDefinition> getStructures() {
     List<StructureDefinition> res = new ArrayList<>();
-    synchronized (lock) { // tricky, because you need to lock this as well, but it's really not in use yet
+    resourceLock.readLock().lock();
+    try { // tricky, because you need to lock this as well, but it's really not in use yet
       structures.listAll(res);
+    } finally {
+      resourceLock.readLock().unlock();
     }
     return res;
   }
@@ -1888,6 +2000,10 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
     return txCache.getFolder();
   }
 
+  public TerminologyCache getTerminologyCache() {
+    return txCache;
+  }
+
   public TerminologyClient getTxClient() {
     return txClient;
   }
@@ -1921,6 +2037,27 @@ public abstract class BaseWorkerContext extends I18nBase implements IWorkerConte
   public TimeTracker clock() {
     return clock;
   }
+
+  /**
+   * @return the number of expansions and code validations found in the terminology cache
+   */
+  public long getTxCacheHits() {
+    return txCache == null ? 0 : txCache.getHitCount();
+  }
+
+  /**
+   * @return the number of expansions and code validations not found in the terminology cache
+   */
+  public long getTxCacheMisses() {
+    return txCache == null ? 0 : txCache.getMissCount();
+  }
+
+  /**
+   * @return the times taken by requests to the terminology server ($expand, $validate-code and batch validation)
+   */
+  public LatencyHistogram getTxServerTimes() {
+    return txServerTimes;
+  }
  
 
   public int countAllCaches() {
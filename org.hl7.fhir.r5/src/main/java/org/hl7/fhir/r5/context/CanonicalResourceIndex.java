@@ -0,0 +1,56 @@
+package org.hl7.fhir.r5.context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single index of the keys (id, url, url|version) across a set of CanonicalResourceManagers,
+ * so that a resource of an unknown type can be found with one hash lookup, and an unknown
+ * url costs one miss instead of a probe of each manager.
+ *
+ * The managers keep this up to date as resources are seen and dropped.
+ *
+ */
+public class CanonicalResourceIndex {
+
+  private Map<String, List<CanonicalResourceManager<?>>> map = new HashMap<>();
+
+  protected void see(String key, CanonicalResourceManager<?> manager) {
+    List<CanonicalResourceManager<?>> list = map.get(key);
+    if (list == null) {
+      list = new ArrayList<>(1);
+      map.put(key, list);
+    }
+    if (!list.contains(manager)) {
+      list.add(manager);
+    }
+  }
+
+  protected void drop(String key, CanonicalResourceManager<?> manager) {
+    List<CanonicalResourceManager<?>> list = map.get(key);
+    if (list != null) {
+      list.remove(manager);
+      if (list.isEmpty()) {
+        map.remove(key);
+      }
+    }
+  }
+
+  /**
+   * @param key - an id, url, or url|version
+   * @return the managers that have a resource for this key, or null if there aren't any
+   */
+  public List<CanonicalResourceManager<?>> get(String key) {
+    return map.get(key);
+  }
+
+  public boolean has(String key) {
+    return map.containsKey(key);
+  }
+
+  public int size() {
+    return map.size();
+  }
+}
@@ -104,7 +104,7 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
   }
 
   private class CachedCanonicalResource<T1 extends CanonicalResource> {
-    private T1 resource;
+    private volatile T1 resource; // loaded on demand, possibly by several threads reading from the context at once
     private CanonicalResourceProxy proxy;
     private PackageVersion packageInfo;
     
@@ -122,12 +122,13 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
     
     public T1 getResource() {
       if (resource == null) {
-        @SuppressWarnings("unchecked")
-        T1 res = (T1) proxy.getResource();
         synchronized (this) {
-          resource = res;
+          if (resource == null) {
+            @SuppressWarnings("unchecked")
+            T1 res = (T1) proxy.getResource();
+            resource = res;
+          }
         }
-        proxy = null;
       }
       return resource;
     }
@@ -181,6 +182,7 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
   private boolean enforceUniqueId; 
   private List<CachedCanonicalResource<T>> list = new ArrayList<>();
   private Map<String, CachedCanonicalResource<T>> map = new HashMap<>();
+  private CanonicalResourceIndex index; // shared with other managers, if there is one
   
   
   public CanonicalResourceManager(boolean enforceUniqueId) {
@@ -188,11 +190,48 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
     this.enforceUniqueId = enforceUniqueId;
   }
 
+  /**
+   * keep the index up to date with the keys in this manager (starting with the keys it already has)
+   * 
+   * @param index
+   */
+  public void setIndex(CanonicalResourceIndex index) {
+    if (this.index != null) {
+      for (String key : map.keySet()) {
+        this.index.drop(key, this);
+      }
+    }
+    this.index = index;
+    if (index != null) {
+      for (String key : map.keySet()) {
+        index.see(key, this);
+      }
+    }
+  }
+
+  public CanonicalResourceIndex getIndex() {
+    return index;
+  }
+
+  private void mapPut(String key, CachedCanonicalResource<T> cr) {
+    map.put(key, cr);
+    if (index != null) {
+      index.see(key, this);
+    }
+  }
+
+  private void mapRemove(String key) {
+    if (map.remove(key) != null && index != null) {
+      index.drop(key, this);
+    }
+  }
+
   public void copy(CanonicalResourceManager<T> source) {
-    list.clear();
-    map.clear();
+    clear();
     list.addAll(source.list);
-    map.putAll(source.map);
+    for (String key : source.map.keySet()) {
+      mapPut(key, source.map.get(key));
+    }
   }
   
   public void register(CanonicalResourceProxy r, PackageVersion packgeInfo) {
@@ -238,14 +277,14 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
     }
     
     list.add(cr);
-    map.put(cr.getId(), cr); // we do this so we can drop by id
+    mapPut(cr.getId(), cr); // we do this so we can drop by id
 
     if (cr.getUrl() != null) {
       // first, this is the correct reosurce for this version (if it has a version)
       if (cr.hasVersion()) {
-        map.put(cr.getUrl()+"|"+cr.getVersion(), cr);
+        mapPut(cr.getUrl()+"|"+cr.getVersion(), cr);
       } else {
-        map.put(cr.getUrl()+"|#0", cr);
+        mapPut(cr.getUrl()+"|#0", cr);
       }
       updateList(cr.getUrl(), cr.getVersion());
     }
@@ -266,7 +305,7 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
       // sort by version as much as we are able
       Collections.sort(rl, new MetadataResourceVersionComparator<CachedCanonicalResource<T>>());
       // the current is the latest
-      map.put(url, rl.get(rl.size()-1));
+      mapPut(url, rl.get(rl.size()-1));
       // now, also, the latest for major/minor
       if (version != null) {
         CachedCanonicalResource<T> latest = null;
@@ -278,7 +317,7 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
         if (latest != null) { // might be null if it's not using semver
           String lv = VersionUtilities.getMajMin(latest.getVersion());
           if (lv != null && !lv.equals(version))
-            map.put(url+"|"+lv, rl.get(rl.size()-1));
+            mapPut(url+"|"+lv, rl.get(rl.size()-1));
         }
       }
     }
@@ -332,14 +371,16 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
       }
       if (res != null) {
         list.remove(res);
-        map.remove(id);
-        map.remove(res.getUrl());
+        mapRemove(id);
+        mapRemove(res.getUrl());
         if (res.hasVersion()) {
-          map.remove(res.getUrl()+"|"+res.getVersion());
+          mapRemove(res.getUrl()+"|"+res.getVersion());
           String mm = VersionUtilities.getMajMin(res.getVersion());
           if (mm != null) {
-            map.remove(res.getUrl()+"|"+mm);
+            mapRemove(res.getUrl()+"|"+mm);
           }
+        } else {
+          mapRemove(res.getUrl()+"|#0");
         }
         updateList(res.getUrl(), res.getVersion()); 
       }
@@ -361,6 +402,11 @@ public class CanonicalResourceManager<T extends CanonicalResource> {
 
   public void clear() {
     list.clear();
+    if (index != null) {
+      for (String key : map.keySet()) {
+        index.drop(key, this);
+      }
+    }
     map.clear();
     
   }
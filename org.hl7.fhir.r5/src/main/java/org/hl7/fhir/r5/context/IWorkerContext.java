@@ -41,6 +41,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.fhir.ucum.UcumService;
+import org.hl7.fhir.r5.elementmodel.PropertyCache;
 import org.hl7.fhir.exceptions.DefinitionException;
 import org.hl7.fhir.exceptions.FHIRException;
 import org.hl7.fhir.exceptions.TerminologyServiceException;
@@ -227,6 +228,9 @@ public interface IWorkerContext {
   // get the UCUM service (might not be available)
   public UcumService getUcumService();
   
+  // the child properties of the elements in the structure definitions, for the element model
+  public PropertyCache getPropertyCache();
+  
   // -- Parsers (read and write instances) ----------------------------------------
 
 
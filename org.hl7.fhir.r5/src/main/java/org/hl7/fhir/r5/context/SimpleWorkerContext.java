@@ -754,35 +754,39 @@ public class SimpleWorkerContext extends BaseWorkerContext implements IWorkerCon
   
   @Override
   public void generateSnapshot(StructureDefinition p, boolean logical) throws DefinitionException, FHIRException {
-    if (!p.hasSnapshot() && (logical || p.getKind() != StructureDefinitionKind.LOGICAL)) {
-      if (!p.hasBaseDefinition())
-        throw new DefinitionException(formatMessage(I18nConstants.PROFILE___HAS_NO_BASE_AND_NO_SNAPSHOT, p.getName(), p.getUrl()));
-      StructureDefinition sd = fetchResource(StructureDefinition.class, p.getBaseDefinition());
-      if (sd == null && "http://hl7.org/fhir/StructureDefinition/Base".equals(p.getBaseDefinition())) {
-        sd = ProfileUtilities.makeBaseDefinition(p.getFhirVersion());
-      }
-      if (sd == null) {
-        throw new DefinitionException(formatMessage(I18nConstants.PROFILE___BASE__COULD_NOT_BE_RESOLVED, p.getName(), p.getUrl(), p.getBaseDefinition()));
-      }
-      List<ValidationMessage> msgs = new ArrayList<ValidationMessage>();
-      List<String> errors = new ArrayList<String>();
-      ProfileUtilities pu = new ProfileUtilities(this, msgs, this);
-      pu.setAutoFixSliceNames(true);
-      pu.setThrowException(false);
-      if (sd.getDerivation() == TypeDerivationRule.CONSTRAINT) {
-        pu.sortDifferential(sd, p, p.getUrl(), errors, true);
-      }
-      pu.setDebug(false);
-      for (String err : errors)
-        msgs.add(new ValidationMessage(Source.ProfileValidator, IssueType.EXCEPTION, p.getUserString("path"), "Error sorting Differential: "+err, ValidationMessage.IssueSeverity.ERROR));
-      pu.generateSnapshot(sd, p, p.getUrl(), Utilities.extractBaseUrl(sd.getUserString("path")), p.getName());
-      for (ValidationMessage msg : msgs) {
-        if ((!ignoreProfileErrors && msg.getLevel() == ValidationMessage.IssueSeverity.ERROR) || msg.getLevel() == ValidationMessage.IssueSeverity.FATAL)
-          throw new DefinitionException(formatMessage(I18nConstants.PROFILE___ELEMENT__ERROR_GENERATING_SNAPSHOT_, p.getName(), p.getUrl(), msg.getLocation(), msg.getMessage()));
+    // the snapshot is generated on demand, so two threads sharing the context might ask for it at the same time
+    synchronized (p) {
+      if (!p.hasSnapshot() && (logical || p.getKind() != StructureDefinitionKind.LOGICAL)) {
+        if (!p.hasBaseDefinition())
+          throw new DefinitionException(formatMessage(I18nConstants.PROFILE___HAS_NO_BASE_AND_NO_SNAPSHOT, p.getName(), p.getUrl()));
+        StructureDefinition sd = fetchResource(StructureDefinition.class, p.getBaseDefinition());
+        if (sd == null && "http://hl7.org/fhir/StructureDefinition/Base".equals(p.getBaseDefinition())) {
+          sd = ProfileUtilities.makeBaseDefinition(p.getFhirVersion());
+        }
+        if (sd == null) {
+          throw new DefinitionException(formatMessage(I18nConstants.PROFILE___BASE__COULD_NOT_BE_RESOLVED, p.getName(), p.getUrl(), p.getBaseDefinition()));
+        }
+        List<ValidationMessage> msgs = new ArrayList<ValidationMessage>();
+        List<String> errors = new ArrayList<String>();
+        ProfileUtilities pu = new ProfileUtilities(this, msgs, this);
+        pu.setAutoFixSliceNames(true);
+        pu.setThrowException(false);
+        if (sd.getDerivation() == TypeDerivationRule.CONSTRAINT) {
+          pu.sortDifferential(sd, p, p.getUrl(), errors, true);
+        }
+        pu.setDebug(false);
+        for (String err : errors)
+          msgs.add(new ValidationMessage(Source.ProfileValidator, IssueType.EXCEPTION, p.getUserString("path"), "Error sorting Differential: "+err, ValidationMessage.IssueSeverity.ERROR));
+        pu.generateSnapshot(sd, p, p.getUrl(), Utilities.extractBaseUrl(sd.getUserString("path")), p.getName());
+        for (ValidationMessage msg : msgs) {
+          if ((!ignoreProfileErrors && msg.getLevel() == ValidationMessage.IssueSeverity.ERROR) || msg.getLevel() == ValidationMessage.IssueSeverity.FATAL)
+            throw new DefinitionException(formatMessage(I18nConstants.PROFILE___ELEMENT__ERROR_GENERATING_SNAPSHOT_, p.getName(), p.getUrl(), msg.getLocation(), msg.getMessage()));
+        }
+        if (!p.hasSnapshot())
+          throw new FHIRException(formatMessage(I18nConstants.PROFILE___ERROR_GENERATING_SNAPSHOT, p.getName(), p.getUrl()));
+        getPropertyCache().clear();
+        pu = null;
       }
-      if (!p.hasSnapshot())
-        throw new FHIRException(formatMessage(I18nConstants.PROFILE___ERROR_GENERATING_SNAPSHOT, p.getName(), p.getUrl()));
-      pu = null;
     }
   }
 
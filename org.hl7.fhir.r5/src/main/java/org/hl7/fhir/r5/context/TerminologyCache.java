@@ -36,18 +36,29 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.hl7.fhir.exceptions.FHIRException;
 import org.hl7.fhir.r5.context.IWorkerContext.ValidationResult;
 import org.hl7.fhir.r5.formats.IParser.OutputStyle;
 import org.hl7.fhir.r5.formats.JsonParser;
+import org.hl7.fhir.r5.model.Base;
 import org.hl7.fhir.r5.model.CodeSystem.ConceptDefinitionComponent;
 import org.hl7.fhir.r5.model.CodeableConcept;
 import org.hl7.fhir.r5.model.Coding;
+import org.hl7.fhir.r5.model.Property;
 import org.hl7.fhir.r5.model.UriType;
 import org.hl7.fhir.r5.model.ValueSet;
 import org.hl7.fhir.r5.model.ValueSet.ConceptSetComponent;
@@ -73,6 +84,13 @@ import com.google.gson.JsonPrimitive;
  *  
  * the cache is a series of pairs: a map, and a list. the map is the loaded cache, the list is the persiistent cache, carefully maintained in order for version control consistency
  * 
+ * Each cache file is also a journal: new persistent entries are appended to the end of the file, and when 
+ * it is loaded, a later entry for the same request replaces an earlier one. Once enough of the file is 
+ * made up of replaced entries, it is compacted (rewritten from the list). Appending happens when the entry
+ * is stored, or, if background flushing is turned on, periodically on a separate thread; in that case, 
+ * close() must be called to write any entries that are still pending. Background flushing is off unless
+ * the owner turns it on (the validator does in -server mode); the context closes its cache when it's replaced.
+ * 
  * @author graha
  *
  */
@@ -82,20 +100,119 @@ public class TerminologyCache {
   private static final String NAME_FOR_NO_SYSTEM = "all-systems";
   private static final String ENTRY_MARKER = "-------------------------------------------------------------------------------------";
   private static final String BREAK = "####";
+  private static final int MIN_COMPACTION_COUNT = 100;
+  private static final char SEP = '\u0001';
 
+  /**
+   * The key is built directly from the content of the request, so it's cheap to make. The 
+   * request is the JSON form that is written to the cache files; it's only built when it's
+   * needed (storing a persistent entry, or looking for an entry that was loaded from a file,
+   * which are keyed by a hash of the request)
+   */
   public class CacheToken {
     private String name;
     private String key;
     private String request;
+    private RequestBuilder builder;
+    private String textKey;
     public void setName(String n) {
       if (name == null)
         name = n;
       else if (!n.equals(name))
         name = NAME_FOR_NO_SYSTEM;
     }
+    private String getRequest() {
+      if (request == null) {
+        try {
+          request = builder.build();
+        } catch (IOException e) {
+          throw new Error(e);
+        }
+      }
+      return request;
+    }
+    private String getTextKey() {
+      if (textKey == null) {
+        textKey = String.valueOf(hashNWS(getRequest()));
+      }
+      return textKey;
+    }
+  }
+
+  private interface RequestBuilder {
+    String build() throws IOException;
+  }
+
+  /**
+   * The key worked out for a value set object, and a stamp of the value set when it was worked out. The stamp is
+   * the identity and size of the lists in the compose and expansion, which is cheap to check, so the content is
+   * only hashed again when the value set has been given new content, or has had things added or removed
+   */
+  private static class ValueSetFingerprint {
+    private String url;
+    private String version;
+    private ValueSet.ValueSetComposeComponent compose;
+    private List<?>[] lists;
+    private int[] sizes;
+    private String key;
+
+    private ValueSetFingerprint(ValueSet vs) {
+      url = vs.getUrl();
+      version = vs.getVersion();
+      compose = vs.getCompose();
+      lists = stampLists(vs);
+      sizes = new int[lists.length];
+      for (int i = 0; i < lists.length; i++) {
+        sizes[i] = lists[i] == null ? -1 : lists[i].size();
+      }
+    }
+
+    private boolean matches(ValueSet vs) {
+      if (compose != vs.getCompose() || !Objects.equals(url, vs.getUrl()) || !Objects.equals(version, vs.getVersion())) {
+        return false;
+      }
+      List<?>[] current = stampLists(vs);
+      if (current.length != lists.length) {
+        return false;
+      }
+      for (int i = 0; i < lists.length; i++) {
+        if (current[i] != lists[i] || (current[i] != null && current[i].size() != sizes[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static List<?>[] stampLists(ValueSet vs) {
+      List<List<?>> res = new ArrayList<>();
+      if (vs.hasCompose()) {
+        res.add(vs.getCompose().getInclude());
+        res.add(vs.getCompose().getExclude());
+        for (ConceptSetComponent inc : vs.getCompose().getInclude()) {
+          stampLists(res, inc);
+        }
+        for (ConceptSetComponent inc : vs.getCompose().getExclude()) {
+          stampLists(res, inc);
+        }
+      }
+      if (vs.hasExpansion()) {
+        res.add(vs.getExpansion().getParameter());
+        res.add(vs.getExpansion().getContains());
+      } else {
+        res.add(null);
+      }
+      return res.toArray(new List<?>[res.size()]);
+    }
+
+    private static void stampLists(List<List<?>> res, ConceptSetComponent inc) {
+      res.add(inc.getConcept());
+      res.add(inc.getFilter());
+      res.add(inc.getValueSet());
+    }
   }
 
   private class CacheEntry {
+    private String key;
     private String request;
     private boolean persistent;
     private ValidationResult v;
@@ -106,12 +223,22 @@ public class TerminologyCache {
     private String name; 
     private List<CacheEntry> list = new ArrayList<CacheEntry>(); // persistent entries
     private Map<String, CacheEntry> map = new HashMap<String, CacheEntry>();
+    private List<CacheEntry> pending = new ArrayList<CacheEntry>(); // persistent entries not yet appended to the file
+    private int superseded; // entries in the file that have since been replaced
+    private boolean rewrite; // the file (if any) doesn't reflect the list, so it must be rewritten, not appended to
+    private boolean hasLoaded; // there are entries loaded from the file, which are only known by the hash of their request
   }
   
 
   private Object lock;
+  private Object ioLock = new Object(); // always taken before lock, never while holding it
+  private LongAdder hits = new LongAdder();
+  private LongAdder misses = new LongAdder();
   private String folder;
   private Map<String, NamedCache> caches = new HashMap<String, NamedCache>();
+  private volatile ScheduledExecutorService flusher;
+  private Thread shutdownHook; // writes pending entries if the JVM exits while background flushing is on
+  private Map<ValueSet, ValueSetFingerprint> fingerprints = new WeakHashMap<ValueSet, ValueSetFingerprint>(); // by identity - ValueSet doesn't override equals 
   private static boolean noCaching;
   
   // use lock from the context
@@ -129,15 +256,22 @@ public class TerminologyCache {
       ct.name = getNameForSystem(code.getSystem());
     else
       ct.name = NAME_FOR_NO_SYSTEM;
-    JsonParser json = new JsonParser();
-    json.setOutputStyle(OutputStyle.PRETTY);
-    ValueSet vsc = getVSEssense(vs);
-    try {
-      ct.request = "{\"code\" : "+json.composeString(code, "code")+", \"valueSet\" :"+(vsc == null ? "null" : json.composeString(vsc))+(options == null ? "" : ", "+options.toJson())+"}";
-    } catch (IOException e) {
-      throw new Error(e);
+    StringBuilder b = new StringBuilder("c");
+    b.append(SEP);
+    addCodingKey(b, code);
+    b.append(SEP);
+    b.append(getValueSetKey(vs));
+    if (options != null) {
+      b.append(SEP);
+      b.append(options.toJson());
     }
-    ct.key = String.valueOf(hashNWS(ct.request));
+    ct.key = b.toString();
+    ct.builder = () -> {
+      JsonParser json = new JsonParser();
+      json.setOutputStyle(OutputStyle.PRETTY);
+      ValueSet vsc = getVSEssense(vs);
+      return "{\"code\" : "+json.composeString(code, "code")+", \"valueSet\" :"+(vsc == null ? "null" : json.composeString(vsc))+(options == null ? "" : ", "+options.toJson())+"}";
+    };
     return ct;
   }
 
@@ -147,16 +281,140 @@ public class TerminologyCache {
       if (c.hasSystem())
         ct.setName(getNameForSystem(c.getSystem()));
     }
-    JsonParser json = new JsonParser();
-    json.setOutputStyle(OutputStyle.PRETTY);
-    ValueSet vsc = getVSEssense(vs);
+    StringBuilder b = new StringBuilder("cc");
+    if (code.hasId() || code.hasExtension()) {
+      b.append(SEP);
+      b.append(composeKey(code, "codeableConcept"));
+    } else {
+      for (Coding c : code.getCoding()) {
+        b.append(SEP);
+        addCodingKey(b, c);
+      }
+      b.append(SEP);
+      b.append(code.getText());
+    }
+    b.append(SEP);
+    b.append(getValueSetKey(vs));
+    if (options != null) {
+      b.append(SEP);
+      b.append(options.toJson());
+    }
+    ct.key = b.toString();
+    ct.builder = () -> {
+      JsonParser json = new JsonParser();
+      json.setOutputStyle(OutputStyle.PRETTY);
+      ValueSet vsc = getVSEssense(vs);
+      return "{\"code\" : "+json.composeString(code, "codeableConcept")+", \"valueSet\" :"+json.composeString(vsc)+(options == null ? "" : ", "+options.toJson())+"}";
+    };
+    return ct;
+  }
+
+  private void addCodingKey(StringBuilder b, Coding c) {
+    if (c.hasId() || c.hasExtension() || c.hasUserSelectedElement() && c.getUserSelectedElement().hasExtension()) {
+      b.append(composeKey(c, "code"));
+    } else {
+      b.append(c.getSystem());
+      b.append('|');
+      b.append(c.getVersion());
+      b.append('|');
+      b.append(c.getCode());
+      b.append('|');
+      b.append(c.getDisplay());
+      b.append('|');
+      b.append(c.hasUserSelected() ? Boolean.toString(c.getUserSelected()) : "");
+    }
+  }
+
+  private String composeKey(org.hl7.fhir.r5.model.DataType type, String name) {
     try {
-      ct.request = "{\"code\" : "+json.composeString(code, "codeableConcept")+", \"valueSet\" :"+json.composeString(vsc)+(options == null ? "" : ", "+options.toJson())+"}";
+      return new JsonParser().composeString(type, name);
     } catch (IOException e) {
       throw new Error(e);
     }
-    ct.key = String.valueOf(hashNWS(ct.request));
-    return ct;
+  }
+
+  /**
+   * A key for the essence of the value set (see getVSEssense), made by hashing its content directly rather than 
+   * its JSON. It's remembered for each value set object, and worked out again when the url, version, compose, 
+   * or any of the lists in the compose or expansion are replaced or change size. Anything else that changes a 
+   * value set in place (e.g. the value of a filter, or the code of an expansion entry) must change its version 
+   * or use a copy 
+   */
+  private String getValueSetKey(ValueSet vs) {
+    if (vs == null)
+      return "null";
+    synchronized (fingerprints) {
+      ValueSetFingerprint fp = fingerprints.get(vs);
+      if (fp != null && fp.matches(vs)) {
+        return fp.key;
+      }
+    }
+    ValueSetFingerprint fp = new ValueSetFingerprint(vs);
+    fp.key = hashValueSet(vs);
+    synchronized (fingerprints) {
+      fingerprints.put(vs, fp);
+    }
+    return fp.key;
+  }
+
+  private String hashValueSet(ValueSet vs) {
+    ContentHash h = new ContentHash();
+    h.add(vs.getCompose());
+    if (vs.hasExpansion()) {
+      h.add("parameter");
+      for (Base p : vs.getExpansion().getParameter()) {
+        h.add(p);
+      }
+      h.add("contains");
+      for (Base c : vs.getExpansion().getContains()) {
+        h.add(c);
+      }
+    }
+    return h.toString();
+  }
+
+  /**
+   * 64 bit FNV-1a hash of the names and values of everything in a tree of elements, and a count of the 
+   * values, to make collisions between different content even less likely
+   */
+  private static class ContentHash {
+    private long h = 0xcbf29ce484222325L;
+    private int count;
+
+    private void add(String s) {
+      if (s != null) {
+        for (int i = 0; i < s.length(); i++) {
+          h ^= s.charAt(i);
+          h *= 0x100000001b3L;
+        }
+      }
+      h ^= SEP;
+      h *= 0x100000001b3L;
+      count++;
+    }
+
+    private void add(Base b) {
+      add(b.fhirType());
+      if (b.isPrimitive()) {
+        add(b.primitiveValue());
+      }
+      for (Property p : b.children()) {
+        if (p.hasValues()) {
+          add(p.getName());
+          for (Base v : p.getValues()) {
+            if (v != null) {
+              add(v);
+            }
+          }
+          add("}");
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return Long.toHexString(h)+":"+count;
+    }
   }
   
   public ValueSet getVSEssense(ValueSet vs) {
@@ -173,7 +431,6 @@ public class TerminologyCache {
 
   public CacheToken generateExpandToken(ValueSet vs, boolean heirarchical) {
     CacheToken ct = new CacheToken();
-    ValueSet vsc = getVSEssense(vs);
     for (ConceptSetComponent inc : vs.getCompose().getInclude())
       if (inc.hasSystem())
         ct.setName(getNameForSystem(inc.getSystem()));
@@ -183,14 +440,13 @@ public class TerminologyCache {
     for (ValueSetExpansionContainsComponent inc : vs.getExpansion().getContains())
       if (inc.hasSystem())
         ct.setName(getNameForSystem(inc.getSystem()));
-    JsonParser json = new JsonParser();
-    json.setOutputStyle(OutputStyle.PRETTY);
-    try {
-      ct.request = "{\"hierarchical\" : "+(heirarchical ? "true" : "false")+", \"valueSet\" :"+json.composeString(vsc)+"}\r\n";
-    } catch (IOException e) {
-      throw new Error(e);
-    }
-    ct.key = String.valueOf(hashNWS(ct.request));
+    ct.key = "x"+SEP+heirarchical+SEP+getValueSetKey(vs);
+    ct.builder = () -> {
+      JsonParser json = new JsonParser();
+      json.setOutputStyle(OutputStyle.PRETTY);
+      ValueSet vsc = getVSEssense(vs);
+      return "{\"hierarchical\" : "+(heirarchical ? "true" : "false")+", \"valueSet\" :"+json.composeString(vsc)+"}\r\n";
+    };
     return ct;
   }
 
@@ -227,6 +483,7 @@ public class TerminologyCache {
     if (nc == null) {
       nc = new NamedCache();
       nc.name = cacheToken.name;
+      nc.rewrite = true;
       caches.put(nc.name, nc);
     }
     return nc;
@@ -235,7 +492,8 @@ public class TerminologyCache {
   public ValueSetExpansionOutcome getExpansion(CacheToken cacheToken) {
     synchronized (lock) {
       NamedCache nc = getNamedCache(cacheToken);
-      CacheEntry e = nc.map.get(cacheToken.key);
+      CacheEntry e = lookup(nc, cacheToken);
+      count(e != null && e.e != null);
       if (e == null)
         return null;
       else
@@ -247,11 +505,13 @@ public class TerminologyCache {
     synchronized (lock) {      
       NamedCache nc = getNamedCache(cacheToken);
       CacheEntry e = new CacheEntry();
-      e.request = cacheToken.request;
       e.persistent = persistent;
       e.e = res;
       store(cacheToken, persistent, nc, e);
     }    
+    if (persistent && flusher == null) {
+      flush();
+    }
   }
 
   public void store(CacheToken cacheToken, boolean persistent, NamedCache nc, CacheEntry e) {
@@ -261,22 +521,46 @@ public class TerminologyCache {
     boolean n = nc.map.containsKey(cacheToken.key);
     nc.map.put(cacheToken.key, e);
     if (persistent) {
-      if (n) {
-        for (int i = nc.list.size()- 1; i>= 0; i--) {
-          if (nc.list.get(i).request.equals(e.request)) {
-            nc.list.remove(i);
-          }
-        }
+      e.request = cacheToken.getRequest();
+      e.key = cacheToken.getTextKey();
+      if (nc.map.put(e.key, e) != null || n) {
+        removeFromList(nc, e.key);
       }
       nc.list.add(e);
-      save(nc);  
+      if (folder != null) {
+        nc.pending.add(e);
+      }
+    }
+  }
+
+  private CacheEntry lookup(NamedCache nc, CacheToken cacheToken) {
+    CacheEntry e = nc.map.get(cacheToken.key);
+    if (e == null && nc.hasLoaded) {
+      e = nc.map.get(cacheToken.getTextKey());
+      if (e != null) {
+        nc.map.put(cacheToken.key, e);
+      }
+    }
+    return e;
+  }
+
+  private void removeFromList(NamedCache nc, String key) {
+    for (int i = nc.list.size()- 1; i>= 0; i--) {
+      CacheEntry ce = nc.list.get(i);
+      if (ce.key.equals(key)) {
+        nc.list.remove(i);
+        if (!nc.pending.remove(ce)) {
+          nc.superseded++;
+        }
+      }
     }
   }
 
   public ValidationResult getValidation(CacheToken cacheToken) {
     synchronized (lock) {
       NamedCache nc = getNamedCache(cacheToken);
-      CacheEntry e = nc.map.get(cacheToken.key);
+      CacheEntry e = lookup(nc, cacheToken);
+      count(e != null && e.v != null);
       if (e == null)
         return null;
       else
@@ -284,71 +568,228 @@ public class TerminologyCache {
     }
   }
 
+  private void count(boolean hit) {
+    if (hit) {
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+  }
+
+  /**
+   * @return the number of expansions and validations found in the cache
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of expansions and validations looked for in the cache, but not found
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
   public void cacheValidation(CacheToken cacheToken, ValidationResult res, boolean persistent) {
     synchronized (lock) {      
       NamedCache nc = getNamedCache(cacheToken);
       CacheEntry e = new CacheEntry();
-      e.request = cacheToken.request;
       e.persistent = persistent;
       e.v = res;
       store(cacheToken, persistent, nc, e);
     }    
+    if (persistent && flusher == null) {
+      flush();
+    }
   }
 
   
   // persistence
   
-  public void save() {
-    
-  }
-  
-  private void save(NamedCache nc) {
+  /**
+   * Write any pending entries to the cache files, and compact any file that is 
+   * mostly made up of entries that have since been replaced
+   */
+  public void flush() {
     if (folder == null)
       return;
-    
-    try {
-      OutputStreamWriter sw = new OutputStreamWriter(new FileOutputStream(Utilities.path(folder, nc.name+".cache")), "UTF-8");
-      sw.write(ENTRY_MARKER+"\r\n");
+    synchronized (ioLock) {
+      List<NamedCache> rewrites = new ArrayList<>();
+      List<List<CacheEntry>> work = new ArrayList<>();
+      List<NamedCache> appends = new ArrayList<>();
+      synchronized (lock) {
+        for (NamedCache nc : caches.values()) {
+          if ((nc.rewrite && !nc.list.isEmpty()) || needsCompaction(nc)) {
+            rewrites.add(nc);
+            work.add(new ArrayList<>(nc.list));
+            nc.rewrite = false;
+            nc.superseded = 0;
+            nc.pending.clear();
+          } else if (!nc.pending.isEmpty()) {
+            appends.add(nc);
+            work.add(new ArrayList<>(nc.pending));
+            nc.pending.clear();
+          }
+        }
+      }
+      // the entries are immutable once they are in the cache, so they can be written without holding the lock
       JsonParser json = new JsonParser();
       json.setOutputStyle(OutputStyle.PRETTY);
-      for (CacheEntry ce : nc.list) {
-        sw.write(ce.request.trim());
-        sw.write(BREAK+"\r\n");
-        if (ce.e != null) {
-          sw.write("e: {\r\n");
-          if (ce.e.getValueset() != null)
-            sw.write("  \"valueSet\" : "+json.composeString(ce.e.getValueset()).trim()+",\r\n");
-          sw.write("  \"error\" : \""+Utilities.escapeJson(ce.e.getError()).trim()+"\"\r\n}\r\n");
-        } else {
-          sw.write("v: {\r\n");
-          sw.write("  \"display\" : \""+Utilities.escapeJson(ce.v.getDisplay()).trim()+"\",\r\n");
-          sw.write("  \"severity\" : "+(ce.v.getSeverity() == null ? "null" : "\""+ce.v.getSeverity().toCode().trim()+"\"")+",\r\n");
-          sw.write("  \"error\" : \""+Utilities.escapeJson(ce.v.getMessage()).trim()+"\"\r\n}\r\n");
+      int i = 0;
+      for (NamedCache nc : rewrites) {
+        rewrite(nc.name, work.get(i++), json);
+      }
+      for (NamedCache nc : appends) {
+        append(nc.name, work.get(i++), json);
+      }
+    }
+  }
+
+  /**
+   * Rewrite all the cache files from what is loaded
+   */
+  public void save() {
+    synchronized (lock) {
+      for (NamedCache nc : caches.values()) {
+        nc.rewrite = true;
+      }
+    }
+    flush();
+  }
+
+  /**
+   * Append pending entries to the cache files from a background thread every intervalMillis, instead
+   * of when they are stored. close() (or flush()) must be called to write the last entries; they 
+   * are also written when the JVM shuts down normally
+   */
+  public void startBackgroundFlush(long intervalMillis) {
+    synchronized (ioLock) {
+      if (flusher != null || folder == null)
+        return;
+      flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "TerminologyCache flush");
+        t.setDaemon(true);
+        return t;
+      });
+      flusher.scheduleWithFixedDelay(() -> flush(), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+      if (shutdownHook == null) {
+        shutdownHook = new Thread(() -> flush(), "TerminologyCache shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+      }
+    }
+  }
+
+  public boolean isBackgroundFlush() {
+    return flusher != null;
+  }
+
+  /**
+   * Stop background flushing (if it is running), and write everything that is pending
+   */
+  public void close() {
+    ScheduledExecutorService f;
+    synchronized (ioLock) {
+      f = flusher;
+      flusher = null;
+      if (shutdownHook != null) {
+        try {
+          Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+          // the JVM is already shutting down, and the hook is running or has run
+        }
+        shutdownHook = null;
+      }
+    }
+    if (f != null) {
+      f.shutdown();
+      try {
+        f.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    synchronized (lock) {
+      for (NamedCache nc : caches.values()) {
+        if (nc.superseded > 0) {
+          nc.rewrite = true;
         }
+      }
+    }
+    flush();
+  }
+
+  private boolean needsCompaction(NamedCache nc) {
+    return nc.superseded >= MIN_COMPACTION_COUNT && nc.superseded > nc.list.size() / 2;
+  }
+
+  private void rewrite(String name, List<CacheEntry> entries, JsonParser json) {
+    try {
+      File tmp = new File(Utilities.path(folder, name+".cache.new"));
+      Writer sw = new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8");
+      try {
         sw.write(ENTRY_MARKER+"\r\n");
-      }      
-      sw.close();
+        for (CacheEntry ce : entries) {
+          writeEntry(sw, ce, json);
+        }
+      } finally {
+        sw.close();
+      }
+      Files.move(tmp.toPath(), new File(Utilities.path(folder, name+".cache")).toPath(), StandardCopyOption.REPLACE_EXISTING);
     } catch (Exception e) {
-      System.out.println("error saving "+nc.name+": "+e.getMessage());
+      System.out.println("error saving "+name+": "+e.getMessage());
     }
   }
 
+  private void append(String name, List<CacheEntry> entries, JsonParser json) {
+    try {
+      Writer sw = new OutputStreamWriter(new FileOutputStream(Utilities.path(folder, name+".cache"), true), "UTF-8");
+      try {
+        for (CacheEntry ce : entries) {
+          writeEntry(sw, ce, json);
+        }
+      } finally {
+        sw.close();
+      }
+    } catch (Exception e) {
+      System.out.println("error saving "+name+": "+e.getMessage());
+    }
+  }
+
+  private void writeEntry(Writer sw, CacheEntry ce, JsonParser json) throws IOException {
+    sw.write(ce.request.trim());
+    sw.write(BREAK+"\r\n");
+    if (ce.e != null) {
+      sw.write("e: {\r\n");
+      if (ce.e.getValueset() != null)
+        sw.write("  \"valueSet\" : "+json.composeString(ce.e.getValueset()).trim()+",\r\n");
+      sw.write("  \"error\" : \""+Utilities.escapeJson(ce.e.getError()).trim()+"\"\r\n}\r\n");
+    } else {
+      sw.write("v: {\r\n");
+      sw.write("  \"display\" : \""+Utilities.escapeJson(ce.v.getDisplay()).trim()+"\",\r\n");
+      sw.write("  \"severity\" : "+(ce.v.getSeverity() == null ? "null" : "\""+ce.v.getSeverity().toCode().trim()+"\"")+",\r\n");
+      sw.write("  \"error\" : \""+Utilities.escapeJson(ce.v.getMessage()).trim()+"\"\r\n}\r\n");
+    }
+    sw.write(ENTRY_MARKER+"\r\n");
+  }
+
   private void load() throws FHIRException {
+    JsonParser json = new JsonParser();
+    com.google.gson.JsonParser gson = new com.google.gson.JsonParser();
     for (String fn : new File(folder).list()) {
       if (fn.endsWith(".cache") && !fn.equals("validation.cache")) {
         try {
           String title = fn.substring(0, fn.lastIndexOf("."));
           NamedCache nc = new NamedCache();
           nc.name = title;
+          nc.hasLoaded = true;
           caches.put(title, nc);
           String src = TextFile.fileToString(Utilities.path(folder, fn));
-          if (src.startsWith("?"))
-            src = src.substring(1);
-          int i = src.indexOf(ENTRY_MARKER); 
+          int start = src.startsWith("?") ? 1 : 0;
+          int i = src.indexOf(ENTRY_MARKER, start); 
           while (i > -1) {
-            String s = src.substring(0, i);
-            src = src.substring(i+ENTRY_MARKER.length()+1);
-            i = src.indexOf(ENTRY_MARKER);
+            String s = src.substring(start, i);
+            start = i+ENTRY_MARKER.length()+1;
+            i = src.indexOf(ENTRY_MARKER, start);
             if (!Utilities.noString(s)) {
               int j = s.indexOf(BREAK);
               String q = s.substring(0, j);
@@ -356,13 +797,14 @@ public class TerminologyCache {
               CacheEntry ce = new CacheEntry();
               ce.persistent = true;
               ce.request = q;
+              ce.key = String.valueOf(hashNWS(ce.request));
               boolean e = p.charAt(0) == 'e';
               p = p.substring(3);
-              JsonObject o = (JsonObject) new com.google.gson.JsonParser().parse(p);
+              JsonObject o = (JsonObject) gson.parse(p);
               String error = loadJS(o.get("error"));
               if (e) {
                 if (o.has("valueSet"))
-                  ce.e = new ValueSetExpansionOutcome((ValueSet) new JsonParser().parse(o.getAsJsonObject("valueSet")), error, TerminologyServiceErrorClass.UNKNOWN);
+                  ce.e = new ValueSetExpansionOutcome((ValueSet) json.parse(o.getAsJsonObject("valueSet")), error, TerminologyServiceErrorClass.UNKNOWN);
                 else
                   ce.e = new ValueSetExpansionOutcome(error, TerminologyServiceErrorClass.UNKNOWN);
               } else {
@@ -370,7 +812,10 @@ public class TerminologyCache {
                 String display = loadJS(o.get("display"));
                 ce.v = new ValidationResult(severity, error, new ConceptDefinitionComponent().setDisplay(display));
               }
-              nc.map.put(String.valueOf(hashNWS(ce.request)), ce);
+              // later entries in the journal replace earlier ones 
+              if (nc.map.put(ce.key, ce) != null) {
+                removeFromList(nc, ce.key);
+              }
               nc.list.add(ce);
             }
           }        
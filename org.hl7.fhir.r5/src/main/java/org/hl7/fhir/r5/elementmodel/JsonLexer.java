@@ -0,0 +1,262 @@
+package org.hl7.fhir.r5.elementmodel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A pull tokenizer for JSON that reads from a stream, and keeps track of the line and column
+ * at which each token starts, so that the JSON parser can build elements straight from the
+ * tokens, without reading the source into a string or building a json tree first.
+ *
+ * Like JsonTrackingParser, it optionally allows // comments, and it can capture the text of
+ * the source as it is read, for the odd object that has to be parsed as a tree.
+ *
+ */
+class JsonLexer {
+
+  enum TokenType {
+    OPEN, CLOSE, OPEN_ARRAY, CLOSE_ARRAY, COLON, COMMA, STRING, NUMBER, BOOLEAN, NULL, EOF;
+  }
+
+  private Reader reader;
+  private boolean allowComments;
+  private char[] buffer = new char[8192];
+  private int pos;
+  private int limit;
+  private int line = 1;
+  private int col = 0;
+  private StringBuilder b = new StringBuilder();
+  private StringBuilder capture;
+
+  private TokenType type;
+  private String value;
+  private int tokenLine;
+  private int tokenCol;
+
+  public JsonLexer(InputStream stream, boolean allowComments) throws IOException {
+    super();
+    this.reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+    this.allowComments = allowComments;
+    if (peekChar() == '\uFEFF') {
+      pos++;
+    }
+    next();
+  }
+
+  public TokenType getType() {
+    return type;
+  }
+
+  /**
+   * @return the text of a string, number or boolean token
+   */
+  public String getValue() {
+    return value;
+  }
+
+  public int getLine() {
+    return tokenLine;
+  }
+
+  public int getCol() {
+    return tokenCol;
+  }
+
+  /**
+   * check that the current token is of the given type, and move to the next one
+   *
+   * @return the value of the token that was consumed
+   */
+  public String consume(TokenType type) throws IOException {
+    if (this.type != type) {
+      throw error("JSON syntax error - found "+this.type.toString()+" expecting "+type.toString());
+    }
+    String result = value;
+    next();
+    return result;
+  }
+
+  /**
+   * start keeping a copy of everything that is read from now on, starting with prefix
+   * (which is usually the text of the current token)
+   */
+  public void startCapture(String prefix) {
+    capture = new StringBuilder(prefix);
+  }
+
+  /**
+   * @return the text read since startCapture, up to and including the current token
+   */
+  public String stopCapture() {
+    String result = capture.toString();
+    capture = null;
+    return result;
+  }
+
+  public IOException error(String msg) {
+    return new IOException("Error parsing JSON source: "+msg+" at Line "+Integer.toString(tokenLine)+" (col "+Integer.toString(tokenCol)+")");
+  }
+
+  public void next() throws IOException {
+    int ch = readChar();
+    while (true) {
+      if (ch == ' ' || ch == '\r' || ch == '\n' || ch == '\t') {
+        ch = readChar();
+      } else if (ch == '/' && allowComments && peekChar() == '/') {
+        while (ch != -1 && ch != '\n') {
+          ch = readChar();
+        }
+      } else {
+        break;
+      }
+    }
+    tokenLine = line;
+    tokenCol = col;
+    value = null;
+    switch (ch) {
+    case -1:
+      type = TokenType.EOF;
+      break;
+    case '{':
+      type = TokenType.OPEN;
+      break;
+    case '}':
+      type = TokenType.CLOSE;
+      break;
+    case '[':
+      type = TokenType.OPEN_ARRAY;
+      break;
+    case ']':
+      type = TokenType.CLOSE_ARRAY;
+      break;
+    case ':':
+      type = TokenType.COLON;
+      break;
+    case ',':
+      type = TokenType.COMMA;
+      break;
+    case '"':
+      type = TokenType.STRING;
+      readString();
+      break;
+    case 't':
+      readWord("true", TokenType.BOOLEAN);
+      break;
+    case 'f':
+      readWord("false", TokenType.BOOLEAN);
+      break;
+    case 'n':
+      readWord("null", TokenType.NULL);
+      break;
+    default:
+      if ((ch >= '0' && ch <= '9') || ch == '-') {
+        type = TokenType.NUMBER;
+        readNumber((char) ch);
+      } else {
+        throw error("Unexpected char '"+(char) ch+"' in json stream");
+      }
+    }
+  }
+
+  private void readString() throws IOException {
+    b.setLength(0);
+    int ch = readChar();
+    while (ch != '"') {
+      if (ch == -1) {
+        throw error("premature termination of json stream during a string");
+      } else if (ch == '\\') {
+        ch = readChar();
+        switch (ch) {
+        case '"': b.append('"'); break;
+        case '\'': b.append('\''); break;
+        case '\\': b.append('\\'); break;
+        case '/': b.append('/'); break;
+        case 'b': b.append('\b'); break;
+        case 'f': b.append('\f'); break;
+        case 'n': b.append('\n'); break;
+        case 'r': b.append('\r'); break;
+        case 't': b.append('\t'); break;
+        case 'u': b.append((char) readHex()); break;
+        default:
+          throw error("unknown escape sequence: \\"+(ch == -1 ? "" : String.valueOf((char) ch)));
+        }
+      } else {
+        b.append((char) ch);
+      }
+      ch = readChar();
+    }
+    value = b.toString();
+  }
+
+  private int readHex() throws IOException {
+    int result = 0;
+    for (int i = 0; i < 4; i++) {
+      int d = Character.digit(readChar(), 16);
+      if (d == -1) {
+        throw error("illegal unicode escape");
+      }
+      result = result * 16 + d;
+    }
+    return result;
+  }
+
+  private void readWord(String word, TokenType type) throws IOException {
+    for (int i = 1; i < word.length(); i++) {
+      if (readChar() != word.charAt(i)) {
+        throw error("Syntax error in json reading special word "+word);
+      }
+    }
+    this.type = type;
+    value = word;
+  }
+
+  private void readNumber(char first) throws IOException {
+    b.setLength(0);
+    b.append(first);
+    int ch = peekChar();
+    while ((ch >= '0' && ch <= '9') || ch == '-' || ch == '.' || ch == '+' || ch == 'e' || ch == 'E') {
+      b.append((char) readChar());
+      ch = peekChar();
+    }
+    value = b.toString();
+    try {
+      new BigDecimal(value);
+    } catch (NumberFormatException e) {
+      throw error("Illegal number '"+value+"'");
+    }
+  }
+
+  private int peekChar() throws IOException {
+    while (pos == limit) {
+      limit = reader.read(buffer, 0, buffer.length);
+      pos = 0;
+      if (limit < 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[pos];
+  }
+
+  private int readChar() throws IOException {
+    int ch = peekChar();
+    if (ch != -1) {
+      pos++;
+      if (ch == '\n') {
+        line++;
+        col = 0;
+      } else {
+        col++;
+      }
+      if (capture != null) {
+        capture.append((char) ch);
+      }
+    }
+    return ch;
+  }
+
+}
@@ -36,6 +36,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -48,17 +51,18 @@ import org.hl7.fhir.exceptions.FHIRFormatError;
 import org.hl7.fhir.r5.conformance.ProfileUtilities;
 import org.hl7.fhir.r5.context.IWorkerContext;
 import org.hl7.fhir.r5.elementmodel.Element.SpecialElement;
+import org.hl7.fhir.r5.elementmodel.JsonLexer.TokenType;
 import org.hl7.fhir.r5.formats.IParser.OutputStyle;
 import org.hl7.fhir.r5.formats.JsonCreator;
 import org.hl7.fhir.r5.formats.JsonCreatorCanonical;
 import org.hl7.fhir.r5.formats.JsonCreatorGson;
 import org.hl7.fhir.r5.model.ElementDefinition.TypeRefComponent;
 import org.hl7.fhir.r5.model.StructureDefinition;
-import org.hl7.fhir.utilities.TextFile;
 import org.hl7.fhir.utilities.Utilities;
 import org.hl7.fhir.utilities.i18n.I18nConstants;
 import org.hl7.fhir.utilities.json.JsonTrackingParser;
 import org.hl7.fhir.utilities.json.JsonTrackingParser.LocationData;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
 import org.hl7.fhir.utilities.validation.ValidationMessage.IssueSeverity;
 import org.hl7.fhir.utilities.validation.ValidationMessage.IssueType;
 import org.hl7.fhir.utilities.xhtml.XhtmlParser;
@@ -74,6 +78,10 @@ public class JsonParser extends ParserBase {
 	private JsonCreator json;
 	private Map<JsonElement, LocationData> map;
 	private boolean allowComments;
+	private JsonLexer lexer;
+	private int lineOffset; // where the text of a json tree starts in the stream, when part of a stream is parsed as a tree
+	private int colOffset;
+	private Map<List<Property>, Map<String, JsonMember>> memberIndex = new IdentityHashMap<List<Property>, Map<String, JsonMember>>();
 
 	public JsonParser(IWorkerContext context) {
 		super(context);
@@ -95,25 +103,36 @@ public class JsonParser extends ParserBase {
   }
 
 
+	/**
+	 * Parse the stream in a single pass, building the elements as the tokens are read, so that neither
+	 * the source nor a json tree of it is ever held in memory.
+	 *
+	 * The elements and errors are the same as parsing a json tree with parse(JsonObject, map), except
+	 * that the locations are where the values start, instead of where they end.
+	 */
 	@Override
 	public Element parse(InputStream stream) throws IOException, FHIRException {
-		// if we're parsing at this point, then we're going to use the custom parser
-		map = new IdentityHashMap<JsonElement, LocationData>();
-		String source = TextFile.streamToString(stream);
+		map = null;
+		lineOffset = 0;
+		colOffset = 0;
 		if (policy == ValidationPolicy.EVERYTHING) {
-			JsonObject obj = null;
-      try {
-			  obj = JsonTrackingParser.parse(source, map, false, allowComments);
-      } catch (Exception e) {
-				logError(-1, -1,context.formatMessage(I18nConstants.DOCUMENT), IssueType.INVALID, context.formatMessage(I18nConstants.ERROR_PARSING_JSON_, e.getMessage()), IssueSeverity.FATAL);
-      	return null;
-      }
-		  assert (map.containsKey(obj));
-			return parse(obj);
+		  int mark = errorMark();
+		  try {
+		    return parseStream(stream);
+		  } catch (IOException e) {
+		    // the document isn't valid json, so any errors found so far are of no interest
+		    takeErrors(mark);
+		    logError(-1, -1,context.formatMessage(I18nConstants.DOCUMENT), IssueType.INVALID, context.formatMessage(I18nConstants.ERROR_PARSING_JSON_, e.getMessage()), IssueSeverity.FATAL);
+		    return null;
+		  } finally {
+		    lexer = null;
+		  }
 		} else {
-			JsonObject obj = JsonTrackingParser.parse(source, null); // (JsonObject) new com.google.gson.JsonParser().parse(source);
-//			assert (map.containsKey(obj));
-			return parse(obj);
+		  try {
+		    return parseStream(stream);
+		  } finally {
+		    lexer = null;
+		  }
 		}
 	}
 
@@ -374,16 +393,619 @@ public class JsonParser extends ParserBase {
 		if (map == null|| !map.containsKey(e))
 			return -1;
 		else
-			return map.get(e).getLine();
+			return map.get(e).getLine() + lineOffset;
 	}
 
 	private int col(JsonElement e) {
 		if (map == null|| !map.containsKey(e))
 			return -1;
+		else if (map.get(e).getLine() == 1)
+			return map.get(e).getCol() + colOffset;
 		else
 			return map.get(e).getCol();
 	}
 
+	// --- streaming ------------------------------------------------------------------------------------
+	//
+	// The json is read member by member, and the members of each object are gathered against the properties
+	// they belong to. When the object closes, the children are added to the element in definition order, and
+	// the errors are reported in the same order as parseChildren reports them.
+
+	/**
+	 * What a name in a json object means for the element it is a member of
+	 */
+	private class JsonMember {
+		private int index; // of the property in the list of child properties
+		private Property property;
+		private String name; // the element name - differs from the property name for choice types
+		private int typeIndex; // for choice types, which type this is - the first type present wins
+		private boolean primitive;
+		private boolean fork; // the _name object of a primitive
+	}
+
+	/**
+	 * A json value that is kept until the object it is part of closes
+	 */
+	private class JsonItem {
+		private TokenType type;
+		private String value;
+		private int line;
+		private int col;
+		private List<JsonItem> items; // for an array of primitives (or their _ objects)
+		private Element element; // for the _ object of a primitive
+		private List<ValidationMessage> errors; // found parsing the _ object
+	}
+
+	private class JsonName {
+		private String name;
+		private int line;
+		private int col;
+		private int order;
+	}
+
+	/**
+	 * The members of a json object that belong to one property
+	 */
+	private class JsonBucket {
+		private JsonMember member;
+		private JsonName mainName;
+		private JsonName forkName;
+		private JsonItem main;
+		private JsonItem fork;
+		private List<Element> children;
+		private List<ValidationMessage> errors;
+	}
+
+	private class JsonObjectState {
+		private Map<String, JsonMember> index;
+		private JsonBucket[] buckets;
+		private Set<String> names = new HashSet<String>();
+		private List<JsonName> unrecognised;
+		private int order;
+
+		private void unrecognised(JsonName name) {
+			if (unrecognised == null) {
+				unrecognised = new ArrayList<JsonName>();
+			}
+			unrecognised.add(name);
+		}
+	}
+
+	private Element parseStream(InputStream stream) throws IOException, FHIRException {
+		lexer = new JsonLexer(stream, allowComments);
+		if (lexer.getType() != TokenType.OPEN) {
+			throw lexer.error("Unexpected content at start of JSON: "+lexer.getType().toString());
+		}
+		int line = lexer.getLine();
+		int col = lexer.getCol();
+		String name = readResourceType("$");
+		if (name == null && captured == null) {
+			logError(line, col, "$", IssueType.INVALID, context.formatMessage(I18nConstants.UNABLE_TO_FIND_RESOURCETYPE_PROPERTY), IssueSeverity.FATAL);
+			return null;
+		} else if (name == null) {
+			// resourceType isn't the first property, so this resource has to be read as a tree
+			return parse(captured);
+		}
+		StructureDefinition sd = getDefinition(line, col, name);
+		if (sd == null)
+			return null;
+
+		Element result = new Element(name, new Property(context, sd.getSnapshot().getElement().get(0), sd));
+		result.markLocation(line, col);
+		result.setType(name);
+		readMembers(name, result, true);
+		result.numberChildren();
+		return result;
+	}
+
+	private JsonObject captured;
+
+	/**
+	 * The lexer is on the start of a resource. If resourceType is its first property, read it, and
+	 * leave the lexer on the token after its value. Otherwise, read the whole object as a json tree
+	 * into captured, and leave the lexer on the token after it.
+	 *
+	 * @return the resource type, or null if the object was read as a tree (or is empty, when captured is null)
+	 */
+	private String readResourceType(String path) throws IOException, FHIRException {
+		int line = lexer.getLine();
+		int col = lexer.getCol();
+		lexer.startCapture("{");
+		lexer.next();
+		checkObject(line, col, path);
+		captured = null;
+		if (lexer.getType() == TokenType.CLOSE) {
+			lexer.stopCapture();
+			lexer.next();
+			return null;
+		}
+		boolean atValue = false;
+		if (lexer.getType() == TokenType.STRING && "resourceType".equals(lexer.getValue())) {
+			lexer.next();
+			lexer.consume(TokenType.COLON);
+			if (lexer.getType() == TokenType.STRING) {
+				String name = lexer.getValue();
+				lexer.stopCapture();
+				lexer.next();
+				return name;
+			}
+			atValue = true;
+		}
+		if (atValue) {
+			skipValue();
+			if (lexer.getType() == TokenType.COMMA) {
+				lexer.next();
+				skipMembers();
+			}
+		} else {
+			skipMembers();
+		}
+		if (lexer.getType() != TokenType.CLOSE) {
+			throw lexer.error("JSON syntax error - found "+lexer.getType().toString()+" expecting "+TokenType.CLOSE.toString());
+		}
+		String source = lexer.stopCapture();
+		lexer.next();
+		map = new IdentityHashMap<JsonElement, LocationData>();
+		captured = JsonTrackingParser.parse(source, map, false, allowComments);
+		lineOffset = line - 1;
+		colOffset = col - 1;
+		return null;
+	}
+
+	private void checkObject(int line, int col, String path) throws FHIRFormatError {
+		if (policy == ValidationPolicy.EVERYTHING && lexer.getType() == TokenType.CLOSE) {
+			logError(line, col, path, IssueType.INVALID, context.formatMessage(I18nConstants.OBJECT_MUST_HAVE_SOME_CONTENT), IssueSeverity.ERROR);
+		}
+	}
+
+	/**
+	 * Read the members of an object into element. The lexer is on the first member (or the close),
+	 * or, if hasResourceType, on the token after the value of resourceType. The lexer is left on the token
+	 * after the object
+	 */
+	private void readMembers(String path, Element element, boolean hasResourceType) throws IOException, FHIRException {
+		JsonObjectState state = new JsonObjectState();
+		List<Property> properties = element.getProperty().getChildProperties(element.getName(), null);
+		state.index = getMemberIndex(properties);
+		state.buckets = new JsonBucket[properties.size()];
+		boolean more;
+		if (hasResourceType) {
+			state.names.add("resourceType");
+			more = lexer.getType() == TokenType.COMMA;
+			if (more) {
+				lexer.next();
+			}
+		} else {
+			more = lexer.getType() != TokenType.CLOSE;
+		}
+		while (more) {
+			readMember(path, element, state);
+			more = lexer.getType() == TokenType.COMMA;
+			if (more) {
+				lexer.next();
+			}
+		}
+		lexer.consume(TokenType.CLOSE);
+
+		for (JsonBucket bucket : state.buckets) {
+			if (bucket != null) {
+				if (bucket.member.primitive) {
+					closePrimitive(path, element, bucket);
+				} else {
+					if (bucket.children != null) {
+						element.getChildren().addAll(bucket.children);
+					}
+					addErrors(bucket.errors);
+				}
+			}
+		}
+		if (policy != ValidationPolicy.NONE && state.unrecognised != null) {
+			Collections.sort(state.unrecognised, (n1, n2) -> Integer.compare(n1.order, n2.order));
+			for (JsonName n : state.unrecognised) {
+				logError(n.line, n.col, path, IssueType.STRUCTURE, context.formatMessage(I18nConstants.UNRECOGNISED_PROPERTY_, n.name), IssueSeverity.ERROR);
+			}
+		}
+	}
+
+	private void readMember(String path, Element element, JsonObjectState state) throws IOException, FHIRException {
+		JsonName name = new JsonName();
+		if (lexer.getType() != TokenType.STRING) {
+			throw lexer.error("JSON syntax error - found "+lexer.getType().toString()+" expecting a property name");
+		}
+		name.name = lexer.getValue();
+		lexer.next();
+		lexer.consume(TokenType.COLON);
+		name.line = lexer.getLine();
+		name.col = lexer.getCol();
+		name.order = state.order++;
+		if (!state.names.add(name.name)) {
+			throw lexer.error("Duplicated property name: "+name.name);
+		}
+		if ("fhir_comments".equals(name.name)) {
+			readComments(element);
+			return;
+		}
+
+		JsonMember member = state.index.get(name.name);
+		if (member == null) {
+			state.unrecognised(name);
+			skipValue();
+			return;
+		}
+		JsonBucket bucket = state.buckets[member.index];
+		if (bucket == null) {
+			bucket = new JsonBucket();
+			bucket.member = member;
+			state.buckets[member.index] = bucket;
+		} else if (!bucket.member.name.equals(member.name)) {
+			// two types of the same choice. parseChildItem only processes the first type in the definition
+			if (member.typeIndex < bucket.member.typeIndex) {
+				if (bucket.mainName != null) {
+					state.unrecognised(bucket.mainName);
+				}
+				if (bucket.forkName != null) {
+					state.unrecognised(bucket.forkName);
+				}
+				bucket = new JsonBucket();
+				bucket.member = member;
+				state.buckets[member.index] = bucket;
+			} else {
+				state.unrecognised(name);
+				skipValue();
+				return;
+			}
+		}
+
+		String npath = path+"."+member.property.getName();
+		if (member.fork) {
+			bucket.forkName = name;
+			bucket.fork = readPrimitiveItem(npath, member, true, member.property.isList());
+		} else if (member.primitive) {
+			bucket.mainName = name;
+			bucket.main = readPrimitiveItem(npath, member, false, member.property.isList());
+		} else {
+			bucket.mainName = name;
+			int mark = errorMark();
+			readComplex(npath, member, bucket);
+			bucket.errors = takeErrors(mark);
+		}
+	}
+
+	private void readComplex(String npath, JsonMember member, JsonBucket bucket) throws IOException, FHIRException {
+		Property property = member.property;
+		bucket.children = new ArrayList<Element>(1);
+		if (property.isList() && lexer.getType() == TokenType.OPEN_ARRAY) {
+			lexer.next();
+			int c = 0;
+			while (lexer.getType() != TokenType.CLOSE_ARRAY) {
+				if (c > 0) {
+					lexer.consume(TokenType.COMMA);
+				}
+				readComplexInstance(npath+"["+c+"]", member, bucket);
+				c++;
+			}
+			lexer.next();
+		} else {
+			if (property.isList()) {
+				logError(lexer.getLine(), lexer.getCol(), npath, IssueType.INVALID, context.formatMessage(I18nConstants.THIS_PROPERTY_MUST_BE_AN_ARRAY_NOT_, describeType(lexer.getType())), IssueSeverity.ERROR);
+			}
+			readComplexInstance(npath, member, bucket);
+		}
+	}
+
+	private void readComplexInstance(String npath, JsonMember member, JsonBucket bucket) throws IOException, FHIRException {
+		Property property = member.property;
+		if (lexer.getType() == TokenType.OPEN) {
+			Element n = new Element(member.name, property).markLocation(lexer.getLine(), lexer.getCol());
+			bucket.children.add(n);
+			if (property.isResource()) {
+				readResource(npath, n, property);
+			} else {
+				int line = lexer.getLine();
+				int col = lexer.getCol();
+				lexer.next();
+				checkObject(line, col, npath);
+				readMembers(npath, n, false);
+			}
+		} else {
+			logError(lexer.getLine(), lexer.getCol(), npath, IssueType.INVALID, context.formatMessage(I18nConstants.THIS_PROPERTY_MUST_BE__NOT_, (property.isList() ? "an Array" : "an Object"), describe(lexer.getType())), IssueSeverity.ERROR);
+			skipValue();
+		}
+	}
+
+	private void readResource(String npath, Element parent, Property elementProperty) throws IOException, FHIRException {
+		int line = lexer.getLine();
+		int col = lexer.getCol();
+		String name = readResourceType(npath);
+		if (name == null && captured == null) {
+			logError(line, col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.UNABLE_TO_FIND_RESOURCETYPE_PROPERTY), IssueSeverity.FATAL);
+		} else if (name == null) {
+			try {
+				parseResource(npath, captured, parent, elementProperty);
+			} finally {
+				captured = null;
+				map = null;
+				lineOffset = 0;
+				colOffset = 0;
+			}
+		} else {
+			StructureDefinition sd = context.fetchResource(StructureDefinition.class, ProfileUtilities.sdNs(name, context.getOverrideVersionNs()));
+			if (sd == null)
+				throw new FHIRFormatError(context.formatMessage(I18nConstants.CONTAINED_RESOURCE_DOES_NOT_APPEAR_TO_BE_A_FHIR_RESOURCE_UNKNOWN_NAME_, name));
+			parent.updateProperty(new Property(context, sd.getSnapshot().getElement().get(0), sd), SpecialElement.fromProperty(parent.getProperty()), elementProperty);
+			parent.setType(name);
+			readMembers(npath, parent, true);
+		}
+	}
+
+	/**
+	 * Read the value of a primitive, or its _ object. The value isn't checked until the object it is part of
+	 * closes, because that depends on what else is present. The _ objects are read into elements here, but
+	 * their errors are kept with them until then
+	 */
+	private JsonItem readPrimitiveItem(String npath, JsonMember member, boolean fork, boolean list) throws IOException, FHIRException {
+		JsonItem item = new JsonItem();
+		item.type = lexer.getType();
+		item.line = lexer.getLine();
+		item.col = lexer.getCol();
+		switch (item.type) {
+		case STRING:
+		case NUMBER:
+		case BOOLEAN:
+			item.value = lexer.getValue();
+			lexer.next();
+			break;
+		case NULL:
+			lexer.next();
+			break;
+		case OPEN:
+			if (fork) {
+				int mark = errorMark();
+				item.element = new Element(member.name, member.property);
+				lexer.next();
+				checkObject(item.line, item.col, npath);
+				readMembers(npath, item.element, false);
+				item.errors = takeErrors(mark);
+			} else {
+				skipValue();
+			}
+			break;
+		case OPEN_ARRAY:
+			if (list) {
+				item.items = new ArrayList<JsonItem>();
+				lexer.next();
+				while (lexer.getType() != TokenType.CLOSE_ARRAY) {
+					if (!item.items.isEmpty()) {
+						lexer.consume(TokenType.COMMA);
+					}
+					item.items.add(readPrimitiveItem(npath, member, fork, false));
+				}
+				lexer.next();
+			} else {
+				skipValue();
+			}
+			break;
+		default:
+			throw lexer.error("Unexpected "+item.type.toString()+" in json stream");
+		}
+		return item;
+	}
+
+	private void closePrimitive(String path, Element element, JsonBucket bucket) throws FHIRException {
+		Property property = bucket.member.property;
+		String name = bucket.member.name;
+		String npath = path+"."+property.getName();
+		JsonItem main = bucket.main;
+		JsonItem fork = bucket.fork;
+		if (property.isList()) {
+			boolean ok = true;
+			if (!(main == null || main.type == TokenType.OPEN_ARRAY)) {
+				logError(main.line, main.col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.THIS_PROPERTY_MUST_BE_AN_ARRAY_NOT_A_, describe(main)), IssueSeverity.ERROR);
+				ok = false;
+			}
+			if (!(fork == null || fork.type == TokenType.OPEN_ARRAY)) {
+				logError(fork.line, fork.col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.THIS_BASE_PROPERTY_MUST_BE_AN_ARRAY_NOT_A_, describe(main)), IssueSeverity.ERROR);
+				ok = false;
+			}
+			if (ok) {
+				for (int i = 0; i < Math.max(itemC(main), itemC(fork)); i++) {
+					closePrimitiveInstance(element, property, name, npath, itemI(main, i), itemI(fork, i));
+				}
+			}
+		} else {
+			closePrimitiveInstance(element, property, name, npath, main, fork);
+		}
+	}
+
+	private JsonItem itemI(JsonItem item, int i) {
+		return item == null || i >= item.items.size() || item.items.get(i).type == TokenType.NULL ? null : item.items.get(i);
+	}
+
+	private int itemC(JsonItem item) {
+		return item == null ? 0 : item.items.size();
+	}
+
+	private void closePrimitiveInstance(Element element, Property property, String name, String npath, JsonItem main, JsonItem fork) throws FHIRException {
+		if (main != null && !isScalar(main.type))
+			logError(main.line, main.col, npath, IssueType.INVALID, context.formatMessage(
+					I18nConstants.THIS_PROPERTY_MUST_BE_AN_SIMPLE_VALUE_NOT_, describe(main)), IssueSeverity.ERROR);
+		else if (fork != null && fork.type != TokenType.OPEN)
+			logError(fork.line, fork.col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.THIS_PROPERTY_MUST_BE_AN_OBJECT_NOT_, describe(fork)), IssueSeverity.ERROR);
+		else {
+			Element n = fork != null ? fork.element : new Element(name, property);
+			n.markLocation(main != null ? main.line : fork.line, main != null ? main.col : fork.col);
+			element.getChildren().add(n);
+			if (main != null) {
+				n.setValue(main.value);
+				if (!n.getProperty().isChoice() && n.getType().equals("xhtml")) {
+					try {
+						n.setXhtml(new XhtmlParser().setValidatorMode(policy == ValidationPolicy.EVERYTHING).parse(n.getValue(), null).getDocumentElement());
+					} catch (Exception e) {
+						logError(main.line, main.col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.ERROR_PARSING_XHTML_, e.getMessage()), IssueSeverity.ERROR);
+					}
+				}
+				if (policy == ValidationPolicy.EVERYTHING) {
+					// now we cross-check the primitive format against the stated type
+					if (Utilities.existsInList(n.getType(), "boolean")) {
+						if (main.type != TokenType.BOOLEAN)
+							logError(main.line, main.col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.ERROR_PARSING_JSON_THE_PRIMITIVE_VALUE_MUST_BE_A_BOOLEAN), IssueSeverity.ERROR);
+					} else if (Utilities.existsInList(n.getType(), "integer", "unsignedInt", "positiveInt", "decimal")) {
+						if (main.type != TokenType.NUMBER)
+							logError(main.line, main.col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.ERROR_PARSING_JSON_THE_PRIMITIVE_VALUE_MUST_BE_A_NUMBER), IssueSeverity.ERROR);
+					} else if (main.type != TokenType.STRING)
+						logError(main.line, main.col, npath, IssueType.INVALID, context.formatMessage(I18nConstants.ERROR_PARSING_JSON_THE_PRIMITIVE_VALUE_MUST_BE_A_STRING), IssueSeverity.ERROR);
+				}
+			}
+			if (fork != null) {
+				addErrors(fork.errors);
+			}
+		}
+	}
+
+	private boolean isScalar(TokenType type) {
+		return type == TokenType.STRING || type == TokenType.NUMBER || type == TokenType.BOOLEAN;
+	}
+
+	private String describe(JsonItem item) {
+		return item == null ? "a primitive property" : describe(item.type);
+	}
+
+	private String describe(TokenType type) {
+		switch (type) {
+		case OPEN_ARRAY: return "an array";
+		case OPEN: return "an object";
+		case NULL: return "null";
+		default: return "a primitive property";
+		}
+	}
+
+	private String describeType(TokenType type) {
+		switch (type) {
+		case OPEN_ARRAY: return "an Array";
+		case OPEN: return "an Object";
+		case NULL: return "a Null";
+		default: return "a primitive property";
+		}
+	}
+
+	private void readComments(Element element) throws IOException {
+		if (lexer.getType() == TokenType.OPEN_ARRAY) {
+			lexer.next();
+			boolean first = true;
+			while (lexer.getType() != TokenType.CLOSE_ARRAY) {
+				if (!first) {
+					lexer.consume(TokenType.COMMA);
+				}
+				first = false;
+				if (isScalar(lexer.getType())) {
+					element.getComments().add(lexer.getValue());
+					lexer.next();
+				} else {
+					skipValue();
+				}
+			}
+			lexer.next();
+		} else {
+			skipValue();
+		}
+	}
+
+	/**
+	 * Skip over a value, leaving the lexer on the token after it
+	 */
+	private void skipValue() throws IOException {
+		switch (lexer.getType()) {
+		case STRING:
+		case NUMBER:
+		case BOOLEAN:
+		case NULL:
+			lexer.next();
+			break;
+		case OPEN:
+			lexer.next();
+			skipMembers();
+			lexer.consume(TokenType.CLOSE);
+			break;
+		case OPEN_ARRAY:
+			lexer.next();
+			boolean first = true;
+			while (lexer.getType() != TokenType.CLOSE_ARRAY) {
+				if (!first) {
+					lexer.consume(TokenType.COMMA);
+				}
+				first = false;
+				skipValue();
+			}
+			lexer.next();
+			break;
+		default:
+			throw lexer.error("Unexpected "+lexer.getType().toString()+" in json stream");
+		}
+	}
+
+	/**
+	 * Skip over the members of an object, leaving the lexer on the close of the object
+	 */
+	private void skipMembers() throws IOException {
+		boolean more = lexer.getType() != TokenType.CLOSE;
+		while (more) {
+			if (lexer.getType() != TokenType.STRING) {
+				throw lexer.error("JSON syntax error - found "+lexer.getType().toString()+" expecting a property name");
+			}
+			lexer.next();
+			lexer.consume(TokenType.COLON);
+			skipValue();
+			more = lexer.getType() == TokenType.COMMA;
+			if (more) {
+				lexer.next();
+			}
+		}
+	}
+
+	private Map<String, JsonMember> getMemberIndex(List<Property> properties) {
+		Map<String, JsonMember> index = memberIndex.get(properties);
+		if (index == null) {
+			index = new HashMap<String, JsonMember>();
+			for (int i = 0; i < properties.size(); i++) {
+				Property property = properties.get(i);
+				if (property.isChoice() || property.getDefinition().getPath().endsWith("data[x]")) {
+					int t = 0;
+					for (TypeRefComponent type : property.getDefinition().getType()) {
+						String eName = property.getName().substring(0, property.getName().length()-3) + Utilities.capitalize(type.getWorkingCode());
+						addMember(index, i, property, eName, t, isPrimitive(type.getWorkingCode()));
+						t++;
+					}
+				} else {
+					addMember(index, i, property, property.getName(), 0, property.isPrimitive(property.getType(null)));
+				}
+			}
+			memberIndex.put(properties, index);
+		}
+		return index;
+	}
+
+	private void addMember(Map<String, JsonMember> index, int i, Property property, String name, int typeIndex, boolean primitive) {
+		JsonMember member = new JsonMember();
+		member.index = i;
+		member.property = property;
+		member.name = name;
+		member.typeIndex = typeIndex;
+		member.primitive = primitive;
+		if (!index.containsKey(name)) {
+			index.put(name, member);
+		}
+		if (primitive && !index.containsKey("_"+name)) {
+			JsonMember fork = new JsonMember();
+			fork.index = i;
+			fork.property = property;
+			fork.name = name;
+			fork.typeIndex = typeIndex;
+			fork.primitive = true;
+			fork.fork = true;
+			index.put("_"+name, fork);
+		}
+	}
+
 
 	protected void prop(String name, String value, String link) throws IOException {
     json.link(link);
@@ -45,7 +45,11 @@ import org.hl7.fhir.r5.model.StructureDefinition;
 public class Manager {
 
   //TODO use EnumMap
-  public enum FhirFormat { XML, JSON, TURTLE, TEXT, VBAR;
+  /**
+   * NDJSON is a stream of JSON resources, one per line (e.g. a bulk data export). There's no parser for it:
+   * read each line, and parse it as JSON
+   */
+  public enum FhirFormat { XML, JSON, TURTLE, TEXT, VBAR, NDJSON;
 
     public String getExtension() {
       switch (this) {
@@ -59,6 +63,8 @@ public class Manager {
           return "txt";
         case VBAR:
           return "hl7";
+        case NDJSON:
+          return "ndjson";
       }
       return null;
     }
@@ -75,6 +81,8 @@ public class Manager {
           return TEXT;
         case "hl7":
           return VBAR;
+        case "ndjson":
+          return NDJSON;
       }
       return null;
     }
@@ -96,6 +104,7 @@ public class Manager {
     case TURTLE : return new TurtleParser(context);
     case VBAR : return new VerticalBarParser(context);
     case TEXT : throw new Error("Programming logic error: do not call makeParser for a text resource");
+    case NDJSON : throw new FHIRException("NDJSON content can't be parsed as a single resource - each line is a JSON resource");
     }
     return null;
   }
@@ -34,6 +34,7 @@ package org.hl7.fhir.r5.elementmodel;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hl7.fhir.exceptions.DefinitionException;
@@ -98,6 +99,31 @@ public abstract class ParserBase {
 	  } else if (level == IssueSeverity.FATAL || (level == IssueSeverity.ERROR && policy == ValidationPolicy.QUICK))
 	    throw new FHIRFormatError(message+String.format(" at line %d col %d", line, col));
 	}
+
+  // the streaming parsers hold back the errors found in part of the source, so they can report them in the same order as the tree based parsers
+
+  protected int errorMark() {
+    return errors == null ? 0 : errors.size();
+  }
+
+  /**
+   * @return the errors logged since mark, which are removed from the list (null if there aren't any)
+   */
+  protected List<ValidationMessage> takeErrors(int mark) {
+    if (errors == null || errors.size() <= mark) {
+      return null;
+    }
+    List<ValidationMessage> sublist = errors.subList(mark, errors.size());
+    List<ValidationMessage> result = new ArrayList<ValidationMessage>(sublist);
+    sublist.clear();
+    return result;
+  }
+
+  protected void addErrors(List<ValidationMessage> list) {
+    if (list != null && errors != null) {
+      errors.addAll(list);
+    }
+  }
 	
 	
 	protected StructureDefinition getDefinition(int line, int col, String ns, String name) throws FHIRFormatError {
@@ -31,7 +31,6 @@ package org.hl7.fhir.r5.elementmodel;
 
 
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.hl7.fhir.exceptions.DefinitionException;
@@ -55,13 +54,11 @@ public class Property {
 	private ElementDefinition definition;
 	private StructureDefinition structure;
 	private Boolean canBePrimitive;
-  private ProfileUtilities profileUtilities; 
 
 	public Property(IWorkerContext context, ElementDefinition definition, StructureDefinition structure) {
 		this.context = context;
 		this.definition = definition;
 		this.structure = structure;
-    profileUtilities = new ProfileUtilities(context, null, null); 
 	}
 
 	public String getName() {
@@ -270,7 +267,8 @@ public class Property {
   protected List<Property> getChildProperties(String elementName, String statedType) throws FHIRException {
     ElementDefinition ed = definition;
     StructureDefinition sd = structure;
-    List<ElementDefinition> children = profileUtilities.getChildMap(sd, ed);
+    PropertyCache cache = context.getPropertyCache();
+    List<ElementDefinition> children = cache.getChildDefinitions(sd, ed);
     String url = null;
     if (children.isEmpty() || isElementWithOnlyExtension(ed, children)) {
       // ok, find the right definitions
@@ -335,20 +333,17 @@ public class Property {
         sd = context.fetchResource(StructureDefinition.class, url);        
         if (sd == null)
           throw new DefinitionException("Unable to find type '"+t+"' for name '"+elementName+"' on property "+definition.getPath());
-        children = profileUtilities.getChildMap(sd, sd.getSnapshot().getElement().get(0));
+        ed = sd.getSnapshot().getElement().get(0);
       }
     }
-    List<Property> properties = new ArrayList<Property>();
-    for (ElementDefinition child : children) {
-      properties.add(new Property(context, child, sd));
-    }
-    return properties;
+    return cache.getChildProperties(sd, ed);
   }
 
   protected List<Property> getChildProperties(TypeDetails type) throws DefinitionException {
     ElementDefinition ed = definition;
     StructureDefinition sd = structure;
-    List<ElementDefinition> children = profileUtilities.getChildMap(sd, ed);
+    PropertyCache cache = context.getPropertyCache();
+    List<ElementDefinition> children = cache.getChildDefinitions(sd, ed);
     if (children.isEmpty()) {
       // ok, find the right definitions
       String t = null;
@@ -374,14 +369,10 @@ public class Property {
         sd = context.fetchResource(StructureDefinition.class, t);
         if (sd == null)
           throw new DefinitionException("Unable to find class '"+t+"' for name '"+ed.getPath()+"' on property "+definition.getPath());
-        children = profileUtilities.getChildMap(sd, sd.getSnapshot().getElement().get(0));
+        ed = sd.getSnapshot().getElement().get(0);
       }
     }
-    List<Property> properties = new ArrayList<Property>();
-    for (ElementDefinition child : children) {
-      properties.add(new Property(context, child, sd));
-    }
-    return properties;
+    return cache.getChildProperties(sd, ed);
   }
 
   private String tail(String path) {
@@ -0,0 +1,117 @@
+package org.hl7.fhir.r5.elementmodel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hl7.fhir.exceptions.DefinitionException;
+import org.hl7.fhir.r5.conformance.ProfileUtilities;
+import org.hl7.fhir.r5.context.IWorkerContext;
+import org.hl7.fhir.r5.model.ElementDefinition;
+import org.hl7.fhir.r5.model.StructureDefinition;
+
+/**
+ * The children of the elements in the structure definitions of a context, and the Property for each of
+ * them, so that the element model parsers don't work them out again for every node they parse.
+ *
+ * Entries are keyed by the structure definition's url and version, and the element's id, so there is at
+ * most one entry per element however many copies of a structure definition are parsed against. An entry
+ * is only used for the same structure definition and element definition objects it was made from, so
+ * a structure definition that has been changed or had its snapshot regenerated gets a new entry.
+ *
+ * The lists are unmodifiable, and are shared by everything that uses the context. The context clears
+ * the cache when structure definitions are added or dropped, or their snapshots are generated. When
+ * the cache is full, it is simply cleared.
+ *
+ */
+public class PropertyCache {
+
+  public static final int DEFAULT_SIZE = 20000;
+
+  private class ChildList {
+    private StructureDefinition structure;
+    private ElementDefinition definition;
+    private List<ElementDefinition> definitions;
+    private List<Property> properties;
+  }
+
+  private IWorkerContext context;
+  private final int maxSize;
+  private volatile ProfileUtilities profileUtilities;
+  private Map<String, ChildList> children = new ConcurrentHashMap<>();
+
+  public PropertyCache(IWorkerContext context) {
+    this(context, DEFAULT_SIZE);
+  }
+
+  public PropertyCache(IWorkerContext context, int maxSize) {
+    super();
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size must be at least 1");
+    }
+    this.context = context;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @return the direct children of ed in sd (see ProfileUtilities.getChildMap)
+   */
+  public List<ElementDefinition> getChildDefinitions(StructureDefinition sd, ElementDefinition ed) throws DefinitionException {
+    return getChildList(sd, ed).definitions;
+  }
+
+  /**
+   * @return a Property for each of the direct children of ed in sd
+   */
+  public List<Property> getChildProperties(StructureDefinition sd, ElementDefinition ed) throws DefinitionException {
+    return getChildList(sd, ed).properties;
+  }
+
+  public void clear() {
+    children.clear();
+  }
+
+  public int size() {
+    return children.size();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  private String keyFor(StructureDefinition sd, ElementDefinition ed) {
+    return sd.getUrl()+"|"+sd.getVersion()+"#"+(ed.hasId() ? ed.getId() : ed.getPath());
+  }
+
+  private ChildList getChildList(StructureDefinition sd, ElementDefinition ed) throws DefinitionException {
+    String key = keyFor(sd, ed);
+    ChildList cl = children.get(key);
+    if (cl == null || cl.structure != sd || cl.definition != ed) {
+      cl = new ChildList();
+      cl.structure = sd;
+      cl.definition = ed;
+      List<ElementDefinition> list = getProfileUtilities().getChildMap(sd, ed);
+      List<Property> properties = new ArrayList<>(list.size());
+      for (ElementDefinition child : list) {
+        properties.add(new Property(context, child, sd));
+      }
+      cl.definitions = Collections.unmodifiableList(list);
+      cl.properties = Collections.unmodifiableList(properties);
+      if (children.size() >= maxSize) {
+        children.clear();
+      }
+      children.put(key, cl);
+    }
+    return cl;
+  }
+
+  private ProfileUtilities getProfileUtilities() {
+    if (profileUtilities == null) {
+      // not in the constructor, because the context is still being constructed then
+      profileUtilities = new ProfileUtilities(context, null, null);
+    }
+    return profileUtilities;
+  }
+}
@@ -36,16 +36,16 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Stack;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMResult;
-import javax.xml.transform.sax.SAXSource;
 
 import org.hl7.fhir.exceptions.DefinitionException;
 import org.hl7.fhir.exceptions.FHIRException;
@@ -60,11 +60,11 @@ import org.hl7.fhir.r5.model.ElementDefinition.PropertyRepresentation;
 import org.hl7.fhir.r5.model.Enumeration;
 import org.hl7.fhir.r5.model.StructureDefinition;
 import org.hl7.fhir.r5.utils.ToolingExtensions;
-import org.hl7.fhir.r5.utils.formats.XmlLocationAnnotator;
 import org.hl7.fhir.r5.utils.formats.XmlLocationData;
 import org.hl7.fhir.utilities.ElementDecoration;
 import org.hl7.fhir.utilities.Utilities;
 import org.hl7.fhir.utilities.i18n.I18nConstants;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
 import org.hl7.fhir.utilities.validation.ValidationMessage.IssueSeverity;
 import org.hl7.fhir.utilities.validation.ValidationMessage.IssueType;
 import org.hl7.fhir.utilities.xhtml.CDANarrativeFormat;
@@ -76,12 +76,19 @@ import org.hl7.fhir.utilities.xml.XMLUtil;
 import org.hl7.fhir.utilities.xml.XMLWriter;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.DefaultHandler;
 
 public class XmlParser extends ParserBase {
   private boolean allowXsiLocation;
   private String version;
+  private Map<List<Property>, Map<String, Property>> elementProps = new IdentityHashMap<List<Property>, Map<String, Property>>();
 
   public XmlParser(IWorkerContext context) {
     super(context);
@@ -96,61 +103,63 @@ public class XmlParser extends ParserBase {
     this.allowXsiLocation = allowXsiLocation;
   }
 
+  /**
+   * Parse the stream with a SAX reader, building the elements as the events arrive, without
+   * building a DOM first. The elements and errors are the same as parsing a DOM that was
+   * annotated with XmlLocationAnnotator using parse(Document)
+   */
   public Element parse(InputStream stream) throws FHIRFormatError, DefinitionException, FHIRException, IOException {
-		Document doc = null;
-  	try {
-  		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-  		// xxe protection
-  		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-  		factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-  		factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-  		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-  		factory.setXIncludeAware(false);
-  		factory.setExpandEntityReferences(false);
-  			
-  		factory.setNamespaceAware(true);
-  		if (policy == ValidationPolicy.EVERYTHING) {
-  		  // The SAX interface appears to not work when reporting the correct version/encoding.
-  		  // if we can, we'll inspect the header/encoding ourselves 
-  		  if (stream.markSupported()) {
-  		    stream.mark(1024);
-  		    version = checkHeader(stream);
-  		    stream.reset();
-  		  }
-  			// use a slower parser that keeps location data
-  			TransformerFactory transformerFactory = TransformerFactory.newInstance();
-  			Transformer nullTransformer = transformerFactory.newTransformer();
-  			DocumentBuilder docBuilder = factory.newDocumentBuilder();
-  			doc = docBuilder.newDocument();
-  			DOMResult domResult = new DOMResult(doc);
-  			SAXParserFactory spf = SAXParserFactory.newInstance();
-  			spf.setNamespaceAware(true);
-  			spf.setValidating(false);
-    		// xxe protection
-  		  spf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        spf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-  			SAXParser saxParser = spf.newSAXParser();
-  			XMLReader xmlReader = saxParser.getXMLReader();
-    		// xxe protection
-  		  xmlReader.setFeature("http://xml.org/sax/features/external-general-entities", false);
-  		  xmlReader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-  	   			
-  			XmlLocationAnnotator locationAnnotator = new XmlLocationAnnotator(xmlReader, doc);
-  			InputSource inputSource = new InputSource(stream);
-  			SAXSource saxSource = new SAXSource(locationAnnotator, inputSource);
-  			nullTransformer.transform(saxSource, domResult);
-  		} else {
-  			DocumentBuilder builder = factory.newDocumentBuilder();
-  			doc = builder.parse(stream);
-  		}
-  	} catch (Exception e) {
-      logError(0, 0, "(syntax)", IssueType.INVALID, e.getMessage(), IssueSeverity.FATAL);
-      doc = null;
-  	}
-  	if (doc == null)
-  		return null;
-  	else
-      return parse(doc);
+    int mark = errorMark();
+    try {
+      if (policy == ValidationPolicy.EVERYTHING) {
+        // The SAX interface appears to not work when reporting the correct version/encoding.
+        // if we can, we'll inspect the header/encoding ourselves 
+        if (stream.markSupported()) {
+          stream.mark(1024);
+          version = checkHeader(stream);
+          stream.reset();
+        }
+      }
+      SAXParserFactory spf = SAXParserFactory.newInstance();
+      spf.setNamespaceAware(true);
+      spf.setValidating(false);
+      // xxe protection
+      spf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+      spf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+      spf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+      spf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      spf.setXIncludeAware(false);
+      SAXParser saxParser = spf.newSAXParser();
+      XMLReader xmlReader = saxParser.getXMLReader();
+      // xxe protection
+      xmlReader.setFeature("http://xml.org/sax/features/external-general-entities", false);
+      xmlReader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+
+      XmlStreamHandler handler = new XmlStreamHandler();
+      xmlReader.setContentHandler(handler);
+      xmlReader.setErrorHandler(handler);
+      xmlReader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+      xmlReader.parse(new InputSource(stream));
+      return handler.result;
+    } catch (FHIRException e) {
+      throw e;
+    } catch (SAXParseException e) {
+      return syntaxError(mark, e.getLineNumber(), e.getColumnNumber(), e.getMessage());
+    } catch (SAXException e) {
+      if (e.getException() instanceof FHIRException) {
+        throw (FHIRException) e.getException();
+      }
+      return syntaxError(mark, 0, 0, e.getMessage());
+    } catch (Exception e) {
+      return syntaxError(mark, 0, 0, e.getMessage());
+    }
+  }
+
+  private Element syntaxError(int mark, int line, int col, String message) throws FHIRFormatError {
+    // the document isn't well formed, so any errors found before the problem was reached are of no interest
+    takeErrors(mark);
+    logError(line, col, "(syntax)", IssueType.INVALID, message, IssueSeverity.FATAL);
+    return null;
   }
 
 
@@ -406,6 +415,21 @@ public class XmlParser extends ParserBase {
 
 
   private Property getElementProp(List<Property> properties, String nodeName, String namespace) {
+    Map<String, Property> cache = elementProps.get(properties);
+    if (cache == null) {
+      cache = new HashMap<String, Property>();
+      elementProps.put(properties, cache);
+    }
+    String key = namespace+"#"+nodeName;
+    if (cache.containsKey(key)) {
+      return cache.get(key);
+    }
+    Property result = findElementProp(properties, nodeName, namespace);
+    cache.put(key, result);
+    return result;
+  }
+
+  private Property findElementProp(List<Property> properties, String nodeName, String namespace) {
 		List<Property> propsSortedByLongestFirst = new ArrayList<Property>(properties);
 		// sort properties according to their name longest first, so .requestOrganizationReference comes first before .request[x]
 		// and therefore the longer property names get evaluated first
@@ -483,6 +507,519 @@ public class XmlParser extends ParserBase {
     parseChildren(res.getLocalName(), res, parent);
 	}
 
+  // --- streaming -----------------------------------------------------------------------------------
+  //
+  // The SAX events are turned into elements as they arrive. What parseChildren works out from the text and
+  // attributes of a node can only be done when the node ends, so the errors found in the children of a node are
+  // held back until then, and reported after the errors about the node itself, as parseChildren reports them.
+
+  private enum XmlFrameKind {
+    ELEMENT, // content is parsed into an element
+    CONTAINER, // holds a resource
+    UNTYPED, // a choice with no type - it's checked, but its content isn't parsed
+    XHTML, // part of a narrative, collected into a DOM for the xhtml parser
+    IGNORED // an unknown element, or something else that parseChildren doesn't look at
+  }
+
+  private class XmlAttribute {
+    private String uri;
+    private String localName;
+    private String qName;
+    private String value;
+  }
+
+  /**
+   * The state of an element that has started, but not ended
+   */
+  private class XmlFrame {
+    private XmlFrameKind kind;
+    private Element element;
+    private String path;
+    private String localName;
+    private String qName;
+    private String namespace;
+    private int line;
+    private int col;
+    private int mark;
+    private List<Property> properties;
+    private Property checkProperty; // if checkElement applies to this node
+    private String noTypePath; // if this is a choice that has no type
+    private List<XmlAttribute> attributes;
+    private boolean hasContent;
+    private boolean hasChildElement;
+    private int lastChildLine;
+    private int lastChildCol;
+    private StringBuilder text;
+    private boolean textInSegment; // text found since the last child element
+    private List<int[]> textLocations;
+    private List<String> comments; // since the last child element
+    private org.w3c.dom.Element dom;
+    private Property xhtmlProperty;
+    private boolean hasResource;
+  }
+
+  private class XmlStreamHandler extends DefaultHandler implements LexicalHandler {
+    private Element result;
+    private Locator locator;
+    private Stack<XmlFrame> stack = new Stack<XmlFrame>();
+    private boolean started;
+    private List<String> comments = new ArrayList<String>(); // before the root
+    private int processingInstructions;
+    private int mark;
+    private String rootNamespace;
+    private List<String[]> prefixMappings = new ArrayList<String[]>();
+    private Document xhtmlDocument;
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+      this.locator = locator;
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+      mark = errorMark();
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+      // see checkForProcessingInstruction
+      if (policy == ValidationPolicy.EVERYTHING && processingInstructions > 0 && FormatUtilities.FHIR_NS.equals(rootNamespace)) {
+        List<ValidationMessage> tail = takeErrors(mark);
+        for (int i = 0; i < processingInstructions; i++) {
+          logError(0, 0, "(document)", IssueType.INVALID, context.formatMessage(I18nConstants.NO_PROCESSING_INSTRUCTIONS_ALLOWED_IN_RESOURCES), IssueSeverity.ERROR);
+        }
+        addErrors(tail);
+      }
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+      prefixMappings.add(new String[] {prefix, uri});
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+      XmlFrame frame = new XmlFrame();
+      frame.localName = localName;
+      frame.qName = qName;
+      frame.namespace = Utilities.noString(uri) ? null : uri;
+      frame.line = locator.getLineNumber();
+      frame.col = locator.getColumnNumber();
+      frame.mark = errorMark();
+      frame.hasContent = atts.getLength() > 0;
+      XmlFrame parent = stack.isEmpty() ? null : stack.peek();
+      if (parent == null) {
+        if (started) {
+          frame.kind = XmlFrameKind.IGNORED;
+        } else {
+          started = true;
+          startRoot(frame, atts);
+        }
+      } else {
+        parent.hasContent = true;
+        switch (parent.kind) {
+        case ELEMENT:
+          startChild(parent, frame, atts);
+          break;
+        case CONTAINER:
+          if (parent.hasResource) {
+            frame.kind = XmlFrameKind.IGNORED;
+          } else {
+            parent.hasResource = true;
+            startResource(parent, frame, atts);
+          }
+          break;
+        case XHTML:
+          frame.kind = XmlFrameKind.XHTML;
+          frame.dom = makeDomElement(parent.dom, uri, qName, atts);
+          break;
+        default:
+          frame.kind = XmlFrameKind.IGNORED;
+        }
+      }
+      prefixMappings.clear();
+      stack.push(frame);
+    }
+
+    private void startRoot(XmlFrame frame, Attributes atts) throws FHIRFormatError, DefinitionException {
+      rootNamespace = frame.namespace;
+      StructureDefinition sd = getDefinition(frame.line, frame.col, (frame.namespace == null ? "default" : frame.namespace), frame.localName);
+      if (sd == null) {
+        frame.kind = XmlFrameKind.IGNORED;
+        return;
+      }
+      result = new Element(frame.localName, new Property(context, sd.getSnapshot().getElement().get(0), sd));
+      result.markLocation(frame.line, frame.col);
+      result.setType(frame.localName);
+      frame.kind = XmlFrameKind.ELEMENT;
+      frame.element = result;
+      frame.path = "/"+pathPrefix(frame.namespace)+frame.localName;
+      frame.checkProperty = result.getProperty();
+      startContent(frame, atts, comments);
+    }
+
+    private void startChild(XmlFrame parent, XmlFrame frame, Attributes atts) throws FHIRFormatError, DefinitionException, SAXException {
+      if (parent.textInSegment) {
+        parent.textLocations.add(new int[] {frame.line, frame.col});
+        parent.textInSegment = false;
+      }
+      parent.hasChildElement = true;
+      parent.lastChildLine = frame.line;
+      parent.lastChildCol = frame.col;
+      List<String> preceding = parent.comments;
+      parent.comments = null;
+
+      Property property = getElementProp(parent.properties, frame.localName, frame.namespace);
+      if (property == null) {
+        logError(frame.line, frame.col, parent.path, IssueType.STRUCTURE, context.formatMessage(I18nConstants.UNDEFINED_ELEMENT_, frame.localName), IssueSeverity.ERROR);
+        frame.kind = XmlFrameKind.IGNORED;
+      } else if (!property.isChoice() && "xhtml".equals(property.getType())) {
+        frame.kind = XmlFrameKind.XHTML;
+        frame.element = parent.element;
+        frame.xhtmlProperty = property;
+        frame.dom = makeDomElement(null, frame.namespace, frame.qName, atts);
+      } else {
+        Element n = new Element(frame.localName, property).markLocation(frame.line, frame.col);
+        frame.element = n;
+        frame.path = parent.path+"/"+pathPrefix(frame.namespace)+frame.localName;
+        frame.checkProperty = n.getProperty();
+        boolean ok = true;
+        if (property.isChoice()) {
+          if (property.getDefinition().hasRepresentation(PropertyRepresentation.TYPEATTR)) {
+            String xsiType = atts.getValue(FormatUtilities.NS_XSI, "type");
+            if (Utilities.noString(xsiType)) {
+              if (ToolingExtensions.hasExtension(property.getDefinition(), "http://hl7.org/fhir/StructureDefinition/elementdefinition-defaulttype")) {
+                xsiType = ToolingExtensions.readStringExtension(property.getDefinition(), "http://hl7.org/fhir/StructureDefinition/elementdefinition-defaulttype");
+                n.setType(xsiType);
+              } else {
+                frame.noTypePath = parent.path;
+                ok = false;
+              }
+            } else {
+              if (xsiType.contains(":"))
+                xsiType = xsiType.substring(xsiType.indexOf(":")+1);
+              n.setType(xsiType);
+              n.setExplicitType(xsiType);
+            }
+          } else
+            n.setType(n.getType());
+        }
+        parent.element.getChildren().add(n);
+        if (!ok) {
+          frame.kind = XmlFrameKind.UNTYPED;
+        } else if (property.isResource()) {
+          frame.kind = XmlFrameKind.CONTAINER;
+        } else {
+          frame.kind = XmlFrameKind.ELEMENT;
+          startContent(frame, atts, preceding);
+        }
+      }
+    }
+
+    private void startResource(XmlFrame container, XmlFrame frame, Attributes atts) throws FHIRFormatError, DefinitionException {
+      String name = frame.localName;
+      StructureDefinition sd = context.fetchResource(StructureDefinition.class, ProfileUtilities.sdNs(name, context.getOverrideVersionNs()));
+      if (sd == null)
+        throw new FHIRFormatError(context.formatMessage(I18nConstants.CONTAINED_RESOURCE_DOES_NOT_APPEAR_TO_BE_A_FHIR_RESOURCE_UNKNOWN_NAME_, name));
+      Element parent = container.element;
+      parent.updateProperty(new Property(context, sd.getSnapshot().getElement().get(0), sd), SpecialElement.fromProperty(parent.getProperty()), container.checkProperty);
+      parent.setType(name);
+      frame.kind = XmlFrameKind.ELEMENT;
+      frame.element = parent;
+      frame.path = name;
+      List<String> preceding = container.comments;
+      container.comments = null;
+      startContent(frame, atts, preceding);
+    }
+
+    private void startContent(XmlFrame frame, Attributes atts, List<String> preceding) throws DefinitionException {
+      if (preceding != null) {
+        frame.element.getComments().addAll(0, preceding);
+      }
+      frame.properties = frame.element.getProperty().getChildProperties(frame.element.getName(), atts.getValue(FormatUtilities.NS_XSI, "type"));
+      frame.text = new StringBuilder();
+      frame.textLocations = new ArrayList<int[]>(0);
+      frame.attributes = new ArrayList<XmlAttribute>(atts.getLength());
+      for (int i = 0; i < atts.getLength(); i++) {
+        XmlAttribute attr = new XmlAttribute();
+        attr.uri = Utilities.noString(atts.getURI(i)) ? null : atts.getURI(i);
+        attr.localName = atts.getLocalName(i);
+        attr.qName = atts.getQName(i);
+        attr.value = atts.getValue(i);
+        frame.attributes.add(attr);
+      }
+      if (frame.attributes.size() > 1) {
+        // the DOM keeps attributes in name order
+        Collections.sort(frame.attributes, (a1, a2) -> a1.qName.compareTo(a2.qName));
+      }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+      XmlFrame frame = stack.pop();
+      switch (frame.kind) {
+      case ELEMENT:
+        endContent(frame);
+        if (stack.isEmpty()) {
+          result.numberChildren();
+        }
+        break;
+      case CONTAINER:
+      case UNTYPED:
+        List<ValidationMessage> tail = takeErrors(frame.mark);
+        checkElement(frame);
+        addErrors(tail);
+        break;
+      case XHTML:
+        if (frame.xhtmlProperty != null) {
+          addXhtml(frame);
+        }
+        break;
+      default:
+        break;
+      }
+    }
+
+    private void checkElement(XmlFrame frame) throws FHIRFormatError {
+      if (policy == ValidationPolicy.EVERYTHING && frame.checkProperty != null) {
+        if (!frame.hasContent && FormatUtilities.FHIR_NS.equals(frame.namespace)) // this rule only applies to FHIR Content
+          logError(frame.line, frame.col, frame.path, IssueType.INVALID, context.formatMessage(I18nConstants.ELEMENT_MUST_HAVE_SOME_CONTENT), IssueSeverity.ERROR);
+        String ns = frame.checkProperty.getXmlNamespace();
+        String elementNs = frame.namespace == null ? "default" : frame.namespace;
+        if (!elementNs.equals(ns))
+          logError(frame.line, frame.col, frame.path, IssueType.INVALID, context.formatMessage(I18nConstants.WRONG_NAMESPACE__EXPECTED_, ns), IssueSeverity.ERROR);
+      }
+      if (frame.noTypePath != null) {
+        logError(frame.line, frame.col, frame.noTypePath, IssueType.STRUCTURE, context.formatMessage(I18nConstants.NO_TYPE_FOUND_ON_, frame.localName), IssueSeverity.ERROR);
+      }
+    }
+
+    /**
+     * The text and attributes of the node, as in parseChildren
+     */
+    private void endContent(XmlFrame frame) throws FHIRException {
+      List<ValidationMessage> tail = takeErrors(frame.mark);
+      checkElement(frame);
+      Element element = frame.element;
+      if (frame.hasChildElement && frame.comments != null) {
+        element.getComments().addAll(frame.comments);
+      }
+      List<Element> head = new ArrayList<Element>();
+      String text = frame.text.toString().trim();
+      int line = frame.line;
+      int col = frame.col;
+      if (!Utilities.noString(text)) {
+        Property property = getTextProp(frame.properties);
+        if (property != null) {
+          if ("ED.data[x]".equals(property.getDefinition().getId()) || (property.getDefinition()!=null && property.getDefinition().getBase()!=null && "ED.data[x]".equals(property.getDefinition().getBase().getPath()))) {
+            if ("B64".equals(getAttribute(frame, "representation"))) {
+              head.add(new Element("dataBase64Binary", property, "base64Binary", text).markLocation(line, col));
+            } else {
+              head.add(new Element("dataString", property, "string", text).markLocation(line, col));
+            }
+          } else {
+            head.add(new Element(property.getName(), property, property.getType(), text).markLocation(line, col));
+          }
+        } else {
+          if (frame.textInSegment) {
+            // text after the last element is reported against the last element
+            frame.textLocations.add(frame.hasChildElement ? new int[] {frame.lastChildLine, frame.lastChildCol} : new int[] {0, 0});
+          }
+          for (int[] loc : frame.textLocations) {
+            line = loc[0];
+            col = loc[1];
+            logError(line, col, frame.path, IssueType.STRUCTURE, context.formatMessage(I18nConstants.TEXT_SHOULD_NOT_BE_PRESENT, text), IssueSeverity.ERROR);
+          }
+        }
+      }
+
+      for (XmlAttribute attr : frame.attributes) {
+        if (!validAttrValue(attr.value)) {
+          logError(line, col, frame.path, IssueType.STRUCTURE, context.formatMessage(I18nConstants.XML_ATTR_VALUE_INVALID, attr.qName), IssueSeverity.ERROR);
+        }
+        Property property = getAttrProp(frame.properties, attr.localName, attr.uri);
+        if (property != null) {
+          String av = attr.value;
+          if (ToolingExtensions.hasExtension(property.getDefinition(), "http://www.healthintersections.com.au/fhir/StructureDefinition/elementdefinition-dateformat"))
+            av = convertForDateFormatFromExternal(ToolingExtensions.readStringExtension(property.getDefinition(), "http://www.healthintersections.com.au/fhir/StructureDefinition/elementdefinition-dateformat"), av);
+          if (property.getName().equals("value") && element.isPrimitive())
+            element.setValue(av);
+          else
+            head.add(new Element(property.getName(), property, property.getType(), av).markLocation(line, col));
+        } else {
+          boolean ok = false;
+          if (FormatUtilities.FHIR_NS.equals(frame.namespace)) {
+            if (attr.localName.equals("schemaLocation") && FormatUtilities.NS_XSI.equals(attr.uri)) {
+              ok = ok || allowXsiLocation; 
+            }
+          } else
+            ok = ok || (attr.localName.equals("schemaLocation")); // xsi:schemalocation allowed for non FHIR content
+          ok = ok || (hasTypeAttr(element) && attr.localName.equals("type") && FormatUtilities.NS_XSI.equals(attr.uri)); // xsi:type allowed if element says so
+          if (!ok)  
+            logError(line, col, frame.path, IssueType.STRUCTURE, context.formatMessage(I18nConstants.UNDEFINED_ATTRIBUTE__ON__FOR_TYPE__PROPERTIES__, attr.qName, frame.qName, element.fhirType(), frame.properties), IssueSeverity.ERROR);
+        }
+      }
+      if (!head.isEmpty()) {
+        element.getChildren().addAll(0, head);
+      }
+      addErrors(tail);
+    }
+
+    private String getAttribute(XmlFrame frame, String name) {
+      for (XmlAttribute attr : frame.attributes) {
+        if (attr.qName.equals(name)) {
+          return attr.value;
+        }
+      }
+      return null;
+    }
+
+    private void addXhtml(XmlFrame frame) throws FHIRException {
+      Property property = frame.xhtmlProperty;
+      XhtmlNode xhtml;
+      if (property.getDefinition().hasRepresentation(PropertyRepresentation.CDATEXT))
+        xhtml = new CDANarrativeFormat().convert(frame.dom);
+      else 
+        xhtml = new XhtmlParser().setValidatorMode(true).parseHtmlNode(frame.dom);
+      String value;
+      try {
+        value = new XhtmlComposer(XhtmlComposer.XML, false).compose(xhtml);
+      } catch (IOException e) {
+        throw new FHIRException(e.getMessage(), e);
+      }
+      frame.element.getChildren().add(new Element(property.getName(), property, "xhtml", value).setXhtml(xhtml).markLocation(frame.line, frame.col));
+    }
+
+    private org.w3c.dom.Element makeDomElement(org.w3c.dom.Element parent, String uri, String qName, Attributes atts) throws SAXException {
+      if (xhtmlDocument == null) {
+        try {
+          DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+          factory.setNamespaceAware(true);
+          xhtmlDocument = factory.newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+          throw new SAXException(e);
+        }
+      }
+      org.w3c.dom.Element element = xhtmlDocument.createElementNS(Utilities.noString(uri) ? null : uri, qName);
+      for (String[] pm : prefixMappings) {
+        element.setAttributeNS("http://www.w3.org/2000/xmlns/", Utilities.noString(pm[0]) ? "xmlns" : "xmlns:"+pm[0], pm[1]);
+      }
+      for (int i = 0; i < atts.getLength(); i++) {
+        element.setAttributeNS(Utilities.noString(atts.getURI(i)) ? null : atts.getURI(i), atts.getQName(i), atts.getValue(i));
+      }
+      if (parent != null) {
+        parent.appendChild(element);
+      }
+      return element;
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+      if (stack.isEmpty()) {
+        return;
+      }
+      XmlFrame frame = stack.peek();
+      switch (frame.kind) {
+      case ELEMENT:
+        frame.text.append(ch, start, length);
+        if (!isBlank(ch, start, length)) {
+          frame.hasContent = true;
+          frame.textInSegment = true;
+        }
+        break;
+      case CONTAINER:
+      case UNTYPED:
+        if (!isBlank(ch, start, length)) {
+          frame.hasContent = true;
+        }
+        break;
+      case XHTML:
+        Node last = frame.dom.getLastChild();
+        if (last != null && last.getNodeType() == Node.TEXT_NODE) {
+          ((org.w3c.dom.Text) last).appendData(new String(ch, start, length));
+        } else {
+          frame.dom.appendChild(xhtmlDocument.createTextNode(new String(ch, start, length)));
+        }
+        break;
+      default:
+        break;
+      }
+    }
+
+    private boolean isBlank(char[] ch, int start, int length) {
+      for (int i = start; i < start + length; i++) {
+        if (ch[i] > ' ') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+      characters(ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+      if (stack.isEmpty()) {
+        processingInstructions++;
+        return;
+      }
+      XmlFrame frame = stack.peek();
+      if (frame.kind == XmlFrameKind.ELEMENT) {
+        logError(0, 0, frame.path, IssueType.STRUCTURE, context.formatMessage(I18nConstants.NODE_TYPE__IS_NOT_ALLOWED, Integer.toString(Node.PROCESSING_INSTRUCTION_NODE)), IssueSeverity.ERROR);
+      } else if (frame.kind == XmlFrameKind.XHTML) {
+        frame.dom.appendChild(xhtmlDocument.createProcessingInstruction(target, data));
+      }
+    }
+
+    @Override
+    public void comment(char[] ch, int start, int length) throws SAXException {
+      if (stack.isEmpty()) {
+        if (!started) {
+          comments.add(new String(ch, start, length));
+        }
+        return;
+      }
+      XmlFrame frame = stack.peek();
+      if (frame.kind == XmlFrameKind.ELEMENT || frame.kind == XmlFrameKind.CONTAINER) {
+        if (frame.comments == null) {
+          frame.comments = new ArrayList<String>();
+        }
+        frame.comments.add(new String(ch, start, length));
+      } else if (frame.kind == XmlFrameKind.XHTML) {
+        frame.dom.appendChild(xhtmlDocument.createComment(new String(ch, start, length)));
+      }
+    }
+
+    // CDATA sections are treated as text, as they were by the DOM that this replaces
+
+    @Override
+    public void startCDATA() throws SAXException {
+    }
+
+    @Override
+    public void endCDATA() throws SAXException {
+    }
+
+    @Override
+    public void startDTD(String name, String publicId, String systemId) throws SAXException {
+    }
+
+    @Override
+    public void endDTD() throws SAXException {
+    }
+
+    @Override
+    public void startEntity(String name) throws SAXException {
+    }
+
+    @Override
+    public void endEntity(String name) throws SAXException {
+    }
+  }
+
 	private void reapComments(org.w3c.dom.Element element, Element context) {
 	  Node node = element.getPreviousSibling();
 	  while (node != null && node.getNodeType() != Node.ELEMENT_NODE) {
@@ -123,6 +123,7 @@ public abstract class FormatUtilities {
     case TURTLE : throw new Error("unsupported Format "+format.toString()); // return new TurtleParser();
     case VBAR : throw new Error("unsupported Format "+format.toString()); // 
     case TEXT : throw new Error("unsupported Format "+format.toString()); // 
+    case NDJSON : throw new Error("unsupported Format "+format.toString()); // 
     }
     throw new Error("unsupported Format "+format.toString());
   }
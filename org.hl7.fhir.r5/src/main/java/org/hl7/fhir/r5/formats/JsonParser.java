@@ -30467,302 +30467,157 @@ public class JsonParser extends JsonParserBase {
     String t = json.get("resourceType").getAsString();
     if (Utilities.noString(t)) {
       throw new FHIRFormatError("Unable to find resource type - maybe not a FHIR resource?");
-    } else if (t.equals("Account")) {
-      return parseAccount(json);
-    } else if (t.equals("ActivityDefinition")) {
-      return parseActivityDefinition(json);
-    } else if (t.equals("AdministrableProductDefinition")) {
-      return parseAdministrableProductDefinition(json);
-    } else if (t.equals("AdverseEvent")) {
-      return parseAdverseEvent(json);
-    } else if (t.equals("AllergyIntolerance")) {
-      return parseAllergyIntolerance(json);
-    } else if (t.equals("Appointment")) {
-      return parseAppointment(json);
-    } else if (t.equals("AppointmentResponse")) {
-      return parseAppointmentResponse(json);
-    } else if (t.equals("AuditEvent")) {
-      return parseAuditEvent(json);
-    } else if (t.equals("Basic")) {
-      return parseBasic(json);
-    } else if (t.equals("Binary")) {
-      return parseBinary(json);
-    } else if (t.equals("BiologicallyDerivedProduct")) {
-      return parseBiologicallyDerivedProduct(json);
-    } else if (t.equals("BodyStructure")) {
-      return parseBodyStructure(json);
-    } else if (t.equals("Bundle")) {
-      return parseBundle(json);
-    } else if (t.equals("CapabilityStatement")) {
-      return parseCapabilityStatement(json);
-    } else if (t.equals("CapabilityStatement2")) {
-      return parseCapabilityStatement2(json);
-    } else if (t.equals("CarePlan")) {
-      return parseCarePlan(json);
-    } else if (t.equals("CareTeam")) {
-      return parseCareTeam(json);
-    } else if (t.equals("CatalogEntry")) {
-      return parseCatalogEntry(json);
-    } else if (t.equals("ChargeItem")) {
-      return parseChargeItem(json);
-    } else if (t.equals("ChargeItemDefinition")) {
-      return parseChargeItemDefinition(json);
-    } else if (t.equals("Citation")) {
-      return parseCitation(json);
-    } else if (t.equals("Claim")) {
-      return parseClaim(json);
-    } else if (t.equals("ClaimResponse")) {
-      return parseClaimResponse(json);
-    } else if (t.equals("ClinicalImpression")) {
-      return parseClinicalImpression(json);
-    } else if (t.equals("ClinicalUseIssue")) {
-      return parseClinicalUseIssue(json);
-    } else if (t.equals("CodeSystem")) {
-      return parseCodeSystem(json);
-    } else if (t.equals("Communication")) {
-      return parseCommunication(json);
-    } else if (t.equals("CommunicationRequest")) {
-      return parseCommunicationRequest(json);
-    } else if (t.equals("CompartmentDefinition")) {
-      return parseCompartmentDefinition(json);
-    } else if (t.equals("Composition")) {
-      return parseComposition(json);
-    } else if (t.equals("ConceptMap")) {
-      return parseConceptMap(json);
-    } else if (t.equals("Condition")) {
-      return parseCondition(json);
-    } else if (t.equals("ConditionDefinition")) {
-      return parseConditionDefinition(json);
-    } else if (t.equals("Consent")) {
-      return parseConsent(json);
-    } else if (t.equals("Contract")) {
-      return parseContract(json);
-    } else if (t.equals("Coverage")) {
-      return parseCoverage(json);
-    } else if (t.equals("CoverageEligibilityRequest")) {
-      return parseCoverageEligibilityRequest(json);
-    } else if (t.equals("CoverageEligibilityResponse")) {
-      return parseCoverageEligibilityResponse(json);
-    } else if (t.equals("DetectedIssue")) {
-      return parseDetectedIssue(json);
-    } else if (t.equals("Device")) {
-      return parseDevice(json);
-    } else if (t.equals("DeviceDefinition")) {
-      return parseDeviceDefinition(json);
-    } else if (t.equals("DeviceMetric")) {
-      return parseDeviceMetric(json);
-    } else if (t.equals("DeviceRequest")) {
-      return parseDeviceRequest(json);
-    } else if (t.equals("DeviceUseStatement")) {
-      return parseDeviceUseStatement(json);
-    } else if (t.equals("DiagnosticReport")) {
-      return parseDiagnosticReport(json);
-    } else if (t.equals("DocumentManifest")) {
-      return parseDocumentManifest(json);
-    } else if (t.equals("DocumentReference")) {
-      return parseDocumentReference(json);
-    } else if (t.equals("Encounter")) {
-      return parseEncounter(json);
-    } else if (t.equals("Endpoint")) {
-      return parseEndpoint(json);
-    } else if (t.equals("EnrollmentRequest")) {
-      return parseEnrollmentRequest(json);
-    } else if (t.equals("EnrollmentResponse")) {
-      return parseEnrollmentResponse(json);
-    } else if (t.equals("EpisodeOfCare")) {
-      return parseEpisodeOfCare(json);
-    } else if (t.equals("EventDefinition")) {
-      return parseEventDefinition(json);
-    } else if (t.equals("Evidence")) {
-      return parseEvidence(json);
-    } else if (t.equals("EvidenceReport")) {
-      return parseEvidenceReport(json);
-    } else if (t.equals("EvidenceVariable")) {
-      return parseEvidenceVariable(json);
-    } else if (t.equals("ExampleScenario")) {
-      return parseExampleScenario(json);
-    } else if (t.equals("ExplanationOfBenefit")) {
-      return parseExplanationOfBenefit(json);
-    } else if (t.equals("FamilyMemberHistory")) {
-      return parseFamilyMemberHistory(json);
-    } else if (t.equals("Flag")) {
-      return parseFlag(json);
-    } else if (t.equals("Goal")) {
-      return parseGoal(json);
-    } else if (t.equals("GraphDefinition")) {
-      return parseGraphDefinition(json);
-    } else if (t.equals("Group")) {
-      return parseGroup(json);
-    } else if (t.equals("GuidanceResponse")) {
-      return parseGuidanceResponse(json);
-    } else if (t.equals("HealthcareService")) {
-      return parseHealthcareService(json);
-    } else if (t.equals("ImagingStudy")) {
-      return parseImagingStudy(json);
-    } else if (t.equals("Immunization")) {
-      return parseImmunization(json);
-    } else if (t.equals("ImmunizationEvaluation")) {
-      return parseImmunizationEvaluation(json);
-    } else if (t.equals("ImmunizationRecommendation")) {
-      return parseImmunizationRecommendation(json);
-    } else if (t.equals("ImplementationGuide")) {
-      return parseImplementationGuide(json);
-    } else if (t.equals("Ingredient")) {
-      return parseIngredient(json);
-    } else if (t.equals("InsurancePlan")) {
-      return parseInsurancePlan(json);
-    } else if (t.equals("Invoice")) {
-      return parseInvoice(json);
-    } else if (t.equals("Library")) {
-      return parseLibrary(json);
-    } else if (t.equals("Linkage")) {
-      return parseLinkage(json);
-    } else if (t.equals("List")) {
-      return parseListResource(json);
-    } else if (t.equals("Location")) {
-      return parseLocation(json);
-    } else if (t.equals("ManufacturedItemDefinition")) {
-      return parseManufacturedItemDefinition(json);
-    } else if (t.equals("Measure")) {
-      return parseMeasure(json);
-    } else if (t.equals("MeasureReport")) {
-      return parseMeasureReport(json);
-    } else if (t.equals("Medication")) {
-      return parseMedication(json);
-    } else if (t.equals("MedicationAdministration")) {
-      return parseMedicationAdministration(json);
-    } else if (t.equals("MedicationDispense")) {
-      return parseMedicationDispense(json);
-    } else if (t.equals("MedicationKnowledge")) {
-      return parseMedicationKnowledge(json);
-    } else if (t.equals("MedicationRequest")) {
-      return parseMedicationRequest(json);
-    } else if (t.equals("MedicationUsage")) {
-      return parseMedicationUsage(json);
-    } else if (t.equals("MedicinalProductDefinition")) {
-      return parseMedicinalProductDefinition(json);
-    } else if (t.equals("MessageDefinition")) {
-      return parseMessageDefinition(json);
-    } else if (t.equals("MessageHeader")) {
-      return parseMessageHeader(json);
-    } else if (t.equals("MolecularSequence")) {
-      return parseMolecularSequence(json);
-    } else if (t.equals("NamingSystem")) {
-      return parseNamingSystem(json);
-    } else if (t.equals("NutritionIntake")) {
-      return parseNutritionIntake(json);
-    } else if (t.equals("NutritionOrder")) {
-      return parseNutritionOrder(json);
-    } else if (t.equals("NutritionProduct")) {
-      return parseNutritionProduct(json);
-    } else if (t.equals("Observation")) {
-      return parseObservation(json);
-    } else if (t.equals("ObservationDefinition")) {
-      return parseObservationDefinition(json);
-    } else if (t.equals("OperationDefinition")) {
-      return parseOperationDefinition(json);
-    } else if (t.equals("OperationOutcome")) {
-      return parseOperationOutcome(json);
-    } else if (t.equals("Organization")) {
-      return parseOrganization(json);
-    } else if (t.equals("OrganizationAffiliation")) {
-      return parseOrganizationAffiliation(json);
-    } else if (t.equals("PackagedProductDefinition")) {
-      return parsePackagedProductDefinition(json);
-    } else if (t.equals("Parameters")) {
-      return parseParameters(json);
-    } else if (t.equals("Patient")) {
-      return parsePatient(json);
-    } else if (t.equals("PaymentNotice")) {
-      return parsePaymentNotice(json);
-    } else if (t.equals("PaymentReconciliation")) {
-      return parsePaymentReconciliation(json);
-    } else if (t.equals("Permission")) {
-      return parsePermission(json);
-    } else if (t.equals("Person")) {
-      return parsePerson(json);
-    } else if (t.equals("PlanDefinition")) {
-      return parsePlanDefinition(json);
-    } else if (t.equals("Practitioner")) {
-      return parsePractitioner(json);
-    } else if (t.equals("PractitionerRole")) {
-      return parsePractitionerRole(json);
-    } else if (t.equals("Procedure")) {
-      return parseProcedure(json);
-    } else if (t.equals("Provenance")) {
-      return parseProvenance(json);
-    } else if (t.equals("Questionnaire")) {
-      return parseQuestionnaire(json);
-    } else if (t.equals("QuestionnaireResponse")) {
-      return parseQuestionnaireResponse(json);
-    } else if (t.equals("RegulatedAuthorization")) {
-      return parseRegulatedAuthorization(json);
-    } else if (t.equals("RelatedPerson")) {
-      return parseRelatedPerson(json);
-    } else if (t.equals("RequestGroup")) {
-      return parseRequestGroup(json);
-    } else if (t.equals("ResearchStudy")) {
-      return parseResearchStudy(json);
-    } else if (t.equals("ResearchSubject")) {
-      return parseResearchSubject(json);
-    } else if (t.equals("RiskAssessment")) {
-      return parseRiskAssessment(json);
-    } else if (t.equals("Schedule")) {
-      return parseSchedule(json);
-    } else if (t.equals("SearchParameter")) {
-      return parseSearchParameter(json);
-    } else if (t.equals("ServiceRequest")) {
-      return parseServiceRequest(json);
-    } else if (t.equals("Slot")) {
-      return parseSlot(json);
-    } else if (t.equals("Specimen")) {
-      return parseSpecimen(json);
-    } else if (t.equals("SpecimenDefinition")) {
-      return parseSpecimenDefinition(json);
-    } else if (t.equals("StructureDefinition")) {
-      return parseStructureDefinition(json);
-    } else if (t.equals("StructureMap")) {
-      return parseStructureMap(json);
-    } else if (t.equals("Subscription")) {
-      return parseSubscription(json);
-    } else if (t.equals("SubscriptionStatus")) {
-      return parseSubscriptionStatus(json);
-    } else if (t.equals("SubscriptionTopic")) {
-      return parseSubscriptionTopic(json);
-    } else if (t.equals("Substance")) {
-      return parseSubstance(json);
-    } else if (t.equals("SubstanceDefinition")) {
-      return parseSubstanceDefinition(json);
-    } else if (t.equals("SubstanceNucleicAcid")) {
-      return parseSubstanceNucleicAcid(json);
-    } else if (t.equals("SubstancePolymer")) {
-      return parseSubstancePolymer(json);
-    } else if (t.equals("SubstanceProtein")) {
-      return parseSubstanceProtein(json);
-    } else if (t.equals("SubstanceReferenceInformation")) {
-      return parseSubstanceReferenceInformation(json);
-    } else if (t.equals("SubstanceSourceMaterial")) {
-      return parseSubstanceSourceMaterial(json);
-    } else if (t.equals("SupplyDelivery")) {
-      return parseSupplyDelivery(json);
-    } else if (t.equals("SupplyRequest")) {
-      return parseSupplyRequest(json);
-    } else if (t.equals("Task")) {
-      return parseTask(json);
-    } else if (t.equals("TerminologyCapabilities")) {
-      return parseTerminologyCapabilities(json);
-    } else if (t.equals("TestReport")) {
-      return parseTestReport(json);
-    } else if (t.equals("TestScript")) {
-      return parseTestScript(json);
-    } else if (t.equals("ValueSet")) {
-      return parseValueSet(json);
-    } else if (t.equals("VerificationResult")) {
-      return parseVerificationResult(json);
-    } else if (t.equals("VisionPrescription")) {
-      return parseVisionPrescription(json);
-
-    } else {
+    }
+    switch (t) {
+    case "Account": return parseAccount(json);
+    case "ActivityDefinition": return parseActivityDefinition(json);
+    case "AdministrableProductDefinition": return parseAdministrableProductDefinition(json);
+    case "AdverseEvent": return parseAdverseEvent(json);
+    case "AllergyIntolerance": return parseAllergyIntolerance(json);
+    case "Appointment": return parseAppointment(json);
+    case "AppointmentResponse": return parseAppointmentResponse(json);
+    case "AuditEvent": return parseAuditEvent(json);
+    case "Basic": return parseBasic(json);
+    case "Binary": return parseBinary(json);
+    case "BiologicallyDerivedProduct": return parseBiologicallyDerivedProduct(json);
+    case "BodyStructure": return parseBodyStructure(json);
+    case "Bundle": return parseBundle(json);
+    case "CapabilityStatement": return parseCapabilityStatement(json);
+    case "CapabilityStatement2": return parseCapabilityStatement2(json);
+    case "CarePlan": return parseCarePlan(json);
+    case "CareTeam": return parseCareTeam(json);
+    case "CatalogEntry": return parseCatalogEntry(json);
+    case "ChargeItem": return parseChargeItem(json);
+    case "ChargeItemDefinition": return parseChargeItemDefinition(json);
+    case "Citation": return parseCitation(json);
+    case "Claim": return parseClaim(json);
+    case "ClaimResponse": return parseClaimResponse(json);
+    case "ClinicalImpression": return parseClinicalImpression(json);
+    case "ClinicalUseIssue": return parseClinicalUseIssue(json);
+    case "CodeSystem": return parseCodeSystem(json);
+    case "Communication": return parseCommunication(json);
+    case "CommunicationRequest": return parseCommunicationRequest(json);
+    case "CompartmentDefinition": return parseCompartmentDefinition(json);
+    case "Composition": return parseComposition(json);
+    case "ConceptMap": return parseConceptMap(json);
+    case "Condition": return parseCondition(json);
+    case "ConditionDefinition": return parseConditionDefinition(json);
+    case "Consent": return parseConsent(json);
+    case "Contract": return parseContract(json);
+    case "Coverage": return parseCoverage(json);
+    case "CoverageEligibilityRequest": return parseCoverageEligibilityRequest(json);
+    case "CoverageEligibilityResponse": return parseCoverageEligibilityResponse(json);
+    case "DetectedIssue": return parseDetectedIssue(json);
+    case "Device": return parseDevice(json);
+    case "DeviceDefinition": return parseDeviceDefinition(json);
+    case "DeviceMetric": return parseDeviceMetric(json);
+    case "DeviceRequest": return parseDeviceRequest(json);
+    case "DeviceUseStatement": return parseDeviceUseStatement(json);
+    case "DiagnosticReport": return parseDiagnosticReport(json);
+    case "DocumentManifest": return parseDocumentManifest(json);
+    case "DocumentReference": return parseDocumentReference(json);
+    case "Encounter": return parseEncounter(json);
+    case "Endpoint": return parseEndpoint(json);
+    case "EnrollmentRequest": return parseEnrollmentRequest(json);
+    case "EnrollmentResponse": return parseEnrollmentResponse(json);
+    case "EpisodeOfCare": return parseEpisodeOfCare(json);
+    case "EventDefinition": return parseEventDefinition(json);
+    case "Evidence": return parseEvidence(json);
+    case "EvidenceReport": return parseEvidenceReport(json);
+    case "EvidenceVariable": return parseEvidenceVariable(json);
+    case "ExampleScenario": return parseExampleScenario(json);
+    case "ExplanationOfBenefit": return parseExplanationOfBenefit(json);
+    case "FamilyMemberHistory": return parseFamilyMemberHistory(json);
+    case "Flag": return parseFlag(json);
+    case "Goal": return parseGoal(json);
+    case "GraphDefinition": return parseGraphDefinition(json);
+    case "Group": return parseGroup(json);
+    case "GuidanceResponse": return parseGuidanceResponse(json);
+    case "HealthcareService": return parseHealthcareService(json);
+    case "ImagingStudy": return parseImagingStudy(json);
+    case "Immunization": return parseImmunization(json);
+    case "ImmunizationEvaluation": return parseImmunizationEvaluation(json);
+    case "ImmunizationRecommendation": return parseImmunizationRecommendation(json);
+    case "ImplementationGuide": return parseImplementationGuide(json);
+    case "Ingredient": return parseIngredient(json);
+    case "InsurancePlan": return parseInsurancePlan(json);
+    case "Invoice": return parseInvoice(json);
+    case "Library": return parseLibrary(json);
+    case "Linkage": return parseLinkage(json);
+    case "List": return parseListResource(json);
+    case "Location": return parseLocation(json);
+    case "ManufacturedItemDefinition": return parseManufacturedItemDefinition(json);
+    case "Measure": return parseMeasure(json);
+    case "MeasureReport": return parseMeasureReport(json);
+    case "Medication": return parseMedication(json);
+    case "MedicationAdministration": return parseMedicationAdministration(json);
+    case "MedicationDispense": return parseMedicationDispense(json);
+    case "MedicationKnowledge": return parseMedicationKnowledge(json);
+    case "MedicationRequest": return parseMedicationRequest(json);
+    case "MedicationUsage": return parseMedicationUsage(json);
+    case "MedicinalProductDefinition": return parseMedicinalProductDefinition(json);
+    case "MessageDefinition": return parseMessageDefinition(json);
+    case "MessageHeader": return parseMessageHeader(json);
+    case "MolecularSequence": return parseMolecularSequence(json);
+    case "NamingSystem": return parseNamingSystem(json);
+    case "NutritionIntake": return parseNutritionIntake(json);
+    case "NutritionOrder": return parseNutritionOrder(json);
+    case "NutritionProduct": return parseNutritionProduct(json);
+    case "Observation": return parseObservation(json);
+    case "ObservationDefinition": return parseObservationDefinition(json);
+    case "OperationDefinition": return parseOperationDefinition(json);
+    case "OperationOutcome": return parseOperationOutcome(json);
+    case "Organization": return parseOrganization(json);
+    case "OrganizationAffiliation": return parseOrganizationAffiliation(json);
+    case "PackagedProductDefinition": return parsePackagedProductDefinition(json);
+    case "Parameters": return parseParameters(json);
+    case "Patient": return parsePatient(json);
+    case "PaymentNotice": return parsePaymentNotice(json);
+    case "PaymentReconciliation": return parsePaymentReconciliation(json);
+    case "Permission": return parsePermission(json);
+    case "Person": return parsePerson(json);
+    case "PlanDefinition": return parsePlanDefinition(json);
+    case "Practitioner": return parsePractitioner(json);
+    case "PractitionerRole": return parsePractitionerRole(json);
+    case "Procedure": return parseProcedure(json);
+    case "Provenance": return parseProvenance(json);
+    case "Questionnaire": return parseQuestionnaire(json);
+    case "QuestionnaireResponse": return parseQuestionnaireResponse(json);
+    case "RegulatedAuthorization": return parseRegulatedAuthorization(json);
+    case "RelatedPerson": return parseRelatedPerson(json);
+    case "RequestGroup": return parseRequestGroup(json);
+    case "ResearchStudy": return parseResearchStudy(json);
+    case "ResearchSubject": return parseResearchSubject(json);
+    case "RiskAssessment": return parseRiskAssessment(json);
+    case "Schedule": return parseSchedule(json);
+    case "SearchParameter": return parseSearchParameter(json);
+    case "ServiceRequest": return parseServiceRequest(json);
+    case "Slot": return parseSlot(json);
+    case "Specimen": return parseSpecimen(json);
+    case "SpecimenDefinition": return parseSpecimenDefinition(json);
+    case "StructureDefinition": return parseStructureDefinition(json);
+    case "StructureMap": return parseStructureMap(json);
+    case "Subscription": return parseSubscription(json);
+    case "SubscriptionStatus": return parseSubscriptionStatus(json);
+    case "SubscriptionTopic": return parseSubscriptionTopic(json);
+    case "Substance": return parseSubstance(json);
+    case "SubstanceDefinition": return parseSubstanceDefinition(json);
+    case "SubstanceNucleicAcid": return parseSubstanceNucleicAcid(json);
+    case "SubstancePolymer": return parseSubstancePolymer(json);
+    case "SubstanceProtein": return parseSubstanceProtein(json);
+    case "SubstanceReferenceInformation": return parseSubstanceReferenceInformation(json);
+    case "SubstanceSourceMaterial": return parseSubstanceSourceMaterial(json);
+    case "SupplyDelivery": return parseSupplyDelivery(json);
+    case "SupplyRequest": return parseSupplyRequest(json);
+    case "Task": return parseTask(json);
+    case "TerminologyCapabilities": return parseTerminologyCapabilities(json);
+    case "TestReport": return parseTestReport(json);
+    case "TestScript": return parseTestScript(json);
+    case "ValueSet": return parseValueSet(json);
+    case "VerificationResult": return parseVerificationResult(json);
+    case "VisionPrescription": return parseVisionPrescription(json);
+
+    default:
       throw new FHIRFormatError("Unknown.Unrecognised resource type '"+t+"' (in property 'resourceType')");
     }
   }
@@ -64116,605 +63971,905 @@ public class JsonParser extends JsonParserBase {
   protected void composeResource(Resource resource) throws IOException {
     if (resource == null) {
       throw new Error("Unhandled resource type "+resource.getClass().getName());
-    } else if (resource instanceof Account) {
+    }
+    switch (resource.getResourceType()) {
+    case Account:
       composeAccount("Account", (Account)resource);
-    } else if (resource instanceof ActivityDefinition) {
+      break;
+    case ActivityDefinition:
       composeActivityDefinition("ActivityDefinition", (ActivityDefinition)resource);
-    } else if (resource instanceof AdministrableProductDefinition) {
+      break;
+    case AdministrableProductDefinition:
       composeAdministrableProductDefinition("AdministrableProductDefinition", (AdministrableProductDefinition)resource);
-    } else if (resource instanceof AdverseEvent) {
+      break;
+    case AdverseEvent:
       composeAdverseEvent("AdverseEvent", (AdverseEvent)resource);
-    } else if (resource instanceof AllergyIntolerance) {
+      break;
+    case AllergyIntolerance:
       composeAllergyIntolerance("AllergyIntolerance", (AllergyIntolerance)resource);
-    } else if (resource instanceof Appointment) {
+      break;
+    case Appointment:
       composeAppointment("Appointment", (Appointment)resource);
-    } else if (resource instanceof AppointmentResponse) {
+      break;
+    case AppointmentResponse:
       composeAppointmentResponse("AppointmentResponse", (AppointmentResponse)resource);
-    } else if (resource instanceof AuditEvent) {
+      break;
+    case AuditEvent:
       composeAuditEvent("AuditEvent", (AuditEvent)resource);
-    } else if (resource instanceof Basic) {
+      break;
+    case Basic:
       composeBasic("Basic", (Basic)resource);
-    } else if (resource instanceof Binary) {
+      break;
+    case Binary:
       composeBinary("Binary", (Binary)resource);
-    } else if (resource instanceof BiologicallyDerivedProduct) {
+      break;
+    case BiologicallyDerivedProduct:
       composeBiologicallyDerivedProduct("BiologicallyDerivedProduct", (BiologicallyDerivedProduct)resource);
-    } else if (resource instanceof BodyStructure) {
+      break;
+    case BodyStructure:
       composeBodyStructure("BodyStructure", (BodyStructure)resource);
-    } else if (resource instanceof Bundle) {
+      break;
+    case Bundle:
       composeBundle("Bundle", (Bundle)resource);
-    } else if (resource instanceof CapabilityStatement) {
+      break;
+    case CapabilityStatement:
       composeCapabilityStatement("CapabilityStatement", (CapabilityStatement)resource);
-    } else if (resource instanceof CapabilityStatement2) {
+      break;
+    case CapabilityStatement2:
       composeCapabilityStatement2("CapabilityStatement2", (CapabilityStatement2)resource);
-    } else if (resource instanceof CarePlan) {
+      break;
+    case CarePlan:
       composeCarePlan("CarePlan", (CarePlan)resource);
-    } else if (resource instanceof CareTeam) {
+      break;
+    case CareTeam:
       composeCareTeam("CareTeam", (CareTeam)resource);
-    } else if (resource instanceof CatalogEntry) {
+      break;
+    case CatalogEntry:
       composeCatalogEntry("CatalogEntry", (CatalogEntry)resource);
-    } else if (resource instanceof ChargeItem) {
+      break;
+    case ChargeItem:
       composeChargeItem("ChargeItem", (ChargeItem)resource);
-    } else if (resource instanceof ChargeItemDefinition) {
+      break;
+    case ChargeItemDefinition:
       composeChargeItemDefinition("ChargeItemDefinition", (ChargeItemDefinition)resource);
-    } else if (resource instanceof Citation) {
+      break;
+    case Citation:
       composeCitation("Citation", (Citation)resource);
-    } else if (resource instanceof Claim) {
+      break;
+    case Claim:
       composeClaim("Claim", (Claim)resource);
-    } else if (resource instanceof ClaimResponse) {
+      break;
+    case ClaimResponse:
       composeClaimResponse("ClaimResponse", (ClaimResponse)resource);
-    } else if (resource instanceof ClinicalImpression) {
+      break;
+    case ClinicalImpression:
       composeClinicalImpression("ClinicalImpression", (ClinicalImpression)resource);
-    } else if (resource instanceof ClinicalUseIssue) {
+      break;
+    case ClinicalUseIssue:
       composeClinicalUseIssue("ClinicalUseIssue", (ClinicalUseIssue)resource);
-    } else if (resource instanceof CodeSystem) {
+      break;
+    case CodeSystem:
       composeCodeSystem("CodeSystem", (CodeSystem)resource);
-    } else if (resource instanceof Communication) {
+      break;
+    case Communication:
       composeCommunication("Communication", (Communication)resource);
-    } else if (resource instanceof CommunicationRequest) {
+      break;
+    case CommunicationRequest:
       composeCommunicationRequest("CommunicationRequest", (CommunicationRequest)resource);
-    } else if (resource instanceof CompartmentDefinition) {
+      break;
+    case CompartmentDefinition:
       composeCompartmentDefinition("CompartmentDefinition", (CompartmentDefinition)resource);
-    } else if (resource instanceof Composition) {
+      break;
+    case Composition:
       composeComposition("Composition", (Composition)resource);
-    } else if (resource instanceof ConceptMap) {
+      break;
+    case ConceptMap:
       composeConceptMap("ConceptMap", (ConceptMap)resource);
-    } else if (resource instanceof Condition) {
+      break;
+    case Condition:
       composeCondition("Condition", (Condition)resource);
-    } else if (resource instanceof ConditionDefinition) {
+      break;
+    case ConditionDefinition:
       composeConditionDefinition("ConditionDefinition", (ConditionDefinition)resource);
-    } else if (resource instanceof Consent) {
+      break;
+    case Consent:
       composeConsent("Consent", (Consent)resource);
-    } else if (resource instanceof Contract) {
+      break;
+    case Contract:
       composeContract("Contract", (Contract)resource);
-    } else if (resource instanceof Coverage) {
+      break;
+    case Coverage:
       composeCoverage("Coverage", (Coverage)resource);
-    } else if (resource instanceof CoverageEligibilityRequest) {
+      break;
+    case CoverageEligibilityRequest:
       composeCoverageEligibilityRequest("CoverageEligibilityRequest", (CoverageEligibilityRequest)resource);
-    } else if (resource instanceof CoverageEligibilityResponse) {
+      break;
+    case CoverageEligibilityResponse:
       composeCoverageEligibilityResponse("CoverageEligibilityResponse", (CoverageEligibilityResponse)resource);
-    } else if (resource instanceof DetectedIssue) {
+      break;
+    case DetectedIssue:
       composeDetectedIssue("DetectedIssue", (DetectedIssue)resource);
-    } else if (resource instanceof Device) {
+      break;
+    case Device:
       composeDevice("Device", (Device)resource);
-    } else if (resource instanceof DeviceDefinition) {
+      break;
+    case DeviceDefinition:
       composeDeviceDefinition("DeviceDefinition", (DeviceDefinition)resource);
-    } else if (resource instanceof DeviceMetric) {
+      break;
+    case DeviceMetric:
       composeDeviceMetric("DeviceMetric", (DeviceMetric)resource);
-    } else if (resource instanceof DeviceRequest) {
+      break;
+    case DeviceRequest:
       composeDeviceRequest("DeviceRequest", (DeviceRequest)resource);
-    } else if (resource instanceof DeviceUseStatement) {
+      break;
+    case DeviceUseStatement:
       composeDeviceUseStatement("DeviceUseStatement", (DeviceUseStatement)resource);
-    } else if (resource instanceof DiagnosticReport) {
+      break;
+    case DiagnosticReport:
       composeDiagnosticReport("DiagnosticReport", (DiagnosticReport)resource);
-    } else if (resource instanceof DocumentManifest) {
+      break;
+    case DocumentManifest:
       composeDocumentManifest("DocumentManifest", (DocumentManifest)resource);
-    } else if (resource instanceof DocumentReference) {
+      break;
+    case DocumentReference:
       composeDocumentReference("DocumentReference", (DocumentReference)resource);
-    } else if (resource instanceof Encounter) {
+      break;
+    case Encounter:
       composeEncounter("Encounter", (Encounter)resource);
-    } else if (resource instanceof Endpoint) {
+      break;
+    case Endpoint:
       composeEndpoint("Endpoint", (Endpoint)resource);
-    } else if (resource instanceof EnrollmentRequest) {
+      break;
+    case EnrollmentRequest:
       composeEnrollmentRequest("EnrollmentRequest", (EnrollmentRequest)resource);
-    } else if (resource instanceof EnrollmentResponse) {
+      break;
+    case EnrollmentResponse:
       composeEnrollmentResponse("EnrollmentResponse", (EnrollmentResponse)resource);
-    } else if (resource instanceof EpisodeOfCare) {
+      break;
+    case EpisodeOfCare:
       composeEpisodeOfCare("EpisodeOfCare", (EpisodeOfCare)resource);
-    } else if (resource instanceof EventDefinition) {
+      break;
+    case EventDefinition:
       composeEventDefinition("EventDefinition", (EventDefinition)resource);
-    } else if (resource instanceof Evidence) {
+      break;
+    case Evidence:
       composeEvidence("Evidence", (Evidence)resource);
-    } else if (resource instanceof EvidenceReport) {
+      break;
+    case EvidenceReport:
       composeEvidenceReport("EvidenceReport", (EvidenceReport)resource);
-    } else if (resource instanceof EvidenceVariable) {
+      break;
+    case EvidenceVariable:
       composeEvidenceVariable("EvidenceVariable", (EvidenceVariable)resource);
-    } else if (resource instanceof ExampleScenario) {
+      break;
+    case ExampleScenario:
       composeExampleScenario("ExampleScenario", (ExampleScenario)resource);
-    } else if (resource instanceof ExplanationOfBenefit) {
+      break;
+    case ExplanationOfBenefit:
       composeExplanationOfBenefit("ExplanationOfBenefit", (ExplanationOfBenefit)resource);
-    } else if (resource instanceof FamilyMemberHistory) {
+      break;
+    case FamilyMemberHistory:
       composeFamilyMemberHistory("FamilyMemberHistory", (FamilyMemberHistory)resource);
-    } else if (resource instanceof Flag) {
+      break;
+    case Flag:
       composeFlag("Flag", (Flag)resource);
-    } else if (resource instanceof Goal) {
+      break;
+    case Goal:
       composeGoal("Goal", (Goal)resource);
-    } else if (resource instanceof GraphDefinition) {
+      break;
+    case GraphDefinition:
       composeGraphDefinition("GraphDefinition", (GraphDefinition)resource);
-    } else if (resource instanceof Group) {
+      break;
+    case Group:
       composeGroup("Group", (Group)resource);
-    } else if (resource instanceof GuidanceResponse) {
+      break;
+    case GuidanceResponse:
       composeGuidanceResponse("GuidanceResponse", (GuidanceResponse)resource);
-    } else if (resource instanceof HealthcareService) {
+      break;
+    case HealthcareService:
       composeHealthcareService("HealthcareService", (HealthcareService)resource);
-    } else if (resource instanceof ImagingStudy) {
+      break;
+    case ImagingStudy:
       composeImagingStudy("ImagingStudy", (ImagingStudy)resource);
-    } else if (resource instanceof Immunization) {
+      break;
+    case Immunization:
       composeImmunization("Immunization", (Immunization)resource);
-    } else if (resource instanceof ImmunizationEvaluation) {
+      break;
+    case ImmunizationEvaluation:
       composeImmunizationEvaluation("ImmunizationEvaluation", (ImmunizationEvaluation)resource);
-    } else if (resource instanceof ImmunizationRecommendation) {
+      break;
+    case ImmunizationRecommendation:
       composeImmunizationRecommendation("ImmunizationRecommendation", (ImmunizationRecommendation)resource);
-    } else if (resource instanceof ImplementationGuide) {
+      break;
+    case ImplementationGuide:
       composeImplementationGuide("ImplementationGuide", (ImplementationGuide)resource);
-    } else if (resource instanceof Ingredient) {
+      break;
+    case Ingredient:
       composeIngredient("Ingredient", (Ingredient)resource);
-    } else if (resource instanceof InsurancePlan) {
+      break;
+    case InsurancePlan:
       composeInsurancePlan("InsurancePlan", (InsurancePlan)resource);
-    } else if (resource instanceof Invoice) {
+      break;
+    case Invoice:
       composeInvoice("Invoice", (Invoice)resource);
-    } else if (resource instanceof Library) {
+      break;
+    case Library:
       composeLibrary("Library", (Library)resource);
-    } else if (resource instanceof Linkage) {
+      break;
+    case Linkage:
       composeLinkage("Linkage", (Linkage)resource);
-    } else if (resource instanceof ListResource) {
+      break;
+    case List:
       composeListResource("List", (ListResource)resource);
-    } else if (resource instanceof Location) {
+      break;
+    case Location:
       composeLocation("Location", (Location)resource);
-    } else if (resource instanceof ManufacturedItemDefinition) {
+      break;
+    case ManufacturedItemDefinition:
       composeManufacturedItemDefinition("ManufacturedItemDefinition", (ManufacturedItemDefinition)resource);
-    } else if (resource instanceof Measure) {
+      break;
+    case Measure:
       composeMeasure("Measure", (Measure)resource);
-    } else if (resource instanceof MeasureReport) {
+      break;
+    case MeasureReport:
       composeMeasureReport("MeasureReport", (MeasureReport)resource);
-    } else if (resource instanceof Medication) {
+      break;
+    case Medication:
       composeMedication("Medication", (Medication)resource);
-    } else if (resource instanceof MedicationAdministration) {
+      break;
+    case MedicationAdministration:
       composeMedicationAdministration("MedicationAdministration", (MedicationAdministration)resource);
-    } else if (resource instanceof MedicationDispense) {
+      break;
+    case MedicationDispense:
       composeMedicationDispense("MedicationDispense", (MedicationDispense)resource);
-    } else if (resource instanceof MedicationKnowledge) {
+      break;
+    case MedicationKnowledge:
       composeMedicationKnowledge("MedicationKnowledge", (MedicationKnowledge)resource);
-    } else if (resource instanceof MedicationRequest) {
+      break;
+    case MedicationRequest:
       composeMedicationRequest("MedicationRequest", (MedicationRequest)resource);
-    } else if (resource instanceof MedicationUsage) {
+      break;
+    case MedicationUsage:
       composeMedicationUsage("MedicationUsage", (MedicationUsage)resource);
-    } else if (resource instanceof MedicinalProductDefinition) {
+      break;
+    case MedicinalProductDefinition:
       composeMedicinalProductDefinition("MedicinalProductDefinition", (MedicinalProductDefinition)resource);
-    } else if (resource instanceof MessageDefinition) {
+      break;
+    case MessageDefinition:
       composeMessageDefinition("MessageDefinition", (MessageDefinition)resource);
-    } else if (resource instanceof MessageHeader) {
+      break;
+    case MessageHeader:
       composeMessageHeader("MessageHeader", (MessageHeader)resource);
-    } else if (resource instanceof MolecularSequence) {
+      break;
+    case MolecularSequence:
       composeMolecularSequence("MolecularSequence", (MolecularSequence)resource);
-    } else if (resource instanceof NamingSystem) {
+      break;
+    case NamingSystem:
       composeNamingSystem("NamingSystem", (NamingSystem)resource);
-    } else if (resource instanceof NutritionIntake) {
+      break;
+    case NutritionIntake:
       composeNutritionIntake("NutritionIntake", (NutritionIntake)resource);
-    } else if (resource instanceof NutritionOrder) {
+      break;
+    case NutritionOrder:
       composeNutritionOrder("NutritionOrder", (NutritionOrder)resource);
-    } else if (resource instanceof NutritionProduct) {
+      break;
+    case NutritionProduct:
       composeNutritionProduct("NutritionProduct", (NutritionProduct)resource);
-    } else if (resource instanceof Observation) {
+      break;
+    case Observation:
       composeObservation("Observation", (Observation)resource);
-    } else if (resource instanceof ObservationDefinition) {
+      break;
+    case ObservationDefinition:
       composeObservationDefinition("ObservationDefinition", (ObservationDefinition)resource);
-    } else if (resource instanceof OperationDefinition) {
+      break;
+    case OperationDefinition:
       composeOperationDefinition("OperationDefinition", (OperationDefinition)resource);
-    } else if (resource instanceof OperationOutcome) {
+      break;
+    case OperationOutcome:
       composeOperationOutcome("OperationOutcome", (OperationOutcome)resource);
-    } else if (resource instanceof Organization) {
+      break;
+    case Organization:
       composeOrganization("Organization", (Organization)resource);
-    } else if (resource instanceof OrganizationAffiliation) {
+      break;
+    case OrganizationAffiliation:
       composeOrganizationAffiliation("OrganizationAffiliation", (OrganizationAffiliation)resource);
-    } else if (resource instanceof PackagedProductDefinition) {
+      break;
+    case PackagedProductDefinition:
       composePackagedProductDefinition("PackagedProductDefinition", (PackagedProductDefinition)resource);
-    } else if (resource instanceof Parameters) {
+      break;
+    case Parameters:
       composeParameters("Parameters", (Parameters)resource);
-    } else if (resource instanceof Patient) {
+      break;
+    case Patient:
       composePatient("Patient", (Patient)resource);
-    } else if (resource instanceof PaymentNotice) {
+      break;
+    case PaymentNotice:
       composePaymentNotice("PaymentNotice", (PaymentNotice)resource);
-    } else if (resource instanceof PaymentReconciliation) {
+      break;
+    case PaymentReconciliation:
       composePaymentReconciliation("PaymentReconciliation", (PaymentReconciliation)resource);
-    } else if (resource instanceof Permission) {
+      break;
+    case Permission:
       composePermission("Permission", (Permission)resource);
-    } else if (resource instanceof Person) {
+      break;
+    case Person:
       composePerson("Person", (Person)resource);
-    } else if (resource instanceof PlanDefinition) {
+      break;
+    case PlanDefinition:
       composePlanDefinition("PlanDefinition", (PlanDefinition)resource);
-    } else if (resource instanceof Practitioner) {
+      break;
+    case Practitioner:
       composePractitioner("Practitioner", (Practitioner)resource);
-    } else if (resource instanceof PractitionerRole) {
+      break;
+    case PractitionerRole:
       composePractitionerRole("PractitionerRole", (PractitionerRole)resource);
-    } else if (resource instanceof Procedure) {
+      break;
+    case Procedure:
       composeProcedure("Procedure", (Procedure)resource);
-    } else if (resource instanceof Provenance) {
+      break;
+    case Provenance:
       composeProvenance("Provenance", (Provenance)resource);
-    } else if (resource instanceof Questionnaire) {
+      break;
+    case Questionnaire:
       composeQuestionnaire("Questionnaire", (Questionnaire)resource);
-    } else if (resource instanceof QuestionnaireResponse) {
+      break;
+    case QuestionnaireResponse:
       composeQuestionnaireResponse("QuestionnaireResponse", (QuestionnaireResponse)resource);
-    } else if (resource instanceof RegulatedAuthorization) {
+      break;
+    case RegulatedAuthorization:
       composeRegulatedAuthorization("RegulatedAuthorization", (RegulatedAuthorization)resource);
-    } else if (resource instanceof RelatedPerson) {
+      break;
+    case RelatedPerson:
       composeRelatedPerson("RelatedPerson", (RelatedPerson)resource);
-    } else if (resource instanceof RequestGroup) {
+      break;
+    case RequestGroup:
       composeRequestGroup("RequestGroup", (RequestGroup)resource);
-    } else if (resource instanceof ResearchStudy) {
+      break;
+    case ResearchStudy:
       composeResearchStudy("ResearchStudy", (ResearchStudy)resource);
-    } else if (resource instanceof ResearchSubject) {
+      break;
+    case ResearchSubject:
       composeResearchSubject("ResearchSubject", (ResearchSubject)resource);
-    } else if (resource instanceof RiskAssessment) {
+      break;
+    case RiskAssessment:
       composeRiskAssessment("RiskAssessment", (RiskAssessment)resource);
-    } else if (resource instanceof Schedule) {
+      break;
+    case Schedule:
       composeSchedule("Schedule", (Schedule)resource);
-    } else if (resource instanceof SearchParameter) {
+      break;
+    case SearchParameter:
       composeSearchParameter("SearchParameter", (SearchParameter)resource);
-    } else if (resource instanceof ServiceRequest) {
+      break;
+    case ServiceRequest:
       composeServiceRequest("ServiceRequest", (ServiceRequest)resource);
-    } else if (resource instanceof Slot) {
+      break;
+    case Slot:
       composeSlot("Slot", (Slot)resource);
-    } else if (resource instanceof Specimen) {
+      break;
+    case Specimen:
       composeSpecimen("Specimen", (Specimen)resource);
-    } else if (resource instanceof SpecimenDefinition) {
+      break;
+    case SpecimenDefinition:
       composeSpecimenDefinition("SpecimenDefinition", (SpecimenDefinition)resource);
-    } else if (resource instanceof StructureDefinition) {
+      break;
+    case StructureDefinition:
       composeStructureDefinition("StructureDefinition", (StructureDefinition)resource);
-    } else if (resource instanceof StructureMap) {
+      break;
+    case StructureMap:
       composeStructureMap("StructureMap", (StructureMap)resource);
-    } else if (resource instanceof Subscription) {
+      break;
+    case Subscription:
       composeSubscription("Subscription", (Subscription)resource);
-    } else if (resource instanceof SubscriptionStatus) {
+      break;
+    case SubscriptionStatus:
       composeSubscriptionStatus("SubscriptionStatus", (SubscriptionStatus)resource);
-    } else if (resource instanceof SubscriptionTopic) {
+      break;
+    case SubscriptionTopic:
       composeSubscriptionTopic("SubscriptionTopic", (SubscriptionTopic)resource);
-    } else if (resource instanceof Substance) {
+      break;
+    case Substance:
       composeSubstance("Substance", (Substance)resource);
-    } else if (resource instanceof SubstanceDefinition) {
+      break;
+    case SubstanceDefinition:
       composeSubstanceDefinition("SubstanceDefinition", (SubstanceDefinition)resource);
-    } else if (resource instanceof SubstanceNucleicAcid) {
+      break;
+    case SubstanceNucleicAcid:
       composeSubstanceNucleicAcid("SubstanceNucleicAcid", (SubstanceNucleicAcid)resource);
-    } else if (resource instanceof SubstancePolymer) {
+      break;
+    case SubstancePolymer:
       composeSubstancePolymer("SubstancePolymer", (SubstancePolymer)resource);
-    } else if (resource instanceof SubstanceProtein) {
+      break;
+    case SubstanceProtein:
       composeSubstanceProtein("SubstanceProtein", (SubstanceProtein)resource);
-    } else if (resource instanceof SubstanceReferenceInformation) {
+      break;
+    case SubstanceReferenceInformation:
       composeSubstanceReferenceInformation("SubstanceReferenceInformation", (SubstanceReferenceInformation)resource);
-    } else if (resource instanceof SubstanceSourceMaterial) {
+      break;
+    case SubstanceSourceMaterial:
       composeSubstanceSourceMaterial("SubstanceSourceMaterial", (SubstanceSourceMaterial)resource);
-    } else if (resource instanceof SupplyDelivery) {
+      break;
+    case SupplyDelivery:
       composeSupplyDelivery("SupplyDelivery", (SupplyDelivery)resource);
-    } else if (resource instanceof SupplyRequest) {
+      break;
+    case SupplyRequest:
       composeSupplyRequest("SupplyRequest", (SupplyRequest)resource);
-    } else if (resource instanceof Task) {
+      break;
+    case Task:
       composeTask("Task", (Task)resource);
-    } else if (resource instanceof TerminologyCapabilities) {
+      break;
+    case TerminologyCapabilities:
       composeTerminologyCapabilities("TerminologyCapabilities", (TerminologyCapabilities)resource);
-    } else if (resource instanceof TestReport) {
+      break;
+    case TestReport:
       composeTestReport("TestReport", (TestReport)resource);
-    } else if (resource instanceof TestScript) {
+      break;
+    case TestScript:
       composeTestScript("TestScript", (TestScript)resource);
-    } else if (resource instanceof ValueSet) {
+      break;
+    case ValueSet:
       composeValueSet("ValueSet", (ValueSet)resource);
-    } else if (resource instanceof VerificationResult) {
+      break;
+    case VerificationResult:
       composeVerificationResult("VerificationResult", (VerificationResult)resource);
-    } else if (resource instanceof VisionPrescription) {
+      break;
+    case VisionPrescription:
       composeVisionPrescription("VisionPrescription", (VisionPrescription)resource);
+      break;
  
-    } else
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
+    }
   }
 
   protected void composeNamedReference(String name, Resource resource) throws IOException {
     if (resource == null) {
       throw new Error("Unhandled resource type "+resource.getClass().getName());
-    } else if (resource instanceof Account) {
+    }
+    switch (resource.getResourceType()) {
+    case Account:
       composeAccount(name, (Account)resource);
-    } else if (resource instanceof ActivityDefinition) {
+      break;
+    case ActivityDefinition:
       composeActivityDefinition(name, (ActivityDefinition)resource);
-    } else if (resource instanceof AdministrableProductDefinition) {
+      break;
+    case AdministrableProductDefinition:
       composeAdministrableProductDefinition(name, (AdministrableProductDefinition)resource);
-    } else if (resource instanceof AdverseEvent) {
+      break;
+    case AdverseEvent:
       composeAdverseEvent(name, (AdverseEvent)resource);
-    } else if (resource instanceof AllergyIntolerance) {
+      break;
+    case AllergyIntolerance:
       composeAllergyIntolerance(name, (AllergyIntolerance)resource);
-    } else if (resource instanceof Appointment) {
+      break;
+    case Appointment:
       composeAppointment(name, (Appointment)resource);
-    } else if (resource instanceof AppointmentResponse) {
+      break;
+    case AppointmentResponse:
       composeAppointmentResponse(name, (AppointmentResponse)resource);
-    } else if (resource instanceof AuditEvent) {
+      break;
+    case AuditEvent:
       composeAuditEvent(name, (AuditEvent)resource);
-    } else if (resource instanceof Basic) {
+      break;
+    case Basic:
       composeBasic(name, (Basic)resource);
-    } else if (resource instanceof Binary) {
+      break;
+    case Binary:
       composeBinary(name, (Binary)resource);
-    } else if (resource instanceof BiologicallyDerivedProduct) {
+      break;
+    case BiologicallyDerivedProduct:
       composeBiologicallyDerivedProduct(name, (BiologicallyDerivedProduct)resource);
-    } else if (resource instanceof BodyStructure) {
+      break;
+    case BodyStructure:
       composeBodyStructure(name, (BodyStructure)resource);
-    } else if (resource instanceof Bundle) {
+      break;
+    case Bundle:
       composeBundle(name, (Bundle)resource);
-    } else if (resource instanceof CapabilityStatement) {
+      break;
+    case CapabilityStatement:
       composeCapabilityStatement(name, (CapabilityStatement)resource);
-    } else if (resource instanceof CapabilityStatement2) {
+      break;
+    case CapabilityStatement2:
       composeCapabilityStatement2(name, (CapabilityStatement2)resource);
-    } else if (resource instanceof CarePlan) {
+      break;
+    case CarePlan:
       composeCarePlan(name, (CarePlan)resource);
-    } else if (resource instanceof CareTeam) {
+      break;
+    case CareTeam:
       composeCareTeam(name, (CareTeam)resource);
-    } else if (resource instanceof CatalogEntry) {
+      break;
+    case CatalogEntry:
       composeCatalogEntry(name, (CatalogEntry)resource);
-    } else if (resource instanceof ChargeItem) {
+      break;
+    case ChargeItem:
       composeChargeItem(name, (ChargeItem)resource);
-    } else if (resource instanceof ChargeItemDefinition) {
+      break;
+    case ChargeItemDefinition:
       composeChargeItemDefinition(name, (ChargeItemDefinition)resource);
-    } else if (resource instanceof Citation) {
+      break;
+    case Citation:
       composeCitation(name, (Citation)resource);
-    } else if (resource instanceof Claim) {
+      break;
+    case Claim:
       composeClaim(name, (Claim)resource);
-    } else if (resource instanceof ClaimResponse) {
+      break;
+    case ClaimResponse:
       composeClaimResponse(name, (ClaimResponse)resource);
-    } else if (resource instanceof ClinicalImpression) {
+      break;
+    case ClinicalImpression:
       composeClinicalImpression(name, (ClinicalImpression)resource);
-    } else if (resource instanceof ClinicalUseIssue) {
+      break;
+    case ClinicalUseIssue:
       composeClinicalUseIssue(name, (ClinicalUseIssue)resource);
-    } else if (resource instanceof CodeSystem) {
+      break;
+    case CodeSystem:
       composeCodeSystem(name, (CodeSystem)resource);
-    } else if (resource instanceof Communication) {
+      break;
+    case Communication:
       composeCommunication(name, (Communication)resource);
-    } else if (resource instanceof CommunicationRequest) {
+      break;
+    case CommunicationRequest:
       composeCommunicationRequest(name, (CommunicationRequest)resource);
-    } else if (resource instanceof CompartmentDefinition) {
+      break;
+    case CompartmentDefinition:
       composeCompartmentDefinition(name, (CompartmentDefinition)resource);
-    } else if (resource instanceof Composition) {
+      break;
+    case Composition:
       composeComposition(name, (Composition)resource);
-    } else if (resource instanceof ConceptMap) {
+      break;
+    case ConceptMap:
       composeConceptMap(name, (ConceptMap)resource);
-    } else if (resource instanceof Condition) {
+      break;
+    case Condition:
       composeCondition(name, (Condition)resource);
-    } else if (resource instanceof ConditionDefinition) {
+      break;
+    case ConditionDefinition:
       composeConditionDefinition(name, (ConditionDefinition)resource);
-    } else if (resource instanceof Consent) {
+      break;
+    case Consent:
       composeConsent(name, (Consent)resource);
-    } else if (resource instanceof Contract) {
+      break;
+    case Contract:
       composeContract(name, (Contract)resource);
-    } else if (resource instanceof Coverage) {
+      break;
+    case Coverage:
       composeCoverage(name, (Coverage)resource);
-    } else if (resource instanceof CoverageEligibilityRequest) {
+      break;
+    case CoverageEligibilityRequest:
       composeCoverageEligibilityRequest(name, (CoverageEligibilityRequest)resource);
-    } else if (resource instanceof CoverageEligibilityResponse) {
+      break;
+    case CoverageEligibilityResponse:
       composeCoverageEligibilityResponse(name, (CoverageEligibilityResponse)resource);
-    } else if (resource instanceof DetectedIssue) {
+      break;
+    case DetectedIssue:
       composeDetectedIssue(name, (DetectedIssue)resource);
-    } else if (resource instanceof Device) {
+      break;
+    case Device:
       composeDevice(name, (Device)resource);
-    } else if (resource instanceof DeviceDefinition) {
+      break;
+    case DeviceDefinition:
       composeDeviceDefinition(name, (DeviceDefinition)resource);
-    } else if (resource instanceof DeviceMetric) {
+      break;
+    case DeviceMetric:
       composeDeviceMetric(name, (DeviceMetric)resource);
-    } else if (resource instanceof DeviceRequest) {
+      break;
+    case DeviceRequest:
       composeDeviceRequest(name, (DeviceRequest)resource);
-    } else if (resource instanceof DeviceUseStatement) {
+      break;
+    case DeviceUseStatement:
       composeDeviceUseStatement(name, (DeviceUseStatement)resource);
-    } else if (resource instanceof DiagnosticReport) {
+      break;
+    case DiagnosticReport:
       composeDiagnosticReport(name, (DiagnosticReport)resource);
-    } else if (resource instanceof DocumentManifest) {
+      break;
+    case DocumentManifest:
       composeDocumentManifest(name, (DocumentManifest)resource);
-    } else if (resource instanceof DocumentReference) {
+      break;
+    case DocumentReference:
       composeDocumentReference(name, (DocumentReference)resource);
-    } else if (resource instanceof Encounter) {
+      break;
+    case Encounter:
       composeEncounter(name, (Encounter)resource);
-    } else if (resource instanceof Endpoint) {
+      break;
+    case Endpoint:
       composeEndpoint(name, (Endpoint)resource);
-    } else if (resource instanceof EnrollmentRequest) {
+      break;
+    case EnrollmentRequest:
       composeEnrollmentRequest(name, (EnrollmentRequest)resource);
-    } else if (resource instanceof EnrollmentResponse) {
+      break;
+    case EnrollmentResponse:
       composeEnrollmentResponse(name, (EnrollmentResponse)resource);
-    } else if (resource instanceof EpisodeOfCare) {
+      break;
+    case EpisodeOfCare:
       composeEpisodeOfCare(name, (EpisodeOfCare)resource);
-    } else if (resource instanceof EventDefinition) {
+      break;
+    case EventDefinition:
       composeEventDefinition(name, (EventDefinition)resource);
-    } else if (resource instanceof Evidence) {
+      break;
+    case Evidence:
       composeEvidence(name, (Evidence)resource);
-    } else if (resource instanceof EvidenceReport) {
+      break;
+    case EvidenceReport:
       composeEvidenceReport(name, (EvidenceReport)resource);
-    } else if (resource instanceof EvidenceVariable) {
+      break;
+    case EvidenceVariable:
       composeEvidenceVariable(name, (EvidenceVariable)resource);
-    } else if (resource instanceof ExampleScenario) {
+      break;
+    case ExampleScenario:
       composeExampleScenario(name, (ExampleScenario)resource);
-    } else if (resource instanceof ExplanationOfBenefit) {
+      break;
+    case ExplanationOfBenefit:
       composeExplanationOfBenefit(name, (ExplanationOfBenefit)resource);
-    } else if (resource instanceof FamilyMemberHistory) {
+      break;
+    case FamilyMemberHistory:
       composeFamilyMemberHistory(name, (FamilyMemberHistory)resource);
-    } else if (resource instanceof Flag) {
+      break;
+    case Flag:
       composeFlag(name, (Flag)resource);
-    } else if (resource instanceof Goal) {
+      break;
+    case Goal:
       composeGoal(name, (Goal)resource);
-    } else if (resource instanceof GraphDefinition) {
+      break;
+    case GraphDefinition:
       composeGraphDefinition(name, (GraphDefinition)resource);
-    } else if (resource instanceof Group) {
+      break;
+    case Group:
       composeGroup(name, (Group)resource);
-    } else if (resource instanceof GuidanceResponse) {
+      break;
+    case GuidanceResponse:
       composeGuidanceResponse(name, (GuidanceResponse)resource);
-    } else if (resource instanceof HealthcareService) {
+      break;
+    case HealthcareService:
       composeHealthcareService(name, (HealthcareService)resource);
-    } else if (resource instanceof ImagingStudy) {
+      break;
+    case ImagingStudy:
       composeImagingStudy(name, (ImagingStudy)resource);
-    } else if (resource instanceof Immunization) {
+      break;
+    case Immunization:
       composeImmunization(name, (Immunization)resource);
-    } else if (resource instanceof ImmunizationEvaluation) {
+      break;
+    case ImmunizationEvaluation:
       composeImmunizationEvaluation(name, (ImmunizationEvaluation)resource);
-    } else if (resource instanceof ImmunizationRecommendation) {
+      break;
+    case ImmunizationRecommendation:
       composeImmunizationRecommendation(name, (ImmunizationRecommendation)resource);
-    } else if (resource instanceof ImplementationGuide) {
+      break;
+    case ImplementationGuide:
       composeImplementationGuide(name, (ImplementationGuide)resource);
-    } else if (resource instanceof Ingredient) {
+      break;
+    case Ingredient:
       composeIngredient(name, (Ingredient)resource);
-    } else if (resource instanceof InsurancePlan) {
+      break;
+    case InsurancePlan:
       composeInsurancePlan(name, (InsurancePlan)resource);
-    } else if (resource instanceof Invoice) {
+      break;
+    case Invoice:
       composeInvoice(name, (Invoice)resource);
-    } else if (resource instanceof Library) {
+      break;
+    case Library:
       composeLibrary(name, (Library)resource);
-    } else if (resource instanceof Linkage) {
+      break;
+    case Linkage:
       composeLinkage(name, (Linkage)resource);
-    } else if (resource instanceof ListResource) {
+      break;
+    case List:
       composeListResource(name, (ListResource)resource);
-    } else if (resource instanceof Location) {
+      break;
+    case Location:
       composeLocation(name, (Location)resource);
-    } else if (resource instanceof ManufacturedItemDefinition) {
+      break;
+    case ManufacturedItemDefinition:
       composeManufacturedItemDefinition(name, (ManufacturedItemDefinition)resource);
-    } else if (resource instanceof Measure) {
+      break;
+    case Measure:
       composeMeasure(name, (Measure)resource);
-    } else if (resource instanceof MeasureReport) {
+      break;
+    case MeasureReport:
       composeMeasureReport(name, (MeasureReport)resource);
-    } else if (resource instanceof Medication) {
+      break;
+    case Medication:
       composeMedication(name, (Medication)resource);
-    } else if (resource instanceof MedicationAdministration) {
+      break;
+    case MedicationAdministration:
       composeMedicationAdministration(name, (MedicationAdministration)resource);
-    } else if (resource instanceof MedicationDispense) {
+      break;
+    case MedicationDispense:
       composeMedicationDispense(name, (MedicationDispense)resource);
-    } else if (resource instanceof MedicationKnowledge) {
+      break;
+    case MedicationKnowledge:
       composeMedicationKnowledge(name, (MedicationKnowledge)resource);
-    } else if (resource instanceof MedicationRequest) {
+      break;
+    case MedicationRequest:
       composeMedicationRequest(name, (MedicationRequest)resource);
-    } else if (resource instanceof MedicationUsage) {
+      break;
+    case MedicationUsage:
       composeMedicationUsage(name, (MedicationUsage)resource);
-    } else if (resource instanceof MedicinalProductDefinition) {
+      break;
+    case MedicinalProductDefinition:
       composeMedicinalProductDefinition(name, (MedicinalProductDefinition)resource);
-    } else if (resource instanceof MessageDefinition) {
+      break;
+    case MessageDefinition:
       composeMessageDefinition(name, (MessageDefinition)resource);
-    } else if (resource instanceof MessageHeader) {
+      break;
+    case MessageHeader:
       composeMessageHeader(name, (MessageHeader)resource);
-    } else if (resource instanceof MolecularSequence) {
+      break;
+    case MolecularSequence:
       composeMolecularSequence(name, (MolecularSequence)resource);
-    } else if (resource instanceof NamingSystem) {
+      break;
+    case NamingSystem:
       composeNamingSystem(name, (NamingSystem)resource);
-    } else if (resource instanceof NutritionIntake) {
+      break;
+    case NutritionIntake:
       composeNutritionIntake(name, (NutritionIntake)resource);
-    } else if (resource instanceof NutritionOrder) {
+      break;
+    case NutritionOrder:
       composeNutritionOrder(name, (NutritionOrder)resource);
-    } else if (resource instanceof NutritionProduct) {
+      break;
+    case NutritionProduct:
       composeNutritionProduct(name, (NutritionProduct)resource);
-    } else if (resource instanceof Observation) {
+      break;
+    case Observation:
       composeObservation(name, (Observation)resource);
-    } else if (resource instanceof ObservationDefinition) {
+      break;
+    case ObservationDefinition:
       composeObservationDefinition(name, (ObservationDefinition)resource);
-    } else if (resource instanceof OperationDefinition) {
+      break;
+    case OperationDefinition:
       composeOperationDefinition(name, (OperationDefinition)resource);
-    } else if (resource instanceof OperationOutcome) {
+      break;
+    case OperationOutcome:
       composeOperationOutcome(name, (OperationOutcome)resource);
-    } else if (resource instanceof Organization) {
+      break;
+    case Organization:
       composeOrganization(name, (Organization)resource);
-    } else if (resource instanceof OrganizationAffiliation) {
+      break;
+    case OrganizationAffiliation:
       composeOrganizationAffiliation(name, (OrganizationAffiliation)resource);
-    } else if (resource instanceof PackagedProductDefinition) {
+      break;
+    case PackagedProductDefinition:
       composePackagedProductDefinition(name, (PackagedProductDefinition)resource);
-    } else if (resource instanceof Parameters) {
+      break;
+    case Parameters:
       composeParameters(name, (Parameters)resource);
-    } else if (resource instanceof Patient) {
+      break;
+    case Patient:
       composePatient(name, (Patient)resource);
-    } else if (resource instanceof PaymentNotice) {
+      break;
+    case PaymentNotice:
       composePaymentNotice(name, (PaymentNotice)resource);
-    } else if (resource instanceof PaymentReconciliation) {
+      break;
+    case PaymentReconciliation:
       composePaymentReconciliation(name, (PaymentReconciliation)resource);
-    } else if (resource instanceof Permission) {
+      break;
+    case Permission:
       composePermission(name, (Permission)resource);
-    } else if (resource instanceof Person) {
+      break;
+    case Person:
       composePerson(name, (Person)resource);
-    } else if (resource instanceof PlanDefinition) {
+      break;
+    case PlanDefinition:
       composePlanDefinition(name, (PlanDefinition)resource);
-    } else if (resource instanceof Practitioner) {
+      break;
+    case Practitioner:
       composePractitioner(name, (Practitioner)resource);
-    } else if (resource instanceof PractitionerRole) {
+      break;
+    case PractitionerRole:
       composePractitionerRole(name, (PractitionerRole)resource);
-    } else if (resource instanceof Procedure) {
+      break;
+    case Procedure:
       composeProcedure(name, (Procedure)resource);
-    } else if (resource instanceof Provenance) {
+      break;
+    case Provenance:
       composeProvenance(name, (Provenance)resource);
-    } else if (resource instanceof Questionnaire) {
+      break;
+    case Questionnaire:
       composeQuestionnaire(name, (Questionnaire)resource);
-    } else if (resource instanceof QuestionnaireResponse) {
+      break;
+    case QuestionnaireResponse:
       composeQuestionnaireResponse(name, (QuestionnaireResponse)resource);
-    } else if (resource instanceof RegulatedAuthorization) {
+      break;
+    case RegulatedAuthorization:
       composeRegulatedAuthorization(name, (RegulatedAuthorization)resource);
-    } else if (resource instanceof RelatedPerson) {
+      break;
+    case RelatedPerson:
       composeRelatedPerson(name, (RelatedPerson)resource);
-    } else if (resource instanceof RequestGroup) {
+      break;
+    case RequestGroup:
       composeRequestGroup(name, (RequestGroup)resource);
-    } else if (resource instanceof ResearchStudy) {
+      break;
+    case ResearchStudy:
       composeResearchStudy(name, (ResearchStudy)resource);
-    } else if (resource instanceof ResearchSubject) {
+      break;
+    case ResearchSubject:
       composeResearchSubject(name, (ResearchSubject)resource);
-    } else if (resource instanceof RiskAssessment) {
+      break;
+    case RiskAssessment:
       composeRiskAssessment(name, (RiskAssessment)resource);
-    } else if (resource instanceof Schedule) {
+      break;
+    case Schedule:
       composeSchedule(name, (Schedule)resource);
-    } else if (resource instanceof SearchParameter) {
+      break;
+    case SearchParameter:
       composeSearchParameter(name, (SearchParameter)resource);
-    } else if (resource instanceof ServiceRequest) {
+      break;
+    case ServiceRequest:
       composeServiceRequest(name, (ServiceRequest)resource);
-    } else if (resource instanceof Slot) {
+      break;
+    case Slot:
       composeSlot(name, (Slot)resource);
-    } else if (resource instanceof Specimen) {
+      break;
+    case Specimen:
       composeSpecimen(name, (Specimen)resource);
-    } else if (resource instanceof SpecimenDefinition) {
+      break;
+    case SpecimenDefinition:
       composeSpecimenDefinition(name, (SpecimenDefinition)resource);
-    } else if (resource instanceof StructureDefinition) {
+      break;
+    case StructureDefinition:
       composeStructureDefinition(name, (StructureDefinition)resource);
-    } else if (resource instanceof StructureMap) {
+      break;
+    case StructureMap:
       composeStructureMap(name, (StructureMap)resource);
-    } else if (resource instanceof Subscription) {
+      break;
+    case Subscription:
       composeSubscription(name, (Subscription)resource);
-    } else if (resource instanceof SubscriptionStatus) {
+      break;
+    case SubscriptionStatus:
       composeSubscriptionStatus(name, (SubscriptionStatus)resource);
-    } else if (resource instanceof SubscriptionTopic) {
+      break;
+    case SubscriptionTopic:
       composeSubscriptionTopic(name, (SubscriptionTopic)resource);
-    } else if (resource instanceof Substance) {
+      break;
+    case Substance:
       composeSubstance(name, (Substance)resource);
-    } else if (resource instanceof SubstanceDefinition) {
+      break;
+    case SubstanceDefinition:
       composeSubstanceDefinition(name, (SubstanceDefinition)resource);
-    } else if (resource instanceof SubstanceNucleicAcid) {
+      break;
+    case SubstanceNucleicAcid:
       composeSubstanceNucleicAcid(name, (SubstanceNucleicAcid)resource);
-    } else if (resource instanceof SubstancePolymer) {
+      break;
+    case SubstancePolymer:
       composeSubstancePolymer(name, (SubstancePolymer)resource);
-    } else if (resource instanceof SubstanceProtein) {
+      break;
+    case SubstanceProtein:
       composeSubstanceProtein(name, (SubstanceProtein)resource);
-    } else if (resource instanceof SubstanceReferenceInformation) {
+      break;
+    case SubstanceReferenceInformation:
       composeSubstanceReferenceInformation(name, (SubstanceReferenceInformation)resource);
-    } else if (resource instanceof SubstanceSourceMaterial) {
+      break;
+    case SubstanceSourceMaterial:
       composeSubstanceSourceMaterial(name, (SubstanceSourceMaterial)resource);
-    } else if (resource instanceof SupplyDelivery) {
+      break;
+    case SupplyDelivery:
       composeSupplyDelivery(name, (SupplyDelivery)resource);
-    } else if (resource instanceof SupplyRequest) {
+      break;
+    case SupplyRequest:
       composeSupplyRequest(name, (SupplyRequest)resource);
-    } else if (resource instanceof Task) {
+      break;
+    case Task:
       composeTask(name, (Task)resource);
-    } else if (resource instanceof TerminologyCapabilities) {
+      break;
+    case TerminologyCapabilities:
       composeTerminologyCapabilities(name, (TerminologyCapabilities)resource);
-    } else if (resource instanceof TestReport) {
+      break;
+    case TestReport:
       composeTestReport(name, (TestReport)resource);
-    } else if (resource instanceof TestScript) {
+      break;
+    case TestScript:
       composeTestScript(name, (TestScript)resource);
-    } else if (resource instanceof ValueSet) {
+      break;
+    case ValueSet:
       composeValueSet(name, (ValueSet)resource);
-    } else if (resource instanceof VerificationResult) {
+      break;
+    case VerificationResult:
       composeVerificationResult(name, (VerificationResult)resource);
-    } else if (resource instanceof VisionPrescription) {
+      break;
+    case VisionPrescription:
       composeVisionPrescription(name, (VisionPrescription)resource);
+      break;
  
-    } else
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
+    }
   }
 
   protected void composeType(String prefix, DataType type) throws IOException {
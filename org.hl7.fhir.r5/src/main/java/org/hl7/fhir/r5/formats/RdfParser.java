@@ -24329,302 +24329,451 @@ public class RdfParser extends RdfParserBase {
       throw new Error("parent == null");
     } else if (resource == null) {
       throw new Error("resource == null");
-    } else if (resource instanceof Account) {
+    }
+    switch (resource.getResourceType()) {
+    case Account:
       composeAccount(parent, null, "Account", (Account)resource, -1);
-    } else if (resource instanceof ActivityDefinition) {
+      break;
+    case ActivityDefinition:
       composeActivityDefinition(parent, null, "ActivityDefinition", (ActivityDefinition)resource, -1);
-    } else if (resource instanceof AdministrableProductDefinition) {
+      break;
+    case AdministrableProductDefinition:
       composeAdministrableProductDefinition(parent, null, "AdministrableProductDefinition", (AdministrableProductDefinition)resource, -1);
-    } else if (resource instanceof AdverseEvent) {
+      break;
+    case AdverseEvent:
       composeAdverseEvent(parent, null, "AdverseEvent", (AdverseEvent)resource, -1);
-    } else if (resource instanceof AllergyIntolerance) {
+      break;
+    case AllergyIntolerance:
       composeAllergyIntolerance(parent, null, "AllergyIntolerance", (AllergyIntolerance)resource, -1);
-    } else if (resource instanceof Appointment) {
+      break;
+    case Appointment:
       composeAppointment(parent, null, "Appointment", (Appointment)resource, -1);
-    } else if (resource instanceof AppointmentResponse) {
+      break;
+    case AppointmentResponse:
       composeAppointmentResponse(parent, null, "AppointmentResponse", (AppointmentResponse)resource, -1);
-    } else if (resource instanceof AuditEvent) {
+      break;
+    case AuditEvent:
       composeAuditEvent(parent, null, "AuditEvent", (AuditEvent)resource, -1);
-    } else if (resource instanceof Basic) {
+      break;
+    case Basic:
       composeBasic(parent, null, "Basic", (Basic)resource, -1);
-    } else if (resource instanceof Binary) {
+      break;
+    case Binary:
       composeBinary(parent, null, "Binary", (Binary)resource, -1);
-    } else if (resource instanceof BiologicallyDerivedProduct) {
+      break;
+    case BiologicallyDerivedProduct:
       composeBiologicallyDerivedProduct(parent, null, "BiologicallyDerivedProduct", (BiologicallyDerivedProduct)resource, -1);
-    } else if (resource instanceof BodyStructure) {
+      break;
+    case BodyStructure:
       composeBodyStructure(parent, null, "BodyStructure", (BodyStructure)resource, -1);
-    } else if (resource instanceof Bundle) {
+      break;
+    case Bundle:
       composeBundle(parent, null, "Bundle", (Bundle)resource, -1);
-    } else if (resource instanceof CapabilityStatement) {
+      break;
+    case CapabilityStatement:
       composeCapabilityStatement(parent, null, "CapabilityStatement", (CapabilityStatement)resource, -1);
-    } else if (resource instanceof CapabilityStatement2) {
+      break;
+    case CapabilityStatement2:
       composeCapabilityStatement2(parent, null, "CapabilityStatement2", (CapabilityStatement2)resource, -1);
-    } else if (resource instanceof CarePlan) {
+      break;
+    case CarePlan:
       composeCarePlan(parent, null, "CarePlan", (CarePlan)resource, -1);
-    } else if (resource instanceof CareTeam) {
+      break;
+    case CareTeam:
       composeCareTeam(parent, null, "CareTeam", (CareTeam)resource, -1);
-    } else if (resource instanceof CatalogEntry) {
+      break;
+    case CatalogEntry:
       composeCatalogEntry(parent, null, "CatalogEntry", (CatalogEntry)resource, -1);
-    } else if (resource instanceof ChargeItem) {
+      break;
+    case ChargeItem:
       composeChargeItem(parent, null, "ChargeItem", (ChargeItem)resource, -1);
-    } else if (resource instanceof ChargeItemDefinition) {
+      break;
+    case ChargeItemDefinition:
       composeChargeItemDefinition(parent, null, "ChargeItemDefinition", (ChargeItemDefinition)resource, -1);
-    } else if (resource instanceof Citation) {
+      break;
+    case Citation:
       composeCitation(parent, null, "Citation", (Citation)resource, -1);
-    } else if (resource instanceof Claim) {
+      break;
+    case Claim:
       composeClaim(parent, null, "Claim", (Claim)resource, -1);
-    } else if (resource instanceof ClaimResponse) {
+      break;
+    case ClaimResponse:
       composeClaimResponse(parent, null, "ClaimResponse", (ClaimResponse)resource, -1);
-    } else if (resource instanceof ClinicalImpression) {
+      break;
+    case ClinicalImpression:
       composeClinicalImpression(parent, null, "ClinicalImpression", (ClinicalImpression)resource, -1);
-    } else if (resource instanceof ClinicalUseIssue) {
+      break;
+    case ClinicalUseIssue:
       composeClinicalUseIssue(parent, null, "ClinicalUseIssue", (ClinicalUseIssue)resource, -1);
-    } else if (resource instanceof CodeSystem) {
+      break;
+    case CodeSystem:
       composeCodeSystem(parent, null, "CodeSystem", (CodeSystem)resource, -1);
-    } else if (resource instanceof Communication) {
+      break;
+    case Communication:
       composeCommunication(parent, null, "Communication", (Communication)resource, -1);
-    } else if (resource instanceof CommunicationRequest) {
+      break;
+    case CommunicationRequest:
       composeCommunicationRequest(parent, null, "CommunicationRequest", (CommunicationRequest)resource, -1);
-    } else if (resource instanceof CompartmentDefinition) {
+      break;
+    case CompartmentDefinition:
       composeCompartmentDefinition(parent, null, "CompartmentDefinition", (CompartmentDefinition)resource, -1);
-    } else if (resource instanceof Composition) {
+      break;
+    case Composition:
       composeComposition(parent, null, "Composition", (Composition)resource, -1);
-    } else if (resource instanceof ConceptMap) {
+      break;
+    case ConceptMap:
       composeConceptMap(parent, null, "ConceptMap", (ConceptMap)resource, -1);
-    } else if (resource instanceof Condition) {
+      break;
+    case Condition:
       composeCondition(parent, null, "Condition", (Condition)resource, -1);
-    } else if (resource instanceof ConditionDefinition) {
+      break;
+    case ConditionDefinition:
       composeConditionDefinition(parent, null, "ConditionDefinition", (ConditionDefinition)resource, -1);
-    } else if (resource instanceof Consent) {
+      break;
+    case Consent:
       composeConsent(parent, null, "Consent", (Consent)resource, -1);
-    } else if (resource instanceof Contract) {
+      break;
+    case Contract:
       composeContract(parent, null, "Contract", (Contract)resource, -1);
-    } else if (resource instanceof Coverage) {
+      break;
+    case Coverage:
       composeCoverage(parent, null, "Coverage", (Coverage)resource, -1);
-    } else if (resource instanceof CoverageEligibilityRequest) {
+      break;
+    case CoverageEligibilityRequest:
       composeCoverageEligibilityRequest(parent, null, "CoverageEligibilityRequest", (CoverageEligibilityRequest)resource, -1);
-    } else if (resource instanceof CoverageEligibilityResponse) {
+      break;
+    case CoverageEligibilityResponse:
       composeCoverageEligibilityResponse(parent, null, "CoverageEligibilityResponse", (CoverageEligibilityResponse)resource, -1);
-    } else if (resource instanceof DetectedIssue) {
+      break;
+    case DetectedIssue:
       composeDetectedIssue(parent, null, "DetectedIssue", (DetectedIssue)resource, -1);
-    } else if (resource instanceof Device) {
+      break;
+    case Device:
       composeDevice(parent, null, "Device", (Device)resource, -1);
-    } else if (resource instanceof DeviceDefinition) {
+      break;
+    case DeviceDefinition:
       composeDeviceDefinition(parent, null, "DeviceDefinition", (DeviceDefinition)resource, -1);
-    } else if (resource instanceof DeviceMetric) {
+      break;
+    case DeviceMetric:
       composeDeviceMetric(parent, null, "DeviceMetric", (DeviceMetric)resource, -1);
-    } else if (resource instanceof DeviceRequest) {
+      break;
+    case DeviceRequest:
       composeDeviceRequest(parent, null, "DeviceRequest", (DeviceRequest)resource, -1);
-    } else if (resource instanceof DeviceUseStatement) {
+      break;
+    case DeviceUseStatement:
       composeDeviceUseStatement(parent, null, "DeviceUseStatement", (DeviceUseStatement)resource, -1);
-    } else if (resource instanceof DiagnosticReport) {
+      break;
+    case DiagnosticReport:
       composeDiagnosticReport(parent, null, "DiagnosticReport", (DiagnosticReport)resource, -1);
-    } else if (resource instanceof DocumentManifest) {
+      break;
+    case DocumentManifest:
       composeDocumentManifest(parent, null, "DocumentManifest", (DocumentManifest)resource, -1);
-    } else if (resource instanceof DocumentReference) {
+      break;
+    case DocumentReference:
       composeDocumentReference(parent, null, "DocumentReference", (DocumentReference)resource, -1);
-    } else if (resource instanceof Encounter) {
+      break;
+    case Encounter:
       composeEncounter(parent, null, "Encounter", (Encounter)resource, -1);
-    } else if (resource instanceof Endpoint) {
+      break;
+    case Endpoint:
       composeEndpoint(parent, null, "Endpoint", (Endpoint)resource, -1);
-    } else if (resource instanceof EnrollmentRequest) {
+      break;
+    case EnrollmentRequest:
       composeEnrollmentRequest(parent, null, "EnrollmentRequest", (EnrollmentRequest)resource, -1);
-    } else if (resource instanceof EnrollmentResponse) {
+      break;
+    case EnrollmentResponse:
       composeEnrollmentResponse(parent, null, "EnrollmentResponse", (EnrollmentResponse)resource, -1);
-    } else if (resource instanceof EpisodeOfCare) {
+      break;
+    case EpisodeOfCare:
       composeEpisodeOfCare(parent, null, "EpisodeOfCare", (EpisodeOfCare)resource, -1);
-    } else if (resource instanceof EventDefinition) {
+      break;
+    case EventDefinition:
       composeEventDefinition(parent, null, "EventDefinition", (EventDefinition)resource, -1);
-    } else if (resource instanceof Evidence) {
+      break;
+    case Evidence:
       composeEvidence(parent, null, "Evidence", (Evidence)resource, -1);
-    } else if (resource instanceof EvidenceReport) {
+      break;
+    case EvidenceReport:
       composeEvidenceReport(parent, null, "EvidenceReport", (EvidenceReport)resource, -1);
-    } else if (resource instanceof EvidenceVariable) {
+      break;
+    case EvidenceVariable:
       composeEvidenceVariable(parent, null, "EvidenceVariable", (EvidenceVariable)resource, -1);
-    } else if (resource instanceof ExampleScenario) {
+      break;
+    case ExampleScenario:
       composeExampleScenario(parent, null, "ExampleScenario", (ExampleScenario)resource, -1);
-    } else if (resource instanceof ExplanationOfBenefit) {
+      break;
+    case ExplanationOfBenefit:
       composeExplanationOfBenefit(parent, null, "ExplanationOfBenefit", (ExplanationOfBenefit)resource, -1);
-    } else if (resource instanceof FamilyMemberHistory) {
+      break;
+    case FamilyMemberHistory:
       composeFamilyMemberHistory(parent, null, "FamilyMemberHistory", (FamilyMemberHistory)resource, -1);
-    } else if (resource instanceof Flag) {
+      break;
+    case Flag:
       composeFlag(parent, null, "Flag", (Flag)resource, -1);
-    } else if (resource instanceof Goal) {
+      break;
+    case Goal:
       composeGoal(parent, null, "Goal", (Goal)resource, -1);
-    } else if (resource instanceof GraphDefinition) {
+      break;
+    case GraphDefinition:
       composeGraphDefinition(parent, null, "GraphDefinition", (GraphDefinition)resource, -1);
-    } else if (resource instanceof Group) {
+      break;
+    case Group:
       composeGroup(parent, null, "Group", (Group)resource, -1);
-    } else if (resource instanceof GuidanceResponse) {
+      break;
+    case GuidanceResponse:
       composeGuidanceResponse(parent, null, "GuidanceResponse", (GuidanceResponse)resource, -1);
-    } else if (resource instanceof HealthcareService) {
+      break;
+    case HealthcareService:
       composeHealthcareService(parent, null, "HealthcareService", (HealthcareService)resource, -1);
-    } else if (resource instanceof ImagingStudy) {
+      break;
+    case ImagingStudy:
       composeImagingStudy(parent, null, "ImagingStudy", (ImagingStudy)resource, -1);
-    } else if (resource instanceof Immunization) {
+      break;
+    case Immunization:
       composeImmunization(parent, null, "Immunization", (Immunization)resource, -1);
-    } else if (resource instanceof ImmunizationEvaluation) {
+      break;
+    case ImmunizationEvaluation:
       composeImmunizationEvaluation(parent, null, "ImmunizationEvaluation", (ImmunizationEvaluation)resource, -1);
-    } else if (resource instanceof ImmunizationRecommendation) {
+      break;
+    case ImmunizationRecommendation:
       composeImmunizationRecommendation(parent, null, "ImmunizationRecommendation", (ImmunizationRecommendation)resource, -1);
-    } else if (resource instanceof ImplementationGuide) {
+      break;
+    case ImplementationGuide:
       composeImplementationGuide(parent, null, "ImplementationGuide", (ImplementationGuide)resource, -1);
-    } else if (resource instanceof Ingredient) {
+      break;
+    case Ingredient:
       composeIngredient(parent, null, "Ingredient", (Ingredient)resource, -1);
-    } else if (resource instanceof InsurancePlan) {
+      break;
+    case InsurancePlan:
       composeInsurancePlan(parent, null, "InsurancePlan", (InsurancePlan)resource, -1);
-    } else if (resource instanceof Invoice) {
+      break;
+    case Invoice:
       composeInvoice(parent, null, "Invoice", (Invoice)resource, -1);
-    } else if (resource instanceof Library) {
+      break;
+    case Library:
       composeLibrary(parent, null, "Library", (Library)resource, -1);
-    } else if (resource instanceof Linkage) {
+      break;
+    case Linkage:
       composeLinkage(parent, null, "Linkage", (Linkage)resource, -1);
-    } else if (resource instanceof ListResource) {
+      break;
+    case List:
       composeListResource(parent, null, "List", (ListResource)resource, -1);
-    } else if (resource instanceof Location) {
+      break;
+    case Location:
       composeLocation(parent, null, "Location", (Location)resource, -1);
-    } else if (resource instanceof ManufacturedItemDefinition) {
+      break;
+    case ManufacturedItemDefinition:
       composeManufacturedItemDefinition(parent, null, "ManufacturedItemDefinition", (ManufacturedItemDefinition)resource, -1);
-    } else if (resource instanceof Measure) {
+      break;
+    case Measure:
       composeMeasure(parent, null, "Measure", (Measure)resource, -1);
-    } else if (resource instanceof MeasureReport) {
+      break;
+    case MeasureReport:
       composeMeasureReport(parent, null, "MeasureReport", (MeasureReport)resource, -1);
-    } else if (resource instanceof Medication) {
+      break;
+    case Medication:
       composeMedication(parent, null, "Medication", (Medication)resource, -1);
-    } else if (resource instanceof MedicationAdministration) {
+      break;
+    case MedicationAdministration:
       composeMedicationAdministration(parent, null, "MedicationAdministration", (MedicationAdministration)resource, -1);
-    } else if (resource instanceof MedicationDispense) {
+      break;
+    case MedicationDispense:
       composeMedicationDispense(parent, null, "MedicationDispense", (MedicationDispense)resource, -1);
-    } else if (resource instanceof MedicationKnowledge) {
+      break;
+    case MedicationKnowledge:
       composeMedicationKnowledge(parent, null, "MedicationKnowledge", (MedicationKnowledge)resource, -1);
-    } else if (resource instanceof MedicationRequest) {
+      break;
+    case MedicationRequest:
       composeMedicationRequest(parent, null, "MedicationRequest", (MedicationRequest)resource, -1);
-    } else if (resource instanceof MedicationUsage) {
+      break;
+    case MedicationUsage:
       composeMedicationUsage(parent, null, "MedicationUsage", (MedicationUsage)resource, -1);
-    } else if (resource instanceof MedicinalProductDefinition) {
+      break;
+    case MedicinalProductDefinition:
       composeMedicinalProductDefinition(parent, null, "MedicinalProductDefinition", (MedicinalProductDefinition)resource, -1);
-    } else if (resource instanceof MessageDefinition) {
+      break;
+    case MessageDefinition:
       composeMessageDefinition(parent, null, "MessageDefinition", (MessageDefinition)resource, -1);
-    } else if (resource instanceof MessageHeader) {
+      break;
+    case MessageHeader:
       composeMessageHeader(parent, null, "MessageHeader", (MessageHeader)resource, -1);
-    } else if (resource instanceof MolecularSequence) {
+      break;
+    case MolecularSequence:
       composeMolecularSequence(parent, null, "MolecularSequence", (MolecularSequence)resource, -1);
-    } else if (resource instanceof NamingSystem) {
+      break;
+    case NamingSystem:
       composeNamingSystem(parent, null, "NamingSystem", (NamingSystem)resource, -1);
-    } else if (resource instanceof NutritionIntake) {
+      break;
+    case NutritionIntake:
       composeNutritionIntake(parent, null, "NutritionIntake", (NutritionIntake)resource, -1);
-    } else if (resource instanceof NutritionOrder) {
+      break;
+    case NutritionOrder:
       composeNutritionOrder(parent, null, "NutritionOrder", (NutritionOrder)resource, -1);
-    } else if (resource instanceof NutritionProduct) {
+      break;
+    case NutritionProduct:
       composeNutritionProduct(parent, null, "NutritionProduct", (NutritionProduct)resource, -1);
-    } else if (resource instanceof Observation) {
+      break;
+    case Observation:
       composeObservation(parent, null, "Observation", (Observation)resource, -1);
-    } else if (resource instanceof ObservationDefinition) {
+      break;
+    case ObservationDefinition:
       composeObservationDefinition(parent, null, "ObservationDefinition", (ObservationDefinition)resource, -1);
-    } else if (resource instanceof OperationDefinition) {
+      break;
+    case OperationDefinition:
       composeOperationDefinition(parent, null, "OperationDefinition", (OperationDefinition)resource, -1);
-    } else if (resource instanceof OperationOutcome) {
+      break;
+    case OperationOutcome:
       composeOperationOutcome(parent, null, "OperationOutcome", (OperationOutcome)resource, -1);
-    } else if (resource instanceof Organization) {
+      break;
+    case Organization:
       composeOrganization(parent, null, "Organization", (Organization)resource, -1);
-    } else if (resource instanceof OrganizationAffiliation) {
+      break;
+    case OrganizationAffiliation:
       composeOrganizationAffiliation(parent, null, "OrganizationAffiliation", (OrganizationAffiliation)resource, -1);
-    } else if (resource instanceof PackagedProductDefinition) {
+      break;
+    case PackagedProductDefinition:
       composePackagedProductDefinition(parent, null, "PackagedProductDefinition", (PackagedProductDefinition)resource, -1);
-    } else if (resource instanceof Parameters) {
+      break;
+    case Parameters:
       composeParameters(parent, null, "Parameters", (Parameters)resource, -1);
-    } else if (resource instanceof Patient) {
+      break;
+    case Patient:
       composePatient(parent, null, "Patient", (Patient)resource, -1);
-    } else if (resource instanceof PaymentNotice) {
+      break;
+    case PaymentNotice:
       composePaymentNotice(parent, null, "PaymentNotice", (PaymentNotice)resource, -1);
-    } else if (resource instanceof PaymentReconciliation) {
+      break;
+    case PaymentReconciliation:
       composePaymentReconciliation(parent, null, "PaymentReconciliation", (PaymentReconciliation)resource, -1);
-    } else if (resource instanceof Permission) {
+      break;
+    case Permission:
       composePermission(parent, null, "Permission", (Permission)resource, -1);
-    } else if (resource instanceof Person) {
+      break;
+    case Person:
       composePerson(parent, null, "Person", (Person)resource, -1);
-    } else if (resource instanceof PlanDefinition) {
+      break;
+    case PlanDefinition:
       composePlanDefinition(parent, null, "PlanDefinition", (PlanDefinition)resource, -1);
-    } else if (resource instanceof Practitioner) {
+      break;
+    case Practitioner:
       composePractitioner(parent, null, "Practitioner", (Practitioner)resource, -1);
-    } else if (resource instanceof PractitionerRole) {
+      break;
+    case PractitionerRole:
       composePractitionerRole(parent, null, "PractitionerRole", (PractitionerRole)resource, -1);
-    } else if (resource instanceof Procedure) {
+      break;
+    case Procedure:
       composeProcedure(parent, null, "Procedure", (Procedure)resource, -1);
-    } else if (resource instanceof Provenance) {
+      break;
+    case Provenance:
       composeProvenance(parent, null, "Provenance", (Provenance)resource, -1);
-    } else if (resource instanceof Questionnaire) {
+      break;
+    case Questionnaire:
       composeQuestionnaire(parent, null, "Questionnaire", (Questionnaire)resource, -1);
-    } else if (resource instanceof QuestionnaireResponse) {
+      break;
+    case QuestionnaireResponse:
       composeQuestionnaireResponse(parent, null, "QuestionnaireResponse", (QuestionnaireResponse)resource, -1);
-    } else if (resource instanceof RegulatedAuthorization) {
+      break;
+    case RegulatedAuthorization:
       composeRegulatedAuthorization(parent, null, "RegulatedAuthorization", (RegulatedAuthorization)resource, -1);
-    } else if (resource instanceof RelatedPerson) {
+      break;
+    case RelatedPerson:
       composeRelatedPerson(parent, null, "RelatedPerson", (RelatedPerson)resource, -1);
-    } else if (resource instanceof RequestGroup) {
+      break;
+    case RequestGroup:
       composeRequestGroup(parent, null, "RequestGroup", (RequestGroup)resource, -1);
-    } else if (resource instanceof ResearchStudy) {
+      break;
+    case ResearchStudy:
       composeResearchStudy(parent, null, "ResearchStudy", (ResearchStudy)resource, -1);
-    } else if (resource instanceof ResearchSubject) {
+      break;
+    case ResearchSubject:
       composeResearchSubject(parent, null, "ResearchSubject", (ResearchSubject)resource, -1);
-    } else if (resource instanceof RiskAssessment) {
+      break;
+    case RiskAssessment:
       composeRiskAssessment(parent, null, "RiskAssessment", (RiskAssessment)resource, -1);
-    } else if (resource instanceof Schedule) {
+      break;
+    case Schedule:
       composeSchedule(parent, null, "Schedule", (Schedule)resource, -1);
-    } else if (resource instanceof SearchParameter) {
+      break;
+    case SearchParameter:
       composeSearchParameter(parent, null, "SearchParameter", (SearchParameter)resource, -1);
-    } else if (resource instanceof ServiceRequest) {
+      break;
+    case ServiceRequest:
       composeServiceRequest(parent, null, "ServiceRequest", (ServiceRequest)resource, -1);
-    } else if (resource instanceof Slot) {
+      break;
+    case Slot:
       composeSlot(parent, null, "Slot", (Slot)resource, -1);
-    } else if (resource instanceof Specimen) {
+      break;
+    case Specimen:
       composeSpecimen(parent, null, "Specimen", (Specimen)resource, -1);
-    } else if (resource instanceof SpecimenDefinition) {
+      break;
+    case SpecimenDefinition:
       composeSpecimenDefinition(parent, null, "SpecimenDefinition", (SpecimenDefinition)resource, -1);
-    } else if (resource instanceof StructureDefinition) {
+      break;
+    case StructureDefinition:
       composeStructureDefinition(parent, null, "StructureDefinition", (StructureDefinition)resource, -1);
-    } else if (resource instanceof StructureMap) {
+      break;
+    case StructureMap:
       composeStructureMap(parent, null, "StructureMap", (StructureMap)resource, -1);
-    } else if (resource instanceof Subscription) {
+      break;
+    case Subscription:
       composeSubscription(parent, null, "Subscription", (Subscription)resource, -1);
-    } else if (resource instanceof SubscriptionStatus) {
+      break;
+    case SubscriptionStatus:
       composeSubscriptionStatus(parent, null, "SubscriptionStatus", (SubscriptionStatus)resource, -1);
-    } else if (resource instanceof SubscriptionTopic) {
+      break;
+    case SubscriptionTopic:
       composeSubscriptionTopic(parent, null, "SubscriptionTopic", (SubscriptionTopic)resource, -1);
-    } else if (resource instanceof Substance) {
+      break;
+    case Substance:
       composeSubstance(parent, null, "Substance", (Substance)resource, -1);
-    } else if (resource instanceof SubstanceDefinition) {
+      break;
+    case SubstanceDefinition:
       composeSubstanceDefinition(parent, null, "SubstanceDefinition", (SubstanceDefinition)resource, -1);
-    } else if (resource instanceof SubstanceNucleicAcid) {
+      break;
+    case SubstanceNucleicAcid:
       composeSubstanceNucleicAcid(parent, null, "SubstanceNucleicAcid", (SubstanceNucleicAcid)resource, -1);
-    } else if (resource instanceof SubstancePolymer) {
+      break;
+    case SubstancePolymer:
       composeSubstancePolymer(parent, null, "SubstancePolymer", (SubstancePolymer)resource, -1);
-    } else if (resource instanceof SubstanceProtein) {
+      break;
+    case SubstanceProtein:
       composeSubstanceProtein(parent, null, "SubstanceProtein", (SubstanceProtein)resource, -1);
-    } else if (resource instanceof SubstanceReferenceInformation) {
+      break;
+    case SubstanceReferenceInformation:
       composeSubstanceReferenceInformation(parent, null, "SubstanceReferenceInformation", (SubstanceReferenceInformation)resource, -1);
-    } else if (resource instanceof SubstanceSourceMaterial) {
+      break;
+    case SubstanceSourceMaterial:
       composeSubstanceSourceMaterial(parent, null, "SubstanceSourceMaterial", (SubstanceSourceMaterial)resource, -1);
-    } else if (resource instanceof SupplyDelivery) {
+      break;
+    case SupplyDelivery:
       composeSupplyDelivery(parent, null, "SupplyDelivery", (SupplyDelivery)resource, -1);
-    } else if (resource instanceof SupplyRequest) {
+      break;
+    case SupplyRequest:
       composeSupplyRequest(parent, null, "SupplyRequest", (SupplyRequest)resource, -1);
-    } else if (resource instanceof Task) {
+      break;
+    case Task:
       composeTask(parent, null, "Task", (Task)resource, -1);
-    } else if (resource instanceof TerminologyCapabilities) {
+      break;
+    case TerminologyCapabilities:
       composeTerminologyCapabilities(parent, null, "TerminologyCapabilities", (TerminologyCapabilities)resource, -1);
-    } else if (resource instanceof TestReport) {
+      break;
+    case TestReport:
       composeTestReport(parent, null, "TestReport", (TestReport)resource, -1);
-    } else if (resource instanceof TestScript) {
+      break;
+    case TestScript:
       composeTestScript(parent, null, "TestScript", (TestScript)resource, -1);
-    } else if (resource instanceof ValueSet) {
+      break;
+    case ValueSet:
       composeValueSet(parent, null, "ValueSet", (ValueSet)resource, -1);
-    } else if (resource instanceof VerificationResult) {
+      break;
+    case VerificationResult:
       composeVerificationResult(parent, null, "VerificationResult", (VerificationResult)resource, -1);
-    } else if (resource instanceof VisionPrescription) {
+      break;
+    case VisionPrescription:
       composeVisionPrescription(parent, null, "VisionPrescription", (VisionPrescription)resource, -1);
+      break;
       
-    } else {
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
     }
   }
@@ -26674,302 +26674,157 @@ public class XmlParser extends XmlParserBase {
   protected Resource parseResource(XmlPullParser xpp) throws XmlPullParserException, IOException, FHIRFormatError {
     if (xpp == null) {
       throw new IOException("xpp == null!");
-    } else if (xpp.getName().equals("Account")) {
-      return parseAccount(xpp);
-    } else if (xpp.getName().equals("ActivityDefinition")) {
-      return parseActivityDefinition(xpp);
-    } else if (xpp.getName().equals("AdministrableProductDefinition")) {
-      return parseAdministrableProductDefinition(xpp);
-    } else if (xpp.getName().equals("AdverseEvent")) {
-      return parseAdverseEvent(xpp);
-    } else if (xpp.getName().equals("AllergyIntolerance")) {
-      return parseAllergyIntolerance(xpp);
-    } else if (xpp.getName().equals("Appointment")) {
-      return parseAppointment(xpp);
-    } else if (xpp.getName().equals("AppointmentResponse")) {
-      return parseAppointmentResponse(xpp);
-    } else if (xpp.getName().equals("AuditEvent")) {
-      return parseAuditEvent(xpp);
-    } else if (xpp.getName().equals("Basic")) {
-      return parseBasic(xpp);
-    } else if (xpp.getName().equals("Binary")) {
-      return parseBinary(xpp);
-    } else if (xpp.getName().equals("BiologicallyDerivedProduct")) {
-      return parseBiologicallyDerivedProduct(xpp);
-    } else if (xpp.getName().equals("BodyStructure")) {
-      return parseBodyStructure(xpp);
-    } else if (xpp.getName().equals("Bundle")) {
-      return parseBundle(xpp);
-    } else if (xpp.getName().equals("CapabilityStatement")) {
-      return parseCapabilityStatement(xpp);
-    } else if (xpp.getName().equals("CapabilityStatement2")) {
-      return parseCapabilityStatement2(xpp);
-    } else if (xpp.getName().equals("CarePlan")) {
-      return parseCarePlan(xpp);
-    } else if (xpp.getName().equals("CareTeam")) {
-      return parseCareTeam(xpp);
-    } else if (xpp.getName().equals("CatalogEntry")) {
-      return parseCatalogEntry(xpp);
-    } else if (xpp.getName().equals("ChargeItem")) {
-      return parseChargeItem(xpp);
-    } else if (xpp.getName().equals("ChargeItemDefinition")) {
-      return parseChargeItemDefinition(xpp);
-    } else if (xpp.getName().equals("Citation")) {
-      return parseCitation(xpp);
-    } else if (xpp.getName().equals("Claim")) {
-      return parseClaim(xpp);
-    } else if (xpp.getName().equals("ClaimResponse")) {
-      return parseClaimResponse(xpp);
-    } else if (xpp.getName().equals("ClinicalImpression")) {
-      return parseClinicalImpression(xpp);
-    } else if (xpp.getName().equals("ClinicalUseIssue")) {
-      return parseClinicalUseIssue(xpp);
-    } else if (xpp.getName().equals("CodeSystem")) {
-      return parseCodeSystem(xpp);
-    } else if (xpp.getName().equals("Communication")) {
-      return parseCommunication(xpp);
-    } else if (xpp.getName().equals("CommunicationRequest")) {
-      return parseCommunicationRequest(xpp);
-    } else if (xpp.getName().equals("CompartmentDefinition")) {
-      return parseCompartmentDefinition(xpp);
-    } else if (xpp.getName().equals("Composition")) {
-      return parseComposition(xpp);
-    } else if (xpp.getName().equals("ConceptMap")) {
-      return parseConceptMap(xpp);
-    } else if (xpp.getName().equals("Condition")) {
-      return parseCondition(xpp);
-    } else if (xpp.getName().equals("ConditionDefinition")) {
-      return parseConditionDefinition(xpp);
-    } else if (xpp.getName().equals("Consent")) {
-      return parseConsent(xpp);
-    } else if (xpp.getName().equals("Contract")) {
-      return parseContract(xpp);
-    } else if (xpp.getName().equals("Coverage")) {
-      return parseCoverage(xpp);
-    } else if (xpp.getName().equals("CoverageEligibilityRequest")) {
-      return parseCoverageEligibilityRequest(xpp);
-    } else if (xpp.getName().equals("CoverageEligibilityResponse")) {
-      return parseCoverageEligibilityResponse(xpp);
-    } else if (xpp.getName().equals("DetectedIssue")) {
-      return parseDetectedIssue(xpp);
-    } else if (xpp.getName().equals("Device")) {
-      return parseDevice(xpp);
-    } else if (xpp.getName().equals("DeviceDefinition")) {
-      return parseDeviceDefinition(xpp);
-    } else if (xpp.getName().equals("DeviceMetric")) {
-      return parseDeviceMetric(xpp);
-    } else if (xpp.getName().equals("DeviceRequest")) {
-      return parseDeviceRequest(xpp);
-    } else if (xpp.getName().equals("DeviceUseStatement")) {
-      return parseDeviceUseStatement(xpp);
-    } else if (xpp.getName().equals("DiagnosticReport")) {
-      return parseDiagnosticReport(xpp);
-    } else if (xpp.getName().equals("DocumentManifest")) {
-      return parseDocumentManifest(xpp);
-    } else if (xpp.getName().equals("DocumentReference")) {
-      return parseDocumentReference(xpp);
-    } else if (xpp.getName().equals("Encounter")) {
-      return parseEncounter(xpp);
-    } else if (xpp.getName().equals("Endpoint")) {
-      return parseEndpoint(xpp);
-    } else if (xpp.getName().equals("EnrollmentRequest")) {
-      return parseEnrollmentRequest(xpp);
-    } else if (xpp.getName().equals("EnrollmentResponse")) {
-      return parseEnrollmentResponse(xpp);
-    } else if (xpp.getName().equals("EpisodeOfCare")) {
-      return parseEpisodeOfCare(xpp);
-    } else if (xpp.getName().equals("EventDefinition")) {
-      return parseEventDefinition(xpp);
-    } else if (xpp.getName().equals("Evidence")) {
-      return parseEvidence(xpp);
-    } else if (xpp.getName().equals("EvidenceReport")) {
-      return parseEvidenceReport(xpp);
-    } else if (xpp.getName().equals("EvidenceVariable")) {
-      return parseEvidenceVariable(xpp);
-    } else if (xpp.getName().equals("ExampleScenario")) {
-      return parseExampleScenario(xpp);
-    } else if (xpp.getName().equals("ExplanationOfBenefit")) {
-      return parseExplanationOfBenefit(xpp);
-    } else if (xpp.getName().equals("FamilyMemberHistory")) {
-      return parseFamilyMemberHistory(xpp);
-    } else if (xpp.getName().equals("Flag")) {
-      return parseFlag(xpp);
-    } else if (xpp.getName().equals("Goal")) {
-      return parseGoal(xpp);
-    } else if (xpp.getName().equals("GraphDefinition")) {
-      return parseGraphDefinition(xpp);
-    } else if (xpp.getName().equals("Group")) {
-      return parseGroup(xpp);
-    } else if (xpp.getName().equals("GuidanceResponse")) {
-      return parseGuidanceResponse(xpp);
-    } else if (xpp.getName().equals("HealthcareService")) {
-      return parseHealthcareService(xpp);
-    } else if (xpp.getName().equals("ImagingStudy")) {
-      return parseImagingStudy(xpp);
-    } else if (xpp.getName().equals("Immunization")) {
-      return parseImmunization(xpp);
-    } else if (xpp.getName().equals("ImmunizationEvaluation")) {
-      return parseImmunizationEvaluation(xpp);
-    } else if (xpp.getName().equals("ImmunizationRecommendation")) {
-      return parseImmunizationRecommendation(xpp);
-    } else if (xpp.getName().equals("ImplementationGuide")) {
-      return parseImplementationGuide(xpp);
-    } else if (xpp.getName().equals("Ingredient")) {
-      return parseIngredient(xpp);
-    } else if (xpp.getName().equals("InsurancePlan")) {
-      return parseInsurancePlan(xpp);
-    } else if (xpp.getName().equals("Invoice")) {
-      return parseInvoice(xpp);
-    } else if (xpp.getName().equals("Library")) {
-      return parseLibrary(xpp);
-    } else if (xpp.getName().equals("Linkage")) {
-      return parseLinkage(xpp);
-    } else if (xpp.getName().equals("List")) {
-      return parseListResource(xpp);
-    } else if (xpp.getName().equals("Location")) {
-      return parseLocation(xpp);
-    } else if (xpp.getName().equals("ManufacturedItemDefinition")) {
-      return parseManufacturedItemDefinition(xpp);
-    } else if (xpp.getName().equals("Measure")) {
-      return parseMeasure(xpp);
-    } else if (xpp.getName().equals("MeasureReport")) {
-      return parseMeasureReport(xpp);
-    } else if (xpp.getName().equals("Medication")) {
-      return parseMedication(xpp);
-    } else if (xpp.getName().equals("MedicationAdministration")) {
-      return parseMedicationAdministration(xpp);
-    } else if (xpp.getName().equals("MedicationDispense")) {
-      return parseMedicationDispense(xpp);
-    } else if (xpp.getName().equals("MedicationKnowledge")) {
-      return parseMedicationKnowledge(xpp);
-    } else if (xpp.getName().equals("MedicationRequest")) {
-      return parseMedicationRequest(xpp);
-    } else if (xpp.getName().equals("MedicationUsage")) {
-      return parseMedicationUsage(xpp);
-    } else if (xpp.getName().equals("MedicinalProductDefinition")) {
-      return parseMedicinalProductDefinition(xpp);
-    } else if (xpp.getName().equals("MessageDefinition")) {
-      return parseMessageDefinition(xpp);
-    } else if (xpp.getName().equals("MessageHeader")) {
-      return parseMessageHeader(xpp);
-    } else if (xpp.getName().equals("MolecularSequence")) {
-      return parseMolecularSequence(xpp);
-    } else if (xpp.getName().equals("NamingSystem")) {
-      return parseNamingSystem(xpp);
-    } else if (xpp.getName().equals("NutritionIntake")) {
-      return parseNutritionIntake(xpp);
-    } else if (xpp.getName().equals("NutritionOrder")) {
-      return parseNutritionOrder(xpp);
-    } else if (xpp.getName().equals("NutritionProduct")) {
-      return parseNutritionProduct(xpp);
-    } else if (xpp.getName().equals("Observation")) {
-      return parseObservation(xpp);
-    } else if (xpp.getName().equals("ObservationDefinition")) {
-      return parseObservationDefinition(xpp);
-    } else if (xpp.getName().equals("OperationDefinition")) {
-      return parseOperationDefinition(xpp);
-    } else if (xpp.getName().equals("OperationOutcome")) {
-      return parseOperationOutcome(xpp);
-    } else if (xpp.getName().equals("Organization")) {
-      return parseOrganization(xpp);
-    } else if (xpp.getName().equals("OrganizationAffiliation")) {
-      return parseOrganizationAffiliation(xpp);
-    } else if (xpp.getName().equals("PackagedProductDefinition")) {
-      return parsePackagedProductDefinition(xpp);
-    } else if (xpp.getName().equals("Parameters")) {
-      return parseParameters(xpp);
-    } else if (xpp.getName().equals("Patient")) {
-      return parsePatient(xpp);
-    } else if (xpp.getName().equals("PaymentNotice")) {
-      return parsePaymentNotice(xpp);
-    } else if (xpp.getName().equals("PaymentReconciliation")) {
-      return parsePaymentReconciliation(xpp);
-    } else if (xpp.getName().equals("Permission")) {
-      return parsePermission(xpp);
-    } else if (xpp.getName().equals("Person")) {
-      return parsePerson(xpp);
-    } else if (xpp.getName().equals("PlanDefinition")) {
-      return parsePlanDefinition(xpp);
-    } else if (xpp.getName().equals("Practitioner")) {
-      return parsePractitioner(xpp);
-    } else if (xpp.getName().equals("PractitionerRole")) {
-      return parsePractitionerRole(xpp);
-    } else if (xpp.getName().equals("Procedure")) {
-      return parseProcedure(xpp);
-    } else if (xpp.getName().equals("Provenance")) {
-      return parseProvenance(xpp);
-    } else if (xpp.getName().equals("Questionnaire")) {
-      return parseQuestionnaire(xpp);
-    } else if (xpp.getName().equals("QuestionnaireResponse")) {
-      return parseQuestionnaireResponse(xpp);
-    } else if (xpp.getName().equals("RegulatedAuthorization")) {
-      return parseRegulatedAuthorization(xpp);
-    } else if (xpp.getName().equals("RelatedPerson")) {
-      return parseRelatedPerson(xpp);
-    } else if (xpp.getName().equals("RequestGroup")) {
-      return parseRequestGroup(xpp);
-    } else if (xpp.getName().equals("ResearchStudy")) {
-      return parseResearchStudy(xpp);
-    } else if (xpp.getName().equals("ResearchSubject")) {
-      return parseResearchSubject(xpp);
-    } else if (xpp.getName().equals("RiskAssessment")) {
-      return parseRiskAssessment(xpp);
-    } else if (xpp.getName().equals("Schedule")) {
-      return parseSchedule(xpp);
-    } else if (xpp.getName().equals("SearchParameter")) {
-      return parseSearchParameter(xpp);
-    } else if (xpp.getName().equals("ServiceRequest")) {
-      return parseServiceRequest(xpp);
-    } else if (xpp.getName().equals("Slot")) {
-      return parseSlot(xpp);
-    } else if (xpp.getName().equals("Specimen")) {
-      return parseSpecimen(xpp);
-    } else if (xpp.getName().equals("SpecimenDefinition")) {
-      return parseSpecimenDefinition(xpp);
-    } else if (xpp.getName().equals("StructureDefinition")) {
-      return parseStructureDefinition(xpp);
-    } else if (xpp.getName().equals("StructureMap")) {
-      return parseStructureMap(xpp);
-    } else if (xpp.getName().equals("Subscription")) {
-      return parseSubscription(xpp);
-    } else if (xpp.getName().equals("SubscriptionStatus")) {
-      return parseSubscriptionStatus(xpp);
-    } else if (xpp.getName().equals("SubscriptionTopic")) {
-      return parseSubscriptionTopic(xpp);
-    } else if (xpp.getName().equals("Substance")) {
-      return parseSubstance(xpp);
-    } else if (xpp.getName().equals("SubstanceDefinition")) {
-      return parseSubstanceDefinition(xpp);
-    } else if (xpp.getName().equals("SubstanceNucleicAcid")) {
-      return parseSubstanceNucleicAcid(xpp);
-    } else if (xpp.getName().equals("SubstancePolymer")) {
-      return parseSubstancePolymer(xpp);
-    } else if (xpp.getName().equals("SubstanceProtein")) {
-      return parseSubstanceProtein(xpp);
-    } else if (xpp.getName().equals("SubstanceReferenceInformation")) {
-      return parseSubstanceReferenceInformation(xpp);
-    } else if (xpp.getName().equals("SubstanceSourceMaterial")) {
-      return parseSubstanceSourceMaterial(xpp);
-    } else if (xpp.getName().equals("SupplyDelivery")) {
-      return parseSupplyDelivery(xpp);
-    } else if (xpp.getName().equals("SupplyRequest")) {
-      return parseSupplyRequest(xpp);
-    } else if (xpp.getName().equals("Task")) {
-      return parseTask(xpp);
-    } else if (xpp.getName().equals("TerminologyCapabilities")) {
-      return parseTerminologyCapabilities(xpp);
-    } else if (xpp.getName().equals("TestReport")) {
-      return parseTestReport(xpp);
-    } else if (xpp.getName().equals("TestScript")) {
-      return parseTestScript(xpp);
-    } else if (xpp.getName().equals("ValueSet")) {
-      return parseValueSet(xpp);
-    } else if (xpp.getName().equals("VerificationResult")) {
-      return parseVerificationResult(xpp);
-    } else if (xpp.getName().equals("VisionPrescription")) {
-      return parseVisionPrescription(xpp);
-
-    } else {
+    }
+    switch (xpp.getName()) {
+    case "Account": return parseAccount(xpp);
+    case "ActivityDefinition": return parseActivityDefinition(xpp);
+    case "AdministrableProductDefinition": return parseAdministrableProductDefinition(xpp);
+    case "AdverseEvent": return parseAdverseEvent(xpp);
+    case "AllergyIntolerance": return parseAllergyIntolerance(xpp);
+    case "Appointment": return parseAppointment(xpp);
+    case "AppointmentResponse": return parseAppointmentResponse(xpp);
+    case "AuditEvent": return parseAuditEvent(xpp);
+    case "Basic": return parseBasic(xpp);
+    case "Binary": return parseBinary(xpp);
+    case "BiologicallyDerivedProduct": return parseBiologicallyDerivedProduct(xpp);
+    case "BodyStructure": return parseBodyStructure(xpp);
+    case "Bundle": return parseBundle(xpp);
+    case "CapabilityStatement": return parseCapabilityStatement(xpp);
+    case "CapabilityStatement2": return parseCapabilityStatement2(xpp);
+    case "CarePlan": return parseCarePlan(xpp);
+    case "CareTeam": return parseCareTeam(xpp);
+    case "CatalogEntry": return parseCatalogEntry(xpp);
+    case "ChargeItem": return parseChargeItem(xpp);
+    case "ChargeItemDefinition": return parseChargeItemDefinition(xpp);
+    case "Citation": return parseCitation(xpp);
+    case "Claim": return parseClaim(xpp);
+    case "ClaimResponse": return parseClaimResponse(xpp);
+    case "ClinicalImpression": return parseClinicalImpression(xpp);
+    case "ClinicalUseIssue": return parseClinicalUseIssue(xpp);
+    case "CodeSystem": return parseCodeSystem(xpp);
+    case "Communication": return parseCommunication(xpp);
+    case "CommunicationRequest": return parseCommunicationRequest(xpp);
+    case "CompartmentDefinition": return parseCompartmentDefinition(xpp);
+    case "Composition": return parseComposition(xpp);
+    case "ConceptMap": return parseConceptMap(xpp);
+    case "Condition": return parseCondition(xpp);
+    case "ConditionDefinition": return parseConditionDefinition(xpp);
+    case "Consent": return parseConsent(xpp);
+    case "Contract": return parseContract(xpp);
+    case "Coverage": return parseCoverage(xpp);
+    case "CoverageEligibilityRequest": return parseCoverageEligibilityRequest(xpp);
+    case "CoverageEligibilityResponse": return parseCoverageEligibilityResponse(xpp);
+    case "DetectedIssue": return parseDetectedIssue(xpp);
+    case "Device": return parseDevice(xpp);
+    case "DeviceDefinition": return parseDeviceDefinition(xpp);
+    case "DeviceMetric": return parseDeviceMetric(xpp);
+    case "DeviceRequest": return parseDeviceRequest(xpp);
+    case "DeviceUseStatement": return parseDeviceUseStatement(xpp);
+    case "DiagnosticReport": return parseDiagnosticReport(xpp);
+    case "DocumentManifest": return parseDocumentManifest(xpp);
+    case "DocumentReference": return parseDocumentReference(xpp);
+    case "Encounter": return parseEncounter(xpp);
+    case "Endpoint": return parseEndpoint(xpp);
+    case "EnrollmentRequest": return parseEnrollmentRequest(xpp);
+    case "EnrollmentResponse": return parseEnrollmentResponse(xpp);
+    case "EpisodeOfCare": return parseEpisodeOfCare(xpp);
+    case "EventDefinition": return parseEventDefinition(xpp);
+    case "Evidence": return parseEvidence(xpp);
+    case "EvidenceReport": return parseEvidenceReport(xpp);
+    case "EvidenceVariable": return parseEvidenceVariable(xpp);
+    case "ExampleScenario": return parseExampleScenario(xpp);
+    case "ExplanationOfBenefit": return parseExplanationOfBenefit(xpp);
+    case "FamilyMemberHistory": return parseFamilyMemberHistory(xpp);
+    case "Flag": return parseFlag(xpp);
+    case "Goal": return parseGoal(xpp);
+    case "GraphDefinition": return parseGraphDefinition(xpp);
+    case "Group": return parseGroup(xpp);
+    case "GuidanceResponse": return parseGuidanceResponse(xpp);
+    case "HealthcareService": return parseHealthcareService(xpp);
+    case "ImagingStudy": return parseImagingStudy(xpp);
+    case "Immunization": return parseImmunization(xpp);
+    case "ImmunizationEvaluation": return parseImmunizationEvaluation(xpp);
+    case "ImmunizationRecommendation": return parseImmunizationRecommendation(xpp);
+    case "ImplementationGuide": return parseImplementationGuide(xpp);
+    case "Ingredient": return parseIngredient(xpp);
+    case "InsurancePlan": return parseInsurancePlan(xpp);
+    case "Invoice": return parseInvoice(xpp);
+    case "Library": return parseLibrary(xpp);
+    case "Linkage": return parseLinkage(xpp);
+    case "List": return parseListResource(xpp);
+    case "Location": return parseLocation(xpp);
+    case "ManufacturedItemDefinition": return parseManufacturedItemDefinition(xpp);
+    case "Measure": return parseMeasure(xpp);
+    case "MeasureReport": return parseMeasureReport(xpp);
+    case "Medication": return parseMedication(xpp);
+    case "MedicationAdministration": return parseMedicationAdministration(xpp);
+    case "MedicationDispense": return parseMedicationDispense(xpp);
+    case "MedicationKnowledge": return parseMedicationKnowledge(xpp);
+    case "MedicationRequest": return parseMedicationRequest(xpp);
+    case "MedicationUsage": return parseMedicationUsage(xpp);
+    case "MedicinalProductDefinition": return parseMedicinalProductDefinition(xpp);
+    case "MessageDefinition": return parseMessageDefinition(xpp);
+    case "MessageHeader": return parseMessageHeader(xpp);
+    case "MolecularSequence": return parseMolecularSequence(xpp);
+    case "NamingSystem": return parseNamingSystem(xpp);
+    case "NutritionIntake": return parseNutritionIntake(xpp);
+    case "NutritionOrder": return parseNutritionOrder(xpp);
+    case "NutritionProduct": return parseNutritionProduct(xpp);
+    case "Observation": return parseObservation(xpp);
+    case "ObservationDefinition": return parseObservationDefinition(xpp);
+    case "OperationDefinition": return parseOperationDefinition(xpp);
+    case "OperationOutcome": return parseOperationOutcome(xpp);
+    case "Organization": return parseOrganization(xpp);
+    case "OrganizationAffiliation": return parseOrganizationAffiliation(xpp);
+    case "PackagedProductDefinition": return parsePackagedProductDefinition(xpp);
+    case "Parameters": return parseParameters(xpp);
+    case "Patient": return parsePatient(xpp);
+    case "PaymentNotice": return parsePaymentNotice(xpp);
+    case "PaymentReconciliation": return parsePaymentReconciliation(xpp);
+    case "Permission": return parsePermission(xpp);
+    case "Person": return parsePerson(xpp);
+    case "PlanDefinition": return parsePlanDefinition(xpp);
+    case "Practitioner": return parsePractitioner(xpp);
+    case "PractitionerRole": return parsePractitionerRole(xpp);
+    case "Procedure": return parseProcedure(xpp);
+    case "Provenance": return parseProvenance(xpp);
+    case "Questionnaire": return parseQuestionnaire(xpp);
+    case "QuestionnaireResponse": return parseQuestionnaireResponse(xpp);
+    case "RegulatedAuthorization": return parseRegulatedAuthorization(xpp);
+    case "RelatedPerson": return parseRelatedPerson(xpp);
+    case "RequestGroup": return parseRequestGroup(xpp);
+    case "ResearchStudy": return parseResearchStudy(xpp);
+    case "ResearchSubject": return parseResearchSubject(xpp);
+    case "RiskAssessment": return parseRiskAssessment(xpp);
+    case "Schedule": return parseSchedule(xpp);
+    case "SearchParameter": return parseSearchParameter(xpp);
+    case "ServiceRequest": return parseServiceRequest(xpp);
+    case "Slot": return parseSlot(xpp);
+    case "Specimen": return parseSpecimen(xpp);
+    case "SpecimenDefinition": return parseSpecimenDefinition(xpp);
+    case "StructureDefinition": return parseStructureDefinition(xpp);
+    case "StructureMap": return parseStructureMap(xpp);
+    case "Subscription": return parseSubscription(xpp);
+    case "SubscriptionStatus": return parseSubscriptionStatus(xpp);
+    case "SubscriptionTopic": return parseSubscriptionTopic(xpp);
+    case "Substance": return parseSubstance(xpp);
+    case "SubstanceDefinition": return parseSubstanceDefinition(xpp);
+    case "SubstanceNucleicAcid": return parseSubstanceNucleicAcid(xpp);
+    case "SubstancePolymer": return parseSubstancePolymer(xpp);
+    case "SubstanceProtein": return parseSubstanceProtein(xpp);
+    case "SubstanceReferenceInformation": return parseSubstanceReferenceInformation(xpp);
+    case "SubstanceSourceMaterial": return parseSubstanceSourceMaterial(xpp);
+    case "SupplyDelivery": return parseSupplyDelivery(xpp);
+    case "SupplyRequest": return parseSupplyRequest(xpp);
+    case "Task": return parseTask(xpp);
+    case "TerminologyCapabilities": return parseTerminologyCapabilities(xpp);
+    case "TestReport": return parseTestReport(xpp);
+    case "TestScript": return parseTestScript(xpp);
+    case "ValueSet": return parseValueSet(xpp);
+    case "VerificationResult": return parseVerificationResult(xpp);
+    case "VisionPrescription": return parseVisionPrescription(xpp);
+
+    default:
       throw new FHIRFormatError("Unknown resource type "+xpp.getName()+"");
     }
   }
@@ -54951,302 +54806,451 @@ public class XmlParser extends XmlParserBase {
   protected void composeResource(Resource resource) throws IOException {
     if (resource == null) {
       throw new IOException("resource == null");
-    } else if (resource instanceof Account) {
+    }
+    switch (resource.getResourceType()) {
+    case Account:
       composeAccount("Account", (Account)resource);
-    } else if (resource instanceof ActivityDefinition) {
+      break;
+    case ActivityDefinition:
       composeActivityDefinition("ActivityDefinition", (ActivityDefinition)resource);
-    } else if (resource instanceof AdministrableProductDefinition) {
+      break;
+    case AdministrableProductDefinition:
       composeAdministrableProductDefinition("AdministrableProductDefinition", (AdministrableProductDefinition)resource);
-    } else if (resource instanceof AdverseEvent) {
+      break;
+    case AdverseEvent:
       composeAdverseEvent("AdverseEvent", (AdverseEvent)resource);
-    } else if (resource instanceof AllergyIntolerance) {
+      break;
+    case AllergyIntolerance:
       composeAllergyIntolerance("AllergyIntolerance", (AllergyIntolerance)resource);
-    } else if (resource instanceof Appointment) {
+      break;
+    case Appointment:
       composeAppointment("Appointment", (Appointment)resource);
-    } else if (resource instanceof AppointmentResponse) {
+      break;
+    case AppointmentResponse:
       composeAppointmentResponse("AppointmentResponse", (AppointmentResponse)resource);
-    } else if (resource instanceof AuditEvent) {
+      break;
+    case AuditEvent:
       composeAuditEvent("AuditEvent", (AuditEvent)resource);
-    } else if (resource instanceof Basic) {
+      break;
+    case Basic:
       composeBasic("Basic", (Basic)resource);
-    } else if (resource instanceof Binary) {
+      break;
+    case Binary:
       composeBinary("Binary", (Binary)resource);
-    } else if (resource instanceof BiologicallyDerivedProduct) {
+      break;
+    case BiologicallyDerivedProduct:
       composeBiologicallyDerivedProduct("BiologicallyDerivedProduct", (BiologicallyDerivedProduct)resource);
-    } else if (resource instanceof BodyStructure) {
+      break;
+    case BodyStructure:
       composeBodyStructure("BodyStructure", (BodyStructure)resource);
-    } else if (resource instanceof Bundle) {
+      break;
+    case Bundle:
       composeBundle("Bundle", (Bundle)resource);
-    } else if (resource instanceof CapabilityStatement) {
+      break;
+    case CapabilityStatement:
       composeCapabilityStatement("CapabilityStatement", (CapabilityStatement)resource);
-    } else if (resource instanceof CapabilityStatement2) {
+      break;
+    case CapabilityStatement2:
       composeCapabilityStatement2("CapabilityStatement2", (CapabilityStatement2)resource);
-    } else if (resource instanceof CarePlan) {
+      break;
+    case CarePlan:
       composeCarePlan("CarePlan", (CarePlan)resource);
-    } else if (resource instanceof CareTeam) {
+      break;
+    case CareTeam:
       composeCareTeam("CareTeam", (CareTeam)resource);
-    } else if (resource instanceof CatalogEntry) {
+      break;
+    case CatalogEntry:
       composeCatalogEntry("CatalogEntry", (CatalogEntry)resource);
-    } else if (resource instanceof ChargeItem) {
+      break;
+    case ChargeItem:
       composeChargeItem("ChargeItem", (ChargeItem)resource);
-    } else if (resource instanceof ChargeItemDefinition) {
+      break;
+    case ChargeItemDefinition:
       composeChargeItemDefinition("ChargeItemDefinition", (ChargeItemDefinition)resource);
-    } else if (resource instanceof Citation) {
+      break;
+    case Citation:
       composeCitation("Citation", (Citation)resource);
-    } else if (resource instanceof Claim) {
+      break;
+    case Claim:
       composeClaim("Claim", (Claim)resource);
-    } else if (resource instanceof ClaimResponse) {
+      break;
+    case ClaimResponse:
       composeClaimResponse("ClaimResponse", (ClaimResponse)resource);
-    } else if (resource instanceof ClinicalImpression) {
+      break;
+    case ClinicalImpression:
       composeClinicalImpression("ClinicalImpression", (ClinicalImpression)resource);
-    } else if (resource instanceof ClinicalUseIssue) {
+      break;
+    case ClinicalUseIssue:
       composeClinicalUseIssue("ClinicalUseIssue", (ClinicalUseIssue)resource);
-    } else if (resource instanceof CodeSystem) {
+      break;
+    case CodeSystem:
       composeCodeSystem("CodeSystem", (CodeSystem)resource);
-    } else if (resource instanceof Communication) {
+      break;
+    case Communication:
       composeCommunication("Communication", (Communication)resource);
-    } else if (resource instanceof CommunicationRequest) {
+      break;
+    case CommunicationRequest:
       composeCommunicationRequest("CommunicationRequest", (CommunicationRequest)resource);
-    } else if (resource instanceof CompartmentDefinition) {
+      break;
+    case CompartmentDefinition:
       composeCompartmentDefinition("CompartmentDefinition", (CompartmentDefinition)resource);
-    } else if (resource instanceof Composition) {
+      break;
+    case Composition:
       composeComposition("Composition", (Composition)resource);
-    } else if (resource instanceof ConceptMap) {
+      break;
+    case ConceptMap:
       composeConceptMap("ConceptMap", (ConceptMap)resource);
-    } else if (resource instanceof Condition) {
+      break;
+    case Condition:
       composeCondition("Condition", (Condition)resource);
-    } else if (resource instanceof ConditionDefinition) {
+      break;
+    case ConditionDefinition:
       composeConditionDefinition("ConditionDefinition", (ConditionDefinition)resource);
-    } else if (resource instanceof Consent) {
+      break;
+    case Consent:
       composeConsent("Consent", (Consent)resource);
-    } else if (resource instanceof Contract) {
+      break;
+    case Contract:
       composeContract("Contract", (Contract)resource);
-    } else if (resource instanceof Coverage) {
+      break;
+    case Coverage:
       composeCoverage("Coverage", (Coverage)resource);
-    } else if (resource instanceof CoverageEligibilityRequest) {
+      break;
+    case CoverageEligibilityRequest:
       composeCoverageEligibilityRequest("CoverageEligibilityRequest", (CoverageEligibilityRequest)resource);
-    } else if (resource instanceof CoverageEligibilityResponse) {
+      break;
+    case CoverageEligibilityResponse:
       composeCoverageEligibilityResponse("CoverageEligibilityResponse", (CoverageEligibilityResponse)resource);
-    } else if (resource instanceof DetectedIssue) {
+      break;
+    case DetectedIssue:
       composeDetectedIssue("DetectedIssue", (DetectedIssue)resource);
-    } else if (resource instanceof Device) {
+      break;
+    case Device:
       composeDevice("Device", (Device)resource);
-    } else if (resource instanceof DeviceDefinition) {
+      break;
+    case DeviceDefinition:
       composeDeviceDefinition("DeviceDefinition", (DeviceDefinition)resource);
-    } else if (resource instanceof DeviceMetric) {
+      break;
+    case DeviceMetric:
       composeDeviceMetric("DeviceMetric", (DeviceMetric)resource);
-    } else if (resource instanceof DeviceRequest) {
+      break;
+    case DeviceRequest:
       composeDeviceRequest("DeviceRequest", (DeviceRequest)resource);
-    } else if (resource instanceof DeviceUseStatement) {
+      break;
+    case DeviceUseStatement:
       composeDeviceUseStatement("DeviceUseStatement", (DeviceUseStatement)resource);
-    } else if (resource instanceof DiagnosticReport) {
+      break;
+    case DiagnosticReport:
       composeDiagnosticReport("DiagnosticReport", (DiagnosticReport)resource);
-    } else if (resource instanceof DocumentManifest) {
+      break;
+    case DocumentManifest:
       composeDocumentManifest("DocumentManifest", (DocumentManifest)resource);
-    } else if (resource instanceof DocumentReference) {
+      break;
+    case DocumentReference:
       composeDocumentReference("DocumentReference", (DocumentReference)resource);
-    } else if (resource instanceof Encounter) {
+      break;
+    case Encounter:
       composeEncounter("Encounter", (Encounter)resource);
-    } else if (resource instanceof Endpoint) {
+      break;
+    case Endpoint:
       composeEndpoint("Endpoint", (Endpoint)resource);
-    } else if (resource instanceof EnrollmentRequest) {
+      break;
+    case EnrollmentRequest:
       composeEnrollmentRequest("EnrollmentRequest", (EnrollmentRequest)resource);
-    } else if (resource instanceof EnrollmentResponse) {
+      break;
+    case EnrollmentResponse:
       composeEnrollmentResponse("EnrollmentResponse", (EnrollmentResponse)resource);
-    } else if (resource instanceof EpisodeOfCare) {
+      break;
+    case EpisodeOfCare:
       composeEpisodeOfCare("EpisodeOfCare", (EpisodeOfCare)resource);
-    } else if (resource instanceof EventDefinition) {
+      break;
+    case EventDefinition:
       composeEventDefinition("EventDefinition", (EventDefinition)resource);
-    } else if (resource instanceof Evidence) {
+      break;
+    case Evidence:
       composeEvidence("Evidence", (Evidence)resource);
-    } else if (resource instanceof EvidenceReport) {
+      break;
+    case EvidenceReport:
       composeEvidenceReport("EvidenceReport", (EvidenceReport)resource);
-    } else if (resource instanceof EvidenceVariable) {
+      break;
+    case EvidenceVariable:
       composeEvidenceVariable("EvidenceVariable", (EvidenceVariable)resource);
-    } else if (resource instanceof ExampleScenario) {
+      break;
+    case ExampleScenario:
       composeExampleScenario("ExampleScenario", (ExampleScenario)resource);
-    } else if (resource instanceof ExplanationOfBenefit) {
+      break;
+    case ExplanationOfBenefit:
       composeExplanationOfBenefit("ExplanationOfBenefit", (ExplanationOfBenefit)resource);
-    } else if (resource instanceof FamilyMemberHistory) {
+      break;
+    case FamilyMemberHistory:
       composeFamilyMemberHistory("FamilyMemberHistory", (FamilyMemberHistory)resource);
-    } else if (resource instanceof Flag) {
+      break;
+    case Flag:
       composeFlag("Flag", (Flag)resource);
-    } else if (resource instanceof Goal) {
+      break;
+    case Goal:
       composeGoal("Goal", (Goal)resource);
-    } else if (resource instanceof GraphDefinition) {
+      break;
+    case GraphDefinition:
       composeGraphDefinition("GraphDefinition", (GraphDefinition)resource);
-    } else if (resource instanceof Group) {
+      break;
+    case Group:
       composeGroup("Group", (Group)resource);
-    } else if (resource instanceof GuidanceResponse) {
+      break;
+    case GuidanceResponse:
       composeGuidanceResponse("GuidanceResponse", (GuidanceResponse)resource);
-    } else if (resource instanceof HealthcareService) {
+      break;
+    case HealthcareService:
       composeHealthcareService("HealthcareService", (HealthcareService)resource);
-    } else if (resource instanceof ImagingStudy) {
+      break;
+    case ImagingStudy:
       composeImagingStudy("ImagingStudy", (ImagingStudy)resource);
-    } else if (resource instanceof Immunization) {
+      break;
+    case Immunization:
       composeImmunization("Immunization", (Immunization)resource);
-    } else if (resource instanceof ImmunizationEvaluation) {
+      break;
+    case ImmunizationEvaluation:
       composeImmunizationEvaluation("ImmunizationEvaluation", (ImmunizationEvaluation)resource);
-    } else if (resource instanceof ImmunizationRecommendation) {
+      break;
+    case ImmunizationRecommendation:
       composeImmunizationRecommendation("ImmunizationRecommendation", (ImmunizationRecommendation)resource);
-    } else if (resource instanceof ImplementationGuide) {
+      break;
+    case ImplementationGuide:
       composeImplementationGuide("ImplementationGuide", (ImplementationGuide)resource);
-    } else if (resource instanceof Ingredient) {
+      break;
+    case Ingredient:
       composeIngredient("Ingredient", (Ingredient)resource);
-    } else if (resource instanceof InsurancePlan) {
+      break;
+    case InsurancePlan:
       composeInsurancePlan("InsurancePlan", (InsurancePlan)resource);
-    } else if (resource instanceof Invoice) {
+      break;
+    case Invoice:
       composeInvoice("Invoice", (Invoice)resource);
-    } else if (resource instanceof Library) {
+      break;
+    case Library:
       composeLibrary("Library", (Library)resource);
-    } else if (resource instanceof Linkage) {
+      break;
+    case Linkage:
       composeLinkage("Linkage", (Linkage)resource);
-    } else if (resource instanceof ListResource) {
+      break;
+    case List:
       composeListResource("List", (ListResource)resource);
-    } else if (resource instanceof Location) {
+      break;
+    case Location:
       composeLocation("Location", (Location)resource);
-    } else if (resource instanceof ManufacturedItemDefinition) {
+      break;
+    case ManufacturedItemDefinition:
       composeManufacturedItemDefinition("ManufacturedItemDefinition", (ManufacturedItemDefinition)resource);
-    } else if (resource instanceof Measure) {
+      break;
+    case Measure:
       composeMeasure("Measure", (Measure)resource);
-    } else if (resource instanceof MeasureReport) {
+      break;
+    case MeasureReport:
       composeMeasureReport("MeasureReport", (MeasureReport)resource);
-    } else if (resource instanceof Medication) {
+      break;
+    case Medication:
       composeMedication("Medication", (Medication)resource);
-    } else if (resource instanceof MedicationAdministration) {
+      break;
+    case MedicationAdministration:
       composeMedicationAdministration("MedicationAdministration", (MedicationAdministration)resource);
-    } else if (resource instanceof MedicationDispense) {
+      break;
+    case MedicationDispense:
       composeMedicationDispense("MedicationDispense", (MedicationDispense)resource);
-    } else if (resource instanceof MedicationKnowledge) {
+      break;
+    case MedicationKnowledge:
       composeMedicationKnowledge("MedicationKnowledge", (MedicationKnowledge)resource);
-    } else if (resource instanceof MedicationRequest) {
+      break;
+    case MedicationRequest:
       composeMedicationRequest("MedicationRequest", (MedicationRequest)resource);
-    } else if (resource instanceof MedicationUsage) {
+      break;
+    case MedicationUsage:
       composeMedicationUsage("MedicationUsage", (MedicationUsage)resource);
-    } else if (resource instanceof MedicinalProductDefinition) {
+      break;
+    case MedicinalProductDefinition:
       composeMedicinalProductDefinition("MedicinalProductDefinition", (MedicinalProductDefinition)resource);
-    } else if (resource instanceof MessageDefinition) {
+      break;
+    case MessageDefinition:
       composeMessageDefinition("MessageDefinition", (MessageDefinition)resource);
-    } else if (resource instanceof MessageHeader) {
+      break;
+    case MessageHeader:
       composeMessageHeader("MessageHeader", (MessageHeader)resource);
-    } else if (resource instanceof MolecularSequence) {
+      break;
+    case MolecularSequence:
       composeMolecularSequence("MolecularSequence", (MolecularSequence)resource);
-    } else if (resource instanceof NamingSystem) {
+      break;
+    case NamingSystem:
       composeNamingSystem("NamingSystem", (NamingSystem)resource);
-    } else if (resource instanceof NutritionIntake) {
+      break;
+    case NutritionIntake:
       composeNutritionIntake("NutritionIntake", (NutritionIntake)resource);
-    } else if (resource instanceof NutritionOrder) {
+      break;
+    case NutritionOrder:
       composeNutritionOrder("NutritionOrder", (NutritionOrder)resource);
-    } else if (resource instanceof NutritionProduct) {
+      break;
+    case NutritionProduct:
       composeNutritionProduct("NutritionProduct", (NutritionProduct)resource);
-    } else if (resource instanceof Observation) {
+      break;
+    case Observation:
       composeObservation("Observation", (Observation)resource);
-    } else if (resource instanceof ObservationDefinition) {
+      break;
+    case ObservationDefinition:
       composeObservationDefinition("ObservationDefinition", (ObservationDefinition)resource);
-    } else if (resource instanceof OperationDefinition) {
+      break;
+    case OperationDefinition:
       composeOperationDefinition("OperationDefinition", (OperationDefinition)resource);
-    } else if (resource instanceof OperationOutcome) {
+      break;
+    case OperationOutcome:
       composeOperationOutcome("OperationOutcome", (OperationOutcome)resource);
-    } else if (resource instanceof Organization) {
+      break;
+    case Organization:
       composeOrganization("Organization", (Organization)resource);
-    } else if (resource instanceof OrganizationAffiliation) {
+      break;
+    case OrganizationAffiliation:
       composeOrganizationAffiliation("OrganizationAffiliation", (OrganizationAffiliation)resource);
-    } else if (resource instanceof PackagedProductDefinition) {
+      break;
+    case PackagedProductDefinition:
       composePackagedProductDefinition("PackagedProductDefinition", (PackagedProductDefinition)resource);
-    } else if (resource instanceof Parameters) {
+      break;
+    case Parameters:
       composeParameters("Parameters", (Parameters)resource);
-    } else if (resource instanceof Patient) {
+      break;
+    case Patient:
       composePatient("Patient", (Patient)resource);
-    } else if (resource instanceof PaymentNotice) {
+      break;
+    case PaymentNotice:
       composePaymentNotice("PaymentNotice", (PaymentNotice)resource);
-    } else if (resource instanceof PaymentReconciliation) {
+      break;
+    case PaymentReconciliation:
       composePaymentReconciliation("PaymentReconciliation", (PaymentReconciliation)resource);
-    } else if (resource instanceof Permission) {
+      break;
+    case Permission:
       composePermission("Permission", (Permission)resource);
-    } else if (resource instanceof Person) {
+      break;
+    case Person:
       composePerson("Person", (Person)resource);
-    } else if (resource instanceof PlanDefinition) {
+      break;
+    case PlanDefinition:
       composePlanDefinition("PlanDefinition", (PlanDefinition)resource);
-    } else if (resource instanceof Practitioner) {
+      break;
+    case Practitioner:
       composePractitioner("Practitioner", (Practitioner)resource);
-    } else if (resource instanceof PractitionerRole) {
+      break;
+    case PractitionerRole:
       composePractitionerRole("PractitionerRole", (PractitionerRole)resource);
-    } else if (resource instanceof Procedure) {
+      break;
+    case Procedure:
       composeProcedure("Procedure", (Procedure)resource);
-    } else if (resource instanceof Provenance) {
+      break;
+    case Provenance:
       composeProvenance("Provenance", (Provenance)resource);
-    } else if (resource instanceof Questionnaire) {
+      break;
+    case Questionnaire:
       composeQuestionnaire("Questionnaire", (Questionnaire)resource);
-    } else if (resource instanceof QuestionnaireResponse) {
+      break;
+    case QuestionnaireResponse:
       composeQuestionnaireResponse("QuestionnaireResponse", (QuestionnaireResponse)resource);
-    } else if (resource instanceof RegulatedAuthorization) {
+      break;
+    case RegulatedAuthorization:
       composeRegulatedAuthorization("RegulatedAuthorization", (RegulatedAuthorization)resource);
-    } else if (resource instanceof RelatedPerson) {
+      break;
+    case RelatedPerson:
       composeRelatedPerson("RelatedPerson", (RelatedPerson)resource);
-    } else if (resource instanceof RequestGroup) {
+      break;
+    case RequestGroup:
       composeRequestGroup("RequestGroup", (RequestGroup)resource);
-    } else if (resource instanceof ResearchStudy) {
+      break;
+    case ResearchStudy:
       composeResearchStudy("ResearchStudy", (ResearchStudy)resource);
-    } else if (resource instanceof ResearchSubject) {
+      break;
+    case ResearchSubject:
       composeResearchSubject("ResearchSubject", (ResearchSubject)resource);
-    } else if (resource instanceof RiskAssessment) {
+      break;
+    case RiskAssessment:
       composeRiskAssessment("RiskAssessment", (RiskAssessment)resource);
-    } else if (resource instanceof Schedule) {
+      break;
+    case Schedule:
       composeSchedule("Schedule", (Schedule)resource);
-    } else if (resource instanceof SearchParameter) {
+      break;
+    case SearchParameter:
       composeSearchParameter("SearchParameter", (SearchParameter)resource);
-    } else if (resource instanceof ServiceRequest) {
+      break;
+    case ServiceRequest:
       composeServiceRequest("ServiceRequest", (ServiceRequest)resource);
-    } else if (resource instanceof Slot) {
+      break;
+    case Slot:
       composeSlot("Slot", (Slot)resource);
-    } else if (resource instanceof Specimen) {
+      break;
+    case Specimen:
       composeSpecimen("Specimen", (Specimen)resource);
-    } else if (resource instanceof SpecimenDefinition) {
+      break;
+    case SpecimenDefinition:
       composeSpecimenDefinition("SpecimenDefinition", (SpecimenDefinition)resource);
-    } else if (resource instanceof StructureDefinition) {
+      break;
+    case StructureDefinition:
       composeStructureDefinition("StructureDefinition", (StructureDefinition)resource);
-    } else if (resource instanceof StructureMap) {
+      break;
+    case StructureMap:
       composeStructureMap("StructureMap", (StructureMap)resource);
-    } else if (resource instanceof Subscription) {
+      break;
+    case Subscription:
       composeSubscription("Subscription", (Subscription)resource);
-    } else if (resource instanceof SubscriptionStatus) {
+      break;
+    case SubscriptionStatus:
       composeSubscriptionStatus("SubscriptionStatus", (SubscriptionStatus)resource);
-    } else if (resource instanceof SubscriptionTopic) {
+      break;
+    case SubscriptionTopic:
       composeSubscriptionTopic("SubscriptionTopic", (SubscriptionTopic)resource);
-    } else if (resource instanceof Substance) {
+      break;
+    case Substance:
       composeSubstance("Substance", (Substance)resource);
-    } else if (resource instanceof SubstanceDefinition) {
+      break;
+    case SubstanceDefinition:
       composeSubstanceDefinition("SubstanceDefinition", (SubstanceDefinition)resource);
-    } else if (resource instanceof SubstanceNucleicAcid) {
+      break;
+    case SubstanceNucleicAcid:
       composeSubstanceNucleicAcid("SubstanceNucleicAcid", (SubstanceNucleicAcid)resource);
-    } else if (resource instanceof SubstancePolymer) {
+      break;
+    case SubstancePolymer:
       composeSubstancePolymer("SubstancePolymer", (SubstancePolymer)resource);
-    } else if (resource instanceof SubstanceProtein) {
+      break;
+    case SubstanceProtein:
       composeSubstanceProtein("SubstanceProtein", (SubstanceProtein)resource);
-    } else if (resource instanceof SubstanceReferenceInformation) {
+      break;
+    case SubstanceReferenceInformation:
       composeSubstanceReferenceInformation("SubstanceReferenceInformation", (SubstanceReferenceInformation)resource);
-    } else if (resource instanceof SubstanceSourceMaterial) {
+      break;
+    case SubstanceSourceMaterial:
       composeSubstanceSourceMaterial("SubstanceSourceMaterial", (SubstanceSourceMaterial)resource);
-    } else if (resource instanceof SupplyDelivery) {
+      break;
+    case SupplyDelivery:
       composeSupplyDelivery("SupplyDelivery", (SupplyDelivery)resource);
-    } else if (resource instanceof SupplyRequest) {
+      break;
+    case SupplyRequest:
       composeSupplyRequest("SupplyRequest", (SupplyRequest)resource);
-    } else if (resource instanceof Task) {
+      break;
+    case Task:
       composeTask("Task", (Task)resource);
-    } else if (resource instanceof TerminologyCapabilities) {
+      break;
+    case TerminologyCapabilities:
       composeTerminologyCapabilities("TerminologyCapabilities", (TerminologyCapabilities)resource);
-    } else if (resource instanceof TestReport) {
+      break;
+    case TestReport:
       composeTestReport("TestReport", (TestReport)resource);
-    } else if (resource instanceof TestScript) {
+      break;
+    case TestScript:
       composeTestScript("TestScript", (TestScript)resource);
-    } else if (resource instanceof ValueSet) {
+      break;
+    case ValueSet:
       composeValueSet("ValueSet", (ValueSet)resource);
-    } else if (resource instanceof VerificationResult) {
+      break;
+    case VerificationResult:
       composeVerificationResult("VerificationResult", (VerificationResult)resource);
-    } else if (resource instanceof VisionPrescription) {
+      break;
+    case VisionPrescription:
       composeVisionPrescription("VisionPrescription", (VisionPrescription)resource);
+      break;
       
-    } else {
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
     }
   }
@@ -55256,302 +55260,451 @@ public class XmlParser extends XmlParserBase {
       throw new IOException("name == null");
     } else if (resource == null) {
       throw new IOException("resource == null");
-    } else if (resource instanceof Account) {
+    }
+    switch (resource.getResourceType()) {
+    case Account:
       composeAccount(name, (Account)resource);
-    } else if (resource instanceof ActivityDefinition) {
+      break;
+    case ActivityDefinition:
       composeActivityDefinition(name, (ActivityDefinition)resource);
-    } else if (resource instanceof AdministrableProductDefinition) {
+      break;
+    case AdministrableProductDefinition:
       composeAdministrableProductDefinition(name, (AdministrableProductDefinition)resource);
-    } else if (resource instanceof AdverseEvent) {
+      break;
+    case AdverseEvent:
       composeAdverseEvent(name, (AdverseEvent)resource);
-    } else if (resource instanceof AllergyIntolerance) {
+      break;
+    case AllergyIntolerance:
       composeAllergyIntolerance(name, (AllergyIntolerance)resource);
-    } else if (resource instanceof Appointment) {
+      break;
+    case Appointment:
       composeAppointment(name, (Appointment)resource);
-    } else if (resource instanceof AppointmentResponse) {
+      break;
+    case AppointmentResponse:
       composeAppointmentResponse(name, (AppointmentResponse)resource);
-    } else if (resource instanceof AuditEvent) {
+      break;
+    case AuditEvent:
       composeAuditEvent(name, (AuditEvent)resource);
-    } else if (resource instanceof Basic) {
+      break;
+    case Basic:
       composeBasic(name, (Basic)resource);
-    } else if (resource instanceof Binary) {
+      break;
+    case Binary:
       composeBinary(name, (Binary)resource);
-    } else if (resource instanceof BiologicallyDerivedProduct) {
+      break;
+    case BiologicallyDerivedProduct:
       composeBiologicallyDerivedProduct(name, (BiologicallyDerivedProduct)resource);
-    } else if (resource instanceof BodyStructure) {
+      break;
+    case BodyStructure:
       composeBodyStructure(name, (BodyStructure)resource);
-    } else if (resource instanceof Bundle) {
+      break;
+    case Bundle:
       composeBundle(name, (Bundle)resource);
-    } else if (resource instanceof CapabilityStatement) {
+      break;
+    case CapabilityStatement:
       composeCapabilityStatement(name, (CapabilityStatement)resource);
-    } else if (resource instanceof CapabilityStatement2) {
+      break;
+    case CapabilityStatement2:
       composeCapabilityStatement2(name, (CapabilityStatement2)resource);
-    } else if (resource instanceof CarePlan) {
+      break;
+    case CarePlan:
       composeCarePlan(name, (CarePlan)resource);
-    } else if (resource instanceof CareTeam) {
+      break;
+    case CareTeam:
       composeCareTeam(name, (CareTeam)resource);
-    } else if (resource instanceof CatalogEntry) {
+      break;
+    case CatalogEntry:
       composeCatalogEntry(name, (CatalogEntry)resource);
-    } else if (resource instanceof ChargeItem) {
+      break;
+    case ChargeItem:
       composeChargeItem(name, (ChargeItem)resource);
-    } else if (resource instanceof ChargeItemDefinition) {
+      break;
+    case ChargeItemDefinition:
       composeChargeItemDefinition(name, (ChargeItemDefinition)resource);
-    } else if (resource instanceof Citation) {
+      break;
+    case Citation:
       composeCitation(name, (Citation)resource);
-    } else if (resource instanceof Claim) {
+      break;
+    case Claim:
       composeClaim(name, (Claim)resource);
-    } else if (resource instanceof ClaimResponse) {
+      break;
+    case ClaimResponse:
       composeClaimResponse(name, (ClaimResponse)resource);
-    } else if (resource instanceof ClinicalImpression) {
+      break;
+    case ClinicalImpression:
       composeClinicalImpression(name, (ClinicalImpression)resource);
-    } else if (resource instanceof ClinicalUseIssue) {
+      break;
+    case ClinicalUseIssue:
       composeClinicalUseIssue(name, (ClinicalUseIssue)resource);
-    } else if (resource instanceof CodeSystem) {
+      break;
+    case CodeSystem:
       composeCodeSystem(name, (CodeSystem)resource);
-    } else if (resource instanceof Communication) {
+      break;
+    case Communication:
       composeCommunication(name, (Communication)resource);
-    } else if (resource instanceof CommunicationRequest) {
+      break;
+    case CommunicationRequest:
       composeCommunicationRequest(name, (CommunicationRequest)resource);
-    } else if (resource instanceof CompartmentDefinition) {
+      break;
+    case CompartmentDefinition:
       composeCompartmentDefinition(name, (CompartmentDefinition)resource);
-    } else if (resource instanceof Composition) {
+      break;
+    case Composition:
       composeComposition(name, (Composition)resource);
-    } else if (resource instanceof ConceptMap) {
+      break;
+    case ConceptMap:
       composeConceptMap(name, (ConceptMap)resource);
-    } else if (resource instanceof Condition) {
+      break;
+    case Condition:
       composeCondition(name, (Condition)resource);
-    } else if (resource instanceof ConditionDefinition) {
+      break;
+    case ConditionDefinition:
       composeConditionDefinition(name, (ConditionDefinition)resource);
-    } else if (resource instanceof Consent) {
+      break;
+    case Consent:
       composeConsent(name, (Consent)resource);
-    } else if (resource instanceof Contract) {
+      break;
+    case Contract:
       composeContract(name, (Contract)resource);
-    } else if (resource instanceof Coverage) {
+      break;
+    case Coverage:
       composeCoverage(name, (Coverage)resource);
-    } else if (resource instanceof CoverageEligibilityRequest) {
+      break;
+    case CoverageEligibilityRequest:
       composeCoverageEligibilityRequest(name, (CoverageEligibilityRequest)resource);
-    } else if (resource instanceof CoverageEligibilityResponse) {
+      break;
+    case CoverageEligibilityResponse:
       composeCoverageEligibilityResponse(name, (CoverageEligibilityResponse)resource);
-    } else if (resource instanceof DetectedIssue) {
+      break;
+    case DetectedIssue:
       composeDetectedIssue(name, (DetectedIssue)resource);
-    } else if (resource instanceof Device) {
+      break;
+    case Device:
       composeDevice(name, (Device)resource);
-    } else if (resource instanceof DeviceDefinition) {
+      break;
+    case DeviceDefinition:
       composeDeviceDefinition(name, (DeviceDefinition)resource);
-    } else if (resource instanceof DeviceMetric) {
+      break;
+    case DeviceMetric:
       composeDeviceMetric(name, (DeviceMetric)resource);
-    } else if (resource instanceof DeviceRequest) {
+      break;
+    case DeviceRequest:
       composeDeviceRequest(name, (DeviceRequest)resource);
-    } else if (resource instanceof DeviceUseStatement) {
+      break;
+    case DeviceUseStatement:
       composeDeviceUseStatement(name, (DeviceUseStatement)resource);
-    } else if (resource instanceof DiagnosticReport) {
+      break;
+    case DiagnosticReport:
       composeDiagnosticReport(name, (DiagnosticReport)resource);
-    } else if (resource instanceof DocumentManifest) {
+      break;
+    case DocumentManifest:
       composeDocumentManifest(name, (DocumentManifest)resource);
-    } else if (resource instanceof DocumentReference) {
+      break;
+    case DocumentReference:
       composeDocumentReference(name, (DocumentReference)resource);
-    } else if (resource instanceof Encounter) {
+      break;
+    case Encounter:
       composeEncounter(name, (Encounter)resource);
-    } else if (resource instanceof Endpoint) {
+      break;
+    case Endpoint:
       composeEndpoint(name, (Endpoint)resource);
-    } else if (resource instanceof EnrollmentRequest) {
+      break;
+    case EnrollmentRequest:
       composeEnrollmentRequest(name, (EnrollmentRequest)resource);
-    } else if (resource instanceof EnrollmentResponse) {
+      break;
+    case EnrollmentResponse:
       composeEnrollmentResponse(name, (EnrollmentResponse)resource);
-    } else if (resource instanceof EpisodeOfCare) {
+      break;
+    case EpisodeOfCare:
       composeEpisodeOfCare(name, (EpisodeOfCare)resource);
-    } else if (resource instanceof EventDefinition) {
+      break;
+    case EventDefinition:
       composeEventDefinition(name, (EventDefinition)resource);
-    } else if (resource instanceof Evidence) {
+      break;
+    case Evidence:
       composeEvidence(name, (Evidence)resource);
-    } else if (resource instanceof EvidenceReport) {
+      break;
+    case EvidenceReport:
       composeEvidenceReport(name, (EvidenceReport)resource);
-    } else if (resource instanceof EvidenceVariable) {
+      break;
+    case EvidenceVariable:
       composeEvidenceVariable(name, (EvidenceVariable)resource);
-    } else if (resource instanceof ExampleScenario) {
+      break;
+    case ExampleScenario:
       composeExampleScenario(name, (ExampleScenario)resource);
-    } else if (resource instanceof ExplanationOfBenefit) {
+      break;
+    case ExplanationOfBenefit:
       composeExplanationOfBenefit(name, (ExplanationOfBenefit)resource);
-    } else if (resource instanceof FamilyMemberHistory) {
+      break;
+    case FamilyMemberHistory:
       composeFamilyMemberHistory(name, (FamilyMemberHistory)resource);
-    } else if (resource instanceof Flag) {
+      break;
+    case Flag:
       composeFlag(name, (Flag)resource);
-    } else if (resource instanceof Goal) {
+      break;
+    case Goal:
       composeGoal(name, (Goal)resource);
-    } else if (resource instanceof GraphDefinition) {
+      break;
+    case GraphDefinition:
       composeGraphDefinition(name, (GraphDefinition)resource);
-    } else if (resource instanceof Group) {
+      break;
+    case Group:
       composeGroup(name, (Group)resource);
-    } else if (resource instanceof GuidanceResponse) {
+      break;
+    case GuidanceResponse:
       composeGuidanceResponse(name, (GuidanceResponse)resource);
-    } else if (resource instanceof HealthcareService) {
+      break;
+    case HealthcareService:
       composeHealthcareService(name, (HealthcareService)resource);
-    } else if (resource instanceof ImagingStudy) {
+      break;
+    case ImagingStudy:
       composeImagingStudy(name, (ImagingStudy)resource);
-    } else if (resource instanceof Immunization) {
+      break;
+    case Immunization:
       composeImmunization(name, (Immunization)resource);
-    } else if (resource instanceof ImmunizationEvaluation) {
+      break;
+    case ImmunizationEvaluation:
       composeImmunizationEvaluation(name, (ImmunizationEvaluation)resource);
-    } else if (resource instanceof ImmunizationRecommendation) {
+      break;
+    case ImmunizationRecommendation:
       composeImmunizationRecommendation(name, (ImmunizationRecommendation)resource);
-    } else if (resource instanceof ImplementationGuide) {
+      break;
+    case ImplementationGuide:
       composeImplementationGuide(name, (ImplementationGuide)resource);
-    } else if (resource instanceof Ingredient) {
+      break;
+    case Ingredient:
       composeIngredient(name, (Ingredient)resource);
-    } else if (resource instanceof InsurancePlan) {
+      break;
+    case InsurancePlan:
       composeInsurancePlan(name, (InsurancePlan)resource);
-    } else if (resource instanceof Invoice) {
+      break;
+    case Invoice:
       composeInvoice(name, (Invoice)resource);
-    } else if (resource instanceof Library) {
+      break;
+    case Library:
       composeLibrary(name, (Library)resource);
-    } else if (resource instanceof Linkage) {
+      break;
+    case Linkage:
       composeLinkage(name, (Linkage)resource);
-    } else if (resource instanceof ListResource) {
+      break;
+    case List:
       composeListResource(name, (ListResource)resource);
-    } else if (resource instanceof Location) {
+      break;
+    case Location:
       composeLocation(name, (Location)resource);
-    } else if (resource instanceof ManufacturedItemDefinition) {
+      break;
+    case ManufacturedItemDefinition:
       composeManufacturedItemDefinition(name, (ManufacturedItemDefinition)resource);
-    } else if (resource instanceof Measure) {
+      break;
+    case Measure:
       composeMeasure(name, (Measure)resource);
-    } else if (resource instanceof MeasureReport) {
+      break;
+    case MeasureReport:
       composeMeasureReport(name, (MeasureReport)resource);
-    } else if (resource instanceof Medication) {
+      break;
+    case Medication:
       composeMedication(name, (Medication)resource);
-    } else if (resource instanceof MedicationAdministration) {
+      break;
+    case MedicationAdministration:
       composeMedicationAdministration(name, (MedicationAdministration)resource);
-    } else if (resource instanceof MedicationDispense) {
+      break;
+    case MedicationDispense:
       composeMedicationDispense(name, (MedicationDispense)resource);
-    } else if (resource instanceof MedicationKnowledge) {
+      break;
+    case MedicationKnowledge:
       composeMedicationKnowledge(name, (MedicationKnowledge)resource);
-    } else if (resource instanceof MedicationRequest) {
+      break;
+    case MedicationRequest:
       composeMedicationRequest(name, (MedicationRequest)resource);
-    } else if (resource instanceof MedicationUsage) {
+      break;
+    case MedicationUsage:
       composeMedicationUsage(name, (MedicationUsage)resource);
-    } else if (resource instanceof MedicinalProductDefinition) {
+      break;
+    case MedicinalProductDefinition:
       composeMedicinalProductDefinition(name, (MedicinalProductDefinition)resource);
-    } else if (resource instanceof MessageDefinition) {
+      break;
+    case MessageDefinition:
       composeMessageDefinition(name, (MessageDefinition)resource);
-    } else if (resource instanceof MessageHeader) {
+      break;
+    case MessageHeader:
       composeMessageHeader(name, (MessageHeader)resource);
-    } else if (resource instanceof MolecularSequence) {
+      break;
+    case MolecularSequence:
       composeMolecularSequence(name, (MolecularSequence)resource);
-    } else if (resource instanceof NamingSystem) {
+      break;
+    case NamingSystem:
       composeNamingSystem(name, (NamingSystem)resource);
-    } else if (resource instanceof NutritionIntake) {
+      break;
+    case NutritionIntake:
       composeNutritionIntake(name, (NutritionIntake)resource);
-    } else if (resource instanceof NutritionOrder) {
+      break;
+    case NutritionOrder:
       composeNutritionOrder(name, (NutritionOrder)resource);
-    } else if (resource instanceof NutritionProduct) {
+      break;
+    case NutritionProduct:
       composeNutritionProduct(name, (NutritionProduct)resource);
-    } else if (resource instanceof Observation) {
+      break;
+    case Observation:
       composeObservation(name, (Observation)resource);
-    } else if (resource instanceof ObservationDefinition) {
+      break;
+    case ObservationDefinition:
       composeObservationDefinition(name, (ObservationDefinition)resource);
-    } else if (resource instanceof OperationDefinition) {
+      break;
+    case OperationDefinition:
       composeOperationDefinition(name, (OperationDefinition)resource);
-    } else if (resource instanceof OperationOutcome) {
+      break;
+    case OperationOutcome:
       composeOperationOutcome(name, (OperationOutcome)resource);
-    } else if (resource instanceof Organization) {
+      break;
+    case Organization:
       composeOrganization(name, (Organization)resource);
-    } else if (resource instanceof OrganizationAffiliation) {
+      break;
+    case OrganizationAffiliation:
       composeOrganizationAffiliation(name, (OrganizationAffiliation)resource);
-    } else if (resource instanceof PackagedProductDefinition) {
+      break;
+    case PackagedProductDefinition:
       composePackagedProductDefinition(name, (PackagedProductDefinition)resource);
-    } else if (resource instanceof Parameters) {
+      break;
+    case Parameters:
       composeParameters(name, (Parameters)resource);
-    } else if (resource instanceof Patient) {
+      break;
+    case Patient:
       composePatient(name, (Patient)resource);
-    } else if (resource instanceof PaymentNotice) {
+      break;
+    case PaymentNotice:
       composePaymentNotice(name, (PaymentNotice)resource);
-    } else if (resource instanceof PaymentReconciliation) {
+      break;
+    case PaymentReconciliation:
       composePaymentReconciliation(name, (PaymentReconciliation)resource);
-    } else if (resource instanceof Permission) {
+      break;
+    case Permission:
       composePermission(name, (Permission)resource);
-    } else if (resource instanceof Person) {
+      break;
+    case Person:
       composePerson(name, (Person)resource);
-    } else if (resource instanceof PlanDefinition) {
+      break;
+    case PlanDefinition:
       composePlanDefinition(name, (PlanDefinition)resource);
-    } else if (resource instanceof Practitioner) {
+      break;
+    case Practitioner:
       composePractitioner(name, (Practitioner)resource);
-    } else if (resource instanceof PractitionerRole) {
+      break;
+    case PractitionerRole:
       composePractitionerRole(name, (PractitionerRole)resource);
-    } else if (resource instanceof Procedure) {
+      break;
+    case Procedure:
       composeProcedure(name, (Procedure)resource);
-    } else if (resource instanceof Provenance) {
+      break;
+    case Provenance:
       composeProvenance(name, (Provenance)resource);
-    } else if (resource instanceof Questionnaire) {
+      break;
+    case Questionnaire:
       composeQuestionnaire(name, (Questionnaire)resource);
-    } else if (resource instanceof QuestionnaireResponse) {
+      break;
+    case QuestionnaireResponse:
       composeQuestionnaireResponse(name, (QuestionnaireResponse)resource);
-    } else if (resource instanceof RegulatedAuthorization) {
+      break;
+    case RegulatedAuthorization:
       composeRegulatedAuthorization(name, (RegulatedAuthorization)resource);
-    } else if (resource instanceof RelatedPerson) {
+      break;
+    case RelatedPerson:
       composeRelatedPerson(name, (RelatedPerson)resource);
-    } else if (resource instanceof RequestGroup) {
+      break;
+    case RequestGroup:
       composeRequestGroup(name, (RequestGroup)resource);
-    } else if (resource instanceof ResearchStudy) {
+      break;
+    case ResearchStudy:
       composeResearchStudy(name, (ResearchStudy)resource);
-    } else if (resource instanceof ResearchSubject) {
+      break;
+    case ResearchSubject:
       composeResearchSubject(name, (ResearchSubject)resource);
-    } else if (resource instanceof RiskAssessment) {
+      break;
+    case RiskAssessment:
       composeRiskAssessment(name, (RiskAssessment)resource);
-    } else if (resource instanceof Schedule) {
+      break;
+    case Schedule:
       composeSchedule(name, (Schedule)resource);
-    } else if (resource instanceof SearchParameter) {
+      break;
+    case SearchParameter:
       composeSearchParameter(name, (SearchParameter)resource);
-    } else if (resource instanceof ServiceRequest) {
+      break;
+    case ServiceRequest:
       composeServiceRequest(name, (ServiceRequest)resource);
-    } else if (resource instanceof Slot) {
+      break;
+    case Slot:
       composeSlot(name, (Slot)resource);
-    } else if (resource instanceof Specimen) {
+      break;
+    case Specimen:
       composeSpecimen(name, (Specimen)resource);
-    } else if (resource instanceof SpecimenDefinition) {
+      break;
+    case SpecimenDefinition:
       composeSpecimenDefinition(name, (SpecimenDefinition)resource);
-    } else if (resource instanceof StructureDefinition) {
+      break;
+    case StructureDefinition:
       composeStructureDefinition(name, (StructureDefinition)resource);
-    } else if (resource instanceof StructureMap) {
+      break;
+    case StructureMap:
       composeStructureMap(name, (StructureMap)resource);
-    } else if (resource instanceof Subscription) {
+      break;
+    case Subscription:
       composeSubscription(name, (Subscription)resource);
-    } else if (resource instanceof SubscriptionStatus) {
+      break;
+    case SubscriptionStatus:
       composeSubscriptionStatus(name, (SubscriptionStatus)resource);
-    } else if (resource instanceof SubscriptionTopic) {
+      break;
+    case SubscriptionTopic:
       composeSubscriptionTopic(name, (SubscriptionTopic)resource);
-    } else if (resource instanceof Substance) {
+      break;
+    case Substance:
       composeSubstance(name, (Substance)resource);
-    } else if (resource instanceof SubstanceDefinition) {
+      break;
+    case SubstanceDefinition:
       composeSubstanceDefinition(name, (SubstanceDefinition)resource);
-    } else if (resource instanceof SubstanceNucleicAcid) {
+      break;
+    case SubstanceNucleicAcid:
       composeSubstanceNucleicAcid(name, (SubstanceNucleicAcid)resource);
-    } else if (resource instanceof SubstancePolymer) {
+      break;
+    case SubstancePolymer:
       composeSubstancePolymer(name, (SubstancePolymer)resource);
-    } else if (resource instanceof SubstanceProtein) {
+      break;
+    case SubstanceProtein:
       composeSubstanceProtein(name, (SubstanceProtein)resource);
-    } else if (resource instanceof SubstanceReferenceInformation) {
+      break;
+    case SubstanceReferenceInformation:
       composeSubstanceReferenceInformation(name, (SubstanceReferenceInformation)resource);
-    } else if (resource instanceof SubstanceSourceMaterial) {
+      break;
+    case SubstanceSourceMaterial:
       composeSubstanceSourceMaterial(name, (SubstanceSourceMaterial)resource);
-    } else if (resource instanceof SupplyDelivery) {
+      break;
+    case SupplyDelivery:
       composeSupplyDelivery(name, (SupplyDelivery)resource);
-    } else if (resource instanceof SupplyRequest) {
+      break;
+    case SupplyRequest:
       composeSupplyRequest(name, (SupplyRequest)resource);
-    } else if (resource instanceof Task) {
+      break;
+    case Task:
       composeTask(name, (Task)resource);
-    } else if (resource instanceof TerminologyCapabilities) {
+      break;
+    case TerminologyCapabilities:
       composeTerminologyCapabilities(name, (TerminologyCapabilities)resource);
-    } else if (resource instanceof TestReport) {
+      break;
+    case TestReport:
       composeTestReport(name, (TestReport)resource);
-    } else if (resource instanceof TestScript) {
+      break;
+    case TestScript:
       composeTestScript(name, (TestScript)resource);
-    } else if (resource instanceof ValueSet) {
+      break;
+    case ValueSet:
       composeValueSet(name, (ValueSet)resource);
-    } else if (resource instanceof VerificationResult) {
+      break;
+    case VerificationResult:
       composeVerificationResult(name, (VerificationResult)resource);
-    } else if (resource instanceof VisionPrescription) {
+      break;
+    case VisionPrescription:
       composeVisionPrescription(name, (VisionPrescription)resource);
+      break;
       
-    } else {
+    default:
       throw new Error("Unhandled resource type "+resource.getClass().getName());
     }
   }
@@ -315,7 +315,7 @@ public abstract class ResourceRenderer extends DataRenderer {
      if (cs == null || !cs.hasUserData("path"))
        x.tx(code);
      else {
-       ConceptDefinitionComponent cd = CodeSystemUtilities.findCode(cs.getConcept(), code);
+       ConceptDefinitionComponent cd = CodeSystemUtilities.findCode(cs, code);
        if (cd == null) {
          x.tx(code);
        } else {
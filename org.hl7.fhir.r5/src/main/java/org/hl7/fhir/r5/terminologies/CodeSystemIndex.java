@@ -0,0 +1,180 @@
+package org.hl7.fhir.r5.terminologies;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.hl7.fhir.r5.model.CodeSystem;
+import org.hl7.fhir.r5.model.CodeSystem.ConceptDefinitionComponent;
+import org.hl7.fhir.r5.model.CodeSystem.ConceptPropertyComponent;
+
+/**
+ * The concepts of a code system, indexed by code, with the links from each concept to its parents
+ * and its children (including the extra parents defined by the parent property - see
+ * CodeSystemUtilities.crossLinkCodeSystem) and the properties of each concept by property code.
+ *
+ * The lookups return the first matching concept in hierarchy order, as a walk of the hierarchy
+ * would. The index is built the first time it is asked for (see forCodeSystem), and is kept with
+ * the code system. It is built again if the code system's list of concepts has been replaced, or
+ * concepts have been added to it or removed from it, since it was built. The worker context drops
+ * the index when the code system is cached again, replaced or dropped. Anything else that changes
+ * the concepts below the top level, or the codes of concepts, after the code system has been
+ * indexed must call clear().
+ *
+ */
+public class CodeSystemIndex {
+
+  private static final String USER_DATA_NAME = "cs.utils.index";
+
+  private Map<String, ConceptDefinitionComponent> byCode = new HashMap<>();
+  private Map<String, ConceptDefinitionComponent> byCodeIgnoreCase = new HashMap<>();
+  private Map<ConceptDefinitionComponent, List<ConceptDefinitionComponent>> parents = new IdentityHashMap<>();
+  private Map<ConceptDefinitionComponent, List<ConceptDefinitionComponent>> children = new IdentityHashMap<>();
+  private Map<ConceptDefinitionComponent, Map<String, List<ConceptPropertyComponent>>> properties = new IdentityHashMap<>();
+  private List<ConceptDefinitionComponent> concepts; // the list that was indexed, and its size then, to tell if it has changed since
+  private int count;
+
+  /**
+   * @return the index for the concepts of the code system, which is built the first time it is asked for
+   */
+  public static CodeSystemIndex forCodeSystem(CodeSystem cs) {
+    synchronized (cs) {
+      CodeSystemIndex index = (CodeSystemIndex) cs.getUserData(USER_DATA_NAME);
+      if (index == null || index.concepts != cs.getConcept() || index.count != cs.getConcept().size()) {
+        index = new CodeSystemIndex(cs.getConcept());
+        cs.setUserData(USER_DATA_NAME, index);
+      }
+      return index;
+    }
+  }
+
+  /**
+   * drop the index for the code system, if there is one, so that it is built again next time it is asked for
+   */
+  public static void clear(CodeSystem cs) {
+    synchronized (cs) {
+      cs.clearUserData(USER_DATA_NAME);
+    }
+  }
+
+  public CodeSystemIndex(List<ConceptDefinitionComponent> concepts) {
+    super();
+    this.concepts = concepts;
+    this.count = concepts.size();
+    index(null, concepts);
+    for (ConceptDefinitionComponent c : new ArrayList<>(children.keySet())) {
+      if (c.hasUserData(CodeSystemUtilities.USER_DATA_CROSS_LINK)) {
+        @SuppressWarnings("unchecked")
+        List<ConceptDefinitionComponent> links = (List<ConceptDefinitionComponent>) c.getUserData(CodeSystemUtilities.USER_DATA_CROSS_LINK);
+        for (ConceptDefinitionComponent child : links) {
+          link(c, child);
+        }
+      }
+    }
+  }
+
+  private void index(ConceptDefinitionComponent parent, List<ConceptDefinitionComponent> concepts) {
+    for (ConceptDefinitionComponent c : concepts) {
+      if (c.hasCode()) {
+        byCode.putIfAbsent(c.getCode(), c);
+        byCodeIgnoreCase.putIfAbsent(c.getCode().toLowerCase(Locale.ROOT), c);
+      }
+      parents.put(c, new ArrayList<>(1));
+      children.put(c, new ArrayList<>(c.getConcept().size()));
+      if (parent != null) {
+        link(parent, c);
+      }
+      if (c.hasProperty()) {
+        Map<String, List<ConceptPropertyComponent>> map = new HashMap<>();
+        for (ConceptPropertyComponent p : c.getProperty()) {
+          map.computeIfAbsent(p.getCode(), s -> new ArrayList<>(1)).add(p);
+        }
+        properties.put(c, map);
+      }
+      index(c, c.getConcept());
+    }
+  }
+
+  private void link(ConceptDefinitionComponent parent, ConceptDefinitionComponent child) {
+    List<ConceptDefinitionComponent> list = children.get(parent);
+    if (list != null && !list.contains(child)) {
+      list.add(child);
+      parents.get(child).add(parent);
+    }
+  }
+
+  /**
+   * @return the first concept with this code (case sensitive), or null
+   */
+  public ConceptDefinitionComponent findCode(String code) {
+    return code == null ? null : byCode.get(code);
+  }
+
+  /**
+   * @return the first concept with this code, or null
+   */
+  public ConceptDefinitionComponent findCode(String code, boolean caseSensitive) {
+    if (caseSensitive || code == null) {
+      return findCode(code);
+    }
+    ConceptDefinitionComponent c = byCode.get(code);
+    return c != null ? c : byCodeIgnoreCase.get(code.toLowerCase(Locale.ROOT));
+  }
+
+  public boolean hasCode(String code, boolean caseSensitive) {
+    return findCode(code, caseSensitive) != null;
+  }
+
+  /**
+   * @return the parents of the concept, including the extra parents defined by the parent property
+   */
+  public List<ConceptDefinitionComponent> getParents(ConceptDefinitionComponent concept) {
+    List<ConceptDefinitionComponent> list = parents.get(concept);
+    return list == null ? Collections.<ConceptDefinitionComponent>emptyList() : Collections.unmodifiableList(list);
+  }
+
+  /**
+   * @return the children of the concept, including the extra children defined by the parent property
+   */
+  public List<ConceptDefinitionComponent> getChildren(ConceptDefinitionComponent concept) {
+    List<ConceptDefinitionComponent> list = children.get(concept);
+    return list == null ? Collections.<ConceptDefinitionComponent>emptyList() : Collections.unmodifiableList(list);
+  }
+
+  /**
+   * @return the values of the property with this code on the concept
+   */
+  public List<ConceptPropertyComponent> getPropertyValues(ConceptDefinitionComponent concept, String code) {
+    Map<String, List<ConceptPropertyComponent>> map = properties.get(concept);
+    List<ConceptPropertyComponent> list = map == null ? null : map.get(code);
+    return list == null ? Collections.<ConceptPropertyComponent>emptyList() : Collections.unmodifiableList(list);
+  }
+
+  /**
+   * @return true if the concept with this code is the ancestor, or one of its descendants
+   */
+  public boolean isSelfOrDescendant(ConceptDefinitionComponent ancestor, String code) {
+    ConceptDefinitionComponent c = findCode(code);
+    if (c == null) {
+      return false;
+    }
+    Set<ConceptDefinitionComponent> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<ConceptDefinitionComponent> queue = new ArrayList<>();
+    queue.add(c);
+    for (int i = 0; i < queue.size(); i++) {
+      ConceptDefinitionComponent t = queue.get(i);
+      if (t == ancestor) {
+        return true;
+      }
+      if (seen.add(t)) {
+        queue.addAll(getParents(t));
+      }
+    }
+    return false;
+  }
+}
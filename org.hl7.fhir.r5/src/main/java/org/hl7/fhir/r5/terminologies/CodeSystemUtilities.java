@@ -243,7 +243,7 @@ public class CodeSystemUtilities {
   }
   
   public static boolean isInactive(CodeSystem cs, String code) throws FHIRException {
-    ConceptDefinitionComponent def = findCode(cs.getConcept(), code);
+    ConceptDefinitionComponent def = findCode(cs, code);
     if (def == null)
       return true;
     return isInactive(cs, def);
@@ -304,6 +304,13 @@ public class CodeSystemUtilities {
     return null;
   }
 
+  /**
+   * @return the first concept in the code system with this code, or null. This uses the index of the code system (see CodeSystemIndex)
+   */
+  public static ConceptDefinitionComponent findCode(CodeSystem cs, String code) {
+    return CodeSystemIndex.forCodeSystem(cs).findCode(code);
+  }
+
   public static ConceptDefinitionComponent findCode(List<ConceptDefinitionComponent> list, String code) {
     for (ConceptDefinitionComponent c : list) {
       if (c.getCode().equals(code))
@@ -446,6 +453,7 @@ public class CodeSystemUtilities {
     String parent = getPropertyByUrl(cs, "http://hl7.org/fhir/concept-properties#parent");
     if ((parent != null)) {
       crossLinkConcepts(cs.getConcept(), cs.getConcept(), parent);
+      CodeSystemIndex.clear(cs);
     }
   }
 
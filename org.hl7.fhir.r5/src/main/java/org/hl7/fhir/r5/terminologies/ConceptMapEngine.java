@@ -31,67 +31,146 @@ package org.hl7.fhir.r5.terminologies;
 
 
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.hl7.fhir.exceptions.FHIRException;
-import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.context.IWorkerContext;
 import org.hl7.fhir.r5.model.Coding;
 import org.hl7.fhir.r5.model.ConceptMap;
 import org.hl7.fhir.r5.model.ConceptMap.ConceptMapGroupComponent;
-import org.hl7.fhir.r5.model.ConceptMap.SourceElementComponent;
+import org.hl7.fhir.r5.model.ConceptMap.ConceptMapGroupUnmappedMode;
+import org.hl7.fhir.r5.model.ConceptMap.OtherElementComponent;
 import org.hl7.fhir.r5.model.ConceptMap.TargetElementComponent;
 import org.hl7.fhir.r5.model.Enumerations.ConceptMapRelationship;
+import org.hl7.fhir.r5.terminologies.ConceptMapIndex.SourceElementMatch;
 
+/**
+ * Translates codes using the concept maps in the worker context. The concept maps are looked up
+ * through their index (see ConceptMapIndex).
+ *
+ * A translation is a single code, so targets that have products are not used. Targets that depend on
+ * other elements are only used if values are provided for all the elements they depend on.
+ */
 public class ConceptMapEngine {
 
-  private SimpleWorkerContext context;
+  private IWorkerContext context;
 
-  public ConceptMapEngine(SimpleWorkerContext context) {
+  public ConceptMapEngine(IWorkerContext context) {
     this.context = context;
   }
 
   public Coding translate(Coding source, String url) throws FHIRException {
+    return translate(source, url, null);
+  }
+
+  /**
+   * @param dependsOn - values for the elements that targets depend on (property -> value), or null
+   */
+  public Coding translate(Coding source, String url, Map<String, String> dependsOn) throws FHIRException {
+    return translate(source, fetchMap(url), dependsOn, new HashSet<>());
+  }
+
+  /**
+   * translate a batch of codes with the same map, which is only looked up once
+   *
+   * @return the translations, in the same order as the sources (null where a code has no translation)
+   */
+  public List<Coding> translate(List<Coding> sources, String url) throws FHIRException {
+    ConceptMap cm = fetchMap(url);
+    List<Coding> res = new ArrayList<>(sources.size());
+    for (Coding source : sources) {
+      res.add(translate(source, cm, null, new HashSet<>()));
+    }
+    return res;
+  }
+
+  private ConceptMap fetchMap(String url) throws FHIRException {
     ConceptMap cm = context.fetchResource(ConceptMap.class, url);
     if (cm == null)
       throw new FHIRException("Unable to find ConceptMap '"+url+"'");
+    return cm;
+  }
+
+  private Coding translate(Coding source, ConceptMap cm, Map<String, String> dependsOn, Set<String> visited) throws FHIRException {
+    if (!visited.add(cm.getUrl()+"|"+cm.getVersion()))
+      throw new FHIRException("Unable to process translate "+source.getCode()+" because the unmapped maps in concept map "+cm.getUrl()+" are circular");
     if (source.hasSystem()) 
-      return translateBySystem(cm, source.getSystem(), source.getCode());
+      return translateBySystem(cm, source, dependsOn, visited);
     else
-      return translateByJustCode(cm, source.getCode());
+      return translateByJustCode(cm, source.getCode(), dependsOn);
   }
 
-  private Coding translateByJustCode(ConceptMap cm, String code) throws FHIRException {
-    SourceElementComponent ct = null;
-    ConceptMapGroupComponent cg = null;
-    for (ConceptMapGroupComponent g : cm.getGroup()) {
-      for (SourceElementComponent e : g.getElement()) {
-        if (code.equals(e.getCode())) {
-          if (e != null)
-            throw new FHIRException("Unable to process translate "+code+" because multiple candidate matches were found in concept map "+cm.getUrl());
-          ct = e;
-          cg = g;
-        }
+  private Coding translateByJustCode(ConceptMap cm, String code, Map<String, String> dependsOn) throws FHIRException {
+    List<SourceElementMatch> list = ConceptMapIndex.forConceptMap(cm).findByCode(code);
+    if (list.isEmpty())
+      return null;
+    if (list.size() > 1)
+      throw new FHIRException("Unable to process translate "+code+" because multiple candidate matches were found in concept map "+cm.getUrl());
+    return translateElement(cm, code, list, dependsOn);
+  }
+
+  private Coding translateBySystem(ConceptMap cm, Coding source, Map<String, String> dependsOn, Set<String> visited) throws FHIRException {
+    ConceptMapIndex index = ConceptMapIndex.forConceptMap(cm);
+    List<SourceElementMatch> list = index.findBySystem(source.getSystem(), source.getVersion(), source.getCode());
+    if (!list.isEmpty())
+      return translateElement(cm, source.getCode(), list, dependsOn);
+    for (ConceptMapGroupComponent g : index.getGroups(source.getSystem(), source.getVersion())) {
+      if (g.hasUnmapped() && g.getUnmapped().hasMode()) {
+        return translateUnmapped(cm, g, source, dependsOn, visited);
       }
     }
-    if (ct == null)
-      return null;
+    return null;
+  }
+
+  private Coding translateElement(ConceptMap cm, String code, List<SourceElementMatch> list, Map<String, String> dependsOn) throws FHIRException {
     TargetElementComponent tt = null;
-    for (TargetElementComponent t : ct.getTarget()) {
-      if (!t.hasDependsOn() && !t.hasProduct() && isOkRelationship(t.getRelationship())) {
-        if (tt != null)
-          throw new FHIRException("Unable to process translate "+code+" because multiple targets were found in concept map "+cm.getUrl());
-        tt = t;       
+    ConceptMapGroupComponent tg = null;
+    for (SourceElementMatch m : list) {
+      for (TargetElementComponent t : m.getElement().getTarget()) {
+        if (!t.hasProduct() && dependsOnMatches(t, dependsOn) && isOkRelationship(t.getRelationship())) {
+          if (tt != null)
+            throw new FHIRException("Unable to process translate "+code+" because multiple targets were found in concept map "+cm.getUrl());
+          tt = t;
+          tg = m.getGroup();
+        }
       }
     }
     if (tt == null)
       return null;
-    return new Coding().setSystem(cg.getTarget()).setVersion(cg.getTargetVersion()).setCode(tt.getCode()).setDisplay(tt.getDisplay());
+    return new Coding().setSystem(tg.getTarget()).setVersion(tg.getTargetVersion()).setCode(tt.getCode()).setDisplay(tt.getDisplay());
   }
 
-  private boolean isOkRelationship(ConceptMapRelationship relationship) {
-    return relationship != null && relationship != ConceptMapRelationship.NOTRELATEDTO;
+  private Coding translateUnmapped(ConceptMap cm, ConceptMapGroupComponent g, Coding source, Map<String, String> dependsOn, Set<String> visited) throws FHIRException {
+    ConceptMapGroupUnmappedMode mode = g.getUnmapped().getMode();
+    switch (mode) {
+    case PROVIDED:
+      return new Coding().setSystem(g.hasTarget() ? g.getTarget() : source.getSystem()).setVersion(g.getTargetVersion()).setCode(source.getCode()).setDisplay(source.getDisplay());
+    case FIXED:
+      return new Coding().setSystem(g.getTarget()).setVersion(g.getTargetVersion()).setCode(g.getUnmapped().getCode()).setDisplay(g.getUnmapped().getDisplay());
+    case OTHERMAP:
+      ConceptMap other = context.fetchResource(ConceptMap.class, g.getUnmapped().getUrl());
+      if (other == null)
+        throw new FHIRException("Unable to find ConceptMap '"+g.getUnmapped().getUrl()+"' (for unmapped codes in "+cm.getUrl()+")");
+      return translate(source, other, dependsOn, visited);
+    default:
+      return null;
+    }
+  }
+
+  private boolean dependsOnMatches(TargetElementComponent t, Map<String, String> dependsOn) {
+    for (OtherElementComponent d : t.getDependsOn()) {
+      if (dependsOn == null || !d.hasValue() || !d.getValue().equals(dependsOn.get(d.getProperty())))
+        return false;
+    }
+    return true;
   }
 
-  private Coding translateBySystem(ConceptMap cm, String system, String code) {
-    throw new Error("Not done yet");
+  private boolean isOkRelationship(ConceptMapRelationship relationship) {
+    return relationship != null && relationship != ConceptMapRelationship.NOTRELATEDTO;
   }
 
-}
\ No newline at end of file
+}
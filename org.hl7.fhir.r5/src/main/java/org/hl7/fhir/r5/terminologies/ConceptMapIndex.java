@@ -0,0 +1,138 @@
+package org.hl7.fhir.r5.terminologies;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hl7.fhir.r5.model.ConceptMap;
+import org.hl7.fhir.r5.model.ConceptMap.ConceptMapGroupComponent;
+import org.hl7.fhir.r5.model.ConceptMap.SourceElementComponent;
+
+/**
+ * The source elements of a concept map, indexed by code, and by source system and code, so that
+ * translating a code is a hash lookup rather than a scan of all the groups and elements.
+ *
+ * The lookups return the matching elements in the order they appear in the map. The index is built
+ * once per concept map (see forConceptMap), and kept with it, so there is one index for each url and
+ * version in the worker context. The worker context drops the index when the concept map is replaced
+ * or dropped; anything else that changes a concept map after it has been indexed must call clear().
+ *
+ */
+public class ConceptMapIndex {
+
+  private static final String USER_DATA_NAME = "cm.index";
+
+  public static class SourceElementMatch {
+    private ConceptMapGroupComponent group;
+    private SourceElementComponent element;
+
+    public SourceElementMatch(ConceptMapGroupComponent group, SourceElementComponent element) {
+      super();
+      this.group = group;
+      this.element = element;
+    }
+
+    public ConceptMapGroupComponent getGroup() {
+      return group;
+    }
+
+    public SourceElementComponent getElement() {
+      return element;
+    }
+  }
+
+  private List<ConceptMapGroupComponent> groups;
+  private Map<String, List<SourceElementMatch>> byCode = new HashMap<>();
+  private Map<String, Map<String, List<SourceElementMatch>>> bySystem = new HashMap<>();
+
+  /**
+   * @return the index for the concept map, which is built the first time it is asked for
+   */
+  public static ConceptMapIndex forConceptMap(ConceptMap cm) {
+    synchronized (cm) {
+      ConceptMapIndex index = (ConceptMapIndex) cm.getUserData(USER_DATA_NAME);
+      if (index == null) {
+        index = new ConceptMapIndex(cm);
+        cm.setUserData(USER_DATA_NAME, index);
+      }
+      return index;
+    }
+  }
+
+  /**
+   * drop the index for the concept map, if there is one, so that it is built again next time it is asked for
+   */
+  public static void clear(ConceptMap cm) {
+    synchronized (cm) {
+      cm.clearUserData(USER_DATA_NAME);
+    }
+  }
+
+  public ConceptMapIndex(ConceptMap cm) {
+    super();
+    groups = cm.getGroup();
+    for (ConceptMapGroupComponent g : cm.getGroup()) {
+      Map<String, List<SourceElementMatch>> codes = g.hasSource() ? bySystem.computeIfAbsent(g.getSource(), s -> new HashMap<>()) : null;
+      for (SourceElementComponent e : g.getElement()) {
+        if (e.hasCode()) {
+          SourceElementMatch m = new SourceElementMatch(g, e);
+          byCode.computeIfAbsent(e.getCode(), s -> new ArrayList<>(1)).add(m);
+          if (codes != null) {
+            codes.computeIfAbsent(e.getCode(), s -> new ArrayList<>(1)).add(m);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the elements with this code, whatever the source system of their group
+   */
+  public List<SourceElementMatch> findByCode(String code) {
+    List<SourceElementMatch> list = code == null ? null : byCode.get(code);
+    return list == null ? Collections.<SourceElementMatch>emptyList() : Collections.unmodifiableList(list);
+  }
+
+  /**
+   * @param version - the version of the source system, or null. If there is a version, groups for other versions of the system are ignored
+   * @return the elements with this code in groups with this source system
+   */
+  public List<SourceElementMatch> findBySystem(String system, String version, String code) {
+    Map<String, List<SourceElementMatch>> codes = system == null ? null : bySystem.get(system);
+    List<SourceElementMatch> list = codes == null || code == null ? null : codes.get(code);
+    if (list == null) {
+      return Collections.emptyList();
+    }
+    if (version == null) {
+      return Collections.unmodifiableList(list);
+    }
+    List<SourceElementMatch> res = new ArrayList<>(list.size());
+    for (SourceElementMatch m : list) {
+      if (versionMatches(m.group, version)) {
+        res.add(m);
+      }
+    }
+    return res;
+  }
+
+  /**
+   * @return the groups with this source system (and version, if there is one)
+   */
+  public List<ConceptMapGroupComponent> getGroups(String system, String version) {
+    List<ConceptMapGroupComponent> res = new ArrayList<>();
+    if (system != null && bySystem.containsKey(system)) {
+      for (ConceptMapGroupComponent g : groups) {
+        if (system.equals(g.getSource()) && (version == null || versionMatches(g, version))) {
+          res.add(g);
+        }
+      }
+    }
+    return res;
+  }
+
+  private boolean versionMatches(ConceptMapGroupComponent g, String version) {
+    return !g.hasSourceVersion() || version.equals(g.getSourceVersion());
+  }
+}
@@ -204,49 +204,25 @@ public class ValueSetCheckerSimple implements ValueSetChecker {
   private ValidationResult findCodeInExpansion(Coding code) {
     if (valueset==null || !valueset.hasExpansion())
       return null;
-    return findCodeInExpansion(code, valueset.getExpansion().getContains());
-  }
-
-  private ValidationResult findCodeInExpansion(Coding code, List<ValueSetExpansionContainsComponent> contains) {
-    for (ValueSetExpansionContainsComponent containsComponent: contains) {
-      if (containsComponent.getSystem().equals(code.getSystem()) && containsComponent.getCode().equals(code.getCode())) {
-        ConceptDefinitionComponent ccd = new ConceptDefinitionComponent();
-        ccd.setCode(containsComponent.getCode());
-        ccd.setDisplay(containsComponent.getDisplay());
-        ValidationResult res = new ValidationResult(ccd);
-        return res;
-      }
-      if (containsComponent.hasContains()) {
-        ValidationResult res = findCodeInExpansion(code, containsComponent.getContains());
-        if (res != null) {
-          return res;
-        }
-      }
+    ValueSetExpansionContainsComponent containsComponent = ValueSetExpansionIndex.forExpansion(valueset.getExpansion()).find(code.getSystem(), code.getCode());
+    if (containsComponent == null) {
+      return null;
     }
-    return null;
+    ConceptDefinitionComponent ccd = new ConceptDefinitionComponent();
+    ccd.setCode(containsComponent.getCode());
+    ccd.setDisplay(containsComponent.getDisplay());
+    return new ValidationResult(ccd);
   }
 
   private boolean checkExpansion(Coding code) {
     if (valueset==null || !valueset.hasExpansion()) {
       return false;
     }
-    return checkExpansion(code, valueset.getExpansion().getContains());
-  }
-
-  private boolean checkExpansion(Coding code, List<ValueSetExpansionContainsComponent> contains) {
-    for (ValueSetExpansionContainsComponent containsComponent: contains) {
-      if (containsComponent.getSystem().equals(code.getSystem()) && containsComponent.getCode().equals(code.getCode())) {
-        return true;
-      }
-      if (containsComponent.hasContains() && checkExpansion(code, containsComponent.getContains())) {
-        return true;
-      }
-    }
-    return false;
+    return ValueSetExpansionIndex.forExpansion(valueset.getExpansion()).contains(code.getSystem(), code.getCode());
   }
 
   private ValidationResult validateCode(Coding code, CodeSystem cs) {
-    ConceptDefinitionComponent cc = cs.hasUserData("tx.cs.special") ? ((SpecialCodeSystem) cs.getUserData("tx.cs.special")).findConcept(code) : findCodeInConcept(cs.getConcept(), code.getCode());
+    ConceptDefinitionComponent cc = cs.hasUserData("tx.cs.special") ? ((SpecialCodeSystem) cs.getUserData("tx.cs.special")).findConcept(code) : CodeSystemIndex.forCodeSystem(cs).findCode(code.getCode());
     if (cc == null) {
       if (cs.getContent() == CodeSystemContentMode.FRAGMENT) {
         return new ValidationResult(IssueSeverity.WARNING, context.formatMessage(I18nConstants.UNKNOWN_CODE__IN_FRAGMENT, gen(code), cs.getUrl()));        
@@ -370,39 +346,6 @@ public class ValueSetCheckerSimple implements ValueSetChecker {
     return true;
   }
 
-  private ConceptDefinitionComponent findCodeInConcept(ConceptDefinitionComponent concept, String code) {
-    if (code.equals(concept.getCode())) {
-      return concept;
-    }
-    ConceptDefinitionComponent cc = findCodeInConcept(concept.getConcept(), code);
-    if (cc != null) {
-      return cc;
-    }
-    if (concept.hasUserData(CodeSystemUtilities.USER_DATA_CROSS_LINK)) {
-      List<ConceptDefinitionComponent> children = (List<ConceptDefinitionComponent>) concept.getUserData(CodeSystemUtilities.USER_DATA_CROSS_LINK);
-      for (ConceptDefinitionComponent c : children) {
-        cc = findCodeInConcept(c, code);
-        if (cc != null) {
-          return cc;
-        }
-      }
-    }
-    return null;
-  }
-  
-  private ConceptDefinitionComponent findCodeInConcept(List<ConceptDefinitionComponent> concept, String code) {
-    for (ConceptDefinitionComponent cc : concept) {
-      if (code.equals(cc.getCode())) {
-        return cc;
-      }
-      ConceptDefinitionComponent c = findCodeInConcept(cc, code);
-      if (c != null) {
-        return c;
-      }
-    }
-    return null;
-  }
-
 
   private String systemForCodeInValueSet(String code) {
     String sys = null;
@@ -436,7 +379,7 @@ public class ValueSetCheckerSimple implements ValueSetChecker {
             }
           }
         } else {
-          ConceptDefinitionComponent cc = findCodeInConcept(cs.getConcept(), code);
+          ConceptDefinitionComponent cc = CodeSystemIndex.forCodeSystem(cs).findCode(code);
           if (cc != null) {
             if (sys == null) {
               sys = vsi.getSystem();
@@ -526,8 +469,7 @@ public class ValueSetCheckerSimple implements ValueSetChecker {
         }
       }
 
-      List<ConceptDefinitionComponent> list = cs.getConcept();
-      boolean ok = validateCodeInConceptList(code, cs, list);
+      boolean ok = CodeSystemIndex.forCodeSystem(cs).hasCode(code, cs.getCaseSensitive());
       if (ok && vsi.hasConcept()) {
         for (ConceptReferenceComponent cc : vsi.getConcept()) {
           if (cc.getCode().equals(code)) { 
@@ -564,15 +506,18 @@ public class ValueSetCheckerSimple implements ValueSetChecker {
     if (code.equals(f.getProperty())) {
       return true;
     }
-    ConceptDefinitionComponent cc = findCodeInConcept(cs.getConcept(), f.getValue());
+    CodeSystemIndex index = CodeSystemIndex.forCodeSystem(cs);
+    ConceptDefinitionComponent cc = index.findCode(f.getValue());
     if (cc == null) {
       return false;
     }
-    cc = findCodeInConcept(cc, code);
-    return cc != null;
+    return index.isSelfOrDescendant(cc, code);
   }
 
   public boolean validateCodeInConceptList(String code, CodeSystem def, List<ConceptDefinitionComponent> list) {
+    if (list == def.getConcept()) {
+      return CodeSystemIndex.forCodeSystem(def).hasCode(code, def.getCaseSensitive());
+    }
     if (def.getCaseSensitive()) {
       for (ConceptDefinitionComponent cc : list) {
         if (cc.getCode().equals(code)) { 
@@ -242,21 +242,11 @@ public class ValueSetExpanderSimple implements ValueSetExpander {
 
   private boolean filterContainsCode(List<ValueSet> filters, String system, String code) {
     for (ValueSet vse : filters)
-      if (expansionContainsCode(vse.getExpansion().getContains(), system, code))
+      if (ValueSetExpansionIndex.forExpansion(vse.getExpansion()).contains(system, code))
         return true;
     return false;
   }
 
-  private boolean expansionContainsCode(List<ValueSetExpansionContainsComponent> contains, String system, String code) {
-    for (ValueSetExpansionContainsComponent cc : contains) {
-      if (system.equals(cc.getSystem()) && code.equals(cc.getCode()))
-        return true;
-      if (expansionContainsCode(cc.getContains(), system, code))
-        return true;
-    }
-    return false;
-  }
-
   private ConceptDefinitionDesignationComponent getMatchingLang(List<ConceptDefinitionDesignationComponent> list, String lang) {
     for (ConceptDefinitionDesignationComponent t : list)
       if (t.getLanguage().equals(lang))
@@ -619,7 +609,7 @@ public class ValueSetExpanderSimple implements ValueSetExpander {
       canBeHeirarchy = false;
       for (ConceptReferenceComponent c : inc.getConcept()) {
         c.checkNoModifiers("Code in Code System", "expanding");
-        ConceptDefinitionComponent def = CodeSystemUtilities.findCode(cs.getConcept(), c.getCode());
+        ConceptDefinitionComponent def = CodeSystemUtilities.findCode(cs, c.getCode());
         Boolean inactive = false; // default is true if we're a fragment and  
         if (def == null) {
           if (cs.getContent() == CodeSystemContentMode.FRAGMENT) {
@@ -0,0 +1,66 @@
+package org.hl7.fhir.r5.terminologies;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hl7.fhir.r5.model.ValueSet.ValueSetExpansionComponent;
+import org.hl7.fhir.r5.model.ValueSet.ValueSetExpansionContainsComponent;
+
+/**
+ * The entries of a value set expansion (at any level of the hierarchy), indexed by system and code,
+ * so that checking whether a code is in an expansion is a hash lookup rather than a walk of the expansion.
+ *
+ * The codes are indexed by system first, so a lookup doesn't have to build a system|code key. The lookups
+ * return the first matching entry in hierarchy order, as a walk would. The index is built once per
+ * expansion (see forExpansion), and is not updated if the expansion is changed afterwards.
+ *
+ */
+public class ValueSetExpansionIndex {
+
+  private static final String USER_DATA_NAME = "vs.expansion.index";
+
+  private Map<String, Map<String, ValueSetExpansionContainsComponent>> codes = new HashMap<>();
+
+  /**
+   * @return the index for the expansion, which is built the first time it is asked for
+   */
+  public static ValueSetExpansionIndex forExpansion(ValueSetExpansionComponent expansion) {
+    synchronized (expansion) {
+      ValueSetExpansionIndex index = (ValueSetExpansionIndex) expansion.getUserData(USER_DATA_NAME);
+      if (index == null) {
+        index = new ValueSetExpansionIndex(expansion.getContains());
+        expansion.setUserData(USER_DATA_NAME, index);
+      }
+      return index;
+    }
+  }
+
+  public ValueSetExpansionIndex(List<ValueSetExpansionContainsComponent> contains) {
+    super();
+    index(contains);
+  }
+
+  private void index(List<ValueSetExpansionContainsComponent> contains) {
+    for (ValueSetExpansionContainsComponent cc : contains) {
+      if (cc.hasSystem() && cc.hasCode()) {
+        codes.computeIfAbsent(cc.getSystem(), s -> new HashMap<>()).putIfAbsent(cc.getCode(), cc);
+      }
+      if (cc.hasContains()) {
+        index(cc.getContains());
+      }
+    }
+  }
+
+  /**
+   * @return the first entry in the expansion with this system and code, or null
+   */
+  public ValueSetExpansionContainsComponent find(String system, String code) {
+    Map<String, ValueSetExpansionContainsComponent> map = system == null ? null : codes.get(system);
+    return map == null || code == null ? null : map.get(code);
+  }
+
+  public boolean contains(String system, String code) {
+    return find(system, code) != null;
+  }
+}
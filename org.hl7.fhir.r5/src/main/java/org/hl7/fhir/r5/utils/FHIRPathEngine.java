@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.rmi.server.LoaderHandler;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
 import java.util.EnumSet;
@@ -41,6 +42,7 @@ import org.hl7.fhir.r5.model.ExpressionNode.Operation;
 import org.hl7.fhir.r5.model.ExpressionNode.SourceLocation;
 import org.hl7.fhir.r5.model.Property.PropertyMatcher;
 import org.hl7.fhir.r5.model.IntegerType;
+import org.hl7.fhir.r5.model.PrimitiveType;
 import org.hl7.fhir.r5.model.Property;
 import org.hl7.fhir.r5.model.Quantity;
 import org.hl7.fhir.r5.model.Resource;
@@ -111,6 +113,7 @@ public class FHIRPathEngine {
 
     private static final long serialVersionUID = -8933773658248269439L;
     private String value;
+    private Base dateValue; // @ constants don't depend on the context, so they are only processed once
 
     public FHIRConstant(String value) {
       this.value = value;
@@ -211,6 +214,7 @@ public class FHIRPathEngine {
   private ValidationOptions terminologyServiceOptions = new ValidationOptions();
   private ProfileUtilities profileUtilities;
   private String location; // for error messages
+  private FHIRPathExpressionCache expressionCache = new FHIRPathExpressionCache();
 
   // if the fhir path expressions are allowed to use constants beyond those defined in the specification
   // the application can implement them by providing a constant resolver 
@@ -393,6 +397,21 @@ public class FHIRPathEngine {
   }
 
 
+  public FHIRPathExpressionCache getExpressionCache() {
+    return expressionCache;
+  }
+
+
+  /**
+   * Engines can share a single cache of parsed expressions, as long as they have equivalent host services
+   * 
+   * @param expressionCache
+   */
+  public void setExpressionCache(FHIRPathExpressionCache expressionCache) {
+    this.expressionCache = expressionCache;
+  }
+
+
   // --- public API -------------------------------------------------------
   /**
    * Parse a path for later use using execute
@@ -419,6 +438,78 @@ public class FHIRPathEngine {
     return result;    
   }
 
+  /**
+   * Parse a path, or find it in the expression cache if it has already been parsed. 
+   * 
+   * The node that is returned is shared, so it must not be modified (e.g. by check())
+   * 
+   * @param path
+   * @return
+   * @throws FHIRLexerException
+   */
+  public ExpressionNode parseCached(String path) throws FHIRLexerException {
+    ExpressionNode result = expressionCache.get(path);
+    if (result == null) {
+      result = parse(path);
+      expressionCache.put(path, result);
+    }
+    return result;
+  }
+
+  /**
+   * Compile a path for repeated evaluation. The parsed form is shared through the expression cache
+   * 
+   * @param path
+   * @return
+   * @throws FHIRLexerException
+   */
+  public CompiledExpression compile(String path) throws FHIRLexerException {
+    return new CompiledExpression(path, parseCached(path));
+  }
+
+  /**
+   * A parsed FHIRPath expression, bound to this engine, that can be evaluated many times
+   */
+  public class CompiledExpression {
+    private String expression;
+    private ExpressionNode node;
+
+    private CompiledExpression(String expression, ExpressionNode node) {
+      super();
+      this.expression = expression;
+      this.node = node;
+    }
+
+    public String getExpression() {
+      return expression;
+    }
+
+    public ExpressionNode getNode() {
+      return node;
+    }
+
+    public List<Base> evaluate(Base base) throws FHIRException {
+      return FHIRPathEngine.this.evaluate(base, node);
+    }
+
+    public List<Base> evaluate(Object appContext, Base focusResource, Base rootResource, Base base) throws FHIRException {
+      return FHIRPathEngine.this.evaluate(appContext, focusResource, rootResource, base, node);
+    }
+
+    public boolean evaluateToBoolean(Object appInfo, Base focusResource, Base rootResource, Base base) throws FHIRException {
+      return FHIRPathEngine.this.evaluateToBoolean(appInfo, focusResource, rootResource, base, node);
+    }
+
+    public String evaluateToString(Object appInfo, Base focusResource, Base rootResource, Base base) throws FHIRException {
+      return FHIRPathEngine.this.evaluateToString(appInfo, focusResource, rootResource, base, node);
+    }
+
+    @Override
+    public String toString() {
+      return expression;
+    }
+  }
+
   public static class ExpressionNodeWithOffset {
     private int offset;
     private ExpressionNode node;
@@ -565,10 +656,13 @@ public class FHIRPathEngine {
       return left.equalsUsingFhirPathRules(right) == Boolean.TRUE ? 0 : 1;
     }
 
+    // copy before changing the timezone - the values may be constants in a shared expression, or part of the resource
     if (left.getPrecision().ordinal() > TemporalPrecisionEnum.DAY.ordinal()) {
+      left = left.copy();
       left.setTimeZoneZulu(true);
     }
     if (right.getPrecision().ordinal() > TemporalPrecisionEnum.DAY.ordinal()) {
+      right = right.copy();
       right.setTimeZoneZulu(true);
     }
     return BaseDateTimeType.compareTimes(left, right, null);
@@ -638,7 +732,7 @@ public class FHIRPathEngine {
    * @
    */
 	public List<Base> evaluate(Base base, String path) throws FHIRException {
-    ExpressionNode exp = parse(path);
+    ExpressionNode exp = parseCached(path);
     List<Base> list = new ArrayList<Base>();
     if (base != null) {
       list.add(base);
@@ -693,7 +787,7 @@ public class FHIRPathEngine {
    * @
    */
 	public List<Base> evaluate(Object appContext, Resource focusResource, Resource rootResource, Base base, String path) throws FHIRException {
-    ExpressionNode exp = parse(path);
+    ExpressionNode exp = parseCached(path);
     List<Base> list = new ArrayList<Base>();
     if (base != null) {
       list.add(base);
@@ -1312,17 +1406,25 @@ public class FHIRPathEngine {
 
 	private List<Base> execute(ExecutionContext context, List<Base> focus, ExpressionNode exp, boolean atEntry) throws FHIRException {
 //    System.out.println("Evaluate {'"+exp.toString()+"'} on "+focus.toString());
-    List<Base> work = new ArrayList<Base>();
+    // note: execute always returns a list that the caller owns, so the lists from execute can be used directly, but function results must be copied 
+    List<Base> work;
     switch (exp.getKind()) {
     case Unary:
+      work = new ArrayList<Base>(1);
       work.add(new IntegerType(0));
       break;
     case Name:
       if (atEntry && exp.getName().equals("$this")) {
+        work = new ArrayList<Base>(1);
         work.add(context.getThisItem());
       } else if (atEntry && exp.getName().equals("$total")) {
-        work.addAll(context.getTotal());
+        work = new ArrayList<Base>(context.getTotal());
+      } else if (focus.size() == 1) {
+        // the common case: navigating from a single item, so there's no need to merge the outcomes
+        work = execute(context, focus.get(0), exp, atEntry);
+        work.removeIf(item -> item == null);
       } else {
+        work = new ArrayList<Base>();
         for (Base item : focus) {
           List<Base> outcome = execute(context, item, exp, atEntry);
           for (Base base : outcome) {
@@ -1334,18 +1436,21 @@ public class FHIRPathEngine {
       }
       break;
     case Function:
-      List<Base> work2 = evaluateFunction(context, focus, exp);
-      work.addAll(work2);
+      // functions may return their focus, so the result must be copied 
+      work = new ArrayList<Base>(evaluateFunction(context, focus, exp));
       break;
     case Constant:
       Base b = resolveConstant(context, exp.getConstant(), false);
+      work = new ArrayList<Base>(1);
       if (b != null) {
         work.add(b);
       }
       break;
     case Group:
-      work2 = execute(context, focus, exp.getGroup(), atEntry);
-      work.addAll(work2);
+      work = execute(context, focus, exp.getGroup(), atEntry);
+      break;
+    default:
+      work = new ArrayList<Base>();
     }
 
     if (exp.getInner() != null) {
@@ -1485,7 +1590,10 @@ public class FHIRPathEngine {
     if (c.getValue().startsWith("%")) {
       return resolveConstant(context, c.getValue(), beforeContext);
     } else if (c.getValue().startsWith("@")) {
-      return processDateConstant(context.appInfo, c.getValue().substring(1));
+      if (c.dateValue == null) {
+        c.dateValue = processDateConstant(context.appInfo, c.getValue().substring(1));
+      }
+      return c.dateValue;
     } else {
       throw makeException(I18nConstants.FHIRPATH_UNKNOWN_CONSTANT, c.getValue());
     }
@@ -2453,14 +2561,17 @@ public class FHIRPathEngine {
 
   private List<Base> opUnion(List<Base> left, List<Base> right) {
     List<Base> result = new ArrayList<Base>();
+    EqualityIndex index = new EqualityIndex(result);
     for (Base item : left) {
-      if (!doContains(result, item)) {
+      if (!index.contains(item)) {
         result.add(item);
+        index.add(item);
       }
     }
     for (Base item : right) {
-      if (!doContains(result, item)) {
+      if (!index.contains(item)) {
         result.add(item);
+        index.add(item);
       }
     }
     return result;
@@ -2476,6 +2587,289 @@ public class FHIRPathEngine {
     return false;
   }
 
+  /**
+   * A collection, indexed so that the items that might be equal to a value (see doEquals) can be found 
+   * without comparing the value with every item. 
+   * 
+   * doEquals isn't a hash friendly equality: decimals are compared with anything after removing trailing zeros, 
+   * dates and quantities can be incomparable, and element model elements are equal if the candidate's content 
+   * is contained in the value. So the index only narrows down the candidates - they still have to be compared 
+   * using doEquals - but it never leaves out an item for which doEquals could return true (or null, when 
+   * incomparable items are asked for):
+   * 
+   *  - primitives are indexed by their value, and by their value without trailing zeros for comparison with decimals
+   *  - dates are also compared with all other dates (they may be equal with a different timezone, or incomparable) 
+   *  - model class values are indexed by their content, the same way that equalsDeep compares it 
+   *  - quantities are indexed by their value, and by their canonical form, and are incomparable with quantities 
+   *    that have a different code or unit, unless both have a canonical form
+   *  - element model elements are indexed by one of their primitive descendants (path and value), which must also 
+   *    be found in any value they are equal to. The descendant that has the fewest items so far is used, so that 
+   *    items that share a system or a use don't all end up together
+   *  - element model elements are compared with model class values without using the index
+   */
+  private class EqualityIndex {
+    private List<Base> items = new ArrayList<>();
+    private Map<String, List<Integer>> byValue = new HashMap<>(); // primitives other than decimals
+    private Map<String, List<Integer>> byDecimalValue = new HashMap<>(); // everything, by value without trailing zeros
+    private Map<String, List<Integer>> decimals = new HashMap<>(); // decimals, by value without trailing zeros
+    private List<Integer> dates = new ArrayList<>();
+    private Map<String, List<Integer>> byContent = new HashMap<>(); // model class values other than quantities
+    private Map<String, List<Integer>> quantityValues = new HashMap<>(); // quantities, by value without trailing zeros
+    private Map<String, List<Integer>> quantityCanonicals = new HashMap<>(); // quantities, by canonical form
+    private Map<String, List<Integer>> quantityUnits = new HashMap<>(); // quantities with a value, by unit (see unitKey)
+    private List<Integer> quantitiesWithoutValue = new ArrayList<>();
+    private List<Integer> models = new ArrayList<>(); // all the model class values (including quantities)
+    private Map<String, List<Integer>> byLeaf = new HashMap<>(); // element model elements, by a primitive descendant
+    private List<Integer> elements = new ArrayList<>(); // all the element model elements
+    private List<Integer> others = new ArrayList<>(); // element model elements without any primitive descendants
+
+    public EqualityIndex(List<Base> list) {
+      for (Base item : list) {
+        add(item);
+      }
+    }
+
+    public void add(Base item) {
+      int i = items.size();
+      items.add(item);
+      index(byDecimalValue, removeTrailingZeros(item.primitiveValue()), i);
+      if (item instanceof org.hl7.fhir.r5.elementmodel.Element && !item.isPrimitive()) {
+        elements.add(i);
+        String leaf = null;
+        for (String s : leaves(item, "", new ArrayList<>())) {
+          if (leaf == null || size(byLeaf, s) <= size(byLeaf, leaf)) {
+            leaf = s;
+          }
+        }
+        if (leaf == null) {
+          others.add(i);
+        } else {
+          index(byLeaf, leaf, i);
+        }
+      } else if (item instanceof Quantity) {
+        models.add(i);
+        Quantity q = (Quantity) item;
+        if (!q.hasValue()) {
+          quantitiesWithoutValue.add(i);
+        } else {
+          index(quantityValues, quantityValue(q), i);
+          String canonical = canonicalKey(q);
+          if (canonical != null) {
+            index(quantityCanonicals, canonical, i);
+          }
+          index(quantityUnits, unitKey(q, canonical != null), i);
+        }
+      } else if (!item.isPrimitive()) {
+        models.add(i);
+        index(byContent, contentKey(item), i);
+      } else if (item instanceof DecimalType) {
+        index(decimals, removeTrailingZeros(item.primitiveValue()), i);
+      } else {
+        index(byValue, item.primitiveValue(), i);
+        if (item.isDateTime()) {
+          dates.add(i);
+        }
+      }
+    }
+
+    /**
+     * @return true if doEquals(item, value) is true for any item
+     */
+    public boolean contains(Base value) {
+      for (List<Integer> list : candidates(value, false)) {
+        for (int i : list) {
+          Boolean eq = doEquals(items.get(i), value);
+          if (eq != null && eq == true) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * @return the position of the first item after 'after' for which doEquals(item, value) is true or null, or -1 if there isn't one
+     */
+    public int next(Base value, int after) {
+      int res = -1;
+      for (List<Integer> list : candidates(value, true)) {
+        for (int i : list) {
+          if (res != -1 && i >= res) {
+            break; // the lists are in order
+          }
+          if (i > after) {
+            Boolean eq = doEquals(items.get(i), value);
+            if (eq == null || eq == true) {
+              res = i;
+            }
+          }
+        }
+      }
+      return res;
+    }
+
+    /**
+     * @return lists of the positions of the items for which doEquals(item, value) might be true (or null, if incomparable). 
+     * Each list is in order, but an item may be in more than one list
+     */
+    private List<List<Integer>> candidates(Base value, boolean incomparable) {
+      List<List<Integer>> res = new ArrayList<>();
+      if (value instanceof org.hl7.fhir.r5.elementmodel.Element && !value.isPrimitive()) {
+        res.add(others);
+        for (String leaf : leaves(value, "", new ArrayList<>())) {
+          add(res, byLeaf, leaf);
+        }
+        res.add(models);
+        add(res, decimals, removeTrailingZeros(value.primitiveValue()));
+      } else if (value instanceof Quantity) {
+        Quantity q = (Quantity) value;
+        if (!q.hasValue()) {
+          res.add(quantitiesWithoutValue);
+          if (incomparable) {
+            res.addAll(quantityUnits.values());
+          }
+        } else {
+          add(res, quantityValues, quantityValue(q));
+          String canonical = canonicalKey(q);
+          if (canonical != null) {
+            add(res, quantityCanonicals, canonical);
+          }
+          if (incomparable) {
+            res.add(quantitiesWithoutValue);
+            String unit = unitKey(q, canonical != null);
+            for (String s : quantityUnits.keySet()) {
+              if (unitsIncomparable(s, unit)) {
+                res.add(quantityUnits.get(s));
+              }
+            }
+          }
+        }
+        res.add(elements);
+        add(res, decimals, removeTrailingZeros(value.primitiveValue()));
+      } else if (!value.isPrimitive()) {
+        add(res, byContent, contentKey(value));
+        res.add(elements);
+        add(res, decimals, removeTrailingZeros(value.primitiveValue()));
+      } else if (value instanceof DecimalType) {
+        add(res, byDecimalValue, removeTrailingZeros(value.primitiveValue()));
+      } else {
+        add(res, byValue, value.primitiveValue());
+        add(res, decimals, removeTrailingZeros(value.primitiveValue()));
+        if (value.isDateTime()) {
+          res.add(dates);
+        }
+      }
+      return res;
+    }
+
+    private void index(Map<String, List<Integer>> map, String key, int i) {
+      List<Integer> list = map.get(key);
+      if (list == null) {
+        list = new ArrayList<>(1);
+        map.put(key, list);
+      }
+      list.add(i);
+    }
+
+    private void add(List<List<Integer>> res, Map<String, List<Integer>> map, String key) {
+      List<Integer> list = map.get(key);
+      if (list != null) {
+        res.add(list);
+      }
+    }
+
+    private int size(Map<String, List<Integer>> map, String key) {
+      List<Integer> list = map.get(key);
+      return list == null ? 0 : list.size();
+    }
+
+    /**
+     * qtyEqual compares the values as decimals unless both quantities have a canonical form
+     */
+    private String quantityValue(Quantity q) {
+      return removeTrailingZeros(new DecimalType(q.getValue()).primitiveValue());
+    }
+
+    private String canonicalKey(Quantity q) {
+      if (worker.getUcumService() == null) {
+        return null;
+      }
+      Pair p = qtyToCanonicalPair(q);
+      return p == null ? null : p.getCode()+"|"+removeTrailingZeros(new DecimalType(p.getValue().asDecimal()).primitiveValue());
+    }
+
+    private String unitKey(Quantity q, boolean canonical) {
+      return (canonical ? "1" : "0")+(q.hasCode() ? "c"+q.getCode() : q.hasUnit() ? "u"+q.getUnit() : "-");
+    }
+
+    /**
+     * @return true if qtyEqual(item, value) is null for quantities with values and these unit keys (see qtyEqual)
+     */
+    private boolean unitsIncomparable(String item, String value) {
+      if (item.charAt(0) == '1' && value.charAt(0) == '1') {
+        return false;
+      }
+      item = item.substring(1);
+      value = value.substring(1);
+      if (item.startsWith("c") || value.startsWith("c")) {
+        return !item.equals(value);
+      } else if (item.startsWith("u") && value.equals("-")) {
+        return false;
+      } else {
+        return !(item.startsWith("u") && item.equals(value));
+      }
+    }
+
+    /**
+     * @return a key that is the same for any two model class values that equalsDeep finds equal: empty values 
+     * are left out, as compareDeep allows, and primitives are keyed by their (typed) value
+     */
+    private String contentKey(Base item) {
+      StringBuilder b = new StringBuilder();
+      contentKey(item, b);
+      return b.toString();
+    }
+
+    private void contentKey(Base item, StringBuilder b) {
+      if (item == null || item.isEmpty()) {
+        b.append("-");
+        return;
+      }
+      if (item instanceof PrimitiveType) {
+        Object v = ((PrimitiveType<?>) item).getValue();
+        b.append("=").append(v instanceof byte[] ? Arrays.toString((byte[]) v) : String.valueOf(v));
+      }
+      b.append("(");
+      for (Property p : item.children()) {
+        List<Base> values = p.getValues();
+        if (!values.isEmpty() && !(values.size() == 1 && (values.get(0) == null || values.get(0).isEmpty()))) {
+          b.append(p.getName()).append("[");
+          for (Base v : values) {
+            contentKey(v, b);
+            b.append(",");
+          }
+          b.append("]");
+        }
+      }
+      b.append(")");
+    }
+
+    private List<String> leaves(Base item, String path, List<String> res) {
+      for (Property p : item.children()) {
+        for (Base v : p.getValues()) {
+          if (v.isPrimitive()) {
+            if (v.primitiveValue() != null) {
+              res.add(path+"."+p.getName()+"="+v.primitiveValue());
+            }
+          } else {
+            leaves(v, path+"."+p.getName(), res);
+          }
+        }
+      }
+      return res;
+    }
+  }
+
 
   private List<Base> opAnd(List<Base> left, List<Base> right) throws PathEngineException {
     Equality l = asBool(left);
@@ -4091,18 +4485,7 @@ public class FHIRPathEngine {
 
 
   private List<Base> funcUnion(ExecutionContext context, List<Base> focus, ExpressionNode exp) throws FHIRException {
-    List<Base> result = new ArrayList<Base>();
-    for (Base item : focus) {
-      if (!doContains(result, item)) {
-        result.add(item);
-      }
-    }
-    for (Base item : execute(context, focus, exp.getParameters().get(0), true)) {
-      if (!doContains(result, item)) {
-        result.add(item);
-      }
-    }
-    return result;
+    return opUnion(focus, execute(context, focus, exp.getParameters().get(0), true));
   }
 
   private List<Base> funcCombine(ExecutionContext context, List<Base> focus, ExpressionNode exp) throws FHIRException {
@@ -4119,10 +4502,13 @@ public class FHIRPathEngine {
   private List<Base> funcIntersect(ExecutionContext context, List<Base> focus, ExpressionNode exp) throws FHIRException {
     List<Base> result = new ArrayList<Base>();
     List<Base> other = execute(context, focus, exp.getParameters().get(0), true);
+    EqualityIndex resultIndex = new EqualityIndex(result);
+    EqualityIndex otherIndex = new EqualityIndex(other);
     
     for (Base item : focus) {
-      if (!doContains(result, item) && doContains(other, item)) {
+      if (!resultIndex.contains(item) && otherIndex.contains(item)) {
         result.add(item);
+        resultIndex.add(item);
       }
     }
     return result;    
@@ -4131,9 +4517,10 @@ public class FHIRPathEngine {
   private List<Base> funcExclude(ExecutionContext context, List<Base> focus, ExpressionNode exp) throws FHIRException {
     List<Base> result = new ArrayList<Base>();
     List<Base> other = execute(context, focus, exp.getParameters().get(0), true);
+    EqualityIndex otherIndex = new EqualityIndex(other);
     
     for (Base item : focus) {
-      if (!doContains(other, item)) {
+      if (!otherIndex.contains(item)) {
         result.add(item);
       }
     }
@@ -4281,14 +4668,15 @@ public class FHIRPathEngine {
     }
 
     boolean distinct = true;
+    EqualityIndex index = new EqualityIndex(focus);
     for (int i = 0; i < focus.size(); i++) {
-      for (int j = i+1; j < focus.size(); j++) {
+      int j = index.next(focus.get(i), i);
+      if (j != -1) {
         Boolean eq = doEquals(focus.get(j), focus.get(i));
         if (eq == null) {
           return new ArrayList<Base>();
-        } else if (eq == true) {
+        } else {
           distinct = false;
-          break;
         }
       }
     }
@@ -4584,18 +4972,13 @@ public class FHIRPathEngine {
     }
 
     List<Base> result = new ArrayList<Base>();
+    EqualityIndex index = new EqualityIndex(focus);
     for (int i = 0; i < focus.size(); i++) {
-      boolean found = false;
-      for (int j = i+1; j < focus.size(); j++) {
-        Boolean eq = doEquals(focus.get(j), focus.get(i));
-        if (eq == null)
-          return new ArrayList<Base>();
-        else if (eq == true) {
-          found = true;
-          break;
-        }
+      int j = index.next(focus.get(i), i);
+      if (j != -1 && doEquals(focus.get(j), focus.get(i)) == null) {
+        return new ArrayList<Base>();
       }
-      if (!found) {
+      if (j == -1) {
         result.add(focus.get(i));
       }
     }
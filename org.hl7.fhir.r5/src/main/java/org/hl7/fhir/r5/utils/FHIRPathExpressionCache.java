@@ -0,0 +1,64 @@
+package org.hl7.fhir.r5.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hl7.fhir.r5.model.ExpressionNode;
+
+/**
+ * A bounded, thread safe cache of parsed FHIRPath expressions, keyed by the expression text.
+ *
+ * Parsing is not affected by legacy mode (that only applies when executing), but it is
+ * affected by the functions that the host services define, so a cache should only be
+ * shared between engines that have equivalent host services.
+ *
+ * Parsed expressions are treated as immutable once they are in the cache - they can
+ * be executed concurrently, but must not be passed to check(), which annotates the
+ * nodes with type information.
+ *
+ * When the cache is full, it is simply cleared; the expected working set is a few hundred
+ * invariants and slicing expressions, so this is rare, and it keeps lookups lock free.
+ */
+public class FHIRPathExpressionCache {
+
+  public static final int DEFAULT_SIZE = 5000;
+
+  private final int maxSize;
+  private final Map<String, ExpressionNode> cache = new ConcurrentHashMap<>();
+
+  public FHIRPathExpressionCache() {
+    this(DEFAULT_SIZE);
+  }
+
+  public FHIRPathExpressionCache(int maxSize) {
+    super();
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size must be at least 1");
+    }
+    this.maxSize = maxSize;
+  }
+
+  public ExpressionNode get(String expression) {
+    return cache.get(expression);
+  }
+
+  public void put(String expression, ExpressionNode node) {
+    if (cache.size() >= maxSize) {
+      cache.clear();
+    }
+    cache.put(expression, node);
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+}
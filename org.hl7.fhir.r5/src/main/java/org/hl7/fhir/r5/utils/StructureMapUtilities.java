@@ -112,6 +112,8 @@ import org.hl7.fhir.r5.model.UriType;
 import org.hl7.fhir.r5.model.ValueSet;
 import org.hl7.fhir.r5.model.ValueSet.ValueSetExpansionContainsComponent;
 import org.hl7.fhir.r5.renderers.TerminologyRenderer;
+import org.hl7.fhir.r5.terminologies.ConceptMapIndex;
+import org.hl7.fhir.r5.terminologies.ConceptMapIndex.SourceElementMatch;
 import org.hl7.fhir.r5.terminologies.ValueSetExpander.ValueSetExpansionOutcome;
 import org.hl7.fhir.r5.utils.FHIRLexer.FHIRLexerException;
 import org.hl7.fhir.r5.utils.FHIRPathEngine.IEvaluationContext;
@@ -2090,15 +2092,6 @@ public class StructureMapUtilities {
 		return translate(context, map, src, id, fld);
 	}
 
-	private class SourceElementComponentWrapper {
-	  private ConceptMapGroupComponent group;
-    private SourceElementComponent comp;
-    public SourceElementComponentWrapper(ConceptMapGroupComponent group, SourceElementComponent comp) {
-      super();
-      this.group = group;
-      this.comp = comp;
-    }
-	}
 	public Base translate(TransformContext context, StructureMap map, Base source, String conceptMapUrl, String fieldToReturn) throws FHIRException {
 		Coding src = new Coding();
 		if (source.isPrimitive()) {
@@ -2165,28 +2158,21 @@ public class StructureMapUtilities {
 					done = true;
 				}
 			} else {
-			  List<SourceElementComponentWrapper> list = new ArrayList<SourceElementComponentWrapper>();
-			  for (ConceptMapGroupComponent g : cmap.getGroup()) {
-			    for (SourceElementComponent e : g.getElement()) {
-						if (!src.hasSystem() && src.getCode().equals(e.getCode())) 
-			        list.add(new SourceElementComponentWrapper(g, e));
-			      else if (src.hasSystem() && src.getSystem().equals(g.getSource()) && src.getCode().equals(e.getCode()))
-			        list.add(new SourceElementComponentWrapper(g, e));
-			    }
-				}
+			  ConceptMapIndex index = ConceptMapIndex.forConceptMap(cmap);
+			  List<SourceElementMatch> list = src.hasSystem() ? index.findBySystem(src.getSystem(), null, src.getCode()) : index.findByCode(src.getCode());
 				if (list.size() == 0)
 					done = true;
-				else if (list.get(0).comp.getTarget().size() == 0)
+				else if (list.get(0).getElement().getTarget().size() == 0)
 					message = "Concept map "+su+" found no translation for "+src.getCode();
 				else {
-					for (TargetElementComponent tgt : list.get(0).comp.getTarget()) {
+					for (TargetElementComponent tgt : list.get(0).getElement().getTarget()) {
 						if (tgt.getRelationship() == null || EnumSet.of( ConceptMapRelationship.RELATEDTO , ConceptMapRelationship.EQUIVALENT, ConceptMapRelationship.SOURCEISNARROWERTHANTARGET).contains(tgt.getRelationship())) {
 							if (done) {
 								message = "Concept map "+su+" found multiple matches for "+src.getCode();
 								done = false;
 							} else {
 								done = true;
-								outcome = new Coding().setCode(tgt.getCode()).setSystem(list.get(0).group.getTarget());
+								outcome = new Coding().setCode(tgt.getCode()).setSystem(list.get(0).getGroup().getTarget());
 							}
 						}
 					}
@@ -0,0 +1,154 @@
+package org.hl7.fhir.r5.elementmodel;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.hl7.fhir.r5.elementmodel.JsonLexer.TokenType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class JsonLexerTests {
+
+  private JsonLexer lexer(String source, boolean allowComments) throws IOException {
+    return new JsonLexer(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), allowComments);
+  }
+
+  private JsonLexer lexer(String source) throws IOException {
+    return lexer(source, false);
+  }
+
+  private void assertToken(JsonLexer lexer, TokenType type, String value, int line, int col) throws IOException {
+    Assertions.assertEquals(type, lexer.getType());
+    Assertions.assertEquals(value, lexer.getValue());
+    Assertions.assertEquals(line, lexer.getLine(), "line of "+type);
+    Assertions.assertEquals(col, lexer.getCol(), "col of "+type);
+    lexer.next();
+  }
+
+  private String string(String json) throws IOException {
+    JsonLexer lexer = lexer(json);
+    Assertions.assertEquals(TokenType.STRING, lexer.getType());
+    return lexer.getValue();
+  }
+
+  private String error(String source) {
+    IOException e = Assertions.assertThrows(IOException.class, () -> {
+      JsonLexer lexer = lexer(source);
+      while (lexer.getType() != TokenType.EOF) {
+        lexer.next();
+      }
+    });
+    return e.getMessage();
+  }
+
+  @Test
+  public void testTokens() throws IOException {
+    JsonLexer lexer = lexer("{\n  \"a\": [1, -2.5e+3, true],\n\t\"b\" : {\"c\":null, \"d\": false}\n}");
+    assertToken(lexer, TokenType.OPEN, null, 1, 1);
+    assertToken(lexer, TokenType.STRING, "a", 2, 3);
+    assertToken(lexer, TokenType.COLON, null, 2, 6);
+    assertToken(lexer, TokenType.OPEN_ARRAY, null, 2, 8);
+    assertToken(lexer, TokenType.NUMBER, "1", 2, 9);
+    assertToken(lexer, TokenType.COMMA, null, 2, 10);
+    assertToken(lexer, TokenType.NUMBER, "-2.5e+3", 2, 12);
+    assertToken(lexer, TokenType.COMMA, null, 2, 19);
+    assertToken(lexer, TokenType.BOOLEAN, "true", 2, 21);
+    assertToken(lexer, TokenType.CLOSE_ARRAY, null, 2, 25);
+    assertToken(lexer, TokenType.COMMA, null, 2, 26);
+    // a tab is one column
+    assertToken(lexer, TokenType.STRING, "b", 3, 2);
+    assertToken(lexer, TokenType.COLON, null, 3, 6);
+    assertToken(lexer, TokenType.OPEN, null, 3, 8);
+    assertToken(lexer, TokenType.STRING, "c", 3, 9);
+    assertToken(lexer, TokenType.COLON, null, 3, 12);
+    assertToken(lexer, TokenType.NULL, "null", 3, 13);
+    assertToken(lexer, TokenType.COMMA, null, 3, 17);
+    assertToken(lexer, TokenType.STRING, "d", 3, 19);
+    assertToken(lexer, TokenType.COLON, null, 3, 22);
+    assertToken(lexer, TokenType.BOOLEAN, "false", 3, 24);
+    assertToken(lexer, TokenType.CLOSE, null, 3, 29);
+    assertToken(lexer, TokenType.CLOSE, null, 4, 1);
+    Assertions.assertEquals(TokenType.EOF, lexer.getType());
+    // reading past the end stays at the end
+    lexer.next();
+    Assertions.assertEquals(TokenType.EOF, lexer.getType());
+  }
+
+  @Test
+  public void testEscapes() throws IOException {
+    Assertions.assertEquals("a\"b\\c/d'e", string("\"a\\\"b\\\\c\\/d\\'e\""));
+    Assertions.assertEquals("\b\f\n\r\t", string("\"\\b\\f\\n\\r\\t\""));
+    Assertions.assertEquals("\u00e9A\u00ff", string("\"\\u00e9\\u0041\\u00FF\""));
+    Assertions.assertEquals("", string("\"\""));
+  }
+
+  @Test
+  public void testSurrogates() throws IOException {
+    String smile = new String(Character.toChars(0x1F600));
+    // escaped as a surrogate pair
+    Assertions.assertEquals(smile, string("\"\\ud83d\\ude00\""));
+    // and as UTF-8 in the source
+    Assertions.assertEquals("x"+smile+"y", string("\"x"+smile+"y\""));
+    // the column counts chars, so a character outside the BMP takes two
+    JsonLexer lexer = lexer("[\""+smile+"\", 1]");
+    lexer.next();
+    lexer.next();
+    assertToken(lexer, TokenType.COMMA, null, 1, 6);
+    assertToken(lexer, TokenType.NUMBER, "1", 1, 8);
+  }
+
+  @Test
+  public void testNumbers() throws IOException {
+    for (String n : new String[] { "0", "-0", "12", "1.50", "-3.25", "1e10", "1E-5", "6.02e+23" }) {
+      JsonLexer lexer = lexer("["+n+"]");
+      lexer.next();
+      // the text is kept as is, so the precision isn't lost
+      assertToken(lexer, TokenType.NUMBER, n, 1, 2);
+      assertToken(lexer, TokenType.CLOSE_ARRAY, null, 1, n.length() + 2);
+    }
+    Assertions.assertEquals("Error parsing JSON source: Illegal number '1.2.3' at Line 1 (col 2)", error("[1.2.3]"));
+    Assertions.assertEquals("Error parsing JSON source: Illegal number '-' at Line 1 (col 2)", error("[-]"));
+    Assertions.assertEquals("Error parsing JSON source: Illegal number '1e' at Line 2 (col 3)", error("[\n  1e]"));
+  }
+
+  @Test
+  public void testBadInput() throws IOException {
+    Assertions.assertEquals("Error parsing JSON source: Unexpected char 'x' in json stream at Line 1 (col 7)", error("{\"a\": x}"));
+    Assertions.assertEquals("Error parsing JSON source: Syntax error in json reading special word true at Line 2 (col 7)", error("{\"a\":\n  [1, tru]}"));
+    Assertions.assertEquals("Error parsing JSON source: unknown escape sequence: \\q at Line 1 (col 2)", error("[\"a\\qb\"]"));
+    Assertions.assertEquals("Error parsing JSON source: illegal unicode escape at Line 1 (col 2)", error("[\"\\u00g0\"]"));
+    Assertions.assertEquals("Error parsing JSON source: premature termination of json stream during a string at Line 1 (col 2)", error("[\"abc"));
+    Assertions.assertEquals("Error parsing JSON source: unknown escape sequence: \\ at Line 1 (col 2)", error("[\"abc\\"));
+    // a comment isn't allowed unless asked for
+    Assertions.assertEquals("Error parsing JSON source: Unexpected char '/' in json stream at Line 1 (col 2)", error("[// note\n1]"));
+
+    JsonLexer lexer = lexer("{\"a\": 1}");
+    lexer.consume(TokenType.OPEN);
+    IOException e = Assertions.assertThrows(IOException.class, () -> lexer.consume(TokenType.NUMBER));
+    Assertions.assertEquals("Error parsing JSON source: JSON syntax error - found STRING expecting NUMBER at Line 1 (col 2)", e.getMessage());
+  }
+
+  @Test
+  public void testCommentsAndBOM() throws IOException {
+    JsonLexer lexer = lexer("\uFEFF[// note\n  1 // another\n]", true);
+    assertToken(lexer, TokenType.OPEN_ARRAY, null, 1, 1);
+    assertToken(lexer, TokenType.NUMBER, "1", 2, 3);
+    assertToken(lexer, TokenType.CLOSE_ARRAY, null, 3, 1);
+    Assertions.assertEquals(TokenType.EOF, lexer.getType());
+  }
+
+  @Test
+  public void testCapture() throws IOException {
+    JsonLexer lexer = lexer("[{\"a\": \"x\\ty\", \"b\": [1]}, 2]");
+    lexer.next();
+    lexer.startCapture("{");
+    while (lexer.getType() != TokenType.CLOSE) {
+      lexer.next();
+    }
+    // the source text, as it was, escapes and all
+    Assertions.assertEquals("{\"a\": \"x\\ty\", \"b\": [1]}", lexer.stopCapture());
+    lexer.next();
+    assertToken(lexer, TokenType.COMMA, null, 1, 25);
+  }
+}
@@ -1,9 +1,11 @@
 package org.hl7.fhir.r5.test;
 
+import org.hl7.fhir.r5.context.CanonicalResourceIndex;
 import org.hl7.fhir.r5.context.CanonicalResourceManager;
 import org.hl7.fhir.r5.context.CanonicalResourceManager.CanonicalResourceProxy;
 import org.hl7.fhir.r5.context.IWorkerContext.PackageVersion;
 import org.hl7.fhir.r5.model.CanonicalResource;
+import org.hl7.fhir.r5.model.CodeSystem;
 import org.hl7.fhir.r5.model.ValueSet;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -808,5 +810,48 @@ public class CanonicalResourceManagerTests {
     Assertions.assertNull(mrm.get("http://url/ValueSet/234", "4.1"));
   }
 
+  @Test
+  public void testSharedIndex() {
+    CanonicalResourceIndex index = new CanonicalResourceIndex();
+    CanonicalResourceManager<ValueSet> vsm = new CanonicalResourceManager<>(true);
+    CanonicalResourceManager<CodeSystem> csm = new CanonicalResourceManager<>(true);
+    ValueSet vs = new ValueSet();
+    vs.setId("2345");
+    vs.setUrl("http://url/ValueSet/234");
+    vs.setVersion("4.0.1");
+    vsm.see(vs, null);
+    vsm.setIndex(index); // existing content is indexed
+    csm.setIndex(index);
+
+    CodeSystem cs = new CodeSystem();
+    cs.setId("2346");
+    cs.setUrl("http://url/CodeSystem/234");
+    csm.see(cs, null);
+
+    Assertions.assertNull(index.get("http://url/Unknown"));
+    Assertions.assertEquals(index.get("http://url/ValueSet/234").size(), 1);
+    Assertions.assertTrue(index.get("http://url/ValueSet/234").contains(vsm));
+    Assertions.assertTrue(index.has("http://url/ValueSet/234|4.0.1"));
+    Assertions.assertTrue(index.get("http://url/CodeSystem/234").contains(csm));
+
+    // same url in both managers
+    ValueSet vs2 = new ValueSet();
+    vs2.setId("2347");
+    vs2.setUrl("http://url/CodeSystem/234");
+    vsm.see(vs2, null);
+    Assertions.assertEquals(index.get("http://url/CodeSystem/234").size(), 2);
+
+    vsm.drop("2347");
+    Assertions.assertEquals(index.get("http://url/CodeSystem/234").size(), 1);
+    Assertions.assertTrue(index.get("http://url/CodeSystem/234").contains(csm));
+
+    vsm.drop("2345");
+    Assertions.assertNull(index.get("http://url/ValueSet/234"));
+    Assertions.assertNull(index.get("http://url/ValueSet/234|4.0.1"));
+    Assertions.assertNull(index.get("2345"));
+
+    csm.clear();
+    Assertions.assertEquals(index.size(), 0);
+  }
 
 }
\ No newline at end of file
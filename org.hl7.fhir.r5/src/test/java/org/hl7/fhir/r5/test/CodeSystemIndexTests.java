@@ -0,0 +1,87 @@
+package org.hl7.fhir.r5.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.model.CodeSystem;
+import org.hl7.fhir.r5.model.CodeSystem.ConceptDefinitionComponent;
+import org.hl7.fhir.r5.model.CodeSystem.PropertyType;
+import org.hl7.fhir.r5.model.CodeType;
+import org.hl7.fhir.r5.terminologies.CodeSystemIndex;
+import org.hl7.fhir.r5.terminologies.CodeSystemUtilities;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CodeSystemIndexTests {
+
+  @Test
+  public void testIndex() {
+    CodeSystem cs = new CodeSystem();
+    cs.setUrl("http://test.org/CodeSystem/test");
+    cs.addProperty().setCode("parent").setUri("http://hl7.org/fhir/concept-properties#parent").setType(PropertyType.CODE);
+    ConceptDefinitionComponent a = cs.addConcept().setCode("a");
+    ConceptDefinitionComponent b = a.addConcept().setCode("b");
+    ConceptDefinitionComponent c = b.addConcept().setCode("Cc");
+    ConceptDefinitionComponent d = cs.addConcept().setCode("d");
+    // d is also a child of b, through the parent property
+    d.addProperty().setCode("parent").setValue(new CodeType("b"));
+    CodeSystemUtilities.crossLinkCodeSystem(cs);
+
+    CodeSystemIndex index = CodeSystemIndex.forCodeSystem(cs);
+    Assertions.assertSame(index, CodeSystemIndex.forCodeSystem(cs));
+    Assertions.assertSame(c, index.findCode("Cc"));
+    Assertions.assertNull(index.findCode("cc"));
+    Assertions.assertSame(c, index.findCode("cc", false));
+    Assertions.assertTrue(index.hasCode("CC", false));
+    Assertions.assertFalse(index.hasCode("e", false));
+
+    Assertions.assertEquals(1, index.getParents(c).size());
+    Assertions.assertSame(b, index.getParents(d).get(0));
+    Assertions.assertEquals(2, index.getChildren(b).size());
+    Assertions.assertEquals(1, index.getPropertyValues(d, "parent").size());
+    Assertions.assertTrue(index.getPropertyValues(a, "parent").isEmpty());
+
+    Assertions.assertTrue(index.isSelfOrDescendant(a, "a"));
+    Assertions.assertTrue(index.isSelfOrDescendant(a, "Cc"));
+    Assertions.assertTrue(index.isSelfOrDescendant(a, "d"));
+    Assertions.assertFalse(index.isSelfOrDescendant(b, "a"));
+    Assertions.assertFalse(index.isSelfOrDescendant(c, "d"));
+
+    // the index is built again once it has been cleared
+    b.addConcept().setCode("f");
+    Assertions.assertNull(CodeSystemIndex.forCodeSystem(cs).findCode("f"));
+    CodeSystemIndex.clear(cs);
+    Assertions.assertNotNull(CodeSystemIndex.forCodeSystem(cs).findCode("f"));
+  }
+
+  @Test
+  public void testChangedInPlace() throws Exception {
+    CodeSystem cs = new CodeSystem();
+    cs.setUrl("http://test.org/CodeSystem/test");
+    cs.addConcept().setCode("a");
+    Assertions.assertNotNull(CodeSystemIndex.forCodeSystem(cs).findCode("a"));
+
+    // adding or removing concepts at the top level is noticed
+    cs.addConcept().setCode("e");
+    Assertions.assertNotNull(CodeSystemIndex.forCodeSystem(cs).findCode("e"));
+    cs.getConcept().remove(0);
+    Assertions.assertNull(CodeSystemIndex.forCodeSystem(cs).findCode("a"));
+    // and so is replacing the list
+    List<ConceptDefinitionComponent> list = new ArrayList<>();
+    list.add(new ConceptDefinitionComponent().setCode("g"));
+    cs.setConcept(list);
+    Assertions.assertNotNull(CodeSystemIndex.forCodeSystem(cs).findCode("g"));
+    Assertions.assertNull(CodeSystemIndex.forCodeSystem(cs).findCode("e"));
+
+    // a change below the top level is picked up when the code system is cached again
+    SimpleWorkerContext context = new SimpleWorkerContext();
+    context.setAllowLoadingDuplicates(true);
+    context.cacheResource(cs);
+    Assertions.assertNotNull(CodeSystemIndex.forCodeSystem(cs).findCode("g"));
+    cs.getConceptFirstRep().addConcept().setCode("h");
+    Assertions.assertNull(CodeSystemIndex.forCodeSystem(cs).findCode("h"));
+    context.cacheResource(cs);
+    Assertions.assertNotNull(CodeSystemIndex.forCodeSystem(cs).findCode("h"));
+  }
+}
@@ -0,0 +1,71 @@
+package org.hl7.fhir.r5.test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.model.Coding;
+import org.hl7.fhir.r5.model.ConceptMap;
+import org.hl7.fhir.r5.model.ConceptMap.ConceptMapGroupComponent;
+import org.hl7.fhir.r5.model.ConceptMap.ConceptMapGroupUnmappedMode;
+import org.hl7.fhir.r5.model.ConceptMap.SourceElementComponent;
+import org.hl7.fhir.r5.model.Enumerations.ConceptMapRelationship;
+import org.hl7.fhir.r5.terminologies.ConceptMapEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConceptMapEngineTests {
+
+  private static final String SRC = "http://test.org/CodeSystem/src";
+  private static final String TGT = "http://test.org/CodeSystem/tgt";
+  private static final String MAP = "http://test.org/ConceptMap/test";
+  private static final String OTHER = "http://test.org/ConceptMap/other";
+
+  @Test
+  public void testTranslate() throws Exception {
+    SimpleWorkerContext context = new SimpleWorkerContext();
+    ConceptMap cm = new ConceptMap();
+    cm.setId("test");
+    cm.setUrl(MAP);
+    ConceptMapGroupComponent g = cm.addGroup().setSource(SRC).setTarget(TGT);
+    g.addElement().setCode("a").addTarget().setCode("A").setRelationship(ConceptMapRelationship.EQUIVALENT);
+    g.addElement().setCode("b").addTarget().setCode("B").setRelationship(ConceptMapRelationship.NOTRELATEDTO);
+    SourceElementComponent e = g.addElement().setCode("c");
+    e.addTarget().setCode("C1").setRelationship(ConceptMapRelationship.EQUIVALENT).addDependsOn().setProperty("http://test.org/kind").setValue("1");
+    e.addTarget().setCode("C2").setRelationship(ConceptMapRelationship.EQUIVALENT).addDependsOn().setProperty("http://test.org/kind").setValue("2");
+    g.getUnmapped().setMode(ConceptMapGroupUnmappedMode.OTHERMAP).setUrl(OTHER);
+    context.cacheResource(cm);
+
+    ConceptMap other = new ConceptMap();
+    other.setId("other");
+    other.setUrl(OTHER);
+    other.addGroup().setSource(SRC).setTarget(TGT).getUnmapped().setMode(ConceptMapGroupUnmappedMode.FIXED).setCode("X");
+    context.cacheResource(other);
+
+    ConceptMapEngine engine = new ConceptMapEngine(context);
+    Assertions.assertEquals("A", engine.translate(new Coding(SRC, "a", null), MAP).getCode());
+    Assertions.assertEquals(TGT, engine.translate(new Coding(SRC, "a", null), MAP).getSystem());
+    Assertions.assertEquals("A", engine.translate(new Coding(null, "a", null), MAP).getCode());
+    Assertions.assertNull(engine.translate(new Coding(SRC, "b", null), MAP));
+    // the targets of c depend on the kind
+    Assertions.assertNull(engine.translate(new Coding(SRC, "c", null), MAP));
+    Map<String, String> dependsOn = new HashMap<>();
+    dependsOn.put("http://test.org/kind", "2");
+    Assertions.assertEquals("C2", engine.translate(new Coding(SRC, "c", null), MAP, dependsOn).getCode());
+    // d isn't mapped, so the other map is used, which maps everything to X
+    Assertions.assertEquals("X", engine.translate(new Coding(SRC, "d", null), MAP).getCode());
+    // no group for this system
+    Assertions.assertNull(engine.translate(new Coding(TGT, "a", null), MAP));
+
+    List<Coding> res = engine.translate(Arrays.asList(new Coding(SRC, "a", null), new Coding(SRC, "b", null), new Coding(SRC, "d", null)), MAP);
+    Assertions.assertEquals(3, res.size());
+    Assertions.assertEquals("A", res.get(0).getCode());
+    Assertions.assertNull(res.get(1));
+    Assertions.assertEquals("X", res.get(2).getCode());
+
+    Assertions.assertThrows(FHIRException.class, () -> engine.translate(new Coding(SRC, "a", null), "http://test.org/ConceptMap/none"));
+  }
+}
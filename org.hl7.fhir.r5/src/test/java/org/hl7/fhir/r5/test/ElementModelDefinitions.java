@@ -0,0 +1,76 @@
+package org.hl7.fhir.r5.test;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.model.ElementDefinition;
+import org.hl7.fhir.r5.model.ElementDefinition.PropertyRepresentation;
+import org.hl7.fhir.r5.model.StructureDefinition;
+import org.hl7.fhir.r5.model.StructureDefinition.StructureDefinitionKind;
+import org.hl7.fhir.r5.model.StructureDefinition.TypeDerivationRule;
+
+/**
+ * A handful of cut down core definitions, so that the element model parsers can be tested without
+ * loading a core package. Each element is "name:type|type:max", with an optional ":attr" for
+ * elements that are xml attributes, or ":xhtml" for the narrative div.
+ */
+public class ElementModelDefinitions {
+
+  private static final String[] PRIMITIVES = { "boolean", "integer", "decimal", "string", "code", "id", "uri", "date", "dateTime", "xhtml" };
+
+  public static SimpleWorkerContext makeContext() throws Exception {
+    SimpleWorkerContext context = new SimpleWorkerContext();
+    for (String p : PRIMITIVES) {
+      define(context, p, StructureDefinitionKind.PRIMITIVETYPE, "id:string:1:attr", "extension:Extension:*", "value:"+p+":1:attr");
+    }
+    define(context, "Extension", StructureDefinitionKind.COMPLEXTYPE, "id:string:1:attr", "extension:Extension:*", "url:uri:1:attr",
+        "value[x]:string|code|boolean|Quantity:1");
+    define(context, "Quantity", StructureDefinitionKind.COMPLEXTYPE, "id:string:1:attr", "extension:Extension:*", "value:decimal:1", "unit:string:1");
+    define(context, "HumanName", StructureDefinitionKind.COMPLEXTYPE, "id:string:1:attr", "extension:Extension:*", "use:code:1", "family:string:1",
+        "given:string:*");
+    define(context, "Coding", StructureDefinitionKind.COMPLEXTYPE, "id:string:1:attr", "extension:Extension:*", "system:uri:1", "code:code:1",
+        "display:string:1");
+    define(context, "CodeableConcept", StructureDefinitionKind.COMPLEXTYPE, "id:string:1:attr", "extension:Extension:*", "coding:Coding:*",
+        "text:string:1");
+    define(context, "Identifier", StructureDefinitionKind.COMPLEXTYPE, "id:string:1:attr", "extension:Extension:*", "use:code:1", "system:uri:1",
+        "value:string:1");
+    define(context, "Narrative", StructureDefinitionKind.COMPLEXTYPE, "id:string:1:attr", "extension:Extension:*", "status:code:1", "div:xhtml:1:xhtml");
+    define(context, "Patient", StructureDefinitionKind.RESOURCE, "id:id:1", "text:Narrative:1", "contained:Resource:*", "extension:Extension:*",
+        "identifier:Identifier:*", "active:boolean:1", "name:HumanName:*", "gender:code:1", "birthDate:date:1", "deceased[x]:boolean|dateTime:1");
+    define(context, "Organization", StructureDefinitionKind.RESOURCE, "id:id:1", "name:string:1", "alias:string:*");
+    define(context, "Observation", StructureDefinitionKind.RESOURCE, "id:id:1", "status:code:1", "code:CodeableConcept:1", "effective[x]:dateTime:1",
+        "value[x]:Quantity|string|boolean:1", "component:BackboneElement:*", "component.code:CodeableConcept:1", "component.value[x]:Quantity|string:1");
+    define(context, "Bundle", StructureDefinitionKind.RESOURCE, "id:id:1", "type:code:1", "entry:BackboneElement:*", "entry.resource:Resource:1");
+    return context;
+  }
+
+  private static void define(SimpleWorkerContext context, String type, StructureDefinitionKind kind, String... elements) {
+    StructureDefinition sd = new StructureDefinition();
+    sd.setId(type);
+    sd.setUrl("http://hl7.org/fhir/StructureDefinition/"+type);
+    sd.setName(type);
+    sd.setType(type);
+    sd.setKind(kind);
+    sd.setDerivation(TypeDerivationRule.SPECIALIZATION);
+    addElement(sd, type, "*");
+    for (String e : elements) {
+      String[] parts = e.split("\\:");
+      ElementDefinition ed = addElement(sd, type+"."+parts[0], parts[2]);
+      for (String t : parts[1].split("\\|")) {
+        ed.addType().setCode(t);
+      }
+      if (parts.length > 3) {
+        ed.addRepresentation("attr".equals(parts[3]) ? PropertyRepresentation.XMLATTR : PropertyRepresentation.XHTML);
+      }
+    }
+    context.cacheResource(sd);
+  }
+
+  private static ElementDefinition addElement(StructureDefinition sd, String path, String max) {
+    ElementDefinition ed = new ElementDefinition(path);
+    ed.setId(path);
+    ed.setMin(0);
+    ed.setMax(max);
+    ed.getBase().setPath(path).setMin(0).setMax(max);
+    sd.getSnapshot().addElement(ed);
+    return ed;
+  }
+}
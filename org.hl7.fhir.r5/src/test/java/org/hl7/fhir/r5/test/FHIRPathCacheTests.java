@@ -0,0 +1,109 @@
+package org.hl7.fhir.r5.test;
+
+import java.util.List;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.model.Base;
+import org.hl7.fhir.r5.model.DateType;
+import org.hl7.fhir.r5.model.ExpressionNode;
+import org.hl7.fhir.r5.model.HumanName.NameUse;
+import org.hl7.fhir.r5.model.Patient;
+import org.hl7.fhir.r5.utils.FHIRPathEngine;
+import org.hl7.fhir.r5.utils.FHIRPathEngine.CompiledExpression;
+import org.hl7.fhir.r5.utils.FHIRPathExpressionCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class FHIRPathCacheTests {
+
+  private static SimpleWorkerContext context;
+  private static Patient patient;
+
+  private static final String[] EXPRESSIONS = {
+    "Patient.name.given",
+    "Patient.name.where(use = 'official').family",
+    "name.given.count() > 1",
+    "birthDate < @2000-01-01",
+    "(1 | 2 | 3).where($this > 1).count()",
+    "Patient.name.given.distinct().join(',')",
+    "Patient.telecom.exists()",
+    "active.empty() or active"
+  };
+
+  @BeforeAll
+  public static void setUp() throws Exception {
+    context = new SimpleWorkerContext();
+    patient = new Patient();
+    patient.addName().setFamily("Smith").addGiven("John").addGiven("Jim").setUse(NameUse.OFFICIAL);
+    patient.addName().setFamily("Jones").addGiven("John");
+    patient.setBirthDateElement(new DateType("1970-03-04"));
+  }
+
+  private String summary(List<Base> list) {
+    StringBuilder b = new StringBuilder();
+    for (Base item : list) {
+      if (b.length() > 0) {
+        b.append(",");
+      }
+      b.append(item.isPrimitive() ? item.primitiveValue() : item.fhirType());
+    }
+    return b.toString();
+  }
+
+  @Test
+  public void testParseCached() {
+    FHIRPathEngine fp = new FHIRPathEngine(context);
+    ExpressionNode n = fp.parseCached("Patient.name.given");
+    Assertions.assertSame(n, fp.parseCached("Patient.name.given"));
+    Assertions.assertEquals(1, fp.getExpressionCache().size());
+    // the cache is keyed by the exact text
+    Assertions.assertNotSame(n, fp.parseCached("Patient.name.given "));
+    Assertions.assertEquals(2, fp.getExpressionCache().size());
+    // parse() always makes a new tree
+    Assertions.assertNotSame(n, fp.parse("Patient.name.given"));
+    // the string evaluate() uses the cache too
+    fp.evaluate(patient, "Patient.name.family");
+    Assertions.assertEquals(3, fp.getExpressionCache().size());
+    Assertions.assertSame(fp.parseCached("Patient.name.family"), fp.compile("Patient.name.family").getNode());
+  }
+
+  @Test
+  public void testSharedCache() {
+    FHIRPathExpressionCache cache = new FHIRPathExpressionCache();
+    FHIRPathEngine fp1 = new FHIRPathEngine(context);
+    FHIRPathEngine fp2 = new FHIRPathEngine(context);
+    fp1.setExpressionCache(cache);
+    fp2.setExpressionCache(cache);
+    Assertions.assertSame(fp1.parseCached("Patient.active"), fp2.parseCached("Patient.active"));
+  }
+
+  @Test
+  public void testBounded() {
+    FHIRPathEngine fp = new FHIRPathEngine(context);
+    fp.setExpressionCache(new FHIRPathExpressionCache(3));
+    for (int i = 0; i < 10; i++) {
+      fp.parseCached("Patient.name[" + i + "]");
+      Assertions.assertTrue(fp.getExpressionCache().size() <= 3);
+    }
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new FHIRPathExpressionCache(0));
+  }
+
+  @Test
+  public void testCompiledMatchesUncompiled() {
+    FHIRPathEngine fp = new FHIRPathEngine(context);
+    for (String expr : EXPRESSIONS) {
+      String expected = summary(new FHIRPathEngine(context).evaluate(patient, fp.parse(expr)));
+      CompiledExpression ce = fp.compile(expr);
+      Assertions.assertEquals(expr, ce.getExpression());
+      // more than once, to show that the compiled form can be reused
+      for (int i = 0; i < 3; i++) {
+        Assertions.assertEquals(expected, summary(ce.evaluate(patient)), expr);
+        Assertions.assertEquals(expected, summary(ce.evaluate(null, patient, patient, patient)), expr);
+        Assertions.assertEquals(expected, summary(fp.evaluate(patient, expr)), expr);
+      }
+    }
+    Assertions.assertTrue(fp.compile("name.given.count() > 1").evaluateToBoolean(null, patient, patient, patient));
+    Assertions.assertEquals("Smith", fp.compile("name.first().family").evaluateToString(null, patient, patient, patient));
+  }
+}
@@ -0,0 +1,152 @@
+package org.hl7.fhir.r5.test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.elementmodel.Element;
+import org.hl7.fhir.r5.elementmodel.JsonParser;
+import org.hl7.fhir.r5.model.Base;
+import org.hl7.fhir.r5.model.Coding;
+import org.hl7.fhir.r5.model.DateTimeType;
+import org.hl7.fhir.r5.model.Identifier.IdentifierUse;
+import org.hl7.fhir.r5.model.Observation;
+import org.hl7.fhir.r5.model.Patient;
+import org.hl7.fhir.r5.model.StringType;
+import org.hl7.fhir.r5.utils.FHIRPathEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class FHIRPathCollectionTests {
+
+  private static FHIRPathEngine fp;
+  private static Patient patient;
+
+  @BeforeAll
+  public static void setUp() throws Exception {
+    fp = new FHIRPathEngine(new SimpleWorkerContext());
+    patient = new Patient();
+    patient.addName().setFamily("Smith").addGiven("John").addGiven("Jim");
+    patient.addName().setFamily("Smith").addGiven("John");
+    patient.addName().setFamily("Smith").addGiven("John").addGiven("Jim");
+  }
+
+  private String eval(String expr) {
+    return eval(fp, patient, expr);
+  }
+
+  private String eval(FHIRPathEngine fp, Base focus, String expr) {
+    List<Base> res = fp.evaluate(focus, expr);
+    StringBuilder b = new StringBuilder();
+    for (Base item : res) {
+      if (b.length() > 0) {
+        b.append(",");
+      }
+      b.append(item.isPrimitive() ? item.primitiveValue() : item.fhirType());
+    }
+    return b.toString();
+  }
+
+  @Test
+  public void testDistinct() {
+    Assertions.assertEquals("1,2,3", eval("(1 | 2 | 1 | 3 | 2).distinct()"));
+    Assertions.assertEquals("1.0,2", eval("(1.0 | 1.00 | 2).distinct()"));
+    Assertions.assertEquals("John,Jim", eval("Patient.name.given.distinct()"));
+    Assertions.assertEquals("2", eval("Patient.name.distinct().count()"));
+    Assertions.assertEquals("false", eval("Patient.name.isDistinct()"));
+    Assertions.assertEquals("true", eval("(1 | 2 | 3).isDistinct()"));
+    Assertions.assertEquals("false", eval("(1 | 2).combine(1.0).isDistinct()"));
+    Assertions.assertEquals("true", eval("('a' | 'A').isDistinct()"));
+  }
+
+  @Test
+  public void testDates() {
+    Assertions.assertEquals("2", eval("(@2012-01-01 | @2012-01-01 | @2013).count()"));
+    Assertions.assertEquals("", eval("(@2012-01-01T10:00:00 | @2012-01-01).isDistinct()"));
+  }
+
+  @Test
+  public void testUnionIntersectExclude() {
+    Assertions.assertEquals("1,2,3,4", eval("(1 | 2 | 2 | 3).union(3 | 4)"));
+    Assertions.assertEquals("1,2", eval("(1 | 2 | 2).union(2.0)"));
+    Assertions.assertEquals("2,3", eval("(1 | 2 | 2 | 3).intersect(3 | 2.0)"));
+    Assertions.assertEquals("1,2,1", eval("(1 | 2 | 3).combine(1).exclude(3)"));
+    Assertions.assertEquals("John,John,John", eval("Patient.name.given.exclude('Jim')"));
+    Assertions.assertEquals("1", eval("Patient.name.intersect(%resource.name.first()).count()"));
+    Assertions.assertEquals("0", eval("Patient.name.exclude(%resource.name).count()"));
+  }
+
+  @Test
+  public void testIdentifiersAndCodings() {
+    Patient p = new Patient();
+    // identifiers that all have the same system
+    for (int i = 0; i < 200; i++) {
+      p.addIdentifier().setSystem("http://example.org/mrn").setValue("v"+(i % 50));
+    }
+    p.addIdentifier().setSystem("http://example.org/mrn").setValue("v1").setUse(IdentifierUse.OFFICIAL);
+    // an empty value is the same as no value
+    p.addIdentifier().setSystem("http://example.org/other").setValueElement(new StringType());
+    p.addIdentifier().setSystem("http://example.org/other");
+    // the same time in different timezones
+    p.addIdentifier().setSystem("http://example.org/period").getPeriod().setStartElement(new DateTimeType("2012-01-01T10:00:00+05:00"));
+    p.addIdentifier().setSystem("http://example.org/period").getPeriod().setStartElement(new DateTimeType("2012-01-01T05:00:00Z"));
+
+    Assertions.assertEquals("53", eval(fp, p, "Patient.identifier.distinct().count()"));
+    Assertions.assertEquals("false", eval(fp, p, "Patient.identifier.isDistinct()"));
+    Assertions.assertEquals("true", eval(fp, p, "Patient.identifier.distinct().isDistinct()"));
+    Assertions.assertEquals("2", eval(fp, p, "Patient.identifier.where(value = 'v1').distinct().count()"));
+    Assertions.assertEquals("3", eval(fp, p, "Patient.identifier.where(value = 'v1').union(%resource.identifier.where(value = 'v2')).count()"));
+    Assertions.assertEquals("1", eval(fp, p, "Patient.identifier.intersect(%resource.identifier.where(use = 'official')).count()"));
+    Assertions.assertEquals("200", eval(fp, p, "Patient.identifier.exclude(%resource.identifier.where(value = 'v1')).count()"));
+
+    Observation obs = new Observation();
+    for (int i = 0; i < 100; i++) {
+      obs.getCode().addCoding(new Coding("http://loinc.org", "c"+(i % 10), null));
+    }
+    obs.getCode().addCoding(new Coding("http://loinc.org", "c1", "One"));
+    Assertions.assertEquals("11", eval(fp, obs, "Observation.code.coding.distinct().count()"));
+    Assertions.assertEquals("2", eval(fp, obs, "Observation.code.coding.where(code = 'c1').union({}).count()"));
+    Assertions.assertEquals("90", eval(fp, obs, "Observation.code.coding.exclude(%resource.code.coding.where(code = 'c1')).count()"));
+  }
+
+  @Test
+  public void testQuantities() {
+    Assertions.assertEquals("2", eval("(1 'mg' | 1.0 'mg' | 2 'mg').count()"));
+    Assertions.assertEquals("true", eval("(1 'mg').combine(2 'mg').isDistinct()"));
+    Assertions.assertEquals("false", eval("(1 'mg').combine(1.0 'mg').isDistinct()"));
+    // without ucum, quantities with different units are incomparable
+    Assertions.assertEquals("", eval("(1 'mg').combine(1 'g').isDistinct()"));
+    Assertions.assertEquals("", eval("(1 'mg').combine(1 'g').distinct()"));
+    Assertions.assertEquals("2", eval("(1 'mg' | 1 'g').count()"));
+    Assertions.assertEquals("1", eval("(1 'mg').combine(2 'mg').combine(1.0 'mg').intersect(1 'mg' | 1 'g').count()"));
+  }
+
+  @Test
+  public void testElementModel() throws Exception {
+    SimpleWorkerContext context = ElementModelDefinitions.makeContext();
+    StringBuilder b = new StringBuilder();
+    b.append("{\"resourceType\":\"Patient\",\"identifier\":[");
+    for (int i = 0; i < 200; i++) {
+      b.append("{\"system\":\"http://example.org/mrn\",\"value\":\"v"+(i % 50)+"\"},");
+    }
+    b.append("{\"use\":\"official\",\"system\":\"http://example.org/mrn\",\"value\":\"v1\"},");
+    b.append("{\"system\":\"http://example.org/other\"},");
+    b.append("{\"system\":\"http://example.org/other\",\"value\":\"x\"}");
+    b.append("],\"name\":[{\"family\":\"Smith\",\"given\":[\"John\",\"Jim\"]},{\"family\":\"Smith\",\"given\":[\"John\",\"Jim\"]},{\"family\":\"Smith\",\"given\":[\"John\"]}]}");
+    Element e = new JsonParser(context).parse(new ByteArrayInputStream(b.toString().getBytes(StandardCharsets.UTF_8)));
+    FHIRPathEngine efp = new FHIRPathEngine(context);
+
+    Assertions.assertEquals("53", eval(efp, e, "Patient.identifier.distinct().count()"));
+    Assertions.assertEquals("false", eval(efp, e, "Patient.identifier.isDistinct()"));
+    Assertions.assertEquals("2", eval(efp, e, "Patient.identifier.where(value = 'v1').distinct().count()"));
+    Assertions.assertEquals("1", eval(efp, e, "Patient.identifier.intersect(%resource.identifier.where(use = 'official')).count()"));
+    Assertions.assertEquals("198", eval(efp, e, "Patient.identifier.exclude(%resource.identifier.where(value = 'v1')).count()"));
+    // an element is equal to a value that has all of its content (and more), but not the other way around
+    Assertions.assertEquals("1", eval(efp, e, "Patient.identifier.where(system = 'http://example.org/other').union({}).count()"));
+    Assertions.assertEquals("2", eval(efp, e, "Patient.identifier.where(system = 'http://example.org/other').distinct().count()"));
+    Assertions.assertEquals("2", eval(efp, e, "Patient.name.distinct().count()"));
+    Assertions.assertEquals("Jim,John", eval(efp, e, "Patient.name.given.distinct()"));
+  }
+}
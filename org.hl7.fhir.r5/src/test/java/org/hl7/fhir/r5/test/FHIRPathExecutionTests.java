@@ -0,0 +1,112 @@
+package org.hl7.fhir.r5.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.model.Base;
+import org.hl7.fhir.r5.model.DateTimeType;
+import org.hl7.fhir.r5.model.ExpressionNode;
+import org.hl7.fhir.r5.model.HumanName;
+import org.hl7.fhir.r5.model.Patient;
+import org.hl7.fhir.r5.utils.FHIRPathEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Navigating from a single item, groups, function results and @ constants each have their own handling in
+ * execute(); these check that they give the same answers as the general case
+ */
+public class FHIRPathExecutionTests {
+
+  private static FHIRPathEngine fp;
+  private static Patient patient;
+
+  @BeforeAll
+  public static void setUp() throws Exception {
+    fp = new FHIRPathEngine(new SimpleWorkerContext());
+    patient = new Patient();
+    patient.addName().setFamily("Smith").addGiven("John").addGiven("Jim");
+    patient.addName().setFamily("Jones");
+    patient.addName().setFamily("Brown").addGiven("Jane");
+    patient.setDeceased(new DateTimeType("2012-01-01T10:00:00+05:00"));
+  }
+
+  private String summary(List<Base> list) {
+    StringBuilder b = new StringBuilder();
+    for (Base item : list) {
+      if (b.length() > 0) {
+        b.append(",");
+      }
+      b.append(item.isPrimitive() ? item.primitiveValue() : item.fhirType());
+    }
+    return b.toString();
+  }
+
+  private String eval(String expr) {
+    return summary(fp.evaluate(patient, expr));
+  }
+
+  @Test
+  public void testSingleItemFocus() {
+    // navigating from several names merges the outcomes of navigating from each name
+    List<Base> each = new ArrayList<>();
+    for (HumanName name : patient.getName()) {
+      each.addAll(fp.evaluate(name, "given"));
+    }
+    Assertions.assertEquals(summary(each), eval("Patient.name.given"));
+    Assertions.assertEquals("John,Jim,Jane", eval("Patient.name.given"));
+    Assertions.assertEquals("John,Jim", eval("Patient.name.first().given"));
+    Assertions.assertEquals("Jane", eval("Patient.name.last().given"));
+    // a single item with nothing to navigate to
+    Assertions.assertEquals("", eval("Patient.name[1].given"));
+    // empty focus
+    Assertions.assertEquals("", eval("Patient.contact.name.given"));
+    Assertions.assertEquals("", eval("{}.given"));
+  }
+
+  @Test
+  public void testThisAndTotal() {
+    Assertions.assertEquals("6", eval("(1 | 2 | 3).aggregate($this + $total, 0)"));
+    Assertions.assertEquals("John,Jim,Jane", eval("Patient.name.given.select($this)"));
+    Assertions.assertEquals("Jim", eval("Patient.name.given.where($this.startsWith('Ji'))"));
+  }
+
+  @Test
+  public void testGroups() {
+    Assertions.assertEquals(eval("Patient.name.given"), eval("(Patient.name).given"));
+    Assertions.assertEquals(eval("Patient.name.given"), eval("(Patient.name.given)"));
+    Assertions.assertEquals("3", eval("(Patient.name).count()"));
+    Assertions.assertEquals("", eval("({}).given"));
+  }
+
+  @Test
+  public void testFunctionResults() {
+    // functions that return their focus must not share the list with the rest of the expression
+    Assertions.assertEquals("6", eval("Patient.name.given.where(true).combine(%resource.name.given).count()"));
+    Assertions.assertEquals("John,Jim,Jane,John,Jim,Jane", eval("Patient.name.given.trace('t').combine(%resource.name.given.trace('t'))"));
+    Assertions.assertEquals("3", eval("Patient.name.given.where(true).count()"));
+    Assertions.assertEquals("0", eval("{}.where(true).count()"));
+  }
+
+  @Test
+  public void testDateConstants() {
+    ExpressionNode n = fp.parse("@2012-01-01T10:00:00+05:00 = @2012-01-01T05:00:00Z");
+    // the constant is processed once, and comparing it doesn't change it
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertEquals("true", summary(fp.evaluate(patient, n)));
+    }
+    n = fp.parse("@2012-01-01T10:00:00+05:00");
+    Assertions.assertEquals("2012-01-01T10:00:00+05:00", summary(fp.evaluate(patient, n)));
+    Assertions.assertEquals("true", eval("@2012-01-01T10:00:00+05:00 > @2012-01-01T04:00:00Z"));
+    Assertions.assertEquals("2012-01-01T10:00:00+05:00", summary(fp.evaluate(patient, n)));
+  }
+
+  @Test
+  public void testComparisonDoesNotChangeResource() {
+    Assertions.assertEquals("true", eval("Patient.deceased = @2012-01-01T05:00:00Z"));
+    Assertions.assertEquals("true", eval("Patient.deceased > @2011-01-01T00:00:00Z"));
+    Assertions.assertEquals("2012-01-01T10:00:00+05:00", patient.getDeceasedDateTimeType().getValueAsString());
+  }
+}
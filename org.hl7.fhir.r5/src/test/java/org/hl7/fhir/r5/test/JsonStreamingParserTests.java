@@ -0,0 +1,178 @@
+package org.hl7.fhir.r5.test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.elementmodel.Element;
+import org.hl7.fhir.r5.elementmodel.JsonParser;
+import org.hl7.fhir.r5.elementmodel.ParserBase.ValidationPolicy;
+import org.hl7.fhir.utilities.json.JsonTrackingParser;
+import org.hl7.fhir.utilities.json.JsonTrackingParser.LocationData;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
+import org.hl7.fhir.utilities.validation.ValidationMessage.IssueSeverity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * parse(InputStream) builds the elements straight from the tokens, instead of parsing a json tree and
+ * walking it. These check that it gives the same elements and errors as parsing the tree.
+ *
+ * The one intended difference is the locations: the streaming parser reports where a value starts, where
+ * the tree parser reported wherever its lexer had got to, which is usually after the token following the value.
+ */
+public class JsonStreamingParserTests {
+
+  private static SimpleWorkerContext context;
+
+  private static final String[] CASES = {
+    "{\"resourceType\":\"Patient\",\"id\":\"p1\",\"active\":true,\"gender\":\"male\",\"birthDate\":\"1970-03-04\"}",
+    // wrong kinds of values, unknown properties, and arrays where there shouldn't be
+    "{\"resourceType\":\"Patient\",\"id\":\"p1\",\"active\":\"true\",\"birthDate\":1970,\"gender\":null,\"foo\":1,\"_foo\":{},\"name\":{\"family\":\"x\"}}",
+    // resourceType isn't first
+    "{\"id\":\"p1\",\"resourceType\":\"Patient\",\"active\":true,\"bad\":[1,2]}",
+    // primitive extensions, nulls in arrays and choice types in extensions
+    "{\"resourceType\":\"Patient\",\"name\":[{\"given\":[\"a\",null,\"c\"],\"_given\":[null,{\"id\":\"g2\",\"extension\":[{\"url\":\"u\",\"valueString\":\"v\",\"valueCode\":\"c\",\"_valueCode\":{\"id\":\"z\"},\"valueQuantity\":{}}]},{}]}]}",
+    "{\"resourceType\":\"Observation\",\"valueString\":\"a\",\"valueQuantity\":{\"value\":1.50,\"unit\":\"mg\"},\"_valueString\":{\"fhir_comments\":[\"c1\"]},\"status\":\"final\",\"code\":{\"text\":\"t\"}}",
+    "{\"resourceType\":\"Observation\",\"_valueString\":{\"id\":\"x\"},\"valueBoolean\":\"yes\",\"effectiveDateTime\":[\"2020\"],\"component\":{\"code\":{}}}",
+    // contained resources, in all the possible states
+    "{\"resourceType\":\"Bundle\",\"type\":\"collection\",\"entry\":[{\"resource\":{\"resourceType\":\"Patient\",\"active\":1}},{\"resource\":{\"active\":true,\"resourceType\":\"Patient\",\"x\":1}},{\"resource\":{}},{\"resource\":{\"id\":\"a\"}}]}",
+    "{\"resourceType\":\"Patient\",\"contained\":[{\"resourceType\":\"Organization\",\"name\":\"o\",\"alias\":\"single\",\"_alias\":[{}]}],\"text\":{\"status\":\"generated\",\"div\":\"<div xmlns=\\\"http://www.w3.org/1999/xhtml\\\">hi</div>\"}}",
+    "{\"resourceType\":\"Patient\",\"text\":{\"status\":\"generated\",\"div\":\"<div>bad</p>\"},\"name\":[{\"given\":\"notarray\",\"_given\":{}}]}",
+    "{\"resourceType\":\"Patient\",\"name\":[{\"_given\":[{}]}],\"birthDate\":\"1970\",\"_birthDate\":[1],\"deceasedBoolean\":false,\"deceasedDateTime\":\"2000\"}",
+    "{\"resourceType\":\"Patient\",\"fhir_comments\":[\"top\"],\"id\":\"a\\u00e9\\n\",\"_active\":{\"extension\":[]}}",
+    "{\"resourceType\":\"Unknown\",\"a\":1}",
+    "{\"resourceType\":\"Patient\",\"id\":\"a\",\"id\":\"b\"}",
+    "{\"id\":\"a\"}",
+    // not json
+    "{\"resourceType\":\"Patient\",\"id\":\"a\"",
+    "[1,2]",
+    "{\"resourceType\":\"Patient\",\"id\":tru}",
+  };
+
+  @BeforeAll
+  public static void setUp() throws Exception {
+    context = ElementModelDefinitions.makeContext();
+  }
+
+  private Element parseTree(String source, List<ValidationMessage> errors) throws Exception {
+    JsonParser parser = new JsonParser(context);
+    parser.setupValidation(ValidationPolicy.EVERYTHING, errors);
+    Map<JsonElement, LocationData> map = new IdentityHashMap<>();
+    JsonObject obj;
+    try {
+      obj = JsonTrackingParser.parse(source, map, false, false);
+    } catch (Exception e) {
+      // the two parsers word json syntax errors differently
+      errors.add(new ValidationMessage().setLevel(IssueSeverity.FATAL).setLocation("(document)").setMessage("syntax error"));
+      return null;
+    }
+    return parser.parse(obj, map);
+  }
+
+  private Element parseStream(String source, List<ValidationMessage> errors) throws Exception {
+    JsonParser parser = new JsonParser(context);
+    parser.setupValidation(ValidationPolicy.EVERYTHING, errors);
+    return parser.parse(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private void describe(StringBuilder b, Element e, String indent) {
+    b.append(indent+e.getName()+" : "+e.getType()+" ["+e.getIndex()+"] = "+e.getValue()+(e.hasComments() ? " "+e.getComments() : "")+(e.getXhtml() != null ? " (xhtml)" : "")+" "+e.getSpecial()+"\r\n");
+    for (Element c : e.getChildren()) {
+      describe(b, c, indent+"  ");
+    }
+  }
+
+  private String describe(Element e) {
+    StringBuilder b = new StringBuilder();
+    if (e != null) {
+      describe(b, e, "");
+    }
+    return b.toString();
+  }
+
+  private String describe(List<ValidationMessage> errors) {
+    StringBuilder b = new StringBuilder();
+    for (ValidationMessage vm : errors) {
+      String msg = vm.getMessage() != null && vm.getMessage().contains("Error parsing JSON") ? "syntax error" : vm.getMessage();
+      b.append(vm.getLevel()+" "+vm.getLocation()+" "+msg+"\r\n");
+    }
+    return b.toString();
+  }
+
+  @Test
+  public void testSameAsTree() throws Exception {
+    for (String source : CASES) {
+      List<ValidationMessage> treeErrors = new ArrayList<>();
+      List<ValidationMessage> streamErrors = new ArrayList<>();
+      Element tree = parseTree(source, treeErrors);
+      Element stream = parseStream(source, streamErrors);
+      Assertions.assertEquals(describe(tree), describe(stream), source);
+      Assertions.assertEquals(describe(treeErrors), describe(streamErrors), source);
+    }
+  }
+
+  @Test
+  public void testLargeBundle() throws Exception {
+    StringBuilder b = new StringBuilder();
+    b.append("{\n  \"resourceType\": \"Bundle\",\n  \"type\": \"collection\",\n  \"entry\": [");
+    for (int i = 0; i < 500; i++) {
+      b.append(i == 0 ? "" : ",");
+      b.append("\n    {\n      \"resource\": {\n        \"resourceType\": \"Patient\",\n        \"id\": \"p"+i+"\",\n");
+      b.append("        \"name\": [\n          {\n            \"family\": \"Smith"+i+"\",\n            \"given\": [\"a\", \"b\"]\n          }\n        ],\n");
+      b.append("        \"active\": "+(i % 7 == 0 ? "\"yes\"" : "true")+"\n      }\n    }");
+    }
+    b.append("\n  ]\n}\n");
+    List<ValidationMessage> treeErrors = new ArrayList<>();
+    List<ValidationMessage> streamErrors = new ArrayList<>();
+    String tree = describe(parseTree(b.toString(), treeErrors));
+    Assertions.assertEquals(tree, describe(parseStream(b.toString(), streamErrors)));
+    Assertions.assertEquals(describe(treeErrors), describe(streamErrors));
+    Assertions.assertEquals(72, streamErrors.size());
+  }
+
+  @Test
+  public void testLocations() throws Exception {
+    String source =
+        "{\n"+
+        "  \"resourceType\": \"Patient\",\n"+
+        "  \"active\": \"yes\",\n"+
+        "  \"name\": [\n"+
+        "    {\n"+
+        "      \"family\": \"Smith\"\n"+
+        "    }\n"+
+        "  ]\n"+
+        "}\n";
+    List<ValidationMessage> errors = new ArrayList<>();
+    Element patient = parseStream(source, errors);
+    Assertions.assertEquals(1, patient.line());
+    Assertions.assertEquals(1, patient.col());
+    // the start of the value
+    Element active = patient.getNamedChild("active");
+    Assertions.assertEquals(3, active.line());
+    Assertions.assertEquals(13, active.col());
+    Assertions.assertEquals(1, errors.size());
+    Assertions.assertEquals(3, errors.get(0).getLine());
+    Assertions.assertEquals(13, errors.get(0).getCol());
+    Element name = patient.getNamedChild("name");
+    Assertions.assertEquals(5, name.line());
+    Assertions.assertEquals(5, name.col());
+    Assertions.assertEquals(6, name.getNamedChild("family").line());
+    Assertions.assertEquals(17, name.getNamedChild("family").col());
+
+    // the tree parser reported the location after the token following the value
+    errors.clear();
+    patient = parseTree(source, errors);
+    Assertions.assertEquals(3, patient.getNamedChild("active").line());
+    Assertions.assertEquals(19, patient.getNamedChild("active").col());
+    Assertions.assertEquals(7, patient.getNamedChild("name").getNamedChild("family").line());
+  }
+}
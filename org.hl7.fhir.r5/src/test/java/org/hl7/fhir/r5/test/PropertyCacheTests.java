@@ -0,0 +1,101 @@
+package org.hl7.fhir.r5.test;
+
+import java.util.List;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.elementmodel.Property;
+import org.hl7.fhir.r5.elementmodel.PropertyCache;
+import org.hl7.fhir.r5.model.ElementDefinition;
+import org.hl7.fhir.r5.model.StructureDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PropertyCacheTests {
+
+  private StructureDefinition makeStructure(String url) {
+    StructureDefinition sd = new StructureDefinition();
+    sd.setUrl(url);
+    sd.setVersion("1.0.0");
+    sd.setName("Test");
+    sd.setType("Test");
+    for (String path : new String[] { "Test", "Test.a", "Test.b", "Test.b.c", "Test.b.d", "Test.e" }) {
+      sd.getSnapshot().addElement((ElementDefinition) new ElementDefinition(path).setId(path));
+    }
+    return sd;
+  }
+
+  private String names(List<Property> properties) {
+    StringBuilder b = new StringBuilder();
+    for (Property p : properties) {
+      b.append(p.getName());
+    }
+    return b.toString();
+  }
+
+  @Test
+  public void testChildren() throws Exception {
+    PropertyCache cache = new PropertyCache(new SimpleWorkerContext());
+    StructureDefinition sd = makeStructure("http://example.org/StructureDefinition/Test");
+    ElementDefinition root = sd.getSnapshot().getElementFirstRep();
+    Assertions.assertEquals("abe", names(cache.getChildProperties(sd, root)));
+    Assertions.assertEquals("cd", names(cache.getChildProperties(sd, sd.getSnapshot().getElement().get(2))));
+    Assertions.assertTrue(cache.getChildDefinitions(sd, sd.getSnapshot().getElement().get(1)).isEmpty());
+    Assertions.assertEquals(3, cache.size());
+    // the lists are reused
+    Assertions.assertSame(cache.getChildProperties(sd, root), cache.getChildProperties(sd, root));
+    Assertions.assertSame(sd.getSnapshot().getElement().get(1), cache.getChildDefinitions(sd, root).get(0));
+  }
+
+  @Test
+  public void testCopies() throws Exception {
+    PropertyCache cache = new PropertyCache(new SimpleWorkerContext());
+    StructureDefinition sd = makeStructure("http://example.org/StructureDefinition/Test");
+    cache.getChildProperties(sd, sd.getSnapshot().getElementFirstRep());
+    // a copy with the same url and version takes the place of the original, rather than adding to the cache
+    for (int i = 0; i < 10; i++) {
+      StructureDefinition copy = sd.copy();
+      List<ElementDefinition> children = cache.getChildDefinitions(copy, copy.getSnapshot().getElementFirstRep());
+      Assertions.assertSame(copy.getSnapshot().getElement().get(1), children.get(0));
+      Assertions.assertEquals(1, cache.size());
+    }
+    // a different structure definition gets its own entry
+    StructureDefinition other = makeStructure("http://example.org/StructureDefinition/Other");
+    cache.getChildProperties(other, other.getSnapshot().getElementFirstRep());
+    Assertions.assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testRegeneratedSnapshot() throws Exception {
+    PropertyCache cache = new PropertyCache(new SimpleWorkerContext());
+    StructureDefinition sd = makeStructure("http://example.org/StructureDefinition/Test");
+    Assertions.assertEquals("abe", names(cache.getChildProperties(sd, sd.getSnapshot().getElementFirstRep())));
+    // the same structure definition with a new snapshot
+    sd.getSnapshot().getElement().clear();
+    for (String path : new String[] { "Test", "Test.x", "Test.y" }) {
+      sd.getSnapshot().addElement((ElementDefinition) new ElementDefinition(path).setId(path));
+    }
+    Assertions.assertEquals("xy", names(cache.getChildProperties(sd, sd.getSnapshot().getElementFirstRep())));
+    Assertions.assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testBounded() throws Exception {
+    PropertyCache cache = new PropertyCache(new SimpleWorkerContext(), 3);
+    for (int i = 0; i < 10; i++) {
+      StructureDefinition sd = makeStructure("http://example.org/StructureDefinition/Test" + i);
+      Assertions.assertEquals("abe", names(cache.getChildProperties(sd, sd.getSnapshot().getElementFirstRep())));
+      Assertions.assertTrue(cache.size() <= 3);
+    }
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new PropertyCache(new SimpleWorkerContext(), 0));
+  }
+
+  @Test
+  public void testClearedByContext() throws Exception {
+    SimpleWorkerContext context = new SimpleWorkerContext();
+    StructureDefinition sd = makeStructure("http://example.org/StructureDefinition/Test");
+    context.getPropertyCache().getChildProperties(sd, sd.getSnapshot().getElementFirstRep());
+    Assertions.assertEquals(1, context.getPropertyCache().size());
+    context.cacheResource(makeStructure("http://example.org/StructureDefinition/Other"));
+    Assertions.assertEquals(0, context.getPropertyCache().size());
+  }
+}
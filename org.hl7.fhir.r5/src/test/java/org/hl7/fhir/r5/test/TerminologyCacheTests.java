@@ -0,0 +1,190 @@
+package org.hl7.fhir.r5.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+
+import org.hl7.fhir.r5.context.IWorkerContext.ValidationResult;
+import org.hl7.fhir.r5.context.TerminologyCache;
+import org.hl7.fhir.r5.context.TerminologyCache.CacheToken;
+import org.hl7.fhir.r5.model.CodeSystem.ConceptDefinitionComponent;
+import org.hl7.fhir.r5.model.Coding;
+import org.hl7.fhir.r5.model.Enumerations.FilterOperator;
+import org.hl7.fhir.r5.model.ValueSet;
+import org.hl7.fhir.r5.model.ValueSet.ConceptSetComponent;
+import org.hl7.fhir.r5.terminologies.ValueSetExpander.ValueSetExpansionOutcome;
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.validation.ValidationMessage.IssueSeverity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TerminologyCacheTests {
+
+  private static final String SYSTEM = "http://loinc.org";
+
+  @Test
+  public void testJournalReplay() throws Exception {
+    String folder = makeFolder();
+    TerminologyCache cache = new TerminologyCache(new Object(), folder);
+    for (int i = 0; i < 10; i++) {
+      cache.cacheValidation(token(cache, i), result("display "+i), TerminologyCache.PERMANENT);
+    }
+    // replace one - the replacement is appended, not rewritten
+    cache.cacheValidation(token(cache, 3), result("changed"), TerminologyCache.PERMANENT);
+    Assertions.assertEquals(11, countEntries(folder));
+
+    TerminologyCache reloaded = new TerminologyCache(new Object(), folder);
+    for (int i = 0; i < 10; i++) {
+      ValidationResult vr = reloaded.getValidation(token(reloaded, i));
+      Assertions.assertNotNull(vr);
+      Assertions.assertEquals(i == 3 ? "changed" : "display "+i, vr.getDisplay());
+    }
+    reloaded.close();
+    Assertions.assertEquals(10, countEntries(folder));
+  }
+
+  @Test
+  public void testCompaction() throws Exception {
+    String folder = makeFolder();
+    TerminologyCache cache = new TerminologyCache(new Object(), folder);
+    cache.cacheValidation(token(cache, 0), result("first"), TerminologyCache.PERMANENT);
+    for (int i = 0; i < 500; i++) {
+      cache.cacheValidation(token(cache, 1), result("display "+i), TerminologyCache.PERMANENT);
+    }
+    Assertions.assertTrue(countEntries(folder) < 300);
+    TerminologyCache reloaded = new TerminologyCache(new Object(), folder);
+    Assertions.assertEquals("first", reloaded.getValidation(token(reloaded, 0)).getDisplay());
+    Assertions.assertEquals("display 499", reloaded.getValidation(token(reloaded, 1)).getDisplay());
+  }
+
+  @Test
+  public void testBackgroundFlush() throws Exception {
+    String folder = makeFolder();
+    TerminologyCache cache = new TerminologyCache(new Object(), folder);
+    cache.startBackgroundFlush(60000);
+    for (int i = 0; i < 20; i++) {
+      cache.cacheValidation(token(cache, i), result("display "+i), TerminologyCache.PERMANENT);
+    }
+    Assertions.assertEquals(0, countEntries(folder));
+    cache.close();
+    Assertions.assertEquals(20, countEntries(folder));
+    TerminologyCache reloaded = new TerminologyCache(new Object(), folder);
+    Assertions.assertEquals("display 19", reloaded.getValidation(token(reloaded, 19)).getDisplay());
+  }
+
+  @Test
+  public void testBackgroundFlushShutdownHook() throws Exception {
+    TerminologyCache cache = new TerminologyCache(new Object(), makeFolder());
+    Field f = TerminologyCache.class.getDeclaredField("shutdownHook");
+    f.setAccessible(true);
+    for (int i = 0; i < 3; i++) {
+      cache.startBackgroundFlush(60000);
+      cache.startBackgroundFlush(60000);
+      Assertions.assertTrue(cache.isBackgroundFlush());
+      Thread hook = (Thread) f.get(cache);
+      Assertions.assertNotNull(hook);
+      cache.close();
+      Assertions.assertFalse(cache.isBackgroundFlush());
+      Assertions.assertNull(f.get(cache));
+      // close() has already removed it
+      Assertions.assertFalse(Runtime.getRuntime().removeShutdownHook(hook));
+    }
+  }
+
+  @Test
+  public void testStructuralKeys() throws Exception {
+    TerminologyCache cache = new TerminologyCache(new Object(), null);
+    cache.cacheValidation(token(cache, 1), result("one"), TerminologyCache.TRANSIENT);
+    // same content, different objects
+    Assertions.assertEquals("one", cache.getValidation(token(cache, 1)).getDisplay());
+    Assertions.assertNull(cache.getValidation(token(cache, 2)));
+
+    ValueSet vs = new ValueSet();
+    vs.setUrl("http://test.org/fhir/ValueSet/vs");
+    vs.getCompose().addInclude().setSystem(SYSTEM);
+    Coding c = new Coding(SYSTEM, "code1", "Code One");
+    cache.cacheValidation(cache.generateValidationToken(null, c, vs), result("in vs"), TerminologyCache.TRANSIENT);
+    Assertions.assertEquals("in vs", cache.getValidation(cache.generateValidationToken(null, c.copy(), vs)).getDisplay());
+    // changing the value set changes the key
+    vs.getCompose().addInclude().setSystem("http://snomed.info/sct");
+    Assertions.assertNull(cache.getValidation(cache.generateValidationToken(null, c, vs)));
+  }
+
+  @Test
+  public void testValueSetChangedInPlace() throws Exception {
+    TerminologyCache cache = new TerminologyCache(new Object(), null);
+    ValueSet vs = new ValueSet();
+    vs.setUrl("http://test.org/fhir/ValueSet/vs");
+    vs.setVersion("1");
+    ConceptSetComponent inc = vs.getCompose().addInclude().setSystem(SYSTEM);
+    Coding c = new Coding(SYSTEM, "code1", null);
+    cache.cacheValidation(cache.generateValidationToken(null, c, vs), result("before"), TerminologyCache.TRANSIENT);
+    Assertions.assertEquals("before", cache.getValidation(cache.generateValidationToken(null, c, vs)).getDisplay());
+
+    // adding a filter doesn't change the url, version, or compose object
+    inc.addFilter().setProperty("concept").setOp(FilterOperator.ISA).setValue("1234");
+    Assertions.assertNull(cache.getValidation(cache.generateValidationToken(null, c, vs)));
+    cache.cacheValidation(cache.generateValidationToken(null, c, vs), result("filtered"), TerminologyCache.TRANSIENT);
+    // changing a value in place needs a new version
+    inc.getFilterFirstRep().setValue("5678");
+    vs.setVersion("2");
+    Assertions.assertNull(cache.getValidation(cache.generateValidationToken(null, c, vs)));
+    inc.getFilterFirstRep().setValue("1234");
+    vs.setVersion("3");
+    Assertions.assertEquals("filtered", cache.getValidation(cache.generateValidationToken(null, c, vs)).getDisplay());
+
+    // codes added to or removed from an expansion
+    ValueSet exp = new ValueSet();
+    exp.getExpansion().addContains().setSystem(SYSTEM).setCode("a");
+    exp.getExpansion().addContains().setSystem(SYSTEM).setCode("b");
+    cache.cacheExpansion(cache.generateExpandToken(exp, false), new ValueSetExpansionOutcome(exp.copy()), TerminologyCache.TRANSIENT);
+    Assertions.assertNotNull(cache.getExpansion(cache.generateExpandToken(exp, false)));
+    exp.getExpansion().addContains().setSystem(SYSTEM).setCode("c");
+    Assertions.assertNull(cache.getExpansion(cache.generateExpandToken(exp, false)));
+    exp.getExpansion().getContains().remove(2);
+    Assertions.assertNotNull(cache.getExpansion(cache.generateExpandToken(exp, false)));
+  }
+
+  @Test
+  public void testValueSetKeyRemembered() throws Exception {
+    TerminologyCache cache = new TerminologyCache(new Object(), null);
+    ValueSet vs = new ValueSet();
+    vs.setUrl("http://test.org/fhir/ValueSet/vs");
+    vs.getCompose().addInclude().setSystem(SYSTEM);
+    Coding c = new Coding(SYSTEM, "code1", null);
+    cache.cacheValidation(cache.generateValidationToken(null, c, vs), result("before"), TerminologyCache.TRANSIENT);
+    // a change that leaves the lists alone isn't seen, as the key is remembered for the value set object...
+    vs.getCompose().getIncludeFirstRep().setSystem("http://test.org/fhir/other");
+    Assertions.assertEquals("before", cache.getValidation(cache.generateValidationToken(null, c, vs)).getDisplay());
+    // ...but it is for a copy, since the key is worked out from the content
+    Assertions.assertNull(cache.getValidation(cache.generateValidationToken(null, c, vs.copy())));
+    // and for a new compose
+    vs.setCompose(vs.getCompose().copy());
+    Assertions.assertNull(cache.getValidation(cache.generateValidationToken(null, c, vs)));
+  }
+
+  private CacheToken token(TerminologyCache cache, int i) {
+    ValueSet vs = new ValueSet();
+    vs.getCompose().addInclude().setSystem(SYSTEM);
+    return cache.generateValidationToken(null, new Coding(SYSTEM, "code"+i, null), vs);
+  }
+
+  private ValidationResult result(String display) {
+    return new ValidationResult(IssueSeverity.INFORMATION, null, new ConceptDefinitionComponent().setDisplay(display));
+  }
+
+  private String makeFolder() throws IOException {
+    return Files.createTempDirectory("txcache").toFile().getAbsolutePath();
+  }
+
+  private int countEntries(String folder) throws IOException {
+    File f = new File(Utilities.path(folder, "loinc.cache"));
+    if (!f.exists()) {
+      return 0;
+    }
+    String src = TextFile.fileToString(f);
+    return src.split("####").length - 1;
+  }
+}
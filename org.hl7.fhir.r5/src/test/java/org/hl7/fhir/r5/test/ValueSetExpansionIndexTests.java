@@ -0,0 +1,31 @@
+package org.hl7.fhir.r5.test;
+
+import org.hl7.fhir.r5.model.ValueSet;
+import org.hl7.fhir.r5.model.ValueSet.ValueSetExpansionContainsComponent;
+import org.hl7.fhir.r5.terminologies.ValueSetExpansionIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ValueSetExpansionIndexTests {
+
+  private static final String SYSTEM = "http://test.org/CodeSystem/test";
+
+  @Test
+  public void testIndex() {
+    ValueSet vs = new ValueSet();
+    ValueSetExpansionContainsComponent a = vs.getExpansion().addContains().setSystem(SYSTEM).setCode("a");
+    ValueSetExpansionContainsComponent b = a.addContains().setSystem(SYSTEM).setCode("b");
+    a.addContains().setSystem(SYSTEM).setCode("a").setDisplay("duplicate");
+    vs.getExpansion().addContains().setSystem("http://test.org/CodeSystem/other").setCode("c");
+    vs.getExpansion().addContains().setDisplay("grouping entry, with no code");
+
+    ValueSetExpansionIndex index = ValueSetExpansionIndex.forExpansion(vs.getExpansion());
+    Assertions.assertSame(index, ValueSetExpansionIndex.forExpansion(vs.getExpansion()));
+    Assertions.assertSame(a, index.find(SYSTEM, "a"));
+    Assertions.assertSame(b, index.find(SYSTEM, "b"));
+    Assertions.assertTrue(index.contains("http://test.org/CodeSystem/other", "c"));
+    Assertions.assertFalse(index.contains(SYSTEM, "c"));
+    Assertions.assertFalse(index.contains(null, "a"));
+    Assertions.assertFalse(index.contains(SYSTEM, null));
+  }
+}
@@ -0,0 +1,101 @@
+package org.hl7.fhir.r5.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.model.CodeSystem;
+import org.hl7.fhir.r5.model.Resource;
+import org.hl7.fhir.r5.model.ValueSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Many threads reading from one context (as several validators sharing a context do) while
+ * resources are still being added and dropped
+ */
+public class WorkerContextConcurrencyTests {
+
+  private static final int RESOURCE_COUNT = 2000;
+  private static final int LOOKUPS = 200000;
+
+  @Test
+  public void testConcurrentReads() throws Exception {
+    SimpleWorkerContext context = makeContext();
+    for (int threads : new int[] {1, 4, 16}) {
+      int errors = runLookups(context, threads, false);
+      Assertions.assertEquals(0, errors);
+    }
+  }
+
+  @Test
+  public void testReadsWhileWriting() throws Exception {
+    SimpleWorkerContext context = makeContext();
+    int errors = runLookups(context, 8, true);
+    Assertions.assertEquals(0, errors);
+  }
+
+  private int runLookups(SimpleWorkerContext context, int threads, boolean writing) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+    AtomicInteger errors = new AtomicInteger();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final int offset = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < LOOKUPS / threads; i++) {
+            int n = (i + offset) % RESOURCE_COUNT;
+            if (context.fetchResource(Resource.class, "http://test.org/fhir/ValueSet/vs"+n) == null) {
+              errors.incrementAndGet();
+            }
+            if (context.fetchCodeSystem("http://test.org/fhir/CodeSystem/cs"+n) == null) {
+              errors.incrementAndGet();
+            }
+            if (context.fetchResource(Resource.class, "http://test.org/fhir/ValueSet/unknown"+n) != null) {
+              errors.incrementAndGet();
+            }
+          }
+        }));
+      }
+      if (writing) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            ValueSet vs = makeValueSet("extra"+i);
+            context.cacheResource(vs);
+            context.dropResource(vs);
+          }
+        }));
+      }
+      for (Future<?> f : futures) {
+        f.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    return errors.get();
+  }
+
+  private SimpleWorkerContext makeContext() throws Exception {
+    SimpleWorkerContext context = new SimpleWorkerContext();
+    for (int i = 0; i < RESOURCE_COUNT; i++) {
+      context.cacheResource(makeValueSet(Integer.toString(i)));
+      CodeSystem cs = new CodeSystem();
+      cs.setId("cs"+i);
+      cs.setUrl("http://test.org/fhir/CodeSystem/cs"+i);
+      context.cacheResource(cs);
+    }
+    return context;
+  }
+
+  private ValueSet makeValueSet(String n) {
+    ValueSet vs = new ValueSet();
+    vs.setId("vs"+n);
+    vs.setUrl("http://test.org/fhir/ValueSet/vs"+n);
+    vs.setVersion("1.0.0");
+    return vs;
+  }
+}
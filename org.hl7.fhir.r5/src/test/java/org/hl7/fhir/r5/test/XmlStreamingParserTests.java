@@ -0,0 +1,198 @@
+package org.hl7.fhir.r5.test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.sax.SAXSource;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.elementmodel.Element;
+import org.hl7.fhir.r5.elementmodel.ParserBase.ValidationPolicy;
+import org.hl7.fhir.r5.elementmodel.XmlParser;
+import org.hl7.fhir.r5.utils.formats.XmlLocationAnnotator;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
+import org.hl7.fhir.utilities.validation.ValidationMessage.IssueSeverity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * parse(InputStream) builds the elements from SAX events, instead of building a DOM annotated with
+ * XmlLocationAnnotator and walking it with parse(Document). These check that the two give the same
+ * elements, locations and errors.
+ */
+public class XmlStreamingParserTests {
+
+  private static final String FHIR = " xmlns=\"http://hl7.org/fhir\"";
+
+  private static SimpleWorkerContext context;
+
+  private static final String[] CASES = {
+    "<Patient"+FHIR+"><id value=\"p1\"/><active value=\"true\"/><gender value=\"male\"/><birthDate value=\"1970-03-04\"/></Patient>",
+    // comments, processing instructions and cdata, in and around the resource
+    "<?xml version=\"1.0\"?><!--pre--><?pi a?><Patient"+FHIR+"><!--c0--><id value=\"a\"/><![CDATA[x]]><?pi x?><active value=\"true\"/><!--c1--></Patient><?pi b?>",
+    // text where there shouldn't be any
+    "<Patient"+FHIR+"><id value=\"a\"/>junk<active value=\"true\"/> more <gender value=\"male\"/></Patient>",
+    // unknown attributes and elements, empty elements
+    "<Patient"+FHIR+" foo=\"1\" id=\"2\"><id/><bar><x/></bar><active value=\"true\" extra=\"1\"/><name><given value=\"a\"/><family value=\"b\"/></name><birthDate value=\"1970\"/></Patient>",
+    // xhtml, with its own namespaces and comments, and contained resources
+    "<Patient"+FHIR+"><text><status value=\"generated\"/><div xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:x=\"urn:x\"><p class=\"a\">hi <b>there</b><!--hc--></p></div></text><contained><!--cc--><Organization><name value=\"o\"/></Organization><Patient/></contained></Patient>",
+    // attributes that are properties, on primitives and extensions
+    "<Patient"+FHIR+"><extension url=\"http://example.org/ext\"><valueString value=\"v\"/></extension><name id=\"n1\"><given id=\"g1\" value=\"a\"><extension url=\"u\"><valueCode value=\"c\"/></extension></given></name></Patient>",
+    // choice types
+    "<Observation"+FHIR+"><status value=\"final\"/><code><text value=\"x\"/></code><valueQuantity><value value=\"1.0\"/></valueQuantity><valueString value=\"x\"/><component><code/></component></Observation>",
+    "<Bundle"+FHIR+"><type value=\"collection\"/><entry><resource><Patient><active value=\"1\"/></Patient></resource></entry><entry><resource><Unknown/></resource></entry></Bundle>",
+    // namespaces
+    "<Patient xmlns=\"urn:wrong\"><id value=\"a\"/></Patient>",
+    "<f:Patient xmlns:f=\"http://hl7.org/fhir\"><f:id value=\"a\"/></f:Patient>",
+    "<Patient"+FHIR+"><name><given value=\"a\"/><f:family xmlns:f=\"http://hl7.org/fhir\" value=\"b\"/><family xmlns=\"urn:other\" value=\"c\"/></name></Patient>",
+    "<Unknown"+FHIR+"><id value=\"a\"/></Unknown>",
+    // locations, over several lines
+    "<Patient"+FHIR+">\n  <id value=\"a\"/>\n  <active\n    value=\"yes\"/>\n  <name>\n    <family value=\"x\"/>\n  </name>\n</Patient>",
+  };
+
+  @BeforeAll
+  public static void setUp() throws Exception {
+    context = ElementModelDefinitions.makeContext();
+  }
+
+  private Element parseDom(String source, List<ValidationMessage> errors) throws Exception {
+    XmlParser parser = new XmlParser(context);
+    parser.setupValidation(ValidationPolicy.EVERYTHING, errors);
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setNamespaceAware(true);
+    Document doc = factory.newDocumentBuilder().newDocument();
+    SAXParserFactory spf = SAXParserFactory.newInstance();
+    spf.setNamespaceAware(true);
+    XMLReader xmlReader = spf.newSAXParser().getXMLReader();
+    SAXSource source1 = new SAXSource(new XmlLocationAnnotator(xmlReader, doc), new InputSource(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8))));
+    TransformerFactory.newInstance().newTransformer().transform(source1, new DOMResult(doc));
+    return parser.parse(doc);
+  }
+
+  private Element parseStream(String source, List<ValidationMessage> errors) throws Exception {
+    XmlParser parser = new XmlParser(context);
+    parser.setupValidation(ValidationPolicy.EVERYTHING, errors);
+    return parser.parse(new BufferedInputStream(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private void describe(StringBuilder b, Element e, String indent) {
+    b.append(indent+e.getName()+" : "+e.getType()+" ["+e.getIndex()+"] = "+e.getValue()+" @"+e.line()+":"+e.col()+(e.hasComments() ? " "+e.getComments() : "")+(e.getXhtml() != null ? " "+e.getValue() : "")+" "+e.getSpecial()+"\r\n");
+    for (Element c : e.getChildren()) {
+      describe(b, c, indent+"  ");
+    }
+  }
+
+  private String describe(Element e) {
+    StringBuilder b = new StringBuilder();
+    if (e != null) {
+      describe(b, e, "");
+    }
+    return b.toString();
+  }
+
+  private String describe(List<ValidationMessage> errors) {
+    StringBuilder b = new StringBuilder();
+    for (ValidationMessage vm : errors) {
+      b.append(vm.getLevel()+" "+vm.getLine()+":"+vm.getCol()+" "+vm.getLocation()+" "+vm.getMessage()+"\r\n");
+    }
+    return b.toString();
+  }
+
+  @Test
+  public void testSameAsDom() throws Exception {
+    for (String source : CASES) {
+      List<ValidationMessage> domErrors = new ArrayList<>();
+      List<ValidationMessage> streamErrors = new ArrayList<>();
+      Element dom = null;
+      Element stream = null;
+      String domException = null;
+      String streamException = null;
+      try {
+        dom = parseDom(source, domErrors);
+      } catch (Exception e) {
+        domException = e.getClass().getName();
+      }
+      try {
+        stream = parseStream(source, streamErrors);
+      } catch (Exception e) {
+        streamException = e.getClass().getName();
+      }
+      Assertions.assertEquals(domException, streamException, source);
+      Assertions.assertEquals(describe(dom), describe(stream), source);
+      Assertions.assertEquals(describe(domErrors), describe(streamErrors), source);
+    }
+  }
+
+  @Test
+  public void testLargeBundle() throws Exception {
+    StringBuilder b = new StringBuilder();
+    b.append("<Bundle"+FHIR+">\n  <type value=\"collection\"/>\n");
+    for (int i = 0; i < 500; i++) {
+      b.append("  <entry>\n    <resource>\n      <Patient>\n        <id value=\"p"+i+"\"/>\n");
+      b.append("        <name>\n          <family value=\"Smith"+i+"\"/>\n          <given value=\"a\"/>\n          <given value=\"b\"/>\n        </name>\n");
+      b.append("        <active value=\"true\"/>\n"+(i % 7 == 0 ? "        <foo/>\n" : "")+"      </Patient>\n    </resource>\n  </entry>\n");
+    }
+    b.append("</Bundle>\n");
+    List<ValidationMessage> domErrors = new ArrayList<>();
+    List<ValidationMessage> streamErrors = new ArrayList<>();
+    Assertions.assertEquals(describe(parseDom(b.toString(), domErrors)), describe(parseStream(b.toString(), streamErrors)));
+    Assertions.assertEquals(describe(domErrors), describe(streamErrors));
+    Assertions.assertEquals(72, streamErrors.size());
+  }
+
+  @Test
+  public void testLocations() throws Exception {
+    List<ValidationMessage> errors = new ArrayList<>();
+    Element patient = parseStream(CASES[CASES.length - 1], errors);
+    // the location of an element is the end of its start tag
+    Assertions.assertEquals(1, patient.line());
+    Assertions.assertEquals(38, patient.col());
+    Assertions.assertEquals(2, patient.getNamedChild("id").line());
+    Assertions.assertEquals(4, patient.getNamedChild("active").line());
+    Assertions.assertEquals(6, patient.getNamedChild("name").getNamedChild("family").line());
+  }
+
+  @Test
+  public void testEmptyResource() throws Exception {
+    // parse(Document) fails with a NullPointerException on this, so it is reported like any other empty element
+    List<ValidationMessage> errors = new ArrayList<>();
+    Element bundle = parseStream("<Bundle"+FHIR+"><type value=\"collection\"/><entry><resource/></entry></Bundle>", errors);
+    Assertions.assertFalse(bundle.getNamedChild("entry").getNamedChild("resource").hasChildren());
+    Assertions.assertEquals("ERROR 1:81 /f:Bundle/f:entry/f:resource Element must have some content\r\n", describe(errors));
+  }
+
+  @Test
+  public void testSyntaxError() throws Exception {
+    List<ValidationMessage> errors = new ArrayList<>();
+    Assertions.assertNull(parseStream("<Patient"+FHIR+">\n  <id value=\"a\">\n</Patient>", errors));
+    Assertions.assertEquals(1, errors.size());
+    ValidationMessage vm = errors.get(0);
+    Assertions.assertEquals(IssueSeverity.FATAL, vm.getLevel());
+    Assertions.assertEquals("(syntax)", vm.getLocation());
+    // the parser's message, with the location reported separately
+    Assertions.assertFalse(vm.getMessage().startsWith("org.xml.sax"), vm.getMessage());
+    Assertions.assertTrue(vm.getMessage().contains("\"id\""), vm.getMessage());
+    Assertions.assertEquals(3, vm.getLine());
+
+    // errors found before the syntax error are dropped
+    errors.clear();
+    Assertions.assertNull(parseStream("<Patient"+FHIR+"><active value=\"yes\"/><foo/><id value=\"a\"></Patient>", errors));
+    Assertions.assertEquals(1, errors.size());
+
+    // and a doctype isn't allowed at all
+    errors.clear();
+    Assertions.assertNull(parseStream("<!DOCTYPE foo [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]><Patient"+FHIR+"><id value=\"&xxe;\"/></Patient>", errors));
+    Assertions.assertEquals(IssueSeverity.FATAL, errors.get(0).getLevel());
+  }
+}
@@ -0,0 +1,82 @@
+package org.hl7.fhir.utilities;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count, total, maximum and histogram of durations (in nanoseconds), which any number of threads can record at once.
+ *
+ * The histogram buckets are cumulative, as in the Prometheus text format: bucket i counts the durations up to
+ * BUCKET_BOUNDS[i], and the last bucket counts everything.
+ */
+public class LatencyHistogram {
+
+  /**
+   * the upper bounds of the buckets, in nanoseconds: 10µs, 100µs, 1ms, 10ms, 100ms, 1s, 10s
+   */
+  public static final long[] BUCKET_BOUNDS = {10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L};
+
+  private LongAdder count = new LongAdder();
+  private LongAdder total = new LongAdder();
+  private LongAccumulator max = new LongAccumulator(Long::max, 0);
+  private AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length);
+
+  public void record(long nanos) {
+    count.increment();
+    total.add(nanos);
+    max.accumulate(nanos);
+    for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+      if (nanos <= BUCKET_BOUNDS[i]) {
+        buckets.incrementAndGet(i);
+        return;
+      }
+    }
+  }
+
+  /**
+   * record the time since start (a value from System.nanoTime())
+   */
+  public void recordSince(long start) {
+    record(System.nanoTime() - start);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotal() {
+    return total.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @return the number of durations up to BUCKET_BOUNDS[i] (cumulative), for each bucket
+   */
+  public long[] getBuckets() {
+    long[] res = new long[BUCKET_BOUNDS.length];
+    long sum = 0;
+    for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+      sum = sum + buckets.get(i);
+      res[i] = sum;
+    }
+    return res;
+  }
+
+  public void reset() {
+    count.reset();
+    total.reset();
+    max.reset();
+    for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+      buckets.set(i, 0);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Utilities.presentDuration(getTotal())+" (#"+getCount()+", max "+Utilities.presentDuration(getMax())+")";
+  }
+}
@@ -31,39 +31,89 @@ package org.hl7.fhir.utilities;
 
 
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+/**
+ * Writes the resources found in a set of JSON files to a zip with an NDJSON file for each resource type.
+ *
+ * The files are read with a streaming JSON reader, and Bundles are split into their entries as they are read,
+ * so no file is held in memory as a JSON tree. Files are read in parallel, but the resources are written in the
+ * order of the files, so the output is the same whatever the number of threads. Each file being read passes its
+ * resources to the writer through a small queue, and waits when the queue is full, so memory use depends on the
+ * number of threads, not on the size of the files. Only the first resource with a given type and id is written.
+ *
+ * Resources of different types are found in any order, but zip entries have to be written one at a time, so
+ * each type is written to its own file in the scratch folder, and streamed into the zip on close.
+ */
 public class NDJsonWriter {
 
   private class ResourceInfo {
-    private FileOutputStream stream;
+    private File file;
+    private Writer writer;
     private Set<String> ids = new HashSet<String>();
-    public OutputStreamWriter writer;
   }
-  
-  private static com.google.gson.JsonParser  parser = new com.google.gson.JsonParser();
-  private Gson gson = new GsonBuilder().create();
+
+  private static class FoundResource {
+    private String type;
+    private String id;
+    private String json;
+
+    private FoundResource(String type, String id, String json) {
+      this.type = type;
+      this.id = id;
+      this.json = json;
+    }
+  }
+
+  private static class PendingFile {
+    private BlockingQueue<FoundResource> resources;
+    private Future<Void> task;
+
+    private PendingFile(int queueSize) {
+      this.resources = new ArrayBlockingQueue<FoundResource>(queueSize);
+    }
+  }
+
+  private static final FoundResource END_OF_FILE = new FoundResource(null, null, null);
+
   private Map<String, ResourceInfo> outputs = new HashMap<String, ResourceInfo>();
   private String filename;
   private String scratch;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private int queueSize = 100;
   
   public NDJsonWriter(String filename, String scratch) {
     this.filename = filename;
@@ -71,9 +121,32 @@ public class NDJsonWriter {
     outputs.clear();
   }
 
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * @param threads - the number of files to read at once
+   */
+  public void setThreads(int threads) {
+    this.threads = Math.max(threads, 1);
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  /**
+   * @param queueSize - the number of resources each file being read can have waiting to be written
+   */
+  public void setQueueSize(int queueSize) {
+    this.queueSize = Math.max(queueSize, 1);
+  }
+
   public void addFilesFiltered(String actualDir, String ext, String[] noExt) throws IOException {
     File f = new CSFile(actualDir);
 
+    List<File> list = new ArrayList<File>();
     String files[] = f.list();
     for (int i = 0; i < files.length; i++) {
       if ( new CSFile(actualDir + files[i]).isFile() && ((ext == null || files[i].endsWith(ext)))) {
@@ -82,67 +155,223 @@ public class NDJsonWriter {
           ok = ok && !files[i].endsWith(n);
         }
         if (ok) {
-          addFile(Utilities.path(actualDir, files[i]));
+          list.add(new CSFile(Utilities.path(actualDir, files[i])));
         }
       }
     }
+    addFiles(list);
   }
 
-  private void addFile(String path) throws JsonSyntaxException, FileNotFoundException, IOException {
-    JsonObject js = parser.parse(TextFile.fileToString(path)).getAsJsonObject();
-    if (js.has("resourceType")) {
-      addResource(js);  
+  private void addFiles(List<File> files) throws IOException {
+    if (files.isEmpty()) {
+      return;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()));
+    Deque<PendingFile> pending = new ArrayDeque<PendingFile>();
+    try {
+      // there are never more files being read than threads, so the file being written always has a thread reading it
+      for (File file : files) {
+        if (pending.size() >= threads) {
+          write(pending.removeFirst());
+        }
+        PendingFile p = new PendingFile(queueSize);
+        p.task = executor.submit(() -> readFile(file, p.resources));
+        pending.add(p);
+      }
+      while (!pending.isEmpty()) {
+        write(pending.removeFirst());
+      }
+    } finally {
+      executor.shutdownNow();
     }
   }
 
-  private void addResource(JsonObject js) throws IOException {
-    String rn = js.get("resourceType").getAsString();    
-    if (rn.equals("Bundle")) {
-      if (js.has("entry")) {
-        for (JsonElement item : js.getAsJsonArray("entry")) {
-          if (item instanceof JsonObject && ((JsonObject) item).has("resource")) {
-            JsonObject r = (JsonObject) ((JsonObject) item).get("resource");
-            rn = r.get("resourceType").getAsString();
-            addResource(r);  
-          }
+  private Void readFile(File file, BlockingQueue<FoundResource> res) throws IOException, InterruptedException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new BufferedInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+      reader.mark(1);
+      if (reader.read() != '\uFEFF') {
+        reader.reset();
+      }
+      JsonReader json = makeReader(reader);
+      if (json.peek() == JsonToken.BEGIN_OBJECT) {
+        readResource(json, false, res);
+      }
+    } catch (InterruptedIOException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException("Error reading "+file.getAbsolutePath()+": "+e.getMessage(), e);
+    } finally {
+      res.put(END_OF_FILE);
+    }
+    return null;
+  }
+
+  private JsonReader makeReader(Reader reader) {
+    JsonReader json = new JsonReader(reader);
+    json.setLenient(true);
+    return json;
+  }
+
+  /**
+   * Reads a resource, copying it to compact JSON as it goes. If the resource is a Bundle, the resources in the entries
+   * are read instead, without copying the Bundle.
+   *
+   * @param bundle - true if the resource is known to be a Bundle before its resourceType is read
+   */
+  private void readResource(JsonReader reader, boolean bundle, BlockingQueue<FoundResource> res) throws IOException {
+    StringWriter buffer = new StringWriter();
+    JsonWriter writer = new JsonWriter(buffer);
+    writer.setLenient(true);
+    writer.setHtmlSafe(true);
+    writer.setSerializeNulls(false);
+
+    String type = null;
+    String id = null;
+    boolean split = false;
+    reader.beginObject();
+    writer.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (name.equals("entry") && (bundle || "Bundle".equals(type)) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+        readEntries(reader, res);
+        split = true;
+      } else {
+        writer.name(name);
+        if (name.equals("resourceType") && reader.peek() == JsonToken.STRING) {
+          type = reader.nextString();
+          writer.value(type);
+        } else if (name.equals("id") && reader.peek() == JsonToken.STRING) {
+          id = reader.nextString();
+          writer.value(id);
+        } else {
+          copy(reader, writer);
         }
       }
-    } else {
-      if (!js.has("id"))
-        return;
-
-      String id = js.get("id").getAsString();
-      String json = gson.toJson(js);
-      
-      if (outputs.containsKey(rn)) { 
-        ResourceInfo ri = outputs.get(rn);
-        if (!ri.ids.contains(id)) {
-          ri.ids.add(id);
-          ri.writer.append("\r\n");      
-          ri.writer.append(json);
+    }
+    reader.endObject();
+    writer.endObject();
+    writer.close();
+
+    if ("Bundle".equals(type)) {
+      if (!split && !bundle) {
+        // the entries came before the resourceType, so they were copied. Read them again now we know it's a Bundle
+        readResource(makeReader(new StringReader(buffer.toString())), true, res);
+      }
+    } else if (type != null && id != null) {
+      try {
+        res.put(new FoundResource(type, id, buffer.toString()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted reading "+type+"/"+id);
+      }
+    }
+  }
+
+  private void readEntries(JsonReader reader, BlockingQueue<FoundResource> res) throws IOException {
+    reader.beginArray();
+    while (reader.hasNext()) {
+      if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if (reader.nextName().equals("resource") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+            readResource(reader, false, res);
+          } else {
+            reader.skipValue();
+          }
         }
+        reader.endObject();
       } else {
-        ResourceInfo ri = new ResourceInfo();
-        outputs.put(rn, ri);
-        ri.ids.add(id);
-        ri.stream = new FileOutputStream(Utilities.path(scratch, rn+".ndjson"));
-        ri.writer = new OutputStreamWriter(ri.stream, "UTF-8");
-        ri.writer.append(json);      
+        reader.skipValue();
       }
     }
+    reader.endArray();
+  }
+
+  private void copy(JsonReader reader, JsonWriter writer) throws IOException {
+    switch (reader.peek()) {
+    case BEGIN_OBJECT:
+      reader.beginObject();
+      writer.beginObject();
+      while (reader.hasNext()) {
+        writer.name(reader.nextName());
+        copy(reader, writer);
+      }
+      reader.endObject();
+      writer.endObject();
+      break;
+    case BEGIN_ARRAY:
+      reader.beginArray();
+      writer.beginArray();
+      while (reader.hasNext()) {
+        copy(reader, writer);
+      }
+      reader.endArray();
+      writer.endArray();
+      break;
+    case STRING:
+      writer.value(reader.nextString());
+      break;
+    case NUMBER:
+      // keep the number exactly as it was written
+      writer.jsonValue(reader.nextString());
+      break;
+    case BOOLEAN:
+      writer.value(reader.nextBoolean());
+      break;
+    case NULL:
+      reader.nextNull();
+      writer.nullValue();
+      break;
+    default:
+      throw new IOException("Unexpected JSON token "+reader.peek());
+    }
+  }
+
+  private void write(PendingFile file) throws IOException {
+    try {
+      FoundResource r;
+      while ((r = file.resources.take()) != END_OF_FILE) {
+        write(r);
+      }
+      file.task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted writing "+filename, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  private void write(FoundResource r) throws IOException {
+    ResourceInfo ri = outputs.get(r.type);
+    if (ri == null) {
+      ri = new ResourceInfo();
+      outputs.put(r.type, ri);
+      ri.file = new File(Utilities.path(scratch, r.type+".ndjson"));
+      ri.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(ri.file), StandardCharsets.UTF_8));
+    }
+    if (ri.ids.add(r.id)) {
+      if (ri.ids.size() > 1) {
+        ri.writer.append("\r\n");
+      }
+      ri.writer.append(r.json);
+    }
   }
 
   public void close() throws IOException {
     ZipGenerator zip = new ZipGenerator(filename);
-    for (String rn : sorted(outputs.keySet())) {
-      ResourceInfo ri = outputs.get(rn);
-      ri.writer.flush();
-      ri.writer.close();
-      ri.stream.close();
-      
-      zip.addStream(rn+".ndjson", new FileInputStream(Utilities.path(scratch, rn+".ndjson")), false);
+    try {
+      for (String rn : sorted(outputs.keySet())) {
+        ResourceInfo ri = outputs.get(rn);
+        ri.writer.close();
+        zip.addStream(rn+".ndjson", new FileInputStream(ri.file), false);
+      }
+    } finally {
+      zip.close();
     }
-    zip.close();
   }
 
   private List<String> sorted(Set<String> keys) {
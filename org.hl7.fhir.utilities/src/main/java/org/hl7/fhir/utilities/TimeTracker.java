@@ -1,12 +1,12 @@
 package org.hl7.fhir.utilities;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
-import org.hl7.fhir.utilities.TimeTracker.Counter;
-
+/**
+ * Named timings (e.g. loading, validation) for reporting progress. A TimeTracker can be shared by threads:
+ * the timings are totals across all the threads.
+ */
 public class TimeTracker {
 
   public class Counter {
@@ -29,8 +29,7 @@ public class TimeTracker {
     }
   }
   
-  private List<Session> sessions = new ArrayList<>();
-  private List<Counter> records = new ArrayList<>();
+  private Map<String, Counter> records = new LinkedHashMap<>();
   private long globalStart;
   private long milestone = 0;
   
@@ -40,43 +39,28 @@ public class TimeTracker {
     globalStart = System.nanoTime();
   }
 
-  public Session start(String name) {
-    Counter c = null;
-    for (Counter t : records) {
-      if (t.name.equals(name)) {
-        c = t;
-      }
-    }
-    if (c == null) {
-      c = new Counter(name);
-      records.add(c);
+  public synchronized Session start(String name) {
+    if (!records.containsKey(name)) {
+      records.put(name, new Counter(name));
     }
-    Session session = new Session(name);
-    sessions.add(session);
-    return session;
+    return new Session(name);
   }
 
-  private void endSession(Session session) {
-    sessions.remove(session);
-    Counter c = null;
-    for (Counter t : records) {
-      if (t.name.equals(session.name)) {
-        c = t;
-      }
-    }
+  private synchronized void endSession(Session session) {
+    Counter c = records.get(session.name);
     c.count++;
     c.length = c.length + System.nanoTime() - session.start;
   }
 
   
-  public String report() {
+  public synchronized String report() {
     CommaSeparatedStringBuilder b = new CommaSeparatedStringBuilder();
-    for (Counter c : records) {
+    for (Counter c : records.values()) {
       if (c.count == 1) {
         b.append(c.name+": "+Utilities.presentDuration(c.length));
       }
     }
-    for (Counter c : records) {
+    for (Counter c : records.values()) {
       if (c.count > 1) {
         b.append(c.name+": "+Utilities.presentDuration(c.length)+" (#"+c.count+")");
       }
@@ -92,7 +76,7 @@ public class TimeTracker {
     return Utilities.presentDuration(System.nanoTime() - globalStart);
   }
 
-  public String milestone() {
+  public synchronized String milestone() {
     long start = milestone == 0 ? globalStart : milestone ;
     milestone = System.nanoTime();
     return Utilities.presentDuration(milestone - start);
@@ -68,6 +68,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is a package cache manager implementation that uses a local disk cache
@@ -123,7 +124,9 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
     if (files != null) {
       for (File f : files) {
         if (f.getName().endsWith(".tgz")) {
-          temporaryPackages.add(NpmPackage.fromPackage(new FileInputStream(f)));
+          File archive = File.createTempFile("package", ".archive");
+          archive.deleteOnExit();
+          temporaryPackages.add(NpmPackage.fromPackage(new FileInputStream(f), archive, f.getName(), false));
         }
       }
     }
@@ -273,9 +276,11 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
       File ff = new File(f);
       if (ff.exists()) {
         Utilities.clearDirectory(f);
-        IniFile ini = new IniFile(Utilities.path(cacheFolder, "packages.ini"));
-        ini.removeProperty("packages", id + "#" + ver);
-        ini.save();
+        synchronized (this) {
+          IniFile ini = new IniFile(Utilities.path(cacheFolder, "packages.ini"));
+          ini.removeProperty("packages", id + "#" + ver);
+          ini.save();
+        }
         ff.delete();
       }
       return null;
@@ -329,8 +334,16 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
       System.out.print("  Fetching:");
     }
 
-    NpmPackage npm = NpmPackage.fromPackage(packageTgzInputStream, sourceDesc, true);
+    // the files are held in a temporary archive until they are installed, rather than in memory
+    File archive = File.createTempFile("package", ".archive");
+    try {
+      return installPackage(id, version, NpmPackage.fromPackage(packageTgzInputStream, archive, sourceDesc, true));
+    } finally {
+      archive.delete();
+    }
+  }
 
+  private NpmPackage installPackage(String id, String version, NpmPackage npm) throws IOException {
     if (progress) {
       System.out.println();
       System.out.print("  Installing: ");
@@ -364,9 +377,9 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
             String dir = e.getKey().equals("package") ? Utilities.path(packRoot, "package") : Utilities.path(packRoot, "package", e.getKey());
             if (!(new File(dir).exists()))
               Utilities.createDirectory(dir);
-            for (Entry<String, byte[]> fe : e.getValue().getContent().entrySet()) {
-              String fn = Utilities.path(dir, fe.getKey());
-              byte[] cnt = fe.getValue();
+            for (String s : e.getValue().listAllFiles()) {
+              String fn = Utilities.path(dir, s);
+              byte[] cnt = e.getValue().fetchFile(s);
               TextFile.bytesToFile(cnt, fn);
               size = size + cnt.length;
               i++;
@@ -383,11 +396,13 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
           }
 
 
-          IniFile ini = new IniFile(Utilities.path(cacheFolder, "packages.ini"));
-          ini.setTimeStampFormat("yyyyMMddhhmmss");
-          ini.setTimestampProperty("packages", id + "#" + v, Timestamp.from(Instant.now()), null);
-          ini.setIntegerProperty("package-sizes", id + "#" + v, size, null);
-          ini.save();
+          synchronized (this) { // packages.ini is shared by all the packages
+            IniFile ini = new IniFile(Utilities.path(cacheFolder, "packages.ini"));
+            ini.setTimeStampFormat("yyyyMMddhhmmss");
+            ini.setTimestampProperty("packages", id + "#" + v, Timestamp.from(Instant.now()), null);
+            ini.setIntegerProperty("package-sizes", id + "#" + v, size, null);
+            ini.save();
+          }
           if (progress)
             System.out.println(" done.");
         }
@@ -582,7 +597,7 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
     }
   }
 
-  private boolean checkBuildLoaded() {
+  private synchronized boolean checkBuildLoaded() {
     if (buildLoaded)
       return true;
     try {
@@ -834,6 +849,12 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
     }
   }
 
+  /**
+   * File locks are held by the JVM, not the thread, so the lock file is also locked in the JVM, so that
+   * several threads can install packages at once
+   */
+  private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
   public class CacheLock {
 
     private final File lockFile;
@@ -846,18 +867,20 @@ public class FilesystemPackageCacheManager extends BasePackageCacheManager imple
     }
 
     public <T> T doWithLock(CacheLockFunction<T> f) throws FileNotFoundException, IOException {
-      try (FileChannel channel = new RandomAccessFile(lockFile, "rw").getChannel()) {
-        final FileLock fileLock = channel.lock();
-        T result = null;
-        try {
-          result = f.get();
-        } finally {
-          fileLock.release();
-        }
-        if (!lockFile.delete()) {
-          lockFile.deleteOnExit();
+      synchronized (LOCKS.computeIfAbsent(lockFile.getAbsolutePath(), s -> new Object())) {
+        try (FileChannel channel = new RandomAccessFile(lockFile, "rw").getChannel()) {
+          final FileLock fileLock = channel.lock();
+          T result = null;
+          try {
+            result = f.get();
+          } finally {
+            fileLock.release();
+          }
+          if (!lockFile.delete()) {
+            lockFile.deleteOnExit();
+          }
+          return result;
         }
-        return result;
       }
     }
   }
@@ -45,6 +45,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -148,9 +149,12 @@ public class NpmPackage {
   public class NpmPackageFolder {
     private String name;
     private Map<String, List<String>> types = new HashMap<>();
+    private Map<String, Map<String, String>> canonicals = new HashMap<>(); // url -> version -> filename, in index order
+    private Map<String, String> resources = new HashMap<>(); // type/id -> filename
     private Map<String, byte[]> content = new HashMap<>();
     private JsonObject index;
     private File folder;
+    private NpmPackageArchive archive; // if there is one, it has the files, and folder or content are only used for anything it doesn't have
 
     public NpmPackageFolder(String name) {
       super();
@@ -170,6 +174,8 @@ public class NpmPackage {
         return false;
       }
       this.index = index;
+      canonicals.clear();
+      resources.clear();
       for (JsonElement e : index.getAsJsonArray("files")) {
         JsonObject file = (JsonObject) e;
         String type = JSONUtil.str(file, "resourceType");
@@ -177,21 +183,70 @@ public class NpmPackage {
         if (!types.containsKey(type))
           types.put(type, new ArrayList<>());
         types.get(type).add(name);
+        String url = JSONUtil.str(file, "url");
+        if (url != null) {
+          Map<String, String> versions = canonicals.get(url);
+          if (versions == null) {
+            versions = new LinkedHashMap<>();
+            canonicals.put(url, versions);
+          }
+          versions.putIfAbsent(JSONUtil.str(file, "version"), name);
+        }
+        String id = JSONUtil.str(file, "id");
+        if (type != null && id != null) {
+          resources.putIfAbsent(type+"/"+id, name);
+        }
       }
       return true;
     }
 
+    /**
+     * @param version - the version, or null for the first resource in the index with this url
+     * @return the filename of the resource with this url (and version), or null
+     */
+    public String getFilenameForCanonical(String url, String version) {
+      Map<String, String> versions = canonicals.get(url);
+      if (versions == null) {
+        return null;
+      } else if (version == null) {
+        return versions.values().iterator().next();
+      } else {
+        return versions.get(version);
+      }
+    }
+
+    public String getFilenameForResource(String type, String id) {
+      return resources.get(type+"/"+id);
+    }
+
     public List<String> listFiles() {
+      return listFiles(false);
+    }
+
+    /**
+     * @return all the files in the folder, including package.json and .index.json
+     */
+    public List<String> listAllFiles() {
+      return listFiles(true);
+    }
+
+    private List<String> listFiles(boolean all) {
       List<String> res = new ArrayList<>();
-      if (folder != null) {
+      if (archive != null) {
+        for (String s : archive.listFiles(name)) {
+          if (all || !Utilities.existsInList(s, "package.json", ".index.json")) {
+            res.add(s);
+          }
+        }
+      } else if (folder != null) {
         for (File f : folder.listFiles()) {
-          if (!f.isDirectory() && !Utilities.existsInList(f.getName(), "package.json", ".index.json")) {
+          if (!f.isDirectory() && (all || !Utilities.existsInList(f.getName(), "package.json", ".index.json"))) {
             res.add(f.getName());
           }
         }
       } else {
         for (String s : content.keySet()) {
-          if (!Utilities.existsInList(s, "package.json", ".index.json")) {
+          if (all || !Utilities.existsInList(s, "package.json", ".index.json")) {
             res.add(s);
           }
         }
@@ -200,12 +255,17 @@ public class NpmPackage {
       return res;
     }
 
+    /**
+     * The files of a package that was read into memory. This is empty if the files are read from a folder or an archive
+     */
     public Map<String, byte[]> getContent() {
       return content;
     }
 
     public byte[] fetchFile(String file) throws FileNotFoundException, IOException {
-      if (folder != null) {
+      if (archive != null && archive.hasFile(name, file)) {
+        return archive.getBytes(name, file);
+      } else if (folder != null) {
         File f = new File(Utilities.path(folder.getAbsolutePath(), file));
         if (f.exists()) {
           return TextFile.fileToBytes(f);
@@ -218,7 +278,9 @@ public class NpmPackage {
     }
 
     public boolean hasFile(String file) throws IOException {
-      if (folder != null) {
+      if (archive != null && archive.hasFile(name, file)) {
+        return true;
+      } else if (folder != null) {
         return new File(Utilities.path(folder.getAbsolutePath(), file)).exists();
       } else {
         return content.containsKey(file);
@@ -231,6 +293,9 @@ public class NpmPackage {
     }
 
     public void removeFile(String n) throws IOException {
+      if (archive != null) {
+        archive.removeFile(name, n);
+      }
       if (folder != null) {
         new File(Utilities.path(folder.getAbsolutePath(), n)).delete();
       } else {
@@ -313,7 +378,7 @@ public class NpmPackage {
   }
 
   public static boolean isInternalExemptFile(File f) {
-    return Utilities.existsInList(f.getName(), ".git", ".svn") || Utilities.existsInList(f.getName(), "package-list.json");
+    return Utilities.existsInList(f.getName(), ".git", ".svn") || Utilities.existsInList(f.getName(), "package-list.json", NpmPackageArchive.FILENAME);
   }
 
   private void loadSubFolders(String rootPath, File dir) throws IOException {
@@ -370,7 +435,27 @@ public class NpmPackage {
     return res;
   }
 
+  /**
+   * Factory method that parses a package from a tgz, and keeps the content of the files in an archive
+   * rather than in memory. The archive file is replaced if it exists
+   */
+  public static NpmPackage fromPackage(InputStream tgz, File archive, String desc, boolean progress) throws IOException {
+    NpmPackage res = new NpmPackage();
+    try (NpmPackageArchive.Writer writer = new NpmPackageArchive.Writer(archive)) {
+      res.readEntries(tgz, desc, progress, writer);
+      writer.commit();
+    }
+    res.useArchive(NpmPackageArchive.open(archive));
+    res.readManifest(desc);
+    return res;
+  }
+
   public void readStream(InputStream tgz, String desc, boolean progress) throws IOException {
+    readEntries(tgz, desc, progress, null);
+    readManifest(desc);
+  }
+
+  private void readEntries(InputStream tgz, String desc, boolean progress, NpmPackageArchive.Writer archive) throws IOException {
     GzipCompressorInputStream gzipIn;
     try {
       gzipIn = new GzipCompressorInputStream(tgz);
@@ -391,6 +476,12 @@ public class NpmPackage {
             dir = dir.substring(8);
           }
           folders.put(dir, new NpmPackageFolder(dir));
+        } else if (archive != null) {
+          String dir = folderName(n);
+          if (!folders.containsKey(dir)) {
+            folders.put(dir, new NpmPackageFolder(dir));
+          }
+          archive.add(dir, n.substring(n.lastIndexOf("/")+1), tarIn);
         } else {
           int count;
           byte data[] = new byte[BUFFER_SIZE];
@@ -414,6 +505,9 @@ public class NpmPackage {
         }
       }
     } 
+  }
+
+  private void readManifest(String desc) throws IOException {
     try {
       npm = JsonTrackingParser.parseJson(folders.get("package").fetchFile("package.json"));
     } catch (Exception e) {
@@ -423,10 +517,7 @@ public class NpmPackage {
   }
 
   public void loadFile(String n, byte[] data) throws IOException {
-    String dir = n.contains("/") ? n.substring(0, n.lastIndexOf("/")) : "$root";
-    if (dir.startsWith("package/")) {
-      dir = dir.substring(8);
-    }
+    String dir = folderName(n);
     n = n.substring(n.lastIndexOf("/")+1);
     NpmPackageFolder index = folders.get(dir);
     if (index == null) {
@@ -436,6 +527,28 @@ public class NpmPackage {
     index.content.put(n, data);
   }
 
+  private String folderName(String n) {
+    String dir = n.contains("/") ? n.substring(0, n.lastIndexOf("/")) : "$root";
+    if (dir.startsWith("package/")) {
+      dir = dir.substring(8);
+    }
+    return dir;
+  }
+
+  /**
+   * read the files from the archive rather than from the folders or memory they were loaded from
+   */
+  private void useArchive(NpmPackageArchive archive) {
+    for (String name : archive.getFolders()) {
+      NpmPackageFolder folder = folders.get(name);
+      if (folder == null) {
+        folder = new NpmPackageFolder(name);
+        folders.put(name, folder);
+      }
+      folder.archive = archive;
+    }
+  }
+
   private void checkIndexed(String desc) throws IOException {
     for (NpmPackageFolder folder : folders.values()) {
       if (folder.index == null) {
@@ -471,37 +584,58 @@ public class NpmPackage {
 
   public static NpmPackage fromZip(InputStream stream, boolean dropRootFolder, String desc) throws IOException {
     NpmPackage res = new NpmPackage();
+    res.readZipEntries(stream, dropRootFolder, null);
+    res.readManifest(desc);
+    return res;
+  }
+
+  /**
+   * Factory method that parses a package from a zip, and keeps the content of the files in an archive
+   * rather than in memory. The archive file is replaced if it exists
+   */
+  public static NpmPackage fromZip(InputStream stream, boolean dropRootFolder, File archive, String desc) throws IOException {
+    NpmPackage res = new NpmPackage();
+    try (NpmPackageArchive.Writer writer = new NpmPackageArchive.Writer(archive)) {
+      res.readZipEntries(stream, dropRootFolder, writer);
+      writer.commit();
+    }
+    res.useArchive(NpmPackageArchive.open(archive));
+    res.readManifest(desc);
+    return res;
+  }
+
+  private void readZipEntries(InputStream stream, boolean dropRootFolder, NpmPackageArchive.Writer archive) throws IOException {
     ZipInputStream zip = new ZipInputStream(stream);
     ZipEntry ze;
     while ((ze = zip.getNextEntry()) != null) {
-      int size;
-      byte[] buffer = new byte[2048];
+      String n = dropRootFolder ? ze.getName().substring(ze.getName().indexOf("/")+1) : ze.getName();
+      if (ze.isDirectory()) {
+        // the folders are created for the files in them
+      } else if (archive != null) {
+        String dir = folderName(n);
+        if (!folders.containsKey(dir)) {
+          folders.put(dir, new NpmPackageFolder(dir));
+        }
+        archive.add(dir, n.substring(n.lastIndexOf("/")+1), zip);
+      } else {
+        int size;
+        byte[] buffer = new byte[2048];
 
-      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-      BufferedOutputStream bos = new BufferedOutputStream(bytes, buffer.length);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputStream bos = new BufferedOutputStream(bytes, buffer.length);
 
-      while ((size = zip.read(buffer, 0, buffer.length)) != -1) {
-        bos.write(buffer, 0, size);
-      }
-      bos.flush();
-      bos.close();
-      if (bytes.size() > 0) {
-        if (dropRootFolder) {
-          res.loadFile(ze.getName().substring(ze.getName().indexOf("/")+1), bytes.toByteArray());
-        } else {
-          res.loadFile(ze.getName(), bytes.toByteArray());
+        while ((size = zip.read(buffer, 0, buffer.length)) != -1) {
+          bos.write(buffer, 0, size);
+        }
+        bos.flush();
+        bos.close();
+        if (bytes.size() > 0) {
+          loadFile(n, bytes.toByteArray());
         }
       }
       zip.closeEntry();
     }
-    zip.close();         
-    try {
-      res.npm = JsonTrackingParser.parseJson(res.folders.get("package").fetchFile("package.json"));
-    } catch (Exception e) {
-      throw new IOException("Error parsing "+(desc == null ? "" : desc+"#")+"package/package.json: "+e.getMessage(), e);
-    }
-    res.checkIndexed(desc);
-    return res;
+    zip.close();
   }
 
 
@@ -609,26 +743,8 @@ public class NpmPackage {
    */
   public InputStream loadByCanonicalVersion(String folder, String canonical, String version) throws IOException {
     NpmPackageFolder f = folders.get(folder);
-    List<JsonObject> matches = new ArrayList<>();
-    for (JsonElement e : f.index.getAsJsonArray("files")) {
-      JsonObject file = (JsonObject) e;
-      if (canonical.equals(JSONUtil.str(file, "url"))) {
-        if (version != null && version.equals(JSONUtil.str(file, "version"))) {
-          return load("package", JSONUtil.str(file, "filename"));
-        } else if (version == null) {
-          matches.add(file);
-        }
-      }
-      if (matches.size() > 0) {
-        if (matches.size() == 1) {
-          return load("package", JSONUtil.str(matches.get(0), "filename"));          
-        } else {
-          Collections.sort(matches, new IndexVersionSorter());
-          return load("package", JSONUtil.str(matches.get(matches.size()-1), "filename"));          
-        }
-      }
-    }
-    return null;        
+    String filename = f.getFilenameForCanonical(canonical, version);
+    return filename == null ? null : load("package", filename);
   }
     
   /**
@@ -822,25 +938,16 @@ public class NpmPackage {
 
   public InputStream loadResource(String type, String id) throws IOException {
     NpmPackageFolder f = folders.get("package");
-    JsonArray files = f.index.getAsJsonArray("files");
-    for (JsonElement e : files) {
-      JsonObject i = (JsonObject) e;
-      if (type.equals(JSONUtil.str(i, "resourceType")) && id.equals(JSONUtil.str(i, "id"))) {
-        return load("package", JSONUtil.str(i, "filename"));
-      }
-    }
-    return null;
+    String filename = f.getFilenameForResource(type, id);
+    return filename == null ? null : load("package", filename);
   }
 
   public InputStream loadExampleResource(String type, String id) throws IOException {
     NpmPackageFolder f = folders.get("example");
     if (f != null) {
-      JsonArray files = f.index.getAsJsonArray("files");
-      for (JsonElement e : files) {
-        JsonObject i = (JsonObject) e;
-        if (type.equals(JSONUtil.str(i, "resourceType")) && id.equals(JSONUtil.str(i, "id"))) {
-          return load("example", JSONUtil.str(i, "filename"));
-        }
+      String filename = f.getFilenameForResource(type, id);
+      if (filename != null) {
+        return load("example", filename);
       }
     }
     return null;
@@ -1067,17 +1174,7 @@ public class NpmPackage {
     String u = url.contains("|") ?  url.substring(0, url.indexOf("|")) : url;
     String v = url.contains("|") ?  url.substring(url.indexOf("|")+1) : null;
     NpmPackageFolder folder = folders.get("package");
-    if (folder != null) {
-      for (JsonElement e : folder.index.getAsJsonArray("files")) {
-        JsonObject o = (JsonObject) e;
-        if (u.equals(JSONUtil.str(o, "url"))) {
-          if (v == null || v.equals(JSONUtil.str(o, "version"))) {
-            return true;
-          }
-        }
-      }
-    }
-    return false;
+    return folder != null && folder.getFilenameForCanonical(u, v) != null;
   }
 
   public boolean canLazyLoad() throws IOException {
@@ -0,0 +1,236 @@
+package org.hl7.fhir.utilities.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The files of a package, stored in a single file on disk: the content of each of the files, and
+ * then an index of where each file is. Only the index is read when the archive is opened; the content
+ * of a file is read from the archive when it is asked for, so the content of a package doesn't have to
+ * be held on the heap.
+ *
+ * The archive isn't kept open (or memory mapped) between reads, so the archive, and the package folder
+ * it is in, can be deleted or replaced while it is in use - on Windows, a file that is open or mapped
+ * can't be. Reading a file after the archive has been replaced fails.
+ *
+ * Archives are written once (see Writer), and not changed afterwards. An archive can't be bigger than 2GB.
+ *
+ */
+public class NpmPackageArchive {
+
+  public static final String FILENAME = "package.archive";
+
+  private static final int MAGIC = 0x4E504D41; // "NPMA"
+  private static final int FORMAT_VERSION = 1;
+  private static final int TRAILER_SIZE = 16;
+
+  private static class FileEntry {
+    private int offset;
+    private int length;
+  }
+
+  /**
+   * Writes an archive. The archive is written to a temporary file alongside the target, and only
+   * replaces the target when it is committed, so a reader never sees a partially written archive.
+   * Closing a writer that hasn't been committed discards what was written
+   */
+  public static class Writer implements Closeable {
+    private File target;
+    private File temp;
+    private DataOutputStream stream;
+    private long offset;
+    private List<String> folders = new ArrayList<>();
+    private List<String> names = new ArrayList<>();
+    private List<int[]> entries = new ArrayList<>();
+    private byte[] buffer = new byte[8192];
+
+    public Writer(File target) throws IOException {
+      super();
+      this.target = target;
+      this.temp = File.createTempFile("package", ".tmp", target.getAbsoluteFile().getParentFile());
+      this.stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), buffer.length));
+    }
+
+    public void add(String folder, String name, byte[] content) throws IOException {
+      add(folder, name, new ByteArrayInputStream(content));
+    }
+
+    public void add(String folder, String name, InputStream content) throws IOException {
+      long start = offset;
+      int count;
+      while ((count = content.read(buffer, 0, buffer.length)) != -1) {
+        stream.write(buffer, 0, count);
+        offset = offset + count;
+      }
+      checkSize();
+      folders.add(folder);
+      names.add(name);
+      entries.add(new int[] {(int) start, (int) (offset - start)});
+    }
+
+    public void commit() throws IOException {
+      int indexOffset = (int) offset;
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream index = new DataOutputStream(bytes);
+      for (int i = 0; i < entries.size(); i++) {
+        index.writeUTF(folders.get(i));
+        index.writeUTF(names.get(i));
+        index.writeInt(entries.get(i)[0]);
+        index.writeInt(entries.get(i)[1]);
+      }
+      offset = offset + bytes.size();
+      checkSize();
+      bytes.writeTo(stream);
+      stream.writeInt(indexOffset);
+      stream.writeInt(entries.size());
+      stream.writeInt(FORMAT_VERSION);
+      stream.writeInt(MAGIC);
+      stream.close();
+      Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void close() throws IOException {
+      stream.close();
+      temp.delete();
+    }
+
+    private void checkSize() throws IOException {
+      if (offset > Integer.MAX_VALUE - TRAILER_SIZE) {
+        throw new IOException("Unable to write the package archive "+target.getAbsolutePath()+": the package is too big");
+      }
+    }
+  }
+
+  private File file;
+  private long size;
+  private long lastModified;
+  private Map<String, Map<String, FileEntry>> folders = new HashMap<>();
+
+  private NpmPackageArchive(File file) {
+    super();
+    this.file = file;
+  }
+
+  public static NpmPackageArchive open(File file) throws IOException {
+    NpmPackageArchive res = new NpmPackageArchive(file);
+    res.read();
+    return res;
+  }
+
+  private void read() throws IOException {
+    byte[] index;
+    int count;
+    int indexOffset;
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      size = raf.length();
+      lastModified = file.lastModified();
+      if (size < TRAILER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IOException("The file "+file.getAbsolutePath()+" is not a package archive");
+      }
+      int end = (int) size - TRAILER_SIZE;
+      raf.seek(end);
+      indexOffset = raf.readInt();
+      count = raf.readInt();
+      int version = raf.readInt();
+      if (raf.readInt() != MAGIC || version != FORMAT_VERSION || indexOffset < 0 || indexOffset > end) {
+        throw new IOException("The file "+file.getAbsolutePath()+" is not a package archive, or is a different version");
+      }
+      index = new byte[end - indexOffset];
+      raf.seek(indexOffset);
+      raf.readFully(index);
+    }
+    DataInputStream stream = new DataInputStream(new ByteArrayInputStream(index));
+    for (int i = 0; i < count; i++) {
+      String folder = stream.readUTF();
+      String name = stream.readUTF();
+      FileEntry entry = new FileEntry();
+      entry.offset = stream.readInt();
+      entry.length = stream.readInt();
+      if (entry.offset < 0 || entry.length < 0 || (long) entry.offset + entry.length > indexOffset) {
+        throw new IOException("The package archive "+file.getAbsolutePath()+" is corrupt");
+      }
+      Map<String, FileEntry> files = folders.get(folder);
+      if (files == null) {
+        files = new TreeMap<>();
+        folders.put(folder, files);
+      }
+      files.put(name, entry);
+    }
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public Set<String> getFolders() {
+    return folders.keySet();
+  }
+
+  public boolean hasFolder(String folder) {
+    return folders.containsKey(folder);
+  }
+
+  public boolean hasFile(String folder, String name) {
+    return getEntry(folder, name) != null;
+  }
+
+  /**
+   * @return the names of the files in the folder, in order
+   */
+  public List<String> listFiles(String folder) {
+    Map<String, FileEntry> files = folders.get(folder);
+    return files == null ? new ArrayList<>() : new ArrayList<>(files.keySet());
+  }
+
+  /**
+   * @return the content of the file, or null if there is no such file
+   */
+  public byte[] getBytes(String folder, String name) throws IOException {
+    FileEntry entry = getEntry(folder, name);
+    if (entry == null) {
+      return null;
+    }
+    byte[] res = new byte[entry.length];
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      if (raf.length() != size || file.lastModified() != lastModified) {
+        throw new IOException("The package archive "+file.getAbsolutePath()+" has changed since it was opened");
+      }
+      raf.seek(entry.offset);
+      raf.readFully(res);
+    }
+    return res;
+  }
+
+  /**
+   * drop the file from the list of files in the archive (the content stays in the archive file)
+   */
+  public void removeFile(String folder, String name) {
+    Map<String, FileEntry> files = folders.get(folder);
+    if (files != null) {
+      files.remove(name);
+    }
+  }
+
+  private FileEntry getEntry(String folder, String name) {
+    Map<String, FileEntry> files = folders.get(folder);
+    return files == null ? null : files.get(name);
+  }
+}
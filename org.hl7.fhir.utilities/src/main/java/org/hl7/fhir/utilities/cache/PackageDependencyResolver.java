@@ -0,0 +1,127 @@
+package org.hl7.fhir.utilities.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+import org.hl7.fhir.exceptions.FHIRException;
+
+/**
+ * Loads a set of packages, and all the packages that they depend on, directly or indirectly,
+ * through a package cache manager.
+ *
+ * The dependencies of a package are only known once its package.json has been read, so the
+ * graph is worked out as the packages are loaded: each package is submitted as soon as a
+ * package that depends on it has been loaded, and up to 'threads' packages are fetched and
+ * installed at once. Each package is only loaded once, however many packages depend on it.
+ *
+ * The cache manager has to allow packages to be loaded from several threads at once
+ * (FilesystemPackageCacheManager does).
+ *
+ */
+public class PackageDependencyResolver {
+
+  public static final int DEFAULT_THREADS = 4;
+
+  private static class LoadedPackage {
+    private String key;
+    private NpmPackage npm;
+  }
+
+  private IPackageCacheManager pcm;
+  private int threads;
+  private Predicate<String> filter = s -> true;
+
+  public PackageDependencyResolver(IPackageCacheManager pcm) {
+    this(pcm, DEFAULT_THREADS);
+  }
+
+  public PackageDependencyResolver(IPackageCacheManager pcm, int threads) {
+    super();
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1");
+    }
+    this.pcm = pcm;
+    this.threads = threads;
+  }
+
+  /**
+   * @param filter - which packages (id#version) to load. Packages that are filtered out are not loaded, and neither
+   * are their dependencies (unless some other package also depends on them)
+   */
+  public PackageDependencyResolver setFilter(Predicate<String> filter) {
+    this.filter = filter;
+    return this;
+  }
+
+  /**
+   * @param packages - the packages to load, as id#version, or id for the latest version
+   * @return the packages and all their dependencies, in the order in which they were found
+   */
+  public List<NpmPackage> resolve(List<String> packages) throws FHIRException, IOException {
+    Map<String, NpmPackage> loaded = new LinkedHashMap<>(); // only used by this thread
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CompletionService<LoadedPackage> completion = new ExecutorCompletionService<>(executor);
+      int pending = 0;
+      for (String p : packages) {
+        pending = pending + submit(completion, loaded, p);
+      }
+      while (pending > 0) {
+        LoadedPackage lp = take(completion);
+        pending--;
+        loaded.put(lp.key, lp.npm);
+        for (String p : lp.npm.dependencies()) {
+          pending = pending + submit(completion, loaded, p);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return new ArrayList<>(loaded.values());
+  }
+
+  private int submit(CompletionService<LoadedPackage> completion, Map<String, NpmPackage> loaded, String p) {
+    if (loaded.containsKey(p) || !filter.test(p)) {
+      return 0;
+    }
+    loaded.put(p, null); // keeps the place of the package in the order, and stops it being submitted again
+    String id = p.contains("#") ? p.substring(0, p.indexOf("#")) : p;
+    String version = p.contains("#") ? p.substring(p.indexOf("#")+1) : null;
+    completion.submit(() -> {
+      LoadedPackage lp = new LoadedPackage();
+      lp.key = p;
+      lp.npm = pcm.loadPackage(id, version);
+      if (lp.npm == null) {
+        throw new FHIRException("Unable to find package "+p);
+      }
+      return lp;
+    });
+    return 1;
+  }
+
+  private LoadedPackage take(CompletionService<LoadedPackage> completion) throws FHIRException, IOException {
+    try {
+      return completion.take().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while loading packages", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      } else if (e.getCause() instanceof FHIRException) {
+        throw (FHIRException) e.getCause();
+      } else {
+        throw new FHIRException(e.getCause().getMessage(), e.getCause());
+      }
+    }
+  }
+}
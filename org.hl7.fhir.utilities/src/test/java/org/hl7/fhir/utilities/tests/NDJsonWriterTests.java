@@ -0,0 +1,138 @@
+package org.hl7.fhir.utilities.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.hl7.fhir.utilities.NDJsonWriter;
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NDJsonWriterTests {
+
+  private List<String> readZip(File zip, Map<String, String> entries) throws IOException {
+    List<String> names = new ArrayList<>();
+    try (ZipInputStream zin = new ZipInputStream(Files.newInputStream(zip.toPath()))) {
+      ZipEntry e;
+      while ((e = zin.getNextEntry()) != null) {
+        names.add(e.getName());
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int n;
+        while ((n = zin.read(buf)) > 0) {
+          b.write(buf, 0, n);
+        }
+        entries.put(e.getName(), new String(b.toByteArray(), StandardCharsets.UTF_8));
+      }
+    }
+    return names;
+  }
+
+  @Test
+  public void testSplitAndDeduplicate() throws IOException {
+    File src = Files.createTempDirectory("ndjson-src").toFile();
+    File scratch = Files.createTempDirectory("ndjson-scratch").toFile();
+    File zip = File.createTempFile("ndjson", ".zip");
+    zip.deleteOnExit();
+
+    TextFile.stringToFile("{\n  \"resourceType\" : \"Patient\",\n  \"id\" : \"p1\",\n  \"name\" : [{ \"family\" : \"<Smith>\" }],\n  \"multipleBirthInteger\" : 1.0\n}", Utilities.path(src.getAbsolutePath(), "a.json"));
+    TextFile.stringToFile("{\"resourceType\":\"Bundle\",\"type\":\"collection\",\"entry\":[{\"fullUrl\":\"x\",\"resource\":{\"resourceType\":\"Patient\",\"id\":\"p1\",\"gender\":\"male\"}},"+
+        "{\"resource\":{\"resourceType\":\"Observation\",\"id\":\"o1\",\"valueBoolean\":true,\"note\":null}},{\"request\":{\"method\":\"GET\"}},"+
+        "{\"resource\":{\"resourceType\":\"Bundle\",\"id\":\"b2\",\"entry\":[{\"resource\":{\"resourceType\":\"Patient\",\"id\":\"p2\"}}]}}]}", Utilities.path(src.getAbsolutePath(), "b.json"));
+    // the entries come before the resourceType
+    TextFile.stringToFile("{\"entry\":[{\"resource\":{\"resourceType\":\"Observation\",\"id\":\"o2\"}}],\"resourceType\":\"Bundle\"}", Utilities.path(src.getAbsolutePath(), "c.json"));
+    TextFile.stringToFile("{\"resourceType\":\"Patient\",\"name\":[{\"family\":\"no id\"}]}", Utilities.path(src.getAbsolutePath(), "d.json"));
+    TextFile.stringToFile("{\"resourceType\":\"Patient\",\"id\":\"p3\"}", Utilities.path(src.getAbsolutePath(), "e.schema.json"));
+
+    NDJsonWriter ndjson = new NDJsonWriter(zip.getAbsolutePath(), scratch.getAbsolutePath());
+    ndjson.setThreads(2);
+    ndjson.addFilesFiltered(src.getAbsolutePath()+File.separator, ".json", new String[] {".schema.json"});
+    ndjson.close();
+
+    Map<String, String> entries = new HashMap<>();
+    List<String> names = readZip(zip, entries);
+    Assertions.assertEquals("[Observation.ndjson, Patient.ndjson]", names.toString());
+    // the first p1 wins, and the nested bundle is split too
+    Assertions.assertEquals("{\"resourceType\":\"Patient\",\"id\":\"p1\",\"name\":[{\"family\":\"\\u003cSmith\\u003e\"}],\"multipleBirthInteger\":1.0}\r\n{\"resourceType\":\"Patient\",\"id\":\"p2\"}", entries.get("Patient.ndjson"));
+    Assertions.assertEquals("{\"resourceType\":\"Observation\",\"id\":\"o1\",\"valueBoolean\":true}\r\n{\"resourceType\":\"Observation\",\"id\":\"o2\"}", entries.get("Observation.ndjson"));
+  }
+
+  @Test
+  public void testLargeBundle() throws IOException {
+    File src = Files.createTempDirectory("ndjson-src").toFile();
+    File scratch = Files.createTempDirectory("ndjson-scratch").toFile();
+    File zip = File.createTempFile("ndjson", ".zip");
+    zip.deleteOnExit();
+
+    // the bundle has many more resources than the queue holds, so the reader has to wait for the writer
+    StringBuilder b = new StringBuilder();
+    b.append("{\"resourceType\":\"Bundle\",\"type\":\"collection\",\"entry\":[");
+    for (int i = 0; i < 20000; i++) {
+      if (i > 0) {
+        b.append(",");
+      }
+      String type = i % 2 == 0 ? "Patient" : "Observation";
+      b.append("{\"fullUrl\":\"urn:uuid:"+i+"\",\"resource\":{\"resourceType\":\""+type+"\",\"id\":\"r"+i+"\",\"text\":{\"status\":\"generated\"}}}");
+    }
+    b.append("]}");
+    TextFile.stringToFile(b.toString(), Utilities.path(src.getAbsolutePath(), "a-bundle.json"));
+    for (int i = 0; i < 5; i++) {
+      TextFile.stringToFile("{\"resourceType\":\"Patient\",\"id\":\"f"+i+"\"}", Utilities.path(src.getAbsolutePath(), "b"+i+".json"));
+    }
+
+    NDJsonWriter ndjson = new NDJsonWriter(zip.getAbsolutePath(), scratch.getAbsolutePath());
+    ndjson.setThreads(3);
+    ndjson.setQueueSize(10);
+    ndjson.addFilesFiltered(src.getAbsolutePath()+File.separator, ".json", new String[] {});
+    ndjson.close();
+
+    Map<String, String> entries = new HashMap<>();
+    Assertions.assertEquals("[Observation.ndjson, Patient.ndjson]", readZip(zip, entries).toString());
+    String[] patients = entries.get("Patient.ndjson").split("\r\n");
+    String[] observations = entries.get("Observation.ndjson").split("\r\n");
+    Assertions.assertEquals(10005, patients.length);
+    Assertions.assertEquals(10000, observations.length);
+    // the resources in the bundle are written in order
+    int next = 0;
+    for (String p : patients) {
+      if (p.contains("\"id\":\"r")) {
+        Assertions.assertEquals("{\"resourceType\":\"Patient\",\"id\":\"r"+next+"\",\"text\":{\"status\":\"generated\"}}", p);
+        next = next + 2;
+      }
+    }
+    Assertions.assertEquals(20000, next);
+    for (int i = 0; i < observations.length; i++) {
+      Assertions.assertEquals("{\"resourceType\":\"Observation\",\"id\":\"r"+(i * 2 + 1)+"\",\"text\":{\"status\":\"generated\"}}", observations[i]);
+    }
+  }
+
+  @Test
+  public void testReadError() throws IOException {
+    File src = Files.createTempDirectory("ndjson-src").toFile();
+    File scratch = Files.createTempDirectory("ndjson-scratch").toFile();
+    File zip = File.createTempFile("ndjson", ".zip");
+    zip.deleteOnExit();
+
+    TextFile.stringToFile("{\"resourceType\":\"Patient\",\"id\":\"p1\"}", Utilities.path(src.getAbsolutePath(), "a.json"));
+    TextFile.stringToFile("{\"resourceType\":\"Patient\",\"id\":", Utilities.path(src.getAbsolutePath(), "b.json"));
+    for (int i = 0; i < 5; i++) {
+      TextFile.stringToFile("{\"resourceType\":\"Patient\",\"id\":\"c"+i+"\"}", Utilities.path(src.getAbsolutePath(), "c"+i+".json"));
+    }
+
+    NDJsonWriter ndjson = new NDJsonWriter(zip.getAbsolutePath(), scratch.getAbsolutePath());
+    ndjson.setThreads(2);
+    ndjson.setQueueSize(1);
+    IOException e = Assertions.assertThrows(IOException.class, () -> ndjson.addFilesFiltered(src.getAbsolutePath()+File.separator, ".json", new String[] {}));
+    Assertions.assertTrue(e.getMessage().contains("b.json"), e.getMessage());
+  }
+}
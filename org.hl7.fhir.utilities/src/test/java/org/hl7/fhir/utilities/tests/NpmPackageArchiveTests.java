@@ -0,0 +1,101 @@
+package org.hl7.fhir.utilities.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.cache.NpmPackage;
+import org.hl7.fhir.utilities.cache.NpmPackageArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NpmPackageArchiveTests {
+
+  @Test
+  public void testPackageArchive() throws IOException {
+    File dir = makePackage("npm-archive-test2");
+    NpmPackage src = NpmPackage.fromFolder(dir.getAbsolutePath());
+    for (String s : src.list("package")) {
+      src.loadFile("package/"+s, TextFile.streamToBytes(src.load("package", s)));
+    }
+    File af = new File(Utilities.path("[tmp]", "npm-archive-test2.archive"));
+    NpmPackage npm = NpmPackage.fromPackage(new ByteArrayInputStream(toTgz(src)), af, "test", false);
+    Assertions.assertTrue(npm.getFolders().get("package").getContent().isEmpty());
+    Assertions.assertEquals("test.pack", npm.name());
+    check(npm);
+    Assertions.assertTrue(npm.getFolders().get("package").listAllFiles().contains("package.json"));
+  }
+
+  @Test
+  public void testZipArchive() throws IOException {
+    File dir = makePackage("npm-archive-test");
+    ByteArrayOutputStream zip = new ByteArrayOutputStream();
+    try (ZipOutputStream zos = new ZipOutputStream(zip)) {
+      for (File f : new File(Utilities.path(dir.getAbsolutePath(), "package")).listFiles()) {
+        zos.putNextEntry(new ZipEntry("root/package/"+f.getName()));
+        zos.write(TextFile.fileToBytes(f));
+        zos.closeEntry();
+      }
+    }
+    File af = new File(Utilities.path("[tmp]", "npm-archive-test.archive"));
+    NpmPackage npm = NpmPackage.fromZip(new ByteArrayInputStream(zip.toByteArray()), true, af, "test");
+    Assertions.assertTrue(npm.getFolders().get("package").getContent().isEmpty());
+    check(npm);
+  }
+
+  @Test
+  public void testArchiveNotHeldOpen() throws IOException {
+    File dir = makePackage("npm-archive-test3");
+    File af = new File(Utilities.path(dir.getAbsolutePath(), NpmPackageArchive.FILENAME));
+    try (NpmPackageArchive.Writer writer = new NpmPackageArchive.Writer(af)) {
+      writer.add("package", "ValueSet-a.json", TextFile.fileToBytes(Utilities.path(dir.getAbsolutePath(), "package", "ValueSet-a.json")));
+      writer.commit();
+    }
+    NpmPackageArchive archive = NpmPackageArchive.open(af);
+    Assertions.assertNotNull(archive.getBytes("package", "ValueSet-a.json"));
+
+    // replacing the archive while it is in use
+    try (NpmPackageArchive.Writer writer = new NpmPackageArchive.Writer(af)) {
+      writer.add("package", "ValueSet-a.json", "{}".getBytes(StandardCharsets.UTF_8));
+      writer.commit();
+    }
+    Assertions.assertThrows(IOException.class, () -> archive.getBytes("package", "ValueSet-a.json"));
+    Assertions.assertEquals("{}", new String(NpmPackageArchive.open(af).getBytes("package", "ValueSet-a.json"), StandardCharsets.UTF_8));
+
+    // and deleting the package folder
+    Utilities.clearDirectory(dir.getAbsolutePath());
+    Assertions.assertTrue(dir.delete());
+  }
+
+  private byte[] toTgz(NpmPackage npm) throws IOException {
+    ByteArrayOutputStream tgz = new ByteArrayOutputStream();
+    npm.save(tgz);
+    return tgz.toByteArray();
+  }
+
+  private void check(NpmPackage npm) throws IOException {
+    Assertions.assertEquals(2, npm.listResources("ValueSet", "CodeSystem").size());
+    Assertions.assertNotNull(npm.loadResource("ValueSet", "a"));
+    Assertions.assertTrue(new String(TextFile.streamToBytes(npm.load("package", "CodeSystem-b.json")), StandardCharsets.UTF_8).contains("http://test.org/CodeSystem/b"));
+    Assertions.assertTrue(npm.hasFile("package", "ValueSet-a.json"));
+    Assertions.assertFalse(npm.hasFile("package", "ValueSet-c.json"));
+  }
+
+  private File makePackage(String name) throws IOException {
+    File dir = new File(Utilities.path("[tmp]", name));
+    if (dir.exists()) {
+      Utilities.clearDirectory(dir.getAbsolutePath());
+    }
+    Utilities.createDirectory(Utilities.path(dir.getAbsolutePath(), "package"));
+    TextFile.stringToFile("{\"name\" : \"test.pack\", \"version\" : \"0.1.0\"}", Utilities.path(dir.getAbsolutePath(), "package", "package.json"));
+    TextFile.stringToFile("{\"resourceType\" : \"ValueSet\", \"id\" : \"a\", \"url\" : \"http://test.org/ValueSet/a\"}", Utilities.path(dir.getAbsolutePath(), "package", "ValueSet-a.json"));
+    TextFile.stringToFile("{\"resourceType\" : \"CodeSystem\", \"id\" : \"b\", \"url\" : \"http://test.org/CodeSystem/b\"}", Utilities.path(dir.getAbsolutePath(), "package", "CodeSystem-b.json"));
+    return dir;
+  }
+}
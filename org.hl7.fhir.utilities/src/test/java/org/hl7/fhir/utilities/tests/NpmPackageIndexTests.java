@@ -0,0 +1,47 @@
+package org.hl7.fhir.utilities.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.cache.NpmPackage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NpmPackageIndexTests {
+
+  @Test
+  public void testLookups() throws IOException {
+    File dir = new File(Utilities.path("[tmp]", "npm-index-test"));
+    if (dir.exists()) {
+      Utilities.clearDirectory(dir.getAbsolutePath());
+    }
+    Utilities.createDirectory(Utilities.path(dir.getAbsolutePath(), "package"));
+    TextFile.stringToFile("{\"name\" : \"test.pack\", \"version\" : \"0.1.0\"}", Utilities.path(dir.getAbsolutePath(), "package", "package.json"));
+    save(dir, "ValueSet-a1.json", "{\"resourceType\" : \"ValueSet\", \"id\" : \"a1\", \"url\" : \"http://test.org/ValueSet/a\", \"version\" : \"1.0.0\"}");
+    save(dir, "ValueSet-a2.json", "{\"resourceType\" : \"ValueSet\", \"id\" : \"a2\", \"url\" : \"http://test.org/ValueSet/a\", \"version\" : \"2.0.0\"}");
+    save(dir, "CodeSystem-b.json", "{\"resourceType\" : \"CodeSystem\", \"id\" : \"b\", \"url\" : \"http://test.org/CodeSystem/b\"}");
+
+    NpmPackage npm = NpmPackage.fromFolder(dir.getAbsolutePath());
+    Assertions.assertEquals("a1", idOf(npm.loadByCanonical("http://test.org/ValueSet/a")));
+    Assertions.assertEquals("a2", idOf(npm.loadByCanonicalVersion("http://test.org/ValueSet/a", "2.0.0")));
+    Assertions.assertNull(npm.loadByCanonicalVersion("http://test.org/ValueSet/a", "3.0.0"));
+    Assertions.assertEquals("b", idOf(npm.loadByCanonical("http://test.org/CodeSystem/b")));
+    Assertions.assertNull(npm.loadByCanonical("http://test.org/CodeSystem/c"));
+    Assertions.assertEquals("a2", idOf(npm.loadResource("ValueSet", "a2")));
+    Assertions.assertNull(npm.loadResource("CodeSystem", "a2"));
+    Assertions.assertTrue(npm.hasCanonical("http://test.org/ValueSet/a|1.0.0"));
+    Assertions.assertFalse(npm.hasCanonical("http://test.org/ValueSet/a|1.5.0"));
+  }
+
+  private void save(File dir, String name, String content) throws IOException {
+    TextFile.stringToFile(content, Utilities.path(dir.getAbsolutePath(), "package", name));
+  }
+
+  private String idOf(InputStream stream) throws IOException {
+    String s = TextFile.streamToString(stream);
+    return s.substring(s.indexOf("\"id\" : \"")+8, s.indexOf("\", \"url\""));
+  }
+}
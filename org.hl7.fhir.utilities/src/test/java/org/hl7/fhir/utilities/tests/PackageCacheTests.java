@@ -1,12 +1,16 @@
 package org.hl7.fhir.utilities.tests;
 
+import org.hl7.fhir.utilities.TextFile;
 import org.hl7.fhir.utilities.Utilities;
 import org.hl7.fhir.utilities.cache.NpmPackage;
+import org.hl7.fhir.utilities.cache.NpmPackageArchive;
 import org.hl7.fhir.utilities.cache.FilesystemPackageCacheManager;
 import org.hl7.fhir.utilities.cache.ToolsVersion;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
@@ -37,4 +41,34 @@ public class PackageCacheTests {
     list = cache.listPackages();
     Assertions.assertFalse(list.isEmpty());
   }
+
+  @Test
+  public void testInstall() throws IOException {
+    File dir = new File(Utilities.path("[tmp]", "cache-install"));
+    if (dir.exists()) {
+      Utilities.clearDirectory(dir.getAbsolutePath());
+    }
+    Utilities.createDirectory(Utilities.path(dir.getAbsolutePath(), "package"));
+    TextFile.stringToFile("{\"name\" : \"test.install\", \"version\" : \"0.1.0\"}", Utilities.path(dir.getAbsolutePath(), "package", "package.json"));
+    TextFile.stringToFile("{\"resourceType\" : \"ValueSet\", \"id\" : \"a\", \"url\" : \"http://test.org/ValueSet/a\"}", Utilities.path(dir.getAbsolutePath(), "package", "ValueSet-a.json"));
+    NpmPackage src = NpmPackage.fromFolder(dir.getAbsolutePath());
+    src.loadAllFiles();
+    ByteArrayOutputStream tgz = new ByteArrayOutputStream();
+    src.save(tgz);
+
+    FilesystemPackageCacheManager cache = new FilesystemPackageCacheManager(true, ToolsVersion.TOOLS_VERSION);
+    cache.removePackage("test.install", "0.1.0");
+    try {
+      NpmPackage npm = cache.addPackageToCache("test.install", "0.1.0", new ByteArrayInputStream(tgz.toByteArray()), "test");
+      Assertions.assertNotNull(npm.loadResource("ValueSet", "a"));
+      File packRoot = new File(Utilities.path(cache.getFolder(), "test.install#0.1.0"));
+      Assertions.assertTrue(new File(Utilities.path(packRoot.getAbsolutePath(), "package", "ValueSet-a.json")).exists());
+      Assertions.assertTrue(new File(Utilities.path(packRoot.getAbsolutePath(), "package", "package.json")).exists());
+      // installed packages are read from their files; no second copy of the package is made
+      Assertions.assertFalse(new File(Utilities.path(packRoot.getAbsolutePath(), NpmPackageArchive.FILENAME)).exists());
+      Assertions.assertFalse(new File(Utilities.path(packRoot.getAbsolutePath(), "package", NpmPackageArchive.FILENAME)).exists());
+    } finally {
+      cache.removePackage("test.install", "0.1.0");
+    }
+  }
 }
\ No newline at end of file
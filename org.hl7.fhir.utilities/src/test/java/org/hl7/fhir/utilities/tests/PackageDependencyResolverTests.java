@@ -0,0 +1,112 @@
+package org.hl7.fhir.utilities.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.cache.IPackageCacheManager;
+import org.hl7.fhir.utilities.cache.NpmPackage;
+import org.hl7.fhir.utilities.cache.PackageDependencyResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PackageDependencyResolverTests {
+
+  /**
+   * loads packages from folders in [tmp], and keeps track of how often each package is loaded,
+   * and how many are being loaded at once
+   */
+  private class FolderPackageCacheManager implements IPackageCacheManager {
+    private Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private AtomicInteger active = new AtomicInteger();
+    private AtomicInteger maxActive = new AtomicInteger();
+
+    @Override
+    public NpmPackage loadPackage(String id, String version) throws FHIRException, IOException {
+      loads.computeIfAbsent(id+"#"+version, s -> new AtomicInteger()).incrementAndGet();
+      maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(20);
+        File dir = new File(Utilities.path("[tmp]", "npm-resolver-test", id+"#"+version));
+        return dir.exists() ? NpmPackage.fromFolder(dir.getAbsolutePath()) : null;
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      } finally {
+        active.decrementAndGet();
+      }
+    }
+
+    @Override
+    public NpmPackage loadPackage(String idAndVer) throws FHIRException, IOException {
+      return loadPackage(idAndVer.substring(0, idAndVer.indexOf("#")), idAndVer.substring(idAndVer.indexOf("#")+1));
+    }
+
+    @Override
+    public String getPackageId(String canonicalUrl) throws IOException {
+      return null;
+    }
+
+    @Override
+    public NpmPackage addPackageToCache(String id, String version, InputStream packageTgzInputStream, String sourceDesc) throws IOException {
+      throw new IOException("not supported");
+    }
+
+    @Override
+    public String getPackageUrl(String packageId) throws IOException {
+      return null;
+    }
+  }
+
+  @Test
+  public void testResolve() throws IOException {
+    File dir = new File(Utilities.path("[tmp]", "npm-resolver-test"));
+    if (dir.exists()) {
+      Utilities.clearDirectory(dir.getAbsolutePath());
+    }
+    // a diamond: a depends on b and c, which both depend on d
+    makePackage("test.a", "test.b#1.0.0", "test.c#1.0.0", "hl7.fhir.r4.core#4.0.1");
+    makePackage("test.b", "test.d#1.0.0");
+    makePackage("test.c", "test.d#1.0.0", "test.e#1.0.0", "test.f#1.0.0", "test.g#1.0.0");
+    makePackage("test.d");
+    makePackage("test.e");
+    makePackage("test.f");
+    makePackage("test.g");
+
+    FolderPackageCacheManager pcm = new FolderPackageCacheManager();
+    List<NpmPackage> res = new PackageDependencyResolver(pcm, 2).setFilter(s -> !s.startsWith("hl7.fhir.r4.core")).resolve(Arrays.asList("test.a#1.0.0"));
+    List<String> names = new ArrayList<>();
+    for (NpmPackage npm : res) {
+      names.add(npm.name());
+    }
+    Assertions.assertEquals(7, names.size());
+    Assertions.assertEquals("test.a", names.get(0));
+    Assertions.assertTrue(names.containsAll(Arrays.asList("test.b", "test.c", "test.d", "test.e", "test.f", "test.g")));
+    for (AtomicInteger i : pcm.loads.values()) {
+      Assertions.assertEquals(1, i.get());
+    }
+    Assertions.assertFalse(pcm.loads.containsKey("hl7.fhir.r4.core#4.0.1"));
+    Assertions.assertTrue(pcm.maxActive.get() <= 2);
+
+    Assertions.assertThrows(FHIRException.class, () -> new PackageDependencyResolver(pcm).resolve(Arrays.asList("test.x#1.0.0")));
+  }
+
+  private void makePackage(String id, String... dependencies) throws IOException {
+    String folder = Utilities.path("[tmp]", "npm-resolver-test", id+"#1.0.0", "package");
+    Utilities.createDirectory(folder);
+    StringBuilder b = new StringBuilder();
+    for (String d : dependencies) {
+      b.append(b.length() == 0 ? "" : ", ");
+      b.append("\"" + d.substring(0, d.indexOf("#")) + "\" : \"" + d.substring(d.indexOf("#")+1) + "\"");
+    }
+    TextFile.stringToFile("{\"name\" : \""+id+"\", \"version\" : \"1.0.0\", \"dependencies\" : {"+b.toString()+"}}", Utilities.path(folder, "package.json"));
+  }
+}
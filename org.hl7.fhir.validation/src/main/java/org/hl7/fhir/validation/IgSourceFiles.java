@@ -0,0 +1,172 @@
+package org.hl7.fhir.validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.utilities.cache.NpmPackageArchive;
+
+/**
+ * The files of an IG source (a package, a folder or a zip), by name. The content of a file is read from
+ * where it is (the package, the folder, or an archive that the zip is copied into) each time it is asked
+ * for, and isn't kept, so loading an IG only has to hold one file at a time on the heap.
+ *
+ * The map can't be changed through the Map methods; files are added with add().
+ */
+class IgSourceFiles extends AbstractMap<String, byte[]> {
+
+  public interface IFileSource {
+    byte[] read() throws IOException;
+  }
+
+  private static final String ZIP_FOLDER = "zip";
+
+  private Map<String, IFileSource> files = new HashMap<>();
+
+  public void add(String name, IFileSource source) {
+    files.put(name, source);
+  }
+
+  public void add(String name, byte[] content) {
+    files.put(name, () -> content);
+  }
+
+  /**
+   * add all the files of another source. The content of the files is only read now if the source isn't an IgSourceFiles
+   */
+  public void addAll(Map<String, byte[]> source) {
+    if (source instanceof IgSourceFiles) {
+      files.putAll(((IgSourceFiles) source).files);
+    } else {
+      for (Entry<String, byte[]> e : source.entrySet()) {
+        add(e.getKey(), e.getValue());
+      }
+    }
+  }
+
+  /**
+   * the entries in the zip. The zip is copied into a temporary archive, which is deleted when the JVM exits
+   */
+  public static IgSourceFiles fromZip(InputStream stream) throws IOException {
+    File archive = tempArchive();
+    IgSourceFiles res = new IgSourceFiles();
+    try (NpmPackageArchive.Writer writer = new NpmPackageArchive.Writer(archive)) {
+      ZipInputStream zip = new ZipInputStream(stream);
+      ZipEntry ze;
+      while ((ze = zip.getNextEntry()) != null) {
+        writer.add(ZIP_FOLDER, ze.getName(), zip);
+        zip.closeEntry();
+      }
+      zip.close();
+      writer.commit();
+    }
+    NpmPackageArchive files = NpmPackageArchive.open(archive);
+    for (String s : files.listFiles(ZIP_FOLDER)) {
+      res.add(s, () -> files.getBytes(ZIP_FOLDER, s));
+    }
+    return res;
+  }
+
+  /**
+   * a file for an archive that a package or zip is read into. The file is deleted when the JVM exits
+   */
+  public static File tempArchive() throws IOException {
+    File res = File.createTempFile("igsource", ".archive");
+    res.deleteOnExit();
+    return res;
+  }
+
+  @Override
+  public int size() {
+    return files.size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return files.containsKey(key);
+  }
+
+  @Override
+  public byte[] get(Object key) {
+    IFileSource source = files.get(key);
+    return source == null ? null : read((String) key, source);
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return Collections.unmodifiableSet(files.keySet());
+  }
+
+  @Override
+  public Set<Entry<String, byte[]>> entrySet() {
+    return new AbstractSet<Entry<String, byte[]>>() {
+      @Override
+      public Iterator<Entry<String, byte[]>> iterator() {
+        Iterator<Entry<String, IFileSource>> it = files.entrySet().iterator();
+        return new Iterator<Entry<String, byte[]>>() {
+          @Override
+          public boolean hasNext() {
+            return it.hasNext();
+          }
+
+          @Override
+          public Entry<String, byte[]> next() {
+            Entry<String, IFileSource> e = it.next();
+            return new FileEntry(e.getKey(), e.getValue());
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return files.size();
+      }
+    };
+  }
+
+  /**
+   * an entry whose value is read when it is asked for (e.g. so the entries can be filtered by name without reading them)
+   */
+  private static class FileEntry implements Entry<String, byte[]> {
+    private String name;
+    private IFileSource source;
+
+    private FileEntry(String name, IFileSource source) {
+      this.name = name;
+      this.source = source;
+    }
+
+    @Override
+    public String getKey() {
+      return name;
+    }
+
+    @Override
+    public byte[] getValue() {
+      return read(name, source);
+    }
+
+    @Override
+    public byte[] setValue(byte[] value) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static byte[] read(String name, IFileSource source) {
+    try {
+      return source.read();
+    } catch (IOException e) {
+      throw new FHIRException("Unable to read "+name+": "+e.getMessage(), e);
+    }
+  }
+}
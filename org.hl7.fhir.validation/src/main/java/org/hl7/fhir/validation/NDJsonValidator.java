@@ -0,0 +1,195 @@
+package org.hl7.fhir.validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
+import org.hl7.fhir.utilities.validation.ValidationMessage.IssueSeverity;
+import org.hl7.fhir.utilities.validation.ValidationMessage.IssueType;
+import org.hl7.fhir.utilities.validation.ValidationMessage.Source;
+
+/**
+ * Validates an NDJSON stream (e.g. a bulk data export) one line - one resource - at a time.
+ *
+ * The stream is read a line at a time, and the lines are validated concurrently by the executor, but only
+ * a fixed number of lines are in progress at once, so memory use doesn't depend on the size of the stream.
+ * The results are passed to the handler in the order of the lines, as they become available.
+ *
+ * The line number of each message is set to the line it was found on (blank lines are counted, but not validated).
+ */
+public class NDJsonValidator {
+
+  public interface LineValidator {
+    /**
+     * @return the messages found validating the content of a line (a JSON resource)
+     */
+    List<ValidationMessage> validate(byte[] content) throws Exception;
+  }
+
+  public interface LineHandler {
+    void handle(int line, List<ValidationMessage> messages) throws IOException;
+  }
+
+  public static class Summary {
+    private int resources;
+    private int errors;
+    private int warnings;
+    private int information;
+
+    private void see(List<ValidationMessage> messages) {
+      resources++;
+      for (ValidationMessage vm : messages) {
+        switch (vm.getLevel()) {
+        case FATAL:
+        case ERROR:
+          errors++;
+          break;
+        case WARNING:
+          warnings++;
+          break;
+        default:
+          information++;
+        }
+      }
+    }
+
+    public int getResources() {
+      return resources;
+    }
+
+    public int getErrors() {
+      return errors;
+    }
+
+    public int getWarnings() {
+      return warnings;
+    }
+
+    public int getInformation() {
+      return information;
+    }
+
+    @Override
+    public String toString() {
+      return resources+" "+Utilities.pluralize("resource", resources)+": "+errors+" "+Utilities.pluralize("error", errors)+", "+warnings+" "+Utilities.pluralize("warning", warnings)+", "+information+" "+Utilities.pluralize("note", information);
+    }
+  }
+
+  private class PendingLine {
+    private int line;
+    private Future<List<ValidationMessage>> messages;
+
+    private PendingLine(int line, Future<List<ValidationMessage>> messages) {
+      this.line = line;
+      this.messages = messages;
+    }
+  }
+
+  private LineValidator validator;
+  private ExecutorService executor;
+  private int window;
+  private int progressInterval = 10000;
+
+  /**
+   * @param executor - runs the validation of each line, or null to validate each line on the calling thread, as it is read
+   * @param window - the maximum number of lines being validated (or waiting to be) at once
+   */
+  public NDJsonValidator(LineValidator validator, ExecutorService executor, int window) {
+    super();
+    this.validator = validator;
+    this.executor = executor;
+    this.window = Math.max(window, 1);
+  }
+
+  public int getProgressInterval() {
+    return progressInterval;
+  }
+
+  /**
+   * @param progressInterval - report progress after this many resources (0 for no progress reports)
+   */
+  public void setProgressInterval(int progressInterval) {
+    this.progressInterval = progressInterval;
+  }
+
+  /**
+   * @param source - the name of the source, for progress reports (or null, for no progress reports)
+   */
+  public Summary validate(String source, InputStream stream, LineHandler handler) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    Summary summary = new Summary();
+    Deque<PendingLine> pending = new ArrayDeque<>();
+    long start = System.nanoTime();
+    int lineNo = 0;
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNo++;
+        if (Utilities.noString(line.trim())) {
+          continue;
+        }
+        if (pending.size() >= window) {
+          finish(pending.removeFirst(), summary, handler);
+          progress(source, summary, start);
+        }
+        byte[] content = line.getBytes(StandardCharsets.UTF_8);
+        pending.add(new PendingLine(lineNo, executor == null ? CompletableFuture.completedFuture(validateLine(content)) : executor.submit(() -> validateLine(content))));
+      }
+      while (!pending.isEmpty()) {
+        finish(pending.removeFirst(), summary, handler);
+        progress(source, summary, start);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FHIRException("Interrupted validating "+(source == null ? "NDJSON" : source)+" at line "+lineNo, e);
+    } finally {
+      for (PendingLine p : pending) {
+        p.messages.cancel(true);
+      }
+    }
+    return summary;
+  }
+
+  private List<ValidationMessage> validateLine(byte[] content) {
+    try {
+      return validator.validate(content);
+    } catch (Exception e) {
+      List<ValidationMessage> messages = new ArrayList<>();
+      messages.add(new ValidationMessage(Source.InstanceValidator, IssueType.EXCEPTION, "", e.getMessage(), IssueSeverity.FATAL));
+      return messages;
+    }
+  }
+
+  private void finish(PendingLine p, Summary summary, LineHandler handler) throws InterruptedException, IOException {
+    List<ValidationMessage> messages;
+    try {
+      messages = p.messages.get();
+    } catch (ExecutionException e) {
+      throw new FHIRException("Validation Infrastructure fail validating line "+p.line+": "+e.getCause().getMessage(), e.getCause());
+    }
+    for (ValidationMessage vm : messages) {
+      vm.setLine(p.line);
+    }
+    summary.see(messages);
+    handler.handle(p.line, messages);
+  }
+
+  private void progress(String source, Summary summary, long start) {
+    if (source != null && progressInterval > 0 && summary.getResources() % progressInterval == 0) {
+      System.out.println("  Validate "+source+": "+summary+" ("+Utilities.presentDuration(System.nanoTime() - start)+")");
+    }
+  }
+}
@@ -1,57 +1,128 @@
 package org.hl7.fhir.validation;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hl7.fhir.validation.ValidationMetrics.Phase;
+
+/**
+ * The times spent by one validator, and, if there are metrics, the shared metrics that the times are also
+ * recorded in. The totals can be read from any thread, but the profile methods must only be called by the
+ * thread that is validating.
+ */
 public class TimeTracker {
-  private long overall = 0;
-  private long txTime = 0;
-  private long sdTime = 0;
-  private long loadTime = 0;
-  private long fpeTime = 0;
-  
-  
-  
+  private LongAdder overall = new LongAdder();
+  private LongAdder txTime = new LongAdder();
+  private LongAdder sdTime = new LongAdder();
+  private LongAdder loadTime = new LongAdder();
+  private LongAdder fpeTime = new LongAdder();
+  private volatile ValidationMetrics metrics;
+  // for each profile being validated against, innermost last: the start, and the time taken by nested profiles
+  private Deque<long[]> profiles = new ArrayDeque<>();
+
+  public ValidationMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(ValidationMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   public long getOverall() {
-    return overall;
+    return overall.sum();
   }
   public long getTxTime() {
-    return txTime;
+    return txTime.sum();
   }
   public long getSdTime() {
-    return sdTime;
+    return sdTime.sum();
   }
   public long getLoadTime() {
-    return loadTime;
+    return loadTime.sum();
   }
   public long getFpeTime() {
-    return fpeTime;
+    return fpeTime.sum();
   }
-  
+
   public void load(long start) {
-    loadTime = loadTime + (System.nanoTime() - start);
+    record(loadTime, Phase.PARSE, start);
   }
-  
-  public void overall(long start) {  
-    overall = overall + (System.nanoTime() - start);
+
+  public void overall(long start) {
+    record(overall, Phase.VALIDATE, start);
   }
-  
+
   public void tx(long start) {
-    txTime = txTime + (System.nanoTime() - start);
+    record(txTime, Phase.TERMINOLOGY, start);
   }
-  
+
+  /**
+   * time spent finding structure definitions
+   */
   public void sd(long start) {
-    sdTime = sdTime + (System.nanoTime() - start);
+    record(sdTime, Phase.DEFINITIONS, start);
   }
-  
+
   public void fpe(long start) {
-    fpeTime = fpeTime + (System.nanoTime() - start);
+    record(fpeTime, Phase.FHIRPATH, start);
   }
-  
+
+  public void slicing(long start) {
+    ValidationMetrics m = metrics;
+    if (m != null) {
+      m.record(Phase.SLICING, System.nanoTime() - start);
+    }
+  }
+
+  public void invariant(String key, long start) {
+    ValidationMetrics m = metrics;
+    if (m != null) {
+      long t = System.nanoTime() - start;
+      m.record(Phase.INVARIANTS, t);
+      m.recordInvariant(key, t);
+    }
+  }
+
+  public void startProfile() {
+    if (metrics != null) {
+      profiles.addLast(new long[] {System.nanoTime(), 0});
+    }
+  }
+
+  /**
+   * record the time since the matching startProfile(), less the time taken by any profiles started since then,
+   * against the profile, and as time spent walking the structure
+   */
+  public void endProfile(String url) {
+    ValidationMetrics m = metrics;
+    if (m != null && !profiles.isEmpty()) {
+      long[] p = profiles.removeLast();
+      long t = System.nanoTime() - p[0];
+      m.recordProfile(url, t - p[1]);
+      m.record(Phase.STRUCTURE, t - p[1]);
+      if (!profiles.isEmpty()) {
+        profiles.getLast()[1] += t;
+      }
+    }
+  }
+
+  private void record(LongAdder total, Phase phase, long start) {
+    long t = System.nanoTime() - start;
+    total.add(t);
+    ValidationMetrics m = metrics;
+    if (m != null) {
+      m.record(phase, t);
+    }
+  }
+
   public void reset() {
-    overall = 0;
-    txTime = 0;
-    sdTime = 0;
-    loadTime = 0;
-    fpeTime = 0;
-    
+    overall.reset();
+    txTime.reset();
+    sdTime.reset();
+    loadTime.reset();
+    fpeTime.reset();
+    profiles.clear();
   }
 
-}
\ No newline at end of file
+}
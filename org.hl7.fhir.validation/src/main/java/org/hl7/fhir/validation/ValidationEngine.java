@@ -44,6 +44,7 @@ import org.hl7.fhir.utilities.Utilities;
 import org.hl7.fhir.utilities.VersionUtilities;
 import org.hl7.fhir.utilities.cache.NpmPackage;
 import org.hl7.fhir.utilities.cache.PackageClient;
+import org.hl7.fhir.utilities.cache.PackageDependencyResolver;
 import org.hl7.fhir.utilities.cache.BasePackageCacheManager;
 import org.hl7.fhir.utilities.cache.FilesystemPackageCacheManager;
 import org.hl7.fhir.utilities.cache.ToolsVersion;
@@ -63,6 +64,11 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -299,6 +305,7 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
   private String version;
   private String language;
   private FilesystemPackageCacheManager pcm;
+  private Set<String> prefetchedPackages = new HashSet<>();
   private PrintWriter mapLog;
   private boolean debug;
   private IValidatorResourceFetcher fetcher;
@@ -309,6 +316,9 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
   private Locale locale;
   private List<ImplementationGuide> igs = new ArrayList<>();
   private boolean showTimes;
+  private int threads = 1;
+  private boolean virtualThreads;
+  private ValidationMetrics metrics = new ValidationMetrics();
   private List<BundleValidationRule> bundleValidationRules = new ArrayList<>();
   private Map<String, ValidationControl> validationControl = new HashMap<>();
 
@@ -383,6 +393,28 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
     this.showTimes = showTimes;
   }
 
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * @param threads - the number of worker threads to use when validating more than one source (default 1)
+   */
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * @param virtualThreads - use a virtual thread for each source when validating more than one source, if the runtime supports them
+   */
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
   public ValidationEngine(String src, String txsrvr, String txLog, FhirPublication version, boolean canRunWithoutTerminologyServer, String vString) throws FHIRException, IOException, URISyntaxException {
     pcm = new FilesystemPackageCacheManager(true, ToolsVersion.TOOLS_VERSION);
     loadCoreDefinitions(src, false, null);
@@ -728,15 +760,15 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
   }
 
   private Map<String, byte[]> scanDirectory(File f, boolean recursive) throws FileNotFoundException, IOException {
-    Map<String, byte[]> res = new HashMap<>();
+    IgSourceFiles res = new IgSourceFiles();
     for (File ff : f.listFiles()) {
       if (ff.isDirectory() && recursive){
-          res.putAll(scanDirectory(ff, true));
+          res.addAll(scanDirectory(ff, true));
       }
       else if (!isIgnoreFile(ff)) {
         FhirFormat fmt = checkIsResource(ff.getAbsolutePath());
         if (fmt != null) {
-          res.put(Utilities.changeFileExt(ff.getName(), "."+fmt.getExtension()), TextFile.fileToBytes(ff.getAbsolutePath()));
+          res.add(Utilities.changeFileExt(ff.getName(), "."+fmt.getExtension()), () -> TextFile.fileToBytes(ff.getAbsolutePath()));
         }
       }
     }
@@ -751,51 +783,55 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
   }
 
   private Map<String, byte[]> loadPackage(InputStream stream, String name) throws FHIRException, IOException {
-    return loadPackage(NpmPackage.fromPackage(stream));
+    return loadPackage(NpmPackage.fromPackage(stream, IgSourceFiles.tempArchive(), name, false));
   }
 
   private String loadPackageForVersion(InputStream stream, String name) throws FHIRException, IOException {
-    return NpmPackage.fromPackage(stream).fhirVersion();
+    return NpmPackage.fromPackage(stream, IgSourceFiles.tempArchive(), name, false).fhirVersion();
   }
 
   public Map<String, byte[]> loadPackage(NpmPackage pi) throws FHIRException, IOException {
     context.getLoadedPackages().add(pi.name()+"#"+pi.version());
-    Map<String, byte[]> res = new HashMap<String, byte[]>();
+    IgSourceFiles res = new IgSourceFiles();
+    prefetchDependencies(pi);
     for (String s : pi.dependencies()) {
       if (! context.getLoadedPackages().contains(s)) {
         if (!VersionUtilities.isCorePackage(s)) {
           System.out.println("+  .. load IG from "+s);
-          res.putAll(fetchByPackage(s));
+          res.addAll(fetchByPackage(s));
         }
       }
     }
     
     for (String s : pi.listResources("CodeSystem", "ConceptMap", "ImplementationGuide", "CapabilityStatement", "SearchParameter", "Conformance", "StructureMap", "ValueSet", "StructureDefinition")) {
-       res.put(s, TextFile.streamToBytes(pi.load("package", s)));
+       res.add(s, () -> TextFile.streamToBytes(pi.load("package", s)));
     }
     String ini = "[FHIR]\r\nversion="+pi.fhirVersion()+"\r\n";
-    res.put("version.info", ini.getBytes());
+    res.add("version.info", ini.getBytes());
     return res;
   }
 
+  /**
+   * get all the packages that pi depends on into the cache at once, so that loading them one by one
+   * afterwards doesn't have to wait for each download in turn
+   */
+  private void prefetchDependencies(NpmPackage pi) throws IOException {
+    if (pcm == null) {
+      log("Creating Package manager?");
+      pcm = new FilesystemPackageCacheManager(true, ToolsVersion.TOOLS_VERSION);
+    }
+    try {
+      for (NpmPackage npm : new PackageDependencyResolver(pcm).setFilter(s -> !VersionUtilities.isCorePackage(s) && !context.getLoadedPackages().contains(s) && !prefetchedPackages.contains(s)).resolve(pi.dependencies())) {
+        prefetchedPackages.add(npm.name()+"#"+npm.version());
+      }
+    } catch (Exception e) {
+      // the packages are loaded one at a time below, which reports the problem properly
+      log("Unable to prefetch the dependencies of "+pi.name()+"#"+pi.version()+": "+e.getMessage());
+    }
+  }
+
   private Map<String, byte[]> readZip(InputStream stream) throws IOException {
-    Map<String, byte[]> res = new HashMap<String, byte[]>();
-    ZipInputStream zip = new ZipInputStream(stream);
-    ZipEntry ze;
-    while ((ze = zip.getNextEntry()) != null) {
-        String name = ze.getName();
-        InputStream in = zip;
-        ByteArrayOutputStream b = new ByteArrayOutputStream();
-        int n;
-        byte[] buf = new byte[1024];
-        while ((n = in.read(buf, 0, 1024)) > -1) {
-          b.write(buf, 0, n);
-        }        
-      res.put(name, b.toByteArray());
-      zip.closeEntry();
-    }
-    zip.close();    
-    return res;
+    return IgSourceFiles.fromZip(stream);
   }
 
   public void log(String message) {
@@ -917,6 +953,8 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
       return FhirFormat.JSON;
     if (Utilities.existsInList(ext, "ttl")) 
       return FhirFormat.TURTLE;
+    if (Utilities.existsInList(ext, "ndjson")) 
+      return FhirFormat.NDJSON;
     if (Utilities.existsInList(ext, "map")) 
       return FhirFormat.TEXT;
     if (Utilities.existsInList(ext, "txt")) 
@@ -1136,6 +1174,8 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
         res.cntType = FhirFormat.XML; 
       else if (t.getKey().endsWith(".ttl"))
         res.cntType = FhirFormat.TURTLE; 
+      else if (t.getKey().endsWith(".ndjson"))
+        res.cntType = FhirFormat.NDJSON; 
       else if (t.getKey().endsWith(".txt") || t.getKey().endsWith(".map"))
         res.cntType = FhirFormat.TEXT; 
       else
@@ -1148,7 +1188,7 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
   public OperationOutcome validate(FhirFormat format, InputStream stream, List<String> profiles) throws FHIRException, IOException, EOperationOutcome {
     List<ValidationMessage> messages = new ArrayList<ValidationMessage>();
     InstanceValidator validator = getValidator();
-    validator.validate(null, messages, stream, format, asSdList(profiles));
+    validateContent(validator, stream, format, asSdList(profiles), messages);
     return messagesToOutcome(messages);
   }
 
@@ -1186,7 +1226,7 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
       try {
         System.out.println("Validate "+ref);
         messages.clear();
-        e = validator.validate(null, messages, new ByteArrayInputStream(cnt.focus), cnt.cntType);
+        e = validateContent(validator, new ByteArrayInputStream(cnt.focus), cnt.cntType, new ArrayList<>(), messages);
         res.add(new ScanOutputItem(ref, null, null, messagesToOutcome(messages)));
       } catch (Exception ex) {
         res.add(new ScanOutputItem(ref, null, null, exceptionToOutcome(ex)));
@@ -1275,23 +1315,25 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
     }
     List<String> refs = new ArrayList<String>();
     boolean asBundle = handleSources(sources, refs);
-    Bundle results = new Bundle();
-    results.setType(Bundle.BundleType.COLLECTION);
-    for (String ref : refs) {
-      TimeTracker.Session tts = context.clock().start("validation");
-      context.clock().milestone(); 
-      System.out.print("  Validate " + ref);
-      Content cnt = loadContent(ref, "validate");
-      try {
-        OperationOutcome outcome = validate(ref, cnt.focus, cnt.cntType, profiles);
-        ToolingExtensions.addStringExtension(outcome, ToolingExtensions.EXT_OO_FILE, ref);
-        System.out.println(" " + context.clock().milestone());
-        results.addEntry().setResource(outcome);
-        tts.end();
-      } catch (Exception e) {
-        System.out.println("Validation Infrastructure fail validating "+ref+": "+e.getMessage());
-        tts.end();
-        throw new FHIRException(e);
+    Bundle results;
+    if (refs.size() > 1 && (threads > 1 || virtualThreads)) {
+      results = validateBatch(refs, profiles);
+    } else {
+      results = new Bundle();
+      results.setType(Bundle.BundleType.COLLECTION);
+      for (String ref : refs) {
+        TimeTracker.Session tts = context.clock().start("validation");
+        context.clock().milestone(); 
+        System.out.print("  Validate " + ref);
+        try {
+          results.addEntry().setResource(validateRef(ref, profiles));
+          System.out.println(" " + context.clock().milestone());
+          tts.end();
+        } catch (Exception e) {
+          System.out.println("Validation Infrastructure fail validating "+ref+": "+e.getMessage());
+          tts.end();
+          throw new FHIRException(e);
+        }
       }
     }
     if (asBundle)
@@ -1301,6 +1343,175 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
   }
 
 
+  /**
+   * Validate a set of sources concurrently, using the configured number of threads (or virtual threads).
+   * 
+   * Each source gets its own InstanceValidator; they all share this engine's context, which 
+   * must not be modified (e.g. by loading an IG) while the batch is running.
+   * 
+   * @return a collection Bundle with an OperationOutcome for each source, in the same order as refs
+   */
+  public Bundle validateBatch(List<String> refs, List<String> profiles) throws FHIRException, IOException {
+    ExecutorService executor = makeValidationExecutor();
+    try {
+      return validateBatch(refs, profiles, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Validate a set of sources using the tasks run by the executor provided. 
+   * 
+   * @return a collection Bundle with an OperationOutcome for each source, in the same order as refs
+   */
+  public Bundle validateBatch(List<String> refs, List<String> profiles, ExecutorService executor) throws FHIRException, IOException {
+    asSdList(profiles); // fail once, up front, if a profile can't be found
+    TimeTracker.Session tts = context.clock().start("validation");
+    List<Future<OperationOutcome>> tasks = new ArrayList<>();
+    for (String ref : refs) {
+      tasks.add(executor.submit(() -> {
+        long start = System.nanoTime();
+        OperationOutcome outcome = validateRef(ref, profiles);
+        System.out.println("  Validate " + ref + " " + Utilities.presentDuration(System.nanoTime() - start));
+        return outcome;
+      }));
+    }
+    Bundle results = new Bundle();
+    results.setType(Bundle.BundleType.COLLECTION);
+    try {
+      for (int i = 0; i < refs.size(); i++) {
+        try {
+          results.addEntry().setResource(tasks.get(i).get());
+        } catch (ExecutionException e) {
+          System.out.println("Validation Infrastructure fail validating "+refs.get(i)+": "+e.getCause().getMessage());
+          throw new FHIRException(e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FHIRException("Interrupted validating "+refs.size()+" sources", e);
+    } finally {
+      for (Future<OperationOutcome> t : tasks) {
+        t.cancel(true);
+      }
+      tts.end();
+    }
+    return results;
+  }
+
+  private ExecutorService makeValidationExecutor() {
+    if (virtualThreads) {
+      // Executors.newVirtualThreadPerTaskExecutor() is only available from Java 21 
+      try {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (Exception e) {
+        System.out.println("Virtual threads are not supported by this Java runtime, so using "+Math.max(threads, 1)+" thread(s)");
+      }
+    }
+    return Executors.newFixedThreadPool(Math.max(threads, 1));
+  }
+
+  private OperationOutcome validateRef(String ref, List<String> profiles) throws Exception {
+    Content cnt = loadContent(ref, "validate");
+    OperationOutcome outcome = validate(ref, cnt.focus, cnt.cntType, profiles);
+    ToolingExtensions.addStringExtension(outcome, ToolingExtensions.EXT_OO_FILE, ref);
+    return outcome;
+  }
+
+  /**
+   * Validate an NDJSON stream (e.g. a bulk data export), reading and validating it one line - one resource - at a time, 
+   * using the configured number of threads (or virtual threads). Memory use doesn't depend on the size of the stream. 
+   * 
+   * @param source - the name of the source, for progress reports, or null 
+   * @param handler - is passed the messages for each line, in the order of the lines
+   */
+  public NDJsonValidator.Summary validateNDJson(String source, InputStream stream, List<String> profiles, NDJsonValidator.LineHandler handler) throws FHIRException, IOException {
+    ExecutorService executor = makeValidationExecutor();
+    try {
+      return validateNDJson(source, stream, profiles, handler, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Validate an NDJSON stream using the tasks run by the executor provided. Each task borrows a validator 
+   * from a pool, so there's one validator for each line being validated at once, not one for each line
+   */
+  public NDJsonValidator.Summary validateNDJson(String source, InputStream stream, List<String> profiles, NDJsonValidator.LineHandler handler, ExecutorService executor) throws FHIRException, IOException {
+    List<StructureDefinition> sdList = asSdList(profiles);
+    Deque<InstanceValidator> validators = new ConcurrentLinkedDeque<>();
+    NDJsonValidator ndjson = new NDJsonValidator(content -> {
+      InstanceValidator validator = validators.pollFirst();
+      if (validator == null) {
+        validator = getValidator();
+      }
+      try {
+        List<ValidationMessage> messages = new ArrayList<>();
+        validator.validate(null, messages, new ByteArrayInputStream(content), FhirFormat.JSON, sdList);
+        return messages;
+      } finally {
+        validators.addFirst(validator);
+      }
+    }, executor, Math.max(threads, 1) * 4);
+    return ndjson.validate(source, stream, handler);
+  }
+
+  /**
+   * Validate content with the validator provided. There's no parser for NDJSON, so each line of NDJSON content 
+   * is validated as a JSON resource, one after the other, and all their messages are added to messages
+   * 
+   * @return the element that was validated, or null if there isn't one (e.g. the content is NDJSON)
+   */
+  private Element validateContent(InstanceValidator validator, InputStream stream, FhirFormat cntType, List<StructureDefinition> profiles, List<ValidationMessage> messages) throws FHIRException, IOException {
+    if (cntType == FhirFormat.NDJSON) {
+      NDJsonValidator ndjson = new NDJsonValidator(content -> {
+        List<ValidationMessage> lineMessages = new ArrayList<>();
+        validator.validate(null, lineMessages, new ByteArrayInputStream(content), FhirFormat.JSON, profiles);
+        return lineMessages;
+      }, null, 1);
+      ndjson.validate(null, stream, (line, lineMessages) -> messages.addAll(lineMessages));
+      return null;
+    }
+    return validator.validate(null, messages, stream, cntType, profiles);
+  }
+
+  /**
+   * Validate an NDJSON file, writing an OperationOutcome for each line that has issues to output, as NDJSON. 
+   * The line of each issue is in the issue line extension. If there's no output, the errors are reported on the console
+   */
+  public NDJsonValidator.Summary validateNDJson(String source, OutputStream output, List<String> profiles) throws FHIRException, IOException {
+    JsonParser json = new JsonParser();
+    json.setOutputStyle(OutputStyle.NORMAL);
+    TimeTracker.Session tts = context.clock().start("validation");
+    try (InputStream stream = new FileInputStream(source)) {
+      NDJsonValidator.Summary summary = validateNDJson(source, stream, profiles, (line, messages) -> {
+        if (output != null) {
+          if (!messages.isEmpty()) {
+            OperationOutcome op = new OperationOutcome();
+            for (ValidationMessage vm : filterMessages(messages)) {
+              op.getIssue().add(OperationOutcomeUtilities.convertToIssue(vm, op));
+            }
+            ToolingExtensions.addStringExtension(op, ToolingExtensions.EXT_OO_FILE, source);
+            output.write(json.composeBytes(op));
+            output.write('\n');
+          }
+        } else {
+          for (ValidationMessage vm : messages) {
+            if (vm.getLevel() == IssueSeverity.FATAL || vm.getLevel() == IssueSeverity.ERROR) {
+              System.out.println("  "+source+" line "+line+": "+vm.summary());
+            }
+          }
+        }
+      });
+      System.out.println("  Validate "+source+": "+summary);
+      return summary;
+    } finally {
+      tts.end();
+    }
+  }
+
   public OperationOutcome validateString(String location, String source, FhirFormat format, List<String> profiles) throws FHIRException, IOException, EOperationOutcome, SAXException {
     return validate(location, source.getBytes(), format, profiles);
   }
@@ -1356,8 +1567,15 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
   }
 
   public OperationOutcome validate(byte[] source, FhirFormat cntType, List<String> profiles, List<ValidationMessage> messages) throws FHIRException, IOException, EOperationOutcome {
-    InstanceValidator validator = getValidator();
-    validator.validate(null, messages, new ByteArrayInputStream(source), cntType, asSdList(profiles));
+    return validate(getValidator(), source, cntType, profiles, messages);
+  }
+
+  /**
+   * Validate content with a validator from getValidator(). A validator can be used for any number of
+   * validations (e.g. kept in a pool), but only by one thread at a time.
+   */
+  public OperationOutcome validate(InstanceValidator validator, byte[] source, FhirFormat cntType, List<String> profiles, List<ValidationMessage> messages) throws FHIRException, IOException, EOperationOutcome {
+    validateContent(validator, new ByteArrayInputStream(source), cntType, asSdList(profiles), messages);
     return messagesToOutcome(messages);
   }
 
@@ -1372,7 +1590,7 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
         validateSHEX(location, messages);
     }
     InstanceValidator validator = getValidator();
-    validator.validate(null, messages, new ByteArrayInputStream(source), cntType, asSdList(profiles));
+    validateContent(validator, new ByteArrayInputStream(source), cntType, asSdList(profiles), messages);
     if (showTimes) {
       System.out.println(location+": "+validator.reportTimes());
     }
@@ -1393,7 +1611,7 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
     validator.setResourceIdRule(resourceIdRule);
     validator.setBestPracticeWarningLevel(bpWarnings);
     validator.setCheckDisplay(displayOption);   
-    validator.validate(null, messages, new ByteArrayInputStream(source), cntType, asSdList(profiles));
+    validateContent(validator, new ByteArrayInputStream(source), cntType, asSdList(profiles), messages);
     return messagesToOutcome(messages);
   }
   
@@ -1568,8 +1786,17 @@ public class ValidationEngine implements IValidatorResourceFetcher, IPackageInst
     this.version = version;
   }
 
+  /**
+   * @return the timings of all the validation done with this engine's validators, on any thread
+   */
+  public ValidationMetrics getMetrics() {
+    metrics.setContext(context);
+    return metrics;
+  }
+
   public InstanceValidator getValidator() {
     InstanceValidator validator = new InstanceValidator(context, null);
+    validator.setMetrics(getMetrics());
     validator.setHintAboutNonMustSupport(hintAboutNonMustSupport);
     validator.setAnyExtensionsAllowed(anyExtensionsAllowed);
     validator.setNoInvariantChecks(isNoInvariantChecks());
@@ -0,0 +1,197 @@
+package org.hl7.fhir.validation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hl7.fhir.r5.context.BaseWorkerContext;
+import org.hl7.fhir.r5.context.IWorkerContext;
+import org.hl7.fhir.utilities.LatencyHistogram;
+
+/**
+ * Validation timings, shared by all the validators that a ValidationEngine makes, so they are totals across all
+ * the threads validating.
+ *
+ * There is a latency histogram for each phase of validation (the phases overlap - e.g. invariants are evaluated
+ * while walking the structure), for each profile, and for each invariant key. The structure phase is the walk of
+ * a resource's elements against each profile, and the definitions phase is looking up the structure definitions
+ * (profiles, extensions, types and discriminators) that the walk needs. A profile's time is the time spent
+ * validating against that profile, not counting any resources nested inside (e.g. bundle entries), which are
+ * counted against their own profiles. The terminology cache and server statistics come from the context.
+ */
+public class ValidationMetrics {
+
+  public enum Phase {
+    PARSE("parse"),
+    VALIDATE("validate"),
+    STRUCTURE("structure"),
+    DEFINITIONS("definitions"),
+    SLICING("slicing"),
+    FHIRPATH("fhirpath"),
+    INVARIANTS("invariants"),
+    TERMINOLOGY("terminology");
+
+    private String code;
+
+    private Phase(String code) {
+      this.code = code;
+    }
+
+    public String getCode() {
+      return code;
+    }
+  }
+
+  private Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+  private Map<String, LatencyHistogram> profiles = new ConcurrentHashMap<>();
+  private Map<String, LatencyHistogram> invariants = new ConcurrentHashMap<>();
+  private volatile IWorkerContext context;
+
+  public ValidationMetrics() {
+    super();
+    // all the phases are added here, so the map is never changed while it's being read
+    for (Phase p : Phase.values()) {
+      phases.put(p, new LatencyHistogram());
+    }
+  }
+
+  public void setContext(IWorkerContext context) {
+    this.context = context;
+  }
+
+  public void record(Phase phase, long nanos) {
+    phases.get(phase).record(nanos);
+  }
+
+  public void recordProfile(String url, long nanos) {
+    histogram(profiles, url).record(nanos);
+  }
+
+  public void recordInvariant(String key, long nanos) {
+    histogram(invariants, key).record(nanos);
+  }
+
+  private LatencyHistogram histogram(Map<String, LatencyHistogram> map, String name) {
+    LatencyHistogram res = map.get(name);
+    if (res == null) {
+      res = map.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+    return res;
+  }
+
+  public LatencyHistogram getPhase(Phase phase) {
+    return phases.get(phase);
+  }
+
+  /**
+   * @return the times for each profile, by url
+   */
+  public Map<String, LatencyHistogram> getProfiles() {
+    return Collections.unmodifiableMap(profiles);
+  }
+
+  /**
+   * @return the times for each invariant, by key
+   */
+  public Map<String, LatencyHistogram> getInvariants() {
+    return Collections.unmodifiableMap(invariants);
+  }
+
+  public long getTxCacheHits() {
+    return context instanceof BaseWorkerContext ? ((BaseWorkerContext) context).getTxCacheHits() : 0;
+  }
+
+  public long getTxCacheMisses() {
+    return context instanceof BaseWorkerContext ? ((BaseWorkerContext) context).getTxCacheMisses() : 0;
+  }
+
+  /**
+   * @return the times taken by requests to the terminology server, or null if the context doesn't track them
+   */
+  public LatencyHistogram getTxServerTimes() {
+    return context instanceof BaseWorkerContext ? ((BaseWorkerContext) context).getTxServerTimes() : null;
+  }
+
+  /**
+   * clear the phase, profile and invariant times (but not the terminology statistics, which belong to the context)
+   */
+  public void reset() {
+    for (LatencyHistogram h : phases.values()) {
+      h.reset();
+    }
+    profiles.clear();
+    invariants.clear();
+  }
+
+  /**
+   * @return the profiles that have taken the most time, most first
+   */
+  public List<String> slowestProfiles(int count) {
+    List<Map.Entry<String, LatencyHistogram>> list = new ArrayList<>(profiles.entrySet());
+    list.sort((a, b) -> Long.compare(b.getValue().getTotal(), a.getValue().getTotal()));
+    List<String> res = new ArrayList<>();
+    for (int i = 0; i < list.size() && i < count; i++) {
+      res.add(list.get(i).getKey());
+    }
+    return res;
+  }
+
+  /**
+   * @return the metrics in the Prometheus text exposition format
+   */
+  public String toPrometheus() {
+    StringBuilder b = new StringBuilder();
+    header(b, "fhir_validation_phase_seconds", "Time spent in each phase of validation", "histogram");
+    for (Phase p : Phase.values()) {
+      histogram(b, "fhir_validation_phase_seconds", "phase", p.getCode(), phases.get(p));
+    }
+    header(b, "fhir_validation_profile_seconds", "Time spent validating against each profile", "histogram");
+    for (Map.Entry<String, LatencyHistogram> e : profiles.entrySet()) {
+      histogram(b, "fhir_validation_profile_seconds", "profile", e.getKey(), e.getValue());
+    }
+    header(b, "fhir_validation_invariant_seconds", "Time spent evaluating each invariant", "histogram");
+    for (Map.Entry<String, LatencyHistogram> e : invariants.entrySet()) {
+      histogram(b, "fhir_validation_invariant_seconds", "key", e.getKey(), e.getValue());
+    }
+    header(b, "fhir_validation_tx_cache_hits_total", "Expansions and code validations found in the terminology cache", "counter");
+    b.append("fhir_validation_tx_cache_hits_total ").append(getTxCacheHits()).append("\n");
+    header(b, "fhir_validation_tx_cache_misses_total", "Expansions and code validations not found in the terminology cache", "counter");
+    b.append("fhir_validation_tx_cache_misses_total ").append(getTxCacheMisses()).append("\n");
+    LatencyHistogram tx = getTxServerTimes();
+    if (tx != null) {
+      header(b, "fhir_validation_tx_server_seconds", "Time taken by requests to the terminology server", "histogram");
+      histogram(b, "fhir_validation_tx_server_seconds", null, null, tx);
+    }
+    return b.toString();
+  }
+
+  private void header(StringBuilder b, String name, String help, String type) {
+    b.append("# HELP ").append(name).append(" ").append(help).append("\n");
+    b.append("# TYPE ").append(name).append(" ").append(type).append("\n");
+  }
+
+  private void histogram(StringBuilder b, String name, String label, String value, LatencyHistogram h) {
+    String labels = label == null ? "" : label + "=\"" + escape(value) + "\",";
+    long[] buckets = h.getBuckets();
+    for (int i = 0; i < buckets.length; i++) {
+      b.append(name).append("_bucket{").append(labels).append("le=\"").append(seconds(LatencyHistogram.BUCKET_BOUNDS[i])).append("\"} ").append(buckets[i]).append("\n");
+    }
+    long count = h.getCount();
+    b.append(name).append("_bucket{").append(labels).append("le=\"+Inf\"} ").append(count).append("\n");
+    labels = label == null ? "" : "{" + label + "=\"" + escape(value) + "\"}";
+    b.append(name).append("_sum").append(labels).append(" ").append(seconds(h.getTotal())).append("\n");
+    b.append(name).append("_count").append(labels).append(" ").append(count).append("\n");
+  }
+
+  private String seconds(long nanos) {
+    return BigDecimal.valueOf(nanos).movePointLeft(9).stripTrailingZeros().toPlainString();
+  }
+
+  private String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
@@ -68,6 +68,7 @@ import org.hl7.fhir.utilities.Utilities;
 import org.hl7.fhir.utilities.VersionUtilities;
 import org.hl7.fhir.validation.ValidationEngine.VersionSourceInformation;
 import org.hl7.fhir.validation.cli.ValidatorGui;
+import org.hl7.fhir.validation.cli.ValidatorServer;
 import org.hl7.fhir.validation.cli.services.ComparisonService;
 import org.hl7.fhir.validation.cli.services.ValidationService;
 import org.hl7.fhir.validation.cli.model.CliContext;
@@ -89,7 +90,7 @@ import org.hl7.fhir.validation.cli.utils.*;
 public class Validator {
 
   public enum EngineMode {
-    VALIDATION, TRANSFORM, NARRATIVE, SNAPSHOT, SCAN, CONVERT, FHIRPATH, VERSION
+    VALIDATION, TRANSFORM, NARRATIVE, SNAPSHOT, SCAN, CONVERT, FHIRPATH, VERSION, SERVER
   }
 
   private static CliContext cliContext;
@@ -198,6 +199,10 @@ public class Validator {
         ValidationService.convertSources(cliContext, validator);
       } else if (cliContext.getMode() == EngineMode.FHIRPATH) {
         ValidationService.evaluateFhirpath(cliContext, validator);
+      } else if (cliContext.getMode() == EngineMode.SERVER) {
+        ValidatorServer.start(cliContext, validator);
+        System.out.println("Validation service running on port " + cliContext.getServerPort() + " (" + tt.report() + ")");
+        return;
       } else {      
         for (String s : cliContext.getProfiles()) {
           if (!validator.getContext().hasResource(StructureDefinition.class, s) && !validator.getContext().hasResource(ImplementationGuide.class, s)) {
@@ -3,21 +3,27 @@ package org.hl7.fhir.validation.cli;
 import io.javalin.Javalin;
 import org.hl7.fhir.validation.ValidationEngine;
 import org.hl7.fhir.validation.cli.controller.CliContextController;
+import org.hl7.fhir.validation.cli.controller.MetricsController;
 import org.hl7.fhir.validation.cli.controller.ValidationController;
 import org.hl7.fhir.validation.cli.controller.UIController;
 import org.hl7.fhir.validation.cli.model.CliContext;
+import org.hl7.fhir.validation.cli.services.ConcurrentValidationService;
 
 public class RestEndpoints {
 
   public UIController myUIController;
   public CliContextController myCliContextController;
   public ValidationController myValidationController;
+  public MetricsController myMetricsController;
+  public ConcurrentValidationService myValidationService;
 
   public void initRestEndpoints(Javalin app, CliContext cliContext, ValidationEngine validationEngine) {
 
     myUIController = new UIController();
     myCliContextController = new CliContextController(cliContext);
-    myValidationController = new ValidationController(validationEngine);
+    myValidationService = new ConcurrentValidationService(validationEngine, cliContext.getThreads(), cliContext.getQueueSize(), cliContext.getRequestTimeout() * 1000L);
+    myValidationController = new ValidationController(myValidationService);
+    myMetricsController = new MetricsController(validationEngine, myValidationService);
 
     app.get("/home", myUIController.renderLandingPage);
 
@@ -25,5 +31,13 @@ public class RestEndpoints {
     app.post("/context", myCliContextController::handleSetCurrentCliContext);
 
     app.post("/validate", myValidationController::handleValidationRequest);
+
+    app.get("/metrics", myMetricsController::handleGetMetrics);
+  }
+
+  public void stop() {
+    if (myValidationService != null) {
+      myValidationService.shutdown();
+    }
   }
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ public class ValidatorGui {
   private static final String PAGE_ADDRESS = "http://localhost:" + GUI_FRONTEND_PORT + "/home";
   private static final String WEB_APP_FILE_LOCATION = "/public";
   private static Javalin app;
+  private static RestEndpoints endpoints;
 
   private ValidatorGui(){}
 
@@ -38,7 +39,8 @@ public class ValidatorGui {
 
   public static void start(CliContext currentContext, ValidationEngine validationEngine, boolean bootBrowser) {
     app = Javalin.create();
-    new RestEndpoints().initRestEndpoints(app, currentContext, validationEngine);
+    endpoints = new RestEndpoints();
+    endpoints.initRestEndpoints(app, currentContext, validationEngine);
     app.config.addStaticFiles(WEB_APP_FILE_LOCATION);
     app.start(GUI_FRONTEND_PORT);
     if (bootBrowser) {
@@ -59,6 +61,7 @@ public class ValidatorGui {
 
   public static void stop() {
     app.stop();
+    endpoints.stop();
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package org.hl7.fhir.validation.cli;
+
+import io.javalin.Javalin;
+import org.hl7.fhir.r5.context.TerminologyCache;
+import org.hl7.fhir.validation.ValidationEngine;
+import org.hl7.fhir.validation.cli.model.CliContext;
+
+/**
+ * Runs the validator as a REST service (-server), without the GUI. The /validate endpoint validates
+ * concurrently, using the -threads, -queue-size and -request-timeout settings in the CliContext.
+ *
+ * While the server is running, new terminology cache entries are written in the background, rather than
+ * as each one is stored.
+ */
+public class ValidatorServer {
+
+  private static Javalin app;
+  private static RestEndpoints endpoints;
+  private static TerminologyCache txCache;
+  private static final long TX_CACHE_FLUSH_INTERVAL = 5000;
+
+  private ValidatorServer(){}
+
+  public static void start(CliContext cliContext, ValidationEngine validationEngine) {
+    app = Javalin.create();
+    endpoints = new RestEndpoints();
+    endpoints.initRestEndpoints(app, cliContext, validationEngine);
+    txCache = validationEngine.getContext().getTerminologyCache();
+    txCache.startBackgroundFlush(TX_CACHE_FLUSH_INTERVAL);
+    app.start(cliContext.getServerPort());
+  }
+
+  public static void stop() {
+    app.stop();
+    endpoints.stop();
+    txCache.close();
+  }
+
+}
@@ -0,0 +1,41 @@
+package org.hl7.fhir.validation.cli.controller;
+
+import io.javalin.http.Context;
+import org.apache.http.HttpStatus;
+import org.hl7.fhir.validation.ValidationEngine;
+import org.hl7.fhir.validation.cli.services.ConcurrentValidationService;
+
+/**
+ * Serves the validation metrics (see ValidationMetrics) and the state of the validation service, in the
+ * Prometheus text format.
+ */
+public class MetricsController {
+
+  private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private ValidationEngine myValidationEngine;
+  private ConcurrentValidationService myValidationService;
+
+  public MetricsController(ValidationEngine validationEngine, ConcurrentValidationService validationService) {
+    this.myValidationEngine = validationEngine;
+    this.myValidationService = validationService;
+  }
+
+  public void handleGetMetrics(Context ctx) {
+    StringBuilder b = new StringBuilder();
+    if (myValidationEngine != null) {
+      b.append(myValidationEngine.getMetrics().toPrometheus());
+    }
+    if (myValidationService != null) {
+      gauge(b, "fhir_validation_files_active", "Files being validated", myValidationService.getActiveCount());
+      gauge(b, "fhir_validation_files_queued", "Files waiting to be validated", myValidationService.getQueuedCount());
+    }
+    ctx.status(HttpStatus.SC_OK).contentType(PROMETHEUS_CONTENT_TYPE).result(b.toString());
+  }
+
+  private void gauge(StringBuilder b, String name, String help, long value) {
+    b.append("# HELP ").append(name).append(" ").append(help).append("\n");
+    b.append("# TYPE ").append(name).append(" gauge\n");
+    b.append(name).append(" ").append(value).append("\n");
+  }
+}
@@ -4,24 +4,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
 import org.apache.http.HttpStatus;
-import org.hl7.fhir.validation.ValidationEngine;
 import org.hl7.fhir.validation.cli.model.ValidationRequest;
 import org.hl7.fhir.validation.cli.model.ValidationResponse;
-import org.hl7.fhir.validation.cli.services.ValidationService;
+import org.hl7.fhir.validation.cli.services.ConcurrentValidationService;
+import org.hl7.fhir.validation.cli.services.ConcurrentValidationService.ServiceBusyException;
+import org.hl7.fhir.validation.cli.services.ConcurrentValidationService.ValidationTimeoutException;
 
 public class ValidationController {
 
-  private ValidationEngine myValidationEngine;
+  private static final String RETRY_AFTER_SECONDS = "1";
 
-  public ValidationController(ValidationEngine validationEngine) {
-    this.myValidationEngine = validationEngine;
+  private ConcurrentValidationService myValidationService;
+
+  public ValidationController(ConcurrentValidationService validationService) {
+    this.myValidationService = validationService;
   }
 
   public void handleValidationRequest(Context ctx) {
     ValidationRequest request = ctx.bodyAsClass(ValidationRequest.class);
     ValidationResponse response = null;
     try {
-      response = ValidationService.validateSources(request, myValidationEngine);
+      response = myValidationService.validateSources(request);
       ObjectMapper Obj = new ObjectMapper();
       /*
        * TODO
@@ -31,6 +34,10 @@ public class ValidationController {
        */
       String jsonStr = Obj.writeValueAsString(response);
       ctx.status(200).json(jsonStr);
+    } catch (ServiceBusyException e) {
+      ctx.status(HttpStatus.SC_SERVICE_UNAVAILABLE).header("Retry-After", RETRY_AFTER_SECONDS).result(e.getLocalizedMessage());
+    } catch (ValidationTimeoutException e) {
+      ctx.status(HttpStatus.SC_GATEWAY_TIMEOUT).result(e.getLocalizedMessage());
     } catch (Exception e) {
       ctx.status(HttpStatus.SC_INTERNAL_SERVER_ERROR).result(e.getLocalizedMessage());
     }
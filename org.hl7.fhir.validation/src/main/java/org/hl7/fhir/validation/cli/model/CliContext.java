@@ -72,6 +72,21 @@ public class CliContext {
   
   @JsonProperty("showTimes")
   private boolean showTimes = false;
+
+  @JsonProperty("threads")
+  private int threads = 1;
+
+  @JsonProperty("virtualThreads")
+  private boolean virtualThreads = false;
+
+  @JsonProperty("serverPort")
+  private int serverPort = 8080;
+
+  @JsonProperty("queueSize")
+  private int queueSize = 100;
+
+  @JsonProperty("requestTimeout")
+  private int requestTimeout = 0;
   
   @JsonProperty("locale")
   private String locale = Locale.ENGLISH.getDisplayLanguage();
@@ -457,6 +472,54 @@ public class CliContext {
     this.showTimes = showTimes;
   }
 
+  public int getThreads() {
+    return threads;
+  }
+
+  public CliContext setThreads(int threads) {
+    this.threads = threads;
+    return this;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public CliContext setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
+  public int getServerPort() {
+    return serverPort;
+  }
+
+  public CliContext setServerPort(int serverPort) {
+    this.serverPort = serverPort;
+    return this;
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public CliContext setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+    return this;
+  }
+
+  /**
+   * @return the time allowed for a validation request to the server, in seconds (0 for no limit)
+   */
+  public int getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  public CliContext setRequestTimeout(int requestTimeout) {
+    this.requestTimeout = requestTimeout;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -487,6 +550,11 @@ public class CliContext {
       Objects.equals(sources, that.sources) &&
       Objects.equals(crumbTrails, that.crumbTrails) &&
       Objects.equals(showTimes, that.showTimes) &&
+      threads == that.threads &&
+      virtualThreads == that.virtualThreads &&
+      serverPort == that.serverPort &&
+      queueSize == that.queueSize &&
+      requestTimeout == that.requestTimeout &&
       mode == that.mode &&
       Objects.equals(locale, that.locale) &&
       Objects.equals(locations, that.locations);
@@ -494,6 +562,6 @@ public class CliContext {
 
   @Override
   public int hashCode() {
-    return Objects.hash(doNative, anyExtensionsAllowed, hintAboutNonMustSupport, recursive, doDebug, assumeValidRestReferences, canDoNative, noInternalCaching, noExtensibleBindingMessages, map, output, txServer, sv, txLog, mapLog, lang, fhirpath, snomedCT, targetVer, igs, questionnaires, profiles, sources, mode, locale, locations, crumbTrails, showTimes);
+    return Objects.hash(doNative, anyExtensionsAllowed, hintAboutNonMustSupport, recursive, doDebug, assumeValidRestReferences, canDoNative, noInternalCaching, noExtensibleBindingMessages, map, output, txServer, sv, txLog, mapLog, lang, fhirpath, snomedCT, targetVer, igs, questionnaires, profiles, sources, mode, locale, locations, crumbTrails, showTimes, threads, virtualThreads, serverPort, queueSize, requestTimeout);
   }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package org.hl7.fhir.validation.cli.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.r5.elementmodel.Manager;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
+import org.hl7.fhir.validation.ValidationEngine;
+import org.hl7.fhir.validation.cli.model.FileInfo;
+import org.hl7.fhir.validation.cli.model.ValidationOutcome;
+import org.hl7.fhir.validation.cli.model.ValidationRequest;
+import org.hl7.fhir.validation.cli.model.ValidationResponse;
+import org.hl7.fhir.validation.instance.InstanceValidator;
+
+/**
+ * Validates the files in REST validation requests on a fixed pool of worker threads, so that the validator can be
+ * run as a service under concurrent load.
+ *
+ * The files in a request are validated in parallel. Each file is validated with an InstanceValidator taken from a
+ * pool, and returned to it afterwards - an InstanceValidator clears its state at the start of each validation, but
+ * can only be used by one thread at a time. All the validators share the engine's context, which must not be
+ * changed (e.g. by loading an IG) while the service is running.
+ *
+ * Files that can't be started at once wait in a queue of limited size. When the queue is full, a request is refused
+ * with a ServiceBusyException rather than waiting. A request that isn't finished within the timeout fails with a
+ * ValidationTimeoutException, and any of its files that haven't started are cancelled.
+ */
+public class ConcurrentValidationService {
+
+  public static class ServiceBusyException extends FHIRException {
+    public ServiceBusyException(String message) {
+      super(message);
+    }
+  }
+
+  public static class ValidationTimeoutException extends FHIRException {
+    public ValidationTimeoutException(String message) {
+      super(message);
+    }
+  }
+
+  private ValidationEngine engine;
+  private ThreadPoolExecutor executor;
+  private Queue<InstanceValidator> validators = new ConcurrentLinkedQueue<>();
+  private long timeout;
+
+  /**
+   * @param threads - the number of files validated at once
+   * @param queueSize - the number of files that can wait to be validated, across all requests
+   * @param timeout - the time allowed for a request, in milliseconds (0 for no limit)
+   */
+  public ConcurrentValidationService(ValidationEngine engine, int threads, int queueSize, long timeout) {
+    super();
+    this.engine = engine;
+    this.timeout = timeout;
+    BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+    executor = new ThreadPoolExecutor(Math.max(threads, 1), Math.max(threads, 1), 0L, TimeUnit.MILLISECONDS, queue, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  public ValidationResponse validateSources(ValidationRequest request) throws Exception {
+    List<String> profiles = request.getCliContext().getProfiles();
+    if (profiles.size() > 0) {
+      System.out.println("  .. validate " + request.listSourceFiles() + " against " + profiles.toString());
+    } else {
+      System.out.println("  .. validate " + request.listSourceFiles());
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    List<Future<ValidationOutcome>> tasks = new ArrayList<>();
+    try {
+      for (FileInfo fp : request.getFilesToValidate()) {
+        try {
+          tasks.add(executor.submit(() -> validateFile(fp, profiles)));
+        } catch (RejectedExecutionException e) {
+          throw new ServiceBusyException("The validation service is busy (" + executor.getQueue().size() + " files waiting). Try again later");
+        }
+      }
+      ValidationResponse response = new ValidationResponse();
+      for (Future<ValidationOutcome> t : tasks) {
+        response.addOutcome(timeout > 0 ? t.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS) : t.get());
+      }
+      return response;
+    } catch (TimeoutException e) {
+      throw new ValidationTimeoutException("Validating " + request.listSourceFiles() + " did not finish within " + timeout + "ms");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    } finally {
+      for (Future<ValidationOutcome> t : tasks) {
+        t.cancel(true);
+      }
+    }
+  }
+
+  protected ValidationOutcome validateFile(FileInfo fp, List<String> profiles) throws Exception {
+    InstanceValidator validator = validators.poll();
+    if (validator == null) {
+      validator = engine.getValidator();
+    }
+    try {
+      List<ValidationMessage> messages = new ArrayList<>();
+      engine.validate(validator, fp.getFileContent().getBytes(), Manager.FhirFormat.getFhirFormat(fp.getFileType()), profiles, messages);
+      ValidationOutcome outcome = new ValidationOutcome().setFileInfo(fp);
+      messages.forEach(outcome::addMessage);
+      return outcome;
+    } finally {
+      validators.offer(validator);
+    }
+  }
+
+  /**
+   * @return the number of files being validated
+   */
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  /**
+   * @return the number of files waiting to be validated
+   */
+  public int getQueuedCount() {
+    return executor.getQueue().size();
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
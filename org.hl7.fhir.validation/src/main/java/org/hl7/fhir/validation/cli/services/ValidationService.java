@@ -13,11 +13,14 @@ import org.hl7.fhir.utilities.TimeTracker;
 import org.hl7.fhir.utilities.Utilities;
 import org.hl7.fhir.utilities.validation.ValidationMessage;
 import org.hl7.fhir.validation.ValidationEngine;
+import org.hl7.fhir.validation.ValidationMetrics;
 import org.hl7.fhir.validation.ValidationEngine.VersionSourceInformation;
 import org.hl7.fhir.validation.cli.model.*;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -63,9 +66,19 @@ public class ValidationService {
   }
   
   public static void validateSources(CliContext cliContext, ValidationEngine validator) throws Exception {
+    if (isNDJsonSources(cliContext.getSources())) {
+      validateNDJsonSources(cliContext, validator);
+      return;
+    }
     Resource r = validator.validate(cliContext.getSources(), cliContext.getProfiles());
     int ec = 0;
     System.out.println("Done. "+validator.getContext().clock().report());
+    if (cliContext.isShowTimes()) {
+      ValidationMetrics metrics = validator.getMetrics();
+      for (String url : metrics.slowestProfiles(10)) {
+        System.out.println("  Profile " + url + ": " + metrics.getProfiles().get(url));
+      }
+    }
     System.out.println();
 
     if (cliContext.getOutput() == null) {
@@ -89,6 +102,35 @@ public class ValidationService {
     System.exit(ec > 0 ? 1 : 0);
   }
 
+  private static boolean isNDJsonSources(List<String> sources) {
+    for (String s : sources) {
+      if (!s.endsWith(".ndjson") || !new File(s).isFile()) {
+        return false;
+      }
+    }
+    return !sources.isEmpty();
+  }
+
+  /**
+   * NDJSON files (e.g. bulk data exports) are streamed, rather than loaded, and the output (if there is one) 
+   * is an NDJSON file with an OperationOutcome for each resource that has issues
+   */
+  private static void validateNDJsonSources(CliContext cliContext, ValidationEngine validator) throws Exception {
+    int ec = 0;
+    OutputStream s = cliContext.getOutput() == null ? null : new BufferedOutputStream(new FileOutputStream(cliContext.getOutput()));
+    try {
+      for (String source : cliContext.getSources()) {
+        ec = ec + validator.validateNDJson(source, s, cliContext.getProfiles()).getErrors();
+      }
+    } finally {
+      if (s != null) {
+        s.close();
+      }
+    }
+    System.out.println("Done. "+validator.getContext().clock().report());
+    System.exit(ec > 0 ? 1 : 0);
+  }
+
   public static void validateScan(CliContext cliContext, ValidationEngine validator) throws Exception {
     if (Utilities.noString(cliContext.getOutput()))
       throw new Exception("Output parameter required when scanning");
@@ -215,6 +257,8 @@ public class ValidationService {
     validator.setSecurityChecks(cliContext.isSecurityChecks());
     validator.setCrumbTrails(cliContext.isCrumbTrails());
     validator.setShowTimes(cliContext.isShowTimes());
+    validator.setThreads(cliContext.getThreads());
+    validator.setVirtualThreads(cliContext.isVirtualThreads());
     validator.setFetcher(new StandAloneValidatorFetcher(validator.getPcm(), validator.getContext(), validator));
     validator.getBundleValidationRules().addAll(cliContext.getBundleValidationRules());
     TerminologyCache.setNoCaching(cliContext.isNoInternalCaching());
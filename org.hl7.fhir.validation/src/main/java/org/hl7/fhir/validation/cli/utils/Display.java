@@ -72,6 +72,19 @@ public class Display {
     System.out.println("     no default value. This parameter can appear any number of times");
     System.out.println("-output [file]: a filename for the results (OperationOutcome)");
     System.out.println("     Default: results are sent to the std out.");
+    System.out.println("-threads [n]: the number of threads to use when validating more than one source.");
+    System.out.println("     The sources are validated concurrently against the same loaded definitions, and");
+    System.out.println("     the results are reported in the same order as when run on a single thread");
+    System.out.println("     Default: 1");
+    System.out.println("-virtual-threads: validate each source on its own virtual thread (requires Java 21+;");
+    System.out.println("     falls back to -threads otherwise)");
+    System.out.println("-server [port]: run the validator as a REST service on [port] instead of validating");
+    System.out.println("     sources. POST a validation request to /validate. Requests are validated concurrently");
+    System.out.println("     by -threads workers, and the files in a request are validated in parallel");
+    System.out.println("-queue-size [n]: with -server, the number of files that can wait for a worker. When the");
+    System.out.println("     queue is full, requests are refused with 503 (Service Unavailable). Default: 100");
+    System.out.println("-request-timeout [seconds]: with -server, the time allowed for a request before it fails");
+    System.out.println("     with 504 (Gateway Timeout). Default: 0 (no limit)");
     System.out.println("-debug");
     System.out.println("     Produce additional information about the loading/validation process");
     System.out.println("-recurse");
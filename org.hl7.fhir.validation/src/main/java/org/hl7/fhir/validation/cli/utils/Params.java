@@ -1,6 +1,7 @@
 package org.hl7.fhir.validation.cli.utils;
 
 import org.hl7.fhir.r5.utils.IResourceValidator.BundleValidationRule;
+import org.hl7.fhir.utilities.Utilities;
 import org.hl7.fhir.utilities.VersionUtilities;
 import org.hl7.fhir.validation.Validator;
 import org.hl7.fhir.validation.cli.model.CliContext;
@@ -54,6 +55,11 @@ public class Params {
   public static final String SECURITY_CHECKS = "-security-checks";
   public static final String CRUMB_TRAIL = "-crumb-trails";
   public static final String SHOW_TIMES = "-show-times";
+  public static final String THREADS = "-threads";
+  public static final String VIRTUAL_THREADS = "-virtual-threads";
+  public static final String SERVER = "-server";
+  public static final String QUEUE_SIZE = "-queue-size";
+  public static final String REQUEST_TIMEOUT = "-request-timeout";
 
   /**
    * Checks the list of passed in params to see if it contains the passed in param.
@@ -168,6 +174,37 @@ public class Params {
         cliContext.setCrumbTrails(true);
       } else if (args[i].equals(SHOW_TIMES)) {
         cliContext.setShowTimes(true);
+      } else if (args[i].equals(THREADS)) {
+        if (i + 1 == args.length)
+          throw new Error("Specified -threads without indicating the number of threads");
+        String n = args[++i];
+        if (!Utilities.isInteger(n) || Integer.parseInt(n) < 1)
+          throw new Error("The value for -threads must be a positive integer, not '" + n + "'");
+        cliContext.setThreads(Integer.parseInt(n));
+      } else if (args[i].equals(VIRTUAL_THREADS)) {
+        cliContext.setVirtualThreads(true);
+      } else if (args[i].equals(SERVER)) {
+        if (i + 1 == args.length)
+          throw new Error("Specified -server without indicating the port");
+        String n = args[++i];
+        if (!Utilities.isInteger(n) || Integer.parseInt(n) < 1)
+          throw new Error("The value for -server must be a port number, not '" + n + "'");
+        cliContext.setServerPort(Integer.parseInt(n));
+        cliContext.setMode(Validator.EngineMode.SERVER);
+      } else if (args[i].equals(QUEUE_SIZE)) {
+        if (i + 1 == args.length)
+          throw new Error("Specified -queue-size without indicating the number of files");
+        String n = args[++i];
+        if (!Utilities.isInteger(n) || Integer.parseInt(n) < 0)
+          throw new Error("The value for -queue-size must be zero or a positive integer, not '" + n + "'");
+        cliContext.setQueueSize(Integer.parseInt(n));
+      } else if (args[i].equals(REQUEST_TIMEOUT)) {
+        if (i + 1 == args.length)
+          throw new Error("Specified -request-timeout without indicating the number of seconds");
+        String n = args[++i];
+        if (!Utilities.isInteger(n) || Integer.parseInt(n) < 0)
+          throw new Error("The value for -request-timeout must be zero or a positive integer, not '" + n + "'");
+        cliContext.setRequestTimeout(Integer.parseInt(n));
       } else if (args[i].equals(SCAN)) {
         cliContext.setMode(Validator.EngineMode.SCAN);
       } else if (args[i].equals(TERMINOLOGY)) {
@@ -228,7 +265,7 @@ public class Params {
         cliContext.addSource(args[i]);
       }
     }
-    if (cliContext.getSources().isEmpty())
+    if (cliContext.getSources().isEmpty() && cliContext.getMode() != Validator.EngineMode.SERVER)
       throw new Exception("Must provide at least one source file");
     return cliContext;
   }
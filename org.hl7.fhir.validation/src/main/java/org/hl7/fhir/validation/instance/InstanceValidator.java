@@ -132,6 +132,7 @@ import org.hl7.fhir.r5.model.TypeDetails;
 import org.hl7.fhir.r5.model.UriType;
 import org.hl7.fhir.r5.model.ValueSet;
 import org.hl7.fhir.r5.model.ValueSet.ValueSetExpansionContainsComponent;
+import org.hl7.fhir.r5.terminologies.CodeSystemUtilities;
 import org.hl7.fhir.r5.utils.FHIRLexer.FHIRLexerException;
 import org.hl7.fhir.r5.utils.FHIRPathEngine;
 import org.hl7.fhir.r5.utils.FHIRPathEngine.IEvaluationContext;
@@ -140,6 +141,7 @@ import org.hl7.fhir.r5.utils.ToolingExtensions;
 import org.hl7.fhir.r5.utils.XVerExtensionManager;
 import org.hl7.fhir.utilities.i18n.I18nConstants;
 import org.hl7.fhir.validation.BaseValidator;
+import org.hl7.fhir.validation.ValidationMetrics;
 import org.hl7.fhir.validation.instance.type.BundleValidator;
 import org.hl7.fhir.validation.instance.type.CodeSystemValidator;
 import org.hl7.fhir.validation.instance.type.MeasureValidator;
@@ -1663,7 +1665,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
       } else if (ctxt.getType() == ExtensionContextType.FHIRPATH) {
         contexts.append("p:" + ctxt.getExpression());
         // The context is all elements that match the FHIRPath query found in the expression.
-        List<Base> res = fpe.evaluate(hostContext, resource, hostContext.getRootResource(), resource, fpe.parse(ctxt.getExpression()));
+        List<Base> res = fpe.evaluate(hostContext, resource, hostContext.getRootResource(), resource, fpe.parseCached(ctxt.getExpression()));
         if (res.contains(container)) {
           ok = true;
         }
@@ -1681,7 +1683,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
     } else {
       if (definition.hasContextInvariant()) {
         for (StringType s : definition.getContextInvariant()) {
-          if (!fpe.evaluateToBoolean(hostContext, resource, hostContext.getRootResource(), container, fpe.parse(s.getValue()))) {
+          if (!fpe.evaluateToBoolean(hostContext, resource, hostContext.getRootResource(), container, fpe.parseCached(s.getValue()))) {
             if (definition.hasUserData(XVerExtensionManager.XVER_EXT_MARKER)) {
               warning(errors, IssueType.STRUCTURE, container.line(), container.col(), stack.getLiteralPath(), false, I18nConstants.PROFILE_EXT_NOT_HERE, extUrl, s.getValue());              
               return true;
@@ -2780,24 +2782,8 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
     return checkDisplay;
   }
 
-  private ConceptDefinitionComponent getCodeDefinition(ConceptDefinitionComponent c, String code) {
-    if (code.equals(c.getCode()))
-      return c;
-    for (ConceptDefinitionComponent g : c.getConcept()) {
-      ConceptDefinitionComponent r = getCodeDefinition(g, code);
-      if (r != null)
-        return r;
-    }
-    return null;
-  }
-
   private ConceptDefinitionComponent getCodeDefinition(CodeSystem cs, String code) {
-    for (ConceptDefinitionComponent c : cs.getConcept()) {
-      ConceptDefinitionComponent r = getCodeDefinition(c, code);
-      if (r != null)
-        return r;
-    }
-    return null;
+    return CodeSystemUtilities.findCode(cs, code);
   }
 
   private IndexedElement getContainedById(Element container, String id) {
@@ -3278,6 +3264,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
    * @param slicer  - the definition of how slicing is determined
    * @param ed      - the slice for which to test membership
    * @param errors
+   * @param route   - the slices that the element was looked up as being in, or null if it wasn't looked up
    * @param stack
    * @return
    * @throws DefinitionException
@@ -3285,7 +3272,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
    * @throws IOException
    * @throws FHIRException
    */
-  private boolean sliceMatches(ValidatorHostContext hostContext, Element element, String path, ElementDefinition slicer, ElementDefinition ed, StructureDefinition profile, List<ValidationMessage> errors, List<ValidationMessage> sliceInfo, NodeStack stack) throws DefinitionException, FHIRException {
+  private boolean sliceMatches(ValidatorHostContext hostContext, Element element, String path, ElementDefinition slicer, ElementDefinition ed, StructureDefinition profile, List<ValidationMessage> errors, List<ValidationMessage> sliceInfo, NodeStack stack, Set<ElementDefinition> route) throws DefinitionException, FHIRException {
     if (!slicer.getSlicing().hasDiscriminator())
       return false; // cannot validate in this case
 
@@ -3387,7 +3374,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
     }
 
     ValidatorHostContext shc = hostContext.forSlicing();
-    boolean pass = evaluateSlicingExpression(shc, element, path, profile, n);
+    boolean pass = route != null ? route.contains(ed) : evaluateSlicingExpression(shc, element, path, profile, n);
     if (!pass) {
       slicingHint(sliceInfo, IssueType.STRUCTURE, element.line(), element.col(), path, false, (context.formatMessage(I18nConstants.DOES_NOT_MATCH_SLICE_, ed.getSliceName())), "discriminator = " + Utilities.escapeXml(n.toString()));
       for (String url : shc.getSliceRecords().keySet()) {
@@ -3675,8 +3662,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
       String ref = element.getChildValue("reference");
       if (!Utilities.noString(ref)) {
         for (Element bundle : bundles) {
-          List<Element> entries = bundle.getChildren(ENTRY);
-          Element tgt = resolveInBundle(entries, ref, fu, resource.fhirType(), resource.getIdBase());
+          Element tgt = resolveInBundle(BundleIndex.forBundle(bundle), ref, fu, resource.fhirType(), resource.getIdBase());
           if (tgt != null) {
             element.setUserData("validator.bundle.resolution", tgt.getNamedChild(RESOURCE));
             return;
@@ -3710,7 +3696,12 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
       List<ValidationMessage> localErrors = new ArrayList<ValidationMessage>();
       resTracker.startValidating(defn);
       trackUsage(defn, hostContext, element);
-      validateElement(hostContext, localErrors, defn, defn.getSnapshot().getElement().get(0), null, null, resource, element, element.getName(), stack, false, true, null);
+      timeTracker.startProfile();
+      try {
+        validateElement(hostContext, localErrors, defn, defn.getSnapshot().getElement().get(0), null, null, resource, element, element.getName(), stack, false, true, null);
+      } finally {
+        timeTracker.endProfile(defn.getUrl());
+      }
       resTracker.storeOutcomes(defn, localErrors);
       for (ValidationMessage vm : localErrors) {
         if (!errors.contains(vm)) {
@@ -4376,6 +4367,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
         slicer = ed;
         process = false;
         sliceOffset = i;
+        routeSlices(hostContext, profile, childDefinitions, sliceOffset, children);
       } else if (slicer != null && !slicer.getPath().equals(ed.getPath()))
         slicer = null;
 
@@ -4383,7 +4375,9 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
         if (ei.sliceInfo == null) {
           ei.sliceInfo = new ArrayList<>();
         }
+        long t = System.nanoTime();
         unsupportedSlicing = matchSlice(hostContext, errors, ei.sliceInfo, profile, stack, slicer, unsupportedSlicing, problematicPaths, sliceOffset, i, ed, childUnsupportedSlicing, ei);
+        timeTracker.slicing(t);
       }
     }
     int last = -1;
@@ -4441,6 +4435,94 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
     return problematicPaths;
   }
 
+  /**
+   * if the slicing can be looked up (see SliceLookup), look up the slices that each child is in, instead of
+   * evaluating each slice's discriminator expression against each child
+   */
+  private void routeSlices(ValidatorHostContext hostContext, StructureDefinition profile, List<ElementDefinition> childDefinitions, int sliceOffset, List<ElementInfo> children) {
+    ElementDefinition slicer = childDefinitions.get(sliceOffset);
+    SliceLookup lookup = getSliceLookup(profile, slicer, childDefinitions, sliceOffset);
+    ValidatorHostContext shc = hostContext.forSlicing().forProfile(profile);
+    for (ElementInfo ei : children) {
+      ei.sliceRoute = null;
+      if (lookup != null && nameMatches(ei.getName(), tail(slicer.getPath()))) {
+        try {
+          long t = System.nanoTime();
+          List<List<Base>> values = new ArrayList<>();
+          for (ExpressionNode n : lookup.getPaths()) {
+            values.add(fpe.evaluate(shc, shc.getResource(), shc.getRootResource(), ei.getElement(), n));
+          }
+          ei.sliceRoute = lookup.getSlices(values);
+          timeTracker.fpe(t);
+        } catch (FHIRException e) {
+          // the slice expressions will be evaluated instead, and report the problem
+        }
+      }
+    }
+  }
+
+  private SliceLookup getSliceLookup(StructureDefinition profile, ElementDefinition slicer, List<ElementDefinition> childDefinitions, int sliceOffset) {
+    Object lookup = slicer.getUserData("slice.lookup.cache");
+    if (lookup == null) {
+      lookup = buildSliceLookup(profile, slicer, childDefinitions, sliceOffset);
+      if (lookup == null) {
+        lookup = Boolean.FALSE;
+      }
+      slicer.setUserData("slice.lookup.cache", lookup);
+    }
+    return lookup instanceof SliceLookup ? (SliceLookup) lookup : null;
+  }
+
+  /**
+   * @return null if the slicing has a discriminator that isn't a value or pattern, or a slice has a value that
+   * can't be looked up
+   */
+  private SliceLookup buildSliceLookup(StructureDefinition profile, ElementDefinition slicer, List<ElementDefinition> childDefinitions, int sliceOffset) {
+    if (!slicer.getSlicing().hasDiscriminator()) {
+      return null;
+    }
+    try {
+      List<ExpressionNode> paths = new ArrayList<>();
+      for (ElementDefinitionSlicingDiscriminatorComponent s : slicer.getSlicing().getDiscriminator()) {
+        if (s.getType() != DiscriminatorType.VALUE && s.getType() != DiscriminatorType.PATTERN) {
+          return null;
+        }
+        paths.add(fpe.parse(fixExpr(s.getPath(), null)));
+      }
+      SliceLookup lookup = new SliceLookup(paths);
+      for (int i = sliceOffset + 1; i < childDefinitions.size() && childDefinitions.get(i).getPath().equals(slicer.getPath()); i++) {
+        ElementDefinition ed = childDefinitions.get(i);
+        List<DataType> values = new ArrayList<>();
+        for (ElementDefinitionSlicingDiscriminatorComponent s : slicer.getSlicing().getDiscriminator()) {
+          // the same criteria that sliceMatches() uses
+          DataType value = null;
+          for (ElementDefinition criteriaElement : getCriteriaForDiscriminator(slicer.getPath(), ed, s.getPath(), profile, false)) {
+            if (criteriaElement.hasFixed()) {
+              value = criteriaElement.getFixed();
+            } else if (criteriaElement.hasPattern() && !criteriaElement.getPattern().isPrimitive()) {
+              value = criteriaElement.getPattern();
+            } else if (criteriaElement.hasPattern() || criteriaElement.hasBinding() && criteriaElement.getBinding().hasStrength() && criteriaElement.getBinding().getStrength().equals(BindingStrength.REQUIRED) && criteriaElement.getBinding().hasValueSet()) {
+              return null;
+            }
+            if (value != null) {
+              break;
+            }
+          }
+          if (value == null) {
+            return null;
+          }
+          values.add(value);
+        }
+        if (!lookup.addSlice(ed, values)) {
+          return null;
+        }
+      }
+      return lookup;
+    } catch (FHIRException e) {
+      return null;
+    }
+  }
+
   public List<ElementInfo> listChildren(Element element, NodeStack stack) {
     // 1. List the children, and remember their exact path (convenience)
     List<ElementInfo> children = new ArrayList<ElementInfo>();
@@ -4463,7 +4545,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
     } else {
       if (nameMatches(ei.getName(), tail(ed.getPath())))
         try {
-          match = sliceMatches(hostContext, ei.getElement(), ei.getPath(), slicer, ed, profile, errors, sliceInfo, stack);
+          match = sliceMatches(hostContext, ei.getElement(), ei.getPath(), slicer, ed, profile, errors, sliceInfo, stack, ei.sliceRoute);
           if (match) {
             ei.slice = slicer;
 
@@ -4622,6 +4704,7 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
       long t = System.nanoTime();
       ok = fpe.evaluateToBoolean(hostContext, resource, hostContext.getRootResource(), element, n);
       timeTracker.fpe(t);
+      timeTracker.invariant(inv.getKey(), t);
       msg = fpe.forLog();
     } catch (Exception ex) {
       ok = false;
@@ -4740,6 +4823,13 @@ public class InstanceValidator extends BaseValidator implements IResourceValidat
   }
 
 
+  /**
+   * @param metrics - shared metrics to record this validator's times in (as well as its own)
+   */
+  public void setMetrics(ValidationMetrics metrics) {
+    timeTracker.setMetrics(metrics);
+  }
+
   public String reportTimes() {
     String s = String.format("Times (ms): overall = %d, tx = %d, sd = %d, load = %d, fpe = %d", timeTracker.getOverall() / 1000000, timeTracker.getTxTime() / 1000000, timeTracker.getSdTime() / 1000000, timeTracker.getLoadTime() / 1000000, timeTracker.getFpeTime() / 1000000);
     timeTracker.reset();
@@ -1,8 +1,11 @@
 package org.hl7.fhir.validation.instance.type;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +24,7 @@ import org.hl7.fhir.utilities.validation.ValidationMessage;
 import org.hl7.fhir.utilities.validation.ValidationMessage.IssueType;
 import org.hl7.fhir.validation.BaseValidator;
 import org.hl7.fhir.validation.instance.InstanceValidator;
+import org.hl7.fhir.validation.instance.utils.BundleIndex;
 import org.hl7.fhir.validation.instance.utils.EntrySummary;
 import org.hl7.fhir.validation.instance.utils.IndexedElement;
 import org.hl7.fhir.validation.instance.utils.NodeStack;
@@ -38,8 +42,8 @@ public class BundleValidator extends BaseValidator{
   }
 
   public void validateBundle(List<ValidationMessage> errors, Element bundle, NodeStack stack, boolean checkSpecials, ValidatorHostContext hostContext) {
-    List<Element> entries = new ArrayList<Element>();
-    bundle.getNamedChildren(ENTRY, entries);
+    BundleIndex index = BundleIndex.forBundle(bundle);
+    List<Element> entries = index.getEntries();
     String type = bundle.getNamedChildValue(TYPE);
     type = StringUtils.defaultString(type);
 
@@ -57,20 +61,20 @@ public class BundleValidator extends BaseValidator{
         Element resource = firstEntry.getNamedChild(RESOURCE);
         if (rule(errors, IssueType.INVALID, firstEntry.line(), firstEntry.col(), stack.addToLiteralPath(ENTRY, PATH_ARG), resource != null, I18nConstants.BUNDLE_BUNDLE_ENTRY_NOFIRSTRESOURCE)) {
           String id = resource.getNamedChildValue(ID);
-          validateDocument(errors, entries, resource, firstStack.push(resource, -1, null, null), fullUrl, id);
+          validateDocument(errors, index, resource, firstStack.push(resource, -1, null, null), fullUrl, id);
         }
         if (!VersionUtilities.isThisOrLater(FHIRVersion._4_0_1.getDisplay(), bundle.getProperty().getStructure().getFhirVersion().getDisplay())) {
           handleSpecialCaseForLastUpdated(bundle, errors, stack);
         }
-        checkAllInterlinked(errors, entries, stack, bundle, true);
+        checkAllInterlinked(errors, index, stack, bundle, true);
       }
       if (type.equals(MESSAGE)) {
         Element resource = firstEntry.getNamedChild(RESOURCE);
         String id = resource.getNamedChildValue(ID);
         if (rule(errors, IssueType.INVALID, firstEntry.line(), firstEntry.col(), stack.addToLiteralPath(ENTRY, PATH_ARG), resource != null, I18nConstants.BUNDLE_BUNDLE_ENTRY_NOFIRSTRESOURCE)) {
-          validateMessage(errors, entries, resource, firstStack.push(resource, -1, null, null), fullUrl, id);
+          validateMessage(errors, index, resource, firstStack.push(resource, -1, null, null), fullUrl, id);
         }
-        checkAllInterlinked(errors, entries, stack, bundle, VersionUtilities.isR5Ver(context.getVersion()));
+        checkAllInterlinked(errors, index, stack, bundle, VersionUtilities.isR5Ver(context.getVersion()));
       }
       // We do not yet have rules requiring that the id and fullUrl match when dealing with messaging Bundles
       //      validateResourceIds(errors, entries, stack);
@@ -116,23 +120,23 @@ public class BundleValidator extends BaseValidator{
     }
   }
 
-  private void validateDocument(List<ValidationMessage> errors, List<Element> entries, Element composition, NodeStack stack, String fullUrl, String id) {
+  private void validateDocument(List<ValidationMessage> errors, BundleIndex index, Element composition, NodeStack stack, String fullUrl, String id) {
     // first entry must be a composition
     if (rule(errors, IssueType.INVALID, composition.line(), composition.col(), stack.getLiteralPath(), composition.getType().equals("Composition"), I18nConstants.BUNDLE_BUNDLE_ENTRY_DOCUMENT)) {
 
       // the composition subject etc references must resolve in the bundle
-      validateDocumentReference(errors, entries, composition, stack, fullUrl, id, false, "subject", "Composition");
-      validateDocumentReference(errors, entries, composition, stack, fullUrl, id, true, "author", "Composition");
-      validateDocumentReference(errors, entries, composition, stack, fullUrl, id, false, "encounter", "Composition");
-      validateDocumentReference(errors, entries, composition, stack, fullUrl, id, false, "custodian", "Composition");
-      validateDocumentSubReference(errors, entries, composition, stack, fullUrl, id, "Composition", "attester", false, "party");
-      validateDocumentSubReference(errors, entries, composition, stack, fullUrl, id, "Composition", "event", true, "detail");
-
-      validateSections(errors, entries, composition, stack, fullUrl, id);
+      validateDocumentReference(errors, index, composition, stack, fullUrl, id, false, "subject", "Composition");
+      validateDocumentReference(errors, index, composition, stack, fullUrl, id, true, "author", "Composition");
+      validateDocumentReference(errors, index, composition, stack, fullUrl, id, false, "encounter", "Composition");
+      validateDocumentReference(errors, index, composition, stack, fullUrl, id, false, "custodian", "Composition");
+      validateDocumentSubReference(errors, index, composition, stack, fullUrl, id, "Composition", "attester", false, "party");
+      validateDocumentSubReference(errors, index, composition, stack, fullUrl, id, "Composition", "event", true, "detail");
+
+      validateSections(errors, index, composition, stack, fullUrl, id);
     }
   }
 
-  private void validateSections(List<ValidationMessage> errors, List<Element> entries, Element focus, NodeStack stack, String fullUrl, String id) {
+  private void validateSections(List<ValidationMessage> errors, BundleIndex index, Element focus, NodeStack stack, String fullUrl, String id) {
     List<Element> sections = new ArrayList<Element>();
     focus.getNamedChildren("section", sections);
     int i = 1;
@@ -140,62 +144,62 @@ public class BundleValidator extends BaseValidator{
       NodeStack localStack = stack.push(section, i, null, null);
 
       // technically R4+, but there won't be matches from before that
-      validateDocumentReference(errors, entries, section, stack, fullUrl, id, true, "author", "Section");
-      validateDocumentReference(errors, entries, section, stack, fullUrl, id, false, "focus", "Section");
+      validateDocumentReference(errors, index, section, stack, fullUrl, id, true, "author", "Section");
+      validateDocumentReference(errors, index, section, stack, fullUrl, id, false, "focus", "Section");
 
       List<Element> sectionEntries = new ArrayList<Element>();
       section.getNamedChildren(ENTRY, sectionEntries);
       int j = 1;
       for (Element sectionEntry : sectionEntries) {
         NodeStack localStack2 = localStack.push(sectionEntry, j, null, null);
-        validateBundleReference(errors, entries, sectionEntry, "Section Entry", localStack2, fullUrl, "Composition", id);
+        validateBundleReference(errors, index, sectionEntry, "Section Entry", localStack2, fullUrl, "Composition", id);
         j++;
       }
-      validateSections(errors, entries, section, localStack, fullUrl, id);
+      validateSections(errors, index, section, localStack, fullUrl, id);
       i++;
     }
   }
 
 
-  public void validateDocumentSubReference(List<ValidationMessage> errors, List<Element> entries, Element composition, NodeStack stack, String fullUrl, String id, String title, String parent, boolean repeats, String propName) {
+  public void validateDocumentSubReference(List<ValidationMessage> errors, BundleIndex index, Element composition, NodeStack stack, String fullUrl, String id, String title, String parent, boolean repeats, String propName) {
     List<Element> list = new ArrayList<>();
     composition.getNamedChildren(parent, list);
     int i = 1;
     for (Element elem : list) {
-      validateDocumentReference(errors, entries, elem, stack.push(elem, i, null, null), fullUrl, id, repeats, propName, title + "." + parent);
+      validateDocumentReference(errors, index, elem, stack.push(elem, i, null, null), fullUrl, id, repeats, propName, title + "." + parent);
       i++;
     }
   }
 
-  public void validateDocumentReference(List<ValidationMessage> errors, List<Element> entries, Element composition, NodeStack stack, String fullUrl, String id, boolean repeats, String propName, String title) {
+  public void validateDocumentReference(List<ValidationMessage> errors, BundleIndex index, Element composition, NodeStack stack, String fullUrl, String id, boolean repeats, String propName, String title) {
     if (repeats) {
       List<Element> list = new ArrayList<>();
       composition.getNamedChildren(propName, list);
       int i = 1;
       for (Element elem : list) {
         
-        validateBundleReference(errors, entries, elem, title + "." + propName, stack.push(elem, i, null, null), fullUrl, "Composition", id);
+        validateBundleReference(errors, index, elem, title + "." + propName, stack.push(elem, i, null, null), fullUrl, "Composition", id);
         i++;
       }
 
     } else {
       Element elem = composition.getNamedChild(propName);
       if (elem != null) {
-        validateBundleReference(errors, entries, elem, title + "." + propName, stack.push(elem, -1, null, null), fullUrl, "Composition", id);
+        validateBundleReference(errors, index, elem, title + "." + propName, stack.push(elem, -1, null, null), fullUrl, "Composition", id);
       }
     }
   }
 
-  private void validateMessage(List<ValidationMessage> errors, List<Element> entries, Element messageHeader, NodeStack stack, String fullUrl, String id) {
+  private void validateMessage(List<ValidationMessage> errors, BundleIndex index, Element messageHeader, NodeStack stack, String fullUrl, String id) {
     // first entry must be a messageheader
     if (rule(errors, IssueType.INVALID, messageHeader.line(), messageHeader.col(), stack.getLiteralPath(), messageHeader.getType().equals("MessageHeader"), I18nConstants.VALIDATION_BUNDLE_MESSAGE)) {
       List<Element> elements = messageHeader.getChildren("focus");
       for (Element elem : elements)
-        validateBundleReference(errors, entries, elem, "MessageHeader Data", stack.push(elem, -1, null, null), fullUrl, "MessageHeader", id);
+        validateBundleReference(errors, index, elem, "MessageHeader Data", stack.push(elem, -1, null, null), fullUrl, "MessageHeader", id);
     }
   }
 
-  private void validateBundleReference(List<ValidationMessage> errors, List<Element> entries, Element ref, String name, NodeStack stack, String fullUrl, String type, String id) {
+  private void validateBundleReference(List<ValidationMessage> errors, BundleIndex index, Element ref, String name, NodeStack stack, String fullUrl, String type, String id) {
     String reference = null;
     try {
       reference = ref.getNamedChildValue("reference");
@@ -204,7 +208,7 @@ public class BundleValidator extends BaseValidator{
     }
 
     if (ref != null && !Utilities.noString(reference) && !reference.startsWith("#")) {
-      Element target = resolveInBundle(entries, reference, fullUrl, type, id);
+      Element target = resolveInBundle(index, reference, fullUrl, type, id);
       rule(errors, IssueType.INVALID, ref.line(), ref.col(), stack.addToLiteralPath("reference"), target != null, I18nConstants.BUNDLE_BUNDLE_ENTRY_NOTFOUND, reference, name);
     }
   }
@@ -230,47 +234,42 @@ public class BundleValidator extends BaseValidator{
     ruleHtml(errors, IssueType.REQUIRED, stack.getLiteralPath(), ok, I18nConstants.DOCUMENT_DATE_REQUIRED, I18nConstants.DOCUMENT_DATE_REQUIRED_HTML);
   }
 
-  private void checkAllInterlinked(List<ValidationMessage> errors, List<Element> entries, NodeStack stack, Element bundle, boolean isError) {
+  private void checkAllInterlinked(List<ValidationMessage> errors, BundleIndex index, NodeStack stack, Element bundle, boolean isError) {
     List<EntrySummary> entryList = new ArrayList<>();
-    for (Element entry : entries) {
+    Map<Element, EntrySummary> summaries = new IdentityHashMap<>();
+    for (Element entry : index.getEntries()) {
       Element r = entry.getNamedChild(RESOURCE);
       if (r != null) {
-        entryList.add(new EntrySummary(entry, r));
+        EntrySummary e = new EntrySummary(entry, r);
+        entryList.add(e);
+        summaries.put(entry, e);
       }
     }
     for (EntrySummary e : entryList) {
       Set<String> references = findReferences(e.getEntry());
       for (String ref : references) {
-        Element tgt = resolveInBundle(entries, ref, e.getEntry().getChildValue(FULL_URL), e.getResource().fhirType(), e.getResource().getIdBase());
+        Element tgt = resolveInBundle(index, ref, e.getEntry().getChildValue(FULL_URL), e.getResource().fhirType(), e.getResource().getIdBase());
         if (tgt != null) {
-          EntrySummary t = entryForTarget(entryList, tgt);
+          EntrySummary t = summaries.get(tgt);
           if (t != null) {
             e.getTargets().add(t);
+            t.getSources().add(e);
           }
         }
       }
     }
 
+    // an entry is linked if the first entry leads to it, or if it leads to a linked entry
     Set<EntrySummary> visited = new HashSet<>();
-    visitLinked(visited, entryList.get(0));
-    boolean foundRevLinks;
-    do {
-      foundRevLinks = false;
-      for (EntrySummary e : entryList) {
-        if (!visited.contains(e)) {
-          boolean add = false;
-          for (EntrySummary t : e.getTargets()) {
-            if (visited.contains(t)) {
-              add = true;
-            }
-          }
-          if (add) {
-            foundRevLinks = true;
-            visitLinked(visited, e);
-          }
-        }
+    Deque<EntrySummary> queue = new ArrayDeque<>();
+    queue.add(entryList.get(0));
+    while (!queue.isEmpty()) {
+      EntrySummary e = queue.removeFirst();
+      if (visited.add(e)) {
+        queue.addAll(e.getTargets());
+        queue.addAll(e.getSources());
       }
-    } while (foundRevLinks);
+    }
 
     int i = 0;
     for (EntrySummary e : entryList) {
@@ -336,24 +335,6 @@ public class BundleValidator extends BaseValidator{
     }
   }
 
-  private EntrySummary entryForTarget(List<EntrySummary> entryList, Element tgt) {
-    for (EntrySummary e : entryList) {
-      if (e.getEntry() == tgt) {
-        return e;
-      }
-    }
-    return null;
-  }
-
-  private void visitLinked(Set<EntrySummary> visited, EntrySummary t) {
-    if (!visited.contains(t)) {
-      visited.add(t);
-      for (EntrySummary e : t.getTargets()) {
-        visitLinked(visited, e);
-      }
-    }
-  }
-
   private void followResourceLinks(Element entry, Map<String, Element> visitedResources, Map<Element, Element> candidateEntries, List<Element> candidateResources, List<ValidationMessage> errors, NodeStack stack) {
     followResourceLinks(entry, visitedResources, candidateEntries, candidateResources, errors, stack, 0);
   }
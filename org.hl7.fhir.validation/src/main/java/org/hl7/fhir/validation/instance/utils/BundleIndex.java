@@ -0,0 +1,127 @@
+package org.hl7.fhir.validation.instance.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hl7.fhir.r5.elementmodel.Element;
+
+/**
+ * The entries of a bundle, indexed by fullUrl and by type/id, so that resolving a reference
+ * in a bundle is a hash lookup rather than a scan of the entries.
+ *
+ * The lookups return the first matching entry in bundle order, as a scan would. The index
+ * is built once per bundle (see forBundle), and is not updated if the bundle is changed
+ * afterwards - the validator doesn't change the bundles it validates.
+ *
+ */
+public class BundleIndex {
+
+  private static final String USER_DATA_NAME = "validator.bundle.index";
+  private static final String ENTRY = "entry";
+  private static final String FULL_URL = "fullUrl";
+  private static final String RESOURCE = "resource";
+  private static final String ID = "id";
+
+  private List<Element> entries;
+  private Map<String, List<Integer>> byFullUrl = new HashMap<>();
+  private Map<String, Integer> byTypeAndId = new HashMap<>();
+  private Map<Element, Integer> positions = new IdentityHashMap<>();
+
+  /**
+   * @return the index for the entries of bundle, which is built the first time it is asked for
+   */
+  public static BundleIndex forBundle(Element bundle) {
+    BundleIndex index = (BundleIndex) bundle.getUserData(USER_DATA_NAME);
+    if (index == null) {
+      List<Element> entries = new ArrayList<>();
+      bundle.getNamedChildren(ENTRY, entries);
+      index = new BundleIndex(entries);
+      bundle.setUserData(USER_DATA_NAME, index);
+    }
+    return index;
+  }
+
+  public BundleIndex(List<Element> entries) {
+    super();
+    this.entries = Collections.unmodifiableList(entries);
+    for (int i = 0; i < entries.size(); i++) {
+      Element entry = entries.get(i);
+      positions.put(entry, i);
+      String fullUrl = entry.getChildValue(FULL_URL);
+      if (fullUrl != null) {
+        List<Integer> list = byFullUrl.get(fullUrl);
+        if (list == null) {
+          list = new ArrayList<>(1);
+          byFullUrl.put(fullUrl, list);
+        }
+        list.add(i);
+      }
+      Element resource = entry.getNamedChild(RESOURCE);
+      if (resource != null) {
+        String id = resource.getChildValue(ID);
+        if (id != null) {
+          byTypeAndId.putIfAbsent(resource.fhirType() + "/" + id, i);
+        }
+      }
+    }
+  }
+
+  public List<Element> getEntries() {
+    return entries;
+  }
+
+  /**
+   * @return the position of entry in the bundle, or -1 if it isn't one of the entries
+   */
+  public int indexOf(Element entry) {
+    Integer i = positions.get(entry);
+    return i == null ? -1 : i;
+  }
+
+  /**
+   * @return the positions of all the entries that have this fullUrl, in bundle order
+   */
+  public List<Integer> findByFullUrl(String fullUrl) {
+    List<Integer> list = fullUrl == null ? null : byFullUrl.get(fullUrl);
+    return list == null ? Collections.<Integer>emptyList() : list;
+  }
+
+  /**
+   * @return the first entry that has this fullUrl, or null
+   */
+  public Element getEntryByFullUrl(String fullUrl) {
+    List<Integer> list = findByFullUrl(fullUrl);
+    return list.isEmpty() ? null : entries.get(list.get(0));
+  }
+
+  /**
+   * @return the first entry that has a resource of this type with this id, or null
+   */
+  public Element getEntryByTypeAndId(String type, String id) {
+    Integer i = byTypeAndId.get(type + "/" + id);
+    return i == null ? null : entries.get(i);
+  }
+
+  /**
+   * @return the resource of the first entry that has a resource, and either has url as its
+   * fullUrl, or has type/id = url, or null
+   */
+  public Element getResourceByUrl(String url) {
+    int result = -1;
+    for (int i : findByFullUrl(url)) {
+      if (entries.get(i).getNamedChild(RESOURCE) != null) {
+        result = i;
+        break;
+      }
+    }
+    Integer i = byTypeAndId.get(url);
+    if (i != null && (result == -1 || i < result)) {
+      result = i;
+    }
+    return result == -1 ? null : entries.get(result).getNamedChild(RESOURCE);
+  }
+}
@@ -5,6 +5,7 @@ import org.hl7.fhir.r5.model.ElementDefinition;
 import org.hl7.fhir.utilities.validation.ValidationMessage;
 
 import java.util.List;
+import java.util.Set;
 
 public class ElementInfo {
 
@@ -15,6 +16,7 @@ public class ElementInfo {
   public ElementDefinition definition;
   public ElementDefinition slice;
   public boolean additionalSlice; // If true, indicates that this element is an additional slice
+  public Set<ElementDefinition> sliceRoute; // the slices this element is in, if they could be looked up (see SliceLookup)
   private Element element;
   private String name;
   private String path;
@@ -89,6 +91,15 @@ public class ElementInfo {
         return this;
     }
 
+    public Set<ElementDefinition> getSliceRoute() {
+        return sliceRoute;
+    }
+
+    public ElementInfo setSliceRoute(Set<ElementDefinition> sliceRoute) {
+        this.sliceRoute = sliceRoute;
+        return this;
+    }
+
     public Element getElement() {
         return element;
     }
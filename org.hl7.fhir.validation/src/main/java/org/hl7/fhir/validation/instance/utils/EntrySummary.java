@@ -10,6 +10,7 @@ public class EntrySummary {
     Element entry;
     Element resource;
     List<EntrySummary> targets = new ArrayList<>();
+    List<EntrySummary> sources = new ArrayList<>();
 
     public Element getEntry() {
         return entry;
@@ -38,6 +39,10 @@ public class EntrySummary {
         return this;
     }
 
+    public List<EntrySummary> getSources() {
+        return sources;
+    }
+
     public EntrySummary(Element entry, Element resource) {
         this.entry = entry;
         this.resource = resource;
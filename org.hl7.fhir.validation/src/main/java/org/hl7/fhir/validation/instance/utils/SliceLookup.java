@@ -0,0 +1,173 @@
+package org.hl7.fhir.validation.instance.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.r5.model.Base;
+import org.hl7.fhir.r5.model.BooleanType;
+import org.hl7.fhir.r5.model.CodeableConcept;
+import org.hl7.fhir.r5.model.Coding;
+import org.hl7.fhir.r5.model.DataType;
+import org.hl7.fhir.r5.model.ElementDefinition;
+import org.hl7.fhir.r5.model.ExpressionNode;
+import org.hl7.fhir.r5.model.Identifier;
+import org.hl7.fhir.r5.model.StringType;
+import org.hl7.fhir.r5.model.UriType;
+
+/**
+ * The slices of a slicing where every discriminator is a value or pattern, indexed by the value that each slice
+ * has for each discriminator, so the slices an element is in can be looked up from the element's values, rather
+ * than by evaluating each slice's discriminator expression against the element.
+ *
+ * Only the values where looking up gives the same answer as the expression are supported: fixed strings, uris
+ * and booleans, and Codings, CodeableConcepts (with one coding) and Identifiers that only have a system and a
+ * code (or value)
+ */
+public class SliceLookup {
+
+  public enum ValueKind {
+    PRIMITIVE, CODING, CODEABLECONCEPT, IDENTIFIER
+  }
+
+  private List<ExpressionNode> paths;
+  private ValueKind[] kinds;
+  private List<Map<String, Set<ElementDefinition>>> slices = new ArrayList<>();
+
+  /**
+   * @param paths - the discriminator paths, parsed
+   */
+  public SliceLookup(List<ExpressionNode> paths) {
+    this.paths = paths;
+    this.kinds = new ValueKind[paths.size()];
+    for (int i = 0; i < paths.size(); i++) {
+      slices.add(new HashMap<>());
+    }
+  }
+
+  public List<ExpressionNode> getPaths() {
+    return paths;
+  }
+
+  /**
+   * @param slice - the slice
+   * @param values - the fixed value or pattern that the slice has, for each discriminator
+   * @return false if the values can't be looked up, in which case the lookup can't be used
+   */
+  public boolean addSlice(ElementDefinition slice, List<DataType> values) {
+    for (int i = 0; i < paths.size(); i++) {
+      ValueKind kind = kindOf(values.get(i));
+      if (kind == null || (kinds[i] != null && kinds[i] != kind)) {
+        return false;
+      }
+      kinds[i] = kind;
+    }
+    for (int i = 0; i < paths.size(); i++) {
+      slices.get(i).computeIfAbsent(keyOf(values.get(i), kinds[i]), k -> new HashSet<>()).add(slice);
+    }
+    return true;
+  }
+
+  /**
+   * @param values - the result of evaluating each discriminator path against the element
+   * @return the slices that the element is in
+   */
+  public Set<ElementDefinition> getSlices(List<List<Base>> values) throws FHIRException {
+    Set<ElementDefinition> res = null;
+    for (int i = 0; i < paths.size(); i++) {
+      Set<ElementDefinition> matches = new HashSet<>();
+      for (Base b : values.get(i)) {
+        for (String key : keysOf(b, kinds[i])) {
+          Set<ElementDefinition> s = slices.get(i).get(key);
+          if (s != null) {
+            matches.addAll(s);
+          }
+        }
+      }
+      if (res == null) {
+        res = matches;
+      } else {
+        res.retainAll(matches);
+      }
+    }
+    return res == null ? Collections.<ElementDefinition>emptySet() : res;
+  }
+
+  private static ValueKind kindOf(DataType value) {
+    if (value instanceof StringType || value instanceof UriType || value instanceof BooleanType) {
+      return value.hasPrimitiveValue() ? ValueKind.PRIMITIVE : null;
+    } else if (value instanceof Coding) {
+      return isSimpleCoding((Coding) value) ? ValueKind.CODING : null;
+    } else if (value instanceof CodeableConcept) {
+      CodeableConcept cc = (CodeableConcept) value;
+      return !cc.hasText() && !cc.hasExtension() && cc.getCoding().size() == 1 && isSimpleCoding(cc.getCodingFirstRep()) ? ValueKind.CODEABLECONCEPT : null;
+    } else if (value instanceof Identifier) {
+      Identifier id = (Identifier) value;
+      return !id.hasExtension() && id.hasSystem() && id.hasValue() && !id.hasUse() && !id.hasType() ? ValueKind.IDENTIFIER : null;
+    } else {
+      return null;
+    }
+  }
+
+  private static boolean isSimpleCoding(Coding c) {
+    return !c.hasExtension() && c.hasSystem() && c.hasCode() && !c.hasVersion() && !c.hasDisplay();
+  }
+
+  private static String keyOf(DataType value, ValueKind kind) {
+    switch (kind) {
+    case PRIMITIVE: return value.primitiveValue();
+    case CODING: return ((Coding) value).getSystem() + "|" + ((Coding) value).getCode();
+    case CODEABLECONCEPT: return ((CodeableConcept) value).getCodingFirstRep().getSystem() + "|" + ((CodeableConcept) value).getCodingFirstRep().getCode();
+    case IDENTIFIER: return ((Identifier) value).getSystem() + "|" + ((Identifier) value).getValue();
+    default: return null;
+    }
+  }
+
+  private static List<String> keysOf(Base value, ValueKind kind) throws FHIRException {
+    List<String> res = new ArrayList<>();
+    switch (kind) {
+    case PRIMITIVE:
+      if (value.hasPrimitiveValue() && value.primitiveValue() != null) {
+        res.add(value.primitiveValue());
+      }
+      break;
+    case CODING:
+      addKeys(res, value, "code");
+      break;
+    case CODEABLECONCEPT:
+      for (Base c : value.listChildrenByName("coding", false)) {
+        if (c != null) {
+          addKeys(res, c, "code");
+        }
+      }
+      break;
+    case IDENTIFIER:
+      addKeys(res, value, "value");
+      break;
+    }
+    return res;
+  }
+
+  private static void addKeys(List<String> res, Base value, String name) throws FHIRException {
+    for (String system : childValues(value, "system")) {
+      for (String code : childValues(value, name)) {
+        res.add(system + "|" + code);
+      }
+    }
+  }
+
+  private static List<String> childValues(Base value, String name) throws FHIRException {
+    List<String> res = new ArrayList<>();
+    for (Base b : value.listChildrenByName(name, false)) {
+      if (b != null && b.hasPrimitiveValue() && b.primitiveValue() != null) {
+        res.add(b.primitiveValue());
+      }
+    }
+    return res;
+  }
+}
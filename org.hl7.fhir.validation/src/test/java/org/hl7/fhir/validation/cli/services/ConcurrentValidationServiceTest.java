@@ -0,0 +1,100 @@
+package org.hl7.fhir.validation.cli.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hl7.fhir.validation.cli.model.CliContext;
+import org.hl7.fhir.validation.cli.model.FileInfo;
+import org.hl7.fhir.validation.cli.model.ValidationOutcome;
+import org.hl7.fhir.validation.cli.model.ValidationRequest;
+import org.hl7.fhir.validation.cli.model.ValidationResponse;
+import org.hl7.fhir.validation.cli.services.ConcurrentValidationService.ServiceBusyException;
+import org.hl7.fhir.validation.cli.services.ConcurrentValidationService.ValidationTimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentValidationServiceTest {
+
+  /**
+   * Doesn't validate anything: files named "block" wait until the gate is opened
+   */
+  private static class TestValidationService extends ConcurrentValidationService {
+    private CountDownLatch gate = new CountDownLatch(1);
+
+    private TestValidationService(int threads, int queueSize, long timeout) {
+      super(null, threads, queueSize, timeout);
+    }
+
+    @Override
+    protected ValidationOutcome validateFile(FileInfo fp, List<String> profiles) throws Exception {
+      if (fp.getFileName().equals("block")) {
+        gate.await();
+      }
+      return new ValidationOutcome().setFileInfo(fp);
+    }
+  }
+
+  private ValidationRequest request(String... names) {
+    List<FileInfo> files = new ArrayList<>();
+    for (String n : names) {
+      files.add(new FileInfo(n, "{}", "json"));
+    }
+    return new ValidationRequest(new CliContext(), files);
+  }
+
+  @Test
+  @DisplayName("Outcomes are returned in the order of the files in the request.")
+  void testOrder() throws Exception {
+    TestValidationService service = new TestValidationService(4, 100, 0);
+    try {
+      ValidationResponse response = service.validateSources(request("a", "b", "c", "d", "e", "f", "g"));
+      StringBuilder b = new StringBuilder();
+      for (ValidationOutcome o : response.getOutcomes()) {
+        b.append(o.getFileInfo().getFileName());
+      }
+      Assertions.assertEquals("abcdefg", b.toString());
+    } finally {
+      service.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Requests are refused when the queue is full.")
+  void testBusy() throws Exception {
+    TestValidationService service = new TestValidationService(1, 1, 0);
+    ExecutorService clients = Executors.newSingleThreadExecutor();
+    try {
+      // one file running, one waiting
+      Future<ValidationResponse> first = clients.submit(() -> service.validateSources(request("block", "a")));
+      while (service.getQueuedCount() < 1) {
+        Thread.sleep(10);
+      }
+      Assertions.assertThrows(ServiceBusyException.class, () -> service.validateSources(request("b")));
+      service.gate.countDown();
+      Assertions.assertEquals(2, first.get(10, TimeUnit.SECONDS).getOutcomes().size());
+      Assertions.assertEquals(1, service.validateSources(request("b")).getOutcomes().size());
+    } finally {
+      clients.shutdownNow();
+      service.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Requests that take too long fail with a timeout.")
+  void testTimeout() throws Exception {
+    TestValidationService service = new TestValidationService(2, 10, 100);
+    try {
+      Assertions.assertThrows(ValidationTimeoutException.class, () -> service.validateSources(request("a", "block")));
+      service.gate.countDown();
+      Assertions.assertEquals(2, service.validateSources(request("a", "block")).getOutcomes().size());
+    } finally {
+      service.shutdown();
+    }
+  }
+}
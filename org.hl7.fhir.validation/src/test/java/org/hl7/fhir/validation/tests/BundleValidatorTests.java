@@ -0,0 +1,294 @@
+package org.hl7.fhir.validation.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hl7.fhir.r5.context.SimpleWorkerContext;
+import org.hl7.fhir.r5.elementmodel.Element;
+import org.hl7.fhir.r5.elementmodel.JsonParser;
+import org.hl7.fhir.r5.elementmodel.ParserBase.ValidationPolicy;
+import org.hl7.fhir.r5.model.ElementDefinition;
+import org.hl7.fhir.r5.model.Enumerations.FHIRVersion;
+import org.hl7.fhir.r5.model.StructureDefinition;
+import org.hl7.fhir.r5.model.StructureDefinition.StructureDefinitionKind;
+import org.hl7.fhir.r5.model.StructureDefinition.TypeDerivationRule;
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.cache.NpmPackage;
+import org.hl7.fhir.utilities.i18n.I18nConstants;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
+import org.hl7.fhir.validation.instance.InstanceValidator;
+import org.hl7.fhir.validation.instance.type.BundleValidator;
+import org.hl7.fhir.validation.instance.utils.NodeStack;
+import org.hl7.fhir.validation.instance.utils.ValidatorHostContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The check that every entry of a document bundle can be reached from the first entry. The orphan messages
+ * are compared with the ones the check made when it scanned the entries for each reference, and repeated
+ * passes over the entries until no more were linked (see linked).
+ */
+public class BundleValidatorTests {
+
+  @Test
+  public void testOrphans() throws Exception {
+    String bundle = bundle(
+        entry("urn:uuid:c", "{\"resourceType\":\"Composition\",\"id\":\"c\",\"subject\":{\"reference\":\"urn:uuid:p\"}}"),
+        entry("urn:uuid:p", "{\"resourceType\":\"Patient\",\"id\":\"p\"}"),
+        // only linked because it refers to an entry that is
+        entry("urn:uuid:o1", "{\"resourceType\":\"Observation\",\"id\":\"o1\",\"subject\":{\"reference\":\"urn:uuid:p\"}}"),
+        // linked to each other, but not to the rest
+        entry("urn:uuid:org1", "{\"resourceType\":\"Organization\",\"id\":\"org1\"}"),
+        entry("urn:uuid:o2", "{\"resourceType\":\"Observation\",\"id\":\"o2\",\"subject\":{\"reference\":\"urn:uuid:org1\"}}"),
+        entry(null, "{\"resourceType\":\"Patient\",\"id\":\"x\"}"));
+    check(bundle, 4, 5, 6);
+  }
+
+  @Test
+  public void testCycles() throws Exception {
+    String bundle = bundle(
+        entry("urn:uuid:c", "{\"resourceType\":\"Composition\",\"id\":\"c\",\"subject\":{\"reference\":\"urn:uuid:p\"}}"),
+        entry("urn:uuid:p", "{\"resourceType\":\"Patient\",\"id\":\"p\",\"managingOrganization\":{\"reference\":\"urn:uuid:org1\"},\"link\":[{\"other\":{\"reference\":\"urn:uuid:p\"}}]}"),
+        entry("urn:uuid:org1", "{\"resourceType\":\"Organization\",\"id\":\"org1\",\"partOf\":{\"reference\":\"urn:uuid:org2\"}}"),
+        entry("urn:uuid:org2", "{\"resourceType\":\"Organization\",\"id\":\"org2\",\"partOf\":{\"reference\":\"urn:uuid:org1\"}}"),
+        // a cycle that isn't linked to the rest
+        entry("urn:uuid:o1", "{\"resourceType\":\"Observation\",\"id\":\"o1\",\"hasMember\":[{\"reference\":\"urn:uuid:o2\"}]}"),
+        entry("urn:uuid:o2", "{\"resourceType\":\"Observation\",\"id\":\"o2\",\"hasMember\":[{\"reference\":\"urn:uuid:o1\"}]}"),
+        // refers only to itself
+        entry("urn:uuid:o3", "{\"resourceType\":\"Observation\",\"id\":\"o3\",\"hasMember\":[{\"reference\":\"urn:uuid:o3\"}]}"),
+        // a cycle back to the first entry
+        entry("urn:uuid:o4", "{\"resourceType\":\"Observation\",\"id\":\"o4\",\"hasMember\":[{\"reference\":\"urn:uuid:o5\"}]}"),
+        entry("urn:uuid:o5", "{\"resourceType\":\"Observation\",\"id\":\"o5\",\"hasMember\":[{\"reference\":\"urn:uuid:c\"}]}"));
+    check(bundle, 5, 6, 7);
+  }
+
+  @Test
+  public void testRelativeAndAbsolute() throws Exception {
+    String bundle = bundle(
+        // relative to the fullUrl of the entry it is in
+        entry("http://example.org/fhir/Composition/c", "{\"resourceType\":\"Composition\",\"id\":\"c\",\"subject\":{\"reference\":\"Patient/p\"}}"),
+        entry("http://example.org/fhir/Patient/p", "{\"resourceType\":\"Patient\",\"id\":\"p\"}"),
+        entry("http://example.org/fhir/Observation/o1", "{\"resourceType\":\"Observation\",\"id\":\"o1\",\"subject\":{\"reference\":\"http://example.org/fhir/Patient/p\"}}"),
+        // the fullUrl doesn't end with the type and id, so this is the first entry with Patient/p
+        entry("urn:uuid:o2", "{\"resourceType\":\"Observation\",\"id\":\"o2\",\"subject\":{\"reference\":\"Patient/p\"}}"),
+        entry("urn:uuid:p2", "{\"resourceType\":\"Patient\",\"id\":\"p\"}"),
+        // relative to another server, where there's no Patient/p
+        entry("http://other.org/fhir/Observation/o3", "{\"resourceType\":\"Observation\",\"id\":\"o3\",\"subject\":{\"reference\":\"Patient/p\"}}"),
+        // linked to each other by type and id, but not to the rest
+        entry(null, "{\"resourceType\":\"Organization\",\"id\":\"org1\"}"),
+        entry("urn:uuid:o4", "{\"resourceType\":\"Observation\",\"id\":\"o4\",\"subject\":{\"reference\":\"Organization/org1\"}}"),
+        // absolute, but not in the bundle
+        entry("urn:uuid:o5", "{\"resourceType\":\"Observation\",\"id\":\"o5\",\"subject\":{\"reference\":\"http://example.org/fhir/Patient/q\"}}"));
+    check(bundle, 5, 6, 7, 8, 9);
+  }
+
+  private void check(String json, int... expected) throws Exception {
+    SimpleWorkerContext context = makeContext();
+    JsonParser parser = new JsonParser(context);
+    parser.setupValidation(ValidationPolicy.NONE, new ArrayList<>());
+    Element bundle = parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    List<Element> entries = bundle.getChildrenByName("entry");
+
+    List<ValidationMessage> errors = new ArrayList<>();
+    NodeStack stack = new NodeStack(context, bundle, null);
+    new BundleValidator(context, null, new InstanceValidator(context, null)).validateBundle(errors, bundle, stack, false, new ValidatorHostContext(null, bundle));
+    List<String> actual = new ArrayList<>();
+    for (ValidationMessage vm : errors) {
+      if (I18nConstants.BUNDLE_BUNDLE_ENTRY_ORPHAN.equals(vm.getMessageId())) {
+        Assertions.assertEquals(ValidationMessage.IssueSeverity.ERROR, vm.getLevel());
+        actual.add(vm.getLocation()+": "+vm.getMessage());
+      }
+    }
+
+    List<String> old = new ArrayList<>();
+    Set<Element> linked = linked(entries);
+    List<Integer> orphans = new ArrayList<>();
+    for (int i = 0; i < entries.size(); i++) {
+      Element entry = entries.get(i);
+      if (!linked.contains(entry)) {
+        String fullUrl = entry.getChildValue("fullUrl");
+        old.add(stack.addToLiteralPath("entry[" + (i + 1) + "]")+": "+context.formatMessage(I18nConstants.BUNDLE_BUNDLE_ENTRY_ORPHAN, fullUrl != null ? "'" + fullUrl + "'" : ""));
+        orphans.add(i + 1);
+      }
+    }
+    Assertions.assertEquals(old, actual);
+    List<Integer> exp = new ArrayList<>();
+    for (int i : expected) {
+      exp.add(i);
+    }
+    Assertions.assertEquals(exp, orphans);
+  }
+
+  // -- the check as it was, scanning the entries --------------------------------------------------
+
+  private Set<Element> linked(List<Element> entries) {
+    List<Element> list = new ArrayList<>();
+    for (Element entry : entries) {
+      if (entry.getNamedChild("resource") != null) {
+        list.add(entry);
+      }
+    }
+    Set<Element> visited = new HashSet<>();
+    visitLinked(entries, visited, list.get(0));
+    boolean foundRevLinks;
+    do {
+      foundRevLinks = false;
+      for (Element e : list) {
+        if (!visited.contains(e)) {
+          boolean add = false;
+          for (Element t : targets(entries, e)) {
+            if (visited.contains(t)) {
+              add = true;
+            }
+          }
+          if (add) {
+            foundRevLinks = true;
+            visitLinked(entries, visited, e);
+          }
+        }
+      }
+    } while (foundRevLinks);
+    return visited;
+  }
+
+  private void visitLinked(List<Element> entries, Set<Element> visited, Element e) {
+    if (!visited.contains(e)) {
+      visited.add(e);
+      for (Element t : targets(entries, e)) {
+        visitLinked(entries, visited, t);
+      }
+    }
+  }
+
+  private List<Element> targets(List<Element> entries, Element entry) {
+    List<Element> res = new ArrayList<>();
+    Element resource = entry.getNamedChild("resource");
+    Set<String> references = new HashSet<>();
+    findReferences(entry, references);
+    for (String ref : references) {
+      Element tgt = resolveInBundle(entries, ref, entry.getChildValue("fullUrl"), resource.fhirType(), resource.getIdBase());
+      if (tgt != null && tgt.getNamedChild("resource") != null) {
+        res.add(tgt);
+      }
+    }
+    return res;
+  }
+
+  private void findReferences(Element start, Set<String> references) {
+    for (Element child : start.getChildren()) {
+      if (child.getType().equals("Reference")) {
+        String ref = child.getChildValue("reference");
+        if (ref != null && !ref.startsWith("#"))
+          references.add(ref);
+      }
+      if (child.getType().equals("url") || child.getType().equals("uri") || child.getType().equals("canonical")) {
+        String ref = child.primitiveValue();
+        if (ref != null && !ref.startsWith("#"))
+          references.add(ref);
+      }
+      findReferences(child, references);
+    }
+  }
+
+  private Element resolveInBundle(List<Element> entries, String ref, String fullUrl, String type, String id) {
+    if (Utilities.isAbsoluteUrl(ref)) {
+      for (Element entry : entries) {
+        String fu = entry.getNamedChildValue("fullUrl");
+        if (ref.equals(fu))
+          return entry;
+      }
+      return null;
+    } else {
+      String u = null;
+      if (fullUrl != null && fullUrl.endsWith(type + "/" + id))
+        u = fullUrl.substring(0, fullUrl.length() - (type + "/" + id).length()) + ref;
+      String[] parts = ref.split("\\/");
+      if (parts.length >= 2) {
+        String t = parts[0];
+        String i = parts[1];
+        for (Element entry : entries) {
+          String fu = entry.getNamedChildValue("fullUrl");
+          if (fu != null && fu.equals(u))
+            return entry;
+          if (u == null) {
+            Element resource = entry.getNamedChild("resource");
+            if (resource != null) {
+              String et = resource.getType();
+              String eid = resource.getNamedChildValue("id");
+              if (t.equals(et) && i.equals(eid))
+                return entry;
+            }
+          }
+        }
+      }
+      return null;
+    }
+  }
+
+  // -- cut down definitions, since there's no core package offline ---------------------------------
+
+  private String bundle(String... entries) {
+    return "{\"resourceType\":\"Bundle\",\"id\":\"b\",\"type\":\"document\",\"entry\":[" + String.join(",", entries) + "]}";
+  }
+
+  private String entry(String fullUrl, String resource) {
+    return "{" + (fullUrl == null ? "" : "\"fullUrl\":\"" + fullUrl + "\",") + "\"resource\":" + resource + "}";
+  }
+
+  private SimpleWorkerContext makeContext() throws Exception {
+    SimpleWorkerContext context = SimpleWorkerContext.fromNothing();
+    // an empty core package gives the context its version
+    File dir = new File(Utilities.path("[tmp]", "bundle-core-test"));
+    if (dir.exists()) {
+      Utilities.clearDirectory(dir.getAbsolutePath());
+    }
+    Utilities.createDirectory(Utilities.path(dir.getAbsolutePath(), "package"));
+    TextFile.stringToFile("{\"name\" : \"hl7.fhir.r4.core\", \"version\" : \"4.0.1\", \"fhirVersions\" : [\"4.0.1\"]}", Utilities.path(dir.getAbsolutePath(), "package", "package.json"));
+    context.loadFromPackage(NpmPackage.fromFolder(dir.getAbsolutePath()), null);
+    for (String p : new String[] { "string", "code", "id", "uri" }) {
+      define(context, p, StructureDefinitionKind.PRIMITIVETYPE, "value:" + p + ":1");
+    }
+    define(context, "Reference", StructureDefinitionKind.COMPLEXTYPE, "reference:string:1");
+    define(context, "Bundle", StructureDefinitionKind.RESOURCE, "id:id:1", "type:code:1", "entry:BackboneElement:*", "entry.fullUrl:uri:1",
+        "entry.resource:Resource:1");
+    define(context, "Composition", StructureDefinitionKind.RESOURCE, "id:id:1", "subject:Reference:1");
+    define(context, "Patient", StructureDefinitionKind.RESOURCE, "id:id:1", "managingOrganization:Reference:1", "link:BackboneElement:*",
+        "link.other:Reference:1");
+    define(context, "Organization", StructureDefinitionKind.RESOURCE, "id:id:1", "partOf:Reference:1");
+    define(context, "Observation", StructureDefinitionKind.RESOURCE, "id:id:1", "subject:Reference:1", "hasMember:Reference:*");
+    return context;
+  }
+
+  private void define(SimpleWorkerContext context, String type, StructureDefinitionKind kind, String... elements) {
+    StructureDefinition sd = new StructureDefinition();
+    sd.setId(type);
+    sd.setUrl("http://hl7.org/fhir/StructureDefinition/" + type);
+    sd.setName(type);
+    sd.setType(type);
+    sd.setKind(kind);
+    sd.setFhirVersion(FHIRVersion._4_0_1);
+    sd.setDerivation(TypeDerivationRule.SPECIALIZATION);
+    addElement(sd, type, "*");
+    for (String e : elements) {
+      String[] parts = e.split("\\:");
+      addElement(sd, type + "." + parts[0], parts[2]).addType().setCode(parts[1]);
+    }
+    context.cacheResource(sd);
+  }
+
+  private ElementDefinition addElement(StructureDefinition sd, String path, String max) {
+    ElementDefinition ed = new ElementDefinition(path);
+    ed.setId(path);
+    ed.setMin(0);
+    ed.setMax(max);
+    ed.getBase().setPath(path).setMin(0).setMax(max);
+    sd.getSnapshot().addElement(ed);
+    return ed;
+  }
+}
@@ -0,0 +1,183 @@
+package org.hl7.fhir.validation.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hl7.fhir.exceptions.FHIRException;
+import org.hl7.fhir.r5.elementmodel.Element;
+import org.hl7.fhir.r5.elementmodel.Manager.FhirFormat;
+import org.hl7.fhir.r5.model.OperationOutcome;
+import org.hl7.fhir.r5.model.OperationOutcome.OperationOutcomeIssueComponent;
+import org.hl7.fhir.r5.model.StructureDefinition;
+import org.hl7.fhir.r5.utils.IResourceValidator.BestPracticeWarningLevel;
+import org.hl7.fhir.r5.utils.IResourceValidator.CheckDisplayOption;
+import org.hl7.fhir.r5.utils.IResourceValidator.IdStatus;
+import org.hl7.fhir.r5.utils.ToolingExtensions;
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.cache.NpmPackage;
+import org.hl7.fhir.utilities.validation.ValidationMessage;
+import org.hl7.fhir.utilities.validation.ValidationMessage.IssueSeverity;
+import org.hl7.fhir.utilities.validation.ValidationMessage.IssueType;
+import org.hl7.fhir.utilities.validation.ValidationMessage.Source;
+import org.hl7.fhir.validation.NDJsonValidator;
+import org.hl7.fhir.validation.ValidationEngine;
+import org.hl7.fhir.validation.instance.InstanceValidator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NDJsonValidatorTests {
+
+  @Test
+  public void testOrderAndSummary() throws Exception {
+    StringBuilder b = new StringBuilder();
+    for (int i = 1; i <= 200; i++) {
+      b.append(i % 10 == 0 ? "bad" : "{\"resourceType\":\"Basic\",\"id\":\""+i+"\"}");
+      b.append(i % 50 == 0 ? "\n\n" : "\r\n");
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      // the lines take different times to validate, but the results must still be in order
+      NDJsonValidator ndjson = new NDJsonValidator(content -> {
+        String s = new String(content, StandardCharsets.UTF_8);
+        Thread.sleep(s.length() % 3);
+        List<ValidationMessage> messages = new ArrayList<>();
+        if (s.equals("bad")) {
+          messages.add(new ValidationMessage(Source.InstanceValidator, IssueType.INVALID, "", "not JSON", IssueSeverity.ERROR));
+        } else if (s.contains("\"7\"")) {
+          throw new Exception("failed");
+        }
+        return messages;
+      }, executor, 8);
+      List<Integer> lines = new ArrayList<>();
+      List<Integer> errorLines = new ArrayList<>();
+      NDJsonValidator.Summary summary = ndjson.validate(null, new ByteArrayInputStream(b.toString().getBytes(StandardCharsets.UTF_8)), (line, messages) -> {
+        lines.add(line);
+        for (ValidationMessage vm : messages) {
+          errorLines.add(vm.getLine());
+        }
+      });
+      Assertions.assertEquals(200, summary.getResources());
+      Assertions.assertEquals(21, summary.getErrors());
+      Assertions.assertEquals(200, lines.size());
+      for (int i = 1; i < lines.size(); i++) {
+        Assertions.assertTrue(lines.get(i) > lines.get(i-1));
+      }
+      // blank lines are counted
+      Assertions.assertEquals(52, (int) lines.get(50));
+      Assertions.assertEquals(7, (int) errorLines.get(0));
+      Assertions.assertEquals(10, (int) errorLines.get(1));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCallingThread() throws Exception {
+    Thread caller = Thread.currentThread();
+    NDJsonValidator ndjson = new NDJsonValidator(content -> {
+      Assertions.assertSame(caller, Thread.currentThread());
+      return new ArrayList<>();
+    }, null, 8);
+    List<Integer> lines = new ArrayList<>();
+    NDJsonValidator.Summary summary = ndjson.validate(null, new ByteArrayInputStream("{}\n{}\n\n{}".getBytes(StandardCharsets.UTF_8)), (line, messages) -> lines.add(line));
+    Assertions.assertEquals(3, summary.getResources());
+    Assertions.assertEquals("[1, 2, 4]", lines.toString());
+  }
+
+  private static final String CONTENT = "{\"resourceType\":\"Basic\",\"id\":\"1\"}\nbad\n{\"resourceType\":\"Basic\",\"id\":\"3\"}\n";
+
+  private static class CountingEngine extends ValidationEngine {
+    private AtomicInteger validators = new AtomicInteger();
+
+    private CountingEngine() throws Exception {
+      super();
+      // there are no core definitions offline, so the content is validated against an empty core package,
+      // which gives the context its version
+      File dir = new File(Utilities.path("[tmp]", "ndjson-core-test"));
+      if (dir.exists()) {
+        Utilities.clearDirectory(dir.getAbsolutePath());
+      }
+      Utilities.createDirectory(Utilities.path(dir.getAbsolutePath(), "package"));
+      TextFile.stringToFile("{\"name\" : \"hl7.fhir.r4.core\", \"version\" : \"4.0.1\", \"fhirVersions\" : [\"4.0.1\"]}", Utilities.path(dir.getAbsolutePath(), "package", "package.json"));
+      getContext().loadFromPackage(NpmPackage.fromFolder(dir.getAbsolutePath()), null);
+    }
+
+    @Override
+    public InstanceValidator getValidator() {
+      validators.incrementAndGet();
+      return super.getValidator();
+    }
+  }
+
+  private static class CountingValidator extends InstanceValidator {
+    private int count;
+
+    private CountingValidator(ValidationEngine engine) {
+      super(engine.getContext(), null);
+    }
+
+    @Override
+    public Element validate(Object appContext, List<ValidationMessage> errors, InputStream stream, FhirFormat format, List<StructureDefinition> profiles) throws FHIRException {
+      Assertions.assertEquals(FhirFormat.JSON, format);
+      count++;
+      return super.validate(appContext, errors, stream, format, profiles);
+    }
+  }
+
+  private void checkLines(OperationOutcome oo) {
+    // the line that isn't JSON is reported as an error on line 2
+    boolean found = false;
+    for (OperationOutcomeIssueComponent issue : oo.getIssue()) {
+      if (issue.getSeverity() == OperationOutcome.IssueSeverity.FATAL || issue.getSeverity() == OperationOutcome.IssueSeverity.ERROR) {
+        found = found || ToolingExtensions.readIntegerExtension(issue, ToolingExtensions.EXT_ISSUE_LINE, 0) == 2;
+      }
+    }
+    Assertions.assertTrue(found);
+  }
+
+  @Test
+  public void testEngineEntryPoints() throws Exception {
+    CountingEngine engine = new CountingEngine();
+    byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+    checkLines(engine.validate(FhirFormat.NDJSON, new ByteArrayInputStream(content), null));
+    checkLines(engine.validate(content, FhirFormat.NDJSON, new ArrayList<>(), new ArrayList<>()));
+    checkLines(engine.validate("test.ndjson", content, FhirFormat.NDJSON, new ArrayList<>()));
+    checkLines(engine.validate("test.ndjson", content, FhirFormat.NDJSON, new ArrayList<>(), IdStatus.OPTIONAL, true, BestPracticeWarningLevel.Ignore, CheckDisplayOption.Ignore));
+
+    // the validator provided is used for every line
+    CountingValidator validator = new CountingValidator(engine);
+    checkLines(engine.validate(validator, content, FhirFormat.NDJSON, new ArrayList<>(), new ArrayList<>()));
+    Assertions.assertEquals(3, validator.count);
+
+    // NDJSON can't be transformed as a whole
+    Assertions.assertThrows(FHIRException.class, () -> engine.transform(content, FhirFormat.NDJSON, "http://example.org/map"));
+  }
+
+  @Test
+  public void testValidatorPerWorker() throws Exception {
+    CountingEngine engine = new CountingEngine();
+    engine.setThreads(2);
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      b.append(CONTENT);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      NDJsonValidator.Summary summary = engine.validateNDJson(null, new ByteArrayInputStream(b.toString().getBytes(StandardCharsets.UTF_8)), null, (line, messages) -> {}, executor);
+      Assertions.assertEquals(300, summary.getResources());
+      // the validators are reused, so there are no more of them than there are workers
+      Assertions.assertTrue(engine.validators.get() <= 2, Integer.toString(engine.validators.get()));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
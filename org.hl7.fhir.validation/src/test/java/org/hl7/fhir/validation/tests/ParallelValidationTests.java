@@ -0,0 +1,90 @@
+package org.hl7.fhir.validation.tests;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hl7.fhir.r5.formats.IParser.OutputStyle;
+import org.hl7.fhir.r5.formats.JsonParser;
+import org.hl7.fhir.r5.model.Bundle;
+import org.hl7.fhir.r5.model.Bundle.BundleEntryComponent;
+import org.hl7.fhir.r5.model.OperationOutcome;
+import org.hl7.fhir.r5.utils.ToolingExtensions;
+import org.hl7.fhir.utilities.TextFile;
+import org.hl7.fhir.utilities.Utilities;
+import org.hl7.fhir.utilities.cache.NpmPackage;
+import org.hl7.fhir.validation.ValidationEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParallelValidationTests {
+
+  private List<String> makeSources(File dir) throws Exception {
+    List<String> sources = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      File f;
+      switch (i % 4) {
+      case 0:
+        f = new File(dir, "patient" + i + ".json");
+        TextFile.stringToFile("{\"resourceType\":\"Patient\",\"id\":\"p" + i + "\",\"active\":true}", f.getAbsolutePath());
+        break;
+      case 1:
+        f = new File(dir, "observation" + i + ".xml");
+        TextFile.stringToFile("<Observation xmlns=\"http://hl7.org/fhir\"><id value=\"o" + i + "\"/><status value=\"final\"/></Observation>", f.getAbsolutePath());
+        break;
+      case 2:
+        f = new File(dir, "broken" + i + ".json");
+        TextFile.stringToFile("{\"resourceType\":\"Basic\",\"id\":", f.getAbsolutePath());
+        break;
+      default:
+        f = new File(dir, "unknown" + i + ".json");
+        TextFile.stringToFile("{\"resourceType\":\"NotAResource\",\"value\":" + i + "}", f.getAbsolutePath());
+      }
+      sources.add(f.getAbsolutePath());
+    }
+    return sources;
+  }
+
+  private String summary(Bundle bundle) throws Exception {
+    JsonParser json = new JsonParser();
+    json.setOutputStyle(OutputStyle.PRETTY);
+    return json.composeString(bundle);
+  }
+
+  @Test
+  public void testThreadsMatchSingleThread() throws Exception {
+    File dir = Files.createTempDirectory("parallel-validation").toFile();
+    try {
+      List<String> sources = makeSources(dir);
+      ValidationEngine engine = new ValidationEngine();
+      // there are no core definitions offline, so the sources are all validated against an empty core package,
+      // which gives the context its version
+      File core = new File(Utilities.path("[tmp]", "parallel-core-test"));
+      if (core.exists()) {
+        Utilities.clearDirectory(core.getAbsolutePath());
+      }
+      Utilities.createDirectory(Utilities.path(core.getAbsolutePath(), "package"));
+      TextFile.stringToFile("{\"name\" : \"hl7.fhir.r4.core\", \"version\" : \"4.0.1\", \"fhirVersions\" : [\"4.0.1\"]}", Utilities.path(core.getAbsolutePath(), "package", "package.json"));
+      engine.getContext().loadFromPackage(NpmPackage.fromFolder(core.getAbsolutePath()), null);
+      engine.setThreads(1);
+      Bundle single = (Bundle) engine.validate(sources, new ArrayList<>());
+      engine.setThreads(4);
+      Bundle multi = (Bundle) engine.validate(sources, new ArrayList<>());
+
+      Assertions.assertEquals(sources.size(), multi.getEntry().size());
+      for (int i = 0; i < sources.size(); i++) {
+        BundleEntryComponent be = multi.getEntry().get(i);
+        OperationOutcome oo = (OperationOutcome) be.getResource();
+        Assertions.assertEquals(sources.get(i), ToolingExtensions.readStringExtension(oo, ToolingExtensions.EXT_OO_FILE));
+        Assertions.assertTrue(oo.hasIssue(), sources.get(i));
+      }
+      Assertions.assertEquals(summary(single), summary(multi));
+    } finally {
+      for (File f : dir.listFiles()) {
+        f.delete();
+      }
+      dir.delete();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package org.hl7.fhir.validation.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.hl7.fhir.r5.model.Base;
+import org.hl7.fhir.r5.model.CodeableConcept;
+import org.hl7.fhir.r5.model.Coding;
+import org.hl7.fhir.r5.model.DataType;
+import org.hl7.fhir.r5.model.ElementDefinition;
+import org.hl7.fhir.r5.model.ExpressionNode;
+import org.hl7.fhir.r5.model.StringType;
+import org.hl7.fhir.validation.instance.utils.SliceLookup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SliceLookupTests {
+
+  private static final String LOINC = "http://loinc.org";
+
+  private SliceLookup lookup(int discriminators) {
+    List<ExpressionNode> paths = new ArrayList<>();
+    for (int i = 0; i < discriminators; i++) {
+      paths.add(new ExpressionNode(i));
+    }
+    return new SliceLookup(paths);
+  }
+
+  private ElementDefinition slice(String name) {
+    return new ElementDefinition("Observation.component").setSliceName(name);
+  }
+
+  private List<List<Base>> values(Base... values) {
+    List<List<Base>> res = new ArrayList<>();
+    for (Base b : values) {
+      res.add(Collections.singletonList(b));
+    }
+    return res;
+  }
+
+  @Test
+  public void testCodeableConcept() throws Exception {
+    SliceLookup lookup = lookup(1);
+    ElementDefinition systolic = slice("systolic");
+    ElementDefinition diastolic = slice("diastolic");
+    Assertions.assertTrue(lookup.addSlice(systolic, Arrays.<DataType>asList(new CodeableConcept(new Coding(LOINC, "8480-6", null)))));
+    Assertions.assertTrue(lookup.addSlice(diastolic, Arrays.<DataType>asList(new CodeableConcept(new Coding(LOINC, "8462-4", null)))));
+
+    // any of the element's codings can match, and displays are ignored
+    CodeableConcept cc = new CodeableConcept(new Coding("http://snomed.info/sct", "271649006", "Systolic")).addCoding(new Coding(LOINC, "8480-6", "Systolic"));
+    Set<ElementDefinition> slices = lookup.getSlices(values(cc));
+    Assertions.assertEquals(1, slices.size());
+    Assertions.assertTrue(slices.contains(systolic));
+
+    Assertions.assertTrue(lookup.getSlices(values(new CodeableConcept(new Coding(LOINC, "8310-5", null)))).isEmpty());
+    Assertions.assertTrue(lookup.getSlices(Arrays.asList(Collections.<Base>emptyList())).isEmpty());
+  }
+
+  @Test
+  public void testMultipleDiscriminators() throws Exception {
+    SliceLookup lookup = lookup(2);
+    ElementDefinition a = slice("a");
+    ElementDefinition b = slice("b");
+    Assertions.assertTrue(lookup.addSlice(a, Arrays.<DataType>asList(new Coding(LOINC, "1", null), new StringType("x"))));
+    Assertions.assertTrue(lookup.addSlice(b, Arrays.<DataType>asList(new Coding(LOINC, "1", null), new StringType("y"))));
+
+    Assertions.assertTrue(lookup.getSlices(values(new Coding(LOINC, "1", null), new StringType("y"))).contains(b));
+    Assertions.assertEquals(1, lookup.getSlices(values(new Coding(LOINC, "1", null), new StringType("y"))).size());
+    Assertions.assertTrue(lookup.getSlices(values(new Coding(LOINC, "2", null), new StringType("y"))).isEmpty());
+  }
+
+  @Test
+  public void testUnsupported() {
+    // a display in the pattern has to be matched too
+    Assertions.assertFalse(lookup(1).addSlice(slice("a"), Arrays.<DataType>asList(new Coding(LOINC, "1", "One"))));
+    // all the codings in the pattern have to be present
+    Assertions.assertFalse(lookup(1).addSlice(slice("a"), Arrays.<DataType>asList(new CodeableConcept(new Coding(LOINC, "1", null)).addCoding(new Coding(LOINC, "2", null)))));
+    // the slices have to have the same kind of value
+    SliceLookup lookup = lookup(1);
+    Assertions.assertTrue(lookup.addSlice(slice("a"), Arrays.<DataType>asList(new Coding(LOINC, "1", null))));
+    Assertions.assertFalse(lookup.addSlice(slice("b"), Arrays.<DataType>asList(new StringType("1"))));
+  }
+}
@@ -0,0 +1,87 @@
+package org.hl7.fhir.validation.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hl7.fhir.utilities.LatencyHistogram;
+import org.hl7.fhir.validation.TimeTracker;
+import org.hl7.fhir.validation.ValidationMetrics;
+import org.hl7.fhir.validation.ValidationMetrics.Phase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ValidationMetricsTests {
+
+  @Test
+  public void testConcurrentRecording() throws Exception {
+    ValidationMetrics metrics = new ValidationMetrics();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        tasks.add(executor.submit(() -> {
+          TimeTracker tt = new TimeTracker();
+          tt.setMetrics(metrics);
+          for (int j = 0; j < 1000; j++) {
+            long t = System.nanoTime();
+            tt.sd(t);
+            tt.invariant("ele-1", t);
+          }
+        }));
+      }
+      for (Future<?> t : tasks) {
+        t.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assertions.assertEquals(8000, metrics.getPhase(Phase.DEFINITIONS).getCount());
+    Assertions.assertEquals(0, metrics.getPhase(Phase.STRUCTURE).getCount());
+    Assertions.assertEquals(8000, metrics.getPhase(Phase.INVARIANTS).getCount());
+    Assertions.assertEquals(8000, metrics.getInvariants().get("ele-1").getCount());
+  }
+
+  @Test
+  public void testProfileSelfTime() throws Exception {
+    ValidationMetrics metrics = new ValidationMetrics();
+    TimeTracker tt = new TimeTracker();
+    tt.setMetrics(metrics);
+    tt.startProfile();
+    Thread.sleep(20);
+    tt.startProfile();
+    Thread.sleep(50);
+    tt.endProfile("http://test.org/inner");
+    tt.endProfile("http://test.org/outer");
+
+    LatencyHistogram inner = metrics.getProfiles().get("http://test.org/inner");
+    LatencyHistogram outer = metrics.getProfiles().get("http://test.org/outer");
+    Assertions.assertTrue(inner.getTotal() >= 50000000L);
+    // the time spent in the inner profile isn't counted against the outer one
+    Assertions.assertTrue(outer.getTotal() >= 20000000L && outer.getTotal() < inner.getTotal());
+    Assertions.assertEquals("http://test.org/inner", metrics.slowestProfiles(1).get(0));
+    // the structure walk is the profiles' times, each counted once
+    Assertions.assertEquals(2, metrics.getPhase(Phase.STRUCTURE).getCount());
+    Assertions.assertEquals(inner.getTotal() + outer.getTotal(), metrics.getPhase(Phase.STRUCTURE).getTotal());
+  }
+
+  @Test
+  public void testPrometheus() {
+    ValidationMetrics metrics = new ValidationMetrics();
+    metrics.record(Phase.SLICING, 5000);
+    metrics.record(Phase.SLICING, 2000000);
+    metrics.recordProfile("http://test.org/\"quoted\"", 20000000000L);
+    String s = metrics.toPrometheus();
+    Assertions.assertTrue(s.contains("# TYPE fhir_validation_phase_seconds histogram\n"));
+    Assertions.assertTrue(s.contains("fhir_validation_phase_seconds_bucket{phase=\"slicing\",le=\"0.00001\"} 1\n"));
+    Assertions.assertTrue(s.contains("fhir_validation_phase_seconds_bucket{phase=\"slicing\",le=\"0.01\"} 2\n"));
+    Assertions.assertTrue(s.contains("fhir_validation_phase_seconds_sum{phase=\"slicing\"} 0.002005\n"));
+    Assertions.assertTrue(s.contains("fhir_validation_phase_seconds_count{phase=\"slicing\"} 2\n"));
+    // longer than the largest bucket
+    Assertions.assertTrue(s.contains("fhir_validation_profile_seconds_bucket{profile=\"http://test.org/\\\"quoted\\\"\",le=\"10\"} 0\n"));
+    Assertions.assertTrue(s.contains("fhir_validation_profile_seconds_bucket{profile=\"http://test.org/\\\"quoted\\\"\",le=\"+Inf\"} 1\n"));
+    Assertions.assertTrue(s.contains("fhir_validation_tx_cache_hits_total 0\n"));
+  }
+}